@@ -0,0 +1,239 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soctest.server;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import soc.game.SOCGameOptionSet;
+import soc.server.SOCGameHandler;
+import soc.server.SOCGameListAtServer;
+import soc.server.genericServer.Connection;
+
+/**
+ * Contention benchmark for {@link SOCGameListAtServer} member lists with 500 concurrent games:
+ * Broadcaster threads iterate game members while other threads make members join and leave.
+ *<P>
+ * Runs twice with the same workload:
+ *<UL>
+ * <LI> Locked: Broadcasters take {@link SOCGameListAtServer#takeMonitorForGame(String)} around each iteration,
+ *      as {@code SOCServer.messageToGame} did before v2.4.50
+ * <LI> Snapshot: Broadcasters iterate {@link SOCGameListAtServer#getMembers(String)} with no lock,
+ *      as {@code messageToGame} does now
+ *</UL>
+ * Prints deliveries per second for each; checks that no broadcast saw an inconsistent member list.
+ * Doesn't fail on timing, since results depend on the machine running the test.
+ *
+ * @since 2.4.50
+ */
+public class TestGameMembersContention
+{
+    /** Number of games: 500 */
+    private static final int NUM_GAMES = 500;
+
+    /** Members in each game at start, before churn: 6 players + 2 observers */
+    private static final int MEMBERS_PER_GAME = 8;
+
+    /** Broadcasting threads */
+    private static final int NUM_BROADCASTERS = 8;
+
+    /** Threads making members join and leave */
+    private static final int NUM_CHURNERS = 2;
+
+    /** Time to run each mode, in milliseconds */
+    private static final int RUN_MILLIS = 2000;
+
+    /**
+     * Run the benchmark once in each mode, and print a comparison.
+     */
+    @Test
+    public void testLockedVsSnapshot()
+        throws InterruptedException
+    {
+        final long locked = runMode(true), snapshot = runMode(false);
+
+        System.out.println
+            ("TestGameMembersContention: " + NUM_GAMES + " games, " + NUM_BROADCASTERS + " broadcasters, "
+             + NUM_CHURNERS + " join/leave threads, " + RUN_MILLIS + " ms each:");
+        System.out.println("  locked:   " + (locked * 1000L / RUN_MILLIS) + " deliveries/sec");
+        System.out.println("  snapshot: " + (snapshot * 1000L / RUN_MILLIS) + " deliveries/sec");
+        if (locked > 0)
+            System.out.println("  speedup:  " + (snapshot * 100L / locked) + "%");
+    }
+
+    /**
+     * Build a game list and run one mode of the benchmark.
+     * @param takeMon  If true, broadcasters take the game's monitor (old behavior)
+     * @return  Number of member deliveries made by all broadcasters
+     */
+    private long runMode(final boolean takeMon)
+        throws InterruptedException
+    {
+        final SOCGameListAtServer gl = new SOCGameListAtServer(new Random(42), SOCGameOptionSet.getAllKnownOptions());
+        final SOCGameHandler sgh = new SOCGameHandler(null);
+        final String[] gaNames = new String[NUM_GAMES];
+        for (int i = 0; i < NUM_GAMES; ++i)
+        {
+            gaNames[i] = "contention-" + i;
+            gl.createGame(gaNames[i], null, null, null, sgh);
+            for (int m = 0; m < MEMBERS_PER_GAME; ++m)
+                gl.addMember(new CountingConnection("m" + m + "-g" + i), gaNames[i]);
+        }
+
+        final AtomicLong deliveries = new AtomicLong();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final CountDownLatch startGate = new CountDownLatch(1);
+        final long[] stopAt = new long[1];
+        final Thread[] threads = new Thread[NUM_BROADCASTERS + NUM_CHURNERS];
+
+        for (int t = 0; t < NUM_BROADCASTERS; ++t)
+        {
+            final int seed = t;
+            threads[t] = new Thread("broadcaster-" + t)
+            {
+                public void run()
+                {
+                    final Random rnd = new Random(seed);
+                    long n = 0;
+                    try
+                    {
+                        startGate.await();
+                        while (System.currentTimeMillis() < stopAt[0])
+                        {
+                            final String gaName = gaNames[rnd.nextInt(NUM_GAMES)];
+                            if (takeMon)
+                                gl.takeMonitorForGame(gaName);
+                            try
+                            {
+                                final List<Connection> members = gl.getMembers(gaName);
+                                final int size = members.size();
+                                int seen = 0;
+                                for (Connection c : members)
+                                {
+                                    c.put("x");
+                                    ++seen;
+                                }
+                                if (seen != size)
+                                    throw new IllegalStateException("members changed during iteration: " + gaName);
+                                n += seen;
+                            } finally {
+                                if (takeMon)
+                                    gl.releaseMonitorForGame(gaName);
+                            }
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                    deliveries.addAndGet(n);
+                }
+            };
+        }
+
+        for (int t = 0; t < NUM_CHURNERS; ++t)
+        {
+            final int seed = 1000 + t;
+            threads[NUM_BROADCASTERS + t] = new Thread("churner-" + t)
+            {
+                public void run()
+                {
+                    final Random rnd = new Random(seed);
+                    try
+                    {
+                        startGate.await();
+                        while (System.currentTimeMillis() < stopAt[0])
+                        {
+                            final String gaName = gaNames[rnd.nextInt(NUM_GAMES)];
+                            final Connection obs = new CountingConnection("obs-" + seed);
+                            gl.takeMonitorForGame(gaName);  // same as server's joins and leaves
+                            try
+                            {
+                                gl.addMember(obs, gaName);
+                            } finally {
+                                gl.releaseMonitorForGame(gaName);
+                            }
+                            gl.takeMonitorForGame(gaName);
+                            try
+                            {
+                                gl.removeMember(obs, gaName);
+                            } finally {
+                                gl.releaseMonitorForGame(gaName);
+                            }
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            };
+        }
+
+        for (Thread th : threads)
+            th.start();
+        stopAt[0] = System.currentTimeMillis() + RUN_MILLIS;
+        startGate.countDown();
+        for (Thread th : threads)
+            th.join();
+
+        final Throwable e = failure.get();
+        if (e != null)
+        {
+            e.printStackTrace();
+            fail("Thread failed (takeMon=" + takeMon + "): " + e);
+        }
+
+        for (String gaName : gaNames)
+            assertEquals("members after churn: " + gaName, MEMBERS_PER_GAME, gl.getMembers(gaName).size());
+
+        return deliveries.get();
+    }
+
+    /**
+     * Minimal connection which only counts what's sent to it.
+     */
+    private static final class CountingConnection extends Connection
+    {
+        private long putCount;
+
+        CountingConnection(final String name)
+        {
+            data = name;
+        }
+
+        public String host() { return "localhost"; }
+
+        public void put(String str)
+        {
+            ++putCount;  // not synchronized: count is approximate, only used to keep the call from being optimized away
+        }
+
+        public void run() {}
+        public boolean isConnected() { return true; }
+        public boolean connect() { return true; }
+        public void disconnect() {}
+        public void disconnectSoft() {}
+        public boolean isInputAvailable() { return false; }
+    }
+
+}
@@ -0,0 +1,176 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package socbench.game;
+
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import soc.game.SOCBoard;
+import soc.game.SOCGame;
+import soc.game.SOCPlayer;
+import soc.game.SOCPlayingPiece;
+import soc.game.SOCRoad;
+import soc.game.SOCSettlement;
+
+/**
+ * Benchmarks for {@link SOCBoard#settlementAtNode(int)} and {@link SOCBoard#roadOrShipAtEdge(int)},
+ * which since v2.4.50 use coordinate-indexed arrays instead of searching the board's piece lists,
+ * and for {@link SOCBoard#putPiece(SOCPlayingPiece)} and {@link SOCBoard#removePiece(SOCPlayingPiece)}
+ * which maintain those arrays.
+ *<P>
+ * Uses a seeded late game from {@link BenchGameSetup}: After initial placement, each player has built
+ * all their roads if there's room. Each lookup benchmark checks every node or edge next to a land hex once.
+ *
+ * @since 2.4.50
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchBoardPieceLookup
+{
+    /** Game options: 4-player classic board, or 6-player sea board */
+    @Param({"PL=4", "PL=6,SBL=t"})
+    public String gameOpts;
+
+    /** The late game's board */
+    private SOCBoard board;
+
+    /** Coordinates of all nodes next to land hexes */
+    private int[] nodes;
+
+    /** Coordinates of all edges next to those nodes */
+    private int[] edges;
+
+    /** Settlement at an empty node, for {@link #putRemoveSettlement()} */
+    private SOCSettlement whatIfSettlement;
+
+    /** Road at an empty edge, for {@link #putRemoveRoad()} */
+    private SOCRoad whatIfRoad;
+
+    /**
+     * Set up the game and its pieces.
+     */
+    @Setup
+    public void setup()
+    {
+        final SOCGame ga = BenchGameSetup.newStartedGame(gameOpts, BenchGameSetup.DEFAULT_SEED);
+        BenchGameSetup.placeInitialPieces(ga, null);
+        BenchGameSetup.buildRoads(ga, 13, new Random(BenchGameSetup.DEFAULT_SEED), null);
+        board = ga.getBoard();
+
+        final TreeSet<Integer> nodeSet = new TreeSet<Integer>(), edgeSet = new TreeSet<Integer>();
+        for (final int hex : board.getLandHexCoords())
+            for (final int node : board.getAdjacentNodesToHex_arr(hex))
+                nodeSet.add(node);
+        for (final int node : nodeSet)
+            for (final int edge : board.getAdjacentEdgesToNode_arr(node))
+                if (edge != -9)
+                    edgeSet.add(edge);
+
+        nodes = new int[nodeSet.size()];
+        int i = 0;
+        for (final int node : nodeSet)
+            nodes[i++] = node;
+        edges = new int[edgeSet.size()];
+        i = 0;
+        for (final int edge : edgeSet)
+            edges[i++] = edge;
+
+        final SOCPlayer pl = ga.getPlayer(0);
+        for (final int node : nodes)
+            if (board.settlementAtNode(node) == null)
+            {
+                whatIfSettlement = new SOCSettlement(pl, node, board);
+                break;
+            }
+        for (final int edge : edges)
+            if (board.roadOrShipAtEdge(edge) == null)
+            {
+                whatIfRoad = new SOCRoad(pl, edge, board);
+                break;
+            }
+    }
+
+    /**
+     * Look for a settlement or city at every node.
+     * @param bh  Consumes the pieces found
+     */
+    @Benchmark
+    public void settlementAtNode(final Blackhole bh)
+    {
+        for (final int node : nodes)
+            bh.consume(board.settlementAtNode(node));
+    }
+
+    /**
+     * Look for a road or ship at every edge.
+     * @param bh  Consumes the pieces found
+     */
+    @Benchmark
+    public void roadOrShipAtEdge(final Blackhole bh)
+    {
+        for (final int edge : edges)
+            bh.consume(board.roadOrShipAtEdge(edge));
+    }
+
+    /**
+     * Put a settlement on the board, then remove it, like a robot's what-if planning.
+     * @return  The board, so the changes aren't dead code
+     */
+    @Benchmark
+    public SOCBoard putRemoveSettlement()
+    {
+        board.putPiece(whatIfSettlement);
+        board.removePiece(whatIfSettlement);
+
+        return board;
+    }
+
+    /**
+     * Put a road on the board, then remove it.
+     * @return  The board, so the changes aren't dead code
+     */
+    @Benchmark
+    public SOCBoard putRemoveRoad()
+    {
+        board.putPiece(whatIfRoad);
+        board.removePiece(whatIfRoad);
+
+        return board;
+    }
+
+}
@@ -0,0 +1,166 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package socbench.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import soc.game.SOCGame;
+import soc.game.SOCPlayingPiece;
+
+/**
+ * Benchmarks for {@link SOCGame#putPiece(SOCPlayingPiece)} and {@link SOCGame#rollDice()}
+ * on classic games with fixed seeds, from {@link BenchGameSetup}.
+ *<UL>
+ * <LI> {@link #putPieces(PutState)}: Places every piece of a recorded game on a fresh copy of it:
+ *      Initial placement, then {@link #ROADS_PER_PLAYER} more roads each. Game creation
+ *      isn't measured. Time is per game, not per piece.
+ * <LI> {@link #rollDice(RollState, Blackhole)}: Rolls and distributes resources on the board after initial placement,
+ *      then clears players' resources so hand sizes don't grow.
+ *</UL>
+ *
+ * @since 2.4.50
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchGameActions
+{
+    /** Roads to place per player after initial placement: 8 */
+    public static final int ROADS_PER_PLAYER = 8;
+
+    /**
+     * State for {@link BenchGameActions#putPieces(PutState)}:
+     * A recorded game's pieces, and a fresh copy of that game for each invocation.
+     */
+    @State(Scope.Thread)
+    public static class PutState
+    {
+        /** Game options: 4-player or 6-player classic board */
+        @Param({"PL=4", "PL=6"})
+        public String gameOpts;
+
+        /** Pieces placed in the recorded game, as {type, pn, coord} */
+        private List<int[]> recorded;
+
+        /** Fresh started game to place pieces into */
+        SOCGame ga;
+
+        /** Pieces for {@link #ga} to place */
+        SOCPlayingPiece[] pieces;
+
+        /** Record the pieces placed in a seeded game. */
+        @Setup(Level.Trial)
+        public void record()
+        {
+            final SOCGame recGame = BenchGameSetup.newStartedGame(gameOpts, BenchGameSetup.DEFAULT_SEED);
+            recorded = new ArrayList<int[]>();
+            BenchGameSetup.placeInitialPieces(recGame, recorded);
+            BenchGameSetup.buildRoads
+                (recGame, ROADS_PER_PLAYER, new Random(BenchGameSetup.DEFAULT_SEED), recorded);
+        }
+
+        /** Make a fresh copy of the recorded game and its pieces. */
+        @Setup(Level.Invocation)
+        public void newGame()
+        {
+            ga = BenchGameSetup.newStartedGame(gameOpts, BenchGameSetup.DEFAULT_SEED);
+            pieces = BenchGameSetup.makePieces(ga, recorded);
+        }
+    }
+
+    /**
+     * State for {@link BenchGameActions#rollDice(RollState, Blackhole)}: A game after initial placement.
+     */
+    @State(Scope.Thread)
+    public static class RollState
+    {
+        /** Game options: 4-player or 6-player classic board */
+        @Param({"PL=4", "PL=6"})
+        public String gameOpts;
+
+        /** Game to roll dice in */
+        SOCGame ga;
+
+        /** Create the game and do initial placement. */
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            ga = BenchGameSetup.newStartedGame(gameOpts, BenchGameSetup.DEFAULT_SEED);
+            BenchGameSetup.placeInitialPieces(ga, null);
+        }
+    }
+
+    /**
+     * Place all the recorded pieces. Game state during initial placement advances as it would at the server;
+     * after that it's {@link SOCGame#PLAY1}.
+     * @param st  Game and pieces to place
+     * @return  The game, so its state isn't dead code
+     */
+    @Benchmark
+    public SOCGame putPieces(final PutState st)
+    {
+        final SOCGame ga = st.ga;
+        final SOCPlayingPiece[] pieces = st.pieces;
+        int i = 0;
+        for (; (i < pieces.length) && (ga.getGameState() < SOCGame.ROLL_OR_CARD); ++i)
+            ga.putPiece(pieces[i]);
+
+        ga.setGameState(SOCGame.PLAY1);
+        for (; i < pieces.length; ++i)
+            ga.putPiece(pieces[i]);
+
+        return ga;
+    }
+
+    /**
+     * Roll the dice once and distribute resources.
+     * @param st  Game to roll in
+     * @param bh  Consumes the roll results
+     */
+    @Benchmark
+    public void rollDice(final RollState st, final Blackhole bh)
+    {
+        final SOCGame ga = st.ga;
+        ga.setGameState(SOCGame.ROLL_OR_CARD);
+        bh.consume(ga.rollDice());
+        for (int pn = 0; pn < ga.maxPlayers; ++pn)
+            ga.getPlayer(pn).getResources().clear();
+    }
+
+}
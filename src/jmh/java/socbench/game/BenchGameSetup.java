@@ -0,0 +1,227 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package socbench.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import soc.game.SOCBoard;
+import soc.game.SOCGame;
+import soc.game.SOCGameOption;
+import soc.game.SOCGameOptionSet;
+import soc.game.SOCPlayer;
+import soc.game.SOCPlayingPiece;
+import soc.game.SOCRoad;
+import soc.game.SOCRoutePiece;
+import soc.game.SOCSettlement;
+import soc.server.SOCBoardAtServer;
+
+/**
+ * Create server-side games with fixed random seeds, and deterministic piece placements,
+ * for the game-engine benchmarks. The same seed and options always give the same board layout,
+ * first player, and pieces, so results can be compared between versions.
+ *<P>
+ * Pieces are described as int triples {type, player number, coordinate}
+ * so they can be recorded from one game and replayed on a fresh copy of it.
+ *
+ * @since 2.4.50
+ */
+public final class BenchGameSetup
+{
+    /** Seed used by the benchmarks unless they have a reason to vary it */
+    public static final long DEFAULT_SEED = 2450L;
+
+    private BenchGameSetup() {}
+
+    /**
+     * Parse and adjust a game options string such as {@code "PL=4,SC=SC_4ISL"}, like the server does.
+     * @param optsStr  Options, or null or "" for none
+     * @return  Parsed options, or null if {@code optsStr} is empty
+     * @throws IllegalArgumentException if options can't be parsed or have problems
+     */
+    public static SOCGameOptionSet parseOptions(final String optsStr)
+        throws IllegalArgumentException
+    {
+        if ((optsStr == null) || (optsStr.length() == 0))
+            return null;
+
+        final SOCGameOptionSet knownOpts = SOCGameOptionSet.getAllKnownOptions();
+        final SOCGameOptionSet opts = SOCGameOption.parseOptionsToSet(optsStr, knownOpts);
+        if (opts == null)
+            throw new IllegalArgumentException("Can't parse options: " + optsStr);
+        final StringBuilder probs = opts.adjustOptionsToKnown(knownOpts, true, null);
+        if (probs != null)
+            throw new IllegalArgumentException("Problems with options " + optsStr + ": " + probs);
+
+        return opts;
+    }
+
+    /**
+     * Create and start a game at the server side, with every seat filled.
+     * Game will be in state {@link SOCGame#START1A}.
+     * @param optsStr  Game options for {@link #parseOptions(String)}, or null for a classic 4-player game
+     * @param seed  Seed for the game's and board's random number generators
+     * @return  The new started game
+     */
+    public static SOCGame newStartedGame(final String optsStr, final long seed)
+    {
+        if (! (SOCGame.boardFactory instanceof SOCBoardAtServer.BoardFactoryAtServer))
+            SOCGame.boardFactory = new SOCBoardAtServer.BoardFactoryAtServer();
+
+        final SOCGame ga = new SOCGame("bench", parseOptions(optsStr), SOCGameOptionSet.getAllKnownOptions());
+        ga.setRandomSeed(seed);
+        ga.getBoard().setRandomSeed(seed);
+        for (int pn = 0; pn < ga.maxPlayers; ++pn)
+            ga.addPlayer("p" + pn, pn);
+        ga.startGame();
+
+        return ga;
+    }
+
+    /**
+     * Do initial placement for all players in a started game: Each player places a settlement at
+     * their lowest-coordinate potential settlement, then a road at the lowest potential edge next to it.
+     * Places pieces with {@link SOCGame#putPiece(SOCPlayingPiece)} until the game leaves the initial-placement states.
+     * Supports games without scenarios, whose initial pieces are only settlements and roads.
+     * @param ga  Game from {@link #newStartedGame(String, long)}
+     * @param placed  If not null, adds each piece placed as {type, pn, coord}
+     * @throws IllegalStateException if a player has no place to put their next piece
+     */
+    public static void placeInitialPieces(final SOCGame ga, final List<int[]> placed)
+        throws IllegalStateException
+    {
+        final SOCBoard board = ga.getBoard();
+        int lastSettle = 0;
+
+        for (int gs = ga.getGameState(); gs < SOCGame.ROLL_OR_CARD; gs = ga.getGameState())
+        {
+            final SOCPlayer pl = ga.getPlayer(ga.getCurrentPlayerNumber());
+            final SOCPlayingPiece pp;
+            if ((gs == SOCGame.START1A) || (gs == SOCGame.START2A) || (gs == SOCGame.START3A))
+            {
+                final int[] nodes = pl.getPotentialSettlements_arr();
+                int node = -1;
+                if (nodes != null)
+                    for (final int n : nodes)
+                        if (((node == -1) || (n < node)) && pl.canPlaceSettlement(n))
+                            node = n;
+                if (node == -1)
+                    throw new IllegalStateException("no potential settlement for pn " + pl.getPlayerNumber());
+
+                lastSettle = node;
+                pp = new SOCSettlement(pl, node, board);
+            } else if ((gs == SOCGame.START1B) || (gs == SOCGame.START2B) || (gs == SOCGame.START3B)) {
+                int edge = -1;
+                for (final int e : board.getAdjacentEdgesToNode_arr(lastSettle))
+                    if ((e != -9) && ((edge == -1) || (e < edge)) && pl.isPotentialRoad(e))
+                        edge = e;
+                if (edge == -1)
+                    throw new IllegalStateException("no potential road for pn " + pl.getPlayerNumber());
+
+                pp = new SOCRoad(pl, edge, board);
+            } else {
+                throw new IllegalStateException("unexpected game state " + gs);
+            }
+
+            ga.putPiece(pp);
+            if (placed != null)
+                placed.add(new int[]{pp.getType(), pp.getPlayerNumber(), pp.getCoordinates()});
+        }
+    }
+
+    /**
+     * After initial placement, give each player more roads in turn, at random potential edges next to
+     * their current roads and settlements. These branching networks are the expensive case for
+     * longest-road calculation. Game state is set to {@link SOCGame#PLAY1}; no resources are spent.
+     * @param ga  Game which has finished {@link #placeInitialPieces(SOCGame, List)}
+     * @param roadsPerPlayer  Number of roads to add per player, if there's room
+     * @param rnd  Random to choose among potential edges; seed it for repeatable results
+     * @param placed  If not null, adds each piece placed as {type, pn, coord}
+     */
+    public static void buildRoads
+        (final SOCGame ga, final int roadsPerPlayer, final Random rnd, final List<int[]> placed)
+    {
+        final SOCBoard board = ga.getBoard();
+        ga.setGameState(SOCGame.PLAY1);
+
+        for (int r = 0; r < roadsPerPlayer; ++r)
+        {
+            for (int pn = 0; pn < ga.maxPlayers; ++pn)
+            {
+                final SOCPlayer pl = ga.getPlayer(pn);
+                if (pl.getNumPieces(SOCPlayingPiece.ROAD) == 0)
+                    continue;
+
+                // sorted, so choice depends only on rnd and the board
+                final TreeSet<Integer> edges = new TreeSet<Integer>();
+                for (final SOCRoutePiece rp : pl.getRoadsAndShips())
+                    for (final int e : board.getAdjacentEdgesToEdge(rp.getCoordinates()))
+                        if (pl.isPotentialRoad(e))
+                            edges.add(e);
+                for (final SOCSettlement se : pl.getSettlements())
+                    for (final int e : board.getAdjacentEdgesToNode_arr(se.getCoordinates()))
+                        if ((e != -9) && pl.isPotentialRoad(e))
+                            edges.add(e);
+                if (edges.isEmpty())
+                    continue;
+
+                final int edge = new ArrayList<Integer>(edges).get(rnd.nextInt(edges.size()));
+                ga.putPiece(new SOCRoad(pl, edge, board));
+                if (placed != null)
+                    placed.add(new int[]{SOCPlayingPiece.ROAD, pn, edge});
+            }
+        }
+    }
+
+    /**
+     * Make pieces for a game from a recorded list.
+     * @param ga  Game whose players and board the new pieces will belong to
+     * @param recorded  Pieces as {type, pn, coord}; only settlements and roads are supported
+     * @return  New pieces, in the same order as {@code recorded}
+     * @throws IllegalArgumentException if a piece type isn't supported
+     */
+    public static SOCPlayingPiece[] makePieces(final SOCGame ga, final List<int[]> recorded)
+        throws IllegalArgumentException
+    {
+        final SOCBoard board = ga.getBoard();
+        final SOCPlayingPiece[] pieces = new SOCPlayingPiece[recorded.size()];
+        for (int i = 0; i < pieces.length; ++i)
+        {
+            final int[] rec = recorded.get(i);
+            final SOCPlayer pl = ga.getPlayer(rec[1]);
+            switch (rec[0])
+            {
+            case SOCPlayingPiece.SETTLEMENT:
+                pieces[i] = new SOCSettlement(pl, rec[2], board);
+                break;
+            case SOCPlayingPiece.ROAD:
+                pieces[i] = new SOCRoad(pl, rec[2], board);
+                break;
+            default:
+                throw new IllegalArgumentException("piece type " + rec[0]);
+            }
+        }
+
+        return pieces;
+    }
+
+}
@@ -0,0 +1,188 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package socbench.game;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import soc.game.SOCGame;
+import soc.game.SOCPlayer;
+import soc.game.SOCPlayingPiece;
+import soc.game.SOCRoad;
+import soc.game.SOCRoutePiece;
+import soc.game.SOCSettlement;
+
+/**
+ * Benchmarks for {@link SOCPlayer#calcLongestRoad2()} and {@link SOCPlayer#updatePotentials(SOCPlayingPiece)}
+ * in a seeded mid-game from {@link BenchGameSetup}: After initial placement, each player has built
+ * {@link #roadsPerPlayer} more roads in randomly branching networks.
+ *<P>
+ * Since v2.4.50 {@code calcLongestRoad2} is incremental, so calling it again with no changes is cheap;
+ * {@link #whatIfRoad(Blackhole)} measures it after changes, and
+ * {@link #calcLongestRoadFullSearch(Blackhole)} measures the earlier full search.
+ *<P>
+ * Each benchmark uses every player in the game once, so time is per game, not per player.
+ * {@code updatePotentials} is called for each player's most recent road and first settlement;
+ * calling it again for a piece already on the board leaves the player's potentials unchanged.
+ *
+ * @since 2.4.50
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchPlayerRoads
+{
+    /** Game options: 4-player or 6-player classic board */
+    @Param({"PL=4", "PL=6"})
+    public String gameOpts;
+
+    /** Roads to build per player after initial placement; 13 uses all of a player's roads if there's room */
+    @Param({"4", "13"})
+    public int roadsPerPlayer;
+
+    /** Players of the mid-game */
+    private SOCPlayer[] players;
+
+    /** Each player's most recently placed road */
+    private SOCRoutePiece[] lastRoads;
+
+    /** Each player's first settlement */
+    private SOCSettlement[] settlements;
+
+    /** Each player's road for {@link #whatIfRoad(Blackhole)} at a potential edge, or null if none */
+    private SOCRoad[] whatIfRoads;
+
+    /**
+     * Set up the game and its players' pieces.
+     */
+    @Setup
+    public void setup()
+    {
+        final SOCGame ga = BenchGameSetup.newStartedGame(gameOpts, BenchGameSetup.DEFAULT_SEED);
+        BenchGameSetup.placeInitialPieces(ga, null);
+        BenchGameSetup.buildRoads(ga, roadsPerPlayer, new Random(BenchGameSetup.DEFAULT_SEED), null);
+
+        players = new SOCPlayer[ga.maxPlayers];
+        lastRoads = new SOCRoutePiece[ga.maxPlayers];
+        settlements = new SOCSettlement[ga.maxPlayers];
+        whatIfRoads = new SOCRoad[ga.maxPlayers];
+        for (int pn = 0; pn < ga.maxPlayers; ++pn)
+        {
+            final SOCPlayer pl = ga.getPlayer(pn);
+            players[pn] = pl;
+            lastRoads[pn] = pl.getRoadsAndShips().lastElement();
+            settlements[pn] = pl.getSettlements().firstElement();
+            for (final int edge : ga.getBoard().getAdjacentEdgesToEdge(lastRoads[pn].getCoordinates()))
+                if (pl.isPotentialRoad(edge))
+                {
+                    whatIfRoads[pn] = new SOCRoad(pl, edge, null);
+                    break;
+                }
+            pl.calcLongestRoad2();
+        }
+    }
+
+    /**
+     * Calculate each player's longest road.
+     * @param bh  Consumes the road lengths
+     */
+    @Benchmark
+    public void calcLongestRoad(final Blackhole bh)
+    {
+        for (final SOCPlayer pl : players)
+            bh.consume(pl.calcLongestRoad2());
+    }
+
+    /**
+     * Calculate each player's longest road with the full search used before v2.4.50.
+     * @param bh  Consumes the road lengths
+     */
+    @Benchmark
+    public void calcLongestRoadFullSearch(final Blackhole bh)
+    {
+        for (final SOCPlayer pl : players)
+            bh.consume(pl.calcLongestRoadFullSearch());
+    }
+
+    /**
+     * Like a robot's what-if planning: For each player, put a road at a potential edge
+     * (on the player, not the board), calculate longest road, then remove the road and calculate again.
+     * @param bh  Consumes the road lengths
+     */
+    @Benchmark
+    public void whatIfRoad(final Blackhole bh)
+    {
+        for (int pn = 0; pn < players.length; ++pn)
+        {
+            final SOCRoad rd = whatIfRoads[pn];
+            if (rd == null)
+                continue;
+
+            final SOCPlayer pl = players[pn];
+            pl.putPiece(rd, true);
+            bh.consume(pl.calcLongestRoad2());
+            pl.removePiece(rd, null);
+            bh.consume(pl.calcLongestRoad2());
+        }
+    }
+
+    /**
+     * Update each player's potentials for their most recent road.
+     * @return  A player, so the updates aren't dead code
+     */
+    @Benchmark
+    public SOCPlayer updatePotentialsRoad()
+    {
+        for (int pn = 0; pn < players.length; ++pn)
+            players[pn].updatePotentials(lastRoads[pn]);
+
+        return players[0];
+    }
+
+    /**
+     * Update each player's potentials for their first settlement.
+     * @return  A player, so the updates aren't dead code
+     */
+    @Benchmark
+    public SOCPlayer updatePotentialsSettlement()
+    {
+        for (int pn = 0; pn < players.length; ++pn)
+            players[pn].updatePotentials(settlements[pn]);
+
+        return players[0];
+    }
+
+}
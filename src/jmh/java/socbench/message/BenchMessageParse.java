@@ -0,0 +1,158 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package socbench.message;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringTokenizer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import soc.message.SOCMessage;
+import soc.message.SOCMessageFieldReader;
+
+/**
+ * Parse a corpus of messages recorded from bot-only games with {@link SOCMessage#toMsg(String)}.
+ * The corpus {@code messages-corpus.txt} holds 8000 messages sent in both directions
+ * between a server and its robots while starting and playing bot-only games,
+ * one message per line as from {@link SOCMessage#toCmd()}.
+ *<P>
+ * Only parsing is measured: Nothing here dispatches the parsed messages to a client, robot, or server handler,
+ * so these results don't show how much faster a whole game runs.
+ *<P>
+ * {@link #tokenizeCorpus(Blackhole)} splits the same messages into fields with
+ * {@link StringTokenizer} and parses their int fields, as {@code toMsg} and {@code parseDataStr}
+ * did before v2.4.50 when they used {@code StringTokenizer} instead of {@link SOCMessageFieldReader}.
+ * It constructs no message objects, so it covers only the tokenizing part of the old parse;
+ * comparing its time to {@link #parseCorpus(Blackhole)} isn't a before-and-after measurement of {@code toMsg}.
+ * To see allocation per message, run with {@code -prof gc}.
+ *
+ * @since 2.4.50
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchMessageParse
+{
+    /** Resource name of the message corpus, relative to this class */
+    public static final String CORPUS_RESOURCE = "messages-corpus.txt";
+
+    /** Messages from {@link #CORPUS_RESOURCE} */
+    private String[] corpus;
+
+    /**
+     * Load the message corpus.
+     * @throws IOException if {@link #CORPUS_RESOURCE} can't be read
+     */
+    @Setup
+    public void loadCorpus()
+        throws IOException
+    {
+        corpus = readCorpusResource();
+    }
+
+    /**
+     * Read the messages in {@link #CORPUS_RESOURCE}, skipping any empty lines.
+     * @return  The corpus messages; not empty
+     * @throws IOException if the resource can't be found or read
+     */
+    public static String[] readCorpusResource()
+        throws IOException
+    {
+        final InputStream is = BenchMessageParse.class.getResourceAsStream(CORPUS_RESOURCE);
+        if (is == null)
+            throw new IOException("resource not found: " + CORPUS_RESOURCE);
+
+        final List<String> msgs = new ArrayList<String>();
+        final BufferedReader br = new BufferedReader(new InputStreamReader(is, "UTF-8"));
+        try
+        {
+            String line;
+            while ((line = br.readLine()) != null)
+                if (line.length() > 0)
+                    msgs.add(line);
+        } finally {
+            br.close();
+        }
+
+        if (msgs.isEmpty())
+            throw new IOException("empty resource: " + CORPUS_RESOURCE);
+
+        return msgs.toArray(new String[msgs.size()]);
+    }
+
+    /** Parse each message with {@link SOCMessage#toMsg(String)}. */
+    @Benchmark
+    public void parseCorpus(final Blackhole bh)
+    {
+        for (final String s : corpus)
+            bh.consume(SOCMessage.toMsg(s));
+    }
+
+    /** Split each message into fields with {@link StringTokenizer}, parsing the int fields; doesn't construct messages. */
+    @Benchmark
+    public void tokenizeCorpus(final Blackhole bh)
+    {
+        for (final String s : corpus)
+        {
+            final StringTokenizer st = new StringTokenizer(s, SOCMessage.sep);
+            bh.consume(Integer.parseInt(st.nextToken()));
+            while (st.hasMoreTokens())
+            {
+                final StringTokenizer st2 = new StringTokenizer(st.nextToken(), SOCMessage.sep2);
+                while (st2.hasMoreTokens())
+                {
+                    final String field = st2.nextToken();
+                    final char c = field.charAt(0);
+                    if ((c == '-') || ((c >= '0') && (c <= '9')))
+                    {
+                        try
+                        {
+                            bh.consume(Integer.parseInt(field));
+                        } catch (NumberFormatException e) {
+                            bh.consume(field);
+                        }
+                    } else {
+                        bh.consume(field);
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package socbench.message;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import soc.message.SOCMessage;
+
+/**
+ * Round trips through {@link SOCMessage#toCmd()} and {@link SOCMessage#toMsg(String)}
+ * for the message corpus used by {@link BenchMessageParse}:
+ *<UL>
+ * <LI> {@link #toCmd(Blackhole)}: Encode each parsed message
+ * <LI> {@link #roundTrip(Blackhole)}: Encode each parsed message, then parse the result
+ *</UL>
+ * Messages in the corpus which {@code toMsg} can't parse are skipped.
+ *
+ * @since 2.4.50
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchMessageRoundTrip
+{
+    /** Parsed messages from the corpus */
+    private SOCMessage[] msgs;
+
+    /**
+     * Load and parse the message corpus.
+     * @throws IOException if the corpus can't be read
+     */
+    @Setup
+    public void loadCorpus()
+        throws IOException
+    {
+        final List<SOCMessage> parsed = new ArrayList<SOCMessage>();
+        for (final String s : BenchMessageParse.readCorpusResource())
+        {
+            final SOCMessage m = SOCMessage.toMsg(s);
+            if (m != null)
+                parsed.add(m);
+        }
+
+        msgs = parsed.toArray(new SOCMessage[parsed.size()]);
+    }
+
+    /** Encode each message with {@link SOCMessage#toCmd()}. */
+    @Benchmark
+    public void toCmd(final Blackhole bh)
+    {
+        for (final SOCMessage m : msgs)
+            bh.consume(m.toCmd());
+    }
+
+    /** Encode each message with {@link SOCMessage#toCmd()}, then parse it with {@link SOCMessage#toMsg(String)}. */
+    @Benchmark
+    public void roundTrip(final Blackhole bh)
+    {
+        for (final SOCMessage m : msgs)
+            bh.consume(SOCMessage.toMsg(m.toCmd()));
+    }
+
+}
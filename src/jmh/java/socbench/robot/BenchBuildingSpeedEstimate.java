@@ -0,0 +1,148 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package socbench.robot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import soc.game.SOCGame;
+import soc.game.SOCPlayer;
+import soc.game.SOCPlayerNumbers;
+import soc.game.SOCResourceSet;
+import soc.robot.SOCBuildingSpeedEstimate;
+import soc.robot.SOCResSetBuildTimePair;
+import soc.util.CutoffExceededException;
+import socbench.game.BenchGameSetup;
+
+/**
+ * Benchmarks for {@link SOCBuildingSpeedEstimate#getEstimatesFromNowAccurate(SOCResourceSet, boolean[])},
+ * which calls {@code calculateRollsAccurate} for each piece type, in a seeded game from {@link BenchGameSetup}
+ * after initial placement.
+ *<P>
+ * {@link #packed(Blackhole)} uses the packed-hand engine added in v2.4.50;
+ * {@link #tables(Blackhole)} uses the earlier hashtable version {@code calculateRollsAccurateTables}.
+ * Each benchmark estimates for every player in the game once, so time is per game, not per player.
+ *
+ * @since 2.4.50
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchBuildingSpeedEstimate
+{
+    /** Game options: 4-player or 6-player classic board */
+    @Param({"PL=4", "PL=6"})
+    public String gameOpts;
+
+    /** Starting hand: Empty, or a few resources of each type so trades are possible */
+    @Param({"empty", "some"})
+    public String hand;
+
+    /** Each player's estimate using the packed-hand engine */
+    private SOCBuildingSpeedEstimate[] packedEstimates;
+
+    /** Each player's estimate using the hashtable version */
+    private SOCBuildingSpeedEstimate[] tableEstimates;
+
+    /** Each player's port flags */
+    private boolean[][] ports;
+
+    /** Starting resources for all players */
+    private SOCResourceSet startHand;
+
+    /**
+     * Set up the game and each player's estimates.
+     */
+    @Setup
+    public void setup()
+    {
+        final SOCGame ga = BenchGameSetup.newStartedGame(gameOpts, BenchGameSetup.DEFAULT_SEED);
+        BenchGameSetup.placeInitialPieces(ga, null);
+
+        startHand = hand.equals("some") ? new SOCResourceSet(3, 0, 2, 1, 3, 0) : new SOCResourceSet();
+        packedEstimates = new SOCBuildingSpeedEstimate[ga.maxPlayers];
+        tableEstimates = new SOCBuildingSpeedEstimate[ga.maxPlayers];
+        ports = new boolean[ga.maxPlayers][];
+        for (int pn = 0; pn < ga.maxPlayers; ++pn)
+        {
+            final SOCPlayer pl = ga.getPlayer(pn);
+            packedEstimates[pn] = new SOCBuildingSpeedEstimate(pl.getNumbers());
+            tableEstimates[pn] = new TablesEstimate(pl.getNumbers());
+            ports[pn] = pl.getPortFlags();
+        }
+    }
+
+    /**
+     * Estimate each player's rolls to build each piece type with the packed-hand engine.
+     * @param bh  Consumes the estimates
+     */
+    @Benchmark
+    public void packed(final Blackhole bh)
+    {
+        for (int pn = 0; pn < packedEstimates.length; ++pn)
+            bh.consume(packedEstimates[pn].getEstimatesFromNowAccurate(startHand, ports[pn]));
+    }
+
+    /**
+     * Estimate each player's rolls to build each piece type with the hashtable version used before v2.4.50.
+     * @param bh  Consumes the estimates
+     */
+    @Benchmark
+    public void tables(final Blackhole bh)
+    {
+        for (int pn = 0; pn < tableEstimates.length; ++pn)
+            bh.consume(tableEstimates[pn].getEstimatesFromNowAccurate(startHand, ports[pn]));
+    }
+
+    /**
+     * Estimate which always uses the hashtable version.
+     */
+    private static final class TablesEstimate extends SOCBuildingSpeedEstimate
+    {
+        TablesEstimate(final SOCPlayerNumbers numbers)
+        {
+            super(numbers);
+        }
+
+        @Override
+        protected SOCResSetBuildTimePair calculateRollsAccurate
+            (SOCResourceSet startingResources, SOCResourceSet targetResources, int cutoff, boolean[] ports)
+            throws CutoffExceededException
+        {
+            return calculateRollsAccurateTables(startingResources, targetResources, cutoff, ports);
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package socbench.server;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import soc.game.SOCBoard;
+import soc.game.SOCGameOptionSet;
+import soc.server.SOCBoardAtServer;
+
+import socbench.game.BenchGameSetup;
+
+/**
+ * Benchmark for generating a new board layout at the server with {@code makeNewBoard}:
+ * The classic 4- and 6-player boards ({@link SOCBoard#makeNewBoard(SOCGameOptionSet)}),
+ * and the sea board with and without each scenario ({@link SOCBoardAtServer#makeNewBoard(SOCGameOptionSet)}).
+ *<P>
+ * Each invocation lays out a new board made with {@link SOCBoardAtServer.BoardFactoryAtServer}
+ * and given the next seed from a {@link Random} seeded with {@link BenchGameSetup#DEFAULT_SEED},
+ * so every run generates the same sequence of layouts.
+ * Board construction isn't measured.
+ *
+ * @since 2.4.50
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchMakeNewBoard
+{
+    /** Game options for the board: Classic, sea board without a scenario, or a scenario */
+    @Param({
+        "PL=4", "PL=6", "PL=4,SBL=t",
+        "PL=4,SC=SC_NSHO", "PL=4,SC=SC_4ISL", "PL=4,SC=SC_FOG", "PL=4,SC=SC_TTD",
+        "PL=4,SC=SC_CLVI", "PL=4,SC=SC_PIRI", "PL=4,SC=SC_FTRI", "PL=4,SC=SC_WOND"
+        })
+    public String gameOpts;
+
+    /** Board factory used by the server */
+    private final SOCBoardAtServer.BoardFactoryAtServer factory = new SOCBoardAtServer.BoardFactoryAtServer();
+
+    /** Parsed {@link #gameOpts} */
+    private SOCGameOptionSet opts;
+
+    /** Sea board option "SBL" is set in {@link #opts}, directly or from the scenario */
+    private boolean largeBoard;
+
+    /** 4 or 6 players, from {@link #opts} */
+    private int maxPlayers;
+
+    /** Seeded random source for each new board's seed */
+    private Random seeds;
+
+    /** New board for the next invocation */
+    private SOCBoard board;
+
+    /** Parse the options. */
+    @Setup(Level.Trial)
+    public void parseOptions()
+    {
+        opts = BenchGameSetup.parseOptions(gameOpts);
+        largeBoard = opts.isOptionSet("SBL");
+        maxPlayers = (opts.isOptionSet("PLB") || (opts.getOptionIntValue("PL", 4, false) > 4)) ? 6 : 4;
+        seeds = new Random(BenchGameSetup.DEFAULT_SEED);
+    }
+
+    /** Construct and seed the board for the next invocation. */
+    @Setup(Level.Invocation)
+    public void newBoard()
+    {
+        board = factory.createBoard(opts, largeBoard, maxPlayers);
+        board.setRandomSeed(seeds.nextLong());
+    }
+
+    /**
+     * Lay out the board.
+     * @return  The board, so its layout isn't dead code
+     */
+    @Benchmark
+    public SOCBoard makeNewBoard()
+    {
+        board.makeNewBoard(opts);
+        return board;
+    }
+
+}
@@ -123,7 +123,23 @@ public class StringManager
     public final String get(final String key, final Object ... arguments)
         throws MissingResourceException
     {
-        return MessageFormat.format(bundle.getString(key), arguments);
+        return format(bundle.getString(key), arguments);
+    }
+
+    /**
+     * Format a pattern string from this manager's bundle with parameters.
+     * Called by {@link #get(String, Object...)}. This implementation calls
+     * {@link MessageFormat#format(String, Object...)}; subclasses may cache parsed patterns.
+     * @param pattern  Pattern string retrieved from {@link #bundle}
+     * @param arguments  Objects to use with <tt>{0}</tt>, <tt>{1}</tt>, etc in {@code pattern}
+     * @return the formatted string
+     * @throws IllegalArgumentException if {@code pattern} has a parse error
+     * @since 1.2
+     */
+    protected String format(final String pattern, final Object ... arguments)
+        throws IllegalArgumentException
+    {
+        return MessageFormat.format(pattern, arguments);
     }
 
 }
@@ -115,6 +115,13 @@ public class SOCDisplaylessPlayerClient implements Runnable
     protected String doc;
     protected String lastMessage;
 
+    /**
+     * Last message object sent by {@link #put(SOCMessage)} to a local server, for {@link #resend()}, or null.
+     * Only one of {@code lastMessageObj} and {@link #lastMessage} is non-null.
+     * @since 2.4.50
+     */
+    protected SOCMessage lastMessageObj;
+
     /**
      * Time when next {@link SOCServerPing} is expected at, based on
      * previous ping's {@link SOCServerPing#getSleepTime()}, or 0.
@@ -283,12 +290,16 @@ public class SOCDisplaylessPlayerClient implements Runnable
             while (connected)
             {
                 String s;
+                SOCMessage msg;
                 if (sLocal == null)
+                {
                     s = in.readUTF();
-                else
-                    s = sLocal.readNext();
+                    msg = SOCMessage.toMsg(s);
+                } else {
+                    s = null;
+                    msg = sLocal.readNextMessage();  // usually passed as an object, not parsed
+                }
 
-                SOCMessage msg = SOCMessage.toMsg(s);
                 if (msg != null)
                     treat(msg);
                 else if (debugTraffic)
@@ -319,6 +330,8 @@ public class SOCDisplaylessPlayerClient implements Runnable
     {
         if (lastMessage != null)
             put(lastMessage);
+        else if (lastMessageObj != null)
+            put(lastMessageObj);
     }
 
     /**
@@ -335,6 +348,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
             throw new IllegalArgumentException("null");
 
         lastMessage = s;
+        lastMessageObj = null;
 
         if (debugTraffic || D.ebugIsEnabled())
             soc.debug.D.ebugPrintlnINFO("OUT - " + nickname + " - " + s);
@@ -370,6 +384,42 @@ public class SOCDisplaylessPlayerClient implements Runnable
         return true;
     }
 
+    /**
+     * write a message to the net.
+     * When connected to a local server ({@link StringConnection}), passes the message object
+     * without formatting it to a string if possible; otherwise calls {@link #put(String) put}({@code mes.toCmd()}).
+     * Caller must not change {@code mes} after calling this method.
+     *
+     * @param mes  the message
+     * @return true if the message was sent, false if not
+     * @throws IllegalArgumentException if {@code mes} is {@code null}
+     * @since 2.4.50
+     */
+    public synchronized boolean put(SOCMessage mes)
+        throws IllegalArgumentException
+    {
+        if (mes == null)
+            throw new IllegalArgumentException("null");
+
+        if (sLocal == null)
+            return put(mes.toCmd());
+
+        lastMessage = null;
+        lastMessageObj = mes;
+
+        if (debugTraffic || D.ebugIsEnabled())
+            soc.debug.D.ebugPrintlnINFO("OUT - " + nickname + " - " + mes);
+
+        if ((ex != null) || ! connected)
+        {
+            return false;
+        }
+
+        sLocal.put(mes);
+
+        return true;
+    }
+
     /**
      * Treat the incoming messages.
      *<P>
@@ -973,7 +1023,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
         if (hidePingDebug)
             debugTraffic = false;
 
-        put(mes.toCmd());
+        put(mes);
 
         if (hidePingDebug)
             debugTraffic = true;
@@ -2259,11 +2309,25 @@ public class SOCDisplaylessPlayerClient implements Runnable
         if (ga == null)
             return false;
 
+        handleBANKTRADE(mes, ga);
+
+        return true;
+    }
+
+    /**
+     * Update a player's resource data from a "bank trade" announcement from the server.
+     * Used by robot brains, which must apply it in order with their other resource updates.
+     *
+     * @param mes  the message
+     * @param ga  game to update; not null
+     * @see #handleBANKTRADE(Map, SOCBankTrade)
+     * @since 2.4.50
+     */
+    public static void handleBANKTRADE(final SOCBankTrade mes, final SOCGame ga)
+    {
         final SOCResourceSet plRes = ga.getPlayer(mes.getPlayerNumber()).getResources();
         plRes.subtract(mes.getGiveSet(), true);
         plRes.add(mes.getGetSet());
-
-        return true;
     }
 
     /**
@@ -2890,7 +2954,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
      */
     public void chSend(String ch, String mes)
     {
-        put(new SOCChannelTextMsg(ch, nickname, mes).toCmd());
+        put(new SOCChannelTextMsg(ch, nickname, mes));
     }
 
     /**
@@ -2934,7 +2998,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
      */
     public void buyDevCard(SOCGame ga)
     {
-        put(new SOCBuyDevCardRequest(ga.getName()).toCmd());
+        put(new SOCBuyDevCardRequest(ga.getName()));
     }
 
     /**
@@ -2948,7 +3012,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
     public void buildRequest(SOCGame ga, int piece)
         throws IllegalArgumentException
     {
-        put(new SOCBuildRequest(ga.getName(), piece).toCmd());
+        put(new SOCBuildRequest(ga.getName(), piece));
     }
 
     /**
@@ -2959,7 +3023,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
      */
     public void cancelBuildRequest(SOCGame ga, int piece)
     {
-        put(new SOCCancelBuildRequest(ga.getName(), piece).toCmd());
+        put(new SOCCancelBuildRequest(ga.getName(), piece));
     }
 
     /**
@@ -2981,7 +3045,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
         /**
          * send the command
          */
-        put(SOCPutPiece.toCmd(ga.getName(), pp.getPlayerNumber(), pt, pp.getCoordinates()));
+        put(new SOCPutPiece(ga.getName(), pp.getPlayerNumber(), pt, pp.getCoordinates()));
     }
 
     /**
@@ -2998,7 +3062,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
         (final SOCGame ga, final int pn, final int ptype, final int fromCoord, final int toCoord)
         throws IllegalArgumentException
     {
-        put(new SOCMovePiece(ga.getName(), pn, ptype, fromCoord, toCoord).toCmd());
+        put(new SOCMovePiece(ga.getName(), pn, ptype, fromCoord, toCoord));
     }
 
     /**
@@ -3010,7 +3074,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
      */
     public void moveRobber(SOCGame ga, SOCPlayer pl, int coord)
     {
-        put(SOCMoveRobber.toCmd(ga.getName(), pl.getPlayerNumber(), coord));
+        put(new SOCMoveRobber(ga.getName(), pl.getPlayerNumber(), coord));
     }
 
     /**
@@ -3029,7 +3093,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
     public void simpleRequest
         (final SOCGame ga, final int ourPN, final int reqType, final int value1, final int value2)
     {
-        put(SOCSimpleRequest.toCmd(ga.getName(), ourPN, reqType, value1, value2));
+        put(new SOCSimpleRequest(ga.getName(), ourPN, reqType, value1, value2));
     }
 
     /**
@@ -3046,7 +3110,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
      */
     public void pickSpecialItem(SOCGame ga, final String typeKey, final int gi, final int pi)
     {
-        put(new SOCSetSpecialItem(ga.getName(), SOCSetSpecialItem.OP_PICK, typeKey, gi, pi, -1).toCmd());
+        put(new SOCSetSpecialItem(ga.getName(), SOCSetSpecialItem.OP_PICK, typeKey, gi, pi, -1));
     }
 
     /**
@@ -3076,7 +3140,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
         if (ga == null)
             return;
 
-        put(new SOCGameTextMsg(ga.getName(), nickname, me).toCmd());
+        put(new SOCGameTextMsg(ga.getName(), nickname, me));
     }
 
     /**
@@ -3100,7 +3164,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
     public void leaveGame(final String gaName)
     {
         games.remove(gaName);
-        put(new SOCLeaveGame(nickname, "-", gaName).toCmd());
+        put(new SOCLeaveGame(nickname, "-", gaName));
     }
 
     /**
@@ -3121,7 +3185,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
      */
     public void startGame(SOCGame ga)
     {
-        put(SOCStartGame.toCmd(ga.getName(), 0));
+        put(new SOCStartGame(ga.getName(), 0));
     }
 
     /**
@@ -3131,7 +3195,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
      */
     public void rollDice(SOCGame ga)
     {
-        put(SOCRollDice.toCmd(ga.getName()));
+        put(new SOCRollDice(ga.getName()));
     }
 
     /**
@@ -3141,7 +3205,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
      */
     public void endTurn(SOCGame ga)
     {
-        put(SOCEndTurn.toCmd(ga.getName()));
+        put(new SOCEndTurn(ga.getName()));
     }
 
     /**
@@ -3171,7 +3235,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
      */
     public void choosePlayer(SOCGame ga, final int ch)
     {
-        put(SOCChoosePlayer.toCmd(ga.getName(), ch));
+        put(new SOCChoosePlayer(ga.getName(), ch));
     }
 
     /**
@@ -3181,7 +3245,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
      */
     public void rejectOffer(SOCGame ga)
     {
-        put(new SOCRejectOffer(ga.getName(), 0).toCmd());
+        put(new SOCRejectOffer(ga.getName(), 0));
     }
 
     /**
@@ -3192,7 +3256,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
      */
     public void acceptOffer(SOCGame ga, int from)
     {
-        put(SOCAcceptOffer.toCmd(ga.getName(), 0, from));
+        put(new SOCAcceptOffer(ga.getName(), 0, from));
     }
 
     /**
@@ -3202,7 +3266,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
      */
     public void clearOffer(SOCGame ga)
     {
-        put(SOCClearOffer.toCmd(ga.getName(), 0));
+        put(new SOCClearOffer(ga.getName(), 0));
     }
 
     /**
@@ -3214,7 +3278,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
      */
     public void bankTrade(SOCGame ga, SOCResourceSet give, SOCResourceSet get)
     {
-        put(new SOCBankTrade(ga.getName(), give, get, -1).toCmd());
+        put(new SOCBankTrade(ga.getName(), give, get, -1));
     }
 
     /**
@@ -3247,7 +3311,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
             else if (dc == SOCDevCardConstants.UNKNOWN)
                 dc = SOCDevCardConstants.UNKNOWN_FOR_VERS_1_X;
         }
-        put(SOCPlayDevCardRequest.toCmd(ga.getName(), dc));
+        put(new SOCPlayDevCardRequest(ga.getName(), dc));
     }
 
     /**
@@ -3261,7 +3325,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
      */
     public void pickResources(SOCGame ga, SOCResourceSet rscs)
     {
-        put(new SOCPickResources(ga.getName(), rscs).toCmd());
+        put(new SOCPickResources(ga.getName(), rscs));
     }
 
     /**
@@ -3275,7 +3339,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
      */
     public void pickResourceType(SOCGame ga, int res)
     {
-        put(new SOCPickResourceType(ga.getName(), res).toCmd());
+        put(new SOCPickResourceType(ga.getName(), res));
     }
 
     /**
@@ -3286,7 +3350,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
      */
     public void changeFace(SOCGame ga, int id)
     {
-        put(new SOCChangeFace(ga.getName(), ga.getPlayer(nickname).getPlayerNumber(), id).toCmd());
+        put(new SOCChangeFace(ga.getName(), ga.getPlayer(nickname).getPlayerNumber(), id));
     }
 
     /**
@@ -3311,7 +3375,7 @@ public class SOCDisplaylessPlayerClient implements Runnable
     public void destroy()
     {
         SOCLeaveAll leaveAllMes = new SOCLeaveAll();
-        put(leaveAllMes.toCmd());
+        put(leaveAllMes);
         disconnect();
     }
 
@@ -842,13 +842,12 @@ import soc.util.Version;
 
                 while (locl.isConnected())
                 {
-                    String s = locl.readNext();
-                    SOCMessage msg = SOCMessage.toMsg(s);
+                    SOCMessage msg = locl.readNextMessage();  // usually passed as an object, not parsed
 
                     if (msg != null)
                         handler.handle(msg, true);
                     else if (client.debugTraffic)
-                        soc.debug.D.ebugERROR("Could not parse practice server message: " + s);
+                        soc.debug.D.ebugERROR("Could not parse practice server message");
                 }
             }
             catch (IOException e)
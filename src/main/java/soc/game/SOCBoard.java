@@ -683,6 +683,38 @@ public abstract class SOCBoard implements Serializable, Cloneable
      */
     protected List<SOCCity> cities = new ArrayList<SOCCity>(16);
 
+    /**
+     * Index of {@link #settlements} and {@link #cities} by node coordinate, for {@link #settlementAtNode(int)}:
+     * Each element is the piece which that method would find by searching those lists, or null.
+     * Indexed by {@link #getPieceIndex(int)}; length is {@link #getPieceIndexLength()}.
+     * Maintained by {@link #putPiece(SOCPlayingPiece)} and {@link #removePiece(SOCPlayingPiece)},
+     * rebuilt by {@link #setBoardBounds(int, int)}. Null after deserializing until needed.
+     * @see #buildPieceIndexes()
+     * @since 2.4.50
+     */
+    private transient SOCPlayingPiece[] settlementAtNodeIndex;
+
+    /**
+     * Index of {@link #roadsAndShips} by edge coordinate, for {@link #roadOrShipAtEdge(int)}.
+     * Same indexing and lifecycle as {@link #settlementAtNodeIndex}.
+     * @since 2.4.50
+     */
+    private transient SOCRoutePiece[] roadOrShipAtEdgeIndex;
+
+    /**
+     * Shared adjacency tables for this board's geometry, or null if not yet looked up.
+     * Set by {@link #getTopology()}, cleared by {@link #setBoardBounds(int, int)}.
+     * @since 2.4.50
+     */
+    private transient volatile SOCBoardTopology topology;
+
+    /**
+     * True while {@link #getTopology()} is building this board's topology
+     * by calling its {@code getAdjacent*} methods, which must compute their results meanwhile.
+     * @since 2.4.50
+     */
+    private transient boolean buildingTopology;
+
     /**
      * random number generator
      */
@@ -733,6 +765,8 @@ public abstract class SOCBoard implements Serializable, Cloneable
         ports[MISC_PORT] = new ArrayList<Integer>(8);
         for (int i = CLAY_PORT; i <= WOOD_PORT; i++)
             ports[i] = new ArrayList<Integer>(2);
+
+        buildPieceIndexes();
     }
 
     /**
@@ -900,14 +934,14 @@ public abstract class SOCBoard implements Serializable, Cloneable
             for (int i = 0; i < SOCBoard6p.PORTS_FACING_V2.length; ++i)
             {
                 final int ptype = portHex[i];
-                final int[] nodes = getAdjacentNodesToEdge_arr(SOCBoard6p.PORTS_EDGE_V2[i]);
+                final int[] nodes = getAdjacentNodesToEdge_shared(SOCBoard6p.PORTS_EDGE_V2[i]);
                 placePort(ptype, -1, SOCBoard6p.PORTS_FACING_V2[i], nodes[0], nodes[1]);
             }
         } else {
             for (int i = 0; i < SOCBoard4p.PORTS_FACING_V1.length; ++i)
             {
                 final int ptype = portHex[i];
-                final int[] nodes = getAdjacentNodesToEdge_arr(SOCBoard4p.PORTS_EDGE_V1[i]);
+                final int[] nodes = getAdjacentNodesToEdge_shared(SOCBoard4p.PORTS_EDGE_V1[i]);
                 placePort(ptype, SOCBoard4p.PORTS_HEXNUM_V1[i], SOCBoard4p.PORTS_FACING_V1[i], nodes[0], nodes[1]);
             }
         }
@@ -927,7 +961,8 @@ public abstract class SOCBoard implements Serializable, Cloneable
      * before it starts placement.  Since hexLayout's land hex coordinates are hardcoded within
      * {@link #numToHexID}, it can only be called once per board layout.
      *
-     * @param landHex  Resource type to place into {@link #hexLayout} for each land hex; will be shuffled.
+     * @param landHex  Resource type to place into {@link #hexLayout} for each land hex.
+     *                    Not changed: A copy is shuffled.
      *                    Values are {@link #CLAY_HEX}, {@link #DESERT_HEX}, etc.
      * @param numPath  Indexes within {@link #hexLayout} (also within {@link #numberLayout}) for each land hex;
      *                    same array length as <tt>landHex[]</tt>
@@ -945,6 +980,9 @@ public abstract class SOCBoard implements Serializable, Cloneable
         final int clumpSize = checkClumps ? optBC.getIntValue() : 0;
         boolean clumpsNotOK = checkClumps;
 
+        // Shuffle a copy, not the caller's array: That's static layout data shared by all boards
+        landHex = landHex.clone();
+
         do   // will re-do placement until clumpsNotOK is false
         {
             // shuffle the land hexes 10x
@@ -1615,7 +1653,7 @@ public abstract class SOCBoard implements Serializable, Cloneable
         {
             final int hexnum = SOCBoard4p.PORTS_HEXNUM_V1[i];
             final int ptype = getPortTypeFromHexType(hexLayout[hexnum]);
-            final int[] nodes = getAdjacentNodesToEdge_arr(SOCBoard4p.PORTS_EDGE_V1[i]);
+            final int[] nodes = getAdjacentNodesToEdge_shared(SOCBoard4p.PORTS_EDGE_V1[i]);
             placePort(ptype, -1, -1, nodes[0], nodes[1]);
         }
     }
@@ -1649,7 +1687,7 @@ public abstract class SOCBoard implements Serializable, Cloneable
         for (int i = 0; i < SOCBoard6p.PORTS_FACING_V2.length; ++i)
         {
             final int ptype = portTypes[i];
-            final int[] nodes = getAdjacentNodesToEdge_arr(SOCBoard6p.PORTS_EDGE_V2[i]);
+            final int[] nodes = getAdjacentNodesToEdge_shared(SOCBoard6p.PORTS_EDGE_V2[i]);
             placePort(ptype, -1, SOCBoard6p.PORTS_FACING_V2[i], nodes[0], nodes[1]);
         }
 
@@ -1947,19 +1985,30 @@ public abstract class SOCBoard implements Serializable, Cloneable
      */
     public void putPiece(SOCPlayingPiece pp)
     {
+        if (settlementAtNodeIndex == null)
+            buildPieceIndexes();
+        final int idx = getPieceIndex(pp.getCoordinates());
+
         switch (pp.getType())
         {
         case SOCPlayingPiece.SHIP:  // fall through to ROAD
         case SOCPlayingPiece.ROAD:
             roadsAndShips.add((SOCRoutePiece) pp);
+            if ((idx != -1) && (roadOrShipAtEdgeIndex[idx] == null))
+                roadOrShipAtEdgeIndex[idx] = (SOCRoutePiece) pp;
             break;
 
         case SOCPlayingPiece.SETTLEMENT:
             settlements.add((SOCSettlement) pp);
+            // settlementAtNode finds settlements before cities
+            if ((idx != -1) && ! (settlementAtNodeIndex[idx] instanceof SOCSettlement))
+                settlementAtNodeIndex[idx] = pp;
             break;
 
         case SOCPlayingPiece.CITY:
             cities.add((SOCCity) pp);
+            if ((idx != -1) && (settlementAtNodeIndex[idx] == null))
+                settlementAtNodeIndex[idx] = pp;
             break;
 
         }
@@ -1981,23 +2030,152 @@ public abstract class SOCBoard implements Serializable, Cloneable
         // Even if piece isn't the same object (reference) as the one in
         // the list, it's removed if those fields are equal.
 
+        if (settlementAtNodeIndex == null)
+            buildPieceIndexes();
+        final int coord = piece.getCoordinates(), idx = getPieceIndex(coord);
+
         switch (piece.getType())
         {
         case SOCPlayingPiece.SHIP:  // fall through to ROAD
         case SOCPlayingPiece.ROAD:
             roadsAndShips.remove(piece);
+            if ((idx != -1) && piece.equals(roadOrShipAtEdgeIndex[idx]))
+                roadOrShipAtEdgeIndex[idx] = findRoadOrShipAtEdge(coord);
             break;
 
         case SOCPlayingPiece.SETTLEMENT:
             settlements.remove(piece);
+            if ((idx != -1) && piece.equals(settlementAtNodeIndex[idx]))
+                settlementAtNodeIndex[idx] = findSettlementAtNode(coord);
             break;
 
         case SOCPlayingPiece.CITY:
             cities.remove(piece);
+            if ((idx != -1) && piece.equals(settlementAtNodeIndex[idx]))
+                settlementAtNodeIndex[idx] = findSettlementAtNode(coord);
             break;
         }
     }
 
+    /**
+     * Get a node or edge coordinate's index within the arrays used by {@link #settlementAtNode(int)}
+     * and {@link #roadOrShipAtEdge(int)}. Every valid node or edge coordinate on the board must have an index
+     * from 0 to {@link #getPieceIndexLength()} - 1; coordinates which share an index can't both be nodes
+     * or both be edges.
+     *<P>
+     * For the v1 and v2 encodings, coordinates are 0x00 to 0xFF and used as their own index.
+     * {@link SOCBoardLarge} overrides this to use the board's height and width.
+     *
+     * @param coord  Node or edge coordinate; not checked for validity
+     * @return  Index, or -1 if {@code coord} is outside the board's coordinate range
+     * @since 2.4.50
+     */
+    protected int getPieceIndex(final int coord)
+    {
+        return ((coord >= 0) && (coord <= 0xFF)) ? coord : -1;
+    }
+
+    /**
+     * Get the length of the arrays used by {@link #settlementAtNode(int)} and {@link #roadOrShipAtEdge(int)}:
+     * 1 more than the highest possible {@link #getPieceIndex(int)}.
+     * @return  Index array length
+     * @since 2.4.50
+     */
+    protected int getPieceIndexLength()
+    {
+        return 0x100;
+    }
+
+    /**
+     * Build the piece indexes used by {@link #settlementAtNode(int)} and {@link #roadOrShipAtEdge(int)}
+     * from {@link #settlements}, {@link #cities}, and {@link #roadsAndShips}.
+     * @since 2.4.50
+     */
+    private void buildPieceIndexes()
+    {
+        final int len = getPieceIndexLength();
+        final SOCPlayingPiece[] nodeIdx = new SOCPlayingPiece[len];
+        final SOCRoutePiece[] edgeIdx = new SOCRoutePiece[len];
+
+        // fill in reverse order, so each slot ends up with the piece which a list search would find first
+        for (int i = cities.size() - 1; i >= 0; --i)
+        {
+            final SOCCity c = cities.get(i);
+            final int idx = getPieceIndex(c.getCoordinates());
+            if (idx != -1)
+                nodeIdx[idx] = c;
+        }
+        for (int i = settlements.size() - 1; i >= 0; --i)
+        {
+            final SOCSettlement se = settlements.get(i);
+            final int idx = getPieceIndex(se.getCoordinates());
+            if (idx != -1)
+                nodeIdx[idx] = se;
+        }
+        for (int i = roadsAndShips.size() - 1; i >= 0; --i)
+        {
+            final SOCRoutePiece rs = roadsAndShips.get(i);
+            final int idx = getPieceIndex(rs.getCoordinates());
+            if (idx != -1)
+                edgeIdx[idx] = rs;
+        }
+
+        roadOrShipAtEdgeIndex = edgeIdx;
+        settlementAtNodeIndex = nodeIdx;
+    }
+
+    /**
+     * Get the adjacency tables for this board's geometry, which are shared with all other boards
+     * of the same geometry. Looked up or built on first call.
+     * The {@code getAdjacent*} methods which return node, edge, or hex coordinates use these tables
+     * for coordinates within the board's range.
+     * @return  This board's topology, or null if called while it's being built
+     * @since 2.4.50
+     */
+    public final SOCBoardTopology getTopology()
+    {
+        SOCBoardTopology topo = topology;
+        if ((topo == null) && ! buildingTopology)
+        {
+            buildingTopology = true;
+            try
+            {
+                topo = SOCBoardTopology.getShared(this);
+            } finally {
+                buildingTopology = false;
+            }
+            topology = topo;
+        }
+
+        return topo;
+    }
+
+    /**
+     * Get a coordinate's shared adjacency array from this board's {@link #getTopology()}.
+     * @param kind  Kind of table, like {@link SOCBoardTopology#EDGES_TO_NODE}
+     * @param coord  Coordinate; not checked for validity
+     * @return  Shared array, or null if none; caller should compute the result
+     * @since 2.4.50
+     */
+    final int[] getTopologyArray(final int kind, final int coord)
+    {
+        final SOCBoardTopology topo = getTopology();
+        return (topo != null) ? topo.getArray(kind, coord) : null;
+    }
+
+    /**
+     * Get a coordinate's shared unmodifiable adjacency list from this board's {@link #getTopology()}.
+     * @param kind  Kind of table, like {@link SOCBoardTopology#EDGES_TO_EDGE}
+     * @param coord  Coordinate; not checked for validity
+     * @return  Shared list, or null if none; caller should compute the result
+     * @since 2.4.50
+     */
+    final List<Integer> getTopologyList(final int kind, final int coord)
+    {
+        final SOCBoardTopology topo = getTopology();
+        return (topo != null) ? topo.getList(kind, coord) : null;
+    }
+
     /**
      * Get the list of roads and ships.
      *<P>
@@ -2024,6 +2202,19 @@ public abstract class SOCBoard implements Serializable, Cloneable
         return cities;
     }
 
+    /**
+     * Reseed this board's random number generator, used by {@code makeNewBoard} to lay out
+     * hexes, dice numbers, and ports.
+     *<P>
+     * For repeatable results in tests and benchmarks; the server doesn't call this.
+     * @param seed  Seed for the board's {@link Random}
+     * @since 2.4.50
+     */
+    public void setRandomSeed(final long seed)
+    {
+        rand.setSeed(seed);
+    }
+
     /**
      * Width of this board in half-hex coordinate units (not in number of hexes across).
      * The maximum column coordinate.
@@ -2058,6 +2249,8 @@ public abstract class SOCBoard implements Serializable, Cloneable
     {
         boardHeight = boardH;
         boardWidth = boardW;
+        buildPieceIndexes();  // getPieceIndex may have changed
+        topology = null;
     }
 
     /**
@@ -2100,14 +2293,20 @@ public abstract class SOCBoard implements Serializable, Cloneable
      *   or {@link SOCBoard6p#MINNODE_V2} to {@link #MAXNODE}.
      * For v3 encoding, nodes are around all valid land or water hexes,
      *   and the board size is {@link #getBoardHeight()} x {@link #getBoardHeight()}.
+     *<P>
+     * Since v2.4.50 the returned list is unmodifiable, and shared by all boards with the same {@link SOCBoardTopology}.
      * @return the node coordinates that touch this edge
      * @see #getAdjacentNodesToEdge_arr(int)
      */
     public List<Integer> getAdjacentNodesToEdge(final int coord)
     {
+        final List<Integer> shared = getTopologyList(SOCBoardTopology.NODES_TO_EDGE, coord);
+        if (shared != null)
+            return shared;
+
         List<Integer> nodes = new ArrayList<Integer>(2);
 
-        final int[] narr = getAdjacentNodesToEdge_arr(coord);
+        final int[] narr = getAdjacentNodesToEdge_shared(coord);
         if ((narr[0] >= minNode) && (narr[0] <= MAXNODE))
             nodes.add(Integer.valueOf(narr[0]));
         if ((narr[1] >= minNode) && (narr[1] <= MAXNODE))
@@ -2129,6 +2328,20 @@ public abstract class SOCBoard implements Serializable, Cloneable
      */
     public int[] getAdjacentNodesToEdge_arr(final int coord)
     {
+        return getAdjacentNodesToEdge_shared(coord).clone();
+    }
+
+    /**
+     * Same as {@link #getAdjacentNodesToEdge_arr(int)}, but may return the array shared by all boards with the same
+     * {@link SOCBoardTopology} instead of a new one. For callers in this package which don't change its contents.
+     * @since 2.4.50
+     */
+    int[] getAdjacentNodesToEdge_shared(final int coord)
+    {
+        final int[] shared = getTopologyArray(SOCBoardTopology.NODES_TO_EDGE, coord);
+        if (shared != null)
+            return shared;
+
         int[] nodes = new int[2];
 
         /**
@@ -2163,7 +2376,7 @@ public abstract class SOCBoard implements Serializable, Cloneable
      */
     public int getAdjacentNodeFarEndOfEdge(final int edgeCoord, final int nodeCoord)
     {
-        final int[] nodes = getAdjacentNodesToEdge_arr(edgeCoord);
+        final int[] nodes = getAdjacentNodesToEdge_shared(edgeCoord);
         if (nodeCoord == nodes[0])
             return nodes[1];
         else
@@ -2245,12 +2458,18 @@ public abstract class SOCBoard implements Serializable, Cloneable
 
     /**
      * Get the edge coordinates of the 2 to 4 edges adjacent to this edge.
+     *<P>
+     * Since v2.4.50 the returned list is unmodifiable, and shared by all boards with the same {@link SOCBoardTopology}.
      * @param coord  Edge coordinate; for the 6-player encoding, use 0, not -1, for edge 0x00.
      *    Not checked for validity.
      * @return the valid adjacent edges to this edge, as a list of 2 to 4 Integer coordinates
      */
     public List<Integer> getAdjacentEdgesToEdge(int coord)
     {
+        final List<Integer> shared = getTopologyList(SOCBoardTopology.EDGES_TO_EDGE, coord);
+        if (shared != null)
+            return shared;
+
         List<Integer> edges = new ArrayList<Integer>(4);
         int tmp;
 
@@ -2340,11 +2559,17 @@ public abstract class SOCBoard implements Serializable, Cloneable
     /**
      * Get the coordinates of the valid hexes adjacent to this node.
      * These hexes may contain land or water.
+     *<P>
+     * Since v2.4.50 the returned list is unmodifiable, and shared by all boards with the same {@link SOCBoardTopology}.
      * @param coord  Node coordinate.  Is not checked for validity.
      * @return the coordinates (Integers) of the 1 to 3 hexes touching this node
      */
     public List<Integer> getAdjacentHexesToNode(final int coord)
     {
+        final List<Integer> shared = getTopologyList(SOCBoardTopology.HEXES_TO_NODE, coord);
+        if (shared != null)
+            return shared;
+
         List<Integer> hexes = new ArrayList<Integer>(3);
         int tmp;
 
@@ -2391,14 +2616,20 @@ public abstract class SOCBoard implements Serializable, Cloneable
     /**
      * Get the valid edge coordinates adjacent to this node.
      * Calls {@link #getAdjacentEdgeToNode(int, int)}.
+     *<P>
+     * Since v2.4.50 the returned list is unmodifiable, and shared by all boards with the same {@link SOCBoardTopology}.
      * @return the edge coordinates touching this node
      * @see #getAdjacentEdgeToNode(int, int)
      */
     public List<Integer> getAdjacentEdgesToNode(final int coord)
     {
+        final List<Integer> shared = getTopologyList(SOCBoardTopology.EDGES_TO_NODE, coord);
+        if (shared != null)
+            return shared;
+
         List<Integer> edges = new ArrayList<Integer>(3);
 
-        int[] edgea = getAdjacentEdgesToNode_arr(coord);
+        int[] edgea = getAdjacentEdgesToNode_shared(coord);
         for (int i = edgea.length - 1; i>=0; --i)
             if (edgea[i] != -9)
                 edges.add(Integer.valueOf(edgea[i]));
@@ -2420,6 +2651,20 @@ public abstract class SOCBoard implements Serializable, Cloneable
      */
     public final int[] getAdjacentEdgesToNode_arr(final int coord)
     {
+        return getAdjacentEdgesToNode_shared(coord).clone();
+    }
+
+    /**
+     * Same as {@link #getAdjacentEdgesToNode_arr(int)}, but may return the array shared by all boards with the same
+     * {@link SOCBoardTopology} instead of a new one. For callers in this package which don't change its contents.
+     * @since 2.4.50
+     */
+    final int[] getAdjacentEdgesToNode_shared(final int coord)
+    {
+        final int[] shared = getTopologyArray(SOCBoardTopology.EDGES_TO_NODE, coord);
+        if (shared != null)
+            return shared;
+
         int[] edges = new int[3];
         for (int i = 0; i < 3; ++i)
             edges[i] = getAdjacentEdgeToNode(coord, i);
@@ -2629,14 +2874,20 @@ public abstract class SOCBoard implements Serializable, Cloneable
     /**
      * Get the valid node coordinates adjacent to this node.
      * Calls {@link #getAdjacentNodeToNode(int, int)}.
+     *<P>
+     * Since v2.4.50 the returned list is unmodifiable, and shared by all boards with the same {@link SOCBoardTopology}.
      * @return the node coordinates adjacent to this node
      * @see #isNodeAdjacentToNode(int, int)
      */
     public List<Integer> getAdjacentNodesToNode(final int coord)
     {
+        final List<Integer> shared = getTopologyList(SOCBoardTopology.NODES_TO_NODE, coord);
+        if (shared != null)
+            return shared;
+
         List<Integer> nodes = new ArrayList<Integer>(3);
 
-        int[] nodea = getAdjacentNodesToNode_arr(coord);
+        int[] nodea = getAdjacentNodesToNode_shared(coord);
         for (int i = nodea.length - 1; i>=0; --i)
             if (nodea[i] != -9)
                 nodes.add(Integer.valueOf(nodea[i]));
@@ -2660,6 +2911,20 @@ public abstract class SOCBoard implements Serializable, Cloneable
      */
     public final int[] getAdjacentNodesToNode_arr(final int coord)
     {
+        return getAdjacentNodesToNode_shared(coord).clone();
+    }
+
+    /**
+     * Same as {@link #getAdjacentNodesToNode_arr(int)}, but may return the array shared by all boards with the same
+     * {@link SOCBoardTopology} instead of a new one. For callers in this package which don't change its contents.
+     * @since 2.4.50
+     */
+    final int[] getAdjacentNodesToNode_shared(final int coord)
+    {
+        final int[] shared = getTopologyArray(SOCBoardTopology.NODES_TO_NODE, coord);
+        if (shared != null)
+            return shared;
+
         int nodes[] = new int[3];
         for (int i = 0; i < 3; ++i)
             nodes[i] = getAdjacentNodeToNode(coord, i);
@@ -2976,6 +3241,8 @@ public abstract class SOCBoard implements Serializable, Cloneable
      * Since all hexes have 6 nodes, all node coordinates are valid
      * if the hex coordinate is valid.
      *
+     *<P>
+     * Since v2.4.50 the returned list is unmodifiable, and shared by all boards with the same {@link SOCBoardTopology}.
      * @param hexCoord Coordinate of this hex
      * @return {@link ArrayList} with the Node coordinate in all 6 directions,
      *           clockwise from top (northern point of hex):
@@ -2987,7 +3254,11 @@ public abstract class SOCBoard implements Serializable, Cloneable
      */
     public List<Integer> getAdjacentNodesToHex(final int hexCoord)
     {
-        final int[] arr = getAdjacentNodesToHex_arr(hexCoord);
+        final List<Integer> shared = getTopologyList(SOCBoardTopology.NODES_TO_HEX, hexCoord);
+        if (shared != null)
+            return shared;
+
+        final int[] arr = getAdjacentNodesToHex_shared(hexCoord);
         final ArrayList<Integer> li = new ArrayList<Integer>(6);
         for (int dir = 0; dir < 6; ++dir)
             li.add(Integer.valueOf(arr[dir]));
@@ -3011,6 +3282,20 @@ public abstract class SOCBoard implements Serializable, Cloneable
      */
     public int[] getAdjacentNodesToHex_arr(final int hexCoord)
     {
+        return getAdjacentNodesToHex_shared(hexCoord).clone();
+    }
+
+    /**
+     * Same as {@link #getAdjacentNodesToHex_arr(int)}, but may return the array shared by all boards with the same
+     * {@link SOCBoardTopology} instead of a new one. For callers in this package which don't change its contents.
+     * @since 2.4.50
+     */
+    int[] getAdjacentNodesToHex_shared(final int hexCoord)
+    {
+        final int[] shared = getTopologyArray(SOCBoardTopology.NODES_TO_HEX, hexCoord);
+        if (shared != null)
+            return shared;
+
         int[] node = new int[6];
         for (int dir = 0; dir < 6; ++dir)
             node[dir] = hexCoord + HEXNODES[dir];
@@ -3135,6 +3420,22 @@ public abstract class SOCBoard implements Serializable, Cloneable
      * @since 1.1.00
      */
     public SOCPlayingPiece settlementAtNode(final int nodeCoord)
+    {
+        if (settlementAtNodeIndex == null)
+            buildPieceIndexes();
+        final int idx = getPieceIndex(nodeCoord);
+
+        return (idx != -1) ? settlementAtNodeIndex[idx] : findSettlementAtNode(nodeCoord);
+    }
+
+    /**
+     * Search {@link #settlements}, then {@link #cities}, for a piece at this node.
+     * Used to maintain the index for {@link #settlementAtNode(int)}.
+     * @param nodeCoord  Node coordinate
+     * @return  Settlement or city at <tt>nodeCoord</tt>, or null
+     * @since 2.4.50
+     */
+    private SOCPlayingPiece findSettlementAtNode(final int nodeCoord)
     {
         for (SOCSettlement p : settlements)
         {
@@ -3168,6 +3469,22 @@ public abstract class SOCBoard implements Serializable, Cloneable
      * @since 1.1.00
      */
     public SOCRoutePiece roadOrShipAtEdge(int edgeCoord)
+    {
+        if (roadOrShipAtEdgeIndex == null)
+            buildPieceIndexes();
+        final int idx = getPieceIndex(edgeCoord);
+
+        return (idx != -1) ? roadOrShipAtEdgeIndex[idx] : findRoadOrShipAtEdge(edgeCoord);
+    }
+
+    /**
+     * Search {@link #roadsAndShips} for a piece at this edge.
+     * Used to maintain the index for {@link #roadOrShipAtEdge(int)}.
+     * @param edgeCoord  Edge coordinate
+     * @return road or ship, or null
+     * @since 2.4.50
+     */
+    private SOCRoutePiece findRoadOrShipAtEdge(final int edgeCoord)
     {
         for (SOCRoutePiece p : roadsAndShips)
         {
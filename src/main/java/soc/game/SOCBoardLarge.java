@@ -962,7 +962,7 @@ public class SOCBoardLarge extends SOCBoard
                     if ((r == 1) || (r == (boardHeight-1))
                         || (c <= 2) || (c >= (boardWidth-2)))
                     {
-                        for (final int side : getAdjacentEdgesToHex_arr(rshift | c))
+                        for (final int side : getAdjacentEdgesToHex_shared(rshift | c))
                             if (isEdgeCoastline(side))
                                 legalShipEdges.add(Integer.valueOf(side));
                     }
@@ -1428,7 +1428,7 @@ public class SOCBoardLarge extends SOCBoard
         portsLayout[i + (2*portsCount)] = facing;
 
         // - call placePort
-        final int[] nodes = getAdjacentNodesToEdge_arr(edge);
+        final int[] nodes = getAdjacentNodesToEdge_shared(edge);
         placePort(ptype, -1, facing, nodes[0], nodes[1]);
     }
 
@@ -1796,6 +1796,36 @@ public class SOCBoardLarge extends SOCBoard
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *<P>
+     * On this board, a coordinate's index is its row * ({@link #getBoardWidth()} + 1) + its column.
+     * @return  Index, or -1 if {@code coord}'s row or column is outside the board
+     * @since 2.4.50
+     */
+    @Override
+    protected int getPieceIndex(final int coord)
+    {
+        if (coord < 0)
+            return -1;
+
+        final int r = coord >> 8, c = coord & 0xFF;
+        if ((r > boardHeight) || (c > boardWidth))
+            return -1;
+
+        return (r * (boardWidth + 1)) + c;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 2.4.50
+     */
+    @Override
+    protected int getPieceIndexLength()
+    {
+        return (boardHeight + 1) * (boardWidth + 1);
+    }
+
     /**
      * Add one legal settlement location to each player.
      * The new location is alone by itself, outside of the other Land Areas where they can place.
@@ -2113,7 +2143,7 @@ public class SOCBoardLarge extends SOCBoard
         if ((las == null) || (landAreasLegalNodes == null))
             return false;
 
-        final int[] hnodes = getAdjacentNodesToHex_arr(hexCoord);
+        final int[] hnodes = getAdjacentNodesToHex_shared(hexCoord);
         final Integer hnode0 = Integer.valueOf(hnodes[0]);
         for (int la : las)
         {
@@ -2639,6 +2669,8 @@ public class SOCBoardLarge extends SOCBoard
      * Since all hexes have 6 edges, all edge coordinates are valid
      * if the hex coordinate is valid.
      *
+     *<P>
+     * Since v2.4.50 the returned list is unmodifiable, and shared by all boards with the same {@link SOCBoardTopology}.
      * @param hexCoord Coordinate of this hex; not checked for validity
      * @return  {@link ArrayList} with the 6 edges adjacent to this hex. Never returns {@code null} or empty.
      * @see #getAdjacentEdgesToHex_arr(int)
@@ -2646,6 +2678,10 @@ public class SOCBoardLarge extends SOCBoard
      */
     public List<Integer> getAdjacentEdgesToHex(final int hexCoord)
     {
+        final List<Integer> shared = getTopologyList(SOCBoardTopology.EDGES_TO_HEX, hexCoord);
+        if (shared != null)
+            return shared;
+
         final ArrayList<Integer> edges = new ArrayList<Integer>(6);
         for (int dir = 0; dir < 6; ++dir)
             edges.add(Integer.valueOf(hexCoord + A_EDGE2HEX[dir][0] + A_EDGE2HEX[dir][1]));
@@ -2666,6 +2702,20 @@ public class SOCBoardLarge extends SOCBoard
      */
     public int[] getAdjacentEdgesToHex_arr(final int hexCoord)
     {
+        return getAdjacentEdgesToHex_shared(hexCoord).clone();
+    }
+
+    /**
+     * Same as {@link #getAdjacentEdgesToHex_arr(int)}, but may return the array shared by all boards with the same
+     * {@link SOCBoardTopology} instead of a new one. For callers in this package which don't change its contents.
+     * @since 2.4.50
+     */
+    int[] getAdjacentEdgesToHex_shared(final int hexCoord)
+    {
+        final int[] shared = getTopologyArray(SOCBoardTopology.EDGES_TO_HEX, hexCoord);
+        if (shared != null)
+            return shared;
+
         int[] edge = new int[6];
         for (int dir = 0; dir < 6; ++dir)
             edge[dir] = hexCoord + A_EDGE2HEX[dir][0] + A_EDGE2HEX[dir][1];
@@ -2729,6 +2779,21 @@ public class SOCBoardLarge extends SOCBoard
     @Override
     public int[] getAdjacentNodesToHex_arr(final int hexCoord)
     {
+        return getAdjacentNodesToHex_shared(hexCoord).clone();
+    }
+
+    /**
+     * Same as {@link #getAdjacentNodesToHex_arr(int)}, but may return the array shared by all boards with the same
+     * {@link SOCBoardTopology} instead of a new one. For callers in this package which don't change its contents.
+     * @since 2.4.50
+     */
+    @Override
+    int[] getAdjacentNodesToHex_shared(final int hexCoord)
+    {
+        final int[] shared = getTopologyArray(SOCBoardTopology.NODES_TO_HEX, hexCoord);
+        if (shared != null)
+            return shared;
+
         int[] node = new int[6];
         for (int dir = 0; dir < 6; ++dir)
             node[dir] = hexCoord + A_NODE2HEX[dir][0] + A_NODE2HEX[dir][1];
@@ -2956,6 +3021,8 @@ public class SOCBoardLarge extends SOCBoard
 
     /**
      * Get the edge coordinates of the 2 to 4 edges adjacent to this edge.
+     *<P>
+     * Since v2.4.50 the returned list is unmodifiable, and shared by all boards with the same {@link SOCBoardTopology}.
      * @param coord  Edge coordinate; not checked for validity
      * @return the valid adjacent edge coordinates to this edge.
      *     If {@code coord} is off the board, none of its adjacents will be in bounds,
@@ -2964,6 +3031,10 @@ public class SOCBoardLarge extends SOCBoard
     @Override
     public List<Integer> getAdjacentEdgesToEdge(final int coord)
     {
+        final List<Integer> shared = getTopologyList(SOCBoardTopology.EDGES_TO_EDGE, coord);
+        if (shared != null)
+            return shared;
+
         final int r = (coord >> 8),
                   c = (coord & 0xFF);
 
@@ -3078,6 +3149,8 @@ public class SOCBoardLarge extends SOCBoard
 
     /**
      * Adjacent node coordinates to an edge (that is, the nodes that are the two ends of the edge).
+     *<P>
+     * Since v2.4.50 the returned list is unmodifiable, and shared by all boards with the same {@link SOCBoardTopology}.
      * @return the node coordinates that touch this edge
      * @see #getAdjacentNodesToEdge_arr(int)
      * @see #getAdjacentNodeToEdge(int, int)
@@ -3085,9 +3158,13 @@ public class SOCBoardLarge extends SOCBoard
     @Override
     public List<Integer> getAdjacentNodesToEdge(final int coord)
     {
+        final List<Integer> shared = getTopologyList(SOCBoardTopology.NODES_TO_EDGE, coord);
+        if (shared != null)
+            return shared;
+
         List<Integer> nodes = new ArrayList<Integer>(2);
 
-        final int[] narr = getAdjacentNodesToEdge_arr(coord);
+        final int[] narr = getAdjacentNodesToEdge_shared(coord);
         nodes.add(Integer.valueOf(narr[0]));
         nodes.add(Integer.valueOf(narr[1]));
 
@@ -3104,6 +3181,21 @@ public class SOCBoardLarge extends SOCBoard
     @Override
     public int[] getAdjacentNodesToEdge_arr(final int coord)
     {
+        return getAdjacentNodesToEdge_shared(coord).clone();
+    }
+
+    /**
+     * Same as {@link #getAdjacentNodesToEdge_arr(int)}, but may return the array shared by all boards with the same
+     * {@link SOCBoardTopology} instead of a new one. For callers in this package which don't change its contents.
+     * @since 2.4.50
+     */
+    @Override
+    int[] getAdjacentNodesToEdge_shared(final int coord)
+    {
+        final int[] shared = getTopologyArray(SOCBoardTopology.NODES_TO_EDGE, coord);
+        if (shared != null)
+            return shared;
+
         int[] nodes = new int[2];
 
         final int r = coord >> 8;
@@ -3225,6 +3317,8 @@ public class SOCBoardLarge extends SOCBoard
     /**
      * Get the coordinates of the hexes adjacent to this node.
      * These hexes may contain land or water.
+     *<P>
+     * Since v2.4.50 the returned list is unmodifiable, and shared by all boards with the same {@link SOCBoardTopology}.
      * @param nodeCoord  Node coordinate.  Is not checked for validity.
      * @return the coordinates (Integers) of the 1 to 3 hexes touching this node,
      *         within the boundaries (1, 1, boardHeight-1, boardWidth-1)
@@ -3233,6 +3327,10 @@ public class SOCBoardLarge extends SOCBoard
     @Override
     public List<Integer> getAdjacentHexesToNode(final int nodeCoord)
     {
+        final List<Integer> shared = getTopologyList(SOCBoardTopology.HEXES_TO_NODE, nodeCoord);
+        if (shared != null)
+            return shared;
+
         // Determining (r,c) node direction: Y or A
         //  s = r/2
         //  "Y" if (s,c) is even,odd or odd,even
@@ -3429,7 +3527,7 @@ public class SOCBoardLarge extends SOCBoard
     {
         ArrayList<Integer> coastEdges = new ArrayList<Integer>(3);
 
-        for (int edge : getAdjacentEdgesToNode_arr(node))
+        for (int edge : getAdjacentEdgesToNode_shared(node))
         {
             if (edge == -9)
                 continue;  // edge off the board
@@ -3849,7 +3947,7 @@ public class SOCBoardLarge extends SOCBoard
             if (edge < 0)
                 continue;  // this port isn't currently placed on its SOCBoardLarge board: skip it
 
-            final int[] nodes = getAdjacentNodesToEdge_arr(edge);
+            final int[] nodes = getAdjacentNodesToEdge_shared(edge);
             placePort(ptype, -1, facing, nodes[0], nodes[1]);
         }
     }
@@ -3878,7 +3976,7 @@ public class SOCBoardLarge extends SOCBoard
      */
     public int getPortEdgeFromNode(final int node)
     {
-        final int[] ed = getAdjacentEdgesToNode_arr(node);  // unused will be -9
+        final int[] ed = getAdjacentEdgesToNode_shared(node);  // unused will be -9
 
         // Note: Assumes ports will never share a node and be on adjacent edges.
 
@@ -4015,7 +4113,7 @@ public class SOCBoardLarge extends SOCBoard
         if (i == n)
             return false;  // edge not found in port layout
 
-        final int[] portNodes = getAdjacentNodesToEdge_arr(edge);
+        final int[] portNodes = getAdjacentNodesToEdge_shared(edge);
         for (i = 0; i <= 1; ++i)
         {
             final int la = getNodeLandArea(portNodes[i]);
@@ -4068,7 +4166,7 @@ public class SOCBoardLarge extends SOCBoard
             {
                 portsLayout[n + i] = -1;
 
-                final int[] nodes = getAdjacentNodesToEdge_arr(edge);
+                final int[] nodes = getAdjacentNodesToEdge_shared(edge);
                 final int node1Int = Integer.valueOf(nodes[0]),
                           node2Int = Integer.valueOf(nodes[1]);
                 nodeIDtoPortType.remove(node1Int);
@@ -0,0 +1,254 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable adjacency tables for one board geometry, shared by all {@link SOCBoard}s which have that geometry:
+ * Same board class, {@link SOCBoard#getBoardEncodingFormat() encoding}, height and width, and node and edge ranges.
+ * Each board gets its shared topology on first use from {@link SOCBoard#getTopology()}.
+ *<P>
+ * For each coordinate within the board's range, the tables hold the results of the board's
+ * {@code getAdjacent*} methods, as computed before tables were used. Boards return those results directly,
+ * so the arrays and lists from the tables are shared: Callers must not change the contents of
+ * returned arrays, and returned lists are unmodifiable.
+ * Coordinates outside the range aren't in the tables; boards compute and return new results for those.
+ *<P>
+ * Geometry never changes after a board is constructed, except in {@link SOCBoard#setBoardBounds(int, int)}
+ * which gets a new topology. Land, water, and pieces aren't part of the topology, so methods like
+ * {@link SOCBoard#getAdjacentHexesToHex(int, boolean)} still look at the board's layout.
+ *
+ * @since 2.4.50
+ */
+public final class SOCBoardTopology
+{
+    /** Table kind: Adjacent edges to a node, for {@link SOCBoard#getAdjacentEdgesToNode_arr(int)} */
+    static final int EDGES_TO_NODE = 0;
+
+    /** Table kind: Adjacent nodes to a node, for {@link SOCBoard#getAdjacentNodesToNode_arr(int)} */
+    static final int NODES_TO_NODE = 1;
+
+    /** Table kind: Adjacent nodes to an edge, for {@link SOCBoard#getAdjacentNodesToEdge_arr(int)} */
+    static final int NODES_TO_EDGE = 2;
+
+    /** Table kind: Adjacent nodes to a hex, for {@link SOCBoard#getAdjacentNodesToHex_arr(int)} */
+    static final int NODES_TO_HEX = 3;
+
+    /**
+     * Table kind: Adjacent edges to a hex, for {@link SOCBoardLarge#getAdjacentEdgesToHex_arr(int)};
+     * only for {@link SOCBoardLarge}
+     */
+    static final int EDGES_TO_HEX = 4;
+
+    /** List kind: Adjacent edges to an edge, for {@link SOCBoard#getAdjacentEdgesToEdge(int)} */
+    static final int EDGES_TO_EDGE = 5;
+
+    /** List kind: Adjacent hexes to a node, for {@link SOCBoard#getAdjacentHexesToNode(int)} */
+    static final int HEXES_TO_NODE = 6;
+
+    /** Number of table kinds; lists use the same kinds as arrays, plus {@link #EDGES_TO_EDGE} and {@link #HEXES_TO_NODE} */
+    private static final int NUM_KINDS = 7;
+
+    /** Topologies built so far, keyed by {@link #makeKey(SOCBoard)} */
+    private static final ConcurrentHashMap<String, SOCBoardTopology> sharedTopologies
+        = new ConcurrentHashMap<String, SOCBoardTopology>();
+
+    /** True if geometry is {@link SOCBoard#BOARD_ENCODING_LARGE}, indexed by row and column */
+    private final boolean isLarge;
+
+    /** Board width, for {@link #indexOf(int)} on the large board */
+    private final int width;
+
+    /** Height of the coordinate range for {@link #indexOf(int)} on the large board; max row coordinate */
+    private final int height;
+
+    /**
+     * Each kind's arrays, indexed by kind and then {@link #indexOf(int)}.
+     * Unused kinds are null. Lists have no arrays here.
+     */
+    private final int[][][] arrays;
+
+    /**
+     * Each kind's unmodifiable lists, indexed by kind and then {@link #indexOf(int)}.
+     * Unused kinds are null.
+     */
+    private final List<Integer>[][] lists;
+
+    /**
+     * Get the shared topology for a board's geometry, building it if needed.
+     * @param board  Board to get topology for. If topology isn't yet built, its {@code getAdjacent*} methods
+     *     are called to build it; they must compute results (not use a topology) during that call.
+     * @return  Shared topology for {@code board}'s geometry
+     */
+    static SOCBoardTopology getShared(final SOCBoard board)
+    {
+        final String key = makeKey(board);
+        SOCBoardTopology topo = sharedTopologies.get(key);
+        if (topo == null)
+        {
+            topo = new SOCBoardTopology(board);
+            final SOCBoardTopology prev = sharedTopologies.putIfAbsent(key, topo);
+            if (prev != null)
+                topo = prev;
+        }
+
+        return topo;
+    }
+
+    /**
+     * Number of different board geometries whose topologies have been built in this JVM.
+     * @return  Number of shared topologies
+     */
+    public static int getSharedCount()
+    {
+        return sharedTopologies.size();
+    }
+
+    /**
+     * Key for a board's geometry.
+     * @param board  Board
+     * @return  Key with board's class, encoding, size, and node and edge ranges
+     */
+    private static String makeKey(final SOCBoard board)
+    {
+        return board.getClass().getName() + ':' + board.getBoardEncodingFormat()
+            + ':' + board.getBoardHeight() + 'x' + board.getBoardWidth()
+            + ':' + board.minNode + ',' + board.minEdge + ',' + board.maxEdge;
+    }
+
+    /**
+     * Build the tables by calling the board's methods for each coordinate in range.
+     * @param board  Board whose methods compute the results
+     */
+    @SuppressWarnings("unchecked")
+    private SOCBoardTopology(final SOCBoard board)
+    {
+        isLarge = (board.getBoardEncodingFormat() == SOCBoard.BOARD_ENCODING_LARGE);
+        height = board.getBoardHeight();
+        width = board.getBoardWidth();
+
+        final int len = (isLarge) ? ((height + 1) * (width + 1)) : 0x100;
+        arrays = new int[NUM_KINDS][][];
+        lists = new List[NUM_KINDS][];
+        final SOCBoardLarge boardLarge = (isLarge) ? (SOCBoardLarge) board : null;
+
+        for (int kind = 0; kind < NUM_KINDS; ++kind)
+        {
+            if ((kind == EDGES_TO_HEX) && ! isLarge)
+                continue;
+            if ((kind != EDGES_TO_EDGE) && (kind != HEXES_TO_NODE))
+                arrays[kind] = new int[len][];
+            lists[kind] = new List[len];
+        }
+
+        for (int i = 0; i < len; ++i)
+        {
+            final int coord = (isLarge) ? (((i / (width + 1)) << 8) | (i % (width + 1))) : i;
+
+            arrays[EDGES_TO_NODE][i] = board.getAdjacentEdgesToNode_arr(coord);
+            lists[EDGES_TO_NODE][i] = shareList(board.getAdjacentEdgesToNode(coord));
+            arrays[NODES_TO_NODE][i] = board.getAdjacentNodesToNode_arr(coord);
+            lists[NODES_TO_NODE][i] = shareList(board.getAdjacentNodesToNode(coord));
+            arrays[NODES_TO_EDGE][i] = board.getAdjacentNodesToEdge_arr(coord);
+            lists[NODES_TO_EDGE][i] = shareList(board.getAdjacentNodesToEdge(coord));
+            arrays[NODES_TO_HEX][i] = board.getAdjacentNodesToHex_arr(coord);
+            lists[NODES_TO_HEX][i] = shareList(board.getAdjacentNodesToHex(coord));
+            if (isLarge)
+            {
+                arrays[EDGES_TO_HEX][i] = boardLarge.getAdjacentEdgesToHex_arr(coord);
+                lists[EDGES_TO_HEX][i] = shareList(boardLarge.getAdjacentEdgesToHex(coord));
+            }
+            lists[EDGES_TO_EDGE][i] = shareList(board.getAdjacentEdgesToEdge(coord));
+            lists[HEXES_TO_NODE][i] = shareList(board.getAdjacentHexesToNode(coord));
+        }
+    }
+
+    /**
+     * Make an unmodifiable copy of a list to share.
+     * @param li  List to copy
+     * @return  Unmodifiable copy of {@code li}
+     */
+    private static List<Integer> shareList(final List<Integer> li)
+    {
+        if (li.isEmpty())
+            return Collections.emptyList();
+
+        return Collections.unmodifiableList(new ArrayList<Integer>(li));
+    }
+
+    /**
+     * Get a coordinate's index within the tables.
+     * @param coord  Node, edge, or hex coordinate; not checked for validity
+     * @return  Index, or -1 if outside the tables' range
+     */
+    private int indexOf(final int coord)
+    {
+        if (coord < 0)
+            return -1;
+
+        if (! isLarge)
+            return (coord <= 0xFF) ? coord : -1;
+
+        final int r = coord >> 8, c = coord & 0xFF;
+        if ((r > height) || (c > width))
+            return -1;
+
+        return (r * (width + 1)) + c;
+    }
+
+    /**
+     * Get the shared array of one kind for a coordinate.
+     * @param kind  Kind of table, like {@link #EDGES_TO_NODE}
+     * @param coord  Coordinate; not checked for validity
+     * @return  Shared array which callers must not change, or null if {@code coord} is out of range
+     *     or this topology has no table of that kind
+     */
+    int[] getArray(final int kind, final int coord)
+    {
+        final int[][] arr = arrays[kind];
+        if (arr == null)
+            return null;
+
+        final int i = indexOf(coord);
+        return (i != -1) ? arr[i] : null;
+    }
+
+    /**
+     * Get the shared unmodifiable list of one kind for a coordinate.
+     * @param kind  Kind of table, like {@link #EDGES_TO_EDGE}
+     * @param coord  Coordinate; not checked for validity
+     * @return  Unmodifiable list, or null if {@code coord} is out of range
+     *     or this topology has no list of that kind
+     */
+    List<Integer> getList(final int kind, final int coord)
+    {
+        final List<Integer>[] li = lists[kind];
+        if (li == null)
+            return null;
+
+        final int i = indexOf(coord);
+        return (i != -1) ? li[i] : null;
+    }
+
+}
@@ -1266,10 +1266,8 @@ public class SOCGame implements Serializable, Cloneable
      * The server can set this field to 0 to tell itself to end a turn soon, but
      * otherwise the value should be a recent time.
      *<P>
-     * At the end of a game, the server may increase this value by
-     * {@link soc.server.SOCGameListAtServer#GAME_TIME_EXPIRE_MINUTES}
-     * in order to remove it from the {@link soc.server.SOCGameTimeoutChecker}
-     * run loop.
+     * Before v2.4.50, at the end of a game the server might increase this value by
+     * {@code SOCGameListAtServer.GAME_TIME_EXPIRE_MINUTES} to skip it in the timeout checker's scans.
      *
      * @see #getStartTime()
      * @see #getExpiration()
@@ -1772,6 +1770,20 @@ public class SOCGame implements Serializable, Cloneable
         gameEventListener = sel;
     }
 
+    /**
+     * Reseed this game's random number generator, which is used for dice rolls, the starting player,
+     * the development card deck, and random resource picks. Does not affect the board's generator:
+     * See {@link SOCBoard#setRandomSeed(long)}.
+     *<P>
+     * For repeatable results in tests and benchmarks; the server doesn't call this.
+     * @param seed  Seed for the game's {@link Random}
+     * @since 2.4.50
+     */
+    public void setRandomSeed(final long seed)
+    {
+        rand.setSeed(seed);
+    }
+
     /**
      * Set the expiration time at which this game will be destroyed.
      * Also clears the {@link #hasWarnedExpiration()} flag, for use when extending the game,
@@ -3442,7 +3454,7 @@ public class SOCGame implements Serializable, Cloneable
             return false;
 
         boolean plHasSettleOrCity = false;
-        final int[] portNodes = board.getAdjacentNodesToEdge_arr(edge);
+        final int[] portNodes = board.getAdjacentNodesToEdge_shared(edge);
         for (int i = 0; i <= 1; ++i)
         {
             if (board.getPortTypeFromNodeCoord(portNodes[i]) != -1)
@@ -6639,7 +6651,7 @@ public class SOCGame implements Serializable, Cloneable
 
         // Look for player's ship at edge adjacent to pirate fortress;
         // start with most recently placed ship
-        final int[] edges = board.getAdjacentEdgesToNode_arr(fort.getCoordinates());
+        final int[] edges = board.getAdjacentEdgesToNode_shared(fort.getCoordinates());
         Vector<SOCRoutePiece> roadsAndShips = pl.getRoadsAndShips();
         for (int i = roadsAndShips.size() - 1; i >= 0; --i)
         {
@@ -6802,7 +6814,7 @@ public class SOCGame implements Serializable, Cloneable
     {
         final List<SOCPlayer> playerList = new ArrayList<SOCPlayer>(3);
 
-        final int[] nodes = board.getAdjacentNodesToHex_arr(hex);
+        final int[] nodes = board.getAdjacentNodesToHex_shared(hex);
 
         for (int i = 0; i < maxPlayers; i++)
         {
@@ -6870,7 +6882,7 @@ public class SOCGame implements Serializable, Cloneable
     {
         ArrayList<SOCPlayer> playerList = new ArrayList<>(3);
 
-        final int[] edges = ((SOCBoardLarge) board).getAdjacentEdgesToHex_arr(hex);
+        final int[] edges = ((SOCBoardLarge) board).getAdjacentEdgesToHex_shared(hex);
 
         for (int i = 0; i < maxPlayers; i++)
         {
@@ -7027,7 +7039,7 @@ public class SOCGame implements Serializable, Cloneable
                         {
                             // See if any other player's getAddedLegalSettlement is also adjacent to this hex.
                             // If so, should not rob at this hex per SC_PIRI scenairo rules.
-                            final int[] pirateAdjacNodes = board.getAdjacentNodesToHex_arr(ph);
+                            final int[] pirateAdjacNodes = board.getAdjacentNodesToHex_shared(ph);
                             boolean hasOtherPlayer = false;
                             outerLoop:
                             for (int pn = 0; pn < maxPlayers; ++pn)
@@ -9374,8 +9386,10 @@ public class SOCGame implements Serializable, Cloneable
      * @author Jeremy D Monin &lt;jeremy@nand.net&gt;
      * @since 2.0.00
      */
-    public static class RollResult
+    public static class RollResult implements Serializable
     {
+        private static final long serialVersionUID = 2450L;  // Serializable since v2.4.50
+
         /**
          * The dice numbers rolled, each 1 to 6.
          */
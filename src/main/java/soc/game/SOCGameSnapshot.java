@@ -0,0 +1,201 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.game;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A serialized snapshot of a game's current state, which can make any number of independent deep copies.
+ * Used by robots to evaluate "what-if" piece placements on several threads at once:
+ * Each thread places and removes temporary pieces in its own copy, never in the original game.
+ *<P>
+ * Copies share the original game's {@link SOCGameOptionSet}s instead of copying them;
+ * treat those as read-only. Each copy's playing pieces are linked to the copy's players and board,
+ * with {@link SOCPlayingPiece#setGameInfo(SOCPlayer, SOCBoard)}, since those fields aren't serialized.
+ * Server-only transient fields like {@link SOCGame#pendingMessagesOut} are null in copies.
+ *<P>
+ * Take the snapshot on the thread which owns the game, while no other thread is changing it.
+ * After that, {@link #newCopy()} is thread-safe.
+ *
+ * @since 2.4.50
+ */
+public class SOCGameSnapshot
+{
+    /** The game's serialized state */
+    private final byte[] state;
+
+    /** Objects shared with copies instead of serialized, indexed by {@link SharedRef#index} */
+    private final Object[] shared;
+
+    /**
+     * Take a snapshot of a game's current state.
+     * @param ga  Game to snapshot; not null
+     * @throws IOException if the game can't be serialized, for example if it has a non-serializable
+     *     listener or scenario-specific object
+     */
+    public SOCGameSnapshot(final SOCGame ga)
+        throws IOException
+    {
+        final List<Object> sharedList = new ArrayList<Object>();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream oos = new SharingOutputStream(bytes, sharedList);
+        try
+        {
+            oos.writeObject(ga);
+        } finally {
+            oos.close();
+        }
+
+        state = bytes.toByteArray();
+        shared = sharedList.toArray();
+    }
+
+    /**
+     * Size of the serialized game state.
+     * @return  Size in bytes
+     */
+    public int size()
+    {
+        return state.length;
+    }
+
+    /**
+     * Make a new independent copy of the game as it was when the snapshot was taken.
+     * @return  A new copy of the game
+     * @throws IOException if the copy can't be deserialized; not expected
+     */
+    public SOCGame newCopy()
+        throws IOException
+    {
+        final SOCGame ga;
+        final ObjectInputStream ois = new SharingInputStream(new ByteArrayInputStream(state), shared);
+        try
+        {
+            ga = (SOCGame) ois.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e.toString());
+        } finally {
+            ois.close();
+        }
+
+        final SOCBoard board = ga.getBoard();
+        for (final SOCPlayer pl : ga.getPlayers())
+        {
+            for (final SOCPlayingPiece pp : pl.getPieces())
+                pp.setGameInfo(pl, board);
+
+            final SOCFortress fort = pl.getFortress();
+            if (fort != null)
+                fort.setGameInfo(pl, board);
+        }
+
+        if (board instanceof SOCBoardLarge)
+        {
+            final Map<Integer, SOCVillage> villages = ((SOCBoardLarge) board).getVillages();
+            if (villages != null)
+                for (final SOCVillage v : villages.values())
+                    v.setGameInfo(null, board);
+        }
+
+        return ga;
+    }
+
+    /**
+     * Placeholder written instead of a shared object.
+     */
+    private static final class SharedRef implements Serializable
+    {
+        private static final long serialVersionUID = 2450L;
+
+        final int index;
+
+        SharedRef(final int index)
+        {
+            this.index = index;
+        }
+    }
+
+    /**
+     * Output stream which writes a {@link SharedRef} instead of each {@link SOCGameOptionSet}.
+     */
+    private static final class SharingOutputStream extends ObjectOutputStream
+    {
+        private final List<Object> sharedList;
+
+        private final Map<Object, SharedRef> refs = new IdentityHashMap<Object, SharedRef>();
+
+        SharingOutputStream(final ByteArrayOutputStream out, final List<Object> sharedList)
+            throws IOException
+        {
+            super(out);
+            this.sharedList = sharedList;
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(final Object obj)
+        {
+            if (! (obj instanceof SOCGameOptionSet))
+                return obj;
+
+            SharedRef ref = refs.get(obj);
+            if (ref == null)
+            {
+                ref = new SharedRef(sharedList.size());
+                sharedList.add(obj);
+                refs.put(obj, ref);
+            }
+
+            return ref;
+        }
+    }
+
+    /**
+     * Input stream which resolves each {@link SharedRef} to its shared object.
+     */
+    private static final class SharingInputStream extends ObjectInputStream
+    {
+        private final Object[] shared;
+
+        SharingInputStream(final ByteArrayInputStream in, final Object[] shared)
+            throws IOException
+        {
+            super(in);
+            this.shared = shared;
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Object resolveObject(final Object obj)
+        {
+            return (obj instanceof SharedRef) ? shared[((SharedRef) obj).index] : obj;
+        }
+    }
+
+}
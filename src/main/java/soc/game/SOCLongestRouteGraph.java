@@ -0,0 +1,473 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.game;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Vector;
+
+import soc.util.IntPair;
+
+/**
+ * One player's roads and ships as a route graph, split into components, for incremental
+ * longest road / longest trade route calculation by {@link SOCPlayer#calcLongestRoad2()}.
+ *<P>
+ * A component is a set of the player's edges which one route could connect: Two edges sharing a node
+ * are in the same component unless another player's settlement or city is at the node, or
+ * (on the sea board) one edge is a road and the other a ship and the player has no settlement or city there.
+ * A route never leaves its component, so each component's longest route is cached until a change
+ * to one of its edges or nodes marks it dirty: {@link #addEdge(int, boolean)}, {@link #removeEdge(int)},
+ * {@link #nodeChanged(int)}. {@link #update(List)} then recalculates only the dirty components,
+ * with a depth-first search over preallocated arrays which allocates nothing per step.
+ *<P>
+ * Node ownership is read from the board when a component is recalculated, so marking can happen
+ * before the board is updated, as in {@link SOCPlayer#putPiece(SOCPlayingPiece, boolean)}.
+ *<P>
+ * Not thread-safe; owned by one {@link SOCPlayer}.
+ *
+ * @since 2.4.50
+ */
+final class SOCLongestRouteGraph implements Serializable
+{
+    private static final long serialVersionUID = 2450L;
+
+    /** {@link #nodeState} value: No settlement or city at node */
+    private static final byte NODE_OPEN = 0;
+
+    /** {@link #nodeState} value: Our settlement or city at node */
+    private static final byte NODE_OURS = 1;
+
+    /** {@link #nodeState} value: Another player's settlement or city at node; routes can end here but not pass */
+    private static final byte NODE_THEIRS = 2;
+
+    /** Initial edge capacity: {@link SOCPlayer#ROAD_COUNT} + {@link SOCPlayer#SHIP_COUNT} */
+    private static final int INITIAL_CAPACITY = SOCPlayer.ROAD_COUNT + SOCPlayer.SHIP_COUNT;
+
+    private final SOCGame game;
+
+    private final int playerNumber;
+
+    /** Number of edges (roads and ships) in the graph */
+    private int numEdges;
+
+    /** Coordinate of each edge, indexed by edge number 0 to {@link #numEdges} - 1 */
+    private int[] edgeCoord;
+
+    /** Each edge's 2 node coordinates: Edge {@code i}'s are at [2i] and [2i + 1] ("sides" 0 and 1) */
+    private int[] edgeNode;
+
+    /** Is each edge a road, not a ship? */
+    private boolean[] edgeIsRoad;
+
+    /** Each edge's component label, or -1 if its component is dirty */
+    private int[] edgeComp;
+
+    /**
+     * Ownership of each edge's nodes, same indexes as {@link #edgeNode}: {@link #NODE_OPEN},
+     * {@link #NODE_OURS} or {@link #NODE_THEIRS}. Current only for edges in clean components.
+     */
+    private byte[] nodeState;
+
+    /**
+     * Other edges at each edge's nodes: At edge {@code i}'s side {@code s} are
+     * [4i + 2s] and [4i + 2s + 1], each encoded as {@code 2 * edge + side} of the other edge
+     * at the shared node, or -1. Nodes have 3 edges, so there are at most 2 others.
+     * Not current if {@link #adjValid} is false.
+     */
+    private int[] adj;
+
+    /** Is {@link #adj} current? Cleared by any edge add or remove. */
+    private boolean adjValid;
+
+    /** Is each component label in use? Indexed by label */
+    private boolean[] labelUsed;
+
+    /** Each component's longest route length, indexed by label */
+    private int[] compLength;
+
+    /** Each component's longest route, indexed by label */
+    private SOCLRPathData[] compPath;
+
+    /* Scratch space for the search; sized with the edge arrays */
+
+    /** Edges used by the route being searched */
+    private boolean[] visited;
+
+    /** Nodes of the route being searched, from its start */
+    private int[] routeNodes;
+
+    /** Nodes of the longest route found so far in the component being searched */
+    private int[] bestNodes;
+
+    /** Length of {@link #bestNodes}' route, or 0 */
+    private int bestLen;
+
+    /** Edges of one dirty component, for the search */
+    private int[] compEdges;
+
+    /**
+     * Create an empty route graph for a player.
+     * @param ga  Player's game
+     * @param pn  Player number
+     */
+    SOCLongestRouteGraph(final SOCGame ga, final int pn)
+    {
+        game = ga;
+        playerNumber = pn;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Copy constructor, for {@link SOCPlayer#SOCPlayer(SOCPlayer, String)}.
+     * Copies arrays; the cached {@link SOCLRPathData}s are shared, since they aren't changed after creation.
+     * @param other  Graph to copy
+     */
+    SOCLongestRouteGraph(final SOCLongestRouteGraph other)
+    {
+        game = other.game;
+        playerNumber = other.playerNumber;
+        numEdges = other.numEdges;
+        edgeCoord = other.edgeCoord.clone();
+        edgeNode = other.edgeNode.clone();
+        edgeIsRoad = other.edgeIsRoad.clone();
+        edgeComp = other.edgeComp.clone();
+        nodeState = other.nodeState.clone();
+        adj = other.adj.clone();
+        adjValid = other.adjValid;
+        labelUsed = other.labelUsed.clone();
+        compLength = other.compLength.clone();
+        compPath = other.compPath.clone();
+
+        final int cap = edgeCoord.length;
+        visited = new boolean[cap];
+        routeNodes = new int[cap + 1];
+        bestNodes = new int[cap + 1];
+        compEdges = new int[cap];
+    }
+
+    /**
+     * Allocate or grow the arrays to hold this many edges.
+     * @param cap  New capacity; at least {@link #numEdges}
+     */
+    private void allocate(final int cap)
+    {
+        if (edgeCoord == null)
+        {
+            edgeCoord = new int[cap];
+            edgeNode = new int[2 * cap];
+            edgeIsRoad = new boolean[cap];
+            edgeComp = new int[cap];
+            nodeState = new byte[2 * cap];
+            adj = new int[4 * cap];
+            labelUsed = new boolean[cap];
+            compLength = new int[cap];
+            compPath = new SOCLRPathData[cap];
+        } else {
+            edgeCoord = Arrays.copyOf(edgeCoord, cap);
+            edgeNode = Arrays.copyOf(edgeNode, 2 * cap);
+            edgeIsRoad = Arrays.copyOf(edgeIsRoad, cap);
+            edgeComp = Arrays.copyOf(edgeComp, cap);
+            nodeState = Arrays.copyOf(nodeState, 2 * cap);
+            adj = Arrays.copyOf(adj, 4 * cap);
+            labelUsed = Arrays.copyOf(labelUsed, cap);
+            compLength = Arrays.copyOf(compLength, cap);
+            compPath = Arrays.copyOf(compPath, cap);
+        }
+
+        visited = new boolean[cap];
+        routeNodes = new int[cap + 1];
+        bestNodes = new int[cap + 1];
+        compEdges = new int[cap];
+    }
+
+    /**
+     * Add one of our roads or ships, marking the components at its nodes dirty.
+     * @param edge  Edge coordinate
+     * @param isRoad  True for a road, false for a ship
+     */
+    void addEdge(final int edge, final boolean isRoad)
+    {
+        final int[] nodes = game.getBoard().getAdjacentNodesToEdge_shared(edge);
+        markNodeDirty(nodes[0]);
+        markNodeDirty(nodes[1]);
+
+        if (numEdges == edgeCoord.length)
+            allocate(2 * numEdges);
+
+        final int i = numEdges;
+        ++numEdges;
+        edgeCoord[i] = edge;
+        edgeNode[2 * i] = nodes[0];
+        edgeNode[2 * i + 1] = nodes[1];
+        edgeIsRoad[i] = isRoad;
+        edgeComp[i] = -1;
+        adjValid = false;
+    }
+
+    /**
+     * Remove one of our roads or ships, marking its component dirty.
+     * @param edge  Edge coordinate; does nothing if not in the graph
+     */
+    void removeEdge(final int edge)
+    {
+        int i = numEdges - 1;
+        while ((i >= 0) && (edgeCoord[i] != edge))
+            --i;
+        if (i < 0)
+            return;
+
+        markCompDirty(edgeComp[i]);
+
+        // move last edge into the removed one's place
+        final int last = numEdges - 1;
+        --numEdges;
+        if (i != last)
+        {
+            edgeCoord[i] = edgeCoord[last];
+            edgeNode[2 * i] = edgeNode[2 * last];
+            edgeNode[2 * i + 1] = edgeNode[2 * last + 1];
+            edgeIsRoad[i] = edgeIsRoad[last];
+            edgeComp[i] = edgeComp[last];
+            nodeState[2 * i] = nodeState[2 * last];
+            nodeState[2 * i + 1] = nodeState[2 * last + 1];
+        }
+        adjValid = false;
+    }
+
+    /**
+     * A settlement or city was placed or removed at a node, by any player;
+     * mark dirty the components of our edges there.
+     * @param node  Node coordinate
+     */
+    void nodeChanged(final int node)
+    {
+        markNodeDirty(node);
+    }
+
+    /**
+     * Mark dirty the components of all our edges at a node.
+     * @param node  Node coordinate
+     */
+    private void markNodeDirty(final int node)
+    {
+        for (int i = 2 * numEdges - 1; i >= 0; --i)
+            if (edgeNode[i] == node)
+                markCompDirty(edgeComp[i >> 1]);
+    }
+
+    /**
+     * Mark a component dirty and free its label.
+     * @param label  Component label, or -1 if already dirty
+     */
+    private void markCompDirty(final int label)
+    {
+        if (label == -1)
+            return;
+
+        for (int i = 0; i < numEdges; ++i)
+            if (edgeComp[i] == label)
+                edgeComp[i] = -1;
+        labelUsed[label] = false;
+        compPath[label] = null;
+    }
+
+    /**
+     * Recalculate any dirty components, then gather the longest route of each component.
+     * @param paths  List to fill with each component's longest route; cleared first
+     * @return  Length of the longest route, or 0 if no edges
+     */
+    int update(final List<SOCLRPathData> paths)
+    {
+        if (! adjValid)
+            buildAdjacency();
+
+        final SOCBoard board = game.getBoard();
+        for (int i = 0; i < numEdges; ++i)
+            if (edgeComp[i] == -1)
+            {
+                nodeState[2 * i] = nodeStateAt(board, edgeNode[2 * i]);
+                nodeState[2 * i + 1] = nodeStateAt(board, edgeNode[2 * i + 1]);
+            }
+
+        for (int i = 0; i < numEdges; ++i)
+            if (edgeComp[i] == -1)
+                recalcComponent(i);
+
+        paths.clear();
+        int longest = 0;
+        for (int label = 0; label < labelUsed.length; ++label)
+        {
+            if (! labelUsed[label])
+                continue;
+
+            paths.add(compPath[label]);
+            if (compLength[label] > longest)
+                longest = compLength[label];
+        }
+
+        return longest;
+    }
+
+    /**
+     * Who owns the settlement or city at this node, if any?
+     * @return  {@link #NODE_OPEN}, {@link #NODE_OURS} or {@link #NODE_THEIRS}
+     */
+    private byte nodeStateAt(final SOCBoard board, final int node)
+    {
+        final SOCPlayingPiece pp = board.settlementAtNode(node);
+        if (pp == null)
+            return NODE_OPEN;
+
+        return (pp.getPlayerNumber() == playerNumber) ? NODE_OURS : NODE_THEIRS;
+    }
+
+    /**
+     * Rebuild {@link #adj} for all edges. There are few enough edges that comparing all pairs is cheap.
+     */
+    private void buildAdjacency()
+    {
+        Arrays.fill(adj, 0, 4 * numEdges, -1);
+        for (int i = 0; i < numEdges; ++i)
+            for (int s = 0; s < 2; ++s)
+            {
+                final int node = edgeNode[2 * i + s];
+                int k = 4 * i + 2 * s;
+                for (int j = 0; j < numEdges; ++j)
+                {
+                    if (j == i)
+                        continue;
+
+                    if (edgeNode[2 * j] == node)
+                        adj[k++] = 2 * j;
+                    else if (edgeNode[2 * j + 1] == node)
+                        adj[k++] = 2 * j + 1;
+                    else
+                        continue;
+
+                    if (k == 4 * i + 2 * s + 2)
+                        break;
+                }
+            }
+
+        adjValid = true;
+    }
+
+    /**
+     * Can a route go from edge {@code i} to edge {@code j} through their shared node?
+     * @param i  Edge arriving at the node
+     * @param nodeSide  Side of {@code i} at the shared node
+     * @param j  Edge leaving the node
+     * @return  True if the route can continue
+     */
+    private boolean canPass(final int i, final int nodeSide, final int j)
+    {
+        final byte st = nodeState[2 * i + nodeSide];
+        if (st == NODE_THEIRS)
+            return false;
+
+        return (st == NODE_OURS) || (edgeIsRoad[i] == edgeIsRoad[j]) || ! game.hasSeaBoard;
+    }
+
+    /**
+     * Label the dirty component containing edge {@code start}, then search it for its longest route.
+     * @param start  A dirty edge
+     */
+    private void recalcComponent(final int start)
+    {
+        int label = 0;
+        while (labelUsed[label])
+            ++label;
+        labelUsed[label] = true;
+
+        // flood fill through passable nodes; compEdges is the work list
+        int n = 0;
+        compEdges[n++] = start;
+        edgeComp[start] = label;
+        for (int w = 0; w < n; ++w)
+        {
+            final int i = compEdges[w];
+            for (int s = 0; s < 2; ++s)
+                for (int k = 4 * i + 2 * s, kEnd = k + 2; k < kEnd; ++k)
+                {
+                    final int js = adj[k];
+                    if (js == -1)
+                        break;
+
+                    final int j = js >> 1;
+                    if ((edgeComp[j] == -1) && canPass(i, s, j))
+                    {
+                        edgeComp[j] = label;
+                        compEdges[n++] = j;
+                    }
+                }
+        }
+
+        // longest route: start from each end of each edge
+        bestLen = 0;
+        for (int w = 0; w < n; ++w)
+        {
+            final int i = compEdges[w];
+            for (int s = 0; s < 2; ++s)
+            {
+                routeNodes[0] = edgeNode[2 * i + s];
+                search(i, 1 - s, 1);
+            }
+        }
+
+        final Vector<IntPair> pairs = new Vector<IntPair>(bestLen);
+        for (int p = 0; p < bestLen; ++p)
+            pairs.addElement(new IntPair(bestNodes[p], bestNodes[p + 1]));
+        compLength[label] = bestLen;
+        compPath[label] = new SOCLRPathData(bestNodes[0], bestNodes[bestLen], bestLen, pairs);
+    }
+
+    /**
+     * Depth-first search for the longest route, continuing along edge {@code i}
+     * to its node on side {@code side}. {@link #routeNodes} [0 to {@code len} - 1] hold the route so far.
+     * @param i  Edge to travel along; not visited yet
+     * @param side  Side of {@code i} arrived at
+     * @param len  Route length including {@code i}
+     */
+    private void search(final int i, final int side, final int len)
+    {
+        visited[i] = true;
+        routeNodes[len] = edgeNode[2 * i + side];
+        if (len > bestLen)
+        {
+            bestLen = len;
+            System.arraycopy(routeNodes, 0, bestNodes, 0, len + 1);
+        }
+
+        for (int k = 4 * i + 2 * side, kEnd = k + 2; k < kEnd; ++k)
+        {
+            final int js = adj[k];
+            if (js == -1)
+                break;
+
+            final int j = js >> 1;
+            if ((! visited[j]) && canPass(i, side, j))
+                search(j, 1 - (js & 1), len + 1);
+        }
+
+        visited[i] = false;
+    }
+
+}
@@ -21,6 +21,7 @@
  **/
 package soc.game;
 
+import java.io.Serializable;
 import java.util.List;
 
 
@@ -33,8 +34,10 @@ import java.util.List;
  *
  * @see SOCGame.RollResult
  */
-public class SOCMoveRobberResult
+public class SOCMoveRobberResult implements Serializable
 {
+    private static final long serialVersionUID = 2450L;  // Serializable since v2.4.50
+
     /** Victim, or possible victims, or empty or null */
     List<SOCPlayer> victims;
 
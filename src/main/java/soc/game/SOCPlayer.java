@@ -25,6 +25,7 @@ package soc.game;
 import soc.disableDebug.D;
 
 import soc.message.SOCMessage;
+import soc.util.IntBitSet;
 import soc.util.IntPair;
 import soc.util.NodeLenVis;
 
@@ -237,6 +238,14 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
      */
     private final Vector<SOCLRPathData> lrPaths;
 
+    /**
+     * Our roads and ships as components of a route graph, for incremental
+     * longest road calculation by {@link #calcLongestRoad2()}.
+     * Updated when pieces are placed or removed.
+     * @since 2.4.50
+     */
+    private final SOCLongestRouteGraph routeGraph;
+
     /**
      * how many of each resource this player has
      */
@@ -420,8 +429,11 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
      * If {@link SOCGame#hasSeaBoard}, empty until {@link SOCBoard#makeNewBoard(SOCGameOptionSet)}
      * and {@link SOCGame#startGame()}, because the board layout and legal settlements
      * vary from game to game.
+     *<P>
+     * Like the other legal and potential node and edge sets, this is an {@link IntBitSet}
+     * so that copying the player for robot planning and membership tests are cheap.
      */
-    private HashSet<Integer> legalRoads;
+    private IntBitSet legalRoads;
 
     /**
      * The set of nodes where it's legal to place a settlement;
@@ -430,7 +442,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
      * @see #potentialSettlements
      * @see SOCBoard#nodesOnLand
      */
-    private HashSet<Integer> legalSettlements;
+    private IntBitSet legalSettlements;
 
     /**
      * The most recently added node from {@link #addLegalSettlement(int, boolean)}, or 0.
@@ -450,7 +462,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
      * @see #legalShipsRestricted
      * @since 2.0.00
      */
-    private HashSet<Integer> legalShips;
+    private IntBitSet legalShips;
 
     /**
      * A list of edges if the legal sea edges for ships are restricted
@@ -473,7 +485,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
      * {@link #updatePotentials(SOCPlayingPiece)}.
      * Elements are set false when a road or ship is placed on their edge.
      */
-    private HashSet<Integer> potentialRoads;
+    private IntBitSet potentialRoads;
 
     /**
      * a set of nodes where a settlement could be
@@ -483,14 +495,14 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
      * and then re-set via {@link #updatePotentials(SOCPlayingPiece) updatePotentials(SOCRoad)}.
      * Placing a settlement will clear its node and adjacent nodes.
      *<P>
-     * Key = node coordinate, as {@link Integer}.
-     * If {@link HashSet#contains(Object) potentialSettlements.contains(Integer.valueOf(nodeCoord))},
+     * Key = node coordinate.
+     * If {@link IntBitSet#contains(int) potentialSettlements.contains(nodeCoord)},
      * then this is a potential settlement.
      * @see #legalSettlements
      * @see #setPotentialAndLegalSettlements(Collection, boolean, HashSet[])
      * @see SOCBoard#nodesOnLand
      */
-    private HashSet<Integer> potentialSettlements;
+    private IntBitSet potentialSettlements;
 
     /**
      * a set of nodes where a city could be
@@ -503,7 +515,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
      * because we use {@link #legalSettlements} before placing a settlement,
      * and settlements can always become cities.
      */
-    private HashSet<Integer> potentialCities;
+    private IntBitSet potentialCities;
 
     /**
      * a set of edges where a ship could be placed
@@ -517,7 +529,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
      * this set is empty but non-null.
      * @since 2.0.00
      */
-    private HashSet<Integer> potentialShips;
+    private IntBitSet potentialShips;
 
     /**
      * True if board has fog hexes, {@link #potentialSettlements} has some nodes on
@@ -728,6 +740,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
         numWarships = player.numWarships;
         longestRoadLength = player.longestRoadLength;
         lrPaths = new Vector<SOCLRPathData>(player.lrPaths);
+        routeGraph = new SOCLongestRouteGraph(player.routeGraph);
         resources = player.resources.copy();
         resourceStats = new int[player.resourceStats.length];
         System.arraycopy(player.resourceStats, 0, resourceStats, 0, player.resourceStats.length);
@@ -778,13 +791,13 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
         /**
          * init legal and potential arrays
          */
-        legalRoads = new HashSet<Integer>(player.legalRoads);
-        legalSettlements = new HashSet<Integer>(player.legalSettlements);
-        legalShips = new HashSet<Integer>(player.legalShips);
-        potentialRoads = new HashSet<Integer>(player.potentialRoads);
-        potentialSettlements = new HashSet<Integer>(player.potentialSettlements);
-        potentialCities = new HashSet<Integer>(player.potentialCities);
-        potentialShips = new HashSet<Integer>(player.potentialShips);
+        legalRoads = new IntBitSet(player.legalRoads);
+        legalSettlements = new IntBitSet(player.legalSettlements);
+        legalShips = new IntBitSet(player.legalShips);
+        potentialRoads = new IntBitSet(player.potentialRoads);
+        potentialSettlements = new IntBitSet(player.potentialSettlements);
+        potentialCities = new IntBitSet(player.potentialCities);
+        potentialShips = new IntBitSet(player.potentialShips);
         addedLegalSettlement = player.addedLegalSettlement;
         if (player.legalShipsRestricted != null)
             legalShipsRestricted = new HashSet<Integer>(player.legalShipsRestricted);
@@ -849,6 +862,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
         spItems = new HashMap<String, ArrayList<SOCSpecialItem>>();
         longestRoadLength = 0;
         lrPaths = new Vector<SOCLRPathData>();
+        routeGraph = new SOCLongestRouteGraph(ga, pn);
         resources = new SOCResourceSet();
         resourceStats = new int[1 + SOCResourceConstants.GOLD_LOCAL];
         rolledResources = new SOCResourceSet();
@@ -885,26 +899,41 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
          * If game.hasSeaBoard, these are initialized later, after board.makeNewBoard
          * and game.startGame, because the layout varies from game to game.
          */
-        potentialRoads = new HashSet<Integer>();
-        potentialCities = new HashSet<Integer>();
-        potentialShips = new HashSet<Integer>();
+        final int coordCapacity = coordSetCapacity(board);
+        legalRoads = new IntBitSet(coordCapacity);
+        legalSettlements = new IntBitSet(coordCapacity);
+        legalShips = new IntBitSet(coordCapacity);  // stays empty unless game.hasSeaBoard
+        potentialRoads = new IntBitSet(coordCapacity);
+        potentialCities = new IntBitSet(coordCapacity);
+        potentialShips = new IntBitSet(coordCapacity);
 
         if (! game.hasSeaBoard)
         {
-            legalRoads = board.initPlayerLegalRoads();
-            legalSettlements = board.initPlayerLegalSettlements();
-            legalShips = new HashSet<Integer>();  // will remain empty
-            potentialSettlements = new HashSet<Integer>(legalSettlements);
+            legalRoads.addAll(board.initPlayerLegalRoads());
+            legalSettlements.addAll(board.initPlayerLegalSettlements());
+            potentialSettlements = new IntBitSet(legalSettlements);
         } else {
-            legalRoads = new HashSet<Integer>();
-            legalSettlements = new HashSet<Integer>();
-            legalShips = new HashSet<Integer>();
-            potentialSettlements = new HashSet<Integer>();
+            potentialSettlements = new IntBitSet(coordCapacity);
         }
 
         currentOffer = null;
     }
 
+    /**
+     * Initial capacity for the legal and potential node and edge sets on this board,
+     * so they usually won't need to grow: Greater than the board's largest node or edge coordinate.
+     * Large boards' coordinates are {@code (r << 8) | c}; the classic encodings fit in 8 bits.
+     * @param board  Game's board
+     * @return  Capacity for {@link IntBitSet#IntBitSet(int)}
+     * @since 2.4.50
+     */
+    private static int coordSetCapacity(final SOCBoard board)
+    {
+        return (board instanceof SOCBoardLarge)
+            ? ((board.getBoardHeight() + 2) << 8)
+            : 0x100;
+    }
+
     /**
      * At start of normal game play, set all nodes to not be potential settlements.
      * Called by {@code SOCGame.updateAtGameFirstTurn()}
@@ -1665,7 +1694,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
 
         final SOCBoard board = game.getBoard();
         final int shipEdge = sh.getCoordinates();
-        final int[] shipNodes = board.getAdjacentNodesToEdge_arr(shipEdge);
+        final int[] shipNodes = board.getAdjacentNodesToEdge_shared(shipEdge);
 
         final boolean clearPastNode0, clearPastNode1;
 
@@ -1703,7 +1732,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
 
         final SOCBoard board = game.getBoard();
 
-        final int[] edgeNodes = board.getAdjacentNodesToEdge_arr(edge);
+        final int[] edgeNodes = board.getAdjacentNodesToEdge_shared(edge);
         for (int i = 0; i < 2; ++i)
         {
             SOCPlayingPiece sc = board.settlementAtNode(edgeNodes[i]);
@@ -1761,7 +1790,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
         int openEdgesCount =
             ((ignoreEdge != -9) && game.isGameOptionSet(SOCGameOptionSet.K_SC_PIRI)) ? 3 : 0;
 
-        int[] adjEdges = board.getAdjacentEdgesToNode_arr(node);
+        int[] adjEdges = board.getAdjacentEdgesToNode_arr(node);  // is a copy; ok to change
         for (int i = 0; i < 3; ++i)
             if ((adjEdges[i] == rsEdge) || (adjEdges[i] == ignoreEdge))
                 adjEdges[i] = -9;  // ignore this edge
@@ -2048,7 +2077,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
             // check node's other 2 adjacent edges
             // to see where the trade route goes next
 
-            final int[] nodeEdges = board.getAdjacentEdgesToNode_arr(node);
+            final int[] nodeEdges = board.getAdjacentEdgesToNode_shared(node);
             SOCShip nextShip1 = null, nextShip2 = null;
             for (int i = 0; i < 3; ++i)
             {
@@ -2928,6 +2957,10 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
             }
         }
 
+        final int ptype = piece.getType();
+        if ((ptype == SOCPlayingPiece.SETTLEMENT) || (ptype == SOCPlayingPiece.CITY))
+            routeGraph.nodeChanged(piece.getCoordinates());  // may block or connect our routes
+
         updatePotentials(piece);
     }
 
@@ -2958,6 +2991,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
          */
         roadsAndShips.addElement(piece);
         lastRoadCoord = piece.getCoordinates();
+        routeGraph.addEdge(lastRoadCoord, piece.isRoadNotShip());
 
         /**
          * add the nodes that this road or ship touches to the roadNodes list
@@ -3080,7 +3114,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
 
         final boolean boardHasVillages = game.isGameOptionSet(SOCGameOptionSet.K_SC_CLVI);
         final int edge = newShip.getCoordinates();
-        final int[] edgeNodes = board.getAdjacentNodesToEdge_arr(edge);
+        final int[] edgeNodes = board.getAdjacentNodesToEdge_shared(edge);
 
         for (int i = 0; i < 2; ++i)
         {
@@ -3363,6 +3397,8 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
         //
         case SOCPlayingPiece.SETTLEMENT:
 
+            routeGraph.nodeChanged(pieceCoord);  // may have blocked or connected our routes
+
             if (ours)
             {
                 removePiece(piece, null, isMoveOrReplacement);
@@ -3404,6 +3440,8 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
         //
         case SOCPlayingPiece.CITY:
 
+            routeGraph.nodeChanged(pieceCoord);
+
             if (ours)
             {
                 removePiece(piece, null, isMoveOrReplacement);
@@ -3617,6 +3655,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
                 case SOCPlayingPiece.SHIP:  // fall through to ROAD
                 case SOCPlayingPiece.ROAD:
                     roadsAndShips.removeElement(p);
+                    routeGraph.removeEdge(pieceCoord);
                     numPieces[ptype]++;
 
                     if (ptype == SOCPlayingPiece.SHIP)
@@ -3771,7 +3810,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
                          * settlements or cities
                          */
                         final int adjEdgeID = adjEdge.intValue();
-                        final int[] adjNodes = board.getAdjacentNodesToEdge_arr(adjEdgeID);
+                        final int[] adjNodes = board.getAdjacentNodesToEdge_shared(adjEdgeID);
 
                         for (int ni = 0; (ni < 2) && ! isPotentialRoad; ++ni)
                         {
@@ -3833,6 +3872,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
                     settlements.removeElement(p);
                     numPieces[SOCPlayingPiece.SETTLEMENT]++;
                     buildingVP--;
+                    routeGraph.nodeChanged(pieceCoord);
 
                     break;
 
@@ -3840,6 +3880,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
                     cities.removeElement(p);
                     numPieces[SOCPlayingPiece.CITY]++;
                     buildingVP -= 2;
+                    routeGraph.nodeChanged(pieceCoord);
 
                     break;
                 }
@@ -3949,7 +3990,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
 
         // Previously not a legal ship edge, because
         // we didn't know if the fog hid land or water
-        for (final int edge : board.getAdjacentEdgesToHex_arr(hexCoord))
+        for (final int edge : board.getAdjacentEdgesToHex_shared(hexCoord))
         {
             if ((htype == SOCBoard.WATER_HEX) || board.isEdgeCoastline(edge))
             {
@@ -4045,7 +4086,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
                 // only add potentials if it's our piece
                 // and the far end isn't blocked by
                 // another player.
-                final int[] nodes = board.getAdjacentNodesToEdge_arr(id);
+                final int[] nodes = board.getAdjacentNodesToEdge_shared(id);
 
                 for (int ni = 0; ni < 2; ++ni)
                 {
@@ -4064,7 +4105,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
 
                     if (! blocked)
                     {
-                        int[] edges = board.getAdjacentEdgesToNode_arr(node);
+                        int[] edges = board.getAdjacentEdgesToNode_shared(node);
                         for (int i = 0; i < 3; ++i)
                         {
                             int edge = edges[i];
@@ -4105,7 +4146,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
                         final int node = nodes[ni];
                         boolean foundOtherShips = false;
 
-                        final int[] edges = board.getAdjacentEdgesToNode_arr(node);
+                        final int[] edges = board.getAdjacentEdgesToNode_shared(node);
                         for (int i = 0; i < 3; ++i)
                         {
                             final int edge = edges[i];
@@ -4143,7 +4184,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
             // no settlement in its adjacent nodes.
             potentialSettlements.remove(idInt);
             legalSettlements.remove(idInt);
-            int[] adjac = board.getAdjacentNodesToNode_arr(id);
+            int[] adjac = board.getAdjacentNodesToNode_shared(id);
             for (int i = 0; i < 3; ++i)
             {
                 if (adjac[i] != -9)
@@ -4161,7 +4202,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
             {
                 potentialCities.add(idInt);
 
-                adjac = board.getAdjacentEdgesToNode_arr(id);
+                adjac = board.getAdjacentEdgesToNode_shared(id);
                 for (int i = 0; i < 3; ++i)
                 {
                     tmp = adjac[i];
@@ -4196,7 +4237,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
                         ourRoads.add(Integer.valueOf(p.getCoordinates()));
                 }
 
-                adjac = board.getAdjacentEdgesToNode_arr(id);
+                adjac = board.getAdjacentEdgesToNode_shared(id);
                 for (int i = 0; i < 3; ++i)
                 {
                     tmp = adjac[i];  // edge coordinate
@@ -4213,7 +4254,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
                     // find the far-end node coordinate
                     final int farNode;
                     {
-                        final int[] enodes = board.getAdjacentNodesToEdge_arr(tmp);
+                        final int[] enodes = board.getAdjacentNodesToEdge_shared(tmp);
                         if (enodes[0] == id)
                             farNode = enodes[1];
                         else
@@ -4226,7 +4267,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
                     // which connects that node with the new settlement's node,
                     // from tmp edge's far node.
 
-                    final int[] farEdges = board.getAdjacentEdgesToNode_arr(farNode);
+                    final int[] farEdges = board.getAdjacentEdgesToNode_shared(farNode);
                     boolean foundOurRoad = false;
                     for (int ie = 0; ie < 3; ++ie)
                     {
@@ -4275,7 +4316,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
      * @see #getLegalSettlements()
      * @since 2.0.00
      */
-    public HashSet<Integer> getPotentialSettlements()
+    public Set<Integer> getPotentialSettlements()
     {
         return potentialSettlements;
     }
@@ -4293,15 +4334,10 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
      */
     public int[] getPotentialSettlements_arr()
     {
-        int L = potentialSettlements.size();
-        if (L == 0)
+        if (potentialSettlements.isEmpty())
             return null;
 
-        int[] pset = new int[L];
-        Iterator<Integer> it = potentialSettlements.iterator();
-        for (int i = 0; it.hasNext(); ++i)
-            pset[i] = it.next().intValue();
-        return pset;
+        return potentialSettlements.toIntArray();
     }
 
     /**
@@ -4373,13 +4409,14 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
             else
                 legalSettlements.addAll(board.getLegalSettlements());
 
-            legalRoads = game.getBoard().initPlayerLegalRoads();
+            legalRoads.clear();
+            legalRoads.addAll(board.initPlayerLegalRoads());
             if (! (board.getLandHexCoordsSet().isEmpty()))
             {
+                legalShips.clear();
                 if (! game.isGameOptionSet(SOCGameOptionSet.K_SC_PIRI))
-                    legalShips = board.initPlayerLegalShips();
-                else
-                    legalShips.clear();  // SC_PIRI: caller must soon call setRestrictedLegalShips
+                    legalShips.addAll(board.initPlayerLegalShips());
+                // else SC_PIRI: caller must soon call setRestrictedLegalShips
             }
         }
     }
@@ -4443,7 +4480,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
         if (checkAdjacents)
         {
             final SOCBoard board = game.getBoard();
-            final int[] adjacNodes = board.getAdjacentNodesToNode_arr(node);
+            final int[] adjacNodes = board.getAdjacentNodesToNode_shared(node);
 
             for (int i = 0; i < 3; ++i)
                 if ((adjacNodes[i] != -9) && (null != board.settlementAtNode(adjacNodes[i])))
@@ -4492,7 +4529,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
      */
     public boolean isPotentialSettlement(final int node)
     {
-        return potentialSettlements.contains(Integer.valueOf(node));
+        return potentialSettlements.contains(node);
     }
 
     /**
@@ -4505,7 +4542,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
      */
     public void clearPotentialSettlement(final int node)
     {
-        potentialSettlements.remove(Integer.valueOf(node));
+        potentialSettlements.remove(node);
     }
 
     /**
@@ -4517,7 +4554,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
      */
     public boolean isLegalSettlement(final int node)
     {
-        return legalSettlements.contains(Integer.valueOf(node));
+        return legalSettlements.contains(node);
     }
 
     /**
@@ -4543,7 +4580,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
      */
     public boolean isPotentialCity(final int node)
     {
-        return potentialCities.contains(Integer.valueOf(node));
+        return potentialCities.contains(node);
     }
 
     /**
@@ -4556,7 +4593,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
      */
     public void clearPotentialCity(final int node)
     {
-        potentialCities.remove(Integer.valueOf(node));
+        potentialCities.remove(node);
     }
 
     /**
@@ -4571,7 +4608,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
     {
         if (edge == -1)
             edge = 0x00;
-        return potentialRoads.contains(Integer.valueOf(edge));
+        return potentialRoads.contains(edge);
     }
 
     /**
@@ -4586,7 +4623,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
     {
         if (edge == -1)
             edge = 0x00;
-        potentialRoads.remove(Integer.valueOf(edge));
+        potentialRoads.remove(edge);
     }
 
     /**
@@ -4600,7 +4637,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
             edge = 0x00;
         else if (edge < 0)
             return false;
-        return legalRoads.contains(Integer.valueOf(edge));
+        return legalRoads.contains(edge);
     }
 
     /**
@@ -4636,7 +4673,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
      */
     public boolean isPotentialShipMoveTo(final int toEdge, final int fromEdge)
     {
-        if (! potentialShips.contains(Integer.valueOf(toEdge)))
+        if (! potentialShips.contains(toEdge))
         {
             if (game.isGameOptionSet(SOCGameOptionSet.K_SC_PIRI)
                 && (null != legalShipsRestricted))
@@ -4654,7 +4691,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
         }
 
         final SOCBoard board = game.getBoard();
-        final int[] edgeNodes = board.getAdjacentNodesToEdge_arr(toEdge);
+        final int[] edgeNodes = board.getAdjacentNodesToEdge_shared(toEdge);
 
         SOCPlayingPiece pp = board.settlementAtNode(edgeNodes[0]);
         if ((pp != null) && (pp.getPlayerNumber() != playerNumber))
@@ -4691,7 +4728,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
      */
     public boolean isPotentialShip(int edge)
     {
-        return potentialShips.contains(Integer.valueOf(edge));
+        return potentialShips.contains(edge);
     }
 
     /**
@@ -4704,7 +4741,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
      */
     public void clearPotentialShip(int edge)
     {
-        potentialShips.remove(Integer.valueOf(edge));
+        potentialShips.remove(edge);
     }
 
     /**
@@ -4719,7 +4756,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
         if (edge < 0)
             return false;
 
-        return legalShips.contains(Integer.valueOf(edge));
+        return legalShips.contains(edge);
     }
 
     /**
@@ -4916,11 +4953,37 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
     }
 
     /**
-     * Calculates the longest road / longest trade route for this player
+     * Calculates the longest road / longest trade route for this player,
+     * and updates {@link #getLongestRoadLength()} and {@link #getLRPaths()}.
+     *<P>
+     * Incremental: Our roads and ships are kept as components of a route graph, and only components
+     * changed by placing or removing pieces since the last call are searched again.
+     * {@link #getLRPaths()} will have each component's longest path.
+     * Before v2.4.50 this searched all paths every time; see {@link #calcLongestRoadFullSearch()}.
      *
      * @return the length of the longest road for this player
      */
     public int calcLongestRoad2()
+    {
+        longestRoadLength = routeGraph.update(lrPaths);
+
+        return longestRoadLength;
+    }
+
+    /**
+     * Calculates the longest road / longest trade route for this player
+     * by searching all paths from each of our road nodes,
+     * and updates {@link #getLongestRoadLength()} and {@link #getLRPaths()}.
+     *<P>
+     * This was {@code calcLongestRoad2} before v2.4.50, and is kept as a reference
+     * for testing and benchmarking the incremental {@link #calcLongestRoad2()}.
+     * Both give the same length, but {@link #getLRPaths()} may differ:
+     * This method can find more than one path within a connected road network.
+     *
+     * @return the length of the longest road for this player
+     * @since 2.4.50
+     */
+    public int calcLongestRoadFullSearch()
     {
         //Date startTime = new Date();
         //
@@ -4981,7 +5044,7 @@ public class SOCPlayer implements SOCDevCardConstants, Serializable, Cloneable
 
                     pathEnd = true;  // may be set false in loop
 
-                    final int[] adjacNodes = board.getAdjacentNodesToNode_arr(coord);
+                    final int[] adjacNodes = board.getAdjacentNodesToNode_shared(coord);
                     for (int ni = adjacNodes.length - 1; ni>=0; --ni)
                     {
                         final int j = adjacNodes[ni];
@@ -23,6 +23,7 @@ package soc.game;
 
 import soc.util.IntPair;
 
+import java.io.Serializable;
 import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.Iterator;
@@ -38,8 +39,10 @@ import java.util.Vector;
  *
  * @author Robert S. Thomas
  */
-public class SOCPlayerNumbers
+public class SOCPlayerNumbers implements Serializable
 {
+    private static final long serialVersionUID = 2450L;  // Serializable since v2.4.50
+
     /**
      * Dice roll numbers which yield this resource.
      * Uses indexes in range {@link SOCResourceConstants#CLAY} to {@link SOCResourceConstants#WOOD}.
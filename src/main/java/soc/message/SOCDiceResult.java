@@ -20,8 +20,6 @@
  **/
 package soc.message;
 
-import java.util.StringTokenizer;
-
 
 /**
  * Server's report of the total amount rolled on the dice this turn.
@@ -94,16 +92,27 @@ public class SOCDiceResult extends SOCMessageTemplate1i
      * @return    a DiceResult message, or null if the data is garbled
      */
     public static SOCDiceResult parseDataStr(String s)
+    {
+        return parseDataStr(new SOCMessageFieldReader(s, sep2_char));
+    }
+
+    /**
+     * Parse the command String's data fields into a DiceResult message,
+     * reading them from a {@link SOCMessageFieldReader} without creating substrings.
+     *
+     * @param fr   Reader for the data fields, as from {@link SOCMessage#toMsg(String)}
+     * @return    a DiceResult message, or null if the data is garbled
+     * @since 2.4.50
+     */
+    public static SOCDiceResult parseDataStr(final SOCMessageFieldReader fr)
     {
         String ga; // the game name
         int dr; // the dice result
 
-        StringTokenizer st = new StringTokenizer(s, sep2);
-
         try
         {
-            ga = st.nextToken();
-            dr = Integer.parseInt(st.nextToken());
+            ga = fr.nextString();
+            dr = fr.nextInt();
         }
         catch (Exception e)
         {
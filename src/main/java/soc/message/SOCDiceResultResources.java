@@ -303,4 +303,27 @@ public class SOCDiceResultResources extends SOCMessageTemplateMi
         }
     }
 
+    /**
+     * Parse the command String's parameters into a DiceResultResources message,
+     * reading them from a {@link SOCMessageFieldReader} without creating substrings.
+     *
+     * @param fr  Reader for the parameters after the message type, as from {@link SOCMessage#toMsg(String)}
+     * @return    a DiceResultResources message, or null if parsing errors
+     * @since 2.4.50
+     */
+    public static SOCDiceResultResources parseDataStr(final SOCMessageFieldReader fr)
+    {
+        try
+        {
+            final String gaName = fr.nextString();
+            final int[] ipa = parseIntParams(fr);
+            if (ipa.length < 1)
+                return null;
+
+            return new SOCDiceResultResources(gaName, ipa);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
 }
@@ -318,6 +318,38 @@ public class SOCGameElements extends SOCMessageTemplateMi
         }
     }
 
+    /**
+     * Parse the command String's parameters into a GameElements message,
+     * reading them from a {@link SOCMessageFieldReader} without creating substrings.
+     *
+     * @param fr  Reader for the parameters after the message type, as from {@link SOCMessage#toMsg(String)}
+     * @return    a GameElements message, or null if parsing errors
+     * @since 2.4.50
+     */
+    public static SOCGameElements parseDataStr(final SOCMessageFieldReader fr)
+    {
+        final int L = fr.countRemaining();
+        if ((L < 3) || ((L % 2) == 0))
+            return null;
+
+        try
+        {
+            final String gaName = fr.nextString();
+
+            final int n = (L - 1) / 2;
+            int[] elementTypes = new int[n], values = new int[n];
+            for (int i = 0; i < n; ++i)
+            {
+                elementTypes[i] = fr.nextInt();
+                values[i] = fr.nextInt();
+            }
+
+            return new SOCGameElements(gaName, elementTypes, values);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     /**
      * Strip out the parameter/attribute names from {@link #toString()}'s format,
      * returning message parameters as a list for {@link #parseDataStr(List)}.
@@ -20,7 +20,6 @@
  **/
 package soc.message;
 
-import java.util.StringTokenizer;
 import soc.game.SOCGame;  // for javadoc's use
 
 
@@ -203,16 +202,27 @@ public class SOCGameState extends SOCMessage
      * @return    a GameState message, or null if the data is garbled
      */
     public static SOCGameState parseDataStr(String s)
+    {
+        return parseDataStr(new SOCMessageFieldReader(s, sep2_char));
+    }
+
+    /**
+     * Parse the command String's data fields into a GameState message,
+     * reading them from a {@link SOCMessageFieldReader} without creating substrings.
+     *
+     * @param fr   Reader for the data fields, as from {@link SOCMessage#toMsg(String)}
+     * @return    a GameState message, or null if the data is garbled
+     * @since 2.4.50
+     */
+    public static SOCGameState parseDataStr(final SOCMessageFieldReader fr)
     {
         String ga;
         int gs;
 
-        StringTokenizer st = new StringTokenizer(s, sep2);
-
         try
         {
-            ga = st.nextToken();
-            gs = Integer.parseInt(st.nextToken());
+            ga = fr.nextString();
+            gs = fr.nextInt();
         }
         catch (Exception e)
         {
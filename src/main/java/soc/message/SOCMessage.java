@@ -31,8 +31,6 @@ import java.util.HashMap;
 import java.util.InputMismatchException;
 import java.util.List;
 import java.util.Map;
-import java.util.NoSuchElementException;
-import java.util.StringTokenizer;
 
 
 /**
@@ -656,6 +654,10 @@ public abstract class SOCMessage implements Serializable, Cloneable
      * The string is in the form of "id SEP messagename { SEP2 messagedata }*".
      * If the message type id is unknown, that is printed to System.err.
      * Otherwise calls message type's static {@code parseDataStr} method.
+     *<P>
+     * Since v2.4.50 reads fields with this thread's {@link SOCMessageFieldReader} instead of a StringTokenizer.
+     * High-volume message types have a {@code parseDataStr(SOCMessageFieldReader)} which parses
+     * directly from that reader; others are given the same {@code data} or {@code multiData} as before.
      *
      * @param s  String to convert
      * @return   converted String to a SOCMessage, or null if the string is garbled,
@@ -663,14 +665,76 @@ public abstract class SOCMessage implements Serializable, Cloneable
      */
     public static SOCMessage toMsg(String s)
     {
+        final SOCMessageFieldReader fr = SOCMessageFieldReader.forCurrentThread().reset(s, 0, s.length(), sep_char);
         try
         {
-            StringTokenizer st = new StringTokenizer(s, sep);
-
             /**
              * get the id that identifies the type of message
              */
-            int msgId = Integer.parseInt(st.nextToken());
+            int msgId = fr.nextInt();
+
+            /**
+             * High-volume message types, and most message template subclasses,
+             * parse their fields directly from the reader without any substrings or token lists.
+             * Single-data messages get a reader for the sep2-delimited fields of their data;
+             * {@link SOCMessageTemplateMi} subclasses get the sep-delimited parameters.
+             */
+            switch (msgId)
+            {
+            case PUTPIECE:
+                return SOCPutPiece.parseDataStr(fr.nextSubfields(sep2_char));
+
+            case PLAYERELEMENT:
+                return SOCPlayerElement.parseDataStr(fr.nextSubfields(sep2_char));
+
+            case GAMESTATE:
+                return SOCGameState.parseDataStr(fr.nextSubfields(sep2_char));
+
+            case DICERESULT:
+                return SOCDiceResult.parseDataStr(fr.nextSubfields(sep2_char));
+
+            case SETTURN:
+                return SOCSetTurn.parseDataStr(fr.nextSubfields(sep2_char));
+
+            case RESETBOARDAUTH:  // resetboard, 20080217, v1.1.00
+                return SOCResetBoardAuth.parseDataStr(fr.nextSubfields(sep2_char));
+
+            case RESETBOARDVOTEREQUEST:  // resetboard, 20080223, v1.1.00
+                return SOCResetBoardVoteRequest.parseDataStr(fr.nextSubfields(sep2_char));
+
+            case RESETBOARDVOTE:  // resetboard, 20080223, v1.1.00
+                return SOCResetBoardVote.parseDataStr(fr.nextSubfields(sep2_char));
+
+            case SIMPLEREQUEST:  // simple player requests, 20130217, v1.1.18
+                return SOCSimpleRequest.parseDataStr(fr.nextSubfields(sep2_char));
+
+            case SIMPLEACTION:  // simple actions for players, 20130904, v1.1.19
+                return SOCSimpleAction.parseDataStr(fr.nextSubfields(sep2_char));
+
+            case MOVEPIECE:  // move piece announcement, 20111203, v2.0.00
+                return SOCMovePiece.parseDataStr(fr.nextSubfields(sep2_char));
+
+            case REMOVEPIECE:  // pirate islands scenario, 20130218, v2.0.00
+                return SOCRemovePiece.parseDataStr(fr.nextSubfields(sep2_char));
+
+            case PIECEVALUE:  // cloth villages scenario, 20121115, v2.0.00
+                return SOCPieceValue.parseDataStr(fr.nextSubfields(sep2_char));
+
+            case REVEALFOGHEX:  // fog hexes, 20121108, v2.0.00
+                return SOCRevealFogHex.parseDataStr(fr.nextSubfields(sep2_char));
+
+            case PLAYERSTATS:  // per-player statistics, 20100312, v1.1.09
+                return SOCPlayerStats.parseDataStr(fr);
+
+            case PLAYERELEMENTS:  // multiple PLAYERELEMENT, 20100313, v1.1.09
+                return SOCPlayerElements.parseDataStr(fr);
+
+            case DICERESULTRESOURCES:  // dice roll result resources, 20130920; v2.0.00
+                return SOCDiceResultResources.parseDataStr(fr);
+
+            case GAMEELEMENTS:  // game status fields, 20171223, v2.0.00
+                return SOCGameElements.parseDataStr(fr);
+            }
 
             /**
              * get the rest of the data
@@ -701,29 +765,19 @@ public abstract class SOCMessage implements Serializable, Cloneable
              */
             ArrayList<String> multiData = null;
 
-            try
+            if (fr.hasNext())
             {
-                data = st.nextToken();
-                if (st.hasMoreTokens())
+                data = fr.nextString();
+                if (fr.hasNext())
                 {
-                        // SOCMessageMulti
-
-                        int n = st.countTokens();  // remaining (== number of parameters after "data")
-                        multiData = new ArrayList<String>(n + 1);
-                        multiData.add(data);
-                        while (st.hasMoreTokens())
-                        {
-                                try {
-                                        multiData.add(st.nextToken());
-                                } catch (NoSuchElementException e)
-                                {
-                                        multiData.add(null);
-                                }
-                        }
+                    // SOCMessageMulti
+
+                    multiData = new ArrayList<String>(fr.countRemaining() + 1);
+                    multiData.add(data);
+                    while (fr.hasNext())
+                        multiData.add(fr.nextString());
                 }
-            }
-            catch (NoSuchElementException e)
-            {
+            } else {
                 data = "";
             }
 
@@ -762,9 +816,6 @@ public abstract class SOCMessage implements Serializable, Cloneable
             case LEAVEALL:
                 return SOCLeaveAll.parseDataStr(data);
 
-            case PUTPIECE:
-                return SOCPutPiece.parseDataStr(data);
-
             case GAMETEXTMSG:
                 return SOCGameTextMsg.parseDataStr(data);
 
@@ -807,18 +858,9 @@ public abstract class SOCMessage implements Serializable, Cloneable
             case BOTJOINGAMEREQUEST:
                 return SOCBotJoinGameRequest.parseDataStr(data);
 
-            case PLAYERELEMENT:
-                return SOCPlayerElement.parseDataStr(data);
-
-            case GAMESTATE:
-                return SOCGameState.parseDataStr(data);
-
             case TURN:
                 return SOCTurn.parseDataStr(data);
 
-            case DICERESULT:
-                return SOCDiceResult.parseDataStr(data);
-
             case DISCARDREQUEST:
                 return SOCDiscardRequest.parseDataStr(data);
 
@@ -891,9 +933,6 @@ public abstract class SOCMessage implements Serializable, Cloneable
             case FIRSTPLAYER:
                 return SOCFirstPlayer.parseDataStr(data);
 
-            case SETTURN:
-                return SOCSetTurn.parseDataStr(data);
-
             case ROBOTDISMISS:
                 return SOCRobotDismiss.parseDataStr(data);
 
@@ -951,15 +990,6 @@ public abstract class SOCMessage implements Serializable, Cloneable
             case RESETBOARDREQUEST:  // resetboard, 20080217, v1.1.00
                 return SOCResetBoardRequest.parseDataStr(data);
 
-            case RESETBOARDAUTH:     // resetboard, 20080217, v1.1.00
-                return SOCResetBoardAuth.parseDataStr(data);
-
-            case RESETBOARDVOTEREQUEST:  // resetboard, 20080223, v1.1.00
-                return SOCResetBoardVoteRequest.parseDataStr(data);
-
-            case RESETBOARDVOTE:     // resetboard, 20080223, v1.1.00
-                return SOCResetBoardVote.parseDataStr(data);
-
             case RESETBOARDREJECT:   // resetboard, 20080223, v1.1.00
                 return SOCResetBoardReject.parseDataStr(data);
 
@@ -987,42 +1017,15 @@ public abstract class SOCMessage implements Serializable, Cloneable
             case BOARDLAYOUT2:      // 6-player board, 20091104, v1.1.08
                 return SOCBoardLayout2.parseDataStr(data);
 
-            case PLAYERSTATS:       // per-player statistics, 20100312, v1.1.09
-                return SOCPlayerStats.parseDataStr(multiData);
-
-            case PLAYERELEMENTS:    // multiple PLAYERELEMENT, 20100313, v1.1.09
-                return SOCPlayerElements.parseDataStr(multiData);
-
             case DEBUGFREEPLACE:    // debug piece Free Placement, 20110104, v1.1.12
                 return SOCDebugFreePlace.parseDataStr(data);
 
             case TIMINGPING:        // robot timing ping, 20111011, v1.1.13
                 return SOCTimingPing.parseDataStr(data);
 
-            case SIMPLEREQUEST:     // simple player requests, 20130217, v1.1.18
-                return SOCSimpleRequest.parseDataStr(data);
-
-            case SIMPLEACTION:     // simple actions for players, 20130904, v1.1.19
-                return SOCSimpleAction.parseDataStr(data);
-
             case GAMESERVERTEXT:    // game server text, 20130905; v2.0.00
                 return SOCGameServerText.parseDataStr(data);
 
-            case DICERESULTRESOURCES:  // dice roll result resources, 20130920; v2.0.00
-                return SOCDiceResultResources.parseDataStr(multiData);
-
-            case MOVEPIECE:         // move piece announcement, 20111203, v2.0.00
-                return SOCMovePiece.parseDataStr(data);
-
-            case REMOVEPIECE:       // pirate islands scenario, 20130218, v2.0.00
-                return SOCRemovePiece.parseDataStr(data);
-
-            case PIECEVALUE:        // cloth villages scenario, 20121115, v2.0.00
-                return SOCPieceValue.parseDataStr(data);
-
-            case GAMEELEMENTS:      // game status fields, 20171223, v2.0.00
-                return SOCGameElements.parseDataStr(multiData);
-
             case SVPTEXTMSG:        // SVP text messages, 20121221, v2.0.00
                 return SOCSVPTextMessage.parseDataStr(data);
 
@@ -1043,9 +1046,6 @@ public abstract class SOCMessage implements Serializable, Cloneable
 
             // gametype-specific messages:
 
-            case REVEALFOGHEX:      // fog hexes, 20121108, v2.0.00
-                return SOCRevealFogHex.parseDataStr(data);
-
             default:
                 System.err.println("Unhandled message type in SOCMessage.toMsg: " + msgId);
                 return null;
@@ -1058,6 +1058,10 @@ public abstract class SOCMessage implements Serializable, Cloneable
 
             return null;
         }
+        finally
+        {
+            fr.clear();
+        }
     }
 
     /**
@@ -0,0 +1,359 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.message;
+
+import java.util.NoSuchElementException;
+import java.util.StringTokenizer;  // for javadocs only
+
+/**
+ * Reusable cursor over the delimited fields of a message string from {@link SOCMessage#toCmd()},
+ * for parsing without {@link StringTokenizer}, {@link String#split(String)}, or substrings.
+ * Integer fields are parsed in place; string fields like game names are only copied when they
+ * differ from the previous string field read by this reader.
+ *<P>
+ * Like {@link StringTokenizer}, treats consecutive delimiters as one and ignores leading and
+ * trailing delimiters, so an empty field is never returned.
+ *<P>
+ * Sample {@code parseDataStr} for a message with fields "game sep2 pn sep2 coord":
+ *<pre>
+ *   public static SOCExample parseDataStr(final SOCMessageFieldReader fr)
+ *   {
+ *       try
+ *       {
+ *           final String ga = fr.nextString();
+ *           final int pn = fr.nextInt(), co = fr.nextInt();
+ *           return new SOCExample(ga, pn, co);
+ *       } catch (Exception e) {
+ *           return null;
+ *       }
+ *   }
+ *</pre>
+ *
+ * {@link SOCMessage#toMsg(String)} uses one reader per thread, from {@link #forCurrentThread()}.
+ * Readers aren't thread-safe; don't share one between threads.
+ *
+ * @since 2.4.50
+ */
+public final class SOCMessageFieldReader
+{
+    /** Per-thread reader for {@link #forCurrentThread()}. */
+    private static final ThreadLocal<SOCMessageFieldReader> threadReader = new ThreadLocal<SOCMessageFieldReader>()
+    {
+        protected SOCMessageFieldReader initialValue()
+        {
+            return new SOCMessageFieldReader();
+        }
+    };
+
+    /** Text being read; null after {@link #clear()} */
+    private CharSequence src;
+
+    /** Position of next char to read within {@link #src} */
+    private int pos;
+
+    /** End position (exclusive) of the fields to read within {@link #src} */
+    private int end;
+
+    /** Field delimiter, usually {@link SOCMessage#sep_char} or {@link SOCMessage#sep2_char} */
+    private char delim;
+
+    /**
+     * Most recent string returned by {@link #nextString()}, to reuse if the next one's the same, or null.
+     * Readers from {@link #nextSubfields(char)} use their parent's field instead: See {@link #cacheOwner}.
+     */
+    private String lastString;
+
+    /** Reader whose {@link #lastString} is used by this one: {@code this}, or parent of a sub-field reader */
+    private final SOCMessageFieldReader cacheOwner;
+
+    /** Reader for {@link #nextSubfields(char)}, created when first needed */
+    private SOCMessageFieldReader sub;
+
+    /**
+     * Create an empty reader; call {@link #reset(CharSequence, int, int, char)} before reading.
+     */
+    public SOCMessageFieldReader()
+    {
+        cacheOwner = this;
+    }
+
+    /**
+     * Create a reader for {@link #nextSubfields(char)}.
+     * @param parent  Parent reader, which will also hold this reader's {@link #lastString}
+     */
+    private SOCMessageFieldReader(final SOCMessageFieldReader parent)
+    {
+        cacheOwner = parent;
+    }
+
+    /**
+     * Create a reader for all of a string's fields.
+     * @param s  Text to read; not null
+     * @param delim  Field delimiter, such as {@link SOCMessage#sep2_char}
+     */
+    public SOCMessageFieldReader(final CharSequence s, final char delim)
+    {
+        this();
+        reset(s, 0, s.length(), delim);
+    }
+
+    /**
+     * Get this thread's reusable reader.
+     * Its contents are replaced by the next call to {@link #reset(CharSequence, int, int, char)},
+     * so callers must finish reading before calling any method which might use it again.
+     * @return  The current thread's reader; not null
+     */
+    public static SOCMessageFieldReader forCurrentThread()
+    {
+        return threadReader.get();
+    }
+
+    /**
+     * Start reading a new range of text.
+     * @param s  Text to read; not null
+     * @param start  Position of first char to read
+     * @param end  End position (exclusive) of text to read
+     * @param delim  Field delimiter, such as {@link SOCMessage#sep_char} or {@link SOCMessage#sep2_char}
+     * @return  this reader, for convenience
+     * @throws IndexOutOfBoundsException if {@code start} or {@code end} is outside {@code s}
+     */
+    public SOCMessageFieldReader reset(final CharSequence s, final int start, final int end, final char delim)
+        throws IndexOutOfBoundsException
+    {
+        if ((start < 0) || (end > s.length()) || (start > end))
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + s.length());
+
+        src = s;
+        pos = start;
+        this.end = end;
+        this.delim = delim;
+
+        return this;
+    }
+
+    /**
+     * Release the text being read, so it can be garbage-collected.
+     */
+    public void clear()
+    {
+        src = null;
+        pos = end = 0;
+        if (sub != null)
+            sub.clear();
+    }
+
+    /**
+     * Skip any delimiters at the current position.
+     * @return  true if another field follows
+     */
+    private boolean skipDelims()
+    {
+        while ((pos < end) && (src.charAt(pos) == delim))
+            ++pos;
+
+        return (pos < end);
+    }
+
+    /**
+     * Find the end of the field starting at the current position.
+     * @return  Position of the delimiter after the current field, or {@link #end}
+     */
+    private int fieldEnd()
+    {
+        int i = pos;
+        while ((i < end) && (src.charAt(i) != delim))
+            ++i;
+
+        return i;
+    }
+
+    /**
+     * Are there any more fields to read?
+     * @return  true if another field follows
+     */
+    public boolean hasNext()
+    {
+        return skipDelims();
+    }
+
+    /**
+     * Count the remaining fields without reading them.
+     * @return  Number of fields left to read, 0 if none
+     */
+    public int countRemaining()
+    {
+        int n = 0;
+        boolean inField = false;
+        for (int i = pos; i < end; ++i)
+        {
+            if (src.charAt(i) == delim)
+            {
+                inField = false;
+            } else if (! inField) {
+                inField = true;
+                ++n;
+            }
+        }
+
+        return n;
+    }
+
+    /**
+     * Read the next field as a decimal integer, with the same rules as
+     * {@link Integer#parseInt(String)} except that only ASCII digits are accepted.
+     * @return  The field's value
+     * @throws NoSuchElementException if no fields remain
+     * @throws NumberFormatException if the field isn't a valid integer
+     */
+    public int nextInt()
+        throws NoSuchElementException, NumberFormatException
+    {
+        if (! skipDelims())
+            throw new NoSuchElementException();
+
+        final int fe = fieldEnd();
+        int i = pos;
+        pos = fe;
+
+        boolean neg = false;
+        int limit = -Integer.MAX_VALUE;
+        final char c0 = src.charAt(i);
+        if ((c0 == '-') || (c0 == '+'))
+        {
+            if (c0 == '-')
+            {
+                neg = true;
+                limit = Integer.MIN_VALUE;
+            }
+            ++i;
+            if (i == fe)
+                throw new NumberFormatException("sign without digits");
+        }
+
+        // accumulate negatively like Integer.parseInt, to handle MIN_VALUE
+        final int multmin = limit / 10;
+        int result = 0;
+        for (; i < fe; ++i)
+        {
+            final int d = src.charAt(i) - '0';
+            if ((d < 0) || (d > 9) || (result < multmin))
+                throw new NumberFormatException("not an int field");
+            result *= 10;
+            if (result < limit + d)
+                throw new NumberFormatException("int field out of range");
+            result -= d;
+        }
+
+        return neg ? result : -result;
+    }
+
+    /**
+     * Read the next field as a string.
+     * If it has the same contents as the previous string read, returns that same String object
+     * instead of allocating another.
+     * @return  The field's contents; not null or empty
+     * @throws NoSuchElementException if no fields remain
+     */
+    public String nextString()
+        throws NoSuchElementException
+    {
+        if (! skipDelims())
+            throw new NoSuchElementException();
+
+        final int fe = fieldEnd(), len = fe - pos;
+        String str = cacheOwner.lastString;
+        if ((str == null) || (str.length() != len) || ! regionEquals(str))
+        {
+            str = src.subSequence(pos, fe).toString();
+            cacheOwner.lastString = str;
+        }
+        pos = fe;
+
+        return str;
+    }
+
+    /**
+     * Read the next field and compare it to a string, without copying it.
+     * @param s  String to compare; not null
+     * @return  true if the field's contents equal {@code s}
+     * @throws NoSuchElementException if no fields remain
+     */
+    public boolean nextEquals(final String s)
+        throws NoSuchElementException
+    {
+        if (! skipDelims())
+            throw new NoSuchElementException();
+
+        final int fe = fieldEnd();
+        final boolean eq = ((fe - pos) == s.length()) && regionEquals(s);
+        pos = fe;
+
+        return eq;
+    }
+
+    /**
+     * Does the text at the current position start with this string?
+     * Caller has already checked that enough chars remain in the field.
+     */
+    private boolean regionEquals(final String s)
+    {
+        final int L = s.length();
+        for (int i = 0; i < L; ++i)
+            if (src.charAt(pos + i) != s.charAt(i))
+                return false;
+
+        return true;
+    }
+
+    /**
+     * Read the next field, and return a reader for the sub-fields within it.
+     * For example, a message's data from {@link SOCMessage#toCmd()} is one
+     * {@link SOCMessage#sep_char}-delimited field holding {@link SOCMessage#sep2_char}-delimited sub-fields.
+     *<P>
+     * The returned reader belongs to this reader: Calling {@code nextSubfields} again resets it.
+     * If no fields remain, the returned reader is empty.
+     *
+     * @param subDelim  Delimiter between the sub-fields
+     * @return  A reader for the next field's sub-fields
+     */
+    public SOCMessageFieldReader nextSubfields(final char subDelim)
+    {
+        if (sub == null)
+            sub = new SOCMessageFieldReader(this);
+
+        if (! skipDelims())
+            return sub.reset(src, pos, pos, subDelim);
+
+        final int start = pos, fe = fieldEnd();
+        pos = fe;
+        return sub.reset(src, start, fe, subDelim);
+    }
+
+    /**
+     * For debugging, show the reader's position and remaining text.
+     */
+    @Override
+    public String toString()
+    {
+        return "SOCMessageFieldReader[pos=" + pos + ", remaining="
+            + ((src != null) ? src.subSequence(pos, end) : "") + "]";
+    }
+
+}
@@ -20,30 +20,28 @@
  **/
 package soc.message;
 
-// import java.util.StringTokenizer;
-
-
 /**
  * Template for per-game message types with 1 integer parameter.
  * Your class javadoc should explain the meaning of param1,
  * so that you won't need to write a getter for it.
  *<P>
  * You will have to write parseDataStr, because of its return
- * type and because it's static.
+ * type and because it's static. Since v2.4.50 it reads fields from a
+ * {@link SOCMessageFieldReader}, see {@link SOCMessage#toMsg(String)};
+ * also write a {@code parseDataStr(String)} which calls it with
+ * {@code new SOCMessageFieldReader(s, sep2_char)}.
  *<P>
  * Sample implementation:
  *<code><pre>
- *   public static SOCLongestRoad parseDataStr(final String s)
+ *   public static SOCLongestRoad parseDataStr(final SOCMessageFieldReader fr)
  *   {
  *       String ga; // the game name
  *       int pn; // the seat number
  *
- *       StringTokenizer st = new StringTokenizer(s, sep2);
- *
  *       try
  *       {
- *           ga = st.nextToken();
- *           pn = Integer.parseInt(st.nextToken());
+ *           ga = fr.nextString();
+ *           pn = fr.nextInt();
  *       }
  *       catch (Exception e)
  *       {
@@ -128,19 +126,17 @@ public abstract class SOCMessageTemplate1i extends SOCMessage
     /**
      * Parse the command String into a MessageType message
      *
-     * @param s   the String to parse
+     * @param fr  Reader for the data fields, as from {@link SOCMessage#toMsg(String)}
      * @return    a LongestRoad message, or null if parsing errors
-    public static SOCLongestRoad parseDataStr(final String s)
+    public static SOCLongestRoad parseDataStr(final SOCMessageFieldReader fr)
     {
         String ga; // the game name
         int pn; // the seat number
 
-        StringTokenizer st = new StringTokenizer(s, sep2);
-
         try
         {
-            ga = st.nextToken();
-            pn = Integer.parseInt(st.nextToken());
+            ga = fr.nextString();
+            pn = fr.nextInt();
         }
         catch (Exception e)
         {
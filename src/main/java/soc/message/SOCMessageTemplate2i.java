@@ -20,33 +20,31 @@
  **/
 package soc.message;
 
-// import java.util.StringTokenizer;
-
-
 /**
  * Template for per-game message types with 2 integer parameters.
  * Your class javadoc should explain the meaning of param1 and param2,
  * so that you won't need to write getters for those.
  *<P>
  * You will have to write parseDataStr, because of its return
- * type and because it's static.
+ * type and because it's static. Since v2.4.50 it reads fields from a
+ * {@link SOCMessageFieldReader}, see {@link SOCMessage#toMsg(String)};
+ * also write a {@code parseDataStr(String)} which calls it with
+ * {@code new SOCMessageFieldReader(s, sep2_char)}.
  *<P>
  * Sample implementation:
  *<code><pre>
- *   // format of s: LONGESTROAD sep game sep2 seatnumber sep2 coordinates
- *   public static SOCLongestRoad parseDataStr(final String s)
+ *   // format of data fields: LONGESTROAD sep game sep2 seatnumber sep2 coordinates
+ *   public static SOCLongestRoad parseDataStr(final SOCMessageFieldReader fr)
  *   {
  *       String ga; // the game name
  *       int pn; // the seat number
  *       int co; // coordinates
  *
- *       StringTokenizer st = new StringTokenizer(s, sep2);
- *
  *       try
  *       {
- *           ga = st.nextToken();
- *           pn = Integer.parseInt(st.nextToken());
- *           co = Integer.parseInt(st.nextToken());
+ *           ga = fr.nextString();
+ *           pn = fr.nextInt();
+ *           co = fr.nextInt();
  *       }
  *       catch (Exception e)
  *       {
@@ -147,21 +145,19 @@ public abstract class SOCMessageTemplate2i extends SOCMessage
     /**
      * Parse the command String into a MessageType message
      *
-     * @param s   the String to parse
+     * @param fr  Reader for the data fields, as from {@link SOCMessage#toMsg(String)}
      * @return    a MoveRobber message, or null if parsing errors
-    public static SOCMoveRobber parseDataStr(final String s)
+    public static SOCMoveRobber parseDataStr(final SOCMessageFieldReader fr)
     {
         String ga; // the game name
         int pn; // the seat number
         int co; // coordinates
 
-        StringTokenizer st = new StringTokenizer(s, sep2);
-
         try
         {
-            ga = st.nextToken();
-            pn = Integer.parseInt(st.nextToken());
-            co = Integer.parseInt(st.nextToken());
+            ga = fr.nextString();
+            pn = fr.nextInt();
+            co = fr.nextInt();
         }
         catch (Exception e)
         {
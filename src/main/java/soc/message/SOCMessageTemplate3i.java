@@ -19,35 +19,33 @@
  **/
 package soc.message;
 
-// import java.util.StringTokenizer;
-
-
 /**
  * Template for per-game message types with 3 integer parameters.
  * Your class javadoc should explain the meaning of param1, param2, and param3,
  * so that you won't need to write getters for those.
  *<P>
  * You will have to write parseDataStr, because of its return
- * type and because it's static.
+ * type and because it's static. Since v2.4.50 it reads fields from a
+ * {@link SOCMessageFieldReader}, see {@link SOCMessage#toMsg(String)};
+ * also write a {@code parseDataStr(String)} which calls it with
+ * {@code new SOCMessageFieldReader(s, sep2_char)}.
  *<P>
  * Sample implementation:
  *<code><pre>
- *   // format of s: game sep2 hexcoord sep2 hextype sep2 dicenum
- *   public static SOCRevealFogHex parseDataStr(final String s)
+ *   // format of data fields: game sep2 hexcoord sep2 hextype sep2 dicenum
+ *   public static SOCRevealFogHex parseDataStr(final SOCMessageFieldReader fr)
  *   {
  *       String ga; // the game name
  *       int hc; // the hex coordinate
  *       int ht; // hex type
  *       int dn; // dice number
  *
- *       StringTokenizer st = new StringTokenizer(s, sep2);
- *
  *       try
  *       {
- *           ga = st.nextToken();
- *           hc = Integer.parseInt(st.nextToken());
- *           ht = Integer.parseInt(st.nextToken());
- *           dn = Integer.parseInt(st.nextToken());
+ *           ga = fr.nextString();
+ *           hc = fr.nextInt();
+ *           ht = fr.nextInt();
+ *           dn = fr.nextInt();
  *       }
  *       catch (Exception e)
  *       {
@@ -165,23 +163,21 @@ public abstract class SOCMessageTemplate3i extends SOCMessage
     /**
      * Parse the command string into a MessageType message.
      *
-     * @param s   the String to parse; format: game sep2 hexcoord sep2 hextype sep2 dicenum
+     * @param fr  Reader for the data fields; format: game sep2 hexcoord sep2 hextype sep2 dicenum
      * @return    a SOCRevealFogHex message, or null if parsing errors
-    public static SOCRevealFogHex parseDataStr(final String s)
+    public static SOCRevealFogHex parseDataStr(final SOCMessageFieldReader fr)
     {
         String ga; // the game name
         int hc; // the hex coordinate
         int ht; // hex type
         int dn; // dice number
 
-        StringTokenizer st = new StringTokenizer(s, sep2);
-
         try
         {
-            ga = st.nextToken();
-            hc = Integer.parseInt(st.nextToken());
-            ht = Integer.parseInt(st.nextToken());
-            dn = Integer.parseInt(st.nextToken());
+            ga = fr.nextString();
+            hc = fr.nextInt();
+            ht = fr.nextInt();
+            dn = fr.nextInt();
         }
         catch (Exception e)
         {
@@ -19,21 +19,21 @@
  **/
 package soc.message;
 
-// import java.util.StringTokenizer;
-
-
 /**
  * Template for per-game message types with 4 integer parameters.
  * Your class javadoc should explain the meaning of param1, param2, param3, and param4,
  * so that you won't need to write getters for those.
  *<P>
  * You will have to write parseDataStr, because of its return
- * type and because it's static.
+ * type and because it's static. Since v2.4.50 it reads fields from a
+ * {@link SOCMessageFieldReader}, see {@link SOCMessage#toMsg(String)};
+ * also write a {@code parseDataStr(String)} which calls it with
+ * {@code new SOCMessageFieldReader(s, sep2_char)}.
  *<P>
  * Sample implementation:
  *<code><pre>
- *   // format of s: MOVEPIECE sep game sep2 playerNumber sep2 pieceType sep2 coordFrom sep2 coordTo
- *   public static SOCMovePiece parseDataStr(final String s)
+ *   // format of data fields: MOVEPIECE sep game sep2 playerNumber sep2 pieceType sep2 coordFrom sep2 coordTo
+ *   public static SOCMovePiece parseDataStr(final SOCMessageFieldReader fr)
  *   {
  *       String ga; // the game name
  *       int pn; // the player number
@@ -41,15 +41,13 @@ package soc.message;
  *       int cf; // coordinates from
  *       int ct; // coordinates to
  *
- *       StringTokenizer st = new StringTokenizer(s, sep2);
- *
  *       try
  *       {
- *           ga = st.nextToken();
- *           pn = Integer.parseInt(st.nextToken());
- *           pt = Integer.parseInt(st.nextToken());
- *           cf = Integer.parseInt(st.nextToken());
- *           ct = Integer.parseInt(st.nextToken());
+ *           ga = fr.nextString();
+ *           pn = fr.nextInt();
+ *           pt = fr.nextInt();
+ *           cf = fr.nextInt();
+ *           ct = fr.nextInt();
  *       }
  *       catch (Exception e)
  *       {
@@ -183,11 +181,11 @@ public abstract class SOCMessageTemplate4i extends SOCMessage
     /**
      * Parse the command String into a MessageType message
      *
-     * @param s   the String to parse.
-     *            Format of s: MOVEPIECE sep game sep2 playerNumber sep2 pType sep2 coordFrom sep2 coordTo
+     * @param fr  Reader for the data fields.
+     *            Format: game sep2 playerNumber sep2 pType sep2 coordFrom sep2 coordTo
      * @return    a MovePiece message, or null if parsing errors
      *
-    public static SOCMovePiece parseDataStr(final String s)
+    public static SOCMovePiece parseDataStr(final SOCMessageFieldReader fr)
     {
         String ga; // the game name
         int pn; // the player number
@@ -195,15 +193,13 @@ public abstract class SOCMessageTemplate4i extends SOCMessage
         int cf; // coordinates from
         int ct; // coordinates to
 
-        StringTokenizer st = new StringTokenizer(s, sep2);
-
         try
         {
-            ga = st.nextToken();
-            pn = Integer.parseInt(st.nextToken());
-            pt = Integer.parseInt(st.nextToken());
-            cf = Integer.parseInt(st.nextToken());
-            ct = Integer.parseInt(st.nextToken());
+            ga = fr.nextString();
+            pn = fr.nextInt();
+            pt = fr.nextInt();
+            cf = fr.nextInt();
+            ct = fr.nextInt();
         }
         catch (Exception e)
         {
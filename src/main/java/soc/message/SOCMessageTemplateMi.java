@@ -181,6 +181,48 @@ public abstract class SOCMessageTemplateMi extends SOCMessageMulti
     }
     */
 
+    /**
+     * Parse the command String's parameters into a MessageType message,
+     * reading them from a {@link SOCMessageFieldReader} without creating substrings.
+     * Called from {@link SOCMessage#toMsg(String)} for high-volume message types;
+     * add a case there to use it instead of your {@code parseDataStr(List)}.
+     *
+     * @param fr  Reader for the parameters after the message type, as from {@code toMsg}
+     * @return    a DiceResultResources message, or null if parsing errors
+    public static SOCDiceResultResources parseDataStr(final SOCMessageFieldReader fr)
+    {
+        try
+        {
+            final String gaName = fr.nextString();
+            final int[] ipa = parseIntParams(fr);
+            if (ipa.length < 1)
+                return null;  // must have at least game name + 1 further param
+
+            return new SOCDiceResultResources(gaName, ipa);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+    */
+
+    /**
+     * Read all remaining fields from a reader as integer parameters,
+     * for a subclass's {@code parseDataStr(SOCMessageFieldReader)}.
+     * @param fr  Reader positioned at the first integer parameter
+     * @return  The parameters; may be empty, never null
+     * @throws NumberFormatException if a remaining field isn't an integer
+     * @since 2.4.50
+     */
+    protected static int[] parseIntParams(final SOCMessageFieldReader fr)
+        throws NumberFormatException
+    {
+        final int[] ipa = new int[fr.countRemaining()];
+        for (int i = 0; i < ipa.length; ++i)
+            ipa[i] = fr.nextInt();
+
+        return ipa;
+    }
+
     /**
      * @return a human readable form of the message
      */
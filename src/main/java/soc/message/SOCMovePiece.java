@@ -19,7 +19,6 @@
  **/
 package soc.message;
 
-import java.util.StringTokenizer;
 
 /**
  * Client player is asking to move, or server is announcing a move of,
@@ -137,6 +136,19 @@ public class SOCMovePiece extends SOCMessageTemplate4i
      * @return    a SOCMovePiece message, or null if the data is garbled
      */
     public static SOCMovePiece parseDataStr(String s)
+    {
+        return parseDataStr(new SOCMessageFieldReader(s, sep2_char));
+    }
+
+    /**
+     * Parse the command String's data fields into a MovePiece message,
+     * reading them from a {@link SOCMessageFieldReader} without creating substrings.
+     *
+     * @param fr   Reader for the data fields, as from {@link SOCMessage#toMsg(String)}
+     * @return    a SOCMovePiece message, or null if the data is garbled
+     * @since 2.4.50
+     */
+    public static SOCMovePiece parseDataStr(final SOCMessageFieldReader fr)
     {
         String ga; // the game name
         int pn;    // the player number
@@ -144,15 +156,13 @@ public class SOCMovePiece extends SOCMessageTemplate4i
         int fc;    // 'from' coordinate
         int tc;    // 'to' coordinate
 
-        StringTokenizer st = new StringTokenizer(s, sep2);
-
         try
         {
-            ga = st.nextToken();
-            pn = Integer.parseInt(st.nextToken());
-            pc = Integer.parseInt(st.nextToken());
-            fc = Integer.parseInt(st.nextToken());
-            tc = Integer.parseInt(st.nextToken());
+            ga = fr.nextString();
+            pn = fr.nextInt();
+            pc = fr.nextInt();
+            fc = fr.nextInt();
+            tc = fr.nextInt();
 
             return new SOCMovePiece(ga, pn, pc, fc, tc);
         }
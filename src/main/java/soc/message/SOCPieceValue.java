@@ -19,7 +19,6 @@
  **/
 package soc.message;
 
-import java.util.StringTokenizer;
 
 /**
  * This message from server updates the value field(s) of a piece on the board.
@@ -67,6 +66,19 @@ public class SOCPieceValue extends SOCMessageTemplate4i
      * @return    a SOCPieceValue message, or null if parsing errors
      */
     public static SOCPieceValue parseDataStr(final String s)
+    {
+        return parseDataStr(new SOCMessageFieldReader(s, sep2_char));
+    }
+
+    /**
+     * Parse the command String's data fields into a PieceValue message,
+     * reading them from a {@link SOCMessageFieldReader} without creating substrings.
+     *
+     * @param fr   Reader for the data fields, as from {@link SOCMessage#toMsg(String)}
+     * @return    a SOCPieceValue message, or null if parsing errors
+     * @since 2.4.50
+     */
+    public static SOCPieceValue parseDataStr(final SOCMessageFieldReader fr)
     {
         String ga; // the game name
         int pt;  // piece type
@@ -74,15 +86,13 @@ public class SOCPieceValue extends SOCMessageTemplate4i
         int pv1; // value field 1
         int pv2; // value field 2, or 0
 
-        StringTokenizer st = new StringTokenizer(s, sep2);
-
         try
         {
-            ga = st.nextToken();
-            pt = Integer.parseInt(st.nextToken());
-            co = Integer.parseInt(st.nextToken());
-            pv1 = Integer.parseInt(st.nextToken());
-            pv2 = Integer.parseInt(st.nextToken());
+            ga = fr.nextString();
+            pt = fr.nextInt();
+            co = fr.nextInt();
+            pv1 = fr.nextInt();
+            pv2 = fr.nextInt();
         }
         catch (Exception e)
         {
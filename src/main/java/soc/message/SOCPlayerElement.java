@@ -20,8 +20,6 @@
  **/
 package soc.message;
 
-import java.util.StringTokenizer;
-
 import soc.game.SOCGame;    // for javadocs only
 import soc.game.SOCGameOptionSet;  // for javadocs only
 import soc.game.SOCPlayer;  // for javadocs only
@@ -733,6 +731,19 @@ public class SOCPlayerElement extends SOCMessage
      * @return    a PlayerElement message, or null if the data is garbled
      */
     public static SOCPlayerElement parseDataStr(String s)
+    {
+        return parseDataStr(new SOCMessageFieldReader(s, sep2_char));
+    }
+
+    /**
+     * Parse the command String's data fields into a PlayerElement message,
+     * reading them from a {@link SOCMessageFieldReader} without creating substrings.
+     *
+     * @param fr   Reader for the data fields, as from {@link SOCMessage#toMsg(String)}
+     * @return    a PlayerElement message, or null if the data is garbled
+     * @since 2.4.50
+     */
+    public static SOCPlayerElement parseDataStr(final SOCMessageFieldReader fr)
     {
         String ga;
         int pn;
@@ -741,17 +752,15 @@ public class SOCPlayerElement extends SOCMessage
         int va;
         boolean isNews = false;
 
-        StringTokenizer st = new StringTokenizer(s, sep2);
-
         try
         {
-            ga = st.nextToken();
-            pn = Integer.parseInt(st.nextToken());
-            ac = Integer.parseInt(st.nextToken());
-            et = Integer.parseInt(st.nextToken());
-            va = Integer.parseInt(st.nextToken());
-            if (st.hasMoreTokens())
-                isNews = st.nextToken().equals("Y");
+            ga = fr.nextString();
+            pn = fr.nextInt();
+            ac = fr.nextInt();
+            et = fr.nextInt();
+            va = fr.nextInt();
+            if (fr.hasNext())
+                isNews = fr.nextEquals("Y");
         }
         catch (Exception e)
         {
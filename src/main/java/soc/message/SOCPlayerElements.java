@@ -267,6 +267,41 @@ public class SOCPlayerElements extends SOCMessageTemplateMi
         }
     }
 
+    /**
+     * Parse the command String's parameters into a PlayerElements message,
+     * reading them from a {@link SOCMessageFieldReader} without creating substrings.
+     *
+     * @param fr  Reader for the parameters after the message type, as from {@link SOCMessage#toMsg(String)}
+     * @return    a PlayerElements message, or null if parsing errors
+     * @since 2.4.50
+     */
+    public static SOCPlayerElements parseDataStr(final SOCMessageFieldReader fr)
+    {
+        final int L = fr.countRemaining();
+        if ((L < 5) || ((L % 2) == 0))
+            return null;
+
+        try
+        {
+            final String gaName = fr.nextString();
+            final int playerNumber = fr.nextInt();
+            final int actionType = fr.nextInt();
+
+            final int n = (L - 3) / 2;
+            int[] elementTypes = new int[n];
+            int[] amounts = new int[n];
+            for (int i = 0; i < n; ++i)
+            {
+                elementTypes[i] = fr.nextInt();
+                amounts[i]      = fr.nextInt();
+            }
+
+            return new SOCPlayerElements(gaName, playerNumber, actionType, elementTypes, amounts);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     /**
      * Strip out the parameter/attribute names from {@link #toString()}'s format,
      * returning message parameters as a list for {@link #parseDataStr(List)}.
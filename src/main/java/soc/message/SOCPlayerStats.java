@@ -217,4 +217,27 @@ public class SOCPlayerStats extends SOCMessageTemplateMi
         }
     }
 
+    /**
+     * Parse the command String's parameters into a PlayerStats message,
+     * reading them from a {@link SOCMessageFieldReader} without creating substrings.
+     *
+     * @param fr  Reader for the parameters after the message type, as from {@link SOCMessage#toMsg(String)}
+     * @return    a PlayerStats message, or null if parsing errors
+     * @since 2.4.50
+     */
+    public static SOCPlayerStats parseDataStr(final SOCMessageFieldReader fr)
+    {
+        try
+        {
+            final String gaName = fr.nextString();
+            final int[] ipa = parseIntParams(fr);
+            if (ipa.length < 1)
+                return null;
+
+            return new SOCPlayerStats(gaName, ipa);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
 }
@@ -21,8 +21,6 @@
  **/
 package soc.message;
 
-import java.util.StringTokenizer;
-
 import soc.game.SOCGame;  // for javadocs only
 import soc.game.SOCPlayingPiece;  // for javadocs only
 
@@ -196,20 +194,31 @@ public class SOCPutPiece extends SOCMessage
      * @return    a PUTPIECE message, or null if the data is garbled
      */
     public static SOCPutPiece parseDataStr(String s)
+    {
+        return parseDataStr(new SOCMessageFieldReader(s, sep2_char));
+    }
+
+    /**
+     * Parse the command String's data fields into a PutPiece message,
+     * reading them from a {@link SOCMessageFieldReader} without creating substrings.
+     *
+     * @param fr   Reader for the data fields, as from {@link SOCMessage#toMsg(String)}
+     * @return    a PUTPIECE message, or null if the data is garbled
+     * @since 2.4.50
+     */
+    public static SOCPutPiece parseDataStr(final SOCMessageFieldReader fr)
     {
         String na; // name of the game
         int pn; // player number
         int pt; // type of piece
         int co; // coordinates
 
-        StringTokenizer st = new StringTokenizer(s, sep2);
-
         try
         {
-            na = st.nextToken();
-            pn = Integer.parseInt(st.nextToken());
-            pt = Integer.parseInt(st.nextToken());
-            co = Integer.parseInt(st.nextToken());
+            na = fr.nextString();
+            pn = fr.nextInt();
+            pt = fr.nextInt();
+            co = fr.nextInt();
 
             return new SOCPutPiece(na, pn, pt, co);
         }
@@ -19,8 +19,6 @@
  **/
 package soc.message;
 
-import java.util.StringTokenizer;
-
 import soc.game.SOCPlayingPiece;
 
 /**
@@ -98,20 +96,31 @@ public class SOCRemovePiece extends SOCMessageTemplate3i
      * @return    a SOCRemovePiece message, or null if parsing errors
      */
     public static SOCRemovePiece parseDataStr(String s)
+    {
+        return parseDataStr(new SOCMessageFieldReader(s, sep2_char));
+    }
+
+    /**
+     * Parse the command String's data fields into a RemovePiece message,
+     * reading them from a {@link SOCMessageFieldReader} without creating substrings.
+     *
+     * @param fr   Reader for the data fields, as from {@link SOCMessage#toMsg(String)}
+     * @return    a SOCRemovePiece message, or null if parsing errors
+     * @since 2.4.50
+     */
+    public static SOCRemovePiece parseDataStr(final SOCMessageFieldReader fr)
     {
         final String ga; // the game name
         final int pn; // player number
         final int pt; // type of piece
         final int co; // coordinates
 
-        StringTokenizer st = new StringTokenizer(s, sep2);
-
         try
         {
-            ga = st.nextToken();
-            pn = Integer.parseInt(st.nextToken());
-            pt = Integer.parseInt(st.nextToken());
-            co = Integer.parseInt(st.nextToken());
+            ga = fr.nextString();
+            pn = fr.nextInt();
+            pt = fr.nextInt();
+            co = fr.nextInt();
 
             return new SOCRemovePiece(ga, pn, pt, co);
         }
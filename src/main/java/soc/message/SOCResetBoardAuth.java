@@ -19,7 +19,6 @@
  **/
 package soc.message;
 
-import java.util.StringTokenizer;
 
 /**
  * This message from server informs the client that a game they're playing
@@ -92,18 +91,29 @@ public class SOCResetBoardAuth extends SOCMessageTemplate2i
      * @return    a SOCResetBoardAuth message, or null if the data is garbled
      */
     public static SOCResetBoardAuth parseDataStr(String s)
+    {
+        return parseDataStr(new SOCMessageFieldReader(s, sep2_char));
+    }
+
+    /**
+     * Parse the command String's data fields into a ResetBoardAuth message,
+     * reading them from a {@link SOCMessageFieldReader} without creating substrings.
+     *
+     * @param fr   Reader for the data fields, as from {@link SOCMessage#toMsg(String)}
+     * @return    a SOCResetBoardAuth message, or null if the data is garbled
+     * @since 2.4.50
+     */
+    public static SOCResetBoardAuth parseDataStr(final SOCMessageFieldReader fr)
     {
         String ga;   // the game name
         int joinpn;  // the player number to join at
         int reqpn;   // the requester player number
 
-        StringTokenizer st = new StringTokenizer(s, sep2);
-
         try
         {
-            ga = st.nextToken();
-            joinpn = Integer.parseInt(st.nextToken());
-            reqpn = Integer.parseInt(st.nextToken());
+            ga = fr.nextString();
+            joinpn = fr.nextInt();
+            reqpn = fr.nextInt();
         }
         catch (Exception e)
         {
@@ -19,7 +19,6 @@
  **/
 package soc.message;
 
-import java.util.StringTokenizer;
 
 /**
  * This bi-directional message gives the client's vote on a "board reset",
@@ -93,18 +92,29 @@ public class SOCResetBoardVote extends SOCMessageTemplate2i
      * @return    a SOCResetBoardVote message, or null if the data is garbled
      */
     public static SOCResetBoardVote parseDataStr(String s)
+    {
+        return parseDataStr(new SOCMessageFieldReader(s, sep2_char));
+    }
+
+    /**
+     * Parse the command String's data fields into a ResetBoardVote message,
+     * reading them from a {@link SOCMessageFieldReader} without creating substrings.
+     *
+     * @param fr   Reader for the data fields, as from {@link SOCMessage#toMsg(String)}
+     * @return    a SOCResetBoardVote message, or null if the data is garbled
+     * @since 2.4.50
+     */
+    public static SOCResetBoardVote parseDataStr(final SOCMessageFieldReader fr)
     {
         String ga; // the game name
         int pn;    // the voter's player number
         int vy;    // vote, 1 or 0
 
-        StringTokenizer st = new StringTokenizer(s, sep2);
-
         try
         {
-            ga = st.nextToken();
-            pn = Integer.parseInt(st.nextToken());
-            vy = Integer.parseInt(st.nextToken());
+            ga = fr.nextString();
+            pn = fr.nextInt();
+            vy = fr.nextInt();
         }
         catch (Exception e)
         {
@@ -19,7 +19,6 @@
  **/
 package soc.message;
 
-import java.util.StringTokenizer;
 
 /**
  * This message from server informs the client that in a game they're playing,
@@ -61,16 +60,27 @@ public class SOCResetBoardVoteRequest extends SOCMessageTemplate1i
      * @return    a SOCResetBoardVoteRequest message, or null if the data is garbled
      */
     public static SOCResetBoardVoteRequest parseDataStr(String s)
+    {
+        return parseDataStr(new SOCMessageFieldReader(s, sep2_char));
+    }
+
+    /**
+     * Parse the command String's data fields into a ResetBoardVoteRequest message,
+     * reading them from a {@link SOCMessageFieldReader} without creating substrings.
+     *
+     * @param fr   Reader for the data fields, as from {@link SOCMessage#toMsg(String)}
+     * @return    a SOCResetBoardVoteRequest message, or null if the data is garbled
+     * @since 2.4.50
+     */
+    public static SOCResetBoardVoteRequest parseDataStr(final SOCMessageFieldReader fr)
     {
         String ga; // the game name
         int reqpn; // the requester player number
 
-        StringTokenizer st = new StringTokenizer(s, sep2);
-
         try
         {
-            ga = st.nextToken();
-            reqpn = Integer.parseInt(st.nextToken());
+            ga = fr.nextString();
+            reqpn = fr.nextInt();
         }
         catch (Exception e)
         {
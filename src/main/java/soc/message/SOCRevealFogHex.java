@@ -19,8 +19,6 @@
  **/
 package soc.message;
 
-import java.util.StringTokenizer;
-
 import soc.game.SOCBoard;  // for javadocs only
 
 /**
@@ -77,20 +75,31 @@ public class SOCRevealFogHex extends SOCMessageTemplate3i
      * @return    a SOCRevealFogHex message, or null if parsing errors
      */
     public static SOCRevealFogHex parseDataStr(String s)
+    {
+        return parseDataStr(new SOCMessageFieldReader(s, sep2_char));
+    }
+
+    /**
+     * Parse the command String's data fields into a RevealFogHex message,
+     * reading them from a {@link SOCMessageFieldReader} without creating substrings.
+     *
+     * @param fr   Reader for the data fields, as from {@link SOCMessage#toMsg(String)}
+     * @return    a SOCRevealFogHex message, or null if parsing errors
+     * @since 2.4.50
+     */
+    public static SOCRevealFogHex parseDataStr(final SOCMessageFieldReader fr)
     {
         String ga; // game name
         int hc;    // hex coordinate
         int ht;    // hex type
         int dn;    // dice number
 
-        StringTokenizer st = new StringTokenizer(s, sep2);
-
         try
         {
-            ga = st.nextToken();
-            hc = Integer.parseInt(st.nextToken());
-            ht = Integer.parseInt(st.nextToken());
-            dn = Integer.parseInt(st.nextToken());
+            ga = fr.nextString();
+            hc = fr.nextInt();
+            ht = fr.nextInt();
+            dn = fr.nextInt();
         }
         catch (Exception e)
         {
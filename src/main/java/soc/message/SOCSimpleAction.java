@@ -19,8 +19,6 @@
  **/
 package soc.message;
 
-import java.util.StringTokenizer;
-
 import soc.game.SOCBoardLarge;  // solely for javadocs
 import soc.game.SOCGame;        // solely for javadocs
 import soc.game.SOCGameOptionSet;  // solely for javadocs
@@ -298,6 +296,19 @@ public class SOCSimpleAction extends SOCMessageTemplate4i
      * @return    a SOCSimpleAction message, or {@code null} if the data is garbled
      */
     public static SOCSimpleAction parseDataStr(final String s)
+    {
+        return parseDataStr(new SOCMessageFieldReader(s, sep2_char));
+    }
+
+    /**
+     * Parse the command String's data fields into a SimpleAction message,
+     * reading them from a {@link SOCMessageFieldReader} without creating substrings.
+     *
+     * @param fr   Reader for the data fields, as from {@link SOCMessage#toMsg(String)}
+     * @return    a SOCSimpleAction message, or {@code null} if the data is garbled
+     * @since 2.4.50
+     */
+    public static SOCSimpleAction parseDataStr(final SOCMessageFieldReader fr)
     {
         final String ga; // the game name
         final int pn;    // the player number or -1
@@ -305,15 +316,13 @@ public class SOCSimpleAction extends SOCMessageTemplate4i
         final int v1;    // optional value1
         final int v2;    // optional value2
 
-        StringTokenizer st = new StringTokenizer(s, sep2);
-
         try
         {
-            ga = st.nextToken();
-            pn = Integer.parseInt(st.nextToken());
-            at = Integer.parseInt(st.nextToken());
-            v1 = Integer.parseInt(st.nextToken());
-            v2 = Integer.parseInt(st.nextToken());
+            ga = fr.nextString();
+            pn = fr.nextInt();
+            at = fr.nextInt();
+            v1 = fr.nextInt();
+            v2 = fr.nextInt();
         }
         catch (Exception e)
         {
@@ -19,8 +19,6 @@
  **/
 package soc.message;
 
-import java.util.StringTokenizer;
-
 import soc.game.SOCGame;  // for javadocs only
 import soc.game.SOCGameOptionSet;  // for javadocs only
 
@@ -229,6 +227,19 @@ public class SOCSimpleRequest extends SOCMessageTemplate4i
      * @return    a SOCSimpleRequest message, or {@code null} if the data is garbled
      */
     public static SOCSimpleRequest parseDataStr(final String s)
+    {
+        return parseDataStr(new SOCMessageFieldReader(s, sep2_char));
+    }
+
+    /**
+     * Parse the command String's data fields into a SimpleRequest message,
+     * reading them from a {@link SOCMessageFieldReader} without creating substrings.
+     *
+     * @param fr   Reader for the data fields, as from {@link SOCMessage#toMsg(String)}
+     * @return    a SOCSimpleRequest message, or {@code null} if the data is garbled
+     * @since 2.4.50
+     */
+    public static SOCSimpleRequest parseDataStr(final SOCMessageFieldReader fr)
     {
         final String ga; // the game name
         final int pn;    // the player number
@@ -236,15 +247,13 @@ public class SOCSimpleRequest extends SOCMessageTemplate4i
         final int v1;    // optional value1
         final int v2;    // optional value2
 
-        StringTokenizer st = new StringTokenizer(s, sep2);
-
         try
         {
-            ga = st.nextToken();
-            pn = Integer.parseInt(st.nextToken());
-            rt = Integer.parseInt(st.nextToken());
-            v1 = Integer.parseInt(st.nextToken());
-            v2 = Integer.parseInt(st.nextToken());
+            ga = fr.nextString();
+            pn = fr.nextInt();
+            rt = fr.nextInt();
+            v1 = fr.nextInt();
+            v2 = fr.nextInt();
         }
         catch (Exception e)
         {
@@ -0,0 +1,414 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.robot;
+
+import java.util.Arrays;
+
+import soc.game.SOCBoard;
+import soc.game.SOCResourceConstants;
+import soc.game.SOCResourceSet;
+import soc.util.CutoffExceededException;
+
+/**
+ * Engine for {@link SOCBuildingSpeedEstimate#calculateRollsAccurate(SOCResourceSet, SOCResourceSet, int, boolean[])}
+ * which tracks the probability distribution of hands without allocating objects per state.
+ * Same calculation as {@link SOCBuildingSpeedEstimate#calculateRollsAccurateTables(SOCResourceSet, SOCResourceSet, int, boolean[])},
+ * which is kept as the reference version.
+ *<P>
+ * Each hand's 5 known resource amounts are packed into a {@code long}, {@link #FIELD_BITS} bits per resource type,
+ * so adding a dice roll's gains is one addition and "contains the target" is one subtraction and mask.
+ * The hands of the previous and current roll are kept in two open-addressing {@code long -> float} maps,
+ * which are cleared and reused for each roll and each call.
+ *<P>
+ * Amounts must fit into {@link #MAX_AMOUNT}; {@link #calculate(SOCResourceSet, SOCResourceSet, int, boolean[], int[], SOCResourceSet[])}
+ * checks this before starting and returns {@code null} if they might not.
+ *<P>
+ * Not thread-safe; each {@link SOCBuildingSpeedEstimate} has its own instance.
+ *
+ * @since 2.4.50
+ */
+final class PackedRollsCalculator
+{
+    /** Number of bits per resource type in a packed hand */
+    static final int FIELD_BITS = 12;
+
+    /**
+     * Largest amount of one resource type in a packed hand. The field's top bit is kept clear
+     * as a guard bit for {@link #containsAll(long, long)}.
+     */
+    static final int MAX_AMOUNT = (1 << (FIELD_BITS - 1)) - 1;
+
+    /** The guard bit of each resource type's field */
+    private static final long GUARD_BITS;
+    static
+    {
+        long g = 0;
+        for (int rtype = SOCResourceConstants.CLAY; rtype <= SOCResourceConstants.WOOD; ++rtype)
+            g |= ((long) (MAX_AMOUNT + 1)) << shift(rtype);
+        GUARD_BITS = g;
+    }
+
+    /** Probability distribution of hands after the previous roll */
+    private LongFloatMap lastRoll = new LongFloatMap();
+
+    /** Probability distribution of hands after the current roll */
+    private LongFloatMap thisRoll = new LongFloatMap();
+
+    /** Packed gains for each dice result 2 to 12; indexes 0 and 1 are unused */
+    private final long[] gains = new long[13];
+
+    /** Trade ratio for each resource type from the ports; index 0 is unused */
+    private final int[] tradeRatio = new int[SOCResourceConstants.WOOD + 1];
+
+    /** Target amounts, index 0 unused */
+    private final int[] target = new int[SOCResourceConstants.WOOD + 1];
+
+    /** Scratch amounts for trading, index 0 unused */
+    private final int[] amts = new int[SOCResourceConstants.WOOD + 1];
+
+    /**
+     * Figure out how many rolls it would take to get the target set of resources given a starting set.
+     * See {@link SOCBuildingSpeedEstimate#calculateRollsAccurate(SOCResourceSet, SOCResourceSet, int, boolean[])}
+     * for details and the meaning of most parameters.
+     *<P>
+     * The number of rolls is the same as the reference version's. The returned resource set is one of
+     * the hands which reached the target on that roll; which one may differ from the reference version,
+     * because its hashtable iterates hands in a different order.
+     *
+     * @param startingResources  the starting resources; is treated as read-only
+     * @param targetResources  the target resources; is treated as read-only
+     * @param cutoff  throw an exception if the total speed is greater than this
+     * @param ports  a list of port flags
+     * @param rollsPerResource  the estimate's rolls to gain each resource type
+     * @param resourcesForRoll  the estimate's resources gained for each dice roll number;
+     *     a {@code null} element is treated as gaining nothing
+     * @return the number of rolls and our resources when the target is reached,
+     *     or {@code null} if the amounts might not fit into the packed fields:
+     *     Caller should use the reference version instead
+     * @throws CutoffExceededException if estimate more than {@code cutoff} turns to obtain {@code targetResources}
+     */
+    SOCResSetBuildTimePair calculate
+        (final SOCResourceSet startingResources, final SOCResourceSet targetResources, final int cutoff,
+         final boolean[] ports, final int[] rollsPerResource, final SOCResourceSet[] resourcesForRoll)
+        throws CutoffExceededException
+    {
+        if (startingResources.contains(targetResources))
+            return new SOCResSetBuildTimePair(null, 0);
+
+        final int unknown = startingResources.getAmount(SOCResourceConstants.UNKNOWN);
+        if (unknown < targetResources.getAmount(SOCResourceConstants.UNKNOWN))
+            // rolls and trades never gain unknowns, so the target is never reached
+            throw new CutoffExceededException();
+
+        // Check that amounts fit, and pack everything
+        long start = 0, targ = 0;
+        for (int rtype = SOCResourceConstants.CLAY; rtype <= SOCResourceConstants.WOOD; ++rtype)
+        {
+            int maxGain = 0;
+            for (int diceResult = 2; diceResult <= 12; ++diceResult)
+                if (resourcesForRoll[diceResult] != null)
+                    maxGain = Math.max(maxGain, resourcesForRoll[diceResult].getAmount(rtype));
+
+            final int st = startingResources.getAmount(rtype), ta = targetResources.getAmount(rtype);
+            if ((st < 0) || (ta < 0) || (ta > MAX_AMOUNT)
+                || ((st + ((long) Math.max(cutoff, 0)) * maxGain) > MAX_AMOUNT))
+                return null;
+
+            start |= ((long) st) << shift(rtype);
+            targ |= ((long) ta) << shift(rtype);
+            target[rtype] = ta;
+            tradeRatio[rtype] = (ports[rtype]) ? 2 : ((ports[SOCBoard.MISC_PORT]) ? 3 : 4);
+        }
+        for (int diceResult = 2; diceResult <= 12; ++diceResult)
+            gains[diceResult] = pack(resourcesForRoll[diceResult]);
+
+        LongFloatMap last = lastRoll, next = thisRoll;
+        last.clear();
+        next.clear();
+        last.add(start, 1.0f);
+
+        int rolls = 0;
+        boolean targetReached = false;
+        long targetReachedResources = -1;
+        float targetReachedProb = 0.0f;
+
+        while (! targetReached)
+        {
+            rolls++;
+
+            if (rolls > cutoff)
+                throw new CutoffExceededException();
+
+            final int lastSize = last.size;
+            final int[] lastOrder = last.order;
+            final long[] lastKeys = last.keys;
+            final float[] lastProbs = last.probs;
+
+            for (int diceResult = 2; diceResult <= 12; diceResult++)
+            {
+                final long gained = gains[diceResult];
+                final float diceProb = SOCNumberProbabilities.FLOAT_VALUES[diceResult];
+
+                for (int i = 0; i < lastSize; ++i)
+                {
+                    final int slot = lastOrder[i];
+                    long newResources = lastKeys[slot] + gained;
+                    final float newProb = lastProbs[slot] * diceProb;
+
+                    if (! containsAll(newResources, targ))
+                        newResources = trade(newResources, rollsPerResource);
+
+                    if (containsAll(newResources, targ))
+                    {
+                        targetReachedProb += newProb;
+
+                        if (targetReachedResources == -1)
+                            targetReachedResources = newResources;
+
+                        if (targetReachedProb >= 0.5)
+                            targetReached = true;
+                    } else {
+                        next.add(newResources, newProb);
+                    }
+                }
+            }
+
+            final LongFloatMap tmp = last;
+            last = next;
+            next = tmp;
+            next.clear();
+        }
+
+        return new SOCResSetBuildTimePair(unpack(targetReachedResources, unknown), rolls);
+    }
+
+    /**
+     * Do any possible trading with the bank/ports, in the same order as the reference version:
+     * For each resource type having at least 2 more than the target, trade as many as possible
+     * for the most needed resource types until the target is reached.
+     * @param resources  Packed hand which doesn't contain the target
+     * @param rollsPerResource  Rolls to gain each resource type, to find the most needed
+     * @return  Packed hand after trading, or {@code resources} if no trades were possible
+     */
+    private long trade(final long resources, final int[] rollsPerResource)
+    {
+        final int[] amt = amts;
+        boolean canTrade = false;
+        for (int rtype = SOCResourceConstants.CLAY; rtype <= SOCResourceConstants.WOOD; ++rtype)
+        {
+            amt[rtype] = (int) (resources >>> shift(rtype)) & MAX_AMOUNT;
+            if ((amt[rtype] - target[rtype]) > 1)
+                canTrade = true;
+        }
+        if (! canTrade)
+            return resources;
+
+        boolean reached = false;
+        for (int giveResource = SOCResourceConstants.CLAY;
+             (giveResource <= SOCResourceConstants.WOOD) && ! reached; giveResource++)
+        {
+            if ((amt[giveResource] - target[giveResource]) <= 1)
+                continue;
+
+            final int ratio = tradeRatio[giveResource];
+            final int numTrades = (amt[giveResource] - target[giveResource]) / ratio;
+
+            for (int trades = 0; trades < numTrades; trades++)
+            {
+                // find the most needed resource: the one we still need which takes the longest to acquire
+                int mostNeededResource = -1;
+                for (int resource = SOCResourceConstants.CLAY; resource <= SOCResourceConstants.WOOD; resource++)
+                    if ((amt[resource] < target[resource])
+                        && ((mostNeededResource < 0)
+                            || (rollsPerResource[resource] > rollsPerResource[mostNeededResource])))
+                        mostNeededResource = resource;
+
+                if ((mostNeededResource != -1) && (amt[giveResource] >= ratio))
+                {
+                    amt[mostNeededResource]++;
+                    amt[giveResource] -= ratio;
+                }
+
+                reached = true;
+                for (int resource = SOCResourceConstants.CLAY; resource <= SOCResourceConstants.WOOD; resource++)
+                    if (amt[resource] < target[resource])
+                    {
+                        reached = false;
+                        break;
+                    }
+                if (reached)
+                    break;
+            }
+        }
+
+        long packed = 0;
+        for (int rtype = SOCResourceConstants.CLAY; rtype <= SOCResourceConstants.WOOD; ++rtype)
+            packed |= ((long) amt[rtype]) << shift(rtype);
+
+        return packed;
+    }
+
+    /**
+     * Does packed hand {@code a} contain at least packed hand {@code b}'s amount of each resource type?
+     * Sets each field's guard bit in {@code a} and subtracts: The guard bit stays set only where
+     * {@code a}'s amount is at least {@code b}'s, and never borrows from the next field.
+     * @param a  Packed hand; amounts must be &lt;= {@link #MAX_AMOUNT}
+     * @param b  Packed hand; amounts must be &lt;= {@link #MAX_AMOUNT}
+     * @return  True if {@code a} contains {@code b}
+     */
+    static boolean containsAll(final long a, final long b)
+    {
+        return (((a | GUARD_BITS) - b) & GUARD_BITS) == GUARD_BITS;
+    }
+
+    /**
+     * Pack a resource set's known amounts, which must each be &lt;= {@link #MAX_AMOUNT}.
+     * @param rs  Resource set, or {@code null} for an empty hand
+     * @return  Packed hand
+     */
+    static long pack(final SOCResourceSet rs)
+    {
+        if (rs == null)
+            return 0;
+
+        long packed = 0;
+        for (int rtype = SOCResourceConstants.CLAY; rtype <= SOCResourceConstants.WOOD; ++rtype)
+            packed |= ((long) rs.getAmount(rtype)) << shift(rtype);
+
+        return packed;
+    }
+
+    /**
+     * Unpack a hand into a new resource set.
+     * @param packed  Packed hand, or -1 for none
+     * @param unknown  Amount of {@link SOCResourceConstants#UNKNOWN} to include
+     * @return  Resource set, or {@code null} if {@code packed} == -1
+     */
+    static SOCResourceSet unpack(final long packed, final int unknown)
+    {
+        if (packed == -1)
+            return null;
+
+        final SOCResourceSet rs = new SOCResourceSet();
+        for (int rtype = SOCResourceConstants.CLAY; rtype <= SOCResourceConstants.WOOD; ++rtype)
+            rs.add((int) (packed >>> shift(rtype)) & MAX_AMOUNT, rtype);
+        if (unknown != 0)
+            rs.add(unknown, SOCResourceConstants.UNKNOWN);
+
+        return rs;
+    }
+
+    /** Bit position of a resource type's field in a packed hand. */
+    private static int shift(final int rtype)
+    {
+        return FIELD_BITS * (rtype - SOCResourceConstants.CLAY);
+    }
+
+    /**
+     * Open-addressing map from packed hands to probabilities, with linear probing.
+     * Iterates in insertion order through {@link #order}, and {@link #clear()} resets only the used slots,
+     * so both are proportional to {@link #size} instead of capacity.
+     */
+    private static final class LongFloatMap
+    {
+        /** Key of an empty slot; packed hands are never negative */
+        private static final long EMPTY = -1L;
+
+        /** Slot keys, or {@link #EMPTY}; length is a power of 2 */
+        long[] keys;
+
+        /** Slot probabilities */
+        float[] probs;
+
+        /** Slot indexes in insertion order; elements 0 to {@link #size} - 1 are used */
+        int[] order;
+
+        /** Number of keys in the map */
+        int size;
+
+        LongFloatMap()
+        {
+            allocate(256);
+        }
+
+        private void allocate(final int capacity)
+        {
+            keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            probs = new float[capacity];
+            order = new int[capacity / 2];
+            size = 0;
+        }
+
+        /**
+         * Add to a key's probability, or add the key if not already in the map.
+         * @param key  Packed hand
+         * @param prob  Probability to add
+         */
+        void add(final long key, final float prob)
+        {
+            final int mask = keys.length - 1;
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+            long k;
+            while ((k = keys[slot]) != EMPTY)
+            {
+                if (k == key)
+                {
+                    probs[slot] += prob;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            if (size == order.length)
+            {
+                grow();
+                add(key, prob);
+                return;
+            }
+
+            keys[slot] = key;
+            probs[slot] = prob;
+            order[size++] = slot;
+        }
+
+        /** Double the capacity, keeping insertion order. */
+        private void grow()
+        {
+            final long[] oldKeys = keys;
+            final float[] oldProbs = probs;
+            final int[] oldOrder = order;
+            final int oldSize = size;
+
+            allocate(2 * oldKeys.length);
+            for (int i = 0; i < oldSize; ++i)
+                add(oldKeys[oldOrder[i]], oldProbs[oldOrder[i]]);
+        }
+
+        /** Remove all keys, keeping the capacity. */
+        void clear()
+        {
+            for (int i = 0; i < size; ++i)
+                keys[order[i]] = EMPTY;
+            size = 0;
+        }
+    }
+
+}
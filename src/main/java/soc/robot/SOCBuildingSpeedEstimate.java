@@ -82,6 +82,21 @@ public class SOCBuildingSpeedEstimate
      */
     private SOCResourceSet[] resourcesForRoll;
 
+    /**
+     * Engine for {@link #calculateRollsAccurate(SOCResourceSet, SOCResourceSet, int, boolean[])},
+     * created when first needed and reused by later calls.
+     * @since 2.4.50
+     */
+    private PackedRollsCalculator packedCalc;
+
+    /**
+     * Cache of {@link #calculateRollsAccurate(SOCResourceSet, SOCResourceSet, int, boolean[])} results
+     * to use, or {@code null} for none.
+     * @see #setCache(SOCBuildingSpeedEstimateCache)
+     * @since 2.4.50
+     */
+    private SOCBuildingSpeedEstimateCache cache;
+
     /**
      * Create a new SOCBuildingSpeedEstimate, calculating
      * the rollsPerResource and resourcesPerRoll based on
@@ -456,6 +471,29 @@ public class SOCBuildingSpeedEstimate
         }
     }
 
+    /**
+     * Get the cache of accurate estimate results used by this estimate, if any.
+     * @return  the cache, or {@code null} if none
+     * @see #setCache(SOCBuildingSpeedEstimateCache)
+     * @since 2.4.50
+     */
+    public SOCBuildingSpeedEstimateCache getCache()
+    {
+        return cache;
+    }
+
+    /**
+     * Set or clear the cache of results for {@link #calculateRollsAccurate(SOCResourceSet, SOCResourceSet, int, boolean[])}.
+     * {@link SOCBuildingSpeedEstimateFactory} sets this to the factory's cache when it constructs an estimate.
+     * @param cache  the cache to use, or {@code null} to always calculate
+     * @see #getCache()
+     * @since 2.4.50
+     */
+    public void setCache(final SOCBuildingSpeedEstimateCache cache)
+    {
+        this.cache = cache;
+    }
+
     /**
      * Get the number of rolls to gain each resource type ({@link SOCResourceConstants#CLAY}
      * to {@link SOCResourceConstants#WOOD}).
@@ -472,6 +510,17 @@ public class SOCBuildingSpeedEstimate
         return rollsPerResource;
     }
 
+    /**
+     * Get the resources gained for each dice roll number, for {@link SOCBuildingSpeedEstimateCache}'s keys.
+     * @return the resource sets; indexes 0 and 1 are unused. Elements may be {@code null}
+     *     if {@link #recalculateResourcesForRoll(SOCPlayerNumbers, int)} hasn't been called.
+     * @since 2.4.50
+     */
+    SOCResourceSet[] getResourcesForRoll()
+    {
+        return resourcesForRoll;
+    }
+
     /**
      * Figures out how many rolls it would take this
      * player to get the target set of resources, given
@@ -774,6 +823,14 @@ public class SOCBuildingSpeedEstimate
      * this figures out how many rolls it would take this
      * player to get the target set of resources given
      * a starting set
+     *<P>
+     * Before v2.4.50 this used hashtables of {@link SOCResourceSet}s, which is still available as
+     * {@link #calculateRollsAccurateTables(SOCResourceSet, SOCResourceSet, int, boolean[])}.
+     * Now uses a faster engine with the same results, which packs each hand into a {@code long}.
+     * If the amounts are too large to pack, calls {@code calculateRollsAccurateTables} instead.
+     *<P>
+     * If this estimate has a {@link #setCache(SOCBuildingSpeedEstimateCache) cache},
+     * looks up the result there before calculating, and caches it afterwards.
      *
      * @param startingResources   the starting resources; is treated as read-only
      * @param targetResources     the target resources; is treated as read-only
@@ -781,6 +838,7 @@ public class SOCBuildingSpeedEstimate
      * @param ports               a list of port flags
      *
      * @return the number of rolls and our resources when the target is reached.
+     *    If several possible hands reach the target on that roll, the resources are one of them.
      *    If {@link SOCResourceSet#contains(SOCResourceSet) startingResources.contains(targetResources)},
      *    returns 0 rolls and a {@code null} resource set.
      * @throws CutoffExceededException if estimate more than {@code cutoff} turns to obtain {@code targetResources}
@@ -788,6 +846,59 @@ public class SOCBuildingSpeedEstimate
     protected SOCResSetBuildTimePair calculateRollsAccurate
         (SOCResourceSet startingResources, SOCResourceSet targetResources, int cutoff, boolean[] ports)
         throws CutoffExceededException
+    {
+        final SOCBuildingSpeedEstimateCache c = cache;
+        if (c != null)
+            return c.calculateRollsAccurate(this, startingResources, targetResources, cutoff, ports);
+
+        return calculateRollsAccurateUncached(startingResources, targetResources, cutoff, ports);
+    }
+
+    /**
+     * Calculate {@link #calculateRollsAccurate(SOCResourceSet, SOCResourceSet, int, boolean[])} without
+     * looking in the cache: Uses the packed-hand engine, or {@code calculateRollsAccurateTables} if the amounts
+     * are too large to pack. See that method for parameters and return value.
+     * @throws CutoffExceededException if estimate more than {@code cutoff} turns to obtain {@code targetResources}
+     * @since 2.4.50
+     */
+    SOCResSetBuildTimePair calculateRollsAccurateUncached
+        (SOCResourceSet startingResources, SOCResourceSet targetResources, int cutoff, boolean[] ports)
+        throws CutoffExceededException
+    {
+        if (packedCalc == null)
+            packedCalc = new PackedRollsCalculator();
+
+        final SOCResSetBuildTimePair pair = packedCalc.calculate
+            (startingResources, targetResources, cutoff, ports, rollsPerResource, resourcesForRoll);
+
+        return (pair != null)
+            ? pair
+            : calculateRollsAccurateTables(startingResources, targetResources, cutoff, ports);
+    }
+
+    /**
+     * this figures out how many rolls it would take this
+     * player to get the target set of resources given
+     * a starting set, tracking the possible hands in hashtables of {@link SOCResourceSet}s.
+     *<P>
+     * This was {@link #calculateRollsAccurate(SOCResourceSet, SOCResourceSet, int, boolean[])} before v2.4.50,
+     * which now calls a faster engine and uses this only for hands too large for that engine.
+     * Kept as the reference version for tests.
+     *
+     * @param startingResources   the starting resources; is treated as read-only
+     * @param targetResources     the target resources; is treated as read-only
+     * @param cutoff              throw an exception if the total speed is greater than this
+     * @param ports               a list of port flags
+     *
+     * @return the number of rolls and our resources when the target is reached.
+     *    If {@link SOCResourceSet#contains(SOCResourceSet) startingResources.contains(targetResources)},
+     *    returns 0 rolls and a {@code null} resource set.
+     * @throws CutoffExceededException if estimate more than {@code cutoff} turns to obtain {@code targetResources}
+     * @since 2.4.50
+     */
+    protected SOCResSetBuildTimePair calculateRollsAccurateTables
+        (SOCResourceSet startingResources, SOCResourceSet targetResources, int cutoff, boolean[] ports)
+        throws CutoffExceededException
     {
         D.ebugPrintlnINFO("calculateRollsAccurate");
         D.ebugPrintlnINFO("  start: " + startingResources);
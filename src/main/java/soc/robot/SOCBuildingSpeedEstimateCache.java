@@ -0,0 +1,387 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.robot;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import soc.game.SOCBoard;
+import soc.game.SOCResourceConstants;
+import soc.game.SOCResourceSet;
+import soc.util.CutoffExceededException;
+
+/**
+ * Bounded thread-safe cache of {@link SOCBuildingSpeedEstimate#calculateRollsAccurate(SOCResourceSet, SOCResourceSet, int, boolean[])}
+ * results, shared by all robot brains in the JVM through {@link SOCBuildingSpeedEstimateFactory}.
+ * Bots recalculate the same estimates many times during a turn, and players with the same
+ * dice numbers, ports and hand have the same estimates.
+ *<P>
+ * A result depends only on the estimate's production profile ({@link SOCBuildingSpeedEstimate#getRollsPerResource()}
+ * and resources gained for each dice number), the trade ratios from the player's port flags,
+ * the starting and target resources, and the cutoff. The cache key is those values packed into a {@code long[]}.
+ * Results which exceeded the cutoff are cached too. Hands with {@link SOCResourceConstants#UNKNOWN} resources
+ * aren't cached.
+ *<P>
+ * Entries are kept in {@link #SEGMENTS} segments, each a {@link LinkedHashMap} in access order synchronized
+ * on itself, to reduce lock contention among brain threads. When a segment is full, its least recently used
+ * entry is evicted. Two threads missing the same key at once may both calculate it; the results are the same.
+ *<P>
+ * Counts hits, misses and evictions since startup or {@link #clear()}, for server stats.
+ *<P>
+ * The shared cache from {@link #getShared()} has {@link #DEFAULT_CAPACITY} entries,
+ * unless changed with {@link #setSharedCapacity(int)}, such as by server property
+ * {@link soc.server.SOCServer#PROP_JSETTLERS_BOTS_ESTIMATE__CACHE}.
+ *
+ * @since 2.4.50
+ */
+public class SOCBuildingSpeedEstimateCache
+{
+    /** Default maximum number of entries in the shared cache: 20000 */
+    public static final int DEFAULT_CAPACITY = 20000;
+
+    /** Number of segments, each with its own lock; a power of 2 */
+    static final int SEGMENTS = 16;
+
+    /** Shift of a key's hash to choose its segment from the top bits, leaving the low bits for the segment's map */
+    private static final int SEGMENT_SHIFT = 32 - Integer.numberOfTrailingZeros(SEGMENTS);
+
+    /** Value of a cached result's {@code rolls} when calculation exceeded the cutoff */
+    private static final int CUTOFF_EXCEEDED = -1;
+
+    /**
+     * Cache shared by all {@link SOCBuildingSpeedEstimateFactory}s, or {@code null} if disabled.
+     * @see #getShared()
+     */
+    private static volatile SOCBuildingSpeedEstimateCache shared = new SOCBuildingSpeedEstimateCache(DEFAULT_CAPACITY);
+
+    /** Segments of the cache; entries are in the segment chosen by their key's hash */
+    private final Segment[] segments;
+
+    /** Maximum total number of entries, from constructor */
+    private final int capacity;
+
+    private final AtomicLong hits = new AtomicLong(), misses = new AtomicLong(), evictions = new AtomicLong();
+
+    /**
+     * Get the cache shared by all robot brains in this JVM.
+     * @return  The shared cache, or {@code null} if disabled by {@link #setSharedCapacity(int) setSharedCapacity(0)}
+     */
+    public static SOCBuildingSpeedEstimateCache getShared()
+    {
+        return shared;
+    }
+
+    /**
+     * Replace the shared cache with a new empty one of this size, or disable it.
+     * Factories created afterwards will use the new one; existing factories keep using the old one.
+     * @param capacity  Maximum number of entries, or 0 to disable the shared cache
+     * @throws IllegalArgumentException if {@code capacity} &lt; 0
+     */
+    public static void setSharedCapacity(final int capacity)
+        throws IllegalArgumentException
+    {
+        if (capacity < 0)
+            throw new IllegalArgumentException("capacity: " + capacity);
+
+        shared = (capacity > 0) ? new SOCBuildingSpeedEstimateCache(capacity) : null;
+    }
+
+    /**
+     * Create a new empty cache.
+     * @param capacity  Maximum number of entries; is rounded up to a multiple of {@link #SEGMENTS}
+     * @throws IllegalArgumentException if {@code capacity} &lt;= 0
+     */
+    public SOCBuildingSpeedEstimateCache(final int capacity)
+        throws IllegalArgumentException
+    {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity: " + capacity);
+
+        final int segCapacity = (capacity + SEGMENTS - 1) / SEGMENTS;
+        this.capacity = segCapacity * SEGMENTS;
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; ++i)
+            segments[i] = new Segment(segCapacity);
+    }
+
+    /**
+     * Get the result of {@code est.}{@link SOCBuildingSpeedEstimate#calculateRollsAccurate(SOCResourceSet, SOCResourceSet, int, boolean[])
+     * calculateRollsAccurate(..)} from the cache, or calculate and cache it.
+     * Called from that method when the estimate has a cache.
+     *
+     * @param est  Estimate to calculate with if not cached
+     * @param startingResources   the starting resources; is treated as read-only
+     * @param targetResources     the target resources; is treated as read-only
+     * @param cutoff              throw an exception if the total speed is greater than this
+     * @param ports               a list of port flags
+     * @return  the number of rolls and our resources when the target is reached; a new object,
+     *     not shared with other callers
+     * @throws CutoffExceededException if estimate more than {@code cutoff} turns to obtain {@code targetResources}
+     */
+    SOCResSetBuildTimePair calculateRollsAccurate
+        (final SOCBuildingSpeedEstimate est, final SOCResourceSet startingResources,
+         final SOCResourceSet targetResources, final int cutoff, final boolean[] ports)
+        throws CutoffExceededException
+    {
+        final Key key = makeKey(est, startingResources, targetResources, cutoff, ports);
+        if (key == null)
+            return est.calculateRollsAccurateUncached(startingResources, targetResources, cutoff, ports);
+
+        final Segment seg = segments[key.hash >>> SEGMENT_SHIFT];
+        long[] result;
+        synchronized (seg)
+        {
+            result = seg.get(key);
+        }
+
+        if (result != null)
+        {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            try
+            {
+                final SOCResSetBuildTimePair pair = est.calculateRollsAccurateUncached
+                    (startingResources, targetResources, cutoff, ports);
+                final SOCResourceSet rs = pair.getResources();
+                if (! fitsPacked(rs))
+                    return pair;  // unusual; don't cache
+                result = new long[]{ pair.getRolls(), (rs != null) ? PackedRollsCalculator.pack(rs) : -1 };
+            } catch (CutoffExceededException e) {
+                result = new long[]{ CUTOFF_EXCEEDED, -1 };
+            }
+
+            synchronized (seg)
+            {
+                if ((seg.size() >= seg.capacity) && ! seg.containsKey(key))
+                    evictions.incrementAndGet();  // put will evict eldest
+                seg.put(key, result);
+            }
+        }
+
+        if (result[0] == CUTOFF_EXCEEDED)
+            throw new CutoffExceededException();
+
+        return new SOCResSetBuildTimePair(PackedRollsCalculator.unpack(result[1], 0), (int) result[0]);
+    }
+
+    /**
+     * Build the cache key for a calculation.
+     * @return  the key, or {@code null} if this calculation can't be cached:
+     *     {@link SOCResourceConstants#UNKNOWN} resources, or amounts too large to pack
+     */
+    private static Key makeKey
+        (final SOCBuildingSpeedEstimate est, final SOCResourceSet startingResources,
+         final SOCResourceSet targetResources, final int cutoff, final boolean[] ports)
+    {
+        if ((startingResources.getAmount(SOCResourceConstants.UNKNOWN) != 0)
+            || (targetResources.getAmount(SOCResourceConstants.UNKNOWN) != 0))
+            return null;
+
+        final long[] k = new long[11 + 3 + 3];
+        int i = 0;
+
+        final SOCResourceSet[] resourcesForRoll = est.getResourcesForRoll();
+        for (int diceResult = 2; diceResult <= 12; ++diceResult)
+        {
+            final SOCResourceSet rs = resourcesForRoll[diceResult];
+            if (! fitsPacked(rs))
+                return null;
+            k[i++] = PackedRollsCalculator.pack(rs);
+        }
+
+        final int[] rollsPerResource = est.getRollsPerResource();
+        k[i++] = (((long) rollsPerResource[SOCResourceConstants.CLAY]) << 32)
+            | (rollsPerResource[SOCResourceConstants.ORE] & 0xFFFFFFFFL);
+        k[i++] = (((long) rollsPerResource[SOCResourceConstants.SHEEP]) << 32)
+            | (rollsPerResource[SOCResourceConstants.WHEAT] & 0xFFFFFFFFL);
+        long tradeRatios = 0;
+        for (int rtype = SOCResourceConstants.CLAY; rtype <= SOCResourceConstants.WOOD; ++rtype)
+            tradeRatios = (tradeRatios << 3) | ((ports[rtype]) ? 2 : ((ports[SOCBoard.MISC_PORT]) ? 3 : 4));
+        k[i++] = (((long) rollsPerResource[SOCResourceConstants.WOOD]) << 32) | tradeRatios;
+
+        if (! (fitsPacked(startingResources) && fitsPacked(targetResources)))
+            return null;
+        k[i++] = PackedRollsCalculator.pack(startingResources);
+        k[i++] = PackedRollsCalculator.pack(targetResources);
+        k[i++] = cutoff;
+
+        return new Key(k);
+    }
+
+    /**
+     * Can this resource set be packed without losing information?
+     * @param rs  Resource set, or {@code null} for empty
+     * @return  True if {@code rs} is null, or all its known amounts are from 0 to {@link PackedRollsCalculator#MAX_AMOUNT}
+     */
+    private static boolean fitsPacked(final SOCResourceSet rs)
+    {
+        if (rs == null)
+            return true;
+
+        for (int rtype = SOCResourceConstants.CLAY; rtype <= SOCResourceConstants.WOOD; ++rtype)
+        {
+            final int amt = rs.getAmount(rtype);
+            if ((amt < 0) || (amt > PackedRollsCalculator.MAX_AMOUNT))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the maximum number of entries.
+     * @return  Capacity given to the constructor, rounded up to a multiple of {@link #SEGMENTS}
+     */
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Get the current number of entries.
+     * @return  Number of cached results
+     */
+    public int size()
+    {
+        int n = 0;
+        for (final Segment seg : segments)
+            synchronized (seg)
+            {
+                n += seg.size();
+            }
+
+        return n;
+    }
+
+    /**
+     * Get the number of lookups which found a cached result.
+     * @return  Hit count since startup or {@link #clear()}
+     * @see #getMissCount()
+     */
+    public long getHitCount()
+    {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of lookups which had to calculate the result.
+     * Calculations which can't be cached aren't counted.
+     * @return  Miss count since startup or {@link #clear()}
+     * @see #getHitCount()
+     */
+    public long getMissCount()
+    {
+        return misses.get();
+    }
+
+    /**
+     * Get the number of entries evicted because their segment was full.
+     * @return  Eviction count since startup or {@link #clear()}
+     */
+    public long getEvictionCount()
+    {
+        return evictions.get();
+    }
+
+    /**
+     * Remove all entries and reset the hit, miss and eviction counts.
+     */
+    public void clear()
+    {
+        for (final Segment seg : segments)
+            synchronized (seg)
+            {
+                seg.clear();
+            }
+
+        hits.set(0);
+        misses.set(0);
+        evictions.set(0);
+    }
+
+    /**
+     * Summary of the cache's size and counts, for stats and debugging.
+     * @return  A string like {@code "hits=120|misses=30|evictions=0|size=30|capacity=20000"}
+     */
+    @Override
+    public String toString()
+    {
+        return "hits=" + hits.get() + "|misses=" + misses.get() + "|evictions=" + evictions.get()
+            + "|size=" + size() + "|capacity=" + capacity;
+    }
+
+    /**
+     * Cache key: Packed calculation inputs from {@link SOCBuildingSpeedEstimateCache#makeKey}, and their hash.
+     */
+    private static final class Key
+    {
+        final long[] k;
+
+        final int hash;
+
+        Key(final long[] k)
+        {
+            this.k = k;
+            int h = Arrays.hashCode(k);
+            hash = h ^ (h >>> 16);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            return (o instanceof Key) && (((Key) o).hash == hash) && Arrays.equals(((Key) o).k, k);
+        }
+    }
+
+    /**
+     * One segment of the cache: An access-ordered map which evicts its eldest entry when full.
+     * Callers synchronize on the segment.
+     * Each value is {rolls or {@link SOCBuildingSpeedEstimateCache#CUTOFF_EXCEEDED}, packed resources or -1}.
+     */
+    private static final class Segment
+        extends LinkedHashMap<Key, long[]>
+    {
+        private static final long serialVersionUID = 2450L;
+
+        final int capacity;
+
+        Segment(final int capacity)
+        {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, long[]> eldest)
+        {
+            return (size() > capacity);
+        }
+    }
+
+}
@@ -32,19 +32,54 @@ import soc.game.SOCResourceConstants;
  *<P>
  * This basic factory always constructs a basic {@link SOCBuildingSpeedEstimate}.
  * Third-party bots can override as needed, along with {@link SOCRobotBrain#createEstimatorFactory()}.
+ *<P>
+ * Since v2.4.50 the estimates constructed here use the factory's {@link #getCache()} to remember
+ * accurate estimate results, which by default is the {@link SOCBuildingSpeedEstimateCache#getShared()}
+ * cache used by all bots in the JVM.
  *
  * @since 2.4.50
  */
 public class SOCBuildingSpeedEstimateFactory
 {
+    /**
+     * Cache for estimates constructed by this factory, or {@code null} for none.
+     * @see #getCache()
+     * @since 2.4.50
+     */
+    protected final SOCBuildingSpeedEstimateCache cache;
 
     /**
      * Construct a basic {@link SOCBuildingSpeedEstimateFactory}, optionally for use by {@code brain}.
+     * Its estimates will use the {@link SOCBuildingSpeedEstimateCache#getShared()} cache.
      * @param brain  Brain which will use this factory, or {@code null}.
      *     Default implementation ignores {@code brain} parameter; it's provided in case a subclass needs it.
      */
     public SOCBuildingSpeedEstimateFactory(final SOCRobotBrain brain)
     {
+        this(brain, SOCBuildingSpeedEstimateCache.getShared());
+    }
+
+    /**
+     * Construct a basic {@link SOCBuildingSpeedEstimateFactory} using a given cache,
+     * optionally for use by {@code brain}.
+     * @param brain  Brain which will use this factory, or {@code null}.
+     *     Default implementation ignores {@code brain} parameter; it's provided in case a subclass needs it.
+     * @param cache  Cache for the estimates constructed by this factory, or {@code null} to not cache
+     * @since 2.4.50
+     */
+    public SOCBuildingSpeedEstimateFactory(final SOCRobotBrain brain, final SOCBuildingSpeedEstimateCache cache)
+    {
+        this.cache = cache;
+    }
+
+    /**
+     * Get the cache used by estimates constructed by this factory.
+     * @return  This factory's cache, or {@code null} if none
+     * @since 2.4.50
+     */
+    public SOCBuildingSpeedEstimateCache getCache()
+    {
+        return cache;
     }
 
     /**
@@ -56,7 +91,9 @@ public class SOCBuildingSpeedEstimateFactory
      */
     public SOCBuildingSpeedEstimate getEstimator(final SOCPlayerNumbers numbers)
     {
-        return new SOCBuildingSpeedEstimate(numbers);
+        final SOCBuildingSpeedEstimate est = new SOCBuildingSpeedEstimate(numbers);
+        est.setCache(cache);
+        return est;
     }
 
     /**
@@ -67,7 +104,9 @@ public class SOCBuildingSpeedEstimateFactory
      */
     public SOCBuildingSpeedEstimate getEstimator()
     {
-        return new SOCBuildingSpeedEstimate();
+        final SOCBuildingSpeedEstimate est = new SOCBuildingSpeedEstimate();
+        est.setCache(cache);
+        return est;
     }
 
     /**
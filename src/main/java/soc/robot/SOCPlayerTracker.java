@@ -110,6 +110,14 @@ public class SOCPlayerTracker
     /** The robot brain using this tracker */
     protected final SOCRobotBrain brain;
 
+    /**
+     * If false, don't record into {@link #brain}'s {@link SOCRobotBrain#getDRecorder()}
+     * because this tracker is a copy used by a planning worker thread, and the recorder isn't thread-safe.
+     * Copies made from such a tracker also don't record. See {@link #isDRecorderOn()}.
+     * @since 2.4.50
+     */
+    private final boolean usesDRecorder;
+
     /**
      * The game where {@link #player} is being tracked
      * @since 2.0.00
@@ -187,6 +195,7 @@ public class SOCPlayerTracker
 
         inUse = false;
         brain = br;
+        usesDRecorder = true;
         player = pl;
         playerNumber = pl.getPlayerNumber();
         game = pl.getGame();
@@ -209,14 +218,68 @@ public class SOCPlayerTracker
      */
     public SOCPlayerTracker(SOCPlayerTracker pt)
     {
-        inUse = false;
         brain = pt.getBrain();
+        usesDRecorder = pt.usesDRecorder;
         player = pt.getPlayer();
         playerNumber = player.getPlayerNumber();
         game = pt.game;
         possibleRoads = new TreeMap<Integer, SOCPossibleRoad>();
         possibleSettlements = new TreeMap<Integer, SOCPossibleSettlement>();
         possibleCities = new TreeMap<Integer, SOCPossibleCity>();
+
+        copyFrom(pt);
+    }
+
+    /**
+     * Copy constructor for a tracker of the same-numbered player in a deep copy of {@code pt}'s game,
+     * such as one from {@link soc.game.SOCGameSnapshot}. The copied possible pieces belong to {@code pl}.
+     * Unlike {@link #SOCPlayerTracker(SOCPlayerTracker)}, also copies the win game ETA and needs LR/LA flags,
+     * since this copy stands in for {@code pt} as a "before" tracker.
+     * Since the copy is for a planning worker thread, it and copies made from it
+     * don't record into the brain's debug recorder.
+     *<P>
+     * Note: Does NOT copy connections between possible pieces
+     *
+     * @param pt  the player tracker
+     * @param pl  the player in the game copy having {@code pt}'s player number
+     * @since 2.4.50
+     */
+    SOCPlayerTracker(final SOCPlayerTracker pt, final SOCPlayer pl)
+    {
+        brain = pt.getBrain();
+        usesDRecorder = false;
+        player = pl;
+        playerNumber = pl.getPlayerNumber();
+        game = pl.getGame();
+        possibleRoads = new TreeMap<Integer, SOCPossibleRoad>();
+        possibleSettlements = new TreeMap<Integer, SOCPossibleSettlement>();
+        possibleCities = new TreeMap<Integer, SOCPossibleCity>();
+
+        copyFrom(pt);
+        winGameETA = pt.winGameETA;
+        needLR = pt.needLR;
+        needLA = pt.needLA;
+
+        for (SOCPossibleRoad pr : possibleRoads.values())
+            pr.player = pl;
+        for (SOCPossibleSettlement ps : possibleSettlements.values())
+            ps.player = pl;
+        for (SOCPossibleCity pc : possibleCities.values())
+            pc.player = pl;
+    }
+
+    /**
+     * Copy {@code pt}'s ETA fields and possible pieces into this new tracker, for the copy constructors.
+     * Possible pieces are copied with their copy constructors.
+     *<P>
+     * Note: Does NOT copy connections between possible pieces
+     *
+     * @param pt  the player tracker to copy
+     * @since 2.4.50
+     */
+    private void copyFrom(final SOCPlayerTracker pt)
+    {
+        inUse = false;
         longestRoadETA = pt.getLongestRoadETA();
         roadsToGo = pt.getRoadsToGo();
         largestArmyETA = pt.getLargestArmyETA();
@@ -274,6 +337,41 @@ public class SOCPlayerTracker
      * param trackers  player trackers for each player
      */
     public static SOCPlayerTracker[] copyPlayerTrackers(final SOCPlayerTracker[] trackers)
+    {
+        return copyPlayerTrackers(trackers, null);
+    }
+
+    /**
+     * make copies of player trackers which track the players of a deep copy of their game,
+     * and then make connections between copied pieces.
+     * See {@link #SOCPlayerTracker(SOCPlayerTracker, SOCPlayer)} for how these copies differ
+     * from {@link #copyPlayerTrackers(SOCPlayerTracker[])}.
+     *<P>
+     * Note: not copying threats
+     *
+     * @param trackers  player trackers for each player
+     * @param gameCopy  deep copy of the trackers' game, from {@link soc.game.SOCGameSnapshot}
+     * @return copies of {@code trackers} for {@code gameCopy}'s players
+     * @since 2.4.50
+     */
+    static SOCPlayerTracker[] copyPlayerTrackersForGame(final SOCPlayerTracker[] trackers, final SOCGame gameCopy)
+    {
+        return copyPlayerTrackers(trackers, gameCopy);
+    }
+
+    /**
+     * Make copies of player trackers and the connections between copied pieces,
+     * for {@link #copyPlayerTrackers(SOCPlayerTracker[])}
+     * and {@link #copyPlayerTrackersForGame(SOCPlayerTracker[], SOCGame)}.
+     *
+     * @param trackers  player trackers for each player
+     * @param gameCopy  deep copy of the trackers' game whose players the copies will track,
+     *     or null to track the same players as {@code trackers}
+     * @return copies of {@code trackers}
+     * @since 2.4.50
+     */
+    private static SOCPlayerTracker[] copyPlayerTrackers
+        (final SOCPlayerTracker[] trackers, final SOCGame gameCopy)
     {
         final SOCPlayerTracker[] trackersCopy
             = new SOCPlayerTracker[trackers.length];  // length == SOCGame.maxPlayers
@@ -283,8 +381,14 @@ public class SOCPlayerTracker
         //
         for (SOCPlayerTracker pt : trackers)
         {
-            if (pt != null)
-                trackersCopy[pt.getPlayer().getPlayerNumber()] = new SOCPlayerTracker(pt);
+            if (pt == null)
+                continue;
+
+            final int pn = pt.getPlayer().getPlayerNumber();
+            if (gameCopy != null)
+                trackersCopy[pn] = new SOCPlayerTracker(pt, gameCopy.getPlayer(pn));
+            else
+                trackersCopy[pn] = new SOCPlayerTracker(pt);
         }
 
         //
@@ -468,6 +572,16 @@ public class SOCPlayerTracker
          */
     }
 
+    /**
+     * Should this tracker record into its brain's {@link SOCRobotBrain#getDRecorder()}?
+     * @return  True if the brain's debug recorder is on, and this isn't a planning worker's copy
+     * @since 2.4.50
+     */
+    private boolean isDRecorderOn()
+    {
+        return usesDRecorder && brain.getDRecorder().isOn();
+    }
+
     /**
      * @return the robot brain for this tracker
      */
@@ -2966,7 +3080,7 @@ public class SOCPlayerTracker
                     {
                         needLR = true;
 
-                        if (brain.getDRecorder().isOn())
+                        if (isDRecorderOn())
                         {
                             brain.getDRecorder().record(fastestETA + ": Longest Road");
                         }
@@ -2975,21 +3089,21 @@ public class SOCPlayerTracker
                     {
                         needLA = true;
 
-                        if (brain.getDRecorder().isOn())
+                        if (isDRecorderOn())
                         {
                             brain.getDRecorder().record(fastestETA + ": Largest Army");
                         }
                     }
                     else if ((cityPiecesLeft > 0) && (citySpotsLeft > 0) && (cityETA == fastestETA))
                     {
-                        if (brain.getDRecorder().isOn())
+                        if (isDRecorderOn())
                         {
                             brain.getDRecorder().record(fastestETA + ": City");
                         }
                     }
                     else if (chosenSet != null)
                     {
-                        if (brain.getDRecorder().isOn())
+                        if (isDRecorderOn())
                         {
                             brain.getDRecorder().record(fastestETA + ": Stlmt at "
                                 + board.nodeCoordToString(chosenSet.getCoordinates()));
@@ -3653,7 +3767,7 @@ public class SOCPlayerTracker
                         D.ebugPrintlnINFO("WWW    settlement 1: " + board.nodeCoordToString(chosenSet[0].getCoordinates()));
                         D.ebugPrintlnINFO("WWW    settlement 2: " + board.nodeCoordToString(chosenSet[1].getCoordinates()));
 
-                        if (brain.getDRecorder().isOn())
+                        if (isDRecorderOn())
                         {
                             brain.getDRecorder().record
                                 (fastestETA + ": Stlmt at " + board.nodeCoordToString(chosenSet[0].getCoordinates())
@@ -3710,7 +3824,7 @@ public class SOCPlayerTracker
                         D.ebugPrintlnINFO("WWW    settlement at " + board.nodeCoordToString(chosenSet[0].getCoordinates()));
                         D.ebugPrintlnINFO("WWW    city at " + board.nodeCoordToString(chosenCity[0].getCoordinates()));
 
-                        if (brain.getDRecorder().isOn())
+                        if (isDRecorderOn())
                         {
                             if (fastestETA == settlementBeforeCity)
                             {
@@ -3825,7 +3939,7 @@ public class SOCPlayerTracker
                         if (chosenCity[1] != null)
                             D.ebugPrintlnINFO("WWW    city 2: " + board.nodeCoordToString(chosenCity[1].getCoordinates()));
 
-                        if (brain.getDRecorder().isOn())
+                        if (isDRecorderOn())
                         {
                             brain.getDRecorder().record
                                 (fastestETA + ": City at " + board.nodeCoordToString(chosenCity[0].getCoordinates())
@@ -3837,7 +3951,7 @@ public class SOCPlayerTracker
                         needLR = true;
                         D.ebugPrintlnINFO("WWW  * take longest road");
 
-                        if (brain.getDRecorder().isOn())
+                        if (isDRecorderOn())
                         {
                             brain.getDRecorder().record(fastestETA + ": Longest Road");
                         }
@@ -3847,7 +3961,7 @@ public class SOCPlayerTracker
                         needLA = true;
                         D.ebugPrintlnINFO("WWW  * take largest army");
 
-                        if (brain.getDRecorder().isOn())
+                        if (isDRecorderOn())
                         {
                             brain.getDRecorder().record(fastestETA + ": Largest Army");
                         }
@@ -3857,7 +3971,7 @@ public class SOCPlayerTracker
 
             D.ebugPrintlnINFO("WWW TOTAL WGETA FOR PLAYER " + playerNumber + " = " + winGameETA);
 
-            if (brain.getDRecorder().isOn())
+            if (isDRecorderOn())
             {
                 brain.getDRecorder().record("Total WGETA for " + player.getName() + " = " + winGameETA);
                 brain.getDRecorder().record("--------------------");
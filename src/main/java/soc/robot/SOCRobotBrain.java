@@ -80,6 +80,7 @@ import soc.message.SOCTurn;
 import soc.util.CappedQueue;
 import soc.util.DebugRecorder;
 import soc.util.SOCRobotParameters;
+import soc.util.VirtualThreads;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -122,7 +123,7 @@ import java.util.Vector;
  * be used to inject random delays in incoming messages.
  *<P>
  * To keep the game moving, the server may force an inactive bot to end its turn;
- * see {@link soc.server.SOCForceEndTurnThread}.
+ * see {@link soc.server.SOCForceEndTurnTask}.
  *
  *<H3>AI/Robot development:</H3>
  *
@@ -174,6 +175,27 @@ public class SOCRobotBrain extends Thread
      */
     public static int BOTS_PAUSE_FOR_HUMAN_TRADE = 8;
 
+    /**
+     * Number of threads each robot uses to score candidate pieces when planning,
+     * applied to robot parameters received from the server: See {@link SOCRobotParameters#getPlanningThreads()}.
+     * Default is 1, to plan serially.
+     *
+     * @since 2.4.50
+     */
+    public static int BOTS_PLANNING_THREADS = 1;
+
+    /**
+     * If true and the JVM supports them (Java 21 or newer), {@link #start()} runs each brain
+     * on a virtual thread instead of its own platform thread. Brains spend most of their time
+     * waiting for messages or in {@link #pause(int)}, so many brains can share a few carrier threads.
+     * Message order and pause timing are the same either way.
+     * Default is false.
+     *
+     * @see VirtualThreads#isSupported()
+     * @since 2.4.50
+     */
+    public static boolean BOTS_VIRTUAL_THREADS = false;
+
     // Timing constants:
 
     /**
@@ -730,10 +752,17 @@ public class SOCRobotBrain extends Thread
     protected RobberStrategy robberStrategy;
 
     /**
-     * a thread that sends ping messages to this one
+     * a timer task that sends ping messages to this one; since v2.4.50, shares one timer thread with all other pingers
      */
     protected SOCRobotPinger pinger;
 
+    /**
+     * If {@link #start()} started this brain on a virtual thread, that thread; otherwise null.
+     * @see #isRunning()
+     * @since 2.4.50
+     */
+    private volatile Thread virtualThread;
+
     /**
      * An object for recording a building plan's debug information that can
      * be accessed interactively.
@@ -1474,6 +1503,14 @@ public class SOCRobotBrain extends Thread
                         handleDICERESULT((SOCDiceResult) mes);
                         break;
 
+                    case SOCMessage.BANKTRADE:
+                        handleBANKTRADE((SOCBankTrade) mes);
+                        break;
+
+                    case SOCMessage.REPORTROBBERY:
+                        handleREPORTROBBERY((SOCReportRobbery) mes);
+                        break;
+
                     case SOCMessage.PUTPIECE:
                         handlePUTPIECE_updateGameData((SOCPutPiece) mes);
                         // For initial roads, also tracks their initial settlement in SOCPlayerTracker.
@@ -2033,7 +2070,7 @@ public class SOCRobotBrain extends Thread
                         break;
 
                     case SOCMessage.TIMINGPING:
-                        // Once-per-second message from the pinger thread
+                        // Once-per-second message from the pinger
                         counter++;
                         break;
 
@@ -2042,7 +2079,7 @@ public class SOCRobotBrain extends Thread
                     if (ourTurn && (counter > 15000))
                     {
                         // We've been waiting too long, must be a bug: Leave the game.
-                        // This is a fallback, server has SOCForceEndTurnThread which
+                        // This is a fallback, server has SOCForceEndTurnTask which
                         // should have already taken action.
                         // Before v1.1.20, would leave game even during other (human) players' turns.
                         client.leaveGame(game, "counter 15000", true, false);
@@ -2423,6 +2460,21 @@ public class SOCRobotBrain extends Thread
         // but a third-party bot might want to.
     }
 
+    /**
+     * Update game data when a player has traded with the bank or a port.
+     * Calls {@link SOCDisplaylessPlayerClient#handleBANKTRADE(SOCBankTrade, SOCGame)}.
+     * Is called here and not from {@link SOCRobotClient}, so that it's applied in order
+     * with any resource updates still waiting in {@link #gameEventQ}.
+     * Third-party bots can override if needed; if so, be sure to call {@code super.handleBANKTRADE(..)}.
+     *
+     * @param mes  Bank trade message
+     * @since 2.4.50
+     */
+    protected void handleBANKTRADE(SOCBankTrade mes)
+    {
+        SOCDisplaylessPlayerClient.handleBANKTRADE(mes, game);
+    }
+
     /**
      * Stop waiting for responses to a trade offer, no one has accepted it.
      * Remember other players' responses or non-responses,
@@ -4644,6 +4696,47 @@ public class SOCRobotBrain extends Thread
         resetBuildingPlan();
     }
 
+    /**
+     * Start this brain's {@link #run()} loop. If {@link #BOTS_VIRTUAL_THREADS} and the JVM supports them,
+     * runs it on a new virtual thread; otherwise starts this brain's own thread as usual.
+     * @throws IllegalThreadStateException if already started
+     * @see #isRunning()
+     * @since 2.4.50
+     */
+    @Override
+    public synchronized void start()
+        throws IllegalThreadStateException
+    {
+        if (BOTS_VIRTUAL_THREADS && VirtualThreads.isSupported())
+        {
+            if (virtualThread != null)
+                throw new IllegalThreadStateException("already started");
+
+            final Thread vt = VirtualThreads.newThread(this, getName());
+            if (vt != null)
+            {
+                virtualThread = vt;
+                vt.start();
+                return;
+            }
+        }
+
+        super.start();
+    }
+
+    /**
+     * Is this brain's {@link #run()} loop running, on its own thread or a virtual thread?
+     * Use this instead of {@link #isAlive()}, which is false for brains on virtual threads.
+     * @return true if started and not yet finished
+     * @see #start()
+     * @since 2.4.50
+     */
+    public boolean isRunning()
+    {
+        final Thread vt = virtualThread;
+        return (vt != null) ? vt.isAlive() : isAlive();
+    }
+
     /**
      * Kill this brain's thread: clears its "alive" flag, stops pinger,
      * puts a null message into the event queue.
@@ -685,11 +685,12 @@ public class SOCRobotClient extends SOCDisplaylessPlayerClient
                 break;
 
             /**
-             * Update game data for bank trade. Added 2021-01-20 for v2.4.50
+             * Bank trade. Added 2021-01-20 for v2.4.50.
+             * Brain updates game data, in order with the PLAYERELEMENTS it's already queued:
+             * Updating here could be overwritten by an older resource SET still in the brain's queue.
              */
             case SOCMessage.BANKTRADE:
-                if (super.handleBANKTRADE(games, (SOCBankTrade) mes))
-                    handlePutBrainQ((SOCMessageForGame) mes);
+                handlePutBrainQ((SOCMessageForGame) mes);
                 break;
 
             /**
@@ -872,6 +873,7 @@ public class SOCRobotClient extends SOCDisplaylessPlayerClient
     protected void handleUPDATEROBOTPARAMS(SOCUpdateRobotParams mes)
     {
         currentRobotParameters = new SOCRobotParameters(mes.getRobotParameters());
+        currentRobotParameters.setPlanningThreads(SOCRobotBrain.BOTS_PLANNING_THREADS);
 
         if (! printedInitialWelcome)
         {
@@ -909,7 +911,7 @@ public class SOCRobotClient extends SOCDisplaylessPlayerClient
             System.err.println
                 (" -- " + nickname + " leaving at JoinGameRequest('" + gaName + "', " + mes.getPlayerNumber()
                  + "): " + PROP_JSETTLERS_BOTS_TEST_QUIT_AT_JOINREQ);
-            put(new SOCLeaveAll().toCmd());
+            put(new SOCLeaveAll());
 
             try { Thread.sleep(200); } catch (InterruptedException e) {}  // wait for send/receive
             disconnect();
@@ -1360,7 +1362,7 @@ public class SOCRobotClient extends SOCDisplaylessPlayerClient
             /**
              * change our face to the robot face
              */
-            put(new SOCChangeFace(ga.getName(), pn, faceId).toCmd());
+            put(new SOCChangeFace(ga.getName(), pn, faceId));
         }
         else
         {
@@ -1481,7 +1483,7 @@ public class SOCRobotClient extends SOCDisplaylessPlayerClient
              */
             SOCRobotBrain brain = robotBrains.get(mes.getGame());
 
-            if ((brain == null) || (! brain.isAlive()))
+            if ((brain == null) || (! brain.isRunning()))
             {
                 leaveGame(games.get(mes.getGame()), "brain not alive in handleROBOTDISMISS", true, false);
             }
@@ -1575,7 +1577,7 @@ public class SOCRobotClient extends SOCDisplaylessPlayerClient
         List<String> rbSta = brain.debugPrintBrainStatus();
         if (sendTextToGame)
             for (final String st : rbSta)
-                put(new SOCGameTextMsg(gameName, nickname, st).toCmd());
+                put(new SOCGameTextMsg(gameName, nickname, st));
         else
             for (final String st : rbSta)
                 System.err.println(st);
@@ -1633,7 +1635,7 @@ public class SOCRobotClient extends SOCDisplaylessPlayerClient
     public void destroy()
     {
         SOCLeaveAll leaveAllMes = new SOCLeaveAll();
-        put(leaveAllMes.toCmd());
+        put(leaveAllMes);
         disconnectReconnect();
         if (ex != null)
             System.err.println("Reconnect to server failed: " + ex);
@@ -203,6 +203,27 @@ public class SOCRobotDM
   protected SOCPossibleCity favoriteCity;
   protected SOCPossibleCard possibleCard;
 
+  /**
+   * Number of threads for scoring candidate pieces in {@link #smartGameStrategy(int[])},
+   * from {@link SOCRobotParameters#getPlanningThreads()}; 1 to score them serially.
+   * @since 2.4.50
+   */
+  protected int planningThreads = 1;
+
+  /**
+   * During {@link #smartGameStrategy(int[])} if {@link #planningThreads} &gt; 1, the parallel scorer
+   * created when first needed by {@link #scoreInParallel(List)}; otherwise null.
+   * @since 2.4.50
+   */
+  private SOCRobotDMParallelScorer parallelScorer;
+
+  /**
+   * True if {@link #parallelScorer} couldn't be created during the current {@link #smartGameStrategy(int[])} call,
+   * so its candidates are scored serially.
+   * @since 2.4.50
+   */
+  private boolean parallelScorerFailed;
+
 
   /**
    * Constructor for setting DM fields from a robot brain.
@@ -257,6 +278,7 @@ public class SOCRobotDM
     leaderAdversarialFactor = params.getLeaderAdversarialFactor();
     devCardMultiplier = params.getDevCardMultiplier();
     threatMultiplier = params.getThreatMultiplier();
+    planningThreads = params.getPlanningThreads();
 
     resourceChoices = new SOCResourceSet();
     resourceChoices.add(2, SOCResourceConstants.CLAY);
@@ -267,6 +289,45 @@ public class SOCRobotDM
   }
 
 
+  /**
+   * Constructor for a {@link SOCRobotDMParallelScorer} worker, which scores candidate pieces for {@code dm}
+   * in a deep copy of its game. Has the same parameters and estimator factory as {@code dm},
+   * no brain, and its own building plan. Always plans serially.
+   *
+   * @param dm  the decision maker to score candidates for
+   * @param pt  player trackers for the game copy, from
+   *     {@link SOCPlayerTracker#copyPlayerTrackersForGame(SOCPlayerTracker[], SOCGame)}
+   * @param opd  our player data in the game copy
+   * @since 2.4.50
+   */
+  SOCRobotDM(final SOCRobotDM dm, final SOCPlayerTracker[] pt, final SOCPlayer opd)
+  {
+    brain = null;
+    playerTrackers = pt;
+    ourPlayerTracker = pt[dm.ourPlayerNumber];
+    ourPlayerData = opd;
+    ourPlayerNumber = dm.ourPlayerNumber;
+    buildingPlan = new SOCBuildPlanStack();
+    bseFactory = dm.bseFactory;
+    game = opd.getGame();
+    openingBuildStrategy = dm.openingBuildStrategy;  // for dm's game; not used when scoring
+
+    maxGameLength = dm.maxGameLength;
+    maxETA = dm.maxETA;
+    etaBonusFactor = dm.etaBonusFactor;
+    adversarialFactor = dm.adversarialFactor;
+    leaderAdversarialFactor = dm.leaderAdversarialFactor;
+    devCardMultiplier = dm.devCardMultiplier;
+    threatMultiplier = dm.threatMultiplier;
+
+    resourceChoices = new SOCResourceSet();
+    threatenedRoads = new ArrayList<SOCPossibleRoad>();
+    goodRoads = new ArrayList<SOCPossibleRoad>();
+    threatenedSettlements = new ArrayList<SOCPossibleSettlement>();
+    goodSettlements = new ArrayList<SOCPossibleSettlement>();
+  }
+
+
   /**
    * @return favorite settlement
    */
@@ -1228,7 +1289,7 @@ public class SOCRobotDM
 
     //
     // We're doing a depth first search of all possible road paths.
-    // For similar code, see SOCPlayer.calcLongestRoad2
+    // For similar code, see SOCPlayer.calcLongestRoadFullSearch
     // Both methods rely on a stack holding NodeLenVis (pop to curNode in loop);
     // they differ in actual element type within the stack because they are
     // gathering slightly different results (length or a stack of edges).
@@ -1469,6 +1530,9 @@ public class SOCRobotDM
       savedLRPaths[pn].addAll(game.getPlayer(pn).getLRPaths());
     }
 
+    parallelScorer = null;
+    parallelScorerFailed = false;
+
     int ourCurrentWGETA = ourPlayerTracker.getWinGameETA();
     D.ebugPrintlnINFO("ourCurrentWGETA = "+ourCurrentWGETA);
 
@@ -1669,6 +1733,15 @@ public class SOCRobotDM
     ///
     if (ourPlayerData.getNumPieces(SOCPlayingPiece.ROAD) > 0)
     {
+      float[] roadBonuses = null;  // if not null, each road's WGETA bonus from parallelScorer
+      if (planningThreads > 1)
+      {
+        final List<SOCPossibleRoad> allRoads = new ArrayList<SOCPossibleRoad>(threatenedRoads);
+        allRoads.addAll(goodRoads);
+        roadBonuses = scoreInParallel(allRoads);
+      }
+      int roadIdx = 0;
+
       for (SOCPossibleRoad threatenedRoad : threatenedRoads)
       {
         D.ebugPrintlnINFO("$$$$$ threatened road at "+Integer.toHexString(threatenedRoad.getCoordinates()));
@@ -1685,8 +1758,12 @@ public class SOCRobotDM
         // see how building this piece impacts our winETA
         //
         threatenedRoad.resetScore();
-        float wgetaScore = getWinGameETABonusForRoad
-            (threatenedRoad, buildingETAs[SOCBuildingSpeedEstimate.ROAD], leadersCurrentWGETA, playerTrackers);
+        float wgetaScore = (roadBonuses != null)
+            ? addWinGameETABonusForRoad
+                (threatenedRoad, buildingETAs[SOCBuildingSpeedEstimate.ROAD], leadersCurrentWGETA, roadBonuses[roadIdx])
+            : getWinGameETABonusForRoad
+                (threatenedRoad, buildingETAs[SOCBuildingSpeedEstimate.ROAD], leadersCurrentWGETA, playerTrackers);
+        ++roadIdx;
         if ((brain != null) && (brain.getDRecorder().isOn())) {
           brain.getDRecorder().stopRecording();
         }
@@ -1724,7 +1801,10 @@ public class SOCRobotDM
             ((goodRoad instanceof SOCPossibleShip) && ! ((SOCPossibleShip) goodRoad).isCoastalRoadAndShip)
             ? SOCBuildingSpeedEstimate.ROAD
             : SOCBuildingSpeedEstimate.SHIP;
-        float wgetaScore = getWinGameETABonusForRoad(goodRoad, buildingETAs[etype], leadersCurrentWGETA, playerTrackers);
+        float wgetaScore = (roadBonuses != null)
+            ? addWinGameETABonusForRoad(goodRoad, buildingETAs[etype], leadersCurrentWGETA, roadBonuses[roadIdx])
+            : getWinGameETABonusForRoad(goodRoad, buildingETAs[etype], leadersCurrentWGETA, playerTrackers);
+        ++roadIdx;
         if ((brain != null) && (brain.getDRecorder().isOn())) {
           brain.getDRecorder().stopRecording();
         }
@@ -1754,13 +1834,13 @@ public class SOCRobotDM
     ///
     if (ourPlayerData.getNumPieces(SOCPlayingPiece.CITY) > 0)
     {
-      SOCPlayerTracker[] trackersCopy = SOCPlayerTracker.copyPlayerTrackers(playerTrackers);
-      SOCPlayerTracker ourTrackerCopy = trackersCopy[ourPlayerNumber];
-      int originalWGETAs[] = new int[game.maxPlayers];
-      int WGETAdiffs[] = new int[game.maxPlayers];
-      Vector<SOCPlayerTracker> leaders = new Vector<SOCPlayerTracker>();
-      int bestWGETA = 1000;
-      // int bonus = 0;
+      float[] cityBonuses = null;  // if not null, each city's WGETA bonus from parallelScorer
+      if (planningThreads > 1)
+        cityBonuses = scoreInParallel(new ArrayList<SOCPossibleCity>(ourPlayerTracker.getPossibleCities().values()));
+      int cityIdx = 0;
+      final SOCPlayerTracker[] trackersCopy = (cityBonuses == null)
+          ? SOCPlayerTracker.copyPlayerTrackers(playerTrackers)
+          : null;
 
       Iterator<SOCPossibleCity> posCitiesIter = ourPlayerTracker.getPossibleCities().values().iterator();
       while (posCitiesIter.hasNext())
@@ -1776,53 +1856,10 @@ public class SOCRobotDM
         //
         // see how building this piece impacts our winETA
         //
-        leaders.clear();
-        if ((brain != null) && (brain.getDRecorder().isOn())) {
-          brain.getDRecorder().suspend();
-        }
-        SOCPlayerTracker.updateWinGameETAs(trackersCopy);
-
-        // TODO refactor? This section is like a copy of calcWGETABonus, with something added in the middle
-
-        for (final SOCPlayerTracker trackerBefore : trackersCopy)
-        {
-          if (trackerBefore == null)
-            continue;
-
-          final int pn = trackerBefore.getPlayer().getPlayerNumber();
-          D.ebugPrintlnINFO("$$$ win game ETA for player " + pn + " = " + trackerBefore.getWinGameETA());
-          originalWGETAs[pn] = trackerBefore.getWinGameETA();
-          WGETAdiffs[pn] = trackerBefore.getWinGameETA();
-          if (trackerBefore.getWinGameETA() < bestWGETA)
-          {
-            bestWGETA = trackerBefore.getWinGameETA();
-            leaders.removeAllElements();
-            leaders.addElement(trackerBefore);
-          } else if (trackerBefore.getWinGameETA() == bestWGETA) {
-            leaders.addElement(trackerBefore);
-          }
-        }
-        D.ebugPrintlnINFO("^^^^ bestWGETA = "+bestWGETA);
-        if ((brain != null) && (brain.getDRecorder().isOn())) {
-          brain.getDRecorder().resume();
-        }
-        //
-        // place the city
-        //
-        SOCCity tmpCity = new SOCCity(ourPlayerData, posCity.getCoordinates(), null);
-        game.putTempPiece(tmpCity);
-
-        ourTrackerCopy.addOurNewCity(tmpCity);
-
-        SOCPlayerTracker.updateWinGameETAs(trackersCopy);
-
-        float wgetaScore = calcWGETABonusAux(originalWGETAs, trackersCopy, leaders);
-
-        //
-        // remove the city
-        //
-        ourTrackerCopy.undoAddOurNewCity(posCity);
-        game.undoPutTempPiece(tmpCity);
+        float wgetaScore = (cityBonuses != null)
+            ? cityBonuses[cityIdx]
+            : calcCityWGETABonus(posCity, trackersCopy);
+        ++cityIdx;
 
         D.ebugPrintlnINFO("*** ETA for city = "+buildingETAs[SOCBuildingSpeedEstimate.CITY]);
         if ((brain != null) && (brain.getDRecorder().isOn())) {
@@ -1854,6 +1891,8 @@ public class SOCRobotDM
       }
     }
 
+    parallelScorer = null;  // done with its game copies
+
     if (favoriteSettlement != null) {
       D.ebugPrintlnINFO("### FAVORITE SETTLEMENT IS AT "+Integer.toHexString(favoriteSettlement.getCoordinates()));
       D.ebugPrintlnINFO("###   WITH A SCORE OF "+favoriteSettlement.getScore());
@@ -2290,8 +2329,9 @@ public class SOCRobotDM
     if (edge1 == -9)
         return false;  // happens if we've built ships out to fortressNode already
 
+    // use brain's random generator if available, so seeded bots play repeatably
     final int newEdge;
-    if ((edge2 == -9) || (Math.random() < 0.5))
+    if ((edge2 == -9) || ((brain != null) ? brain.rand.nextBoolean() : (Math.random() < 0.5)))
         newEdge = edge1;
     else
         newEdge = edge2;
@@ -2455,6 +2495,7 @@ public class SOCRobotDM
     }
     */
 
+    final List<SOCPossibleSettlement> buildNow = new ArrayList<SOCPossibleSettlement>();
     Iterator<SOCPossibleSettlement> posSetsIter = ourPlayerTracker.getPossibleSettlements().values().iterator();
     while (posSetsIter.hasNext())
     {
@@ -2471,24 +2512,29 @@ public class SOCRobotDM
       // only consider settlements we can build now
       //
       if (posSet.getNecessaryRoads().isEmpty())
-      {
-        D.ebugPrintlnINFO("*** no roads needed");
+        buildNow.add(posSet);
+    }
+
+    final float[] setBonuses = scoreInParallel(buildNow);  // null unless planning in parallel
+    for (int i = 0; i < buildNow.size(); ++i)
+    {
+        final SOCPossibleSettlement posSet = buildNow.get(i);
+        D.ebugPrintlnINFO("*** no roads needed at "+Integer.toHexString(posSet.getCoordinates()));
         //
         //  no roads needed
         //
         //
         //  get wgeta score
         //
-        SOCBoard board = game.getBoard();
-        SOCSettlement tmpSet = new SOCSettlement(ourPlayerData, posSet.getCoordinates(), board);
         if ((brain != null) && (brain.getDRecorder().isOn())) {
           brain.getDRecorder().startRecording("SETTLEMENT"+posSet.getCoordinates());
-          brain.getDRecorder().record("Estimate value of settlement at "+board.nodeCoordToString(posSet.getCoordinates()));
+          brain.getDRecorder().record("Estimate value of settlement at "
+              + game.getBoard().nodeCoordToString(posSet.getCoordinates()));
         }
 
-        SOCPlayerTracker[] trackersCopy = SOCPlayerTracker.tryPutPiece(tmpSet, game, playerTrackers);
-        SOCPlayerTracker.updateWinGameETAs(trackersCopy);
-        float wgetaScore = calcWGETABonus(playerTrackers, trackersCopy);
+        float wgetaScore = (setBonuses != null)
+            ? setBonuses[i]
+            : calcSettlementWGETABonus(posSet.getCoordinates());
         D.ebugPrintlnINFO("***  wgetaScore = "+wgetaScore);
 
         D.ebugPrintlnINFO("*** ETA for settlement = "+settlementETA);
@@ -2507,10 +2553,129 @@ public class SOCRobotDM
           brain.getDRecorder().record("Total settlement score = "+df1.format(etaBonus));
           brain.getDRecorder().stopRecording();
         }
+    }
+  }
+
+  /**
+   * "What-if" part of scoring a possible settlement for {@link #scorePossibleSettlements(int, int)}:
+   * Put a temporary settlement there with {@link SOCPlayerTracker#tryPutPiece(SOCPlayingPiece, SOCGame, SOCPlayerTracker[])},
+   * compare win game ETAs before and after with {@link #calcWGETABonus(SOCPlayerTracker[], SOCPlayerTracker[])},
+   * then remove the settlement.
+   *
+   * @param coord  node coordinate of a possible settlement which doesn't need any roads or ships
+   * @return  the win game ETA bonus, not yet weighted by {@link #getETABonus(int, int, float)}
+   * @since 2.4.50
+   */
+  protected float calcSettlementWGETABonus(final int coord)
+  {
+    SOCSettlement tmpSet = new SOCSettlement(ourPlayerData, coord, game.getBoard());
+    SOCPlayerTracker[] trackersCopy = SOCPlayerTracker.tryPutPiece(tmpSet, game, playerTrackers);
+    SOCPlayerTracker.updateWinGameETAs(trackersCopy);
+    float wgetaScore = calcWGETABonus(playerTrackers, trackersCopy);
+    SOCPlayerTracker.undoTryPutPiece(tmpSet, game);
 
-        SOCPlayerTracker.undoTryPutPiece(tmpSet, game);
+    return wgetaScore;
+  }
+
+  /**
+   * "What-if" part of scoring a possible city for {@link #smartGameStrategy(int[])}:
+   * Put a temporary city there, and compare win game ETAs before and after
+   * with {@link #calcWGETABonusAux(int[], SOCPlayerTracker[], Vector)}, then remove the city.
+   *
+   * @param posCity  possible city to score, from our player tracker
+   * @param trackersCopy  copy of {@link #playerTrackers} to place the city in;
+   *     can be reused for the next possible city
+   * @return  the win game ETA bonus, not yet weighted by {@link #getETABonus(int, int, float)}
+   * @since 2.4.50
+   */
+  protected float calcCityWGETABonus(final SOCPossibleCity posCity, final SOCPlayerTracker[] trackersCopy)
+  {
+    SOCPlayerTracker ourTrackerCopy = trackersCopy[ourPlayerNumber];
+    int originalWGETAs[] = new int[game.maxPlayers];
+    Vector<SOCPlayerTracker> leaders = new Vector<SOCPlayerTracker>();
+    int bestWGETA = 1000;
+
+    if ((brain != null) && (brain.getDRecorder().isOn())) {
+      brain.getDRecorder().suspend();
+    }
+    SOCPlayerTracker.updateWinGameETAs(trackersCopy);
+
+    // TODO refactor? This section is like a copy of calcWGETABonus, with something added in the middle
+
+    for (final SOCPlayerTracker trackerBefore : trackersCopy)
+    {
+      if (trackerBefore == null)
+        continue;
+
+      final int pn = trackerBefore.getPlayer().getPlayerNumber();
+      D.ebugPrintlnINFO("$$$ win game ETA for player " + pn + " = " + trackerBefore.getWinGameETA());
+      originalWGETAs[pn] = trackerBefore.getWinGameETA();
+      if (trackerBefore.getWinGameETA() < bestWGETA)
+      {
+        bestWGETA = trackerBefore.getWinGameETA();
+        leaders.removeAllElements();
+        leaders.addElement(trackerBefore);
+      } else if (trackerBefore.getWinGameETA() == bestWGETA) {
+        leaders.addElement(trackerBefore);
       }
     }
+    D.ebugPrintlnINFO("^^^^ bestWGETA = "+bestWGETA);
+    if ((brain != null) && (brain.getDRecorder().isOn())) {
+      brain.getDRecorder().resume();
+    }
+    //
+    // place the city
+    //
+    SOCCity tmpCity = new SOCCity(ourPlayerData, posCity.getCoordinates(), null);
+    game.putTempPiece(tmpCity);
+
+    ourTrackerCopy.addOurNewCity(tmpCity);
+
+    SOCPlayerTracker.updateWinGameETAs(trackersCopy);
+
+    float wgetaScore = calcWGETABonusAux(originalWGETAs, trackersCopy, leaders);
+
+    //
+    // remove the city
+    //
+    ourTrackerCopy.undoAddOurNewCity(posCity);
+    game.undoPutTempPiece(tmpCity);
+
+    return wgetaScore;
+  }
+
+  /**
+   * If {@link #planningThreads} &gt; 1, calculate these candidates' win game ETA bonuses in parallel
+   * with a {@link SOCRobotDMParallelScorer}, creating it if needed. Candidates are scored serially
+   * instead while our brain's debug recorder is on, since workers don't record.
+   *
+   * @param candidates  pieces our player can build now, from our player tracker
+   * @return  each candidate's win game ETA bonus in the same order as {@code candidates}, or null
+   *     if they should be scored serially: {@link #planningThreads} is 1, fewer than 2 candidates,
+   *     or the scorer failed
+   * @since 2.4.50
+   */
+  private float[] scoreInParallel(final List<? extends SOCPossiblePiece> candidates)
+  {
+    if ((planningThreads < 2) || (candidates.size() < 2) || parallelScorerFailed
+        || ((brain != null) && brain.getDRecorder().isOn()))
+      return null;
+
+    if (parallelScorer == null)
+    {
+      parallelScorer = SOCRobotDMParallelScorer.create(this, planningThreads);
+      if (parallelScorer == null)
+      {
+        parallelScorerFailed = true;
+        return null;
+      }
+    }
+
+    final float[] bonuses = parallelScorer.score(candidates);
+    if (bonuses == null)
+      parallelScorerFailed = true;
+
+    return bonuses;
   }
 
   /**
@@ -2628,6 +2793,25 @@ public class SOCRobotDM
     int ourCurrentWGETA = ourPlayerTracker.getWinGameETA();
     D.ebugPrintlnINFO("ourCurrentWGETA = "+ourCurrentWGETA);
 
+    return addWinGameETABonusForRoad
+        (posRoad, roadETA, leadersCurrentWGETA, calcRoadWGETABonus(posRoad, plTrackers));
+  }
+
+  /**
+   * "What-if" part of {@link #getWinGameETABonusForRoad(SOCPossibleRoad, int, int, SOCPlayerTracker[])}:
+   * Temporarily pay for the road or ship, put it with
+   * {@link SOCPlayerTracker#tryPutPiece(SOCPlayingPiece, SOCGame, SOCPlayerTracker[])},
+   * compare win game ETAs before and after with {@link #calcWGETABonus(SOCPlayerTracker[], SOCPlayerTracker[])},
+   * then remove it and restore our resources.
+   *
+   * @param posRoad  the possible road or ship to score
+   * @param plTrackers  the player trackers
+   * @return  the win game ETA bonus, not yet multiplied by {@link #threatMultiplier} or weighted
+   *     by {@link #getETABonus(int, int, float)}
+   * @since 2.4.50
+   */
+  protected float calcRoadWGETABonus(final SOCPossibleRoad posRoad, final SOCPlayerTracker[] plTrackers)
+  {
     SOCPlayerTracker[] trackersCopy = null;
     SOCRoutePiece tmpRS = null;
     // Building road or ship?  TODO Better ETA calc for coastal road/ship
@@ -2657,6 +2841,30 @@ public class SOCRobotDM
     SOCPlayerTracker.updateWinGameETAs(trackersCopy);
     float score = calcWGETABonus(plTrackers, trackersCopy);
 
+    D.ebugPrintlnINFO("--- after [end] ---");
+    SOCPlayerTracker.undoTryPutPiece(tmpRS, game);
+    ourPlayerData.getResources().clear();
+    ourPlayerData.getResources().add(originalResources);
+    D.ebugPrintlnINFO("--- cleanup done ---");
+
+    return score;
+  }
+
+  /**
+   * Weigh a road or ship's win game ETA bonus and add it to the road's score,
+   * for {@link #getWinGameETABonusForRoad(SOCPossibleRoad, int, int, SOCPlayerTracker[])}.
+   * If the road has any threats, first multiplies the bonus by {@link #threatMultiplier}.
+   *
+   * @param posRoad  the possible piece that we're scoring
+   * @param roadETA  the ETA for a road or ship, from building speed estimates
+   * @param leadersCurrentWGETA  the leaders current WGETA
+   * @param score  win game ETA bonus from {@link #calcRoadWGETABonus(SOCPossibleRoad, SOCPlayerTracker[])}
+   * @return  the weighted bonus added to {@code posRoad}'s score
+   * @since 2.4.50
+   */
+  private float addWinGameETABonusForRoad
+      (final SOCPossibleRoad posRoad, final int roadETA, final int leadersCurrentWGETA, float score)
+  {
     if (! posRoad.getThreats().isEmpty())
     {
       score *= threatMultiplier;
@@ -2674,12 +2882,6 @@ public class SOCRobotDM
       brain.getDRecorder().record("Total road score = "+df1.format(etaBonus));
     }
 
-    D.ebugPrintlnINFO("--- after [end] ---");
-    SOCPlayerTracker.undoTryPutPiece(tmpRS, game);
-    ourPlayerData.getResources().clear();
-    ourPlayerData.getResources().add(originalResources);
-    D.ebugPrintlnINFO("--- cleanup done ---");
-
     return etaBonus;
   }
 
@@ -3252,7 +3454,7 @@ public class SOCRobotDM
    * @return  true if we need <tt>numChoose</tt> resources
    * @since 2.0.00
    */
-  protected boolean chooseFreeResourcesIfNeeded
+  public boolean chooseFreeResourcesIfNeeded
       (SOCResourceSet targetResources, final int numChoose, final boolean chooseIfNotNeeded)
   {
       if (targetResources == null)
@@ -0,0 +1,277 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.robot;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import soc.game.SOCGame;
+import soc.game.SOCGameSnapshot;
+import soc.game.SOCLRPathData;
+import soc.util.SOCRobotParameters;
+
+/**
+ * Scores a {@link SOCRobotDM}'s candidate pieces in parallel during
+ * {@link SOCRobotDM#smartGameStrategy(int[]) smartGameStrategy}, when its
+ * {@link SOCRobotParameters#getPlanningThreads()} &gt; 1.
+ *<P>
+ * Each worker has its own deep copy of the game from a {@link SOCGameSnapshot} taken when the scorer is created,
+ * its own copies of the player trackers, and a worker {@link SOCRobotDM} which runs the same "what-if"
+ * methods the serial planner uses: {@link SOCRobotDM#calcSettlementWGETABonus(int)},
+ * {@link SOCRobotDM#calcRoadWGETABonus(SOCPossibleRoad, SOCPlayerTracker[])} and
+ * {@link SOCRobotDM#calcCityWGETABonus(SOCPossibleCity, SOCPlayerTracker[])}.
+ * Workers take candidates from a shared counter, so they split the batch no matter how long each takes.
+ * Worker DMs are plain {@code SOCRobotDM}s, so a third-party DM subclass which overrides those methods
+ * should leave its planning threads at 1.
+ *<P>
+ * Scores are deterministic: After each candidate a worker restores its game copy's longest-road paths,
+ * so every candidate is scored from the same snapshot state, and the caller applies the returned bonuses
+ * to the candidates in their original order. The number of threads doesn't change which piece is picked.
+ * Serial planning instead scores each candidate from the state left by the previous one,
+ * so its picks can occasionally differ from parallel planning's.
+ *<P>
+ * Workers run on one {@link ForkJoinPool} shared by all robots in this JVM, sized to the number of processors.
+ * A scorer is created when first needed by one {@code smartGameStrategy} call, used only for that call,
+ * and only by the DM's own thread. Its game copies and workers are reused for each batch in that call.
+ *
+ * @since 2.4.50
+ */
+final class SOCRobotDMParallelScorer
+{
+    /** Pool shared by all robots' scorers; created by {@link #getSharedPool()}. */
+    private static ForkJoinPool sharedPool;
+
+    /** DM whose candidates are scored */
+    private final SOCRobotDM dm;
+
+    /** State of {@link #dm}'s game when this scorer was created */
+    private final SOCGameSnapshot snapshot;
+
+    /** Each worker, or null if not yet created; each is used by only one task at a time */
+    private final Worker[] workers;
+
+    private SOCRobotDMParallelScorer(final SOCRobotDM dm, final SOCGameSnapshot snapshot, final int threads)
+    {
+        this.dm = dm;
+        this.snapshot = snapshot;
+        workers = new Worker[threads];
+    }
+
+    /**
+     * Create a scorer for a DM. Takes a snapshot of {@code dm}'s game, so call this while
+     * the game has the state all candidates should be scored from.
+     *
+     * @param dm  DM to score candidates for
+     * @param threads  Maximum number of workers to use, from {@link SOCRobotDM#planningThreads}
+     * @return  A new scorer, or null if the game couldn't be copied; {@code dm} should score serially
+     */
+    static SOCRobotDMParallelScorer create(final SOCRobotDM dm, final int threads)
+    {
+        try
+        {
+            return new SOCRobotDMParallelScorer(dm, new SOCGameSnapshot(dm.game), threads);
+        } catch (IOException e) {
+            System.err.println("SOCRobotDMParallelScorer: can't copy game " + dm.game.getName()
+                + ", will plan serially: " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Get the pool shared by all scorers, creating it if needed.
+     * @return  The shared pool
+     */
+    private static synchronized ForkJoinPool getSharedPool()
+    {
+        if (sharedPool == null)
+            sharedPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+        return sharedPool;
+    }
+
+    /**
+     * Calculate each candidate's win game ETA bonus in parallel, waiting for all workers to finish.
+     * Roads' bonuses don't yet include the threat multiplier; see
+     * {@link SOCRobotDM#calcRoadWGETABonus(SOCPossibleRoad, SOCPlayerTracker[])}.
+     *
+     * @param candidates  Settlements, roads, ships, or cities our player can build now;
+     *     may mix types. Not changed here.
+     * @return  Each candidate's bonus, in the same order as {@code candidates},
+     *     or null if a worker failed; {@link #dm} should score serially
+     */
+    float[] score(final List<? extends SOCPossiblePiece> candidates)
+    {
+        final float[] bonuses = new float[candidates.size()];
+        final AtomicInteger next = new AtomicInteger();
+        final int numWorkers = Math.min(workers.length, candidates.size());
+        final ScoreTask[] tasks = new ScoreTask[numWorkers];
+        for (int wi = 0; wi < numWorkers; ++wi)
+            tasks[wi] = new ScoreTask(wi, candidates, next, bonuses);
+
+        try
+        {
+            getSharedPool().invoke(new RecursiveAction()
+            {
+                private static final long serialVersionUID = 2450L;
+
+                @Override
+                protected void compute()
+                {
+                    invokeAll(tasks);
+                }
+            });
+        } catch (RuntimeException e) {
+            System.err.println("SOCRobotDMParallelScorer: scoring failed in game " + dm.game.getName()
+                + ", will plan serially: " + e);
+            e.printStackTrace();
+            return null;
+        }
+
+        return bonuses;
+    }
+
+    /**
+     * One worker's game copy, trackers, and DM.
+     */
+    private final class Worker
+    {
+        /** Worker DM, planning in {@link #game} */
+        private final SOCRobotDM wdm;
+
+        /** Copy of {@link SOCRobotDMParallelScorer#dm}'s game */
+        private final SOCGame game;
+
+        /** Each player's longest-road paths in the snapshot, to restore after each candidate */
+        private final List<List<SOCLRPathData>> savedLRPaths;
+
+        Worker()
+            throws IOException
+        {
+            game = snapshot.newCopy();
+            final SOCPlayerTracker[] trackers = SOCPlayerTracker.copyPlayerTrackersForGame(dm.playerTrackers, game);
+            wdm = new SOCRobotDM(dm, trackers, game.getPlayer(dm.ourPlayerNumber));
+
+            savedLRPaths = new ArrayList<List<SOCLRPathData>>(game.maxPlayers);
+            for (int pn = 0; pn < game.maxPlayers; ++pn)
+                savedLRPaths.add(new ArrayList<SOCLRPathData>(game.getPlayer(pn).getLRPaths()));
+        }
+
+        /**
+         * Calculate a candidate's win game ETA bonus in this worker's game copy,
+         * then restore the copy's longest-road paths.
+         * @param cand  Candidate from {@link SOCRobotDMParallelScorer#dm}'s trackers
+         * @return  The candidate's bonus
+         */
+        float score(final SOCPossiblePiece cand)
+        {
+            final float bonus;
+            final Integer coord = Integer.valueOf(cand.getCoordinates());
+
+            switch (cand.getType())
+            {
+            case SOCPossiblePiece.SETTLEMENT:
+                bonus = wdm.calcSettlementWGETABonus(cand.getCoordinates());
+                break;
+
+            case SOCPossiblePiece.CITY:
+                {
+                    SOCPossibleCity posCity = wdm.ourPlayerTracker.getPossibleCities().get(coord);
+                    if (posCity == null)
+                        posCity = new SOCPossibleCity((SOCPossibleCity) cand);
+                    final SOCPlayerTracker[] trackersCopy
+                        = SOCPlayerTracker.copyPlayerTrackers(wdm.playerTrackers);
+                    bonus = wdm.calcCityWGETABonus(posCity, trackersCopy);
+                }
+                break;
+
+            case SOCPossiblePiece.SHIP:  // fall through to ROAD
+            case SOCPossiblePiece.ROAD:
+                {
+                    SOCPossibleRoad posRoad = wdm.ourPlayerTracker.getPossibleRoads().get(coord);
+                    if (posRoad == null)
+                        posRoad = (SOCPossibleRoad) cand;  // only its type and coordinate are used
+                    bonus = wdm.calcRoadWGETABonus(posRoad, wdm.playerTrackers);
+                }
+                break;
+
+            default:
+                throw new IllegalArgumentException("piece type " + cand.getType());
+            }
+
+            for (int pn = 0; pn < game.maxPlayers; ++pn)
+                game.getPlayer(pn).setLRPaths(savedLRPaths.get(pn));
+
+            return bonus;
+        }
+    }
+
+    /**
+     * One worker's share of a batch: Score candidates until none are left.
+     */
+    private final class ScoreTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 2450L;
+
+        /** Index within {@link SOCRobotDMParallelScorer#workers} */
+        private final int wi;
+
+        private final List<? extends SOCPossiblePiece> candidates;
+
+        /** Index of the next candidate to score, shared by all tasks in the batch */
+        private final AtomicInteger next;
+
+        private final float[] bonuses;
+
+        ScoreTask
+            (final int wi, final List<? extends SOCPossiblePiece> candidates, final AtomicInteger next,
+             final float[] bonuses)
+        {
+            this.wi = wi;
+            this.candidates = candidates;
+            this.next = next;
+            this.bonuses = bonuses;
+        }
+
+        @Override
+        protected void compute()
+        {
+            Worker w = workers[wi];
+            if (w == null)
+            {
+                try
+                {
+                    w = new Worker();
+                } catch (IOException e) {
+                    throw new IllegalStateException("can't copy game: " + e, e);
+                }
+                workers[wi] = w;
+            }
+
+            final int n = candidates.size();
+            for (int i = next.getAndIncrement(); i < n; i = next.getAndIncrement())
+                bonuses[i] = w.score(candidates.get(i));
+        }
+    }
+
+}
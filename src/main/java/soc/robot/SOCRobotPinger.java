@@ -21,6 +21,9 @@
  **/
 package soc.robot;
 
+import java.util.Timer;
+import java.util.TimerTask;
+
 import soc.message.SOCMessage;
 import soc.message.SOCTimingPing;
 
@@ -31,17 +34,25 @@ import soc.util.CutoffExceededException;
 /**
  * Pings a {@link SOCRobotBrain} to give a sense of time while its game is in progress.
  * Once per second, adds a {@link SOCTimingPing} into the brain's {@link CappedQueue}.
+ *<P>
+ * Before v2.4.50 each pinger was its own thread. Now all pingers in the JVM are
+ * tasks on one shared daemon {@link Timer} thread.
  *
  * @author Robert S Thomas
  */
-/*package*/ class SOCRobotPinger extends Thread
+/*package*/ class SOCRobotPinger extends TimerTask
 {
-    private CappedQueue<SOCMessage> messageQueue;
+    /**
+     * Timer shared by all robot pingers in this JVM; created by {@link #getSharedTimer()}.
+     * @since 2.4.50
+     */
+    private static Timer sharedTimer;
+
+    private volatile CappedQueue<SOCMessage> messageQueue;
     private final SOCTimingPing ping;
-    private volatile boolean alive;
 
     /**
-     * Name of the bot being pinged, for thread naming.
+     * Name of the bot being pinged, for debugging.
      * @since 1.1.00
      */
     private final String robotNickname;
@@ -50,60 +61,89 @@ import soc.util.CutoffExceededException;
      * Create a robot pinger
      *
      * @param q  the robot brain's message queue
-     * @param nickname the robot's nickname, for debug thread naming
+     * @param nickname the robot's nickname, for debugging
      */
     public SOCRobotPinger(CappedQueue<SOCMessage> q, String gameName, String nickname)
     {
-        setDaemon(true);
-
         messageQueue = q;
         ping = new SOCTimingPing(gameName);
-        alive = true;
         robotNickname = nickname;
     }
 
     /**
-     * Once per second queue a {@link SOCTimingPing}, until {@link #stopPinger()} is called.
+     * Get the timer shared by all pingers, creating it if needed.
+     * @return  The shared timer
+     * @since 2.4.50
+     */
+    private static synchronized Timer getSharedTimer()
+    {
+        if (sharedTimer == null)
+            sharedTimer = new Timer("robotPinger", true);  // use daemon thread
+
+        return sharedTimer;
+    }
+
+    /**
+     * Start pinging: Queue a {@link SOCTimingPing} now and once per second after that,
+     * until {@link #stopPinger()} is called. Call only once.
+     *<P>
+     * If {@link #stopPinger()} was already called (brain killed before its thread started running),
+     * does nothing: A cancelled task can't be scheduled.
+     * @return  true if started, false if already stopped
+     * @since 2.4.50
+     */
+    public boolean start()
+    {
+        if (messageQueue == null)
+            return false;
+
+        try
+        {
+            getSharedTimer().schedule(this, 0, 1000);
+        }
+        catch (IllegalStateException e)
+        {
+            // stopPinger was called just now, from another thread
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Queue a {@link SOCTimingPing}. Called once per second by the shared timer.
+     * If the brain's queue is full, stops pinging.
      */
     @Override
     public void run()
     {
-        // Thread name for debug
+        final CappedQueue<SOCMessage> q = messageQueue;
+        if (q == null)
+            return;
+
         try
         {
-            Thread.currentThread().setName("robotPinger-" + robotNickname);
+            q.put(ping);
         }
-        catch (Throwable th) {}
-
-        while (alive)
+        catch (CutoffExceededException exc)
         {
-            try
-            {
-                messageQueue.put(ping);
-            }
-            catch (CutoffExceededException exc)
-            {
-                alive = false;
-            }
-
-            Thread.yield();
-
-            try
-            {
-                sleep(1000);
-            }
-            catch (InterruptedException exc) {}
+            stopPinger();
+        }
+        catch (RuntimeException exc)
+        {
+            // don't let one pinger stop the shared timer
+            System.err.println("robotPinger-" + robotNickname + ": " + exc);
+            stopPinger();
         }
-
-        messageQueue = null;
     }
 
     /**
-     * Stop the pinger thread's {@link #run()} loop by clearing its "alive" flag.
+     * Stop pinging by cancelling this pinger's timer task.
      */
     public void stopPinger()
     {
-        alive = false;
+        cancel();
+        messageQueue = null;
     }
 
 }
@@ -0,0 +1,435 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.robot.sim;
+
+import java.util.List;
+import java.util.Random;
+
+import soc.game.SOCBoard;
+import soc.game.SOCGame;
+import soc.game.SOCGameOption;
+import soc.game.SOCGameOptionSet;
+import soc.game.SOCPlayer;
+import soc.game.SOCPlayingPiece;
+import soc.game.SOCResourceSet;
+import soc.game.SOCRoad;
+import soc.game.SOCSettlement;
+import soc.server.SOCBoardAtServer;
+import soc.util.SOCRobotParameters;
+
+/**
+ * One headless bot-vs-bot game: A server-side {@link SOCGame} with a {@link SimRobotBrain} in every seat,
+ * played to the end in the calling thread by {@link #play(int)} with no network, messages, threads, or sleeps.
+ * The game's actions are validated and applied with the same {@link SOCGame} methods the server uses.
+ *<P>
+ * Given the same options, robot parameters, and seed, a game is always played the same way:
+ * The seed is used for the game's and board's random number generators,
+ * and for each brain's generator.
+ *<P>
+ * Only games on the classic 4- or 6-player board are supported, not the sea board or its scenarios.
+ * Bots don't trade with each other or use the 6-player Special Building Phase.
+ * If a bot's turn goes on for more than {@link #MAX_ACTIONS_PER_TURN} actions,
+ * its turn is ended with {@link SOCGame#forceEndTurn()} like the server would for a stuck bot.
+ *<P>
+ * Not thread-safe; {@link SimRunner} plays many {@code SimGame}s in parallel, one per thread at a time.
+ *
+ * @since 2.4.50
+ */
+public class SimGame
+{
+    /** Default maximum number of turns before a game is stopped without a winner: 500 */
+    public static final int DEFAULT_MAX_TURNS = 500;
+
+    /** Maximum number of actions in one turn before it's forced to end: 100 */
+    public static final int MAX_ACTIONS_PER_TURN = 100;
+
+    /** Prefix for seated bots' player names; player number is appended */
+    public static final String PLAYER_NAME_PREFIX = "bot";
+
+    /** Game number within its batch, for {@link SimGameOutcome} and the game name */
+    private final int gameNumber;
+
+    /** Seed given to the constructor */
+    private final long seed;
+
+    /** The game, shared with all {@link #brains} */
+    private final SOCGame game;
+
+    /** Brain for each player number */
+    private final SimRobotBrain[] brains;
+
+    /** Number of turns ended by {@link SOCGame#forceEndTurn()} */
+    private int forcedEndTurns;
+
+    /**
+     * Create and start a game, seat a new bot in every seat, and do the bots' setup.
+     * Game will be in state {@link SOCGame#START1A}; call {@link #play(int)} to play it.
+     *
+     * @param gameNumber  Game number within its batch
+     * @param optsStr  Game options for {@link #parseOptions(String)}, or null for a classic 4-player game
+     * @param seatParams  Robot parameters for each player number; if shorter than the number of seats,
+     *     seat {@code pn} uses {@code seatParams[pn % seatParams.length]}
+     * @param seed  Seed for the game, board, and brains
+     * @throws IllegalArgumentException if {@code optsStr} can't be parsed or is for a sea board game,
+     *     or {@code seatParams} is null or empty
+     */
+    public SimGame(final int gameNumber, final String optsStr, final SOCRobotParameters[] seatParams, final long seed)
+        throws IllegalArgumentException
+    {
+        if ((seatParams == null) || (seatParams.length == 0))
+            throw new IllegalArgumentException("seatParams");
+
+        final SOCGameOptionSet opts = parseOptions(optsStr);
+        if (! (SOCGame.boardFactory instanceof SOCBoardAtServer.BoardFactoryAtServer))
+            SOCGame.boardFactory = new SOCBoardAtServer.BoardFactoryAtServer();
+
+        this.gameNumber = gameNumber;
+        this.seed = seed;
+        game = new SOCGame("sim-" + gameNumber, opts, SOCGameOptionSet.getAllKnownOptions());
+        game.setRandomSeed(seed);
+        game.getBoard().setRandomSeed(seed);
+        game.isBotsOnly = true;
+        for (int pn = 0; pn < game.maxPlayers; ++pn)
+        {
+            game.addPlayer(PLAYER_NAME_PREFIX + pn, pn);
+            game.getPlayer(pn).setRobotFlag(true, true);
+        }
+        game.startGame();
+
+        final Random brainSeeds = new Random(seed);
+        brains = new SimRobotBrain[game.maxPlayers];
+        for (int pn = 0; pn < game.maxPlayers; ++pn)
+            brains[pn] = new SimRobotBrain
+                (PLAYER_NAME_PREFIX + pn, seatParams[pn % seatParams.length], game, brainSeeds.nextLong());
+    }
+
+    /**
+     * Parse and adjust a game options string such as {@code "PL=6,VP=t12"}, like the server does.
+     * @param optsStr  Options, or null or "" for none
+     * @return  Parsed options, or null if {@code optsStr} is empty
+     * @throws IllegalArgumentException if options can't be parsed or have problems,
+     *     or are for a sea board game which the simulator doesn't support
+     */
+    public static SOCGameOptionSet parseOptions(final String optsStr)
+        throws IllegalArgumentException
+    {
+        if ((optsStr == null) || (optsStr.length() == 0))
+            return null;
+
+        final SOCGameOptionSet knownOpts = SOCGameOptionSet.getAllKnownOptions();
+        final SOCGameOptionSet opts = SOCGameOption.parseOptionsToSet(optsStr, knownOpts);
+        if (opts == null)
+            throw new IllegalArgumentException("Can't parse options: " + optsStr);
+        final StringBuilder probs = opts.adjustOptionsToKnown(knownOpts, true, null);
+        if (probs != null)
+            throw new IllegalArgumentException("Problems with options " + optsStr + ": " + probs);
+        if (opts.isOptionSet("SBL"))
+            throw new IllegalArgumentException("Sea board games aren't supported: " + optsStr);
+
+        return opts;
+    }
+
+    /**
+     * Get this simulation's game.
+     * @return  The game
+     */
+    public SOCGame getGame()
+    {
+        return game;
+    }
+
+    /**
+     * Play the game until it's over or reaches {@code maxTurns}.
+     * @param maxTurns  Maximum number of turns ({@link SOCGame#getTurnCount()}) to play,
+     *     such as {@link #DEFAULT_MAX_TURNS}
+     * @return  The game's outcome; winner is -1 if it reached {@code maxTurns}
+     * @throws IllegalStateException if the game reaches a state the simulator doesn't support
+     */
+    public SimGameOutcome play(final int maxTurns)
+        throws IllegalStateException
+    {
+        final long startNanos = System.nanoTime();
+
+        int turn = -1, cpn = -1, actions = 0;
+        while (game.getGameState() < SOCGame.OVER)
+        {
+            if ((turn != game.getTurnCount()) || (cpn != game.getCurrentPlayerNumber()))
+            {
+                turn = game.getTurnCount();
+                if (turn > maxTurns)
+                    break;
+                cpn = game.getCurrentPlayerNumber();
+                actions = 0;
+                for (final SimRobotBrain br : brains)
+                    br.startTurn();
+            }
+
+            if (++actions > MAX_ACTIONS_PER_TURN)
+            {
+                forceEndTurn();
+                actions = 0;
+            } else {
+                step();
+            }
+        }
+
+        final long durationMicros = (System.nanoTime() - startNanos) / 1000L;
+        final SOCPlayer winner = (game.getGameState() >= SOCGame.OVER) ? game.getPlayerWithWin() : null;
+        final int[] vp = new int[game.maxPlayers];
+        for (int pn = 0; pn < vp.length; ++pn)
+            vp[pn] = game.getPlayer(pn).getTotalVP();
+
+        return new SimGameOutcome
+            (gameNumber, seed, (winner != null) ? winner.getPlayerNumber() : -1, vp,
+             game.getTurnCount(), game.getRoundCount(), durationMicros, forcedEndTurns);
+    }
+
+    /**
+     * Take the next action in the game, for the player or players who must act in the current game state.
+     * @throws IllegalStateException if the game state isn't supported
+     */
+    private void step()
+        throws IllegalStateException
+    {
+        final int gs = game.getGameState();
+        final int cpn = game.getCurrentPlayerNumber();
+        final SimRobotBrain br = brains[cpn];
+        final SOCPlayer pl = game.getPlayer(cpn);
+
+        switch (gs)
+        {
+        case SOCGame.START1A:
+        case SOCGame.START2A:
+        case SOCGame.START3A:
+            {
+                int node = br.planInitSettlement();
+                if ((node == -1) || ! pl.canPlaceSettlement(node))
+                    node = findInitSettlement(pl);
+                putPiece(new SOCSettlement(pl, node, null));
+            }
+            break;
+
+        case SOCGame.START1B:
+        case SOCGame.START2B:
+        case SOCGame.START3B:
+            {
+                int edge = br.planInitRoad();
+                if (! isInitRoadAllowed(pl, edge))
+                    edge = findInitRoad(pl);
+                putPiece(new SOCRoad(pl, edge, null));
+            }
+            break;
+
+        case SOCGame.ROLL_OR_CARD:
+            if (br.shouldPlayKnightBeforeRoll())
+                game.playKnight();
+            else
+                game.rollDice();
+            break;
+
+        case SOCGame.WAITING_FOR_DISCARDS:
+            for (int pn = 0; pn < game.maxPlayers; ++pn)
+            {
+                final SOCPlayer dpl = game.getPlayer(pn);
+                if (! dpl.getNeedToDiscard())
+                    continue;
+
+                final SOCResourceSet discards = brains[pn].planDiscard(dpl.getCountToDiscard());
+                if ((discards != null) && game.canDiscard(pn, discards))
+                    game.discard(pn, discards);
+                else
+                    game.playerDiscardOrGainRandom(pn, true);
+            }
+            break;
+
+        case SOCGame.PLACING_ROBBER:
+            {
+                int hex = br.planRobberHex();
+                if (! game.canMoveRobber(cpn, hex))
+                    hex = findRobberHex(cpn);
+                game.moveRobber(cpn, hex);
+            }
+            break;
+
+        case SOCGame.WAITING_FOR_ROB_CHOOSE_PLAYER:
+            {
+                final boolean[] isVictim = new boolean[game.maxPlayers];
+                final List<SOCPlayer> victims = game.getPossibleVictims();
+                for (final SOCPlayer v : victims)
+                    isVictim[v.getPlayerNumber()] = true;
+
+                int vpn = br.chooseRobberVictim(isVictim);
+                if ((vpn < 0) || ! game.canChoosePlayer(vpn))
+                    vpn = victims.get(0).getPlayerNumber();
+                game.choosePlayerForRobbery(vpn);
+            }
+            break;
+
+        case SOCGame.WAITING_FOR_DISCOVERY:
+            game.doDiscoveryAction(br.getDiscoveryPicks());
+            break;
+
+        case SOCGame.WAITING_FOR_MONOPOLY:
+            game.doMonopolyAction(br.getMonopolyChoice());
+            break;
+
+        case SOCGame.PLAY1:
+            if (! br.doPlay1Action(this))
+                game.endTurn();
+            break;
+
+        case SOCGame.PLACING_FREE_ROAD1:
+        case SOCGame.PLACING_FREE_ROAD2:
+            {
+                final SOCRoad rd = br.planFreeRoad();
+                if (rd != null)
+                    putPiece(rd);
+                else if (gs == SOCGame.PLACING_FREE_ROAD2)
+                    game.cancelBuildRoad(cpn);  // skip the second free road
+                else
+                    game.endTurn();
+            }
+            break;
+
+        case SOCGame.SPECIAL_BUILDING:
+            game.endTurn();
+            break;
+
+        default:
+            throw new IllegalStateException("game " + gameNumber + " seed " + seed + ": unsupported game state " + gs);
+        }
+    }
+
+    /**
+     * Place a piece in the game, and update all brains' player trackers
+     * as the standard brain does when it receives a {@code SOCPutPiece} message.
+     * The piece's player must be allowed to place it now.
+     * @param pp  Piece to place
+     */
+    void putPiece(final SOCPlayingPiece pp)
+    {
+        final int pn = pp.getPlayerNumber(), pieceType = pp.getType(), coord = pp.getCoordinates();
+
+        if ((pieceType == SOCPlayingPiece.ROAD) && game.isInitialPlacement())
+            for (final SimRobotBrain br : brains)
+                br.trackPendingInitSettlement(pn);
+
+        game.putPiece(pp);
+
+        for (final SimRobotBrain br : brains)
+            br.handlePUTPIECE_updateTrackers(pn, coord, pieceType);
+    }
+
+    /**
+     * Force the current player's turn to end after too many actions, and count it in {@link #forcedEndTurns}.
+     */
+    private void forceEndTurn()
+    {
+        ++forcedEndTurns;
+        game.forceEndTurn();
+
+        final int gs = game.getGameState();
+        if ((gs == SOCGame.PLAY1) || (gs == SOCGame.SPECIAL_BUILDING))
+            game.endTurn();
+    }
+
+    /**
+     * Find an initial settlement location when a bot's planned one can't be used:
+     * The player's lowest-coordinate potential settlement.
+     * @param pl  Player placing the settlement
+     * @return  Node coordinate
+     * @throws IllegalStateException if {@code pl} has no potential settlements
+     */
+    private int findInitSettlement(final SOCPlayer pl)
+        throws IllegalStateException
+    {
+        int node = -1;
+        final int[] nodes = pl.getPotentialSettlements_arr();
+        if (nodes != null)
+            for (final int n : nodes)
+                if (((node == -1) || (n < node)) && pl.canPlaceSettlement(n))
+                    node = n;
+        if (node == -1)
+            throw new IllegalStateException
+                ("game " + gameNumber + " seed " + seed + ": no potential settlement for pn " + pl.getPlayerNumber());
+
+        return node;
+    }
+
+    /**
+     * Can this initial road be placed: Is it a potential road next to the player's most recent settlement?
+     * @param pl  Player placing the road
+     * @param edge  Edge coordinate
+     * @return  True if {@code pl} can place an initial road at {@code edge}
+     */
+    private boolean isInitRoadAllowed(final SOCPlayer pl, final int edge)
+    {
+        if (! pl.isPotentialRoad(edge))
+            return false;
+
+        for (final int e : game.getBoard().getAdjacentEdgesToNode_arr(pl.getLastSettlementCoord()))
+            if (e == edge)
+                return true;
+
+        return false;
+    }
+
+    /**
+     * Find an initial road location when a bot's planned one can't be used:
+     * The lowest-coordinate potential road next to the player's most recent settlement.
+     * @param pl  Player placing the road
+     * @return  Edge coordinate
+     * @throws IllegalStateException if there's no such road location
+     */
+    private int findInitRoad(final SOCPlayer pl)
+        throws IllegalStateException
+    {
+        int edge = -1;
+        for (final int e : game.getBoard().getAdjacentEdgesToNode_arr(pl.getLastSettlementCoord()))
+            if ((e != -9) && ((edge == -1) || (e < edge)) && pl.isPotentialRoad(e))
+                edge = e;
+        if (edge == -1)
+            throw new IllegalStateException
+                ("game " + gameNumber + " seed " + seed + ": no potential road for pn " + pl.getPlayerNumber());
+
+        return edge;
+    }
+
+    /**
+     * Find a robber hex when a bot's planned one can't be used: The lowest-coordinate land hex it can move to.
+     * @param pn  Player moving the robber
+     * @return  Hex coordinate
+     * @throws IllegalStateException if there's no such hex
+     */
+    private int findRobberHex(final int pn)
+        throws IllegalStateException
+    {
+        final SOCBoard board = game.getBoard();
+        int hex = -1;
+        for (final int h : board.getLandHexCoords())
+            if (((hex == -1) || (h < hex)) && game.canMoveRobber(pn, h))
+                hex = h;
+        if (hex == -1)
+            throw new IllegalStateException("game " + gameNumber + " seed " + seed + ": no hex for robber");
+
+        return hex;
+    }
+
+}
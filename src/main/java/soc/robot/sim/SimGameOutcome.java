@@ -0,0 +1,128 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.robot.sim;
+
+/**
+ * Outcome record of one {@link SimGame}: Winner, each player's VP, turn and round counts, and duration.
+ * Immutable. {@link #toCSV()} formats it as one line of {@link #csvHeader(int)}'s columns.
+ *
+ * @since 2.4.50
+ */
+public class SimGameOutcome
+{
+    /** Game number within its batch */
+    public final int gameNumber;
+
+    /** Seed the game was played with */
+    public final long seed;
+
+    /** Winner's player number, or -1 if the game stopped at its maximum number of turns */
+    public final int winner;
+
+    /** Each player's total VP at end of game, indexed by player number; don't change its contents */
+    public final int[] vp;
+
+    /** Number of turns played, from {@link soc.game.SOCGame#getTurnCount()} */
+    public final int turns;
+
+    /** Number of rounds played, from {@link soc.game.SOCGame#getRoundCount()} */
+    public final int rounds;
+
+    /** Time taken to play the game, in microseconds; doesn't include setup */
+    public final long durationMicros;
+
+    /** Number of bot turns which had to be forced to end; usually 0 */
+    public final int forcedEndTurns;
+
+    /**
+     * Create an outcome record.
+     * @param gameNumber  Game number within its batch
+     * @param seed  Seed the game was played with
+     * @param winner  Winner's player number, or -1
+     * @param vp  Each player's total VP; not copied
+     * @param turns  Number of turns played
+     * @param rounds  Number of rounds played
+     * @param durationMicros  Time taken to play, in microseconds
+     * @param forcedEndTurns  Number of turns forced to end
+     */
+    public SimGameOutcome
+        (final int gameNumber, final long seed, final int winner, final int[] vp,
+         final int turns, final int rounds, final long durationMicros, final int forcedEndTurns)
+    {
+        this.gameNumber = gameNumber;
+        this.seed = seed;
+        this.winner = winner;
+        this.vp = vp;
+        this.turns = turns;
+        this.rounds = rounds;
+        this.durationMicros = durationMicros;
+        this.forcedEndTurns = forcedEndTurns;
+    }
+
+    /**
+     * Did the game have a winner, or did it stop at its maximum number of turns?
+     * @return  True if {@link #winner} != -1
+     */
+    public boolean hasWinner()
+    {
+        return (winner != -1);
+    }
+
+    /**
+     * Get the CSV header line for {@link #toCSV()}.
+     * @param maxPlayers  Number of seats in the games, for the VP columns
+     * @return  Header line, without a line ending:
+     *     {@code game,seed,winner,turns,rounds,duration_us,forced_end_turns,vp0,vp1,...}
+     */
+    public static String csvHeader(final int maxPlayers)
+    {
+        final StringBuilder sb = new StringBuilder("game,seed,winner,turns,rounds,duration_us,forced_end_turns");
+        for (int pn = 0; pn < maxPlayers; ++pn)
+            sb.append(",vp").append(pn);
+
+        return sb.toString();
+    }
+
+    /**
+     * Format this outcome as a CSV line with the columns of {@link #csvHeader(int)}.
+     * @return  CSV line, without a line ending
+     */
+    public String toCSV()
+    {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(gameNumber).append(',').append(seed).append(',').append(winner)
+          .append(',').append(turns).append(',').append(rounds)
+          .append(',').append(durationMicros).append(',').append(forcedEndTurns);
+        for (final int v : vp)
+            sb.append(',').append(v);
+
+        return sb.toString();
+    }
+
+    /**
+     * Same as {@link #toCSV()}, for debugging.
+     */
+    @Override
+    public String toString()
+    {
+        return "SimGameOutcome[" + toCSV() + "]";
+    }
+
+}
@@ -0,0 +1,381 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.robot.sim;
+
+import soc.baseclient.ServerConnectInfo;
+import soc.game.SOCCity;
+import soc.game.SOCDevCardConstants;
+import soc.game.SOCGame;
+import soc.game.SOCPlayingPiece;
+import soc.game.SOCResourceConstants;
+import soc.game.SOCResourceSet;
+import soc.game.SOCRoad;
+import soc.game.SOCSettlement;
+import soc.game.SOCTradeOffer;
+import soc.message.SOCMessage;
+import soc.robot.SOCPlayerTracker;
+import soc.robot.SOCPossiblePiece;
+import soc.robot.SOCPossibleRoad;
+import soc.robot.SOCPossibleShip;
+import soc.robot.SOCRobotBrain;
+import soc.robot.SOCRobotClient;
+import soc.util.CappedQueue;
+import soc.util.SOCRobotParameters;
+
+/**
+ * Robot brain for {@link SimGame}'s headless simulations: Uses the standard brain's
+ * {@link soc.robot.SOCRobotDM SOCRobotDM}, {@link soc.robot.SOCRobotNegotiator negotiator},
+ * player trackers, and strategy objects to make decisions, but acts directly on the simulator's
+ * game instead of sending requests to a server. The brain's thread is never started,
+ * and it never sleeps or waits for messages.
+ *<P>
+ * All brains in a simulated game share that game's server-side {@link SOCGame},
+ * so each bot sees all players' resources and dev cards instead of
+ * the partial information a networked bot would have.
+ *<P>
+ * Decisions follow the standard brain's message-driven flow in {@link SOCRobotBrain#run()}
+ * and its {@code buildOrGetResourceByTradeOrCard()}, except that bots don't offer trades
+ * to other players or ask for the 6-player Special Building Phase.
+ * Any random choices made by the strategy objects use this brain's seeded {@link #rand}.
+ *
+ * @since 2.4.50
+ */
+public class SimRobotBrain extends SOCRobotBrain
+{
+    /**
+     * Create a brain for a seat in a simulated game, and call {@link #setOurPlayerData()}.
+     * The player named {@code nickname} must already be sitting in {@code ga}.
+     *
+     * @param nickname  Our player's name in {@code ga}
+     * @param params  Robot parameters for this bot
+     * @param ga  Simulated game, shared with the other brains
+     * @param seed  Seed for this brain's random number generator
+     */
+    public SimRobotBrain(final String nickname, final SOCRobotParameters params, final SOCGame ga, final long seed)
+    {
+        super(new SOCRobotClient(new ServerConnectInfo("sim", null), nickname, null),
+              params, ga, new CappedQueue<SOCMessage>());
+        rand.setSeed(seed);
+        setOurPlayerData();
+    }
+
+    /**
+     * At the start of each player's turn, reset our plans and turn fields
+     * like the standard brain does when it receives a {@code SOCTurn} message.
+     */
+    void startTurn()
+    {
+        resetBuildingPlan();
+        negotiator.resetIsSelling();
+        negotiator.resetOffersMade();
+        negotiator.resetTargetPieces();
+
+        if (game.getCurrentPlayerNumber() == ourPlayerNumber)
+        {
+            whatWeWantToBuild = null;
+            whatWeFailedToBuild = null;
+            failedBuildingAttempts = 0;
+            rejectedPlayDevCardType = -1;
+        }
+    }
+
+    /**
+     * Before an initial road is placed, track the initial settlement which goes with it,
+     * like the standard brain does in {@code handlePUTPIECE_updateGameData}.
+     * @param pn  Player number placing the road
+     */
+    void trackPendingInitSettlement(final int pn)
+    {
+        final SOCPlayerTracker tr = playerTrackers[pn];
+        final SOCSettlement se = tr.getPendingInitSettlement();
+        if (se != null)
+            trackNewSettlement(se, false);
+    }
+
+    /**
+     * Plan our next initial settlement with our {@link soc.robot.OpeningBuildStrategy OpeningBuildStrategy}.
+     * @return  Node coordinate of the planned settlement, or -1 if none
+     */
+    int planInitSettlement()
+    {
+        final int node = (game.getGameState() == SOCGame.START1A)
+            ? openingBuildStrategy.planInitialSettlements()
+            : openingBuildStrategy.planSecondSettlement();
+        lastStartingPieceCoord = node;
+
+        return node;
+    }
+
+    /**
+     * Plan the road for our most recent initial settlement.
+     * @return  Edge coordinate of the planned road
+     */
+    int planInitRoad()
+    {
+        final int edge = openingBuildStrategy.planInitRoad();
+        lastStartingPieceCoord = edge;
+
+        return edge;
+    }
+
+    /**
+     * In state {@link SOCGame#ROLL_OR_CARD}, should we play a Knight before rolling?
+     * Same conditions as the standard brain: We have a playable Knight
+     * and the robber is on one of our hexes.
+     * @return  True if we should play a Knight card now
+     */
+    boolean shouldPlayKnightBeforeRoll()
+    {
+        return game.canPlayKnight(ourPlayerNumber)
+            && ourPlayerData.getInventory().hasPlayable(SOCDevCardConstants.KNIGHT)
+            && ! ourPlayerData.getNumbers().hasNoResourcesForHex(game.getBoard().getRobberHex());
+    }
+
+    /**
+     * Choose where to move the robber, using our {@link soc.robot.RobberStrategy RobberStrategy}.
+     * @return  Hex coordinate
+     */
+    int planRobberHex()
+    {
+        return robberStrategy.getBestRobberHex();
+    }
+
+    /**
+     * Choose a player to rob, using our {@link soc.robot.RobberStrategy RobberStrategy}.
+     * @param isVictim  Which player numbers can be robbed
+     * @return  Player number to rob, or -1 if none could be decided
+     */
+    int chooseRobberVictim(final boolean[] isVictim)
+    {
+        return robberStrategy.chooseRobberVictim(isVictim, false);
+    }
+
+    /**
+     * Choose resources to discard, using our {@link soc.robot.DiscardStrategy DiscardStrategy}.
+     * @param numDiscards  Number of resources we must discard
+     * @return  Resources to discard
+     */
+    SOCResourceSet planDiscard(final int numDiscards)
+    {
+        return discardStrategy.discard(numDiscards, buildingPlan);
+    }
+
+    /**
+     * Get the 2 free resources chosen when we decided to play a Discovery card.
+     * @return  Resources to pick; if our decision maker hasn't chosen 2, returns 2 clay
+     *     like the decision maker's own default
+     */
+    SOCResourceSet getDiscoveryPicks()
+    {
+        final SOCResourceSet picks = decisionMaker.getResourceChoices();
+        if ((picks != null) && (picks.getTotal() == 2))
+            return picks;
+
+        final SOCResourceSet clay = new SOCResourceSet();
+        clay.add(2, SOCResourceConstants.CLAY);
+        return clay;
+    }
+
+    /**
+     * Get the resource type chosen when we decided to play a Monopoly card.
+     * @return  Resource type, like {@link SOCResourceConstants#ORE}
+     */
+    int getMonopolyChoice()
+    {
+        return monopolyStrategy.getMonopolyChoice();
+    }
+
+    /**
+     * Take the next action of our turn in state {@link SOCGame#PLAY1}, like the standard brain's
+     * {@code planAndDoActionForPLAY1()}: Maybe play a Knight for Largest Army, plan what to build,
+     * then play a dev card, trade with the bank or a port, or build.
+     * Pieces are placed with {@link SimGame#putPiece(SOCPlayingPiece)}.
+     * Doesn't offer trades to other players.
+     *
+     * @param sim  Simulator which is running our game
+     * @return  True if an action was taken, false if we're done and the turn should end
+     */
+    boolean doPlay1Action(final SimGame sim)
+    {
+        final boolean canPlayDevCard = ! ourPlayerData.hasPlayedDevCard();
+
+        if (canPlayDevCard && game.canPlayKnight(ourPlayerNumber) && decisionMaker.shouldPlayKnightForLA())
+        {
+            game.playKnight();
+            return true;
+        }
+
+        if (buildingPlan.isEmpty() && (ourPlayerData.getResources().getTotal() > 1)
+            && (failedBuildingAttempts < MAX_DENIED_BUILDING_PER_TURN))
+            planBuilding();
+
+        if (buildingPlan.isEmpty())
+            return false;
+
+        final SOCPossiblePiece targetPiece = buildingPlan.getPlannedPiece(0);
+
+        // Road Building card, if the plan starts with 2 roads
+        if (canPlayDevCard && game.canPlayRoadBuilding(ourPlayerNumber)
+            && (targetPiece instanceof SOCPossibleRoad) && ! (targetPiece instanceof SOCPossibleShip)
+            && (buildingPlan.getPlanDepth() > 1))
+        {
+            final SOCPossiblePiece secondPiece = buildingPlan.getPlannedPiece(1);
+            if ((secondPiece instanceof SOCPossibleRoad) && ! (secondPiece instanceof SOCPossibleShip))
+            {
+                whatWeWantToBuild = new SOCRoad(ourPlayerData, targetPiece.getCoordinates(), null);
+                if (! whatWeWantToBuild.equals(whatWeFailedToBuild))
+                {
+                    buildingPlan.advancePlan();
+                    game.playRoadBuilding();
+                    return true;
+                }
+                whatWeWantToBuild = null;
+            }
+        }
+
+        final SOCResourceSet targetResources = targetPiece.getResourcesToBuild();
+        final SOCResourceSet ourResources = ourPlayerData.getResources();
+        negotiator.setTargetPiece(ourPlayerNumber, targetPiece);
+
+        if (canPlayDevCard && game.canPlayDiscovery(ourPlayerNumber)
+            && decisionMaker.chooseFreeResourcesIfNeeded(targetResources, 2, false))
+        {
+            game.playDiscovery();
+            return true;
+        }
+
+        if (canPlayDevCard && game.canPlayMonopoly(ourPlayerNumber) && monopolyStrategy.decidePlayMonopoly())
+        {
+            game.playMonopoly();
+            return true;
+        }
+
+        if ((targetResources != null) && ! ourResources.contains(targetResources))
+        {
+            final SOCTradeOffer bankTrade = negotiator.getOfferToBank(buildingPlan, ourResources);
+            if ((bankTrade != null) && ourResources.contains(bankTrade.getGiveSet())
+                && game.canMakeBankTrade(bankTrade.getGiveSet(), bankTrade.getGetSet()))
+            {
+                game.makeBankTrade(bankTrade.getGiveSet(), bankTrade.getGetSet());
+                return true;
+            }
+
+            return false;  // can't get the resources this turn
+        }
+
+        return buildPlannedPiece(sim);
+    }
+
+    /**
+     * Buy and place our next planned piece, or buy a dev card, like the standard brain's
+     * {@code buildRequestPlannedPiece()}. If the game won't allow it, cancels the plan
+     * as if the server had rejected the request.
+     * Caller has checked that we have the resources.
+     *
+     * @param sim  Simulator which is running our game
+     * @return  True if built, or if the plan was cancelled but we can make another plan this turn
+     */
+    private boolean buildPlannedPiece(final SimGame sim)
+    {
+        final SOCPossiblePiece targetPiece = buildingPlan.advancePlan();
+        final int coord = targetPiece.getCoordinates();
+        lastMove = targetPiece;
+        negotiator.setTargetPiece(ourPlayerNumber, targetPiece);
+
+        SOCPlayingPiece pp = null;
+        boolean canBuild = false;
+        switch (targetPiece.getType())
+        {
+        case SOCPossiblePiece.CARD:
+            if (game.couldBuyDevCard(ourPlayerNumber))
+            {
+                game.buyDevCard();
+                return true;
+            }
+            break;
+
+        case SOCPossiblePiece.ROAD:
+            pp = new SOCRoad(ourPlayerData, coord, null);
+            canBuild = game.couldBuildRoad(ourPlayerNumber) && ourPlayerData.isPotentialRoad(coord);
+            break;
+
+        case SOCPossiblePiece.SETTLEMENT:
+            pp = new SOCSettlement(ourPlayerData, coord, null);
+            canBuild = game.couldBuildSettlement(ourPlayerNumber) && ourPlayerData.canPlaceSettlement(coord);
+            break;
+
+        case SOCPossiblePiece.CITY:
+            pp = new SOCCity(ourPlayerData, coord, null);
+            canBuild = game.couldBuildCity(ourPlayerNumber) && ourPlayerData.isPotentialCity(coord);
+            break;
+
+        default:
+            // ships and special items aren't simulated
+        }
+
+        if (canBuild && ! pp.equals(whatWeFailedToBuild))
+        {
+            switch (pp.getType())
+            {
+            case SOCPlayingPiece.ROAD:
+                game.buyRoad(ourPlayerNumber);  break;
+            case SOCPlayingPiece.SETTLEMENT:
+                game.buySettlement(ourPlayerNumber);  break;
+            default:
+                game.buyCity(ourPlayerNumber);
+            }
+
+            whatWeWantToBuild = pp;
+            sim.putPiece(pp);
+            return true;
+        }
+
+        ++failedBuildingAttempts;
+        whatWeFailedToBuild = pp;
+        cancelWrongPiecePlacementLocal(pp);  // resets buildingPlan
+
+        return (failedBuildingAttempts < MAX_DENIED_BUILDING_PER_TURN);
+    }
+
+    /**
+     * In state {@link SOCGame#PLACING_FREE_ROAD1} or {@link SOCGame#PLACING_FREE_ROAD2},
+     * get the free road to place from our Road Building plan.
+     * @return  Road to place, or null if our plan doesn't have a legal one
+     */
+    SOCRoad planFreeRoad()
+    {
+        SOCPlayingPiece pp = null;
+        if (game.getGameState() == SOCGame.PLACING_FREE_ROAD1)
+        {
+            pp = whatWeWantToBuild;
+        } else if (! buildingPlan.isEmpty()) {
+            final SOCPossiblePiece posPiece = buildingPlan.advancePlan();
+            if (posPiece.getType() == SOCPossiblePiece.ROAD)
+                pp = new SOCRoad(ourPlayerData, posPiece.getCoordinates(), null);
+        }
+
+        whatWeWantToBuild = null;
+        if ((pp instanceof SOCRoad) && ourPlayerData.isPotentialRoad(pp.getCoordinates()))
+            return (SOCRoad) pp;
+
+        return null;
+    }
+
+}
@@ -0,0 +1,244 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.robot.sim;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import soc.game.SOCGameOptionSet;
+import soc.server.SOCServer;
+import soc.util.SOCRobotParameters;
+import soc.util.Version;
+
+/**
+ * Play batches of headless bot-vs-bot {@link SimGame}s in parallel on a {@link ForkJoinPool},
+ * and write their per-game {@link SimGameOutcome} records as CSV. Used for robot parameter tuning:
+ * Give each seat its own {@link SOCRobotParameters} and compare win rates over thousands of games.
+ *<P>
+ * Each game's seed comes from a {@link Random} seeded with the batch's base seed, so a batch
+ * gives the same outcomes (except durations) no matter how many threads play it.
+ *<P>
+ * Command line: {@code java soc.robot.sim.SimRunner numGames [seed [threads [gameopts [out.csv]]]]}
+ *<BR>
+ * Writes outcomes to {@code out.csv} or {@link System#out}, and a summary to {@link System#err}.
+ * All seats use {@link SOCServer#ROBOT_PARAMS_DEFAULT}.
+ *
+ * @since 2.4.50
+ */
+public class SimRunner
+{
+    /** Default seed for a batch's game seeds, if none given: 2450 */
+    public static final long DEFAULT_SEED = 2450L;
+
+    private SimRunner() {}
+
+    /**
+     * Play a batch of games in parallel and wait for them to finish.
+     * If a game fails with an exception, prints its stack trace to {@link System#err}
+     * and leaves its outcome null.
+     *
+     * @param optsStr  Game options for {@link SimGame#parseOptions(String)}, or null for a classic 4-player game
+     * @param seatParams  Robot parameters for each seat; see {@link SimGame#SimGame(int, String, SOCRobotParameters[], long)}
+     * @param baseSeed  Seed for the sequence of game seeds
+     * @param numGames  Number of games to play
+     * @param maxTurns  Maximum number of turns per game, such as {@link SimGame#DEFAULT_MAX_TURNS}
+     * @param pool  Pool to play games on
+     * @return  Each game's outcome, indexed by game number; an element is null if that game failed
+     * @throws IllegalArgumentException if {@code optsStr} or {@code seatParams} isn't valid
+     */
+    public static SimGameOutcome[] runGames
+        (final String optsStr, final SOCRobotParameters[] seatParams, final long baseSeed,
+         final int numGames, final int maxTurns, final ForkJoinPool pool)
+        throws IllegalArgumentException
+    {
+        SimGame.parseOptions(optsStr);  // fail fast here if invalid
+        if ((seatParams == null) || (seatParams.length == 0))
+            throw new IllegalArgumentException("seatParams");
+
+        final long[] seeds = new long[numGames];
+        final Random seedRand = new Random(baseSeed);
+        for (int i = 0; i < numGames; ++i)
+            seeds[i] = seedRand.nextLong();
+
+        final SimGameOutcome[] outcomes = new SimGameOutcome[numGames];
+        pool.invoke(new GamesTask(optsStr, seatParams, seeds, maxTurns, outcomes, 0, numGames));
+
+        return outcomes;
+    }
+
+    /**
+     * Write outcomes as CSV with a header line.
+     * @param outcomes  Outcomes from {@link #runGames(String, SOCRobotParameters[], long, int, int, ForkJoinPool)};
+     *     null elements are skipped
+     * @param maxPlayers  Number of seats in the games
+     * @param out  Writer to write to; not closed here
+     */
+    public static void writeCSV(final SimGameOutcome[] outcomes, final int maxPlayers, final PrintWriter out)
+    {
+        out.println(SimGameOutcome.csvHeader(maxPlayers));
+        for (final SimGameOutcome oc : outcomes)
+            if (oc != null)
+                out.println(oc.toCSV());
+        out.flush();
+    }
+
+    /**
+     * Play one game, or split a range of games in half and play both halves in parallel.
+     */
+    private static class GamesTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 2450L;
+
+        private final String optsStr;
+        private final SOCRobotParameters[] seatParams;
+        private final long[] seeds;
+        private final int maxTurns;
+        private final SimGameOutcome[] outcomes;
+
+        /** Range of game numbers to play: {@code from} inclusive, {@code to} exclusive */
+        private final int from, to;
+
+        GamesTask
+            (final String optsStr, final SOCRobotParameters[] seatParams, final long[] seeds, final int maxTurns,
+             final SimGameOutcome[] outcomes, final int from, final int to)
+        {
+            this.optsStr = optsStr;
+            this.seatParams = seatParams;
+            this.seeds = seeds;
+            this.maxTurns = maxTurns;
+            this.outcomes = outcomes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from > 1)
+            {
+                final int mid = (from + to) >>> 1;
+                invokeAll
+                    (new GamesTask(optsStr, seatParams, seeds, maxTurns, outcomes, from, mid),
+                     new GamesTask(optsStr, seatParams, seeds, maxTurns, outcomes, mid, to));
+                return;
+            }
+
+            for (int gn = from; gn < to; ++gn)
+            {
+                try
+                {
+                    outcomes[gn] = new SimGame(gn, optsStr, seatParams, seeds[gn]).play(maxTurns);
+                }
+                catch (RuntimeException e)
+                {
+                    System.err.println("SimRunner: game " + gn + " seed " + seeds[gn] + " failed: " + e);
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Play a batch of games from the command line; see class javadoc for arguments.
+     * @param args  Command-line arguments
+     */
+    public static void main(String[] args)
+    {
+        if (args.length < 1)
+        {
+            System.err.println("Java Settlers headless bot simulator " + Version.version() +
+                ", build " + Version.buildnum());
+            System.err.println("usage: java soc.robot.sim.SimRunner numGames [seed [threads [gameopts [out.csv]]]]");
+            System.err.println("  gameopts: classic-board options like PL=6,VP=t12, or - for none");
+            return;
+        }
+
+        final int numGames = Integer.parseInt(args[0]);
+        final long seed = (args.length > 1) ? Long.parseLong(args[1]) : DEFAULT_SEED;
+        final int threads = (args.length > 2) ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        final String optsStr = ((args.length > 3) && ! args[3].equals("-")) ? args[3] : null;
+        final String outFile = (args.length > 4) ? args[4] : null;
+
+        final SOCGameOptionSet opts = SimGame.parseOptions(optsStr);
+        final int maxPlayers = ((opts != null) && (opts.getOptionIntValue("PL", 4, false) > 4)) ? 6 : 4;
+
+        final ForkJoinPool pool = new ForkJoinPool(threads);
+        final long startMillis = System.currentTimeMillis();
+        final SimGameOutcome[] outcomes;
+        try
+        {
+            outcomes = runGames
+                (optsStr, new SOCRobotParameters[]{ SOCServer.ROBOT_PARAMS_DEFAULT },
+                 seed, numGames, SimGame.DEFAULT_MAX_TURNS, pool);
+        } finally {
+            pool.shutdown();
+        }
+        final long elapsedMillis = System.currentTimeMillis() - startMillis;
+
+        try
+        {
+            final PrintWriter out = (outFile != null)
+                ? new PrintWriter(new OutputStreamWriter(new FileOutputStream(outFile), "UTF-8"))
+                : new PrintWriter(System.out);
+            writeCSV(outcomes, maxPlayers, out);
+            if (outFile != null)
+                out.close();
+        } catch (IOException e) {
+            System.err.println("SimRunner: Can't write " + outFile + ": " + e);
+        }
+
+        int played = 0, failed = 0, noWinner = 0;
+        final int[] wins = new int[maxPlayers];
+        for (final SimGameOutcome oc : outcomes)
+        {
+            if (oc == null)
+            {
+                ++failed;
+                continue;
+            }
+
+            ++played;
+            if (oc.hasWinner())
+                ++wins[oc.winner];
+            else
+                ++noWinner;
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append("SimRunner: ").append(played).append(" games in ").append(elapsedMillis).append(" ms on ")
+          .append(threads).append(" threads");
+        if (elapsedMillis > 0)
+            sb.append(" (").append((played * 60000L) / elapsedMillis).append(" games/minute)");
+        sb.append("; wins by seat:");
+        for (int pn = 0; pn < maxPlayers; ++pn)
+            sb.append(' ').append(wins[pn]);
+        if (noWinner > 0)
+            sb.append("; no winner: ").append(noWinner);
+        if (failed > 0)
+            sb.append("; failed: ").append(failed);
+        System.err.println(sb);
+    }
+
+}
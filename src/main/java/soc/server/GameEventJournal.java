@@ -0,0 +1,853 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.server;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import soc.message.SOCMessage;
+
+/**
+ * Append-only journal of each game's recorded events, written by {@link SOCServer#recordGameEvent(String, SOCMessage)}
+ * and similar methods when {@link SOCServer#PROP_JSETTLERS_GAMEEVENTS_JOURNAL_DIR} is set.
+ * Each game's events are written to their own files, which can be replayed later by {@link GameEventJournalReplay}.
+ *<P>
+ * <B>File format:</B> Each journal file is a segment of one game's events.
+ * Filenames are from {@link #filenameFor(String, long, int, int)}. Each file starts with a header:
+ *<UL>
+ * <LI> int {@link #FILE_MAGIC}
+ * <LI> short {@link #FORMAT_VERSION}
+ * <LI> long segment start time, from {@link System#currentTimeMillis()}
+ * <LI> int segment number, starting at 0
+ * <LI> short length, then that many bytes of the game name in UTF-8
+ *</UL>
+ * Then each event is a record:
+ *<UL>
+ * <LI> int length of the rest of the record
+ * <LI> int milliseconds since segment start time
+ * <LI> byte audience: {@link #AUDIENCE_ALL}, {@link #AUDIENCE_TO}, or {@link #AUDIENCE_NOT_TO};
+ *      for {@code AUDIENCE_TO} followed by short player number, for {@code AUDIENCE_NOT_TO}
+ *      by byte count and then that many bytes of excluded player numbers
+ * <LI> rest of the record: Event message's {@link SOCMessage#toCmd()} in UTF-8
+ *</UL>
+ * Records are at most {@link #MAX_RECORD_LENGTH} bytes long.
+ * All numbers are big-endian, as written by {@link java.io.DataOutputStream}.
+ * If the server crashes, the last record may be incomplete; {@link Reader} ignores it.
+ *<P>
+ * <B>Writes:</B> Records are encoded into each game's buffer while holding that game's journal lock.
+ * The buffer is written to the file's channel when full, and at least every sync interval by this journal's
+ * thread, which then calls {@link FileChannel#force(boolean)}: One fsync per game per interval
+ * covers all the records written since the previous one, no matter how many there were,
+ * and the threads recording events don't wait for it. A server crash can lose at most
+ * the last interval's records. When a segment reaches the rotation size, the next record starts a new segment;
+ * the old one is synced and closed on this journal's thread.
+ *<P>
+ * A game's journal is started by {@link #gameStarted(String)} when the game is created,
+ * and closed by {@link #gameEnded(String)} when it's destroyed. Events for games without a started journal
+ * are ignored.
+ *<P>
+ * <B>Threads:</B> Safe to call from any thread.
+ *
+ * @see SOCServer#PROP_JSETTLERS_GAMEEVENTS_JOURNAL_DIR
+ * @since 2.4.50
+ */
+public class GameEventJournal
+{
+    /** Magic number at start of each journal file: {@code "JSEV"} in ASCII. */
+    public static final int FILE_MAGIC = 0x4A534556;
+
+    /** Journal file format version written by this class: 1 */
+    public static final short FORMAT_VERSION = 1;
+
+    /** Filename extension for journal files: {@code ".jsevents"} */
+    public static final String FILENAME_EXTENSION = ".jsevents";
+
+    /** Default segment rotation size: 4 MB */
+    public static final int DEFAULT_ROTATE_BYTES = 4 * 1024 * 1024;
+
+    /** Default sync interval: 1000 milliseconds */
+    public static final int DEFAULT_SYNC_MILLIS = 1000;
+
+    /** Record audience: All game members */
+    public static final byte AUDIENCE_ALL = 0;
+
+    /** Record audience: One player number, or a special value like {@link SOCServer#PN_OBSERVER} */
+    public static final byte AUDIENCE_TO = 1;
+
+    /** Record audience: All game members except some players */
+    public static final byte AUDIENCE_NOT_TO = 2;
+
+    /**
+     * Maximum length of a record, not including its length field: 1 MB.
+     * Events longer than this aren't recorded, and {@link Reader} treats longer lengths as malformed.
+     * Network messages are much shorter than this; see
+     * {@link soc.server.genericServer.Connection#MAX_MESSAGE_SIZE_UTF8}.
+     */
+    public static final int MAX_RECORD_LENGTH = 1024 * 1024;
+
+    /**
+     * Maximum number of times {@link GameJournal#nextSegment(long)} will try another filename
+     * for a journal's first segment if a file with that name already exists.
+     */
+    private static final int MAX_FILENAME_COLLISIONS = 1000;
+
+    /** Size of each game's write buffer */
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    /** Directory for journal files */
+    private final File dir;
+
+    /** Segment rotation size in bytes */
+    private final int rotateBytes;
+
+    /** Sync interval in milliseconds */
+    private final int syncMillis;
+
+    /** Each started game's journal. Key is game name. */
+    private final ConcurrentHashMap<String, GameJournal> journals = new ConcurrentHashMap<>();
+
+    /** Periodically syncs all journals; also syncs and closes rotated or ended journals' files */
+    private final ScheduledExecutorService syncer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory()
+    {
+        public Thread newThread(final Runnable r)
+        {
+            final Thread th = new Thread(r, "gameEventJournal");
+            th.setDaemon(true);
+            return th;
+        }
+    });
+
+    /** Counters for {@link #getRecordCount()}, etc */
+    private final AtomicLong recordCount = new AtomicLong(), byteCount = new AtomicLong(),
+        syncCount = new AtomicLong(), segmentCount = new AtomicLong(), failCount = new AtomicLong();
+
+    /**
+     * Create a journal and start its sync thread.
+     * @param dir  Existing directory for journal files
+     * @param rotateBytes  Segment size at which to start a new segment file, such as {@link #DEFAULT_ROTATE_BYTES}
+     * @param syncMillis  Interval between syncs, such as {@link #DEFAULT_SYNC_MILLIS}
+     * @throws IllegalArgumentException if {@code dir} isn't an existing directory,
+     *     {@code rotateBytes} &lt; 1024, or {@code syncMillis} &lt; 1
+     */
+    public GameEventJournal(final File dir, final int rotateBytes, final int syncMillis)
+        throws IllegalArgumentException
+    {
+        if (! dir.isDirectory())
+            throw new IllegalArgumentException("Not found as directory: " + dir.getPath());
+        if (rotateBytes < 1024)
+            throw new IllegalArgumentException("rotateBytes: " + rotateBytes);
+        if (syncMillis < 1)
+            throw new IllegalArgumentException("syncMillis: " + syncMillis);
+
+        this.dir = dir;
+        this.rotateBytes = rotateBytes;
+        this.syncMillis = syncMillis;
+
+        syncer.scheduleWithFixedDelay(new Runnable()
+        {
+            public void run()
+            {
+                for (GameJournal gj : journals.values())
+                    gj.sync();
+            }
+        }, syncMillis, syncMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get the filename for a segment of a game's journal. Game names can contain characters which aren't allowed
+     * in filenames, so those are replaced; a hash of the full name keeps similar names' files separate.
+     * The file header has the game's actual name. Filenames of a game's segments sort in segment order.
+     * Same as {@link #filenameFor(String, long, int, int) filenameFor(gaName, startTime, 0, segment)}.
+     * @param gaName  Game name; not null
+     * @param startTime  Time the game's journal was started, from {@link System#currentTimeMillis()}
+     * @param segment  Segment number, starting at 0
+     * @return  Filename ending with {@link #FILENAME_EXTENSION}
+     */
+    public static String filenameFor(final String gaName, final long startTime, final int segment)
+    {
+        return filenameFor(gaName, startTime, 0, segment);
+    }
+
+    /**
+     * Get the filename for a segment of a game's journal, which may need to differ from an earlier
+     * journal's filename for the same game name and start time (to the second).
+     * See {@link #filenameFor(String, long, int)} for details.
+     * All segments of a journal use the same {@code collision} number.
+     * @param gaName  Game name; not null
+     * @param startTime  Time the game's journal was started, from {@link System#currentTimeMillis()}
+     * @param collision  0 for the usual filename; 1 to add {@code startTime}'s milliseconds,
+     *     or more than 1 to also add this number
+     * @param segment  Segment number, starting at 0
+     * @return  Filename ending with {@link #FILENAME_EXTENSION}
+     */
+    public static String filenameFor(final String gaName, final long startTime, final int collision, final int segment)
+    {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < gaName.length(); ++i)
+        {
+            final char ch = gaName.charAt(i);
+            sb.append((Character.isLetterOrDigit(ch) && (ch < 128)) ? ch : '_');
+        }
+        sb.append('_').append(Integer.toHexString(gaName.hashCode()))
+          .append('_').append(new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date(startTime)));
+        if (collision > 0)
+        {
+            final int ms = (int) (startTime % 1000);
+            sb.append('-').append((ms < 10) ? "00" : (ms < 100) ? "0" : "").append(ms);
+            if (collision > 1)
+                sb.append('-').append(collision);
+        }
+        sb
+          .append((segment < 10) ? ".00" : (segment < 100) ? ".0" : ".").append(segment)
+          .append(FILENAME_EXTENSION);
+
+        return sb.toString();
+    }
+
+    /**
+     * A game has been created: Start its journal, ending any previous journal for a game with that name.
+     * The first segment file is created when the first event is recorded.
+     * @param gaName  Game name; not null
+     */
+    public void gameStarted(final String gaName)
+    {
+        final GameJournal prev = journals.put(gaName, new GameJournal(gaName, System.currentTimeMillis()));
+        if (prev != null)
+            closeLater(prev);
+    }
+
+    /**
+     * A game has been destroyed: Write its buffered records, then sync and close its journal file
+     * on this journal's thread. Does nothing if game's journal wasn't started.
+     * @param gaName  Game name; not null
+     */
+    public void gameEnded(final String gaName)
+    {
+        final GameJournal gj = journals.remove(gaName);
+        if (gj != null)
+            closeLater(gj);
+    }
+
+    /**
+     * Close a game's journal on this journal's thread, or on the caller's thread if shutting down.
+     * @param gj  Journal to close
+     */
+    private void closeLater(final GameJournal gj)
+    {
+        try
+        {
+            syncer.execute(new Runnable()
+            {
+                public void run()
+                {
+                    gj.close();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            gj.close();
+        }
+    }
+
+    /**
+     * Append an event to its game's journal, if started.
+     * Audience fields are the same as in {@link SOCServer#recordGameEventTo(String, int, SOCMessage)}
+     * and {@link SOCServer#recordGameEventNotTo(String, int[], SOCMessage)}.
+     *
+     * @param gaName  Game name; not null
+     * @param toPN  Player number this event was sent to, or -1 for all game members.
+     *     Can be {@link SOCServer#PN_OBSERVER} or {@link SOCServer#PN_REPLY_TO_UNDETERMINED}.
+     *     Ignored if {@code excludedPN} != null.
+     * @param excludedPN  Player numbers excluded from this event's audience, or null
+     * @param event  Event message; not null
+     * @return  True if appended, false if game's journal isn't started or has failed,
+     *     or the record would be longer than {@link #MAX_RECORD_LENGTH}
+     */
+    public boolean append(final String gaName, final int toPN, final int[] excludedPN, final SOCMessage event)
+    {
+        final GameJournal gj = journals.get(gaName);
+        if (gj == null)
+            return false;
+
+        final byte audience;
+        if ((excludedPN != null) && (excludedPN.length > 0))
+            audience = AUDIENCE_NOT_TO;
+        else if ((excludedPN == null) && (toPN != -1))
+            audience = AUDIENCE_TO;
+        else
+            audience = AUDIENCE_ALL;
+
+        return gj.append
+            (System.currentTimeMillis(), audience, toPN, excludedPN, event.toCmd().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Stop the sync thread, then write, sync, and close all journals.
+     * Call during server shutdown.
+     */
+    public void shutdown()
+    {
+        syncer.shutdown();
+        try
+        {
+            if (! syncer.awaitTermination(5, TimeUnit.SECONDS))
+                System.err.println("Game event journal: Timed out waiting to sync");
+        } catch (InterruptedException e) {}
+
+        for (GameJournal gj : journals.values())
+            gj.close();
+        journals.clear();
+    }
+
+    /**
+     * Get the number of event records written so far.
+     * @return  Number of records
+     */
+    public long getRecordCount()
+    {
+        return recordCount.get();
+    }
+
+    /**
+     * Get the total size of event records and file headers written so far.
+     * @return  Total bytes
+     */
+    public long getByteCount()
+    {
+        return byteCount.get();
+    }
+
+    /**
+     * Get the number of file syncs done so far.
+     * @return  Number of {@link FileChannel#force(boolean)} calls
+     */
+    public long getSyncCount()
+    {
+        return syncCount.get();
+    }
+
+    /**
+     * Get the number of segment files created so far.
+     * @return  Number of segment files
+     */
+    public long getSegmentCount()
+    {
+        return segmentCount.get();
+    }
+
+    /**
+     * Get the number of game journals which failed to write, and stopped recording their game's events.
+     * @return  Number of failed game journals
+     */
+    public long getFailCount()
+    {
+        return failCount.get();
+    }
+
+    /**
+     * One game's journal: Its current segment file and write buffer.
+     * Fields are guarded by synchronizing on this object.
+     */
+    private final class GameJournal
+    {
+        private final String gaName;
+
+        /** Time this journal was started, for {@link GameEventJournal#filenameFor(String, long, int, int)} */
+        private final long startTime;
+
+        /**
+         * Collision number for {@link GameEventJournal#filenameFor(String, long, int, int)},
+         * if another journal's files already had this journal's usual filenames; otherwise 0
+         */
+        private int collision;
+
+        /** Current segment number, or -1 if no segment yet */
+        private int segment = -1;
+
+        /** Current segment's start time; record times are relative to this */
+        private long segmentStart;
+
+        /** Current segment's size so far, including buffered records */
+        private long segmentBytes;
+
+        /** Current segment's channel, or null if none yet or closed */
+        private FileChannel channel;
+
+        /** Records not yet written to {@link #channel}; null until first record */
+        private ByteBuffer buf;
+
+        /** True if records have been written to {@link #channel} since its last sync */
+        private boolean needsSync;
+
+        /** True if closed or failed; no more records are appended */
+        private boolean isClosed;
+
+        GameJournal(final String gaName, final long startTime)
+        {
+            this.gaName = gaName;
+            this.startTime = startTime;
+        }
+
+        /**
+         * Append a record, starting a new segment if none yet or current one is full.
+         * @return  True if appended, false if closed or failed, or record too long
+         */
+        synchronized boolean append
+            (final long now, final byte audience, final int toPN, final int[] excludedPN, final byte[] cmd)
+        {
+            if (isClosed)
+                return false;
+
+            final int len = 4 + 1
+                + ((audience == AUDIENCE_TO) ? 2 : (audience == AUDIENCE_NOT_TO) ? 1 + excludedPN.length : 0)
+                + cmd.length;
+            if (len > MAX_RECORD_LENGTH)
+                return false;
+            try
+            {
+                if ((channel == null) || (segmentBytes + 4 + len > rotateBytes) && (segmentBytes > 0))
+                    nextSegment(now);
+
+                if (buf.remaining() < 4 + len)
+                {
+                    writeBuffer();
+                    if (buf.capacity() < 4 + len)
+                        buf = ByteBuffer.allocate(4 + len);
+                }
+
+                buf.putInt(len).putInt((int) (now - segmentStart)).put(audience);
+                if (audience == AUDIENCE_TO)
+                    buf.putShort((short) toPN);
+                else if (audience == AUDIENCE_NOT_TO)
+                {
+                    buf.put((byte) excludedPN.length);
+                    for (int pn : excludedPN)
+                        buf.put((byte) pn);
+                }
+                buf.put(cmd);
+                if (buf.capacity() > BUFFER_SIZE)
+                {
+                    writeBuffer();
+                    buf = ByteBuffer.allocate(BUFFER_SIZE);
+                }
+            } catch (IOException e) {
+                fail(e);
+                return false;
+            }
+
+            segmentBytes += 4 + len;
+            recordCount.incrementAndGet();
+            byteCount.addAndGet(4 + len);
+
+            return true;
+        }
+
+        /**
+         * Start the next segment file: Write its header to the buffer.
+         * The previous segment's buffered records are written, and its file synced and closed later.
+         * Never overwrites an existing file, such as one being closed by an earlier journal for this game name
+         * started in the same second: If the first segment's filename is taken, tries others
+         * by incrementing {@link #collision}.
+         * @throws IOException if the file can't be created, or a later segment's file already exists
+         */
+        private void nextSegment(final long now)
+            throws IOException
+        {
+            if (channel != null)
+            {
+                writeBuffer();
+                final FileChannel prev = channel;
+                channel = null;
+                try
+                {
+                    syncer.execute(new Runnable()
+                    {
+                        public void run()
+                        {
+                            syncAndClose(prev);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    syncAndClose(prev);
+                }
+            }
+
+            ++segment;
+            segmentStart = now;
+            needsSync = false;
+            for (;;)
+            {
+                try
+                {
+                    channel = FileChannel.open
+                        (new File(dir, filenameFor(gaName, startTime, collision, segment)).toPath(),
+                         StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                    break;
+                } catch (FileAlreadyExistsException e) {
+                    if ((segment > 0) || (collision >= MAX_FILENAME_COLLISIONS))
+                        throw e;
+                    ++collision;
+                }
+            }
+            segmentCount.incrementAndGet();
+
+            if (buf == null)
+                buf = ByteBuffer.allocate(BUFFER_SIZE);
+            final byte[] name = gaName.getBytes(StandardCharsets.UTF_8);
+            buf.putInt(FILE_MAGIC).putShort(FORMAT_VERSION).putLong(now).putInt(segment)
+               .putShort((short) name.length).put(name);
+            segmentBytes = buf.position();
+            byteCount.addAndGet(segmentBytes);
+        }
+
+        /** Write all buffered records to the current channel, and clear the buffer. */
+        private void writeBuffer()
+            throws IOException
+        {
+            buf.flip();
+            while (buf.hasRemaining())
+                channel.write(buf);
+            buf.clear();
+            needsSync = true;
+        }
+
+        /**
+         * Write any buffered records, then sync them to disk if needed.
+         * Called periodically from the sync thread. The sync itself is done without holding the lock,
+         * so other threads can keep appending records meanwhile.
+         */
+        void sync()
+        {
+            final FileChannel ch;
+            synchronized (this)
+            {
+                if (isClosed || (channel == null))
+                    return;
+
+                try
+                {
+                    if (buf.position() > 0)
+                        writeBuffer();
+                } catch (IOException e) {
+                    fail(e);
+                    return;
+                }
+                if (! needsSync)
+                    return;
+
+                needsSync = false;
+                ch = channel;
+            }
+
+            try
+            {
+                ch.force(false);
+                syncCount.incrementAndGet();
+            } catch (IOException e) {
+                // ClosedChannelException if rotated or closed meanwhile, which also syncs
+                if (ch.isOpen())
+                    synchronized (this)
+                    {
+                        fail(e);
+                    }
+            }
+        }
+
+        /** Write any buffered records, then sync and close the current segment. */
+        synchronized void close()
+        {
+            if (isClosed)
+                return;
+
+            isClosed = true;
+            if (channel == null)
+                return;
+
+            try
+            {
+                if (buf.position() > 0)
+                    writeBuffer();
+            } catch (IOException e) {
+                System.err.println("Game event journal: Can't write game " + gaName + ": " + e);
+                failCount.incrementAndGet();
+            }
+            syncAndClose(channel);
+            channel = null;
+        }
+
+        /** Stop appending records because of a write error, and close the current segment. Caller holds lock. */
+        private void fail(final IOException e)
+        {
+            if (isClosed)
+                return;
+
+            System.err.println("Game event journal: Can't write game " + gaName + ", will stop recording it: " + e);
+            failCount.incrementAndGet();
+            isClosed = true;
+            if (channel != null)
+            {
+                try
+                {
+                    channel.close();
+                } catch (IOException ce) {}
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * Sync and close a segment's channel.
+     * @param ch  Channel to close; can already be closed
+     */
+    private void syncAndClose(final FileChannel ch)
+    {
+        try
+        {
+            if (ch.isOpen())
+            {
+                ch.force(false);
+                syncCount.incrementAndGet();
+            }
+        } catch (IOException e) {
+            System.err.println("Game event journal: Can't sync: " + e);
+        } finally {
+            try
+            {
+                ch.close();
+            } catch (IOException e) {}
+        }
+    }
+
+    /**
+     * One event record read from a journal file by {@link Reader}.
+     */
+    public static final class Record
+    {
+        /** Time the event was recorded, from {@link System#currentTimeMillis()} */
+        public final long time;
+
+        /** Which player number this event was sent to, or -1 for all; is also -1 if {@link #excludedPN} != null */
+        public final int toPN;
+
+        /** Player numbers specifically excluded from this event's audience, or null */
+        public final int[] excludedPN;
+
+        /** Event message's {@link SOCMessage#toCmd()} */
+        public final String cmd;
+
+        public Record(final long time, final int toPN, final int[] excludedPN, final String cmd)
+        {
+            this.time = time;
+            this.toPN = toPN;
+            this.excludedPN = excludedPN;
+            this.cmd = cmd;
+        }
+
+        /**
+         * Is this event's audience all game members, with no excluded players?
+         * @return  True if sent to all game members
+         */
+        public boolean isToAll()
+        {
+            return (toPN == -1) && (excludedPN == null);
+        }
+
+        /**
+         * Would a game member at this player number, or an observer, have been sent this event?
+         * @param pn  Player number, or {@link SOCServer#PN_OBSERVER} for a non-playing observer
+         * @return  True if {@code pn} is in this event's audience
+         */
+        public boolean isSentTo(final int pn)
+        {
+            if (excludedPN != null)
+            {
+                for (int ex : excludedPN)
+                    if (ex == pn)
+                        return false;
+                return true;
+            }
+
+            return (toPN == -1) || (toPN == pn);
+        }
+
+        /**
+         * Parse this record's event message.
+         * @return  The message, or null if it can't be parsed
+         */
+        public SOCMessage toMessage()
+        {
+            return SOCMessage.toMsg(cmd);
+        }
+    }
+
+    /**
+     * Reads the records from one journal segment file.
+     * If the file ends with an incomplete record, as it may after a server crash,
+     * {@link #next()} returns null there and {@link #isTruncated()} is true.
+     */
+    public static final class Reader
+        implements Closeable
+    {
+        private final DataInputStream in;
+
+        /** Game name from file header */
+        private final String gameName;
+
+        /** Segment start time and number from file header */
+        private final long segmentStart;
+        private final int segment;
+
+        private boolean isTruncated;
+
+        /**
+         * Open a journal file and read its header.
+         * @param f  Journal segment file
+         * @throws IOException if file can't be read, or its header isn't a journal header in a known format
+         */
+        public Reader(final File f)
+            throws IOException
+        {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(f), 64 * 1024));
+            try
+            {
+                if (in.readInt() != FILE_MAGIC)
+                    throw new IOException("Not a game event journal: " + f);
+                final short vers = in.readShort();
+                if (vers != FORMAT_VERSION)
+                    throw new IOException("Unknown journal format version " + vers + ": " + f);
+                segmentStart = in.readLong();
+                segment = in.readInt();
+                final byte[] name = new byte[in.readUnsignedShort()];
+                in.readFully(name);
+                gameName = new String(name, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                in.close();
+                if (e instanceof EOFException)
+                    throw new IOException("Journal header incomplete: " + f);
+                throw e;
+            }
+        }
+
+        /** Get the game name from this file's header. */
+        public String getGameName()
+        {
+            return gameName;
+        }
+
+        /** Get this file's segment number from its header, starting at 0. */
+        public int getSegment()
+        {
+            return segment;
+        }
+
+        /** Get this segment's start time from its header, from {@link System#currentTimeMillis()}. */
+        public long getSegmentStart()
+        {
+            return segmentStart;
+        }
+
+        /**
+         * Was the last record incomplete? Is set when {@link #next()} reaches it.
+         * @return  True if file ended partway through a record
+         */
+        public boolean isTruncated()
+        {
+            return isTruncated;
+        }
+
+        /**
+         * Read the next record.
+         * @return  The next record, or null at end of file or an incomplete last record
+         * @throws IOException if the file can't be read or a record is malformed
+         */
+        public Record next()
+            throws IOException
+        {
+            final int len;
+            try
+            {
+                len = in.readInt();
+            } catch (EOFException e) {
+                return null;
+            }
+            if ((len < 5) || (len > MAX_RECORD_LENGTH))
+                throw new IOException("Malformed record length " + len + " in game " + gameName);
+
+            final byte[] rec = new byte[len];
+            try
+            {
+                in.readFully(rec);
+            } catch (EOFException e) {
+                isTruncated = true;
+                return null;
+            }
+
+            final ByteBuffer bb = ByteBuffer.wrap(rec);
+            final long time = segmentStart + bb.getInt();
+            int toPN = -1;
+            int[] excludedPN = null;
+            final byte audience = bb.get();
+            switch (audience)
+            {
+            case AUDIENCE_ALL:
+                break;
+            case AUDIENCE_TO:
+                toPN = bb.getShort();
+                break;
+            case AUDIENCE_NOT_TO:
+                excludedPN = new int[bb.get()];
+                for (int i = 0; i < excludedPN.length; ++i)
+                    excludedPN[i] = bb.get();
+                break;
+            default:
+                throw new IOException("Malformed record audience " + audience + " in game " + gameName);
+            }
+
+            return new Record
+                (time, toPN, excludedPN,
+                 new String(rec, bb.position(), bb.remaining(), StandardCharsets.UTF_8));
+        }
+
+        public void close()
+            throws IOException
+        {
+            in.close();
+        }
+    }
+
+}
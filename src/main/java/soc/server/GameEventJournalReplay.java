@@ -0,0 +1,319 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import soc.baseclient.SOCDisplaylessPlayerClient;
+import soc.baseclient.ServerConnectInfo;
+import soc.game.SOCGame;
+import soc.game.SOCGameOption;
+import soc.game.SOCGameOptionSet;
+import soc.game.SOCPlayer;
+import soc.message.SOCGameStats;
+import soc.message.SOCJoinGameAuth;
+import soc.message.SOCMessage;
+import soc.message.SOCNewGameWithOptions;
+import soc.util.Version;
+
+/**
+ * Offline replay of {@link GameEventJournal} files: Reads each recorded event and passes it to
+ * {@link SOCDisplaylessPlayerClient#treat(SOCMessage)} at full speed, without a server,
+ * so the client's copy of each game goes through the same states as it did at the server.
+ * Useful for debugging games, and for regression tests of message parsing and client game-state handling.
+ *<P>
+ * Replays events as seen by one game member: By default a non-playing observer, which gets events sent to all
+ * and those excluding some players. Can instead replay as a player, which also gets that player's private events.
+ *<P>
+ * When a client joins a game, the server sends it the game's current state, recorded as events to
+ * {@link SOCServer#PN_OBSERVER} starting with {@link SOCJoinGameAuth}. The first such join is replayed
+ * to create the game; later joins' state is skipped, since this replay client already has that state.
+ *<P>
+ * Usage: {@code java -cp JSettlersServer.jar soc.server.GameEventJournalReplay [-pn N] [-v] file.jsevents ...}
+ *<BR>
+ * Give a game's segment files in segment order, which is also their sorted filename order.
+ * {@code -pn} replays as player number {@code N}; {@code -v} prints each replayed event.
+ * After replaying, prints counts and each game's final state.
+ *
+ * @since 2.4.50
+ */
+public class GameEventJournalReplay
+    extends SOCDisplaylessPlayerClient
+{
+    /** Player number whose view is replayed, or {@link SOCServer#PN_OBSERVER} */
+    private final int viewPN;
+
+    /** If true, print each event as it's replayed */
+    private boolean verbose;
+
+    /** Each game's encoded options from {@link SOCNewGameWithOptions}, if any. Key is game name. */
+    private final Map<String, String> gameOptsStrings = new HashMap<>();
+
+    /** If true, skipping a later join's game state events */
+    private boolean isSkippingJoin;
+
+    /** Counters for {@link #getReplayedCount()}, etc */
+    private int readCount, replayedCount, skippedCount, unparsedCount;
+
+    /**
+     * Create a replay client, which doesn't connect to any server.
+     * @param viewPN  Player number whose view to replay, or {@link SOCServer#PN_OBSERVER}
+     */
+    public GameEventJournalReplay(final int viewPN)
+    {
+        super(new ServerConnectInfo("journalReplay", null), false);
+        this.viewPN = viewPN;
+        nickname = "journalReplay";
+        sVersion = Version.versionNumber();
+    }
+
+    /**
+     * Replay all records from a journal file.
+     * @param in  Reader for the journal file; not closed here
+     * @throws IOException if the file can't be read or is malformed
+     */
+    public void replay(final GameEventJournal.Reader in)
+        throws IOException
+    {
+        for (GameEventJournal.Record rec = in.next(); rec != null; rec = in.next())
+            replay(rec);
+    }
+
+    /**
+     * Replay one record, if it was sent to the member whose view is being replayed.
+     * @param rec  Record to replay
+     * @return  True if replayed, false if skipped or couldn't be parsed
+     */
+    public boolean replay(final GameEventJournal.Record rec)
+    {
+        ++readCount;
+
+        final boolean isJoinState = (rec.toPN == SOCServer.PN_OBSERVER);
+        if (! isJoinState)
+        {
+            isSkippingJoin = false;
+            if (! rec.isSentTo(viewPN))
+            {
+                ++skippedCount;
+                return false;
+            }
+        }
+
+        final SOCMessage msg = rec.toMessage();
+        if (isJoinState && (msg instanceof SOCJoinGameAuth))
+            isSkippingJoin = games.containsKey(((SOCJoinGameAuth) msg).getGame());
+        if (isJoinState && isSkippingJoin)
+        {
+            ++skippedCount;
+            return false;
+        }
+
+        if (msg == null)
+        {
+            ++unparsedCount;
+            System.err.println("Can't parse recorded event: " + rec.cmd);
+            return false;
+        }
+
+        if (verbose)
+            System.out.println(msg);
+        treat(msg);
+        ++replayedCount;
+
+        return true;
+    }
+
+    /**
+     * Remember the game's options for {@link #handleJOINGAMEAUTH(SOCJoinGameAuth, boolean)}.
+     */
+    @Override
+    protected void handleNEWGAMEWITHOPTIONS(final SOCNewGameWithOptions mes)
+    {
+        final String optsStr = mes.getOptionsString();
+        if (optsStr != null)
+            gameOptsStrings.put(mes.getGame(), optsStr);
+    }
+
+    /**
+     * Create the game with its recorded options, if any, and board size.
+     */
+    @Override
+    protected void handleJOINGAMEAUTH(final SOCJoinGameAuth mes, final boolean isPractice)
+    {
+        final String gaName = mes.getGame();
+        final String optsStr = gameOptsStrings.get(gaName);
+        SOCGameOptionSet opts = (optsStr != null) ? SOCGameOption.parseOptionsToSet(optsStr, knownOpts) : null;
+
+        final int bh = mes.getBoardHeight(), bw = mes.getBoardWidth();
+        if ((bh != 0) || (bw != 0))
+        {
+            if (opts == null)
+                opts = new SOCGameOptionSet();
+            SOCGameOption opt = knownOpts.getKnownOption("_BHW", true);
+            opt.setIntValue((bh << 8) | bw);
+            opts.put(opt);
+        }
+
+        final SOCGame ga = new SOCGame(gaName, opts, knownOpts);
+        ga.serverVersion = sVersion;
+        games.put(gaName, ga);
+    }
+
+    /**
+     * At end of game, set each player's revealed final score, like {@code SOCPlayerInterface.updateAtOver}.
+     */
+    @Override
+    protected void handleGAMESTATS(final SOCGameStats mes)
+    {
+        final SOCGame ga = games.get(mes.getGame());
+        if ((ga == null) || (ga.getGameState() != SOCGame.OVER))
+            return;
+
+        final int[] scores = mes.getScores();
+        for (int pn = 0; (pn < scores.length) && (pn < ga.maxPlayers); ++pn)
+            ga.getPlayer(pn).forceFinalVP(scores[pn]);
+    }
+
+    /**
+     * Get a game being replayed.
+     * @param gaName  Game name
+     * @return  The game, or null if none replayed with that name
+     */
+    public SOCGame getGame(final String gaName)
+    {
+        return games.get(gaName);
+    }
+
+    /**
+     * Print the final state of each replayed game: Its state, round, and each seated player's total VP.
+     * If game is over, those are the final scores revealed by the server.
+     */
+    public void printGames()
+    {
+        for (SOCGame ga : games.values())
+        {
+            final StringBuilder sb = new StringBuilder("Game ");
+            sb.append(ga.getName()).append(": state ").append(ga.getGameState())
+              .append(", round ").append(ga.getRoundCount());
+            for (int pn = 0; pn < ga.maxPlayers; ++pn)
+            {
+                if (ga.isSeatVacant(pn))
+                    continue;
+                final SOCPlayer pl = ga.getPlayer(pn);
+                sb.append("; pn ").append(pn).append(' ').append(pl.getName())
+                  .append(" VP ").append(pl.getTotalVP());
+            }
+            System.out.println(sb);
+        }
+    }
+
+    /** Set whether to print each event as it's replayed. */
+    public void setVerbose(final boolean verbose)
+    {
+        this.verbose = verbose;
+    }
+
+    /** Get the number of records read so far. */
+    public int getReadCount()
+    {
+        return readCount;
+    }
+
+    /** Get the number of records replayed so far. */
+    public int getReplayedCount()
+    {
+        return replayedCount;
+    }
+
+    /** Get the number of records skipped so far, because they weren't sent to the member being replayed. */
+    public int getSkippedCount()
+    {
+        return skippedCount;
+    }
+
+    /** Get the number of records which couldn't be parsed so far. */
+    public int getUnparsedCount()
+    {
+        return unparsedCount;
+    }
+
+    /**
+     * Main method to replay journal files; see class javadoc for usage.
+     * @param args  Command-line arguments
+     */
+    public static void main(final String[] args)
+    {
+        int pn = SOCServer.PN_OBSERVER;
+        boolean verbose = false;
+        int ai = 0;
+        try
+        {
+            for (; (ai < args.length) && args[ai].startsWith("-"); ++ai)
+            {
+                if (args[ai].equals("-v"))
+                    verbose = true;
+                else if (args[ai].equals("-pn") && (ai + 1 < args.length))
+                    pn = Integer.parseInt(args[++ai]);
+                else
+                    throw new IllegalArgumentException(args[ai]);
+            }
+        } catch (IllegalArgumentException e) {
+            ai = args.length;
+        }
+        if (ai >= args.length)
+        {
+            System.err.println("Usage: GameEventJournalReplay [-pn N] [-v] file.jsevents ...");
+            System.exit(1);
+        }
+
+        final GameEventJournalReplay cli = new GameEventJournalReplay(pn);
+        cli.setVerbose(verbose);
+        final long startTime = System.nanoTime();
+        for (; ai < args.length; ++ai)
+        {
+            try
+            {
+                final GameEventJournal.Reader in = new GameEventJournal.Reader(new File(args[ai]));
+                try
+                {
+                    cli.replay(in);
+                    if (in.isTruncated())
+                        System.err.println("Warning: Last record incomplete in " + args[ai]);
+                } finally {
+                    in.close();
+                }
+            } catch (IOException e) {
+                System.err.println("Can't replay " + args[ai] + ": " + e);
+                System.exit(1);
+            }
+        }
+        final long elapsedMillis = (System.nanoTime() - startTime) / 1000000L;
+
+        System.out.println
+            ("Read " + cli.getReadCount() + " records in " + elapsedMillis + " ms: "
+             + cli.getReplayedCount() + " replayed, " + cli.getSkippedCount() + " skipped, "
+             + cli.getUnparsedCount() + " unparsed");
+        cli.printGames();
+    }
+
+}
@@ -215,7 +215,7 @@ public abstract class GameHandler
     /**
      * The server's timer thread thinks this game is inactive because of a robot bug.
      * Check the game.  If this is the case, end the current turn, forcing if necessary.
-     * Use a separate thread so the main timer thread isn't tied up; see {@link SOCForceEndTurnThread}.
+     * Use a separate thread so the main timer thread isn't tied up; see {@link SOCForceEndTurnTask}.
      *<P>
      * The server checks {@link SOCGame#lastActionTime} to decide inaction.
      * The game could also seem inactive if we're waiting for another human player to decide something.
@@ -228,8 +228,11 @@ public abstract class GameHandler
      *
      * @param ga  Game to check
      * @param currentTimeMillis  The time when called, from {@link System#currentTimeMillis()}
+     * @return  When to check this game's turn again, from {@link System#currentTimeMillis()},
+     *     or 0 if it needn't be checked until the game's state or current player changes
+     *     (such as when waiting only on a human player). Before v2.4.50 this method returned nothing.
      */
-    public abstract void endTurnIfInactive(final SOCGame ga, final long currentTimeMillis);
+    public abstract long endTurnIfInactive(final SOCGame ga, final long currentTimeMillis);
 
     /**
      * A bot is unresponsive, or a human player has left the game.
@@ -933,7 +933,8 @@ public class SOCBoardAtServer extends SOCBoardLarge
      *<P>
      * This method clears {@link #cachedGetLandHexCoords} to <tt>null</tt>.
      *
-     * @param landHexType  Resource type to place into {@link #hexLayoutLg} for each land hex; will be shuffled.
+     * @param landHexType  Resource type to place into {@link #hexLayoutLg} for each land hex.
+     *                    Not changed: If {@code shuffleLandHexes}, a copy is shuffled.
      *                    Values are {@link #CLAY_HEX}, {@link #DESERT_HEX}, etc.
      *                    There should be no {@link #FOG_HEX} in here; land hexes are hidden by fog later.
      * @param landPath  Coordinates within {@link #hexLayoutLg} (also within {@link #numberLayoutLg}) for each land hex;
@@ -946,7 +947,7 @@ public class SOCBoardAtServer extends SOCBoardLarge
      *                    If only some land hexes have dice numbers, <tt>number[]</tt> can be shorter; each
      *                    <tt>number[i]</tt> will be placed at <tt>landPath[i]</tt> until <tt>i >= number.length</tt>.
      *                    Can be <tt>null</tt> if none of these land hexes have dice numbers.
-     * @param shuffleDiceNumbers  If true, shuffle the dice <tt>number</tt>s before placing along <tt>landPath</tt>.
+     * @param shuffleDiceNumbers  If true, shuffle a copy of the dice <tt>number</tt>s before placing along <tt>landPath</tt>.
      *                 Also only if true, calls
      *                 {@link #makeNewBoard_placeHexes_moveFrequentNumbers(int[], ArrayList, int, String)}
      *                 to make sure 6s, 8s aren't adjacent and gold hexes aren't on 6 or 8.
@@ -1024,7 +1025,8 @@ public class SOCBoardAtServer extends SOCBoardLarge
      *<P>
      * This method clears {@link #cachedGetLandHexCoords} to <tt>null</tt>.
      *
-     * @param landHexType  Resource type to place into {@link #hexLayoutLg} for each land hex; will be shuffled.
+     * @param landHexType  Resource type to place into {@link #hexLayoutLg} for each land hex.
+     *                    Not changed: If {@code shuffleLandHexes}, a copy is shuffled.
      *                    Values are {@link #CLAY_HEX}, {@link #DESERT_HEX}, etc.
      *                    There should be no {@link #FOG_HEX} in here; land hexes are hidden by fog later.
      *                    For the Fog Island (scenario option {@link SOCGameOptionSet#K_SC_FOG _SC_FOG}),
@@ -1042,7 +1044,7 @@ public class SOCBoardAtServer extends SOCBoardLarge
      *                    If only some land hexes have dice numbers, <tt>number[]</tt> can be shorter; each
      *                    <tt>number[i]</tt> will be placed at <tt>landPath[i]</tt> until <tt>i >= number.length</tt>.
      *                    Can be <tt>null</tt> if none of these land hexes have dice numbers.
-     * @param shuffleDiceNumbers  If true, shuffle the dice <tt>number</tt>s before placing along <tt>landPath</tt>.
+     * @param shuffleDiceNumbers  If true, shuffle a copy of the dice <tt>number</tt>s before placing along <tt>landPath</tt>.
      *                    <tt>number[]</tt> must not be <tt>null</tt>.
      * @param shuffleLandHexes    If true, shuffle <tt>landHexType[]</tt> before placing along <tt>landPath</tt>.
      * @param landAreaPathRanges  <tt>landPath[]</tt>'s Land Area Numbers, and the size of each land area.
@@ -1081,7 +1083,7 @@ public class SOCBoardAtServer extends SOCBoardLarge
      * @see #makeNewBoard_placeHexes(int[], int[], boolean, int[], boolean, boolean, int, boolean, boolean, int, SOCGameOption, String, SOCGameOptionSet)
      */
     private final void makeNewBoard_placeHexes
-        (final int[] landHexType, final int[] landPath, final boolean placeRobberDesert,
+        (int[] landHexType, final int[] landPath, final boolean placeRobberDesert,
          int[] number, final boolean shuffleDiceNumbers,
          final boolean shuffleLandHexes, final int[] landAreaPathRanges,
          final boolean addToExistingLA, final boolean nodesAreInfill,
@@ -1126,6 +1128,12 @@ public class SOCBoardAtServer extends SOCBoardLarge
                       + ": total range length " + L + " should be " + landPath.length);
         }
 
+        // Shuffle copies, not the callers' arrays: Those are usually static layout data shared by all boards
+        if (shuffleLandHexes)
+            landHexType = landHexType.clone();
+        if (shuffleDiceNumbers)
+            number = number.clone();
+
         // Shuffle, place, then check layout for clumps:
         int iterRemain = 20;
         do   // will re-do placement until clumpsNotOK is false or iterRemain == 0
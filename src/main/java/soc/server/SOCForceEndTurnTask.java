@@ -31,28 +31,29 @@ import soc.server.genericServer.Connection;
 /**
  * Force this robot's turn to end, by calling
  * {@link GameHandler#endGameTurnOrForce(SOCGame, int, String, Connection, boolean)}.
- * Done in a separate thread in case of deadlocks; see {@link #run()} for more details.
+ * Run on {@link SOCServer#forceEndTurnExecutor}'s threads, not the game timer thread,
+ * in case of deadlocks; see {@link #run()} for more details.
  * Created from {@link SOCGameHandler#endTurnIfInactive(SOCGame, long)}
- * when that's called from {@link SOCGameTimeoutChecker#run()}.
+ * when that's called from {@link SOCServer#checkForExpiredTurn(SOCGame, long)}.
  *<P>
  * Also calls {@link SOCPlayer#addForcedEndTurn()} to track "stubborn" slow/buggy robots.
  *<P>
  * Before 2.0.00, this class was SOCServer.SOCForceEndTurnThread;
  * split out in 2.0.00 to its own top-level class.
+ * Before 2.4.50 it was SOCForceEndTurnThread, a new thread started for each forced end of turn.
  *
  * @author Jeremy D Monin &lt;jeremy@nand.net&gt;
  * @since 1.1.11
  */
-/*package*/ class SOCForceEndTurnThread extends Thread
+/*package*/ class SOCForceEndTurnTask implements Runnable
 {
     private final SOCServer srv;
     private final GameHandler hand;
     private final SOCGame ga;
     private final SOCPlayer pl;
 
-    public SOCForceEndTurnThread(final SOCServer srv, final GameHandler hand, final SOCGame g, final SOCPlayer p)
+    public SOCForceEndTurnTask(final SOCServer srv, final GameHandler hand, final SOCGame g, final SOCPlayer p)
     {
-        setDaemon(true);
         this.srv = srv;
         this.hand = hand;
         ga = g;
@@ -118,4 +119,4 @@ import soc.server.genericServer.Connection;
         hand.endGameTurnOrForce(ga, plNum, rname, rconn, false);
     }
 
-}  // class SOCForceEndTurnThread
+}  // class SOCForceEndTurnTask
@@ -103,6 +103,7 @@ import soc.message.SOCStartGame;
 import soc.message.SOCStatusMessage;
 import soc.message.SOCTurn;
 import soc.server.genericServer.Connection;
+import soc.server.genericServer.EncodedFrame;
 import soc.util.IntPair;
 import soc.util.SOCFeatureSet;
 import soc.util.SOCGameList;
@@ -132,7 +133,7 @@ public class SOCGameHandler extends GameHandler
      *<P>
      * This field was originally in SOCServer, moved in v2.0.00.
      * @see SOCServer#ROBOT_FORCE_ENDTURN_SECONDS
-     * @see SOCServer#checkForExpiredTurns(long)
+     * @see SOCServer#checkForExpiredTurn(SOCGame, long)
      * @since 1.1.11
      */
     public static int ROBOT_FORCE_ENDTURN_TRADEOFFER_SECONDS = 60;
@@ -744,6 +745,8 @@ public class SOCGameHandler extends GameHandler
             srv.messageToGameKeyed
                 (ga, true, true, "action.sbp.turn.to.place", ga.getPlayer(ga.getCurrentPlayerNumber()).getName());
                 // "Special building phase: {0}''s turn to place."
+
+        srv.autosaveGameAtTurnEnd(ga);  // if enabled; snapshot now, written on another thread
     }
 
     /**
@@ -1120,89 +1123,31 @@ public class SOCGameHandler extends GameHandler
         }
 
         /**
-         * Send board layout info.
-         * Optimization: If the game is still forming, client already has data for the empty board.
-         */
-        if ((gameState != SOCGame.NEW)
-            || (cliVers < SOCBoardLayout.VERSION_FOR_OMIT_IF_EMPTY_NEW_GAME))
-        {
-            srv.messageToPlayer(c, gameName, SOCServer.PN_OBSERVER,
-                getBoardLayoutMessage(gameData));
-            //    No need to catch IllegalArgumentException:
-            //    Since game is already started, getBoardLayoutMessage has previously
-            //    been called for the creating player, and the board encoding is OK.
-        }
-
-        for (final SOCPotentialSettlements psMsg : gatherBoardPotentials(gameData, cliVers))
-            srv.messageToPlayer(c, gameName, SOCServer.PN_OBSERVER,
-                psMsg);
-
-        /**
-         * Any other misc data to send if game hasn't started yet:
-         */
-        if (gameState < SOCGame.START1A)
-        {
-            if (gameData.isGameOptionSet(SOCGameOptionSet.K_SC_CLVI))
-                // Board's general supply of cloth:
-                srv.messageToPlayer(c, gameName, SOCServer.PN_OBSERVER,
-                    new SOCPlayerElement
-                        (gameName, -1, SOCPlayerElement.SET,
-                         PEType.SCENARIO_CLOTH_COUNT, ((SOCBoardLarge) (gameData.getBoard())).getCloth()));
-                // Individual villages' cloth counts are sent soon below.
-                // If game has started, will send board's cloth count after per-player info and putpieces.
-        }
-
-        /**
-         * If normal game play has started:
-         * _SC_CLVI: Send updated Cloth counts for any changed villages.
-         * _SC_FTRI: Send any changed Special Edges.
+         * Send board layout info, potential settlements, and current player number.
+         * Reuse the game's snapshot of those messages if still current for this client's version and features.
          */
-        if (gameData.hasSeaBoard && (gameState >= SOCGame.ROLL_OR_CARD))
         {
-            final SOCBoardLarge bl = (SOCBoardLarge) gameData.getBoard();
-
-            // SC_CLVI:
-            final HashMap<Integer, SOCVillage> villages = bl.getVillages();
-            if (villages != null)
-                for (final SOCVillage vi : villages.values())
-                {
-                    final int cl = vi.getCloth();
-                    if (cl != SOCVillage.STARTING_CLOTH)
-                        srv.messageToPlayer(c, gameName, SOCServer.PN_OBSERVER,
-                            new SOCPieceValue
-                                (gameName, SOCPlayingPiece.VILLAGE, vi.getCoordinates(), cl, 0));
-                }
+            final SOCJoinGameSnapshot snap = srv.gameList.getJoinSnapshot(gameName);
+            final String snapKey = SOCJoinGameSnapshot.key(c, (SOCClientData) c.getAppData());
+            final int snapVers = (snap != null) ? snap.getVersion() : 0;  // before gathering, in case game changes
+            List<EncodedFrame> frames = (snap != null) ? snap.get(snapKey, snapVers) : null;
+            if (frames == null)
+            {
+                final List<SOCMessage> msgs = new ArrayList<SOCMessage>();
+                joinGame_gatherBoardState(gameData, cliVers, msgs);
+                frames = (snap != null)
+                    ? snap.put(snapKey, snapVers, msgs)
+                    : SOCJoinGameSnapshot.toFrames(msgs);
+            }
 
-            // SC_FTRI:
-            boolean sendEdgeChanges = bl.hasSpecialEdges();
-            if (! sendEdgeChanges)
+            for (final EncodedFrame fr : frames)
             {
-                // In case they've all been removed already during game play,
-                // check the board for any Special Edge layout part
-                for (String ap : SOCBoardLarge.SPECIAL_EDGE_LAYOUT_PARTS)
-                {
-                    if (bl.getAddedLayoutPart(ap) != null)
-                    {
-                        sendEdgeChanges = true;
-                        break;
-                    }
-                }
+                srv.recordGameEventTo(gameName, SOCServer.PN_OBSERVER, fr.getMessage());
+                c.put(fr);
             }
-            if (sendEdgeChanges)
-                joinGame_sendBoardSpecialEdgeChanges(gameData, bl, c);
+            SOCJoinGameSnapshot.countSent(frames);
         }
 
-        /**
-         * Send the current player number.
-         * Before v2.0.00, this wasn't sent so early; was sent
-         * just before SOCGameState and the "joined the game" text.
-         * This earlier send has been tested against 1.1.07 (released 2009-10-31).
-         */
-        srv.messageToPlayer(c, gameName, SOCServer.PN_OBSERVER,
-            ((cliVers >= SOCGameElements.MIN_VERSION)
-             ? new SOCGameElements(gameName, GEType.CURRENT_PLAYER, gameData.getCurrentPlayerNumber())
-             : new SOCSetTurn(gameName, gameData.getCurrentPlayerNumber())));
-
         /**
          * Send the game's Special Item info, if any, if game has started:
          */
@@ -1604,14 +1549,11 @@ public class SOCGameHandler extends GameHandler
         srv.gameList.takeMonitorForGame(gameName);
         try
         {
-            final List<Connection> gameMembers = srv.gameList.getMembers(gameName);
-            synchronized(gameMembers)
-            {
-                final int n = gameMembers.size();
-                memberNames = new ArrayList<String>(n);
-                for (int i = 0; i < n; ++i)
-                    memberNames.add(gameMembers.get(i).getData());
-            }
+            final List<Connection> gameMembers = srv.gameList.getMembers(gameName);  // snapshot, no need to sync
+            final int n = gameMembers.size();
+            memberNames = new ArrayList<String>(n);
+            for (int i = 0; i < n; ++i)
+                memberNames.add(gameMembers.get(i).getData());
         }
         catch (Exception e)
         {
@@ -1686,7 +1628,7 @@ public class SOCGameHandler extends GameHandler
         {
             // Some boards may have multiple land areas.
             // See also below, and startGame which has very similar code.
-            final HashSet<Integer> psSet;
+            final Set<Integer> psSet;
             final HashSet<Integer>[] lan;
             final int pan;
             if (gameData.hasSeaBoard)
@@ -1760,21 +1702,124 @@ public class SOCGameHandler extends GameHandler
         return ret;
     }
 
+    /**
+     * Gather the board state messages for a client joining this game: Board layout, players' potential settlements,
+     * scenario-specific board info such as village cloth counts and changed special edges,
+     * and the current player number. None of these depend on the client except its version.
+     * Messages are in the order they should be sent.
+     *<P>
+     * Called from {@link #joinGame(SOCGame, Connection, boolean, boolean, boolean)}
+     * when the game's {@link SOCJoinGameSnapshot} doesn't have a current copy of them.
+     * Before v2.4.50 this code was part of {@code joinGame}.
+     *
+     * @param gameData  Game being joined
+     * @param cliVers  Joining client's version
+     * @param msgs  List to add the messages to
+     * @since 2.4.50
+     */
+    private void joinGame_gatherBoardState
+        (final SOCGame gameData, final int cliVers, final List<SOCMessage> msgs)
+    {
+        final String gameName = gameData.getName();
+        final int gameState = gameData.getGameState();
+
+        /**
+         * Board layout info.
+         * Optimization: If the game is still forming, client already has data for the empty board.
+         */
+        if ((gameState != SOCGame.NEW)
+            || (cliVers < SOCBoardLayout.VERSION_FOR_OMIT_IF_EMPTY_NEW_GAME))
+        {
+            msgs.add(getBoardLayoutMessage(gameData));
+            //    No need to catch IllegalArgumentException:
+            //    Since game is already started, getBoardLayoutMessage has previously
+            //    been called for the creating player, and the board encoding is OK.
+        }
+
+        for (final SOCPotentialSettlements psMsg : gatherBoardPotentials(gameData, cliVers))
+            msgs.add(psMsg);
+
+        /**
+         * Any other misc data to send if game hasn't started yet:
+         */
+        if (gameState < SOCGame.START1A)
+        {
+            if (gameData.isGameOptionSet(SOCGameOptionSet.K_SC_CLVI))
+                // Board's general supply of cloth:
+                msgs.add(new SOCPlayerElement
+                    (gameName, -1, SOCPlayerElement.SET,
+                     PEType.SCENARIO_CLOTH_COUNT, ((SOCBoardLarge) (gameData.getBoard())).getCloth()));
+                // Individual villages' cloth counts are sent soon below.
+                // If game has started, will send board's cloth count after per-player info and putpieces.
+        }
+
+        /**
+         * If normal game play has started:
+         * _SC_CLVI: Updated Cloth counts for any changed villages.
+         * _SC_FTRI: Any changed Special Edges.
+         */
+        if (gameData.hasSeaBoard && (gameState >= SOCGame.ROLL_OR_CARD))
+        {
+            final SOCBoardLarge bl = (SOCBoardLarge) gameData.getBoard();
+
+            // SC_CLVI:
+            final HashMap<Integer, SOCVillage> villages = bl.getVillages();
+            if (villages != null)
+                for (final SOCVillage vi : villages.values())
+                {
+                    final int cl = vi.getCloth();
+                    if (cl != SOCVillage.STARTING_CLOTH)
+                        msgs.add(new SOCPieceValue
+                            (gameName, SOCPlayingPiece.VILLAGE, vi.getCoordinates(), cl, 0));
+                }
+
+            // SC_FTRI:
+            boolean sendEdgeChanges = bl.hasSpecialEdges();
+            if (! sendEdgeChanges)
+            {
+                // In case they've all been removed already during game play,
+                // check the board for any Special Edge layout part
+                for (String ap : SOCBoardLarge.SPECIAL_EDGE_LAYOUT_PARTS)
+                {
+                    if (bl.getAddedLayoutPart(ap) != null)
+                    {
+                        sendEdgeChanges = true;
+                        break;
+                    }
+                }
+            }
+            if (sendEdgeChanges)
+                joinGame_gatherBoardSpecialEdgeChanges(gameData, bl, msgs);
+        }
+
+        /**
+         * The current player number.
+         * Before v2.0.00, this wasn't sent so early; was sent
+         * just before SOCGameState and the "joined the game" text.
+         * This earlier send has been tested against 1.1.07 (released 2009-10-31).
+         */
+        msgs.add
+            ((cliVers >= SOCGameElements.MIN_VERSION)
+             ? new SOCGameElements(gameName, GEType.CURRENT_PLAYER, gameData.getCurrentPlayerNumber())
+             : new SOCSetTurn(gameName, gameData.getCurrentPlayerNumber()));
+    }
+
     /**
      * Client is joining this game, which uses {@link SOCBoardLarge} with {@link SOCBoardLarge#hasSpecialEdges()};
-     * send any changes to special edges from the starting board layout.
+     * gather any changes to special edges from the starting board layout.
      *<P>
      * Compares the current {@link SOCBoardLarge#getSpecialEdges()} against each
      * {@link SOCBoardLarge#getAddedLayoutPart(String)} which defines special edges
      * (currently {@code "CE"}, {@code "VE"}).
      *<P>
      * Called as part of {@link #joinGame(SOCGame, Connection, boolean, boolean, boolean)}.
+     * Before v2.4.50 this method was {@code joinGame_sendBoardSpecialEdgeChanges} and sent to the client.
      * @param game   Game being joined
      * @param board  Game's board layout
-     * @param c      Client joining
+     * @param msgs   List to add the messages to
      */
-    private final void joinGame_sendBoardSpecialEdgeChanges
-        (final SOCGame game, final SOCBoardLarge board, final Connection c)
+    private final void joinGame_gatherBoardSpecialEdgeChanges
+        (final SOCGame game, final SOCBoardLarge board, final List<SOCMessage> msgs)
     {
         final String gaName = game.getName();
 
@@ -1800,9 +1845,7 @@ public class SOCGameHandler extends GameHandler
 
                 if (seType != edgeSEType)
                     // removed (type 0) or changed type
-                    srv.messageToPlayer
-                        (c, gaName, SOCServer.PN_OBSERVER,
-                         new SOCSimpleAction(gaName, -1, SOCSimpleAction.BOARD_EDGE_SET_SPECIAL, edge, seType));
+                    msgs.add(new SOCSimpleAction(gaName, -1, SOCSimpleAction.BOARD_EDGE_SET_SPECIAL, edge, seType));
             }
         }
 
@@ -1840,9 +1883,7 @@ public class SOCGameHandler extends GameHandler
 
             if (! found)
                 // added since start of game
-                srv.messageToPlayer
-                    (c, gaName, SOCServer.PN_OBSERVER,
-                     new SOCSimpleAction(gaName, -1, SOCSimpleAction.BOARD_EDGE_SET_SPECIAL, edge, seType));
+                msgs.add(new SOCSimpleAction(gaName, -1, SOCSimpleAction.BOARD_EDGE_SET_SPECIAL, edge, seType));
         }
     }
 
@@ -2101,12 +2142,8 @@ public class SOCGameHandler extends GameHandler
          */
         if ( (! gameHasHumanPlayer) && ! srv.gameList.isGameEmpty(gm))
         {
-            Enumeration<Connection> membersEnum = srv.gameList.getMembers(gm).elements();
-
-            while (membersEnum.hasMoreElements())
+            for (Connection member : srv.gameList.getMembers(gm))
             {
-                Connection member = membersEnum.nextElement();
-
                 //D.ebugPrintln("*** "+member.data+" is a member of "+gm);
                 boolean nameMatch = false;
 
@@ -2408,6 +2445,8 @@ public class SOCGameHandler extends GameHandler
         final String gname = ga.getName();
         boolean wantRollPrompt = false;
 
+        srv.armTurnCheck(ga);  // state or current player has changed
+
         if (gaState == SOCGame.OVER)
         {
             /**
@@ -2692,6 +2731,7 @@ public class SOCGameHandler extends GameHandler
      *<P>
      *  Increments server stats' numberOfGamesFinished.
      *  If db is active, calls {@link SOCServer#storeGameScores(SOCGame)} to save game stats.
+     *  If autosave is active, deletes the game's autosave.
      *<P>
      *  If {@link SOCGame#isBotsOnly}, calls {@link SOCServer#destroyGameAndBroadcast(String, String)} to make room
      *  for more games to run: The bots don't know on their own to leave, it's easier for the
@@ -2895,6 +2935,7 @@ public class SOCGameHandler extends GameHandler
 
         srv.gameOverIncrGamesFinishedCount(ga);
         srv.storeGameScores(ga);
+        srv.autosaveGameOver(gname);  // if enabled; game is over, so won't be resumed
 
         if (ga.isBotsOnly && hasOnlyBotPlayers && DESTROY_BOT_ONLY_GAMES_WHEN_OVER)
             srv.destroyGameAndBroadcast(gname, "sendGameStateOVER");
@@ -3497,7 +3538,7 @@ public class SOCGameHandler extends GameHandler
 
         final String gaName = ga.getName();
 
-        srv.numberOfGamesStarted++;  // TODO once multiple handler threads, encapsulate this
+        srv.gameStartedIncrCount();
 
         /**
          * start the game, place any initial pieces.
@@ -4040,7 +4081,7 @@ public class SOCGameHandler extends GameHandler
     }
 
     // javadoc inherited from GameHandler
-    public void endTurnIfInactive(final SOCGame ga, final long currentTimeMillis)
+    public long endTurnIfInactive(final SOCGame ga, final long currentTimeMillis)
     {
         final int gameState = ga.getGameState();
         final boolean isDiscardOrPickRsrc = (gameState == SOCGame.WAITING_FOR_DISCARDS)
@@ -4065,17 +4106,17 @@ public class SOCGameHandler extends GameHandler
                     if (plEnd == null)
                         plEnd = pli;
                 } else {
-                    return;  // <--- Waiting on humans, don't end bot's turn ---
+                    return 0;  // <--- Waiting on humans, don't end bot's turn ---
                 }
             }
 
             if (plEnd == null)
-                return;  // <--- Not waiting on any bot ---
+                return 0;  // <--- Not waiting on any bot ---
 
             pl = plEnd;
         } else {
             if (! pl.isRobot())
-                return;  // <--- not a robot's turn, and not isDiscardOrPickRsrc ---
+                return 0;  // <--- not a robot's turn, and not isDiscardOrPickRsrc ---
         }
 
         final SOCTradeOffer plCurrentOffer = pl.getCurrentOffer();
@@ -4094,14 +4135,16 @@ public class SOCGameHandler extends GameHandler
             // If waiting for any humans' response, check against that longer timeout
             if (waitingForHuman)
             {
-                final long tradeInactiveTime
-                    = currentTimeMillis - (1000L * ROBOT_FORCE_ENDTURN_TRADEOFFER_SECONDS);
-                if (ga.lastActionTime > tradeInactiveTime)
-                    return;  // <--- Wait longer for humans ---
+                final long tradeDeadline = ga.lastActionTime + (1000L * ROBOT_FORCE_ENDTURN_TRADEOFFER_SECONDS);
+                if (tradeDeadline > currentTimeMillis)
+                    return tradeDeadline;  // <--- Wait longer for humans ---
             }
         }
 
-        new SOCForceEndTurnThread(srv, this, ga, pl).start();
+        srv.forceEndTurnExecutor.execute(new SOCForceEndTurnTask(srv, this, ga, pl));
+
+        // Ending the turn will reschedule the check; check again soon in case the task couldn't end it
+        return currentTimeMillis + SOCServer.ROBOT_FORCE_ENDTURN_STUBBORN_SECONDS * 1100L;
     }
 
     // javadoc inherited from GameHandler
@@ -23,11 +23,12 @@ package soc.server;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Random;
-import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -38,6 +39,7 @@ import soc.game.SOCGameOptionSet;
 import soc.message.SOCDeleteGame;
 import soc.message.SOCGames;
 import soc.message.SOCGamesWithOptions;
+import soc.message.SOCMessage;
 import soc.message.SOCNewGame;
 import soc.message.SOCNewGameWithOptions;
 import soc.server.genericServer.Connection;
@@ -53,6 +55,10 @@ import soc.util.Version;
  * {@link SOCGame} object, member client {@link Connection}s, and
  * {@link SOCChatRecentBuffer}.
  *<P>
+ * Each game's member list is an immutable snapshot, replaced (copy-on-write) whenever
+ * a member joins or leaves. Broadcasts can iterate {@link #getMembers(String)} without
+ * any lock and without risk of {@code ConcurrentModificationException}; see that method for details.
+ *<P>
  * In 1.1.07, parent class SOCGameList was refactored, with
  * some methods moved to this new subclass, such as
  * {@link #createGame(String, String, String, SOCGameOptionSet, GameHandler) createGame}.
@@ -73,7 +79,7 @@ public class SOCGameListAtServer extends SOCGameList
      *
      * @see #createGame(String, String, String, SOCGameOptionSet, GameHandler)
      * @see SOCGame#setExpiration(long)
-     * @see SOCServer#checkForExpiredGames(long)
+     * @see SOCServer#checkForExpiredGame(SOCGame, long)
      * @since 1.1.00
      */
     public static int GAME_TIME_EXPIRE_MINUTES = 120;
@@ -86,8 +92,17 @@ public class SOCGameListAtServer extends SOCGameList
      */
     private final Hashtable<String, SOCGame> gameData;
 
-    /** synchronized map of game names to Vector of game members ({@link Connection}s) */
-    protected final Hashtable<String, Vector<Connection>> gameMembers;
+    /**
+     * Map of game names to each game's current members ({@link Connection}s).
+     * Each value is an unmodifiable snapshot which is never changed after it's published here:
+     * {@link #addMember(Connection, String)}, {@link #removeMember(Connection, String)}, etc
+     * build a new list and replace the old one. Readers don't need to lock.
+     * Updates are made only while synchronized on this {@code SOCGameListAtServer}.
+     *<P>
+     * Before v2.4.50 this was a {@code Hashtable} of {@code Vector}s which were updated in place.
+     * @see #setMembers(String, List)
+     */
+    protected final ConcurrentHashMap<String, List<Connection>> gameMembers;
 
     /**
      * Each game's buffer of recent chat text.
@@ -95,6 +110,13 @@ public class SOCGameListAtServer extends SOCGameList
      */
     protected final Hashtable<String, SOCChatRecentBuffer> gameChatBuffer;
 
+    /**
+     * Each game's cached board state messages for joining clients.
+     * @see #getJoinSnapshot(String)
+     * @since 2.4.50
+     */
+    private final ConcurrentHashMap<String, SOCJoinGameSnapshot> gameJoinSnapshots;
+
     /**
      * Server's random number generator, for occasional use by
      * methods like {@link #randomAlphanumericLegibles(int)}.
@@ -123,8 +145,9 @@ public class SOCGameListAtServer extends SOCGameList
             SOCGame.boardFactory = new SOCBoardAtServer.BoardFactoryAtServer();
 
         gameData = new Hashtable<String, SOCGame>();
-        gameMembers = new Hashtable<String, Vector<Connection>>();
+        gameMembers = new ConcurrentHashMap<String, List<Connection>>();
         gameChatBuffer = new Hashtable<String, SOCChatRecentBuffer>();
+        gameJoinSnapshots = new ConcurrentHashMap<String, SOCJoinGameSnapshot>();
     }
 
     /**
@@ -132,10 +155,10 @@ public class SOCGameListAtServer extends SOCGameList
      * @param   gaName  the name of the game
      * @return true if the game exists and has an empty member list
      */
-    public synchronized boolean isGameEmpty(String gaName)
+    public boolean isGameEmpty(String gaName)
     {
         boolean result;
-        Vector<Connection> members;
+        List<Connection> members;
 
         members = gameMembers.get(gaName);
 
@@ -224,15 +247,81 @@ public class SOCGameListAtServer extends SOCGameList
     }
 
     /**
-     * get a game's members (client connections)
+     * get a game's members (client connections).
+     *<P>
+     * The returned list is an unmodifiable snapshot of the game's members at the time of the call.
+     * It won't change when members later join or leave, so callers can iterate it without locking
+     * and without taking {@link #takeMonitorForGame(String)}. Call this method again for the current members.
+     *<P>
+     * Before v2.4.50 this returned the game's live {@code Vector}, which callers could change
+     * and which had to be iterated while holding the game's monitor.
+     *
      * @param   gaName  game name; not null
-     * @return  list of members: a Vector of {@link Connection}s
+     * @return  list of members, or {@code null} if game not found
      */
-    public synchronized Vector<Connection> getMembers(String gaName)
+    public List<Connection> getMembers(String gaName)
     {
         return gameMembers.get(gaName);
     }
 
+    /**
+     * Get a game's cached board state messages for joining clients.
+     * @param gaName  game name; not null
+     * @return  The game's snapshot, or {@code null} if game not found
+     * @see #invalidateJoinSnapshot(String)
+     * @since 2.4.50
+     */
+    public SOCJoinGameSnapshot getJoinSnapshot(final String gaName)
+    {
+        return gameJoinSnapshots.get(gaName);
+    }
+
+    /**
+     * Mark a game's cached board state messages for joining clients as out of date,
+     * because the game has changed. Called when a message is broadcast to the game's members.
+     * Does nothing if game not found.
+     * @param gaName  game name; not null
+     * @see #getJoinSnapshot(String)
+     * @since 2.4.50
+     */
+    public void invalidateJoinSnapshot(final String gaName)
+    {
+        final SOCJoinGameSnapshot snap = gameJoinSnapshots.get(gaName);
+        if (snap != null)
+            snap.invalidate();
+    }
+
+    /**
+     * Mark a game's cached board state messages for joining clients as out of date
+     * if a message being broadcast to its members might change that state.
+     * Does nothing if game not found, or if {@link SOCJoinGameSnapshot#isBoardUnchangedBy(SOCMessage)}.
+     * @param gaName  game name; not null
+     * @param mes  message being broadcast to the game's members
+     * @see #invalidateJoinSnapshot(String)
+     * @since 2.4.50
+     */
+    public void invalidateJoinSnapshot(final String gaName, final SOCMessage mes)
+    {
+        if (! SOCJoinGameSnapshot.isBoardUnchangedBy(mes))
+            invalidateJoinSnapshot(gaName);
+    }
+
+    /**
+     * Publish a new snapshot of a game's members, replacing any previous list.
+     * Caller must be synchronized on this {@code SOCGameListAtServer}, so that concurrent
+     * updates to the same game's members aren't lost.
+     * @param gaName  game name; not null
+     * @param members  New list of members; will be copied, not kept by this method. Not null.
+     * @since 2.4.50
+     */
+    private void setMembers(final String gaName, final List<Connection> members)
+    {
+        final List<Connection> snapshot = (members.isEmpty())
+            ? Collections.<Connection>emptyList()
+            : Collections.unmodifiableList(new ArrayList<Connection>(members));
+        gameMembers.put(gaName, snapshot);
+    }
+
     /**
      * Is this connection a member of this game?
      * More specific than {@link #isMember(String, String)},
@@ -244,7 +333,7 @@ public class SOCGameListAtServer extends SOCGameList
      */
     public boolean isMember(Connection conn, String gaName)
     {
-        final Vector<Connection> members = getMembers(gaName);
+        final List<Connection> members = getMembers(gaName);
 
         if ((members != null) && (members.contains(conn)))
             return true;
@@ -264,7 +353,7 @@ public class SOCGameListAtServer extends SOCGameList
      */
     public boolean isMember(String memberName, String gaName)
     {
-        final Vector<Connection> members = getMembers(gaName);
+        final List<Connection> members = getMembers(gaName);
         if (members == null)
             return false;
 
@@ -288,7 +377,7 @@ public class SOCGameListAtServer extends SOCGameList
      */
     public synchronized void addMember(Connection conn, String gaName)
     {
-        Vector<Connection> members = getMembers(gaName);
+        List<Connection> members = getMembers(gaName);
 
         if (members == null)
         {
@@ -297,14 +386,16 @@ public class SOCGameListAtServer extends SOCGameList
 
             // won't be null, except during some unit tests
             // which use client-side SOCGameList.addGame for simplicity
-            members = new Vector<>();
-            gameMembers.put(gaName, members);
+            members = Collections.emptyList();
         }
 
         if (! members.contains(conn))
         {
             final boolean firstMember = members.isEmpty();
-            members.addElement(conn);
+            final ArrayList<Connection> newMembers = new ArrayList<Connection>(members.size() + 1);
+            newMembers.addAll(members);
+            newMembers.add(conn);
+            setMembers(gaName, newMembers);
 
             // Check version range
             SOCGame ga = getGameData(gaName);
@@ -364,22 +455,24 @@ public class SOCGameListAtServer extends SOCGameList
      */
     public synchronized void removeMember(Connection conn, String gaName)
     {
-        Vector<Connection> members = getMembers(gaName);
+        final List<Connection> oldMembers = getMembers(gaName);
 
-        if ((members != null))
+        if ((oldMembers != null) && oldMembers.contains(conn))
         {
-            members.removeElement(conn);
+            final ArrayList<Connection> members = new ArrayList<Connection>(oldMembers);
+            members.remove(conn);
+            setMembers(gaName, members);
 
             // Check version of remaining members
             if (! members.isEmpty())
             {
-                Connection c = members.firstElement();
+                Connection c = members.get(0);
                 int lowVers = c.getVersion();
                 int highVers = lowVers;
 
                 for (int i = members.size() - 1; i >= 1; --i)
                 {
-                    c = members.elementAt(i);
+                    c = members.get(i);
                     int v = c.getVersion();
                     if (v < lowVers)
                         lowVers = v;
@@ -434,7 +527,7 @@ public class SOCGameListAtServer extends SOCGameList
 
         for (String gaName : getGameNames())
         {
-            Vector<Connection> members = gameMembers.get(gaName);
+            final List<Connection> members = gameMembers.get(gaName);
             if ((members != null) && members.contains(oldConn))
             {
                 if (cliHasLimitedFeats)
@@ -450,8 +543,10 @@ public class SOCGameListAtServer extends SOCGameList
 
                 if (sameVersion)
                 {
-                    members.remove(oldConn);
-                    members.addElement(newConn);
+                    final ArrayList<Connection> newMembers = new ArrayList<Connection>(members);
+                    newMembers.remove(oldConn);
+                    newMembers.add(newConn);
+                    setMembers(gaName, newMembers);
                 } else {
                     removeMember(oldConn, gaName);
                     addMember(newConn, gaName);
@@ -524,14 +619,14 @@ public class SOCGameListAtServer extends SOCGameList
         if (gaOwner != null)
             game.setOwner(gaOwner, gaLocaleStr);
 
-        Vector<Connection> members = new Vector<Connection>();
-        gameMembers.put(gaName, members);
+        setMembers(gaName, Collections.<Connection>emptyList());
         gameChatBuffer.put(gaName, new SOCChatRecentBuffer());
+        gameJoinSnapshots.put(gaName, new SOCJoinGameSnapshot());
 
         game.setExpiration(game.getStartTime().getTime() + (60 * 1000 * GAME_TIME_EXPIRE_MINUTES));
 
         handler.calcGameClientFeaturesRequired(game);
-        gameInfo.put(gaName, new GameInfoAtServer(game.getGameOptions(), handler));  // also creates MutexFlag
+        gameInfo.put(gaName, new GameInfoAtServer(game.getGameOptions(), handler));  // also creates game's SOCGameLock
         gameData.put(gaName, game);
 
         return game;
@@ -660,12 +755,26 @@ public class SOCGameListAtServer extends SOCGameList
             reset = new SOCGameBoardReset(oldGame, getMembers(gaName));
             SOCGame rgame = reset.newGame;
 
+            // Remove robots from list of game members
+            if (reset.hadRobots)
+            {
+                synchronized(this)
+                {
+                    final ArrayList<Connection> members = new ArrayList<Connection>(getMembers(gaName));
+                    for (int pn = 0; pn < oldGame.maxPlayers; ++pn)
+                        if (reset.wasRobot[pn])
+                            members.remove(reset.robotConns[pn]);
+                    setMembers(gaName, members);
+                }
+            }
+
             // As in createGame, set expiration timer
             rgame.setExpiration(System.currentTimeMillis() + (60 * 1000 * GAME_TIME_EXPIRE_MINUTES));
 
             // Adjust game-list
             gameData.remove(gaName);
             gameData.put(gaName, rgame);
+            invalidateJoinSnapshot(gaName);
 
             // Done.
             oldGame.destroyGame();
@@ -714,9 +823,8 @@ public class SOCGameListAtServer extends SOCGameList
         // (Removes game from list before dealing with members, in case of locks)
         super.deleteGame(gaName);
 
-        Vector<Connection> members = gameMembers.remove(gaName);
-        if (members != null)
-            members.removeAllElements();
+        gameMembers.remove(gaName);
+        gameJoinSnapshots.remove(gaName);
 
         SOCChatRecentBuffer buf = gameChatBuffer.remove(gaName);
         if (buf != null)
@@ -745,7 +853,7 @@ public class SOCGameListAtServer extends SOCGameList
         {
             for (SOCGame ga : getGamesData())
             {
-                Vector<Connection> members = getMembers(ga.getName());
+                List<Connection> members = getMembers(ga.getName());
                 if ((members == null) || ! members.contains(plConn))
                     continue;
 
@@ -783,7 +891,7 @@ public class SOCGameListAtServer extends SOCGameList
                 firstGame = getGameData(firstGameName);
                 if (firstGame != null)
                 {
-                    Vector<?> members = getMembers(firstGameName);
+                    List<Connection> members = getMembers(firstGameName);
                     if ((members != null) && members.contains(c))
                         cGames.add(firstGame);
                 }
@@ -793,7 +901,7 @@ public class SOCGameListAtServer extends SOCGameList
             {
                 if (ga == firstGame)
                     continue;
-                Vector<?> members = getMembers(ga.getName());
+                List<Connection> members = getMembers(ga.getName());
                 if ((members == null) || ! members.contains(c))
                     continue;
 
@@ -2376,6 +2376,8 @@ public class SOCGameMessageHandler
                     {
                         // Set the "force end turn soon" field
                         ga.lastActionTime = 0L;
+                        srv.scheduleTurnCheck
+                            (ga, System.currentTimeMillis() + SOCServer.ROBOT_FORCE_ENDTURN_STUBBORN_SECONDS * 1000L);
                     }
                 }
             } else {
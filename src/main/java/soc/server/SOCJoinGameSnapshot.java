@@ -0,0 +1,283 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import soc.game.SOCGame;  // for javadoc
+import soc.message.SOCMessage;
+import soc.message.SOCPlayerElement;
+import soc.message.SOCSimpleAction;
+import soc.server.genericServer.Connection;
+import soc.server.genericServer.EncodedFrame;
+
+/**
+ * One game's cached board state messages for clients joining the game, so that when several
+ * observers join or a client reconnects, the board layout, potential settlements, etc
+ * are gathered and encoded once and then shared by each joining client.
+ * See {@link SOCGameHandler#joinGame(SOCGame, Connection, boolean, boolean, boolean)}.
+ *<P>
+ * Messages are cached separately for each client version and feature set,
+ * since those can change which messages are sent.
+ * Each cached sequence is tagged with the snapshot's version number when its gathering began.
+ * The server calls {@link #invalidate()} for each message object it broadcasts to the game's members,
+ * unless {@link #isBoardUnchangedBy(SOCMessage)}:
+ * Any game change which a joining client must see is also sent to the current members,
+ * so after such a broadcast the earlier cached sequences are out of date.
+ *<P>
+ * Only board-level state is cached. Per-player info like resource and card counts isn't:
+ * Some of it depends on which seat the joining client is taking, and it changes with almost every
+ * game action, so a cached copy would rarely be current.
+ *<P>
+ * Counts hits, misses, and bytes sent from snapshots for server stats.
+ *<P>
+ * <B>Threads:</B> Safe to use from any thread.
+ *
+ * @see SOCGameListAtServer#getJoinSnapshot(String)
+ * @since 2.4.50
+ */
+public class SOCJoinGameSnapshot
+{
+    /** Total number of joins which used a cached sequence, for {@link #getHitCount()} */
+    private static final AtomicLong hitCount = new AtomicLong();
+
+    /** Total number of joins which had to gather a new sequence, for {@link #getMissCount()} */
+    private static final AtomicLong missCount = new AtomicLong();
+
+    /** Total length of all sequences sent to joining clients, for {@link #getBytesSentCount()} */
+    private static final AtomicLong bytesSentCount = new AtomicLong();
+
+    /** Version number, incremented by {@link #invalidate()} */
+    private final AtomicInteger version = new AtomicInteger();
+
+    /** Cached sequences, keyed by {@link #key(Connection, SOCClientData)} */
+    private final ConcurrentHashMap<String, Sequence> sequences = new ConcurrentHashMap<String, Sequence>();
+
+    /**
+     * Get the snapshot's current version number, before gathering messages for {@link #put(String, int, List)}.
+     * @return  Current version
+     */
+    public int getVersion()
+    {
+        return version.get();
+    }
+
+    /**
+     * Mark all cached sequences as out of date, because the game has changed.
+     */
+    public void invalidate()
+    {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Is this broadcast message one which doesn't change the cached board state?
+     * Checks an allowlist of the message types which can change the board layout, players' potential settlements,
+     * scenario board info, current player, or game state; all other types, such as a member joining or leaving,
+     * sitting down, resource counts, or game text, leave the snapshot current.
+     * Otherwise each observer's join would invalidate the snapshot for the next joiner.
+     *<P>
+     * If board state gathered for joining clients by {@code SOCGameHandler.joinGame_gatherBoardState}
+     * comes to depend on another kind of game data, add the message types which change that data here.
+     *
+     * @param mes  Message being broadcast to a game's members
+     * @return  True if {@code mes} doesn't need to {@link #invalidate()} the snapshot
+     */
+    public static boolean isBoardUnchangedBy(final SOCMessage mes)
+    {
+        switch (mes.getType())
+        {
+        // board layout and scenario board info
+        case SOCMessage.BOARDLAYOUT:
+        case SOCMessage.BOARDLAYOUT2:
+        case SOCMessage.MOVEROBBER:  // also pirate fleet
+        case SOCMessage.REVEALFOGHEX:
+        case SOCMessage.PIECEVALUE:
+        case SOCMessage.INVENTORYITEMACTION:
+        case SOCMessage.RESETBOARDAUTH:
+
+        // pieces, which change players' potential settlements
+        case SOCMessage.PUTPIECE:
+        case SOCMessage.MOVEPIECE:
+        case SOCMessage.REMOVEPIECE:
+        case SOCMessage.POTENTIALSETTLEMENTS:
+
+        // current player and game state
+        case SOCMessage.TURN:
+        case SOCMessage.SETTURN:
+        case SOCMessage.GAMEELEMENTS:
+        case SOCMessage.GAMESTATE:
+        case SOCMessage.STARTGAME:
+            return false;
+
+        case SOCMessage.SIMPLEACTION:
+            switch (((SOCSimpleAction) mes).getActionType())
+            {
+            case SOCSimpleAction.BOARD_EDGE_SET_SPECIAL:
+            case SOCSimpleAction.SC_PIRI_FORT_ATTACK_RESULT:
+            case SOCSimpleAction.TRADE_PORT_REMOVED:
+                return false;
+            default:
+                return true;
+            }
+
+        case SOCMessage.PLAYERELEMENT:
+            // board's general supply of cloth has player number -1
+            return (((SOCPlayerElement) mes).getPlayerNumber() != -1);
+
+        default:
+            return true;
+        }
+    }
+
+    /**
+     * Build a snapshot key for a joining client from its version and features.
+     * @param c  Joining client
+     * @param scd  {@code c}'s client data, or null
+     * @return  Key for {@link #get(String, int)} and {@link #put(String, int, List)}; not null
+     */
+    public static String key(final Connection c, final SOCClientData scd)
+    {
+        final StringBuilder sb = new StringBuilder().append(c.getVersion());
+        if ((scd != null) && (scd.feats != null))
+            sb.append(';').append(scd.feats.getEncodedList());
+
+        return sb.toString();
+    }
+
+    /**
+     * Get a cached sequence if it's current, and count a hit or miss.
+     * @param key  Key from {@link #key(Connection, SOCClientData)}
+     * @param ver  Version from {@link #getVersion()}
+     * @return  The cached frames, or null if none or out of date;
+     *     if null, caller should gather messages and call {@link #put(String, int, List)}
+     */
+    public List<EncodedFrame> get(final String key, final int ver)
+    {
+        final Sequence seq = sequences.get(key);
+        if ((seq == null) || (seq.version != ver))
+        {
+            missCount.incrementAndGet();
+            return null;
+        }
+
+        hitCount.incrementAndGet();
+        return seq.frames;
+    }
+
+    /**
+     * Cache a newly gathered sequence, unless the game changed while it was being gathered.
+     * Formats each message now, so later changes to the game's objects can't change the cached text.
+     * @param key  Key from {@link #key(Connection, SOCClientData)}
+     * @param ver  Version from {@link #getVersion()} before gathering began
+     * @param msgs  Messages gathered for the joining client; not null
+     * @return  Frames for {@code msgs}, to send to the joining client
+     */
+    public List<EncodedFrame> put(final String key, final int ver, final List<SOCMessage> msgs)
+    {
+        final List<EncodedFrame> frames = toFrames(msgs);
+        if (ver == version.get())
+            sequences.put(key, new Sequence(ver, frames));
+
+        return frames;
+    }
+
+    /**
+     * Create frames for a sequence of messages, formatting each one now.
+     * @param msgs  Messages to format; not null
+     * @return  Unmodifiable list of frames
+     */
+    public static List<EncodedFrame> toFrames(final List<SOCMessage> msgs)
+    {
+        final List<EncodedFrame> frames = new ArrayList<EncodedFrame>(msgs.size());
+        for (final SOCMessage msg : msgs)
+        {
+            final EncodedFrame fr = new EncodedFrame(msg);
+            fr.getCommand();
+            frames.add(fr);
+        }
+
+        return Collections.unmodifiableList(frames);
+    }
+
+    /**
+     * Count the length of a sequence sent to a joining client, for {@link #getBytesSentCount()}.
+     * @param frames  Frames sent; not null
+     */
+    public static void countSent(final List<EncodedFrame> frames)
+    {
+        long n = 0;
+        for (final EncodedFrame fr : frames)
+            n += fr.getCommand().length();
+
+        bytesSentCount.addAndGet(n);
+    }
+
+    /**
+     * Get the total number of joins since startup which sent a cached sequence.
+     * @return  Number of snapshot hits
+     * @see #getMissCount()
+     */
+    public static long getHitCount()
+    {
+        return hitCount.get();
+    }
+
+    /**
+     * Get the total number of joins since startup which gathered a new sequence.
+     * @return  Number of snapshot misses
+     * @see #getHitCount()
+     */
+    public static long getMissCount()
+    {
+        return missCount.get();
+    }
+
+    /**
+     * Get the total length of sequences sent to joining clients since startup, cached or newly gathered.
+     * @return  Sum of the sequences' message lengths, not counting network framing
+     */
+    public static long getBytesSentCount()
+    {
+        return bytesSentCount.get();
+    }
+
+    /**
+     * A cached sequence and the snapshot version it's current for.
+     */
+    private static final class Sequence
+    {
+        final int version;
+
+        final List<EncodedFrame> frames;
+
+        Sequence(final int version, final List<EncodedFrame> frames)
+        {
+            this.version = version;
+            this.frames = frames;
+        }
+    }
+
+}
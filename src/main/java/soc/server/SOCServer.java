@@ -30,6 +30,7 @@ import soc.debug.D;  // JM
 import soc.game.*;
 import soc.message.*;
 
+import soc.robot.SOCBuildingSpeedEstimateCache;
 import soc.robot.SOCRobotBrain;
 import soc.robot.SOCRobotClient;
 import soc.robot.SOCRobotDM;
@@ -37,9 +38,12 @@ import soc.server.database.DBSettingMismatchException;
 import soc.server.database.SOCDBHelper;
 
 import soc.server.genericServer.Connection;
+import soc.server.genericServer.EncodedFrame;
 import soc.server.genericServer.InboundMessageQueue;
 import soc.server.genericServer.Server;
 import soc.server.genericServer.StringConnection;
+import soc.server.savegame.GameAutosaver;
+import soc.server.savegame.GameLoaderJSON;
 import soc.server.savegame.SavedGameModel;
 
 import soc.util.SOCFeatureSet;
@@ -47,6 +51,7 @@ import soc.util.SOCGameBoardReset;
 import soc.util.SOCGameList;  // used in javadoc
 import soc.util.SOCRobotParameters;
 import soc.util.SOCStringManager;
+import soc.util.SOCTimerWheel;
 import soc.util.Triple;
 import soc.util.Version;
 
@@ -73,7 +78,7 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -85,6 +90,10 @@ import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -142,8 +151,9 @@ import java.util.concurrent.atomic.AtomicInteger;
  *<LI> For i18n, nearly all text sent from the server starts as a unique key
  *     appearing in {@code soc/server/strings/*.properties} and is localized
  *     to the client's locale through {@link Connection#getLocalized(String)}.
- *<LI> Timer threads are used to check for inactive robots and idle games: See
- *     {@link SOCGameTimeoutChecker} and {@link SOCGameHandler#endTurnIfInactive(SOCGame, long)}.
+ *<LI> A timer wheel is used to check for inactive robots and idle games: See
+ *     {@link #checkForExpiredTurn(SOCGame, long)}, {@link #checkForExpiredGame(SOCGame, long)}
+ *     and {@link SOCGameHandler#endTurnIfInactive(SOCGame, long)}.
  *</UL>
  *
  *<H3>Properties and features:</H3>
@@ -313,6 +323,39 @@ public class SOCServer extends Server
      */
     public static final String PROP_JSETTLERS_BOTS_FAST__PAUSE__PERCENT = "jsettlers.bots.fast_pause_percent";
 
+    /**
+     * Integer property <tt>jsettlers.bots.estimate_cache</tt> to set the maximum number of entries
+     * in the building speed estimate cache shared by all robots running in the server's JVM:
+     * Calls {@link soc.robot.SOCBuildingSpeedEstimateCache#setSharedCapacity(int)}.
+     * Use 0 to disable the cache.
+     *<P>
+     * Default is {@link soc.robot.SOCBuildingSpeedEstimateCache#DEFAULT_CAPACITY}.
+     * The cache's hit and miss counts are shown in the {@code *STATS*} command's output.
+     * @since 2.4.50
+     */
+    public static final String PROP_JSETTLERS_BOTS_ESTIMATE__CACHE = "jsettlers.bots.estimate_cache";
+
+    /**
+     * Integer property <tt>jsettlers.bots.planning_threads</tt> to set the number of threads
+     * each robot running in the server's JVM uses to score candidate pieces when planning what to build.
+     * Sets {@link SOCRobotBrain#BOTS_PLANNING_THREADS}; see {@link SOCRobotParameters#getPlanningThreads()}.
+     * All robots share one thread pool sized to the number of processors.
+     *<P>
+     * Default is 1, to plan serially.
+     * @since 2.4.50
+     */
+    public static final String PROP_JSETTLERS_BOTS_PLANNING__THREADS = "jsettlers.bots.planning_threads";
+
+    /**
+     * Boolean property <tt>jsettlers.bots.virtual_threads</tt>: If true and the JVM supports them
+     * (Java 21 or newer), each robot brain running in the server's JVM runs on a virtual thread
+     * instead of its own platform thread. Sets {@link SOCRobotBrain#BOTS_VIRTUAL_THREADS}.
+     *<P>
+     * Default is false.
+     * @since 2.4.50
+     */
+    public static final String PROP_JSETTLERS_BOTS_VIRTUAL__THREADS = "jsettlers.bots.virtual_threads";
+
     /**
      * Integer property <tt>jsettlers.bots.botgames.total</tt> will start robot-only games,
      * a few at a time, until this many have been played. (The default is 0.)
@@ -555,6 +598,50 @@ public class SOCServer extends Server
      */
     public static final String PROP_JSETTLERS_GAME_DISALLOW_SEA__BOARD = "jsettlers.game.disallow.sea_board";
 
+    /**
+     * Integer property {@code jsettlers.dispatch.gamelanes} to dispatch inbound game messages in parallel
+     * on this many "game lane" threads, instead of the single inbound message Treater thread.
+     * Each game's messages always go to the same lane, so they're handled in order;
+     * messages not about a game are handled in the server lane. Default is 0, for the single Treater.
+     *<P>
+     * Can be useful for busy servers where a slow message handler in one game
+     * (savegame load, board generation, etc) would otherwise delay every other game.
+     * See {@link InboundMessageQueue} class javadoc for details.
+     * @since 2.4.50
+     */
+    public static final String PROP_JSETTLERS_DISPATCH_GAMELANES = "jsettlers.dispatch.gamelanes";
+
+    /**
+     * Boolean property {@code jsettlers.locks.rw_split} to let message broadcasts to a game's members
+     * share that game's monitor, instead of waiting for each other:
+     * See {@link SOCGameList#takeReadMonitorForGame(String)}.
+     * Game actions which change state still take the exclusive monitor. Default is false.
+     * Can be useful with {@link #PROP_JSETTLERS_DISPATCH_GAMELANES}, where several threads send to games at once.
+     * @see SOCGameList#setReadWriteSplit(boolean)
+     * @since 2.4.50
+     */
+    public static final String PROP_JSETTLERS_LOCKS_RW__SPLIT = "jsettlers.locks.rw_split";
+
+    /**
+     * Boolean property {@code jsettlers.locks.debug} to check at runtime the order in which threads take
+     * the game list's monitor and games' monitors, printing a stack trace to {@link System#err}
+     * for each lock-order inversion found. Default is false.
+     * If set, {@code *STATS*} shows the number of inversions found.
+     * @see SOCGameList#setLockOrderDebug(boolean)
+     * @since 2.4.50
+     */
+    public static final String PROP_JSETTLERS_LOCKS_DEBUG = "jsettlers.locks.debug";
+
+    /**
+     * Integer property {@code jsettlers.net.nio_threads} to handle TCP client connections
+     * with non-blocking I/O on this many shared threads, instead of 2 threads per connected client.
+     * Default is 0, for thread-per-connection. 1 or 2 threads is enough for most servers.
+     * Clients see no difference; the network protocol is the same.
+     * @see soc.server.genericServer.Server
+     * @since 2.4.50
+     */
+    public static final String PROP_JSETTLERS_NET_NIO__THREADS = "jsettlers.net.nio_threads";
+
     /**
      * Property {@code jsettlers.savegame.dir} to enable SAVEGAME/LOADGAME debug commands
      * and set the directory in which to store savegame files.
@@ -565,6 +652,48 @@ public class SOCServer extends Server
      */
     public static final String PROP_JSETTLERS_SAVEGAME_DIR = "jsettlers.savegame.dir";
 
+    /**
+     * Int property {@code jsettlers.savegame.autosave_sec} to autosave each game into
+     * {@link #PROP_JSETTLERS_SAVEGAME_DIR} at the end of a turn, if at least this many seconds
+     * have passed since its previous autosave. Interrupted games are resumed at server startup
+     * by {@link #resumeAutosavedGames()}. Default is 0, no autosave.
+     * Ignored unless {@link #PROP_JSETTLERS_SAVEGAME_DIR} is set and usable.
+     * @see GameAutosaver
+     * @since 2.4.50
+     */
+    public static final String PROP_JSETTLERS_SAVEGAME_AUTOSAVE__SEC = "jsettlers.savegame.autosave_sec";
+
+    /**
+     * Property {@code jsettlers.gameevents.journal.dir} to record each game's events into
+     * an append-only {@link GameEventJournal} in this existing directory.
+     * Journals can be replayed later with {@link GameEventJournalReplay}.
+     * Not set by default.
+     * @see #PROP_JSETTLERS_GAMEEVENTS_JOURNAL_ROTATE__KB
+     * @see #PROP_JSETTLERS_GAMEEVENTS_JOURNAL_SYNC__MS
+     * @see #recordGameEventsIsActive()
+     * @since 2.4.50
+     */
+    public static final String PROP_JSETTLERS_GAMEEVENTS_JOURNAL_DIR = "jsettlers.gameevents.journal.dir";
+
+    /**
+     * Int property {@code jsettlers.gameevents.journal.rotate_kb}: When a game's event journal file
+     * reaches this size in kilobytes, continue in a new file.
+     * Default is 4096 ({@link GameEventJournal#DEFAULT_ROTATE_BYTES}), minimum 1.
+     * Ignored unless {@link #PROP_JSETTLERS_GAMEEVENTS_JOURNAL_DIR} is set.
+     * @since 2.4.50
+     */
+    public static final String PROP_JSETTLERS_GAMEEVENTS_JOURNAL_ROTATE__KB = "jsettlers.gameevents.journal.rotate_kb";
+
+    /**
+     * Int property {@code jsettlers.gameevents.journal.sync_ms}: Interval in milliseconds
+     * at which recorded game events are written and synced to disk, all at once.
+     * A server crash can lose at most this interval's events.
+     * Default is 1000 ({@link GameEventJournal#DEFAULT_SYNC_MILLIS}), minimum 1.
+     * Ignored unless {@link #PROP_JSETTLERS_GAMEEVENTS_JOURNAL_DIR} is set.
+     * @since 2.4.50
+     */
+    public static final String PROP_JSETTLERS_GAMEEVENTS_JOURNAL_SYNC__MS = "jsettlers.gameevents.journal.sync_ms";
+
     /**
      * Property {@code jsettlers.stats.file.name} is the filename to append an optional daily stats summary
      * with the same information as the {@code *STATS*} command, using {@link StatsFileWriterTask}.
@@ -635,17 +764,31 @@ public class SOCServer extends Server
         PROP_JSETTLERS_BOTS_COOKIE,             "Robot cookie value (default is random generated each startup)",
         PROP_JSETTLERS_BOTS_SHOWCOOKIE,         "Flag to show the robot cookie value at startup",
         PROP_JSETTLERS_BOTS_FAST__PAUSE__PERCENT, "Pause at percent of normal pause time (0 to 100) for robot-only games (default 25)",
+        PROP_JSETTLERS_BOTS_ESTIMATE__CACHE,    "Robots' shared building speed estimate cache size (default "
+            + SOCBuildingSpeedEstimateCache.DEFAULT_CAPACITY + ", 0 to disable)",
+        PROP_JSETTLERS_BOTS_PLANNING__THREADS,  "Number of threads each robot uses to score pieces when planning (default 1)",
+        PROP_JSETTLERS_BOTS_VIRTUAL__THREADS,   "Flag: If true, run robot brains on virtual threads if JVM supports them",
         PROP_JSETTLERS_BOTS_PAUSE_FOR_HUMAN_TRADE, "In games with humans, robots wait this many seconds before answering a trade offer (default 8)",
         PROP_JSETTLERS_BOTS_PERCENT3P,          "Percent of bots which should be third-party (0 to 100) if available",
         PROP_JSETTLERS_BOTS_START3P,            "Third-party bot client classes to start up with server",
         PROP_JSETTLERS_BOTS_TIMEOUT_TURN,       "Robot turn timeout (seconds) for third-party bots",
+        PROP_JSETTLERS_NET_NIO__THREADS,        "Number of threads for non-blocking network I/O (default 0: 2 threads per client)",
+        PROP_JSETTLERS_DISPATCH_GAMELANES,      "Number of threads to handle game messages in parallel (default 0: use 1 thread for all)",
+        PROP_JSETTLERS_LOCKS_RW__SPLIT,         "Flag: If true, broadcasts to a game share its monitor instead of waiting for each other",
+        PROP_JSETTLERS_LOCKS_DEBUG,             "Flag: If true, check lock order of game list and game monitors, print any inversions",
         PROP_JSETTLERS_SAVEGAME_DIR,            "Dir in which to store savegame files",
+        PROP_JSETTLERS_SAVEGAME_AUTOSAVE__SEC,  "If set, autosave each game this often (seconds) and resume them at startup",
+        PROP_JSETTLERS_GAMEEVENTS_JOURNAL_DIR,  "If set, dir in which to record each game's events into a journal",
+        PROP_JSETTLERS_GAMEEVENTS_JOURNAL_ROTATE__KB, "Start a new game event journal file at this size (KB) (default 4096)",
+        PROP_JSETTLERS_GAMEEVENTS_JOURNAL_SYNC__MS, "Write and sync game event journals this often (milliseconds) (default 1000)",
         PROP_JSETTLERS_STATS_FILE_NAME,         "If set, filename to append daily *STATS* into",
         PROP_JSETTLERS_TEST_VALIDATE__CONFIG,   "Flag to validate server and DB config, then exit (same as -t command-line option)",
         PROP_JSETTLERS_TEST_DB,                 "Flag to test database methods, then exit",
         SOCDBHelper.PROP_JSETTLERS_DB_BCRYPT_WORK__FACTOR, "For user accounts in DB, password encryption Work Factor (see README) (9 to "
             + soc.server.database.BCrypt.GENSALT_MAX_LOG2_ROUNDS + ')',
         SOCDBHelper.PROP_JSETTLERS_DB_SAVE_GAMES,  "Flag to save all games in DB (if 1 or Y)",
+        SOCDBHelper.PROP_JSETTLERS_DB_WRITE__BEHIND, "Flag to write game results and logins to DB asynchronously in batches (if 1 or Y)",
+        SOCDBHelper.PROP_JSETTLERS_DB_POOL__SIZE, "Max number of extra DB connections for concurrent reads, or 0 for none (default 3)",
         SOCDBHelper.PROP_JSETTLERS_DB_USER,     "DB username",
         SOCDBHelper.PROP_JSETTLERS_DB_PASS,     "DB password",
         SOCDBHelper.PROP_JSETTLERS_DB_URL,      "DB connection URL",
@@ -661,6 +804,7 @@ public class SOCServer extends Server
     // See also:
     // - SOCBoardAtServer.PROP_JSETTLERS_DEBUG_BOARD_FOG, PROP_JSETTLERS_DEBUG_BOARD_FOG__GOLD
     // - SOCRobotClient.PROP_JSETTLERS_BOTS_TEST_QUIT_AT_JOINREQ
+    // - StringConnection.PROP_JSETTLERS_DEBUG_STRINGCONN_TEXT
 
     /**
      * For server testing, JVM/system property {@code "jsettlers.debug.server.gameopt3p"}
@@ -715,7 +859,7 @@ public class SOCServer extends Server
 
     /**
      * If game will expire in this or fewer minutes, warn the players. Default is 15.
-     * Must be at least twice the sleep-time in {@link SOCGameTimeoutChecker#run()}.
+     * Must be at least twice {@link #GAME_TIME_EXPIRE_CHECK_MINUTES}.
      * The game expiry time is set at game creation in
      * {@link SOCGameListAtServer#createGame(String, String, String, Map, GameHandler)}.
      *<P>
@@ -724,8 +868,7 @@ public class SOCServer extends Server
      * Before v2.0.00 this field was named {@code GAME_EXPIRE_WARN_MINUTES}. <BR>
      * Before v1.2.01 the default was 10.
      *
-     * @see #checkForExpiredGames(long)
-     * @see SOCGameTimeoutChecker#run()
+     * @see #checkForExpiredGame(SOCGame, long)
      * @see SOCGameListAtServer#GAME_TIME_EXPIRE_MINUTES
      * @see #GAME_TIME_EXPIRE_ADDTIME_MINUTES
      * @since 1.1.00
@@ -733,7 +876,7 @@ public class SOCServer extends Server
     public static int GAME_TIME_EXPIRE_WARN_MINUTES = 15;
 
     /**
-     * Sleep time (minutes) between checks for expired games in {@link SOCGameTimeoutChecker#run()}.
+     * Time (minutes) between each game's checks for expiry and idleness in {@link #checkForExpiredGame(SOCGame, long)}.
      * Default is 5 minutes. Must be at most half of {@link #GAME_TIME_EXPIRE_WARN_MINUTES}
      * so the user has time to react after seeing the warning.
      * @see SOCGameListAtServer#GAME_TIME_EXPIRE_MINUTES
@@ -762,7 +905,7 @@ public class SOCServer extends Server
      * given a shorter timeout ({@link #ROBOT_FORCE_ENDTURN_STUBBORN_SECONDS})
      * so human players won't always have to wait so long.
      *
-     * @see #checkForExpiredTurns(long)
+     * @see #checkForExpiredTurn(SOCGame, long)
      * @since 1.1.11
      */
     public static int ROBOT_FORCE_ENDTURN_SECONDS = 8;
@@ -771,8 +914,8 @@ public class SOCServer extends Server
 
     /**
      * Force a particularly slow or buggy ("stubborn") robot to end their turn after this many seconds of inactivity.
-     * Must be shorter than {@link #ROBOT_FORCE_ENDTURN_SECONDS}. Default is 4. Sets frequency of
-     * {@link SOCGameTimeoutChecker}'s checks for expired turns.
+     * Must be shorter than {@link #ROBOT_FORCE_ENDTURN_SECONDS}. Default is 4. Also sets the interval between
+     * {@link #checkForExpiredTurn(SOCGame, long)} checks of a game whose robot turn was just forced to end.
      *
      * @see SOCPlayer#isStubbornRobot()
      * @see SOCPlayer#STUBBORN_ROBOT_FORCE_END_TURN_THRESHOLD
@@ -1201,6 +1344,21 @@ public class SOCServer extends Server
      */
     protected boolean savegameInitFailed;
 
+    /**
+     * Autosaver for games if {@link #PROP_JSETTLERS_SAVEGAME_AUTOSAVE__SEC} is set, otherwise {@code null}.
+     * Set in {@code initSocServer}.
+     * @since 2.4.50
+     */
+    GameAutosaver gameAutosaver;
+
+    /**
+     * Journal of games' recorded events if {@link #PROP_JSETTLERS_GAMEEVENTS_JOURNAL_DIR} is set, otherwise {@code null}.
+     * Set in {@code initSocServer}.
+     * @see #recordGameEventsIsActive()
+     * @since 2.4.50
+     */
+    GameEventJournal gameEventJournal;
+
     /**
      * list of chat channels
      *<P>
@@ -1266,7 +1424,7 @@ public class SOCServer extends Server
      * The total number of games that have been started:
      * {@link GameHandler#startGame(SOCGame)} has been called
      * and game play has begun. Game state became {@link SOCGame#READY}
-     * or higher from an earlier/lower state.
+     * or higher from an earlier/lower state. Incremented in {@link #gameStartedIncrCount()}.
      */
     protected int numberOfGamesStarted;
 
@@ -1297,14 +1455,15 @@ public class SOCServer extends Server
     protected int numberOfBotsInFinishedGames;
 
     /**
-     * Synchronization for {@link #numberOfGamesFinished} writes,
-     * along with related fields like {@link #numberOfBotsInFinishedGames}.
+     * Synchronization for {@link #numberOfGamesStarted} and {@link #numberOfGamesFinished} writes,
+     * along with related fields like {@link #numberOfBotsInFinishedGames} and {@link #numberOfUsers}.
      * @since 2.0.00
      */
     private Object countFieldSync = new Object();
 
     /**
-     * total number of users
+     * total number of users.
+     * Synchronize on {@link #countFieldSync} when updating, since dispatch lanes can name connections concurrently.
      */
     protected int numberOfUsers;
 
@@ -1323,9 +1482,10 @@ public class SOCServer extends Server
      * Set at startup from {@link #PROP_JSETTLERS_BOTS_BOTGAMES_TOTAL},
      * then counts down to 0 as games are played: See
      * {@link #startRobotOnlyGames(boolean, boolean)}.
+     * Atomic because games can end concurrently on different dispatch lanes.
      * @since 2.0.00
      */
-    private int numRobotOnlyGamesRemaining;
+    private final AtomicInteger numRobotOnlyGamesRemaining = new AtomicInteger();
 
     /**
      * Description string for SOCGameOption {@code "PL"} hardcoded into the SOCGameOption class,
@@ -1388,10 +1548,39 @@ public class SOCServer extends Server
     SOCServerRobotPinger serverRobotPinger;
 
     /**
-     * Game timeout and and turn timeout checker. Forces end of turn if a robot is
-     * too slow to act. See its class javadoc and {@link SOCForceEndTurnThread}.
+     * Timer wheel for each game's turn timeout and game expiry checks; forces end of turn if a robot is
+     * too slow to act. Each game's timers are in {@link #gameTimers}. Started in {@link #initSocServer(String, String)}
+     * unless test or validation mode. {@code *STATS*} shows its metrics.
+     *<P>
+     * Before v2.4.50 a {@code SOCGameTimeoutChecker} thread instead checked all games every few seconds.
+     * @since 2.4.50
+     */
+    final SOCTimerWheel gameTimerWheel = new SOCTimerWheel
+        ("gameTimers", SOCTimerWheel.DEFAULT_TICK_MILLIS, SOCTimerWheel.DEFAULT_WHEEL_SIZE);
+
+    /**
+     * Each current game's timers in {@link #gameTimerWheel}, keyed by game name.
+     * @see #scheduleGameTimers(SOCGame)
+     * @since 2.4.50
+     */
+    private final Map<String, GameTimers> gameTimers = new ConcurrentHashMap<>();
+
+    /**
+     * Runs each {@link SOCForceEndTurnTask}, so the game timer thread isn't tied up by a slow or deadlocked one.
+     * Reuses idle daemon threads instead of starting a new thread for each forced end of turn.
+     * @since 2.4.50
      */
-    SOCGameTimeoutChecker gameTimeoutChecker;
+    final ExecutorService forceEndTurnExecutor = Executors.newCachedThreadPool(new ThreadFactory()
+    {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        public Thread newThread(final Runnable r)
+        {
+            final Thread th = new Thread(r, "forceEndTurn-" + threadCount.incrementAndGet());
+            th.setDaemon(true);
+            return th;
+        }
+    });
 
     String databaseUserName;
     String databasePassword;
@@ -1731,6 +1920,30 @@ public class SOCServer extends Server
         }
         SOCRobotBrain.BOTS_PAUSE_FOR_HUMAN_TRADE = getConfigIntProperty( PROP_JSETTLERS_BOTS_PAUSE_FOR_HUMAN_TRADE, 8 );
 
+        v = getConfigIntProperty(PROP_JSETTLERS_BOTS_ESTIMATE__CACHE, -1);
+        if (v != -1)
+        {
+            if (v >= 0)
+                SOCBuildingSpeedEstimateCache.setSharedCapacity(v);
+            else
+                throw new IllegalArgumentException
+                    ("Error: Property out of range (0 or more): " + PROP_JSETTLERS_BOTS_ESTIMATE__CACHE);
+        }
+
+        v = getConfigIntProperty(PROP_JSETTLERS_BOTS_PLANNING__THREADS, -1);
+        if (v != -1)
+        {
+            if (v >= 1)
+                SOCRobotBrain.BOTS_PLANNING_THREADS = v;
+            else
+                throw new IllegalArgumentException
+                    ("Error: Property out of range (1 or more): " + PROP_JSETTLERS_BOTS_PLANNING__THREADS);
+        }
+        SOCRobotBrain.BOTS_VIRTUAL_THREADS = getConfigBoolProperty(PROP_JSETTLERS_BOTS_VIRTUAL__THREADS, false);
+
+        gameList.setReadWriteSplit(getConfigBoolProperty(PROP_JSETTLERS_LOCKS_RW__SPLIT, false));
+        gameList.setLockOrderDebug(getConfigBoolProperty(PROP_JSETTLERS_LOCKS_DEBUG, false));
+
         if (validate_config_mode)
         {
             // Check number of bot users vs maxConnections, reserve room for humans.
@@ -1765,6 +1978,29 @@ public class SOCServer extends Server
                      + PROP_JSETTLERS_ACCOUNTS_ADMINS);
         }
 
+        if (props.containsKey(PROP_JSETTLERS_GAMEEVENTS_JOURNAL_DIR))
+        {
+            final File journalDir = new File(props.getProperty(PROP_JSETTLERS_GAMEEVENTS_JOURNAL_DIR));
+            if (! journalDir.isDirectory())
+                throw new IllegalArgumentException
+                    ("Config: " + PROP_JSETTLERS_GAMEEVENTS_JOURNAL_DIR + " not found as directory: "
+                     + journalDir.getPath());
+
+            final int rotateKB = getConfigIntProperty
+                    (PROP_JSETTLERS_GAMEEVENTS_JOURNAL_ROTATE__KB, GameEventJournal.DEFAULT_ROTATE_BYTES / 1024),
+                syncMillis = getConfigIntProperty
+                    (PROP_JSETTLERS_GAMEEVENTS_JOURNAL_SYNC__MS, GameEventJournal.DEFAULT_SYNC_MILLIS);
+            if (rotateKB < 1)
+                throw new IllegalArgumentException
+                    ("Config: " + PROP_JSETTLERS_GAMEEVENTS_JOURNAL_ROTATE__KB + " must be at least 1");
+            if (syncMillis < 1)
+                throw new IllegalArgumentException
+                    ("Config: " + PROP_JSETTLERS_GAMEEVENTS_JOURNAL_SYNC__MS + " must be at least 1");
+
+            gameEventJournal = new GameEventJournal(journalDir, rotateKB * 1024, syncMillis);
+            System.err.println("Recording game events into journal dir " + journalDir.getPath());
+        }
+
         /**
          * Check other misc optional properties:
          */
@@ -1944,8 +2180,8 @@ public class SOCServer extends Server
         numberOfGamesFinished = 0;
         numberOfUsers = 0;
         clientPastVersionStats = new HashMap<Integer, AtomicInteger>();
-        numRobotOnlyGamesRemaining = getConfigIntProperty(PROP_JSETTLERS_BOTS_BOTGAMES_TOTAL, 0);
-        if (numRobotOnlyGamesRemaining > 0)
+        numRobotOnlyGamesRemaining.set(getConfigIntProperty(PROP_JSETTLERS_BOTS_BOTGAMES_TOTAL, 0));
+        if (numRobotOnlyGamesRemaining.get() > 0)
         {
             final int n = SOCGame.MAXPLAYERS_STANDARD;
             if (n > getConfigIntProperty(PROP_JSETTLERS_STARTROBOTS, 0))
@@ -1973,8 +2209,7 @@ public class SOCServer extends Server
         {
             serverRobotPinger = new SOCServerRobotPinger(this, robots);
             serverRobotPinger.start();
-            gameTimeoutChecker = new SOCGameTimeoutChecker(this);
-            gameTimeoutChecker.start();
+            gameTimerWheel.start();
 
             if (props.containsKey(PROP_JSETTLERS_STATS_FILE_NAME))
             {
@@ -2143,6 +2378,10 @@ public class SOCServer extends Server
                 throw new IllegalArgumentException(errmsg);
             }
 
+            if (getConfigBoolProperty(SOCDBHelper.PROP_JSETTLERS_DB_WRITE__BEHIND, false)
+                && db.startWriteBehind())
+                System.err.println("DB: Game results and logins will be written asynchronously.");
+
             // reminder: if props.getProperty(SOCDBHelper.PROP_IMPL_JSETTLERS_PW_RESET),
             // caller will need to prompt for and change the password
         }
@@ -2448,6 +2687,15 @@ public class SOCServer extends Server
                 ("Warning: savegame disabled: Can't find Gson class"
                  + (((loadErr != null) && ! (loadErr instanceof ClassNotFoundException)) ? ": " + loadErr : ""));
         }
+
+        final int autosaveSec = getConfigIntProperty(PROP_JSETTLERS_SAVEGAME_AUTOSAVE__SEC, 0);
+        if ((autosaveSec > 0) && ! savegameInitFailed)
+        {
+            if ((savegameDir != null) && savegameDir.isDirectory())
+                gameAutosaver = new GameAutosaver(this, savegameDir, autosaveSec);
+            else
+                System.err.println("Warning: autosave disabled: savegame.dir not found");
+        }
     }
 
     /**
@@ -2514,7 +2762,7 @@ public class SOCServer extends Server
                     }.start();
                 }
 
-                if (numRobotOnlyGamesRemaining > 0)
+                if (numRobotOnlyGamesRemaining.get() > 0)
                 {
                     final int n = SOCGame.MAXPLAYERS_STANDARD;
                     if (n > rcount)
@@ -2552,6 +2800,18 @@ public class SOCServer extends Server
                     ("** Not starting robots: Bad number format, ignoring property " + PROP_JSETTLERS_STARTROBOTS);
             }
         }
+
+        if (gameAutosaver != null)
+        {
+            final int waitSec = getConfigIntProperty(PROP_JSETTLERS_BOTS_BOTGAMES_WAIT__SEC, 0);
+            miscTaskTimer.schedule(new TimerTask()
+            {
+                public void run()
+                {
+                    resumeAutosavedGames();
+                }
+            }, (waitSec > 0) ? (1000L * waitSec) : 1600 /* ms, wait for bots to connect */ );
+        }
     }
 
     /**
@@ -3007,6 +3267,10 @@ public class SOCServer extends Server
             else if ((strSocketName != null) && (strSocketName.equals(PRACTICE_STRINGPORT)))
                 newGame.isPractice = true;  // flag if practice game (set since 1.1.09)
 
+            scheduleGameTimers(newGame);
+            if (gameEventJournal != null)
+                gameEventJournal.gameStarted(gaName);
+
             if (c != null)
                 // Add this (creating) player to the game
                 gameList.addMember(c, gaName);
@@ -3653,24 +3917,21 @@ public class SOCServer extends Server
          */
 
         ///
-        /// delete the game from gamelist,
-        /// tell all robots to leave
+        /// delete the game from gamelist.
+        /// Robots leave when they receive the SOCDeleteGame broadcast.
+        /// (Before v2.4.50 this also looped through members to send SOCRobotDismiss,
+        /// but deleteGame had already emptied that member list so nothing was sent.)
         ///
-        Vector<Connection> members = null;
-        members = gameList.getMembers(gm);
-
         gameList.deleteGame(gm);  // also calls SOCGame.destroyGame
 
-        if (members != null)
-        {
-            Enumeration<Connection> conEnum = members.elements();
+        final GameTimers gt = gameTimers.remove(gm);
+        if (gt != null)
+            gt.cancel();
 
-            while (conEnum.hasMoreElements())
-            {
-                Connection con = conEnum.nextElement();
-                messageToPlayer(con, null, PN_NON_EVENT, new SOCRobotDismiss(gm));
-            }
-        }
+        if (gameAutosaver != null)
+            gameAutosaver.gameEnded(gm);
+        if (gameEventJournal != null)
+            gameEventJournal.gameEnded(gm);
 
         // Reduce the owner's games-active count
         final String gaOwner = cg.getOwner();
@@ -3686,7 +3947,7 @@ public class SOCServer extends Server
             return;
         }
 
-        if (numRobotOnlyGamesRemaining > 0)
+        if (numRobotOnlyGamesRemaining.get() > 0)
         {
             startRobotOnlyGames(true, true);
         }
@@ -4025,7 +4286,7 @@ public class SOCServer extends Server
         {
             for (String ga : gameList.getGameNames())
             {
-                Vector<Connection> v = gameList.getMembers(ga);
+                List<Connection> v = gameList.getMembers(ga);
 
                 if (v.contains(c))
                 {
@@ -4082,7 +4343,7 @@ public class SOCServer extends Server
      */
     public void messageToChannel(String ch, SOCMessage mes)
     {
-        final String mesCmd = mes.toCmd();
+        final EncodedFrame mesFrame = new EncodedFrame(mes);  // encoded once, shared by all members
 
         channelList.takeMonitorForChannel(ch);
 
@@ -4100,7 +4361,7 @@ public class SOCServer extends Server
 
                     if (c != null)
                     {
-                        c.put(mesCmd);
+                        c.put(mesFrame);
                     }
                 }
             }
@@ -4128,7 +4389,7 @@ public class SOCServer extends Server
 
         if (v != null)
         {
-            final String mesCmd = mes.toCmd();
+            final EncodedFrame mesFrame = new EncodedFrame(mes);  // encoded once, shared by all members
 
             Enumeration<Connection> menum = v.elements();
 
@@ -4138,7 +4399,7 @@ public class SOCServer extends Server
 
                 if (c != null)
                 {
-                    c.put(mesCmd);
+                    c.put(mesFrame);
                 }
             }
         }
@@ -4460,7 +4721,10 @@ public class SOCServer extends Server
      * Send a message to the given game.
      * Optionally calls {@link #recordGameEvent(String, SOCMessage)}.
      *<P>
-     * <b>Locks:</b> Takes, releases {@link SOCGameList#takeMonitorForGame(String)}.
+     * <b>Locks:</b> None: Sends to a snapshot of the game's members from
+     * {@link SOCGameListAtServer#getMembers(String)}. Before v2.4.50 this method took and released
+     * {@link SOCGameList#takeMonitorForGame(String)}. If messages from several threads to the same game
+     * must reach every member in the same order, those threads should hold that monitor while sending.
      *
      * @param gameName  the name of the game
      * @param isEvent  if true, calls {@link #recordGameEvent(String, SOCMessage) recordGameEvent(gameName, mes)};
@@ -4479,28 +4743,22 @@ public class SOCServer extends Server
         if (isEvent)
             recordGameEvent(gameName, mes);
 
-        final String mesCmd = mes.toCmd();
+        gameList.invalidateJoinSnapshot(gameName, mes);  // game may have changed: joining clients need new board state
+        final List<Connection> v = gameList.getMembers(gameName);  // snapshot: no lock needed
+        if (v == null)
+            return;
 
-        gameList.takeMonitorForGame(gameName);
+        final EncodedFrame mesFrame = new EncodedFrame(mes);  // encoded once, shared by all members
 
         try
         {
-            Vector<Connection> v = gameList.getMembers(gameName);
-
-            if (v != null)
+            //D.ebugPrintln("M2G - "+mes);
+            for (final Connection c : v)
             {
-                //D.ebugPrintln("M2G - "+mes);
-                Enumeration<Connection> menum = v.elements();
-
-                while (menum.hasMoreElements())
+                if (c != null)
                 {
-                    Connection c = menum.nextElement();
-
-                    if (c != null)
-                    {
-                        //currentGameEventRecord.addMessageOut(new SOCMessageRecord(mes, "SERVER", c.getData()));
-                        c.put(mesCmd);
-                    }
+                    //currentGameEventRecord.addMessageOut(new SOCMessageRecord(mes, "SERVER", c.getData()));
+                    c.put(mesFrame);
                 }
             }
         }
@@ -4508,8 +4766,6 @@ public class SOCServer extends Server
         {
             D.ebugPrintStackTrace(e, "Exception in messageToGame");
         }
-
-        gameList.releaseMonitorForGame(gameName);
     }
 
     /**
@@ -4554,7 +4810,8 @@ public class SOCServer extends Server
      * Client versions older than v2.0.00 will be sent
      * {@link SOCGameTextMsg}(ga, {@link #SERVERNAME}, txt).
      *<P>
-     * <b>Locks:</b> Takes, releases {@link SOCGameList#takeMonitorForGame(String)}.
+     * <b>Locks:</b> None, like {@link #messageToGame(String, boolean, SOCMessage)}.
+     * Before v2.4.50 this method took and released {@link SOCGameList#takeMonitorForGame(String)}.
      *
      * @param ga  the name of the game
      * @param isEvent  if true, calls {@link #recordGameEvent(String, SOCMessage)};
@@ -4572,31 +4829,26 @@ public class SOCServer extends Server
     public void messageToGame(final String ga, final boolean isEvent, final String txt)
     {
         final SOCGameServerText msg = new SOCGameServerText(ga, txt);
-        final String gameServTxtMsg = msg.toCmd();
 
         if (isEvent)
             recordGameEvent(ga, msg);
 
-        gameList.takeMonitorForGame(ga);
+        final List<Connection> v = gameList.getMembers(ga);  // snapshot: no lock needed
+        if (v == null)
+            return;
+
+        final EncodedFrame gameServTxtFrame = new EncodedFrame(msg);  // encoded once, shared by all members
 
         try
         {
-            Vector<Connection> v = gameList.getMembers(ga);
-
-            if (v != null)
+            for (final Connection c : v)
             {
-                Enumeration<Connection> menum = v.elements();
-
-                while (menum.hasMoreElements())
+                if (c != null)
                 {
-                    Connection c = menum.nextElement();
-                    if (c != null)
-                    {
-                        if (c.getVersion() >= SOCGameServerText.VERSION_FOR_GAMESERVERTEXT)
-                            c.put(gameServTxtMsg);
-                        else
-                            c.put(new SOCGameTextMsg(ga, SERVERNAME, txt));
-                    }
+                    if (c.getVersion() >= SOCGameServerText.VERSION_FOR_GAMESERVERTEXT)
+                        c.put(gameServTxtFrame);
+                    else
+                        c.put(new SOCGameTextMsg(ga, SERVERNAME, txt));
                 }
             }
         }
@@ -4604,10 +4856,6 @@ public class SOCServer extends Server
         {
             D.ebugPrintStackTrace(e, "Exception in messageToGame");
         }
-        finally
-        {
-            gameList.releaseMonitorForGame(ga);
-        }
     }
 
     /**
@@ -4617,7 +4865,7 @@ public class SOCServer extends Server
      * Optionally calls {@link #recordGameEvent(String, SOCMessage)}.
      *<P>
      * <B>Locks:</B> If {@code takeMon} is true, takes and releases
-     * {@link SOCGameList#takeMonitorForGame(String) gameList.takeMonitorForGame(gameName)}.
+     * {@link SOCGameList#takeReadMonitorForGame(String) gameList.takeReadMonitorForGame(gameName)}.
      * Otherwise call {@link SOCGameList#takeMonitorForGame(String) gameList.takeMonitorForGame(gameName)}
      * before calling this method.
      *
@@ -4644,25 +4892,23 @@ public class SOCServer extends Server
         SOCMessage msgForRecord = null;  // needed only if isEvent && recordGameEventsIsActive()
 
         if (takeMon)
-            gameList.takeMonitorForGame(gaName);
+            gameList.takeReadMonitorForGame(gaName);
 
         try
         {
-            Vector<Connection> v = gameList.getMembers(gaName);
+            gameList.invalidateJoinSnapshot(gaName, (SOCMessage) msg);
+            final List<Connection> v = gameList.getMembers(gaName);
 
             if (v != null)
             {
-                Enumeration<Connection> menum = v.elements();
-
                 final String msgKey = msg.getKey();
 
                 // for reuse as rendered for previous client during loop:
                 String localText = null, gameTxtLocale = null;
                 SOCMessage gameLocalMsg = null;
 
-                while (menum.hasMoreElements())
+                for (final Connection c : v)
                 {
-                    Connection c = menum.nextElement();
                     if (c == null)
                         continue;
 
@@ -4723,7 +4969,7 @@ public class SOCServer extends Server
         finally
         {
             if (takeMon)
-                gameList.releaseMonitorForGame(gaName);
+                gameList.releaseReadMonitorForGame(gaName);
         }
     }
 
@@ -5030,7 +5276,7 @@ public class SOCServer extends Server
      *     see that method for its message version requirements
      * @param eventExclPNs  {@code ex}'s player numbers if any, if {@code isEvent}; otherwise {@code null}
      * @param takeMon Should this method take and release
-     *                game's monitor via {@link SOCGameList#takeMonitorForGame(String)} ?
+     *                game's monitor via {@link SOCGameList#takeReadMonitorForGame(String)} ?
      *                True unless caller already holds that monitor.
      * @param members  Game members to send to, from {@link SOCGameListAtServer#getMembers(String)}.
      *            Any member in this list with null locale (such as robots) will be skipped and not sent the message.
@@ -5073,46 +5319,33 @@ public class SOCServer extends Server
         SOCMessage msgForRecord = null;  // needed only if isEvent && recordGameEventsIsActive()
 
         if (takeMon)
-            gameList.takeMonitorForGame(gaName);
+            gameList.takeReadMonitorForGame(gaName);
 
         try
         {
-                Iterator<Connection> miter = members.iterator();
-
-                // for reuse as rendered for previous client during loop:
-                String gameText = null, gameTxtLocale = null;
-                SOCMessage gameTextMsg = null;
-
-                while (miter.hasNext())
+                // Format and encode the text once per locale, then send it to that locale's members
+                for (final List<Connection> group : groupMembersByLocale(members, ex, hasMultiLocales))
                 {
-                    Connection c = miter.next();
-                    if ((c == null) || (c == ex))
-                        continue;
-
-                    final String cliLocale = c.getI18NLocale();
-                    if (cliLocale == null)
-                        continue;  // skip bots
-
-                    if ((gameTextMsg == null)
-                        || (hasMultiLocales && ! cliLocale.equals(gameTxtLocale)))
+                    final Connection c0 = group.get(0);
+                    final String gameText = (fmtSpecial)
+                        ? c0.getLocalizedSpecial(ga, key, params)
+                        : ((params != null) ? c0.getLocalized(key, params) : c0.getLocalized(key));
+                    final SOCMessage gameTextMsg = new SOCGameServerText(gaName, gameText);
+                    final EncodedFrame gameTextFrame = new EncodedFrame(gameTextMsg);  // shared by group's members
+
+                    if (isEvent && (msgForRecord == null) && recordGameEventsIsActive()
+                        && ("en_US".equals(c0.getI18NLocale())))
+                        msgForRecord = gameTextMsg;
+
+                    for (final Connection c : group)
                     {
-                        gameText = (fmtSpecial)
-                            ? c.getLocalizedSpecial(ga, key, params)
-                            : ((params != null) ? c.getLocalized(key, params) : c.getLocalized(key));
-                        gameTextMsg = new SOCGameServerText(gaName, gameText);
-                        gameTxtLocale = cliLocale;
-
-                        if (isEvent && (msgForRecord == null) && recordGameEventsIsActive()
-                            && ("en_US".equals(cliLocale)))
-                            msgForRecord = gameTextMsg;
+                        if (c.getVersion() >= SOCGameServerText.VERSION_FOR_GAMESERVERTEXT)
+                            c.put(gameTextFrame);
+                        else
+                            // old client (this is uncommon) needs a different message type
+                            c.put(new SOCGameTextMsg
+                                (gaName, SERVERNAME, gameText));
                     }
-
-                    if ((c.getVersion() >= SOCGameServerText.VERSION_FOR_GAMESERVERTEXT) && (gameTextMsg != null))
-                        c.put(gameTextMsg);
-                    else
-                        // old client (this is uncommon) needs a different message type
-                        c.put(new SOCGameTextMsg
-                            (gaName, SERVERNAME, gameText));
                 }
 
                 if (isEvent && recordGameEventsIsActive())
@@ -5148,8 +5381,47 @@ public class SOCServer extends Server
         finally
         {
             if (takeMon)
-                gameList.releaseMonitorForGame(gaName);
+                gameList.releaseReadMonitorForGame(gaName);
+        }
+    }
+
+    /**
+     * Group a game's members by their locale, for sending them localized text
+     * which is formatted once per locale. Used by
+     * {@link #impl_messageToGameKeyedSpecial(SOCGame, boolean, int[], boolean, List, Connection, boolean, String, Object...)}.
+     * Members with null locale (such as robots) are skipped.
+     * @param members  Game members, from {@link SOCGameListAtServer#getMembers(String)}; not null
+     * @param ex  Member to exclude, or {@code null}
+     * @param hasMultiLocales  Game's {@link SOCGame#hasMultiLocales} flag; if false,
+     *     all members are placed in one group as if they had the first member's locale
+     * @return  Groups of members, each group non-empty and in the order of its first member within {@code members};
+     *     empty if no members have a locale
+     * @since 2.4.50
+     */
+    private static Collection<List<Connection>> groupMembersByLocale
+        (final List<Connection> members, final Connection ex, final boolean hasMultiLocales)
+    {
+        final Map<String, List<Connection>> groups = new LinkedHashMap<>();
+        for (final Connection c : members)
+        {
+            if ((c == null) || (c == ex))
+                continue;
+
+            final String cliLocale = c.getI18NLocale();
+            if (cliLocale == null)
+                continue;  // skip bots
+
+            final String groupKey = (hasMultiLocales) ? cliLocale : "";
+            List<Connection> group = groups.get(groupKey);
+            if (group == null)
+            {
+                group = new ArrayList<>();
+                groups.put(groupKey, group);
+            }
+            group.add(c);
         }
+
+        return groups.values();
     }
 
     /**
@@ -5193,22 +5465,20 @@ public class SOCServer extends Server
         if (isEvent)
             recordGameEvent(gameName, mes);
 
-        Vector<Connection> v = gameList.getMembers(gameName);
+        gameList.invalidateJoinSnapshot(gameName, mes);
+        final List<Connection> v = gameList.getMembers(gameName);
         if (v == null)
             return;
 
         //D.ebugPrintln("M2G - "+mes);
-        final String mesCmd = mes.toCmd();
-        Enumeration<Connection> menum = v.elements();
+        final EncodedFrame mesFrame = new EncodedFrame(mes);  // encoded once, shared by all members
 
-        while (menum.hasMoreElements())
+        for (final Connection c : v)
         {
-            Connection c = menum.nextElement();
-
             if (c != null)
             {
                 //currentGameEventRecord.addMessageOut(new SOCMessageRecord(mes, "SERVER", c.getData()));
-                c.put(mesCmd);
+                c.put(mesFrame);
             }
         }
     }
@@ -5231,9 +5501,9 @@ public class SOCServer extends Server
      *     If text begins with ">>>", the client should consider this
      *     an urgent message, and draw the user's attention in some way.
      *     (See {@link #messageToGameUrgent(String, boolean, String)})
-     * @param takeMon Should this method take and release
+     * @param takeMon  Ignored since v2.4.50, because members are sent to from a lock-free snapshot
+     *     of {@link SOCGameListAtServer#getMembers(String)}. Before then: Should this method take and release
      *     game's monitor via {@link SOCGameList#takeMonitorForGame(String)} ?
-     *     True unless caller already holds that monitor.
      * @see #messageToGame(String, boolean, String)
      * @see #messageToGameExcept(String, Connection, int, SOCMessage, boolean)
      * @see #messageToGameExcept(String, List, int[], SOCMessage, boolean)
@@ -5255,7 +5525,8 @@ public class SOCServer extends Server
      * @param eventExclPNs  {@code ex}'s player numbers if this is a game event which should be recorded;
      *     otherwise {@code null}
      * @param mes the message
-     * @param takeMon Should this method take and release
+     * @param takeMon  Ignored since v2.4.50, because members are sent to from a lock-free snapshot
+     *     of {@link SOCGameListAtServer#getMembers(String)}. Before then: Should this method take and release
      *     game's monitor via {@link SOCGameList#takeMonitorForGame(String)} ?
      * @see #messageToGameExcept(String, Connection, int, SOCMessage, boolean)
      * @see #messageToGameForVersionsExcept(SOCGame, int, int, List, SOCMessage, boolean)
@@ -5266,28 +5537,22 @@ public class SOCServer extends Server
         if (eventExclPNs != null)
             recordGameEventNotTo(gn, eventExclPNs, mes);
 
-        if (takeMon)
-            gameList.takeMonitorForGame(gn);
+        gameList.invalidateJoinSnapshot(gn, mes);
+        final List<Connection> v = gameList.getMembers(gn);  // snapshot: no lock needed
+        if (v == null)
+            return;
 
         try
         {
-            Vector<Connection> v = gameList.getMembers(gn);
+            //D.ebugPrintln("M2GE - "+mes);
+            final EncodedFrame mesFrame = new EncodedFrame(mes);  // encoded once, shared by all members
 
-            if (v != null)
+            for (final Connection con : v)
             {
-                //D.ebugPrintln("M2GE - "+mes);
-                final String mesCmd = mes.toCmd();
-                Enumeration<Connection> menum = v.elements();
-
-                while (menum.hasMoreElements())
+                if ((con != null) && ! ex.contains(con))
                 {
-                    Connection con = menum.nextElement();
-
-                    if ((con != null) && ! ex.contains(con))
-                    {
-                        //currentGameEventRecord.addMessageOut(new SOCMessageRecord(mes, "SERVER", con.getData()));
-                        con.put(mesCmd);
-                    }
+                    //currentGameEventRecord.addMessageOut(new SOCMessageRecord(mes, "SERVER", con.getData()));
+                    con.put(mesFrame);
                 }
             }
         }
@@ -5295,11 +5560,6 @@ public class SOCServer extends Server
         {
             D.ebugPrintStackTrace(e, "Exception in messageToGameExcept");
         }
-        finally
-        {
-            if (takeMon)
-                gameList.releaseMonitorForGame(gn);
-        }
     }
 
     /**
@@ -5311,7 +5571,8 @@ public class SOCServer extends Server
      * @param eventExclPN  {@code ex}'s player number if this is a game event which should be recorded;
      *     otherwise {@link #PN_NON_EVENT}
      * @param mes the message
-     * @param takeMon Should this method take and release
+     * @param takeMon  Ignored since v2.4.50, because members are sent to from a lock-free snapshot
+     *     of {@link SOCGameListAtServer#getMembers(String)}. Before then: Should this method take and release
      *     game's monitor via {@link SOCGameList#takeMonitorForGame(String)} ?
      * @see #messageToGameExcept(String, Connection, int, String, boolean)
      * @see #messageToGameExcept(String, List, int[], SOCMessage, boolean)
@@ -5323,39 +5584,29 @@ public class SOCServer extends Server
         if (eventExclPN != PN_NON_EVENT)
             recordGameEventNotTo(gn, eventExclPN, mes);
 
-        if (takeMon)
-            gameList.takeMonitorForGame(gn);
+        gameList.invalidateJoinSnapshot(gn, mes);
+        final List<Connection> v = gameList.getMembers(gn);  // snapshot: no lock needed
+        if (v == null)
+            return;
 
         try
         {
-            Vector<Connection> v = gameList.getMembers(gn);
+            //D.ebugPrintln("M2GE - "+mes);
+            final EncodedFrame mesFrame = new EncodedFrame(mes);  // encoded once, shared by all members
 
-            if (v != null)
+            for (final Connection con : v)
             {
-                //D.ebugPrintln("M2GE - "+mes);
-                final String mesCmd = mes.toCmd();
-                Enumeration<Connection> menum = v.elements();
-
-                while (menum.hasMoreElements())
-                {
-                    Connection con = menum.nextElement();
-                    if ((con == null) || (con == ex))
-                        continue;
+                if ((con == null) || (con == ex))
+                    continue;
 
-                    //currentGameEventRecord.addMessageOut(new SOCMessageRecord(mes, "SERVER", con.getData()));
-                    con.put(mesCmd);
-                }
+                //currentGameEventRecord.addMessageOut(new SOCMessageRecord(mes, "SERVER", con.getData()));
+                con.put(mesFrame);
             }
         }
         catch (Exception e)
         {
             D.ebugPrintStackTrace(e, "Exception in messageToGameExcept");
         }
-        finally
-        {
-            if (takeMon)
-                gameList.releaseMonitorForGame(gn);
-        }
     }
 
     /**
@@ -5371,10 +5622,9 @@ public class SOCServer extends Server
      *                {@link Version#versionNumber()} and {@link Connection#getVersion()}.
      * @param vmax  Maximum version to send to, or {@link Integer#MAX_VALUE}
      * @param mes  the message
-     * @param takeMon Should this method take and release
-     *                game's monitor via {@link SOCGameList#takeMonitorForGame(String)} ?
-     *                If the game's clients are all older than <tt>vmin</tt> or
-     *                newer than <tt>vmax</tt>, nothing happens and the monitor isn't taken.
+     * @param takeMon  Ignored since v2.4.50, because members are sent to from a lock-free snapshot
+     *     of {@link SOCGameListAtServer#getMembers(String)}. Before then: Should this method take and release
+     *     game's monitor via {@link SOCGameList#takeMonitorForGame(String)} ?
      * @see #messageToGameForVersionsKeyed(SOCGame, int, int, boolean, String, Object...)
      * @since 1.1.19
      */
@@ -5398,10 +5648,9 @@ public class SOCServer extends Server
      * @param vmax  Maximum version to send to, or {@link Integer#MAX_VALUE}
      * @param ex  the excluded connection, or null
      * @param mes  the message
-     * @param takeMon Should this method take and release
-     *                game's monitor via {@link SOCGameList#takeMonitorForGame(String)} ?
-     *                If the game's clients are all older than <tt>vmin</tt> or
-     *                newer than <tt>vmax</tt>, nothing happens and the monitor isn't taken.
+     * @param takeMon  Ignored since v2.4.50, because members are sent to from a lock-free snapshot
+     *     of {@link SOCGameListAtServer#getMembers(String)}. Before then: Should this method take and release
+     *     game's monitor via {@link SOCGameList#takeMonitorForGame(String)} ?
      * @since 1.1.19
      * @see #messageToGameForVersionsExcept(SOCGame, int, int, List, SOCMessage, boolean)
      * @see #messageToGameExcept(String, Connection, int, SOCMessage, boolean)
@@ -5437,10 +5686,9 @@ public class SOCServer extends Server
      * @param vmax  Maximum version to send to, or {@link Integer#MAX_VALUE}
      * @param ex  the excluded connections, or null
      * @param mes  the message
-     * @param takeMon Should this method take and release
-     *                game's monitor via {@link SOCGameList#takeMonitorForGame(String)} ?
-     *                If the game's clients are all older than <tt>vmin</tt> or
-     *                newer than <tt>vmax</tt>, nothing happens and the monitor isn't taken.
+     * @param takeMon  Ignored since v2.4.50, because members are sent to from a lock-free snapshot
+     *     of {@link SOCGameListAtServer#getMembers(String)}. Before then: Should this method take and release
+     *     game's monitor via {@link SOCGameList#takeMonitorForGame(String)} ?
      * @since 2.4.50
      * @see #messageToGameForVersionsExcept(SOCGame, int, int, Connection, SOCMessage, boolean)
      * @see #messageToGameExcept(String, List, int[], SOCMessage, boolean)
@@ -5450,51 +5698,41 @@ public class SOCServer extends Server
         (final SOCGame ga, final int vmin, final int vmax, final List<Connection> ex,
          final SOCMessage mes, final boolean takeMon)
     {
+        gameList.invalidateJoinSnapshot(ga.getName(), mes);  // even if no members get it
+
         if ((ga.clientVersionLowest > vmax) || (ga.clientVersionHighest < vmin))
             return;  // <--- All clients too old or too new ---
 
-        final String gn = ga.getName();
-
-        if (takeMon)
-            gameList.takeMonitorForGame(gn);
+        final List<Connection> v = gameList.getMembers(ga.getName());  // snapshot: no lock needed
+        if (v == null)
+            return;
 
         // Some code here is similar to messageToGameForVersionsKeyed:
         // If you change code here, consider changing it there too
 
         try
         {
-            Vector<Connection> v = gameList.getMembers(gn);
-            if (v != null)
-            {
-                String mesCmd = null;  // lazy init, will be mes.toCmd()
-                Enumeration<Connection> menum = v.elements();
+            EncodedFrame mesFrame = null;  // lazy init, encoded once and shared by all recipients
 
-                while (menum.hasMoreElements())
-                {
-                    Connection con = menum.nextElement();
-                    if ((con == null) || ((ex != null) && ex.contains(con)))
-                        continue;
+            for (final Connection con : v)
+            {
+                if ((con == null) || ((ex != null) && ex.contains(con)))
+                    continue;
 
-                    final int cv = con.getVersion();
-                    if ((cv < vmin) || (cv > vmax))
-                        continue;
+                final int cv = con.getVersion();
+                if ((cv < vmin) || (cv > vmax))
+                    continue;
 
-                    //currentGameEventRecord.addMessageOut(new SOCMessageRecord(mes, "SERVER", con.getData()));
-                    if (mesCmd == null)
-                        mesCmd = mes.toCmd();
-                    con.put(mesCmd);
-                }
+                //currentGameEventRecord.addMessageOut(new SOCMessageRecord(mes, "SERVER", con.getData()));
+                if (mesFrame == null)
+                    mesFrame = new EncodedFrame(mes);
+                con.put(mesFrame);
             }
         }
         catch (Exception e)
         {
             D.ebugPrintStackTrace(e, "Exception in messageToGameForVersionsExcept");
         }
-        finally
-        {
-            if (takeMon)
-                gameList.releaseMonitorForGame(gn);
-        }
     }
 
     /**
@@ -5612,7 +5850,7 @@ public class SOCServer extends Server
 
         try
         {
-            Vector<Connection> v = gameList.getMembers(gaName);
+            final List<Connection> v = gameList.getMembers(gaName);
             if (v == null)
                 return;
 
@@ -5620,10 +5858,8 @@ public class SOCServer extends Server
             String gameText = null, gameTxtLocale = null;
             SOCMessage gameTextMsg = null;
 
-            final Enumeration<Connection> menum = v.elements();
-            while (menum.hasMoreElements())
+            for (final Connection c : v)
             {
-                final Connection c = menum.nextElement();
                 if ((c == null) || ((ex != null) && ex.contains(c)))
                     continue;
 
@@ -5989,7 +6225,10 @@ public class SOCServer extends Server
                     leaveGameMemberAndCleanup(oldConn, ga, null);
         }
 
-        numberOfUsers++;
+        synchronized (countFieldSync)
+        {
+            numberOfUsers++;
+        }
     }
 
     /**
@@ -6514,6 +6753,8 @@ public class SOCServer extends Server
     /**
      * The server is being cleanly stopped.  Send a final message, wait 500 milliseconds,
      * disconnect all the connections, disconnect from database if connected.
+     * If {@link SOCDBHelper#PROP_JSETTLERS_DB_WRITE__BEHIND} is set, any queued DB writes
+     * are written before disconnecting from the database.
      * Does not call {@link System#exit(int)} in case caller wants to use a different exit code status value.
      *<P>
      * Currently called only by the debug command "*STOP*", by
@@ -6547,6 +6788,12 @@ public class SOCServer extends Server
         }
 
         /// now continue with shutdown
+        if (gameAutosaver != null)
+            gameAutosaver.shutdown();  // before disconnects destroy any games, so they can be resumed
+        gameTimerWheel.stop();
+        forceEndTurnExecutor.shutdown();
+        if (gameEventJournal != null)
+            gameEventJournal.shutdown();
         db.cleanup(true);
 
         super.stopServer();
@@ -6627,7 +6874,8 @@ public class SOCServer extends Server
      *     flag bit set, and possibly also {@link #AUTH_OR_REJECT__SET_USERNAME} and/or (only if
      *     {@code allowTakeover}) {@link #AUTH_OR_REJECT__TAKING_OVER}.
      *     <BR>
-     *     <B>Threads:</B> This callback will always run on the {@link InboundMessageQueue}'s Treater thread.
+     *     <B>Threads:</B> This callback will always run on the {@link InboundMessageQueue}'s Treater thread;
+     *     if using game lanes, the same lane's Treater which called this method.
      * @throws IllegalArgumentException if {@code authCallback} is null
      * @see #authOrRejectClientRobot(Connection, String, String, String)
      * @since 1.1.19
@@ -6731,6 +6979,7 @@ public class SOCServer extends Server
         {
             final String msgUserName = msgUser;
             final boolean takingOver = isTakingOver;
+            final int callerLane = inQueue.getCurrentThreadLane();  // to finish auth on same lane's Treater
             db.authenticateUserPassword
                 (msgUser, msgPass, new SOCDBHelper.AuthPasswordRunnable()
                 {
@@ -6738,12 +6987,12 @@ public class SOCServer extends Server
                     {
                         // If no DB: If msgPass is "" then dbUserName is msgUser, else is null
 
-                        if (inQueue.isCurrentThreadTreater())
+                        if (inQueue.isCurrentThreadTreater() && (inQueue.getCurrentThreadLane() == callerLane))
                             authOrRejectClientUser_postDBAuth
                                 (c, msgUserName, dbUserName, cliVers,
                                  doNameConnection, takingOver, authCallback, hadDelay);
                         else
-                            inQueue.post(new Runnable()
+                            inQueue.postToLane(callerLane, new Runnable()
                             {
                                 public void run()
                                 {
@@ -8001,6 +8250,106 @@ public class SOCServer extends Server
         }
     }
 
+    /**
+     * At server startup, resume the games interrupted by a server stop or crash, if {@link #gameAutosaver} is set:
+     * Loads each file from {@link GameAutosaver#findAutosaves()}, adds the game to the game list,
+     * and calls {@link #resumeReloadedGame(Connection, SOCGame)} to invite robots to all its seats
+     * found by {@link SavedGameModel#findSeatsNeedingBots()}. Once they've all sat down, play continues.
+     * Human players can rejoin as observers. Resumed games have no owner.
+     *<P>
+     * If a file can't be loaded, prints a warning and leaves it in place.
+     * Called from {@link #serverUp()} after a short delay, once robots have connected.
+     * @since 2.4.50
+     */
+    void resumeAutosavedGames()
+    {
+        final GameAutosaver autosaver = gameAutosaver;
+        if (autosaver == null)
+            return;
+
+        for (final File f : autosaver.findAutosaves())
+        {
+            final SavedGameModel sgm;
+            try
+            {
+                sgm = GameLoaderJSON.loadGame(f, this);
+            } catch (Exception e) {
+                System.err.println("Autosave: Can't load " + f.getName() + ", leaving it in place: " + e);
+                continue;
+            }
+
+            if (sgm.gameState >= SOCGame.OVER)
+            {
+                autosaver.deleteAutosave(f);
+                continue;
+            }
+
+            final SOCGame ga = sgm.getGame();
+            final SOCGameOptionSet opts = ga.getGameOptions();
+            final SOCGame newGame;
+            try
+            {
+                newGame = createGameAndBroadcast
+                    (null, ga.getName(), opts, ga,
+                     (opts != null) ? SOCVersionedItem.itemsMinimumVersion(opts.getAll()) : -1, false, false);
+            } catch (NoSuchElementException e) {
+                System.err.println("Autosave: Can't resume " + f.getName() + ": Game name in use");
+                continue;
+            }
+            if (newGame == null)
+                continue;
+
+            final String gaName = newGame.getName();
+            if (! gaName.equals(sgm.gameName))
+                autosaver.deleteAutosave(f);  // renamed; will be autosaved under its new name
+
+            // Like createAndJoinReloadedGame: Give it time for at least 1 expiration check before warning
+            final long now = System.currentTimeMillis();
+            final long thresholdMin = GAME_TIME_EXPIRE_CHECK_MINUTES + GAME_TIME_EXPIRE_WARN_MINUTES;
+            if (thresholdMin >= (int) ((newGame.getExpiration() - now) / (60 * 1000L)))
+                newGame.setExpiration(now + (60 * 1000 * (1 + thresholdMin)));
+
+            try
+            {
+                final String problem = resumeReloadedGame(null, newGame);
+                System.err.println("Autosave: Resuming game " + gaName
+                    + (((problem != null) && ! RESUME_RELOADED_FETCHING_ROBOTS.equals(problem))
+                       ? ": " + problem : ""));
+            } catch (RuntimeException e) {
+                System.err.println("Autosave: Can't resume game " + gaName + ": " + e);
+            }
+        }
+    }
+
+    /**
+     * At the end of a game's turn, autosave it if {@link #PROP_JSETTLERS_SAVEGAME_AUTOSAVE__SEC} is set.
+     * Calls {@link GameAutosaver#checkpoint(SOCGame)}.
+     *<P>
+     * <B>Locks:</B> Caller must hold the game's lock ({@link SOCGame#takeMonitor()}).
+     * @param ga  Game whose turn has ended; not null
+     * @since 2.4.50
+     */
+    void autosaveGameAtTurnEnd(final SOCGame ga)
+    {
+        final GameAutosaver autosaver = gameAutosaver;
+        if (autosaver != null)
+            autosaver.checkpoint(ga);
+    }
+
+    /**
+     * A game has just been won: Delete its autosave if {@link #PROP_JSETTLERS_SAVEGAME_AUTOSAVE__SEC} is set,
+     * so a finished game isn't resumed at the next startup if the server stops before the game is destroyed.
+     * Calls {@link GameAutosaver#gameEnded(String)}.
+     * @param gaName  Game whose state has become {@link SOCGame#OVER}; not null
+     * @since 2.4.50
+     */
+    void autosaveGameOver(final String gaName)
+    {
+        final GameAutosaver autosaver = gameAutosaver;
+        if (autosaver != null)
+            autosaver.gameEnded(gaName);
+    }
+
     /**
      * Start a few robot-only games if {@link #numRobotOnlyGamesRemaining} &gt; 0.
      * Later as these games end, the server will start new games as long as
@@ -8031,7 +8380,7 @@ public class SOCServer extends Server
         } else {
             nParallel = getConfigIntProperty(PROP_JSETTLERS_BOTS_BOTGAMES_PARALLEL, 4);
             if (nParallel == 0)
-                nParallel = numRobotOnlyGamesRemaining;
+                nParallel = numRobotOnlyGamesRemaining.get();
         }
 
         final SOCGameOptionSet allOpts = new SOCGameOptionSet();
@@ -8044,9 +8393,16 @@ public class SOCServer extends Server
         }
 
         StringBuilder desc = new StringBuilder();
-        for (int i = 0; (i < nParallel) && (numRobotOnlyGamesRemaining > 0); ++i)
+        for (int i = 0; i < nParallel; ++i)
         {
-            final int gameNum = numRobotOnlyGamesRemaining;
+            // claim a game number before creating it, so concurrent callers can't start too many
+            final int gameNum = numRobotOnlyGamesRemaining.getAndDecrement();
+            if (gameNum <= 0)
+            {
+                numRobotOnlyGamesRemaining.incrementAndGet();  // none remained; undo
+                break;
+            }
+
             String gaName = "~botsOnly~" + gameNum;
             final SOCGameOptionSet opts = new SOCGameOptionSet(allOpts, true);
             if (gameTypes > 1)
@@ -8078,8 +8434,6 @@ public class SOCServer extends Server
 
             if (newGame != null)
             {
-                --numRobotOnlyGamesRemaining;
-
                 gaName = newGame.getName();  // in case was changed to avoid duplicate
                 System.out.println("Started bot-only game: " + gaName + desc.toString());
                 newGame.setGameState(SOCGame.READY);
@@ -8089,6 +8443,7 @@ public class SOCServer extends Server
                     newGame.setGameState(SOCGame.OVER);
                 }
             } else {
+                numRobotOnlyGamesRemaining.incrementAndGet();  // give back the claimed game number
                 // TODO couldn't create game; maybe try another to keep the loop going?
             }
         }
@@ -9407,6 +9762,23 @@ public class SOCServer extends Server
         }
     }
 
+    /**
+     * Increment {@link #numberOfGamesStarted}.
+     * Call when a game's state becomes {@link SOCGame#READY} or higher from an earlier/lower state.
+     *<P>
+     * Thread-safe; synchronizes on an internal object,
+     * since game lanes may start games at the same time.
+     * Package-level access for calls from {@link GameHandler}s.
+     * @since 2.4.50
+     */
+    void gameStartedIncrCount()
+    {
+        synchronized (countFieldSync)
+        {
+            ++numberOfGamesStarted;
+        }
+    }
+
     /**
      * Increment {@link #numberOfGamesFinished} and related server-statistics fields.
      * Call when a game's state becomes {@link SOCGame#OVER} (or higher)
@@ -9531,13 +9903,13 @@ public class SOCServer extends Server
      * Are game events being recorded by {@link #recordGameEvent(String, SOCMessage)} and similar methods?
      * If not, server shouldn't waste extra effort for ensuring consistent game event log contents,
      * like localizing text into {@link Locale#US}.
-     * This stub returns false.
+     * Returns true if {@link #PROP_JSETTLERS_GAMEEVENTS_JOURNAL_DIR} is set, otherwise false.
      * @return true if {@link #recordGameEvent(String, SOCMessage)} and similar methods aren't empty stubs
      * @since 2.4.50
      */
     public boolean recordGameEventsIsActive()
     {
-        return false;
+        return (gameEventJournal != null);
     }
 
     /**
@@ -9547,7 +9919,8 @@ public class SOCServer extends Server
      * This method is seldom called directly. Most places call methods like
      * {@link #messageToGame(String, boolean, SOCMessage)} with parameters to request recording.
      *<P>
-     * This stub can be overridden.
+     * If {@link #PROP_JSETTLERS_GAMEEVENTS_JOURNAL_DIR} is set, appends the event to its game's
+     * {@link GameEventJournal}. Otherwise this method is a stub, which can be overridden.
      * If {@link #recordGameEventsIsActive()} is false, you can assume this method is a stub.
      * For a sample implementation, see unit test helper {@code soctest.server.RecordingTesterServer}.
      *<P>
@@ -9563,18 +9936,9 @@ public class SOCServer extends Server
      */
     public void recordGameEvent(final String gameName, SOCMessage event)
     {
-        /*
-           FileWriter fw = (FileWriter)gameDataFiles.get(gameName);
-           if (fw != null) {
-           try {
-           fw.write(event.toCmd()+"\n");
-           //D.ebugPrintln("WROTE |"+event+"|");
-           } catch (Exception e) {
-           D.ebugPrintln(e.toString());
-           D.ebugPrintln("Unable to write to disk.");
-           }
-           }
-         */
+        final GameEventJournal journal = gameEventJournal;
+        if (journal != null)
+            journal.append(gameName, -1, null, event);
     }
 
     /**
@@ -9585,7 +9949,8 @@ public class SOCServer extends Server
      * This method is seldom called directly. Most places call methods like
      * {@link #messageToPlayer(Connection, String, int, SOCMessage)} with parameters to request recording.
      *<P>
-     * This stub can be overridden.
+     * If {@link #PROP_JSETTLERS_GAMEEVENTS_JOURNAL_DIR} is set, appends the event to its game's
+     * {@link GameEventJournal}. Otherwise this method is a stub, which can be overridden.
      * If {@link #recordGameEventsIsActive()} is false, you can assume this method is a stub.
      *<P>
      * If {@code event}'s format or fields vary depending on client version, use the latest version here.
@@ -9601,11 +9966,15 @@ public class SOCServer extends Server
      */
     public void recordGameEventTo(final String gameName, final int pn, SOCMessage event)
     {
+        final GameEventJournal journal = gameEventJournal;
+        if (journal != null)
+            journal.append(gameName, pn, null, event);
     }
 
     /**
      * Record non-broadcast events that happen during the game and are sent to all but one player in that game.
-     * This stub can be overridden.
+     * If {@link #PROP_JSETTLERS_GAMEEVENTS_JOURNAL_DIR} is set, appends the event to its game's
+     * {@link GameEventJournal}. Otherwise this method is a stub, which can be overridden.
      * If {@link #recordGameEventsIsActive()} is false, you can assume this method is a stub.
      *<P>
      * If {@code event}'s format or fields vary depending on client version, use the latest version here.
@@ -9621,11 +9990,15 @@ public class SOCServer extends Server
      */
     public void recordGameEventNotTo(final String gameName, final int excludedPN, SOCMessage event)
     {
+        final GameEventJournal journal = gameEventJournal;
+        if (journal != null)
+            journal.append(gameName, -1, (excludedPN >= 0) ? new int[]{excludedPN} : null, event);
     }
 
     /**
      * Record non-broadcast events that happen during the game and are sent to most but not all players in that game.
-     * This stub can be overridden.
+     * If {@link #PROP_JSETTLERS_GAMEEVENTS_JOURNAL_DIR} is set, appends the event to its game's
+     * {@link GameEventJournal}. Otherwise this method is a stub, which can be overridden.
      * If {@link #recordGameEventsIsActive()} is false, you can assume this method is a stub.
      *<P>
      * If {@code event}'s format or fields vary depending on client version, use the latest version here.
@@ -9641,168 +10014,243 @@ public class SOCServer extends Server
      */
     public void recordGameEventNotTo(final String gameName, final int[] excludedPN, SOCMessage event)
     {
+        final GameEventJournal journal = gameEventJournal;
+        if (journal != null)
+            journal.append(gameName, -1, excludedPN, event);
+    }
+
+    /**
+     * Schedule a new game's turn timeout and expiry checks in {@link #gameTimerWheel}.
+     * Any timers from an earlier game with the same name are cancelled.
+     * Called when the game is created or loaded; timers are cancelled by {@link #destroyGame(String)}.
+     * Practice games ({@link SOCGame#isPractice} flag set) have no expiry check.
+     *
+     * @param ga  Game to schedule; its {@link SOCGame#isPractice} flag must already be set if needed
+     * @see #scheduleTurnCheck(SOCGame, long)
+     * @since 2.4.50
+     */
+    private void scheduleGameTimers(final SOCGame ga)
+    {
+        final long now = System.currentTimeMillis();
+        final GameTimers gt = new GameTimers(ga.getName());
+        final GameTimers old = gameTimers.put(ga.getName(), gt);
+        if (old != null)
+            old.cancel();
+
+        gt.scheduleTurnCheck(now + ROBOT_FORCE_ENDTURN_SECONDS * 1000L);
+        if (! ga.isPractice)
+            gt.scheduleExpiryCheck(now);
+    }
+
+    /**
+     * Check a game's turn timeout no later than a given time, instead of waiting for its usual deadline.
+     * Useful after setting {@link SOCGame#lastActionTime} to 0 to force a robot's turn to end soon.
+     * Does nothing if the game's next turn check is already that soon, or the game has no timers.
+     *
+     * @param ga  Game to check
+     * @param checkTime  When to check, from {@link System#currentTimeMillis()}
+     * @see #checkForExpiredTurn(SOCGame, long)
+     * @since 2.4.50
+     */
+    void scheduleTurnCheck(final SOCGame ga, final long checkTime)
+    {
+        final GameTimers gt = gameTimers.get(ga.getName());
+        if (gt != null)
+            gt.scheduleTurnCheckBy(checkTime);
+    }
+
+    /**
+     * A game's state or current player has changed: Schedule its turn timeout check
+     * if one isn't already pending. {@link #checkForExpiredTurn(SOCGame, long)} doesn't reschedule
+     * itself for games which are over, haven't started, or are waiting only on human players,
+     * so this re-arms the check once the game might be waiting on a robot again.
+     * Called from {@link SOCGameHandler#sendGameState(SOCGame, boolean, boolean)},
+     * which is also called for each new turn.
+     * Does nothing if game state is {@link SOCGame#LOADING} or higher, including {@link SOCGame#OVER}.
+     *
+     * @param ga  Game to check
+     * @since 2.4.50
+     */
+    void armTurnCheck(final SOCGame ga)
+    {
+        if (ga.getGameState() >= SOCGame.LOADING)
+            return;
+
+        final GameTimers gt = gameTimers.get(ga.getName());
+        if (gt != null)
+            gt.armTurnCheck(System.currentTimeMillis() + ROBOT_FORCE_ENDTURN_SECONDS * 1000L);
     }
 
     /**
-     * check for games that have expired and destroy them.
-     * If games are about to expire, send a warning.
+     * Check whether a game has expired, and if so destroy it.
+     * If the game is about to expire, send a warning; if idle, send a keepalive ping to its clients.
      * As of version 1.1.09, practice games ({@link SOCGame#isPractice} flag set) don't expire.
-     * Is callback method every few minutes from {@link SOCGameTimeoutChecker#run()}.
+     * Is callback method from {@link #gameTimerWheel} for each game at least every
+     * {@link #GAME_TIME_EXPIRE_CHECK_MINUTES}, and also when its expiry warning is due.
+     *<P>
+     * Before v2.4.50 this was {@code checkForExpiredGames(long)}, called every few minutes to check all games.
      *
+     * @param gameData  Game to check
      * @param currentTimeMillis  The time when called, from {@link System#currentTimeMillis()}
+     * @return  When to check this game next, from {@link System#currentTimeMillis()},
+     *     or 0 if it expired and was destroyed
      * @see #GAME_TIME_EXPIRE_WARN_MINUTES
      * @see SOCGameListAtServer#GAME_TIME_EXPIRE_MINUTES
-     * @see #checkForExpiredTurns(long)
+     * @see #checkForExpiredTurn(SOCGame, long)
+     * @since 2.4.50
      */
-    public void checkForExpiredGames(final long currentTimeMillis)
+    long checkForExpiredGame(final SOCGame gameData, final long currentTimeMillis)
     {
-        List<String> expired = new ArrayList<String>();
+        boolean expired = false;
+        final long check_ms = GAME_TIME_EXPIRE_CHECK_MINUTES * 60L * 1000L;
+        long nextCheck = currentTimeMillis + check_ms;
 
         gameList.takeMonitor();
 
-        // Warn 3 minutes earlier, because of coarse 5-minute granularity in SOCGameTimeoutChecker.run()
-        long warn_ms = (3 + GAME_TIME_EXPIRE_WARN_MINUTES) * 60L * 1000L;
+        // Each game's check is scheduled for when its warning is due. Warn 1 minute early
+        // so the rounded-down minutes in the warning text aren't less than GAME_TIME_EXPIRE_WARN_MINUTES.
+        final long warn_ms = (1 + GAME_TIME_EXPIRE_WARN_MINUTES) * 60L * 1000L;
 
         try
         {
-            for (SOCGame gameData : gameList.getGamesData())
-            {
-                if (gameData.isPractice)
-                    continue;  // <--- Skip practice games, they don't expire ---
+            long gameExpir = gameData.getExpiration();
+            final boolean hasWarned = gameData.hasWarnedExpiration();
 
-                long gameExpir = gameData.getExpiration();
-                final boolean hasWarned = gameData.hasWarnedExpiration();
+            // Start our text messages with ">>>" to mark as urgent to the client.
 
-                // Start our text messages with ">>>" to mark as urgent to the client.
-
-                if (hasWarned && (gameExpir <= currentTimeMillis))
-                {
-                    final String gameName = gameData.getName();
-                    expired.add(gameName);
-                    messageToGameKeyed(gameData, true, true, "game.time.expire.deleted");
-                        // ">>> The time limit on this game has expired, it will now be deleted."
-                }
-                else if ((gameExpir - warn_ms) <= currentTimeMillis)
+            if (hasWarned && (gameExpir <= currentTimeMillis))
+            {
+                expired = true;
+                messageToGameKeyed(gameData, true, true, "game.time.expire.deleted");
+                    // ">>> The time limit on this game has expired, it will now be deleted."
+            }
+            else if ((gameExpir - warn_ms) <= currentTimeMillis)
+            {
+                //
+                //  Give people a few minutes' warning (they may have a few warnings)
+                //
+                int minutes = (int) ((gameExpir - currentTimeMillis) / 60000);
+                if (minutes < 1)
                 {
-                    //
-                    //  Give people a few minutes' warning (they may have a few warnings)
-                    //
-                    int minutes = (int) ((gameExpir - currentTimeMillis) / 60000);
-                    if (minutes < 1)
+                    if (hasWarned)
                     {
-                        if (hasWarned)
-                        {
-                            minutes = 1;  // in case of rounding down
-                        } else {
-                            // minutes might be negative; can happen if server was on a sleeping laptop
-                            minutes = GAME_TIME_EXPIRE_CHECK_MINUTES + 1;
-                            gameData.setExpiration(currentTimeMillis + (minutes * 60 * 1000));
-                        }
+                        minutes = 1;  // in case of rounding down
+                    } else {
+                        // minutes might be negative; can happen if server was on a sleeping laptop
+                        minutes = GAME_TIME_EXPIRE_CHECK_MINUTES + 1;
+                        gameData.setExpiration(currentTimeMillis + (minutes * 60 * 1000));
                     }
+                }
 
-                    messageToGameKeyed(gameData, true, true, "game.time.expire.soon.addtime", Integer.valueOf(minutes));
-                        // ">>> Less than {0} minutes remaining. Type *ADDTIME* to extend this game another 30 minutes."
+                messageToGameKeyed(gameData, true, true, "game.time.expire.soon.addtime", Integer.valueOf(minutes));
+                    // ">>> Less than {0} minutes remaining. Type *ADDTIME* to extend this game another 30 minutes."
 
-                    if (! hasWarned)
-                        gameData.setWarnedExpiration();
-                }
-                else if ((currentTimeMillis - gameData.lastActionTime) > (GAME_TIME_EXPIRE_CHECK_MINUTES * 60 * 1000))
+                if (! hasWarned)
+                    gameData.setWarnedExpiration();
+
+                nextCheck = Math.min(nextCheck, gameData.getExpiration());
+            }
+            else
+            {
+                if ((currentTimeMillis - gameData.lastActionTime) > check_ms)
                 {
                     // If game is idle since previous check, send keepalive ping to its clients
                     // so the network doesn't disconnect while all players are taking a break
 
                     messageToGame(gameData.getName(), false, new SOCServerPing(GAME_TIME_EXPIRE_CHECK_MINUTES * 60));
                 }
+
+                nextCheck = Math.min(nextCheck, gameExpir - warn_ms);
             }
         }
         catch (Exception e)
         {
-            D.ebugPrintlnINFO("Exception in checkForExpiredGames - " + e);
+            D.ebugPrintlnINFO("Exception in checkForExpiredGame - " + e);
         }
 
         gameList.releaseMonitor();
 
-        //
-        // destroy the expired games
-        //    Assumes the list will be short, so the game list monitor take/release overhead will be acceptable.
-        //
-        for (String ga : expired)
-            destroyGameAndBroadcast(ga, "checkForExpired");
+        if (expired)
+        {
+            destroyGameAndBroadcast(gameData.getName(), "checkForExpired");
+            return 0;
+        }
+
+        return nextCheck;
     }
 
     /**
-     * Check all games for robot turns that have expired, and end that turn,
+     * Check a game for a robot turn that has expired, and end that turn,
      * or stop waiting for non-current-player robot actions (discard picks, etc).
      * Robot turns may end from inactivity or from an illegal placement.
-     * Checks each game's {@link SOCGame#lastActionTime} field, and calls
+     * Checks the game's {@link SOCGame#lastActionTime} field, and calls
      * {@link GameHandler#endTurnIfInactive(SOCGame, long)} if the
      * last action is older than {@link #ROBOT_FORCE_ENDTURN_SECONDS}
      * (or for third-party bots, {@link #PROP_JSETTLERS_BOTS_TIMEOUT_TURN}).
      *<P>
-     * Is callback method every few seconds from {@link SOCGameTimeoutChecker#run()}.
+     * Is callback method from {@link #gameTimerWheel} for each game when its turn deadline is due.
+     * Game actions update {@code lastActionTime} without rescheduling the timer, so each check
+     * returns the deadline calculated from the game's current {@code lastActionTime}.
+     * Games which are over, haven't started, or are waiting only on human players aren't checked again
+     * until their state or current player changes; see {@link #armTurnCheck(SOCGame)}.
+     *<P>
+     * Before v2.4.50 this was {@code checkForExpiredTurns(long)}, called every few seconds to check all games.
      *
+     * @param ga  Game to check
      * @param currentTimeMillis  The time when called, from {@link System#currentTimeMillis()}
+     * @return  When to check this game's turn next, from {@link System#currentTimeMillis()},
+     *     or 0 if it needn't be checked until its state or current player changes
      * @see #ROBOT_FORCE_ENDTURN_SECONDS
-     * @see #checkForExpiredGames(long)
-     * @since 1.1.11
+     * @see #checkForExpiredGame(SOCGame, long)
+     * @see #scheduleTurnCheck(SOCGame, long)
+     * @since 2.4.50
      */
-    public void checkForExpiredTurns(final long currentTimeMillis)
+    long checkForExpiredTurn(final SOCGame ga, final long currentTimeMillis)
     {
         // Because nothing's currently happening in such a turn,
         // and we force the end in another thread,
         // we shouldn't need to worry about locking.
         // So, we don't need gameList.takeMonitor().
 
-        final long inactiveTime = currentTimeMillis - (ROBOT_FORCE_ENDTURN_SECONDS * 1000L),
-                   inactiveTimeStubborn = currentTimeMillis - (ROBOT_FORCE_ENDTURN_STUBBORN_SECONDS * 1000L);
-        final long inactiveTime3p;  // if set, longer time for 3rd-party bot players
-        {
-            final int timeout3p = getConfigIntProperty(PROP_JSETTLERS_BOTS_TIMEOUT_TURN, 0);
-            inactiveTime3p = (timeout3p <= ROBOT_FORCE_ENDTURN_SECONDS)
-                ? 0
-                : currentTimeMillis - (timeout3p * 1000L);
-        }
-
         try
         {
-            for (SOCGame ga : gameList.getGamesData())
-            {
-                // lastActionTime is a recent time, or might be 0 to force end
-                long lastActionTime = ga.lastActionTime;
-                if (lastActionTime > (ga.isCurrentPlayerStubbornRobot() ? inactiveTimeStubborn : inactiveTime))
-                    continue;
+            // lastActionTime is a recent time, or might be 0 to force end
+            final long lastActionTime = ga.lastActionTime;
+            final long deadline = lastActionTime + 1000L
+                * (ga.isCurrentPlayerStubbornRobot() ? ROBOT_FORCE_ENDTURN_STUBBORN_SECONDS : ROBOT_FORCE_ENDTURN_SECONDS);
+            if (deadline > currentTimeMillis)
+                return deadline;
 
-                final int gs = ga.getGameState();
-                if (gs >= SOCGame.LOADING)  // includes >= SOCGame.OVER
-                {
-                    // nothing to do.
-                    // bump out that time, so we don't see it again every few seconds
-                    ga.lastActionTime = currentTimeMillis + (SOCGameListAtServer.GAME_TIME_EXPIRE_MINUTES * 60 * 1000);
-                    continue;
-                }
+            final int gs = ga.getGameState();
+            if (gs >= SOCGame.LOADING)  // includes >= SOCGame.OVER
+                return 0;  // nothing to do; armTurnCheck will re-arm if game is resumed or reset
 
-                final int cpn = ga.getCurrentPlayerNumber();
-                if (cpn == -1)
-                    continue;  // not started yet
+            final int cpn = ga.getCurrentPlayerNumber();
+            if (cpn == -1)
+                return 0;  // not started yet; armTurnCheck will re-arm when it starts
 
-                if ((inactiveTime3p != 0) && (lastActionTime > inactiveTime3p))
+            final int timeout3p = getConfigIntProperty(PROP_JSETTLERS_BOTS_TIMEOUT_TURN, 0);
+            if (timeout3p > ROBOT_FORCE_ENDTURN_SECONDS)
+            {
+                final long deadline3p = lastActionTime + (timeout3p * 1000L);
+                if (deadline3p > currentTimeMillis)
                 {
                     final SOCPlayer pl = ga.getPlayer(cpn);
                     if (pl.isRobot() && ! pl.isBuiltInRobot())
-                        continue;  // third-party robot player has more time
+                        return deadline3p;  // third-party robot player has more time
                 }
-
-                GameHandler hand = gameList.getGameTypeHandler(ga.getName());
-                if (hand != null)
-                    hand.endTurnIfInactive(ga, currentTimeMillis);
-
-                // TODO consider keeping stats on forced end turns (return false or true from endTurnIfInactive, etc)
             }
+
+            GameHandler hand = gameList.getGameTypeHandler(ga.getName());
+            if (hand != null)
+                return hand.endTurnIfInactive(ga, currentTimeMillis);
         }
         catch (Exception e)
         {
-            D.ebugPrintlnINFO("Exception in checkForExpiredTurns - " + e);
+            D.ebugPrintlnINFO("Exception in checkForExpiredTurn - " + e);
         }
+
+        return currentTimeMillis + ROBOT_FORCE_ENDTURN_STUBBORN_SECONDS * 1100L;
     }
 
     /**
@@ -11097,6 +11545,118 @@ public class SOCServer extends Server
 
     }  // main
 
+    /**
+     * One game's turn timeout and expiry timers in {@link SOCServer#gameTimerWheel}.
+     * Each timer's task checks the game by name, so the timers also work after a board reset
+     * replaces the game's {@link SOCGame} object, and then reschedules itself for the next deadline.
+     * The turn timer isn't rescheduled while the game doesn't need turn checks;
+     * {@link SOCServer#armTurnCheck(SOCGame)} re-arms it.
+     * Once {@link #cancel()} is called, timers aren't rescheduled.
+     * @see SOCServer#scheduleGameTimers(SOCGame)
+     * @since 2.4.50
+     */
+    private final class GameTimers
+    {
+        private final String gaName;
+
+        /** Pending timers, or null; guarded by {@code this} */
+        private SOCTimerWheel.Timeout turnTimeout, expiryTimeout;
+
+        /** Set by {@link #cancel()}; guarded by {@code this} */
+        private boolean cancelled;
+
+        private final Runnable turnCheck = new Runnable()
+        {
+            public void run()
+            {
+                final SOCGame ga = gameList.getGameData(gaName);
+                if (ga == null)
+                    return;
+
+                final long next = checkForExpiredTurn(ga, System.currentTimeMillis());
+                if (next != 0)
+                    scheduleTurnCheck(next);
+            }
+        };
+
+        private final Runnable expiryCheck = new Runnable()
+        {
+            public void run()
+            {
+                final SOCGame ga = gameList.getGameData(gaName);
+                if (ga == null)
+                    return;
+
+                final long next = checkForExpiredGame(ga, System.currentTimeMillis());
+                if (next != 0)
+                    scheduleExpiryCheck(next);
+            }
+        };
+
+        GameTimers(final String gaName)
+        {
+            this.gaName = gaName;
+        }
+
+        /**
+         * Schedule the next turn check, replacing any pending one.
+         * @param checkTime  When to check, from {@link System#currentTimeMillis()}
+         */
+        synchronized void scheduleTurnCheck(final long checkTime)
+        {
+            if (cancelled)
+                return;
+
+            if (turnTimeout != null)
+                turnTimeout.cancel();
+            turnTimeout = gameTimerWheel.schedule(turnCheck, checkTime);
+        }
+
+        /**
+         * Schedule the next turn check, unless one is already pending.
+         * @param checkTime  When to check, from {@link System#currentTimeMillis()}
+         */
+        synchronized void armTurnCheck(final long checkTime)
+        {
+            if ((turnTimeout == null) || ! turnTimeout.isPending())
+                scheduleTurnCheck(checkTime);
+        }
+
+        /**
+         * Move the next turn check earlier, if it's pending and later than {@code checkTime}.
+         * @param checkTime  Latest time to check, from {@link System#currentTimeMillis()}
+         */
+        synchronized void scheduleTurnCheckBy(final long checkTime)
+        {
+            if ((turnTimeout != null) && (turnTimeout.getDeadline() > checkTime) && turnTimeout.isPending())
+                scheduleTurnCheck(checkTime);
+        }
+
+        /**
+         * Schedule the next expiry check, replacing any pending one.
+         * @param checkTime  When to check, from {@link System#currentTimeMillis()}
+         */
+        synchronized void scheduleExpiryCheck(final long checkTime)
+        {
+            if (cancelled)
+                return;
+
+            if (expiryTimeout != null)
+                expiryTimeout.cancel();
+            expiryTimeout = gameTimerWheel.schedule(expiryCheck, checkTime);
+        }
+
+        /** Cancel this game's timers, and don't schedule any more. */
+        synchronized void cancel()
+        {
+            cancelled = true;
+            if (turnTimeout != null)
+                turnTimeout.cancel();
+            if (expiryTimeout != null)
+                expiryTimeout.cancel();
+        }
+    }
+
     /**
      * Interface for asynchronous callbacks from
      * {@link SOCServer#authOrRejectClientUser(Connection, String, String, int, boolean, boolean, AuthSuccessRunnable)}
@@ -30,7 +30,6 @@ import java.sql.SQLException;
 import java.text.DateFormat;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Iterator;
@@ -52,15 +51,19 @@ import soc.game.SOCPlayer;
 import soc.game.SOCScenario;
 import soc.game.SOCVersionedItem;
 import soc.message.*;
+import soc.robot.SOCBuildingSpeedEstimateCache;
 import soc.server.database.SOCDBHelper;
 import soc.server.genericServer.Connection;
+import soc.server.genericServer.EncodedFrame;
 import soc.server.genericServer.StringConnection;
 import soc.server.savegame.*;
 import soc.util.I18n;
 import soc.util.SOCFeatureSet;
 import soc.util.SOCGameBoardReset;
 import soc.util.SOCGameList;
+import soc.util.SOCGameLock;
 import soc.util.SOCStringManager;
+import soc.util.SOCTimerWheel;
 import soc.util.Version;
 
 /**
@@ -1146,10 +1149,10 @@ public class SOCServerMessageHandler
                 // Unless this is a practice game, if reasonable
                 // add 30 minutes to the expiration time.  If this
                 // changes to another timespan, please update the
-                // warning text sent in checkForExpiredGames().
+                // warning text sent in checkForExpiredGame(..).
                 // Use ">>>" in message text to mark as urgent.
                 // Note: If the command text changes from '*ADDTIME*' to something else,
-                // please update the warning text sent in checkForExpiredGames().
+                // please update the warning text sent in checkForExpiredGame(..).
 
                 if (ga.isPractice)
                 {
@@ -1585,6 +1588,48 @@ public class SOCServerMessageHandler
         listAddStat(li, "Games finished", srv.numberOfGamesFinished);
         listAddStat(li, "Games finished which had bots", srv.numberOfGamesFinishedWithBots);
         listAddStat(li, "Number of bots in finished games", srv.numberOfBotsInFinishedGames);
+        listAddStat
+            (li, "Network message frames encoded", Long.toString(EncodedFrame.getEncodeCount()));
+        listAddStat
+            (li, "Encodes saved by shared frames", EncodedFrame.getEncodesSavedCount()
+             + " (" + I18n.bytesToHumanUnits(EncodedFrame.getBytesSavedCount()) + ')');
+        final SOCTimerWheel timers = srv.gameTimerWheel;
+        listAddStat
+            (li, "Game timers", timers.getPendingCount() + " pending, " + timers.getFiredCount() + " fired, "
+             + timers.getCancelledCount() + " cancelled, " + timers.getFailedCount() + " failed; max "
+             + timers.getMaxLateMillis() + " ms late");
+        final long snapHits = SOCJoinGameSnapshot.getHitCount(),
+            snapJoins = snapHits + SOCJoinGameSnapshot.getMissCount();
+        if (snapJoins > 0)
+            listAddStat
+                (li, "Join game snapshots", snapHits + " hits of " + snapJoins + " joins ("
+                 + (100 * snapHits / snapJoins) + "%), avg "
+                 + (SOCJoinGameSnapshot.getBytesSentCount() / snapJoins) + " bytes board state per join");
+        final GameAutosaver autosaver = srv.gameAutosaver;
+        if (autosaver != null)
+            listAddStat
+                (li, "Game autosaves", autosaver.getWriteCount() + " written ("
+                 + (autosaver.getWriteBytes() / Math.max(1, autosaver.getWriteCount())) + " bytes avg), "
+                 + autosaver.getWriteFailCount() + " failed");
+        final GameEventJournal journal = srv.gameEventJournal;
+        if (journal != null)
+            listAddStat
+                (li, "Game event journal", journal.getRecordCount() + " records ("
+                 + I18n.bytesToHumanUnits(journal.getByteCount()) + ") in " + journal.getSegmentCount() + " files, "
+                 + journal.getSyncCount() + " syncs, " + journal.getFailCount() + " failed");
+        final SOCGameLock listLock = srv.gameList.getListLock();
+        listAddStat(li, "Game list monitor wait", listLock.getWaitHistogram().toString());
+        listAddStat(li, "Game list monitor hold", listLock.getHoldHistogram().toString());
+        if (srv.gameList.isLockOrderDebug())
+            listAddStat(li, "Lock order inversions", Long.toString(srv.gameList.getLockOrderInversionCount()));
+        final SOCBuildingSpeedEstimateCache bseCache = SOCBuildingSpeedEstimateCache.getShared();
+        if ((bseCache != null) && ((bseCache.getHitCount() + bseCache.getMissCount()) > 0))
+        {
+            final long hits = bseCache.getHitCount(), lookups = hits + bseCache.getMissCount();
+            listAddStat
+                (li, "Robot estimate cache hits", hits + " of " + lookups + " (" + (100 * hits / lookups) + "%), "
+                 + bseCache.size() + " entries, " + bseCache.getEvictionCount() + " evicted");
+        }
         final long totalMem = rt.totalMemory(), freeMem = rt.freeMemory();
         listAddStat
             (li, "Total Memory", totalMem + " (" + I18n.bytesToHumanUnits(totalMem) + ')');
@@ -1655,6 +1700,11 @@ public class SOCServerMessageHandler
                 "> This game's client versions: "
                 + Version.version(ga.clientVersionLowest) + " - " + Version.version(ga.clientVersionHighest));
 
+        final SOCGameLock gaLock = srv.gameList.getGameLock(gaName);
+        if (gaLock != null)
+            srv.messageToPlayer(c, gaName, SOCServer.PN_REPLY_TO_UNDETERMINED,
+                "> This game's monitor: wait " + gaLock.getWaitHistogram() + "; hold " + gaLock.getHoldHistogram());
+
         processDebugCommand_gameStats(c, ga, false);
         processDebugCommand_connStats(c, ga, false);
     }
@@ -1938,7 +1988,7 @@ public class SOCServerMessageHandler
      * Process unprivileged command {@code *WHO*} to show members of current game,
      * or privileged {@code *WHO* gameName|all|*} to show all connected clients or some other game's members.
      *<P>
-     * <B>Locks:</B> Takes/releases {@link SOCGameList#takeMonitorForGame(String) gameList.takeMonitorForGame(gaName)}
+     * <B>Locks:</B> Takes/releases {@link SOCGameList#takeReadMonitorForGame(String) gameList.takeReadMonitorForGame(gaName)}
      * to call {@link SOCGameListAtServer#getMembers(String)}.
      *
      * @param c  Client sending the *WHO* command
@@ -2013,9 +2063,9 @@ public class SOCServerMessageHandler
             }
         }
 
-        Vector<Connection> gameMembers = null;
+        List<Connection> gameMembers = null;
 
-        gameList.takeMonitorForGame(gaNameWho);
+        gameList.takeReadMonitorForGame(gaNameWho);
         try
         {
             gameMembers = gameList.getMembers(gaNameWho);
@@ -2026,7 +2076,7 @@ public class SOCServerMessageHandler
         {
             D.ebugPrintStackTrace(e, "Exception in *WHO* (gameMembers)");
         } finally {
-            gameList.releaseMonitorForGame(gaNameWho);
+            gameList.releaseReadMonitorForGame(gaNameWho);
         }
 
         if (gameMembers == null)
@@ -2037,10 +2087,8 @@ public class SOCServerMessageHandler
         if (sendToCli)
             srv.messageToPlayerKeyed(c, gaName, SOCServer.PN_NON_EVENT, "reply.game_members.of", gaNameWho);  // "Members of game {0}:"
 
-        Enumeration<Connection> membersEnum = gameMembers.elements();
-        while (membersEnum.hasMoreElements())
+        for (Connection conn : gameMembers)
         {
-            Connection conn = membersEnum.nextElement();
             String mNameStr = "> " + conn.getData();
 
             if (sendToCli)
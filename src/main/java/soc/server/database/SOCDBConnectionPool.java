@@ -0,0 +1,342 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.server.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Small pool of JDBC connections for {@link SOCDBHelper}'s read queries, so that lookups
+ * on different threads (user auth, robot parameters, etc) can run at the same time
+ * instead of sharing one connection's prepared statements.
+ * Each {@link PooledConnection} caches its own prepared statements by SQL text.
+ *<P>
+ * Connections are opened as needed, up to the pool's maximum size, using a {@link ConnectionFactory}.
+ * When all are in use, {@link #borrow(long)} waits for one to be released.
+ * Writes don't use the pool: They stay on {@code SOCDBHelper}'s main connection, in order.
+ * Pooled reads don't take the main connection's lock, so they don't wait for those writes.
+ * Each pooled connection is used by one thread at a time, so it needs no lock of its own.
+ *<P>
+ * Usage:
+ *<pre>
+ * PooledConnection pc = pool.borrow(timeout);
+ * boolean ok = false;
+ * try {
+ *     PreparedStatement ps = pc.prepareStatement(sql);
+ *     ...
+ *     ok = true;
+ * } finally {
+ *     pc.release(! ok);  // discard connection if there was an error
+ * }</pre>
+ *
+ * @since 2.4.50
+ */
+public class SOCDBConnectionPool
+{
+    /**
+     * Opens new connections for a pool.
+     */
+    public interface ConnectionFactory
+    {
+        /**
+         * Open a new connection to the database.
+         * @return  A new connection; not null
+         * @throws SQLException  if the connection can't be opened
+         */
+        Connection openConnection() throws SQLException;
+    }
+
+    /**
+     * A connection borrowed from the pool, with its cache of prepared statements.
+     * Use from one thread at a time, then {@link #release(boolean)} it.
+     */
+    public static final class PooledConnection
+    {
+        /** Pool which this connection will be released to */
+        private final SOCDBConnectionPool pool;
+
+        private final Connection conn;
+
+        /** This connection's prepared statements, keyed by SQL text */
+        private final HashMap<String, PreparedStatement> statements = new HashMap<String, PreparedStatement>();
+
+        private PooledConnection(final SOCDBConnectionPool pool, final Connection conn)
+        {
+            this.pool = pool;
+            this.conn = conn;
+        }
+
+        /**
+         * Get this pooled connection's JDBC connection.
+         * @return  The connection
+         */
+        public Connection getConnection()
+        {
+            return conn;
+        }
+
+        /**
+         * Get a prepared statement for some SQL, preparing it if not already cached on this connection.
+         * @param sql  SQL text
+         * @return  Prepared statement, reused by later borrowers of this connection
+         * @throws SQLException  if the statement can't be prepared
+         */
+        public PreparedStatement prepareStatement(final String sql)
+            throws SQLException
+        {
+            PreparedStatement ps = statements.get(sql);
+            if (ps == null)
+            {
+                ps = conn.prepareStatement(sql);
+                statements.put(sql, ps);
+            }
+
+            return ps;
+        }
+
+        /**
+         * Return this connection to its pool.
+         * @param discard  If true, close this connection instead of reusing it;
+         *     set this after an {@link SQLException} since the connection might be broken
+         */
+        public void release(final boolean discard)
+        {
+            pool.release(this, discard);
+        }
+
+        /** Close this connection and its statements, ignoring any exceptions. */
+        private void close()
+        {
+            for (PreparedStatement ps : statements.values())
+                try
+                {
+                    ps.close();
+                } catch (SQLException e) {}
+            statements.clear();
+
+            try
+            {
+                conn.close();
+            } catch (SQLException e) {}
+        }
+    }
+
+    private final ConnectionFactory factory;
+
+    private final int maxSize;
+
+    /** Idle connections, most recently released last. Guarded by synchronizing on this pool. */
+    private final ArrayDeque<PooledConnection> idle = new ArrayDeque<PooledConnection>();
+
+    /** Number of connections open, idle or borrowed, including any being opened. Guarded like {@link #idle}. */
+    private int openCount;
+
+    /** If true, {@link #close()} has been called. Guarded like {@link #idle}. */
+    private boolean closed;
+
+    private final AtomicLong borrowCount = new AtomicLong(),
+        waitCount = new AtomicLong(),
+        openedCount = new AtomicLong();
+
+    /**
+     * Create a pool. No connections are opened until needed.
+     * @param factory  Opens the pool's connections
+     * @param maxSize  Maximum number of open connections; at least 1
+     * @throws IllegalArgumentException if {@code maxSize} &lt; 1
+     */
+    public SOCDBConnectionPool(final ConnectionFactory factory, final int maxSize)
+        throws IllegalArgumentException
+    {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("maxSize");
+
+        this.factory = factory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Borrow a connection, opening a new one if none are idle and the pool isn't at its maximum size,
+     * otherwise waiting for one to be released.
+     * @param timeoutMillis  Maximum time to wait for a connection, in milliseconds
+     * @return  A connection to use and then {@link PooledConnection#release(boolean)}
+     * @throws SQLException  if the pool is closed, no connection was released before the timeout,
+     *     the wait was interrupted, or a new connection couldn't be opened
+     */
+    public PooledConnection borrow(final long timeoutMillis)
+        throws SQLException
+    {
+        borrowCount.incrementAndGet();
+
+        synchronized (this)
+        {
+            final long until = System.currentTimeMillis() + timeoutMillis;
+            boolean waited = false;
+            while (true)
+            {
+                if (closed)
+                    throw new SQLException("Connection pool is closed");
+
+                final PooledConnection pc = idle.pollLast();
+                if (pc != null)
+                    return pc;
+
+                if (openCount < maxSize)
+                {
+                    ++openCount;
+                    break;  // open it below, outside of lock
+                }
+
+                if (! waited)
+                {
+                    waited = true;
+                    waitCount.incrementAndGet();
+                }
+                final long wait = until - System.currentTimeMillis();
+                if (wait <= 0)
+                    throw new SQLException("Timed out waiting for a pooled connection");
+                try
+                {
+                    wait(wait);
+                } catch (InterruptedException e) {
+                    throw new SQLException("Interrupted waiting for a pooled connection");
+                }
+            }
+        }
+
+        boolean opened = false;
+        try
+        {
+            final PooledConnection pc = new PooledConnection(this, factory.openConnection());
+            opened = true;
+            openedCount.incrementAndGet();
+            return pc;
+        } finally {
+            if (! opened)
+                synchronized (this)
+                {
+                    --openCount;
+                    notifyAll();
+                }
+        }
+    }
+
+    /**
+     * Return a connection to the pool, or close it if {@code discard} or the pool is closed.
+     * @param pc  Connection from {@link #borrow(long)}
+     * @param discard  If true, close the connection instead of reusing it
+     */
+    private void release(final PooledConnection pc, final boolean discard)
+    {
+        final boolean closeIt;
+        synchronized (this)
+        {
+            closeIt = discard || closed;
+            if (closeIt)
+                --openCount;
+            else
+                idle.addLast(pc);
+            notifyAll();
+        }
+
+        if (closeIt)
+            pc.close();
+    }
+
+    /**
+     * Close the pool and its idle connections. Borrowed connections are closed when released.
+     * Later calls to {@link #borrow(long)} will throw an exception.
+     */
+    public void close()
+    {
+        final List<PooledConnection> toClose;
+        synchronized (this)
+        {
+            closed = true;
+            toClose = new ArrayList<PooledConnection>(idle);
+            idle.clear();
+            openCount -= toClose.size();
+            notifyAll();
+        }
+
+        for (PooledConnection pc : toClose)
+            pc.close();
+    }
+
+    /**
+     * Maximum number of connections, from constructor.
+     * @return  Maximum pool size
+     */
+    public int getMaxSize()
+    {
+        return maxSize;
+    }
+
+    /**
+     * Number of connections currently open, idle or borrowed.
+     * @return  Open connection count
+     */
+    public synchronized int getOpenCount()
+    {
+        return openCount;
+    }
+
+    /**
+     * Number of connections currently idle in the pool.
+     * @return  Idle connection count
+     */
+    public synchronized int getIdleCount()
+    {
+        return idle.size();
+    }
+
+    /**
+     * Number of times {@link #borrow(long)} has been called.
+     * @return  Borrow count
+     */
+    public long getBorrowCount()
+    {
+        return borrowCount.get();
+    }
+
+    /**
+     * Number of times {@link #borrow(long)} had to wait because all connections were in use.
+     * @return  Wait count
+     */
+    public long getWaitCount()
+    {
+        return waitCount.get();
+    }
+
+    /**
+     * Number of connections opened since the pool was created, including any since discarded.
+     * @return  Opened connection count
+     */
+    public long getOpenedCount()
+    {
+        return openedCount.get();
+    }
+
+}
@@ -46,6 +46,8 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.sql.Types;
@@ -53,6 +55,7 @@ import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -63,6 +66,7 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
 
 
 /**
@@ -99,6 +103,11 @@ import java.util.concurrent.Executors;
  * Remember that some JDBC drivers may not cleanly handle multi-threaded access
  * (some versions of the SQLite driver, for example). Use {@link SOCServer}'s
  * Treater thread when accessing the DB, especially for updates or inserts.
+ *<P>
+ * The main {@link #connection} can also be used by the write-behind thread and by
+ * schema upgrade background tasks, so every use of it or its prepared statements
+ * (including reconnects) holds {@link #writeLock}. Reads using a pooled connection
+ * from {@link #borrowReadConnection()} don't take that lock, so they aren't held up by writes.
  *
  *<H3>Settings:</H3>
  * When using {@link #SCHEMA_VERSION_1200} and above, the DB has a {@code settings} table to
@@ -227,6 +236,32 @@ public class SOCDBHelper
      */
     public static final String PROP_JSETTLERS_DB_SAVE_GAMES = "jsettlers.db.save.games";
 
+    /**
+     * Boolean property {@code jsettlers.db.write_behind} to write game scores and logins asynchronously:
+     * {@link #saveGameScores(SOCGame, int, boolean)}, {@link #recordLogin(String, String, long)},
+     * and {@link #updateLastlogin(String, long)} queue their writes and return without waiting for the database.
+     * A writer thread writes them in batches, retrying if needed; see {@link SOCDBWriteBehindQueue}.
+     * Queued writes are written before the server shuts down.
+     *<P>
+     * Default is false (N): Each write is made synchronously before the method returns.
+     * @see #startWriteBehind()
+     * @since 2.4.50
+     */
+    public static final String PROP_JSETTLERS_DB_WRITE__BEHIND = "jsettlers.db.write_behind";
+
+    /**
+     * Integer property {@code jsettlers.db.pool_size} to set the maximum number of extra connections
+     * for read queries like {@link #authenticateUserPassword(String, String, AuthPasswordRunnable)}
+     * and {@link #retrieveRobotParams(String)}, so lookups on different threads can run concurrently;
+     * see {@link SOCDBConnectionPool}. Writes always use the main connection while holding {@link #writeLock}.
+     *<P>
+     * Default is {@link #DEFAULT_READ_POOL_SIZE}. 0 disables the pool: Reads use the main connection,
+     * also holding {@link #writeLock}.
+     * The pool is also disabled for in-memory SQLite databases, whose connections don't share data.
+     * @since 2.4.50
+     */
+    public static final String PROP_JSETTLERS_DB_POOL__SIZE = "jsettlers.db.pool_size";
+
     /**
      * Internal property name used to hold the <tt>--pw-reset</tt> command line argument's username.
      * When present at server startup, the server will prompt and reset the password if the user exists,
@@ -337,6 +372,26 @@ public class SOCDBHelper
      */
     public static final int PW_SCHEME_BCRYPT = 1;
 
+    /**
+     * Maximum time for {@link #cleanup(boolean)} to wait for queued writes
+     * if {@link #PROP_JSETTLERS_DB_WRITE__BEHIND} is set: 20 seconds.
+     * @since 2.4.50
+     */
+    private static final int WRITE_BEHIND_SHUTDOWN_TIMEOUT_MS = 20 * 1000;
+
+    /**
+     * Default maximum number of read connections (3) for {@link #PROP_JSETTLERS_DB_POOL__SIZE}.
+     * @since 2.4.50
+     */
+    public static final int DEFAULT_READ_POOL_SIZE = 3;
+
+    /**
+     * Maximum time for a read query to wait for a pooled connection
+     * if all are in use: 15 seconds.
+     * @since 2.4.50
+     */
+    private static final int READ_POOL_WAIT_MS = 15 * 1000;
+
     /**
      * Minimum Work Factor (9) allowed for {@link #PW_SCHEME_BCRYPT} encoding in JSettlers:
      * see {@link #BCRYPT_DEFAULT_WORK_FACTOR} for details. Anything below 9 is too fast.
@@ -470,8 +525,11 @@ public class SOCDBHelper
      * Set in {@link #connect(String, String, String)}, based on the {@link #dbURL}
      * from {@link #initialize(String, String, Properties)}.
      * Cleared in {@link #cleanup(boolean) cleanup(true)}.
+     *<P>
+     * Volatile so {@link #checkConnection()} can check it without locking. Replaced only while holding
+     * {@link #writeLock}, which must also be held while using this connection or its prepared statements.
      */
-    private Connection connection = null;
+    private volatile Connection connection = null;
 
     /**
      * Retain the URL (default, or passed via props to {@link #initialize(String, String, Properties)}).
@@ -486,8 +544,12 @@ public class SOCDBHelper
      * This flag indicates that the connection should be valid, yet the last
      * operation failed. Methods will attempt to reconnect prior to their
      * operation if this is set.
+     *<P>
+     * Set only when {@link #connection} itself has failed, not for other SQL errors:
+     * See {@link #checkErrorCondition(SQLException)}.
+     * Volatile so {@link #checkConnection()} can check it without locking.
      */
-    private boolean errorCondition = false;
+    private volatile boolean errorCondition = false;
 
     /**
      * True if we successfully completed {@link #initialize(String, String, Properties)}
@@ -549,6 +611,43 @@ public class SOCDBHelper
      */
     private final static ExecutorService bcryptQueueThreader = Executors.newSingleThreadExecutor();
 
+    /**
+     * Queue of game score and login writes if {@link #PROP_JSETTLERS_DB_WRITE__BEHIND} is set, or null
+     * to write them synchronously. Started by {@link #startWriteBehind()}, shut down by {@link #cleanup(boolean)}.
+     * @see #writeOrQueue(PendingWrite)
+     * @since 2.4.50
+     */
+    private volatile SOCDBWriteBehindQueue<PendingWrite> writeBehind;
+
+    /**
+     * Lock held while using the main {@link #connection} or any of its prepared statements,
+     * or changing its transaction mode: Game score and login writes with {@link #writePending(List)}
+     * from the {@link #writeBehind} thread or the caller's thread, account updates, reads
+     * without a pooled connection, schema upgrades and their background tasks,
+     * and reconnects in {@link #checkConnection()} which replace the connection and statements.
+     *<P>
+     * Not needed for reads which use a pooled connection from {@link #borrowReadConnection()},
+     * or for {@link #checkConnection()} when there's no error to reconnect from.
+     * Fair, so a background task which releases it between batches lets waiting threads go first.
+     * @since 2.4.50
+     */
+    private final ReentrantLock writeLock = new ReentrantLock(true);
+
+    /**
+     * Maximum size of {@link #readPool}, from {@link #PROP_JSETTLERS_DB_POOL__SIZE}, or 0 for no pool.
+     * Set in {@link #initialize(String, String, Properties)}.
+     * @since 2.4.50
+     */
+    private int readPoolSize = DEFAULT_READ_POOL_SIZE;
+
+    /**
+     * Pool of connections for read queries, or null if {@link #readPoolSize} is 0 or not connected.
+     * Created in {@link #connect(String, String, String)}, closed by {@link #cleanup(boolean)}.
+     * @see #borrowReadConnection()
+     * @since 2.4.50
+     */
+    private volatile SOCDBConnectionPool readPool;
+
     /**
      * Cached DB connection username, used when reconnecting on error.
      * Before v1.2.00 this field was {@code userName}.
@@ -917,6 +1016,21 @@ public class SOCDBHelper
                          + PROP_JSETTLERS_DB_BCRYPT_WORK__FACTOR + ")");
             }
 
+            String prop_poolSize = dbProps.getProperty(PROP_JSETTLERS_DB_POOL__SIZE);
+            if (prop_poolSize != null)
+            {
+                try
+                {
+                    readPoolSize = Integer.parseInt(prop_poolSize.trim());
+                } catch (NumberFormatException e) {
+                    readPoolSize = -1;
+                }
+
+                if (readPoolSize < 0)
+                    throw new IllegalArgumentException
+                        ("DB: Pool size param must be an integer 0 or higher (" + PROP_JSETTLERS_DB_POOL__SIZE + ")");
+            }
+
             String pval = dbProps.getProperty(PROP_JSETTLERS_DB_SETTINGS);
             if ((pval != null) && ! pval.equals("write"))
                 throw new IllegalArgumentException
@@ -1154,6 +1268,8 @@ public class SOCDBHelper
      * Checks if connection is supposed to be up and available, and attempts to reconnect
      * if there was previously an error.  Reconnecting closes the current
      * {@link #connection}, opens a new one, and re-initializes the prepared statements.
+     *<P>
+     * Doesn't lock unless reconnecting, which takes {@link #writeLock}.
      *
      * @return true if the connection is established, false if DB connection was never initialized
      * @see #isInitialized()
@@ -1162,23 +1278,63 @@ public class SOCDBHelper
     {
         if (connection != null)
         {
+            if (! errorCondition)
+                return true;
+
+            writeLock.lock();
             try
             {
-                return (! errorCondition) || connect(dbcUserName, dbcPassword, null);
+                // check again: another thread may have reconnected while we waited for the lock
+                return (connection != null)
+                    && ((! errorCondition) || connect(dbcUserName, dbcPassword, null));
             } catch (IOException ioe) {
                 // will not occur, connect script is null
                 return false;
+            } finally {
+                writeLock.unlock();
             }
         }
 
         return false;
     }
 
+    /**
+     * After an exception from {@link #connection} or its statements, set {@link #errorCondition}
+     * if the connection itself has failed, so the next {@link #checkConnection()} will reconnect:
+     * SQLState class 08 (connection exception), or connection is now closed.
+     * Other errors, like a constraint violation, keep using the same connection.
+     * @param e  Exception thrown while using {@link #connection}
+     * @since 2.4.50
+     */
+    private void checkErrorCondition(final SQLException e)
+    {
+        final String state = e.getSQLState();
+        if (((state != null) && state.startsWith("08"))
+            || (e instanceof SQLNonTransientConnectionException) || (e instanceof SQLTransientConnectionException))
+        {
+            errorCondition = true;
+            return;
+        }
+
+        final Connection conn = connection;
+        try
+        {
+            if ((conn != null) && conn.isClosed())
+                errorCondition = true;
+        } catch (SQLException e2) {
+            errorCondition = true;
+        }
+    }
+
     /**
      * Opens a new connection, detects its {@link #schemaVersion}, and initializes the prepared statements.
      * {@link #initialize(String, String, Properties)} and {@link #checkConnection()} use this to get ready.
      * Uses {@link #dbURL} and {@link #driverinstance}.
      *<P>
+     * When reconnecting, closes the previous {@link #connection} but keeps the {@link #readPool},
+     * whose connections are checked separately when borrowed.
+     * Caller must hold {@link #writeLock}, unless called during {@code initialize} before other threads use the DB.
+     *<P>
      * If <tt>setupScriptPath</tt> != null, it will be ran before preparing statements.
      * That way, it can create tables used by the statements.
      *
@@ -1195,28 +1351,78 @@ public class SOCDBHelper
     private boolean connect(final String user, final String pswd, final String setupScriptPath)
         throws SQLException, IllegalStateException, IOException
     {
-        if (driverinstance == null) {
-            connection = DriverManager.getConnection(dbURL, user, pswd);
-        } else {
-            Properties dbProps = new Properties();
-            dbProps.put("user", user);
-            dbProps.put("password", pswd);
-            connection = driverinstance.connect(dbURL, dbProps);
-        }
+        final Connection oldConn = connection;
+        if (oldConn != null)
+            try
+            {
+                oldConn.close();
+            } catch (SQLException e) {}
+
+        connection = openConnection(user, pswd);
 
-        errorCondition = false;
         dbcUserName = user;
         dbcPassword = pswd;
 
+        if (readPool == null)
+            readPool = ((readPoolSize > 0) && ! (dbURL.contains(":memory:") || dbURL.contains("mode=memory")))
+                ? new SOCDBConnectionPool(new SOCDBConnectionPool.ConnectionFactory()
+                    {
+                        public Connection openConnection()
+                            throws SQLException
+                        {
+                            return SOCDBHelper.this.openConnection(dbcUserName, dbcPassword);
+                        }
+                    }, readPoolSize)
+                : null;
+
         if (setupScriptPath != null)
             runSetupScript(setupScriptPath);  // may throw IOException, SQLException
 
         detectSchemaVersion();
         prepareStatements();
 
+        errorCondition = false;  // last, so checkConnection sees the new statements once it's cleared
+
         return true;
     }
 
+    /**
+     * Open a new connection to {@link #dbURL}, through {@link #driverinstance} if not null.
+     * Used by {@link #connect(String, String, String)} and {@link #readPool}.
+     * @param user  DB username
+     * @param pswd  DB user password, or ""
+     * @return  A new connection
+     * @throws SQLException if any connect error occurs
+     * @since 2.4.50
+     */
+    private Connection openConnection(final String user, final String pswd)
+        throws SQLException
+    {
+        if (driverinstance == null)
+            return DriverManager.getConnection(dbURL, user, pswd);
+
+        Properties dbProps = new Properties();
+        dbProps.put("user", user);
+        dbProps.put("password", pswd);
+        return driverinstance.connect(dbURL, dbProps);
+    }
+
+    /**
+     * Borrow a connection from {@link #readPool} for a read query, if the pool is active.
+     * Caller must {@link SOCDBConnectionPool.PooledConnection#release(boolean) release} it when done.
+     * @return  Pooled connection, or null to use {@link #connection} and its prepared statement fields
+     *     while holding {@link #writeLock}
+     * @throws SQLException  if pool is active but a connection couldn't be opened or borrowed;
+     *     caller should treat this like a query's exception
+     * @since 2.4.50
+     */
+    private SOCDBConnectionPool.PooledConnection borrowReadConnection()
+        throws SQLException
+    {
+        final SOCDBConnectionPool pool = readPool;
+        return (pool != null) ? pool.borrow(READ_POOL_WAIT_MS) : null;
+    }
+
     /**
      * Detect connected DB's {@link #schemaVersion} and check its upgrade status.
      * @throws SQLException if any unexpected problem occurs
@@ -1485,15 +1691,38 @@ public class SOCDBHelper
 
         if (schemaVersion >= SCHEMA_VERSION_1200)
             userName = userName.toLowerCase(Locale.US);
-        userExistsQuery.setString(1, userName);
 
-        ResultSet rs = userExistsQuery.executeQuery();
-        if (rs.next())
-            userName = rs.getString(1);
-        else
-            userName = null;
+        final SOCDBConnectionPool.PooledConnection pc = borrowReadConnection();
+        if (pc == null)
+            writeLock.lock();  // main connection's statements
+        boolean ok = false;
+        try
+        {
+            final PreparedStatement ps = (pc != null)
+                ? pc.prepareStatement
+                    ((schemaVersion >= SCHEMA_VERSION_1200) ? USER_EXISTS_QUERY_1200 : USER_EXISTS_QUERY_1000)
+                : userExistsQuery;
+            ps.setString(1, userName);
+
+            ResultSet rs = ps.executeQuery();
+            if (rs.next())
+                userName = rs.getString(1);
+            else
+                userName = null;
+
+            rs.close();
+            ok = true;
+        } catch (SQLException sqlE) {
+            if (pc == null)
+                checkErrorCondition(sqlE);
+            throw sqlE;
+        } finally {
+            if (pc != null)
+                pc.release(! ok);
+            else
+                writeLock.unlock();
+        }
 
-        rs.close();
         return userName;
     }
 
@@ -1549,12 +1778,24 @@ public class SOCDBHelper
 
         if (checkConnection())
         {
+            SOCDBConnectionPool.PooledConnection pc = null;
+            boolean ok = false, lockedMain = false;
             try
             {
+                pc = borrowReadConnection();
+                if (pc == null)
+                {
+                    writeLock.lock();  // main connection's statements
+                    lockedMain = true;
+                }
+                final PreparedStatement ps = (pc != null)
+                    ? pc.prepareStatement
+                        ((schemaVersion >= SCHEMA_VERSION_1200) ? USER_PASSWORD_QUERY_1200 : USER_PASSWORD_QUERY_1000)
+                    : userPasswordQuery;
                 dbUserName = (schemaVersion < SCHEMA_VERSION_1200) ? sUserName : sUserName.toLowerCase(Locale.US);
-                userPasswordQuery.setString(1, dbUserName);
+                ps.setString(1, dbUserName);
 
-                ResultSet resultSet = userPasswordQuery.executeQuery();
+                ResultSet resultSet = ps.executeQuery();
 
                 // if no results, nickname isn't in the users table
                 if (resultSet.next())
@@ -1573,13 +1814,22 @@ public class SOCDBHelper
                 }
 
                 resultSet.close();
+                ok = true;
             }
             catch (SQLException sqlE)
             {
-                errorCondition = true;
+                if (lockedMain)
+                    checkErrorCondition(sqlE);
                 sqlE.printStackTrace();
                 throw sqlE;
             }
+            finally
+            {
+                if (pc != null)
+                    pc.release(! ok);
+                else if (lockedMain)
+                    writeLock.unlock();
+            }
         }
 
         boolean ok;
@@ -1660,11 +1910,20 @@ public class SOCDBHelper
 
         if (checkConnection())
         {
+            SOCDBConnectionPool.PooledConnection pc = null;
+            boolean ok = false, lockedMain = false;
             try
             {
-                hostQuery.setString(1, host);
+                pc = borrowReadConnection();
+                if (pc == null)
+                {
+                    writeLock.lock();  // main connection's statements
+                    lockedMain = true;
+                }
+                final PreparedStatement ps = (pc != null) ? pc.prepareStatement(HOST_QUERY) : hostQuery;
+                ps.setString(1, host);
 
-                ResultSet resultSet = hostQuery.executeQuery();
+                ResultSet resultSet = ps.executeQuery();
 
                 // if no results, user is not authenticated
                 if (resultSet.next())
@@ -1673,13 +1932,22 @@ public class SOCDBHelper
                 }
 
                 resultSet.close();
+                ok = true;
             }
             catch (SQLException sqlE)
             {
-                errorCondition = true;
+                if (lockedMain)
+                    checkErrorCondition(sqlE);
                 sqlE.printStackTrace();
                 throw sqlE;
             }
+            finally
+            {
+                if (pc != null)
+                    pc.release(! ok);
+                else if (lockedMain)
+                    writeLock.unlock();
+            }
         }
 
         return nickname;
@@ -1721,6 +1989,10 @@ public class SOCDBHelper
 
         if (checkConnection())
         {
+            final String pw_store = (schemaVersion >= SCHEMA_VERSION_1200) ? hashPasswordBCrypt(password) : null;
+                // hash before taking writeLock, since BCrypt is slow on purpose
+
+            writeLock.lock();
             try
             {
                 java.sql.Date sqlDate = new java.sql.Date(time);
@@ -1739,16 +2011,7 @@ public class SOCDBHelper
                     createAccountCommand.setDate(4, sqlDate, cal);
                     createAccountCommand.setString(5, userName.toLowerCase(Locale.US));
                     createAccountCommand.setInt(6, PW_SCHEME_BCRYPT);
-                    try
-                    {
-                        String pw_store = BCrypt.hashpw(password, BCrypt.gensalt(bcryptWorkFactor));
-                            // hashpw may throw IllegalArgumentException
-                        createAccountCommand.setString(7, pw_store);
-                    } catch (RuntimeException e) {
-                        SQLException sqlE = new SQLException("BCrypt exception");
-                        sqlE.initCause(e);
-                        throw sqlE;  // caught, printed, re-thrown below
-                    }
+                    createAccountCommand.setString(7, pw_store);
                     // SCHEMA_VERSION_2000 adds fields, but its sql has same number of params (the new fields get 0)
                 }
 
@@ -1758,89 +2021,88 @@ public class SOCDBHelper
             }
             catch (SQLException sqlE)
             {
-                errorCondition = true;
+                checkErrorCondition(sqlE);
                 sqlE.printStackTrace();
                 throw sqlE;
             }
+            finally
+            {
+                writeLock.unlock();
+            }
         }
 
         return false;
     }
 
+    /**
+     * Encode a password with {@link #PW_SCHEME_BCRYPT} at the current {@link #bcryptWorkFactor}.
+     * Used by {@link #createAccount(String, String, String, String, long)}
+     * and {@link #updateUserPassword(String, String)} before they take {@link #writeLock}.
+     * @param password  Password to encode; length already checked by {@link #isPasswordLengthOK(String)}
+     * @return  Encoded password for the {@code pw_store} field
+     * @throws SQLException  wrapping any exception from {@link BCrypt#hashpw(String, String)}; is also printed
+     * @since 2.4.50
+     */
+    private String hashPasswordBCrypt(final String password)
+        throws SQLException
+    {
+        try
+        {
+            return BCrypt.hashpw(password, BCrypt.gensalt(bcryptWorkFactor));
+                // hashpw may throw IllegalArgumentException
+        } catch (RuntimeException e) {
+            SQLException sqlE = new SQLException("BCrypt exception");
+            sqlE.initCause(e);
+            sqlE.printStackTrace();
+            throw sqlE;
+        }
+    }
+
     /**
      * Record this user's login host and time.
+     *<P>
+     * If {@link #PROP_JSETTLERS_DB_WRITE__BEHIND} is set, the login is queued to be recorded soon
+     * instead of before returning.
+     * Either way it's written by {@link #writePending(List)} in a transaction,
+     * which is a batch of one if not queued.
      *
      * @param userName  User name (nickname)
      * @param host  Login is from this client hostname or IP
      * @param time  Login time, same format as {@link System#currentTimeMillis()}
      *
-     * @return true if the DB connection is open and the login was recorded, false if connection is closed
+     * @return true if the DB connection is open and the login was recorded or queued, false if connection is closed
      *
      * @throws SQLException if any unexpected database problem
      */
     public boolean recordLogin(String userName, String host, long time) throws SQLException
     {
-        if (checkConnection())
-        {
-            try
-            {
-                java.sql.Date sqlDate = new java.sql.Date(time);
-                Calendar cal = Calendar.getInstance();
-
-                recordLoginCommand.setString(1, userName);
-                recordLoginCommand.setString(2, host);
-                recordLoginCommand.setDate(3, sqlDate, cal);
-
-                recordLoginCommand.executeUpdate();
-
-                return true;
-            }
-            catch (SQLException sqlE)
-            {
-                errorCondition = true;
-                sqlE.printStackTrace();
-                throw sqlE;
-            }
-        }
+        if (! isConnectedForWrite())
+            return false;
 
-        return false;
+        return writeOrQueue(new LoginWrite(userName, host, time));
     }
 
     /**
-     * DOCUMENT ME!
+     * Update this user's last login time.
+     *<P>
+     * If {@link #PROP_JSETTLERS_DB_WRITE__BEHIND} is set, the update is queued to be written soon
+     * instead of before returning.
+     * Either way it's written by {@link #writePending(List)} in a transaction,
+     * which is a batch of one if not queued.
      *
-     * @param userName DOCUMENT ME!
-     * @param time DOCUMENT ME!
+     * @param userName  User name (nickname)
+     * @param time  Login time, same format as {@link System#currentTimeMillis()}
      *
-     * @return true if the save succeeded
+     * @return true if the save succeeded or was queued, false if connection is closed
      *
      * @throws SQLException if any unexpected database problem
      */
     public boolean updateLastlogin(String userName, long time) throws SQLException
     {
-        if (checkConnection())
-        {
-            try
-            {
-                java.sql.Date sqlDate = new java.sql.Date(time);
-                Calendar cal = Calendar.getInstance();
-
-                lastloginUpdate.setDate(1, sqlDate, cal);
-                lastloginUpdate.setString(2, userName);
-
-                lastloginUpdate.executeUpdate();
-
-                return true;
-            }
-            catch (SQLException sqlE)
-            {
-                errorCondition = true;
-                sqlE.printStackTrace();
-                throw sqlE;
-            }
-        }
+        if (! isConnectedForWrite())
+            return false;
 
-        return false;
+        return writeOrQueue(new LastloginWrite(userName, time));
     }
 
     /**
@@ -1873,6 +2135,10 @@ public class SOCDBHelper
 
         if (schemaVersion >= SCHEMA_VERSION_1200)
             userName = userName.toLowerCase(Locale.US);
+        final String pw_store = (schemaVersion >= SCHEMA_VERSION_1200) ? hashPasswordBCrypt(newPassword) : null;
+            // hash before taking writeLock, since BCrypt is slow on purpose
+
+        writeLock.lock();
         try
         {
             if (schemaVersion < SCHEMA_VERSION_1200)
@@ -1881,16 +2147,7 @@ public class SOCDBHelper
                 passwordUpdateCommand.setString(2, userName);
             } else {
                 passwordUpdateCommand.setInt(1, PW_SCHEME_BCRYPT);
-                try
-                {
-                    String pw_store = BCrypt.hashpw(newPassword, BCrypt.gensalt(bcryptWorkFactor));
-                        // hashpw may throw IllegalArgumentException
-                    passwordUpdateCommand.setString(2, pw_store);
-                } catch (RuntimeException e) {
-                    SQLException sqlE = new SQLException("BCrypt exception");
-                    sqlE.initCause(e);
-                    throw sqlE;  // caught, printed, re-thrown below
-                }
+                passwordUpdateCommand.setString(2, pw_store);
                 passwordUpdateCommand.setString(3, userName);
             }
             passwordUpdateCommand.executeUpdate();
@@ -1899,11 +2156,15 @@ public class SOCDBHelper
         }
         catch (SQLException sqlE)
         {
-            errorCondition = true;
+            checkErrorCondition(sqlE);
             sqlE.printStackTrace();
 
             throw sqlE;
         }
+        finally
+        {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -1981,167 +2242,294 @@ public class SOCDBHelper
             throw new IllegalArgumentException("no winner");
 
         if ((winLossOnly && (userIncrWonCommand == null))
-            || ! checkConnection())
+            || ! isConnectedForWrite())
         {
             return false;  // <--- Early return: nothing to save, or conn was never initialized ---
         }
 
-        String[] names = new String[SOCGame.MAXPLAYERS];  // DB max 6; ga.maxPlayers max 4 or 6
-        short[] scores = new short[SOCGame.MAXPLAYERS];
-        for (int pn = 0; pn < ga.maxPlayers; ++pn)
+        return writeOrQueue(new GameScoresWrite(ga, gameLengthSeconds, winLossOnly, schemaVersion));
+    }
+
+    /**
+     * Is the DB connection available for {@link #writeOrQueue(PendingWrite)}?
+     * If {@link #writeBehind} is running, checks only that the connection was initialized
+     * and not shut down: The writer thread will reconnect if needed.
+     * Otherwise calls {@link #checkConnection()}.
+     * @return  true if a write can be made or queued
+     * @throws SQLException  if {@link #checkConnection()} couldn't reconnect
+     * @since 2.4.50
+     */
+    private boolean isConnectedForWrite()
+        throws SQLException
+    {
+        if (writeBehind != null)
+            return (connection != null);
+
+        return checkConnection();
+    }
+
+    /**
+     * Queue a write if {@link #writeBehind} is running and not full, otherwise write it now.
+     * Writing now calls {@link #writePending(List)} with a batch of one, so it's in a transaction
+     * like a queued write.
+     * @param pw  Write to make
+     * @return  true if written or queued
+     * @throws SQLException  if written now and an error occurred
+     * @since 2.4.50
+     */
+    private boolean writeOrQueue(final PendingWrite pw)
+        throws SQLException
+    {
+        final SOCDBWriteBehindQueue<PendingWrite> wb = writeBehind;
+        if ((wb != null) && wb.enqueue(pw))
+            return true;
+
+        try
         {
-            SOCPlayer pl = ga.getPlayer(pn);
-            names[pn] = pl.getName();
-            scores[pn] = (short) pl.getTotalVP();
+            writePending(Collections.singletonList(pw));
         }
+        catch (SQLException sqlE)
+        {
+            sqlE.printStackTrace();
+            throw sqlE;
+        }
+
+        return true;
+    }
 
+    /**
+     * Write a batch of game scores and logins in one transaction:
+     * Adds each write's rows to its statements' JDBC batches, then executes them and commits.
+     * A game row which needs its generated ID is inserted individually within the transaction.
+     * Called by {@link #writeBehind}'s thread, or by {@link #writeOrQueue(PendingWrite)} on the caller's thread.
+     *<P>
+     * User win-loss records require schema version &gt;= {@link SOCDBHelper#SCHEMA_VERSION_2000}.
+     *
+     * @param batch  Writes to make; not empty
+     * @throws SQLException  if not connected, or if an error occurred; transaction is rolled back.
+     *     If the connection failed, {@link #errorCondition} is set so the next attempt will reconnect
+     * @since 2.4.50
+     */
+    private void writePending(final List<PendingWrite> batch)
+        throws SQLException
+    {
+        writeLock.lock();
         try
         {
-            int newGameID = -1;  // PK from insertGames2Row, unless winLossOnly
+            if (! checkConnection())
+                throw new SQLException("DB connection is closed");
 
-            if (! winLossOnly)
-            {
+            // begin transaction
+            final boolean wasConnAutocommit = enterTransactionMode();
 
-                final int db_max_players = (schemaVersion < SCHEMA_VERSION_1200) ? 4 : 6;
-                if ((ga.maxPlayers > db_max_players)
-                    && ! (ga.isSeatVacant(4) && ga.isSeatVacant(5)))
+            try
+            {
+                recordLoginCommand.clearBatch();
+                lastloginUpdate.clearBatch();
+                if (userIncrWonCommand != null)
                 {
-                    // Need to try and fit player 5 and/or player 6
-                    // into the 4 db slots (backwards-compatibility)
-                    saveGameScores_fit6pInto4(ga, names, scores);
+                    saveGamePlayerCommand.clearBatch();
+                    userIncrWonCommand.clearBatch();
+                    userIncrLostCommand.clearBatch();
                 }
 
-                final String gaName = ga.getName();
-                final long startTimeMillis = ga.getStartTime().getTime();
-                final SOCGameOptionSet opts = ga.getGameOptions();
-                final String optsStr = (opts == null)
-                    ? null
-                    : SOCGameOption.packOptionsToString(opts.getAll(), false, true);
-
-                if (schemaVersion >= SCHEMA_VERSION_2000)
+                int nLogins = 0, nLastlogins = 0, nPlayers = 0, nWon = 0, nLost = 0;
+                for (final PendingWrite pw : batch)
                 {
-                    SOCGameOption scOpt = opts.get("SC");
-                    final String scen = (scOpt != null) ? scOpt.getStringValue() : null;
-
-                    newGameID = insertGames2Row
-                        (gaName, winner.getName(), startTimeMillis, gameLengthSeconds, optsStr, scen);
-
-                    // Per-player scores will be stored below, in a transaction
-
-                } else {
-                    // schemaVersion < SCHEMA_VERSION_2000: no games2 table
-                    saveGameCommand.setString(1, gaName);
-                    int i = 2;
-
-                    for (int pn = 0; pn < db_max_players; ++i, ++pn)
-                        saveGameCommand.setString(i, names[pn]);
-                    for (int pn = 0; pn < db_max_players; ++i, ++pn)
-                        if ((scores[pn] != 0) || (names[pn] != null))
-                            saveGameCommand.setShort(i, scores[pn]);
-                        else
-                            saveGameCommand.setNull(i, Types.SMALLINT);
-
-                    saveGameCommand.setTimestamp(i, new Timestamp(startTimeMillis));  ++i;
-
-                    if (schemaVersion >= SCHEMA_VERSION_1200)
+                    if (pw instanceof GameScoresWrite)
                     {
-                        saveGameCommand.setInt(i, gameLengthSeconds);  ++i;
-                        saveGameCommand.setString(i, winner.getName());  ++i;
-                        saveGameCommand.setString(i, optsStr);  ++i;
-                    }
-
-                    newGameID = 0;
+                        final GameScoresWrite gs = (GameScoresWrite) pw;
+                        int newGameID = -1;  // PK from insertGames2Row, unless winLossOnly
+                        if (! gs.winLossOnly)
+                            newGameID = writeGameRow(gs);
 
-                    saveGameCommand.executeUpdate();
-                }
-            }
-
-            if (userIncrWonCommand != null)
-            {
-                // In a transaction:
-                // - Save per-player scores.
-                // - Update per-user win/loss records for any players who exist in DB
-                // Applies to schemaVersion >= SCHEMA_VERSION_2000
+                        if (userIncrWonCommand == null)
+                            continue;
 
-                String winnerName = winner.getName();
-                if ((winnerName == null) || winnerName.isEmpty())
-                    winnerName = "?";  // could happen if disconnected before save
+                        // Applies to schemaVersion >= SCHEMA_VERSION_2000:
+                        // - Save per-player scores.
+                        // - Update per-user win/loss records for any players who exist in DB
 
-                // begin transaction
-                final boolean wasConnAutocommit = enterTransactionMode();
+                        if (! gs.winLossOnly)
+                        {
+                            for (int pn = 0; pn < gs.maxPlayers; ++pn)
+                            {
+                                if (gs.isVacant[pn])
+                                    continue;
+                                final String plName = gs.names[pn];
+                                final int plScore = gs.scores[pn];
+                                if ((plScore == 0) || (plName == null) || plName.isEmpty())
+                                    continue;  // initial settlements give starting score of 2: no one would have 0 at game end
+
+                                saveGamePlayerCommand.setInt(1, newGameID);
+                                saveGamePlayerCommand.setString(2, plName);
+                                saveGamePlayerCommand.setInt(3, plScore);
+                                saveGamePlayerCommand.addBatch();
+                                ++nPlayers;
+                            }
+                        }
 
-                try
-                {
-                    if (! winLossOnly)
-                    {
-                        // Per-player scores:
+                        String winnerName = gs.winnerName;
+                        if ((winnerName == null) || winnerName.isEmpty())
+                            winnerName = "?";  // could happen if disconnected before save
+                        userIncrWonCommand.setString(1, winnerName);
+                        userIncrWonCommand.addBatch();
+                        ++nWon;
 
-                        boolean hadAnyPlayers = false;
-                        saveGamePlayerCommand.clearBatch();
-                        for (int pn = 0; pn < ga.maxPlayers; ++pn)
+                        for (int pn = 0; pn < gs.maxPlayers; ++pn)
                         {
-                            if (ga.isSeatVacant(pn))
+                            if ((pn == gs.winnerPN) || gs.isVacant[pn])
+                                continue;
+                            String pname = gs.names[pn];
+                            if ((pname == null) || pname.isEmpty())
                                 continue;
-                            final String plName = names[pn];
-                            final int plScore = scores[pn];
-                            if ((plScore == 0) || (plName == null) || plName.isEmpty())
-                                continue;  // initial settlements give starting score of 2: no one would have 0 at game end
-
-                            hadAnyPlayers = true;
-                            saveGamePlayerCommand.setInt(1, newGameID);
-                            saveGamePlayerCommand.setString(2, plName);
-                            saveGamePlayerCommand.setInt(3, plScore);
-                            saveGamePlayerCommand.addBatch();
+
+                            userIncrLostCommand.setString(1, pname);
+                            userIncrLostCommand.addBatch();
+                            ++nLost;
                         }
-                        if (hadAnyPlayers)
-                            saveGamePlayerCommand.executeBatch();
                     }
-
-                    // Per-user win/loss records:
-
-                    if ((winnerName != null) && (winnerName.length() > 0))
+                    else if (pw instanceof LoginWrite)
                     {
-                        userIncrWonCommand.setString(1, winnerName);
-                        userIncrWonCommand.executeUpdate();
+                        final LoginWrite lw = (LoginWrite) pw;
+                        recordLoginCommand.setString(1, lw.userName);
+                        recordLoginCommand.setString(2, lw.host);
+                        recordLoginCommand.setDate(3, new java.sql.Date(lw.time), Calendar.getInstance());
+                        recordLoginCommand.addBatch();
+                        ++nLogins;
                     }
-
-                    int nLost = 0;
-                    final int winnerPN = winner.getPlayerNumber();
-                    for (int pn = 0; pn < ga.maxPlayers; ++pn)
+                    else if (pw instanceof LastloginWrite)
                     {
-                        if ((pn == winnerPN) || ga.isSeatVacant(pn))
-                            continue;
-                        String pname = names[pn];
-                        if ((pname == null) || pname.isEmpty())
-                            continue;
-
-                        userIncrLostCommand.setString(1, pname);
-                        userIncrLostCommand.addBatch();
-                        ++nLost;
+                        final LastloginWrite lw = (LastloginWrite) pw;
+                        lastloginUpdate.setDate(1, new java.sql.Date(lw.time), Calendar.getInstance());
+                        lastloginUpdate.setString(2, lw.userName);
+                        lastloginUpdate.addBatch();
+                        ++nLastlogins;
                     }
-                    if (nLost > 0)
-                        userIncrLostCommand.executeBatch();
+                }
 
-                    connection.commit();
-                } catch (SQLException e) {
+                if (nPlayers > 0)
+                    saveGamePlayerCommand.executeBatch();
+                if (nWon > 0)
+                    userIncrWonCommand.executeBatch();
+                if (nLost > 0)
+                    userIncrLostCommand.executeBatch();
+                if (nLogins > 0)
+                    recordLoginCommand.executeBatch();
+                if (nLastlogins > 0)
+                    lastloginUpdate.executeBatch();
+
+                connection.commit();
+            } catch (SQLException e) {
+                checkErrorCondition(e);
+                try
+                {
                     connection.rollback();
-                    throw e;
-                } finally {
+                } catch (SQLException e2) {}
+                throw e;
+            } finally {
+                try
+                {
                     exitTransactionMode(wasConnAutocommit);
+                } catch (SQLException e) {
+                    checkErrorCondition(e);
                 }
             }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Insert a completed game's row into the {@code games2} table, or {@code games} if schema is older.
+     * Called from {@link #writePending(List)} within its transaction.
+     * @param gs  Game's results; {@link GameScoresWrite#winLossOnly} should be false
+     * @return  The new row's ID if {@code games2}, otherwise 0
+     * @throws SQLException if any unexpected database problem
+     * @since 2.4.50
+     */
+    private int writeGameRow(final GameScoresWrite gs)
+        throws SQLException
+    {
+        if (schemaVersion >= SCHEMA_VERSION_2000)
+            return insertGames2Row
+                (gs.gaName, gs.winnerName, gs.startTimeMillis, gs.gameLengthSeconds, gs.optsStr, gs.scen);
+
+        // schemaVersion < SCHEMA_VERSION_2000: no games2 table
+        final int db_max_players = (schemaVersion < SCHEMA_VERSION_1200) ? 4 : 6;
+        saveGameCommand.setString(1, gs.gaName);
+        int i = 2;
+
+        for (int pn = 0; pn < db_max_players; ++i, ++pn)
+            saveGameCommand.setString(i, gs.names[pn]);
+        for (int pn = 0; pn < db_max_players; ++i, ++pn)
+            if ((gs.scores[pn] != 0) || (gs.names[pn] != null))
+                saveGameCommand.setShort(i, gs.scores[pn]);
+            else
+                saveGameCommand.setNull(i, Types.SMALLINT);
 
+        saveGameCommand.setTimestamp(i, new Timestamp(gs.startTimeMillis));  ++i;
+
+        if (schemaVersion >= SCHEMA_VERSION_1200)
+        {
+            saveGameCommand.setInt(i, gs.gameLengthSeconds);  ++i;
+            saveGameCommand.setString(i, gs.winnerName);  ++i;
+            saveGameCommand.setString(i, gs.optsStr);  ++i;
         }
-        catch (SQLException sqlE)
+
+        saveGameCommand.executeUpdate();
+
+        return 0;
+    }
+
+    /**
+     * Start writing game scores and logins asynchronously with a {@link SOCDBWriteBehindQueue},
+     * as requested by {@link #PROP_JSETTLERS_DB_WRITE__BEHIND}. Does nothing if already started.
+     * {@link #cleanup(boolean)} writes anything still queued, then stops the queue.
+     * @return  true if started or already running, false if not {@link #isInitialized()}
+     * @since 2.4.50
+     */
+    public boolean startWriteBehind()
+    {
+        if (! isInitialized())
+            return false;
+
+        writeLock.lock();
+        try
         {
-            errorCondition = true;
-            sqlE.printStackTrace();
-            throw sqlE;
+            if (writeBehind == null)
+            {
+                final SOCDBWriteBehindQueue<PendingWrite> wb = new SOCDBWriteBehindQueue<PendingWrite>
+                    (new SOCDBWriteBehindQueue.BatchWriter<PendingWrite>()
+                    {
+                        @Override
+                        public void writeBatch(final List<PendingWrite> batch)
+                            throws SQLException
+                        {
+                            writePending(batch);
+                        }
+                    });
+                wb.start();
+                writeBehind = wb;
+            }
+        } finally {
+            writeLock.unlock();
         }
 
         return true;
     }
 
+    /**
+     * Get the write-behind queue, for its metrics.
+     * @return  Queue if {@link #PROP_JSETTLERS_DB_WRITE__BEHIND} is set and {@link #startWriteBehind()} was called,
+     *     otherwise null
+     * @since 2.4.50
+     */
+    public SOCDBWriteBehindQueue<?> getWriteBehindQueue()
+    {
+        return writeBehind;
+    }
+
     /**
      * Try and fit names and scores of player 5 and/or player 6
      * into the 4 db slots, for backwards-compatibility with
@@ -2324,11 +2712,20 @@ public class SOCDBHelper
             if (robotParamsQuery == null)
                 return null;  // <--- Early return: Table not found in db, is probably empty ---
 
+            SOCDBConnectionPool.PooledConnection pc = null;
+            boolean ok = false, lockedMain = false;
             try
             {
-                robotParamsQuery.setString(1, robotName);
+                pc = borrowReadConnection();
+                if (pc == null)
+                {
+                    writeLock.lock();  // main connection's statements
+                    lockedMain = true;
+                }
+                final PreparedStatement ps = (pc != null) ? pc.prepareStatement(ROBOT_PARAMS_QUERY) : robotParamsQuery;
+                ps.setString(1, robotName);
 
-                ResultSet resultSet = robotParamsQuery.executeQuery();
+                ResultSet resultSet = ps.executeQuery();
 
                 if (resultSet.next())
                 {
@@ -2345,14 +2742,23 @@ public class SOCDBHelper
                 }
 
                 resultSet.close();
+                ok = true;
             }
             catch (SQLException sqlE)
             {
-                errorCondition = true;
+                if (lockedMain)
+                    checkErrorCondition(sqlE);
                 sqlE.printStackTrace();
 
                 throw sqlE;
             }
+            finally
+            {
+                if (pc != null)
+                    pc.release(! ok);
+                else if (lockedMain)
+                    writeLock.unlock();
+            }
         }
 
         return robotParams;
@@ -2373,25 +2779,43 @@ public class SOCDBHelper
         if (userCountQuery == null)
             return -1;  // <--- Early return: Table not found in db, is probably empty ---
 
+        SOCDBConnectionPool.PooledConnection pc = null;
+        boolean ok = false, lockedMain = false;
         try
         {
-            ResultSet resultSet = userCountQuery.executeQuery();
+            pc = borrowReadConnection();
+            if (pc == null)
+            {
+                writeLock.lock();  // main connection's statements
+                lockedMain = true;
+            }
+            final PreparedStatement ps = (pc != null) ? pc.prepareStatement(USER_COUNT_QUERY) : userCountQuery;
+            ResultSet resultSet = ps.executeQuery();
 
             int count = -1;
             if (resultSet.next())
                 count = resultSet.getInt(1);
 
             resultSet.close();
+            ok = true;
 
             return count;
         }
         catch (SQLException sqlE)
         {
-            errorCondition = true;
+            if (lockedMain)
+                checkErrorCondition(sqlE);
             sqlE.printStackTrace();
 
             throw sqlE;
         }
+        finally
+        {
+            if (pc != null)
+                pc.release(! ok);
+            else if (lockedMain)
+                writeLock.unlock();
+        }
     }
 
     /**
@@ -2440,6 +2864,7 @@ public class SOCDBHelper
             li.add(bcryptWorkFactor + dbStat);
         }
 
+        writeLock.lock();
         try
         {
             final DatabaseMetaData meta = connection.getMetaData();
@@ -2455,12 +2880,38 @@ public class SOCDBHelper
         } catch (SQLException e) {
             li.add("Error retrieving DB version info");
             li.add(e.getMessage());  // might be null
+        } finally {
+            writeLock.unlock();
         }
 
         li.add("Game results saved in DB?");
         li.add(Boolean.toString
             (srv.getConfigBoolProperty(SOCDBHelper.PROP_JSETTLERS_DB_SAVE_GAMES, false)));
 
+        final SOCDBConnectionPool pool = readPool;
+        li.add("Read connection pool");
+        if (pool != null)
+            li.add("max " + pool.getMaxSize() + ": " + pool.getOpenCount() + " open, " + pool.getIdleCount() + " idle; "
+                + pool.getBorrowCount() + " borrowed, " + pool.getWaitCount() + " waited, "
+                + pool.getOpenedCount() + " opened since connect");
+        else
+            li.add("None (reads use main connection)");
+
+        final SOCDBWriteBehindQueue<PendingWrite> wb = writeBehind;
+        li.add("Write mode for game results and logins");
+        li.add((wb != null) ? "Asynchronous (write-behind)" : "Synchronous");
+        if (wb != null)
+        {
+            li.add("Write-behind queue depth");
+            li.add(Integer.toString(wb.getQueueDepth()));
+            li.add("Write-behind writes: written, failed, written synchronously when full");
+            li.add(wb.getWrittenCount() + ", " + wb.getFailedCount() + ", " + wb.getRejectedCount());
+            li.add("Write-behind batches, retries");
+            li.add(wb.getBatchCount() + ", " + wb.getRetryCount());
+            li.add("Write-behind latency ms: average, max");
+            li.add(String.format(Locale.US, "%.1f, %.1f", wb.getAverageLatencyMillis(), wb.getMaxLatencyMillis()));
+        }
+
         return li;
     }
 
@@ -2492,10 +2943,12 @@ public class SOCDBHelper
         HashMap<String,String> namesFromLC = new HashMap<String,String>();  // lowercase -> non-lowercase name
         Map<String,List<String>> dupeMap = new HashMap<String,List<String>>();  // duplicates from namesFromLC
 
-        Statement s = connection.createStatement();
+        writeLock.lock();
+        Statement s = null;
         ResultSet rs = null;
         try
         {
+            s = connection.createStatement();
             rs = s.executeQuery("SELECT nickname FROM users");
             while (rs.next())
             {
@@ -2525,8 +2978,10 @@ public class SOCDBHelper
                     rs.close();
             } catch (SQLException e) {}
             try {
-                s.close();
+                if (s != null)
+                    s.close();
             } catch (SQLException e) {}
+            writeLock.unlock();
         }
 
         namesFromLC.clear();
@@ -2702,7 +3157,8 @@ public class SOCDBHelper
      *     <BR>
      *     Example: {@code "SELECT * FROM games WHERE duration_sec >= 3600"}
      * @param limit  Number of rows for LIMIT clause
-     * @return  This limited SELECT statement's ResultSet, from {@link Statement#executeQuery(String)}
+     * @return  This limited SELECT statement's ResultSet, from {@link Statement#executeQuery(String)}.
+     *     Since it's from the main {@link #connection}, caller must hold {@link #writeLock} until done with it.
      * @throws SQLException if any unexpected database problem
      * @since 1.2.00
      */
@@ -2741,7 +3197,7 @@ public class SOCDBHelper
 
     /**
      * Insert a new game-info row into the {@code games2} table and return its generated ID.
-     * Used by {@link #saveGameScores(SOCGame, int, boolean)}.
+     * Used by {@link #saveGameScores(SOCGame, int, boolean)} through {@link #writePending(List)}.
      *
      * @param startTimeMillis  Game start time, from {@link SOCGame#getStartTime()}{@link java.util.Date#getTime() .getTime()}
      * @param gameLengthSeconds  Game length, from {@link SOCGame#getDurationSeconds()}
@@ -2770,7 +3226,7 @@ public class SOCDBHelper
         if (schemaVersion < SCHEMA_VERSION_2000)
             throw new UnsupportedOperationException();
 
-        // No try-catch here for SQLException: handled within caller saveGameScores
+        // No try-catch here for SQLException: handled within caller writePending
 
         int i = 1;
         saveGameCommand.setString(1, gaName);  ++i;
@@ -2823,6 +3279,7 @@ public class SOCDBHelper
         ResultSet rs = null;
         boolean found = false;
 
+        writeLock.lock();
         try
         {
             rs = connection.getMetaData().getTables(null, null, tabname, null);
@@ -2851,6 +3308,10 @@ public class SOCDBHelper
                 }
                 catch (SQLException se) {}
         }
+        finally
+        {
+            writeLock.unlock();
+        }
 
         return found;
     }
@@ -2879,6 +3340,7 @@ public class SOCDBHelper
         }
 
         ResultSet rs = null;
+        writeLock.lock();
         try
         {
             final boolean checkResultNum;  // Do we need to check query result contents?
@@ -2924,6 +3386,8 @@ public class SOCDBHelper
                 catch (SQLException e) {}
 
             return false;
+        } finally {
+            writeLock.unlock();
         }
 
         return true;
@@ -2947,6 +3411,7 @@ public class SOCDBHelper
      * <LI> Once done with transaction(s), call {@link #exitTransactionMode(boolean)}
      *      in the {@code finally} block of that {@code try/catch}
      *</UL>
+     * Caller must hold {@link #writeLock} from here until after {@link #exitTransactionMode(boolean)}.
      *
      * @return  Status value from {@link Connection#getAutoCommit()} about
      *     {@link #connection}'s behavior before entering transaction mode.
@@ -2980,6 +3445,7 @@ public class SOCDBHelper
      *<P>
      * The call to this method is probably best placed in the {@code finally} block of the
      * {@code try/catch} that contains the transaction's SQL commands and commit(s).
+     * Caller must hold {@link #writeLock}.
      *
      * @param wasConnAutocommit  The value returned from {@link #enterTransactionMode()},
      *     to restore {@link #connection}'s behavior to how it was before transaction mode.
@@ -3120,6 +3586,27 @@ public class SOCDBHelper
      */
     public void upgradeSchema(final Set<String> userAdmins)
         throws IllegalStateException, SQLException, MissingResourceException
+    {
+        writeLock.lock();
+        try
+        {
+            upgradeSchema_locked(userAdmins);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Body of {@link #upgradeSchema(Set)}, called while holding {@link #writeLock}
+     * since the upgrade's DDL and transactions use the main {@link #connection}.
+     * @param userAdmins  List of user admins, or {@code null}; see {@link #upgradeSchema(Set)}
+     * @throws IllegalStateException  see {@link #upgradeSchema(Set)}
+     * @throws MissingResourceException  see {@link #upgradeSchema(Set)}
+     * @throws SQLException  see {@link #upgradeSchema(Set)}
+     * @since 2.4.50
+     */
+    private void upgradeSchema_locked(final Set<String> userAdmins)
+        throws IllegalStateException, SQLException, MissingResourceException
     {
         if (isSchemaLatestVersion())  // throws IllegalStateException if ! isInitialized()
             throw new IllegalStateException("already at latest schema");
@@ -3610,63 +4097,241 @@ public class SOCDBHelper
     }
 
     /****************************************
-     * Connection cleanup
+     * Pending writes
      ****************************************/
 
     /**
-     * Close out and shut down the database connection.
-     * Any {@link SQLException}s while doing so are caught here.
-     * @param isForShutdown  If true, set <tt>connection = null</tt>
-     *          so we won't try to reconnect later.
+     * A game score or login write for {@link #writePending(List)}, queued by {@link #writeOrQueue(PendingWrite)}.
+     * Holds a copy of all data to write, since the game or user may change before it's written.
+     * @since 2.4.50
      */
-    public void cleanup(final boolean isForShutdown)
+    private static abstract class PendingWrite
     {
-        try
+    }
+
+    /**
+     * A completed game's results for {@link #saveGameScores(SOCGame, int, boolean)}.
+     * @since 2.4.50
+     */
+    private static final class GameScoresWrite extends PendingWrite
+    {
+        final boolean winLossOnly;
+
+        final String gaName, winnerName;
+
+        /** Game options from {@link SOCGameOption#packOptionsToString(Map, boolean, boolean)}, or null */
+        final String optsStr;
+
+        /** Scenario key from game option {@code "SC"}, or null */
+        final String scen;
+
+        final int maxPlayers, winnerPN, gameLengthSeconds;
+
+        final long startTimeMillis;
+
+        /**
+         * Player names and scores, indexed by player number, length {@link SOCGame#MAXPLAYERS}.
+         * Player 5 and 6 may already have been fit into the first 4 slots for older schemas.
+         */
+        final String[] names;
+
+        /** Player scores; see {@link #names} */
+        final short[] scores;
+
+        /** Is each seat vacant? Indexed by player number */
+        final boolean[] isVacant;
+
+        /**
+         * Copy a game's results.
+         * @param ga  Game that's just completed, with a winner
+         * @param gameLengthSeconds  Duration of game
+         * @param winLossOnly  If true, will only update users' win-loss counts
+         * @param schemaVersion  DB's current schema version
+         */
+        GameScoresWrite
+            (final SOCGame ga, final int gameLengthSeconds, final boolean winLossOnly, final int schemaVersion)
         {
-            if (! checkConnection())
+            this.winLossOnly = winLossOnly;
+            this.gameLengthSeconds = gameLengthSeconds;
+            gaName = ga.getName();
+            maxPlayers = ga.maxPlayers;
+            final SOCPlayer winner = ga.getPlayerWithWin();
+            winnerName = winner.getName();
+            winnerPN = winner.getPlayerNumber();
+            startTimeMillis = ga.getStartTime().getTime();
+
+            names = new String[SOCGame.MAXPLAYERS];  // DB max 6; ga.maxPlayers max 4 or 6
+            scores = new short[SOCGame.MAXPLAYERS];
+            isVacant = new boolean[SOCGame.MAXPLAYERS];
+            for (int pn = 0; pn < ga.maxPlayers; ++pn)
+            {
+                SOCPlayer pl = ga.getPlayer(pn);
+                names[pn] = pl.getName();
+                scores[pn] = (short) pl.getTotalVP();
+                isVacant[pn] = ga.isSeatVacant(pn);
+            }
+
+            if (winLossOnly)
+            {
+                optsStr = null;
+                scen = null;
                 return;
+            }
+
+            final int db_max_players = (schemaVersion < SCHEMA_VERSION_1200) ? 4 : 6;
+            if ((ga.maxPlayers > db_max_players)
+                && ! (ga.isSeatVacant(4) && ga.isSeatVacant(5)))
+            {
+                // Need to try and fit player 5 and/or player 6
+                // into the 4 db slots (backwards-compatibility)
+                saveGameScores_fit6pInto4(ga, names, scores);
+            }
+
+            final SOCGameOptionSet opts = ga.getGameOptions();
+            optsStr = (opts == null)
+                ? null
+                : SOCGameOption.packOptionsToString(opts.getAll(), false, true);
+            final SOCGameOption scOpt = (opts != null) ? opts.get("SC") : null;
+            scen = (scOpt != null) ? scOpt.getStringValue() : null;
         }
-        catch (SQLException e) {}
 
-        try
+        @Override
+        public String toString()
+        {
+            return "GameScoresWrite[" + gaName + ']';
+        }
+    }
+
+    /**
+     * A user's login host and time for {@link #recordLogin(String, String, long)}.
+     * @since 2.4.50
+     */
+    private static final class LoginWrite extends PendingWrite
+    {
+        final String userName, host;
+
+        final long time;
+
+        LoginWrite(final String userName, final String host, final long time)
+        {
+            this.userName = userName;
+            this.host = host;
+            this.time = time;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "LoginWrite[" + userName + ']';
+        }
+    }
+
+    /**
+     * A user's last login time for {@link #updateLastlogin(String, long)}.
+     * @since 2.4.50
+     */
+    private static final class LastloginWrite extends PendingWrite
+    {
+        final String userName;
+
+        final long time;
+
+        LastloginWrite(final String userName, final long time)
         {
-            createAccountCommand.close();
-            userPasswordQuery.close();
-            hostQuery.close();
-            lastloginUpdate.close();
-            saveGameCommand.close();
-            if (saveGamePlayerCommand != null)
-                saveGamePlayerCommand.close();
-            robotParamsQuery.close();
-            userCountQuery.close();
-            userExistsQuery.close();
-            if (userIncrWonCommand != null)
-                userIncrWonCommand.close();
-            if (userIncrLostCommand != null)
-                userIncrLostCommand.close();
+            this.userName = userName;
+            this.time = time;
         }
-        catch (Throwable thr)
+
+        @Override
+        public String toString()
+        {
+            return "LastloginWrite[" + userName + ']';
+        }
+    }
+
+    /****************************************
+     * Connection cleanup
+     ****************************************/
+
+    /**
+     * Close out and shut down the database connection.
+     * Any {@link SQLException}s while doing so are caught here.
+     * If {@link #PROP_JSETTLERS_DB_WRITE__BEHIND} is set, first writes any queued game scores and logins.
+     * @param isForShutdown  If true, set <tt>connection = null</tt>
+     *          so we won't try to reconnect later.
+     */
+    public void cleanup(final boolean isForShutdown)
+    {
+        final SOCDBWriteBehindQueue<PendingWrite> wb = writeBehind;
+        if (wb != null)
         {
-            ; /* ignore failures in query closes */
+            // write any queued game scores and logins before closing
+            if (! wb.shutdown(WRITE_BEHIND_SHUTDOWN_TIMEOUT_MS))
+                System.err.println
+                    ("DB write-behind: Timed out during cleanup; " + wb.getQueueDepth() + " queued writes not saved");
+            writeBehind = null;
         }
 
+        // before taking writeLock, which a background task holds while working on a batch
         if (isForShutdown && (schemaUpgBGTasksThread != null) && schemaUpgBGTasksThread.isAlive())
             schemaUpgBGTasksThread.doShutdown = true;
 
-        initialized = false;
+        writeLock.lock();  // wait for any current use of the connection
         try
         {
-            connection.close();
-            if (isForShutdown)
-                connection = null;
-        }
-        catch (SQLException sqlE)
-        {
-            errorCondition = true;
-            if (isForShutdown)
-                connection = null;
+            try
+            {
+                if (! checkConnection())
+                    return;
+            }
+            catch (SQLException e) {}
 
-            sqlE.printStackTrace();
+            try
+            {
+                createAccountCommand.close();
+                userPasswordQuery.close();
+                hostQuery.close();
+                lastloginUpdate.close();
+                saveGameCommand.close();
+                if (saveGamePlayerCommand != null)
+                    saveGamePlayerCommand.close();
+                robotParamsQuery.close();
+                userCountQuery.close();
+                userExistsQuery.close();
+                if (userIncrWonCommand != null)
+                    userIncrWonCommand.close();
+                if (userIncrLostCommand != null)
+                    userIncrLostCommand.close();
+            }
+            catch (Throwable thr)
+            {
+                ; /* ignore failures in query closes */
+            }
+
+            final SOCDBConnectionPool pool = readPool;
+            if (pool != null)
+            {
+                pool.close();
+                readPool = null;
+            }
+
+            initialized = false;
+            try
+            {
+                connection.close();
+                if (isForShutdown)
+                    connection = null;
+            }
+            catch (SQLException sqlE)
+            {
+                errorCondition = true;
+                if (isForShutdown)
+                    connection = null;
+
+                sqlE.printStackTrace();
+            }
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -3701,16 +4366,21 @@ public class SOCDBHelper
         Map<String, String> userConvPW = new HashMap<String, String>();
         for (String uname : users)
         {
-            userPasswordQuery.setString(1, uname);
-
             String dbUserName = null, dbPassword = null;
-            ResultSet resultSet = userPasswordQuery.executeQuery();
-            if (resultSet.next())
+            writeLock.lock();  // not held while hashing, which is slow on purpose
+            try
             {
-                dbUserName = resultSet.getString(1);
-                dbPassword = resultSet.getString(2);
+                userPasswordQuery.setString(1, uname);
+                ResultSet resultSet = userPasswordQuery.executeQuery();
+                if (resultSet.next())
+                {
+                    dbUserName = resultSet.getString(1);
+                    dbPassword = resultSet.getString(2);
+                }
+                resultSet.close();
+            } finally {
+                writeLock.unlock();
             }
-            resultSet.close();
 
             if (dbPassword != null)
                 try
@@ -3733,35 +4403,41 @@ public class SOCDBHelper
             return false;  // <--- Early return: Nothing to do ---
         }
 
-        PreparedStatement ps = connection.prepareStatement
-            ("UPDATE users SET password='!', pw_scheme=" + PW_SCHEME_BCRYPT + ", pw_store=? WHERE nickname=?");
-
-        // begin transaction
-        final boolean wasConnAutocommit = enterTransactionMode();
-
+        writeLock.lock();
         try
         {
-            int n = 0;
-            for (Map.Entry<String, String> e : userConvPW.entrySet())
+            PreparedStatement ps = connection.prepareStatement
+                ("UPDATE users SET password='!', pw_scheme=" + PW_SCHEME_BCRYPT + ", pw_store=? WHERE nickname=?");
+
+            // begin transaction
+            final boolean wasConnAutocommit = enterTransactionMode();
+
+            try
             {
-                ps.setString(1, e.getValue());
-                ps.setString(2, e.getKey());
-                ps.addBatch();
-                ++n;
-                if (n >= UPG_BATCH_MAX)
+                int n = 0;
+                for (Map.Entry<String, String> e : userConvPW.entrySet())
                 {
-                    ps.executeBatch();
-                    ps.clearBatch();
-                    n = 0;
+                    ps.setString(1, e.getValue());
+                    ps.setString(2, e.getKey());
+                    ps.addBatch();
+                    ++n;
+                    if (n >= UPG_BATCH_MAX)
+                    {
+                        ps.executeBatch();
+                        ps.clearBatch();
+                        n = 0;
+                    }
                 }
+                ps.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                exitTransactionMode(wasConnAutocommit);
             }
-            ps.executeBatch();
-            connection.commit();
-        } catch (SQLException e) {
-            connection.rollback();
-            throw e;
         } finally {
-            exitTransactionMode(wasConnAutocommit);
+            writeLock.unlock();
         }
 
         if (doneText != null)
@@ -3945,14 +4621,20 @@ public class SOCDBHelper
             throw new IllegalStateException(e);
         }
 
-        Statement s = connection.createStatement();
+        writeLock.lock();
         try
         {
-            s.execute(sql);
+            Statement s = connection.createStatement();
+            try
+            {
+                s.execute(sql);
+            } finally {
+                try {
+                    s.close();
+                } catch (SQLException e) {}
+            }
         } finally {
-            try {
-                s.close();
-            } catch (SQLException e) {}
+            writeLock.unlock();
         }
     }
 
@@ -3970,12 +4652,18 @@ public class SOCDBHelper
     {
         int v = defaultVal;
 
-        Statement s = connection.createStatement();
-        ResultSet rs = s.executeQuery
-            ("SELECT i_value FROM settings WHERE s_name='" + settingKey + "';");
-        if (rs.next())
-            v = rs.getInt(1);
-        s.close();  // also closes rs
+        writeLock.lock();
+        try
+        {
+            Statement s = connection.createStatement();
+            ResultSet rs = s.executeQuery
+                ("SELECT i_value FROM settings WHERE s_name='" + settingKey + "';");
+            if (rs.next())
+                v = rs.getInt(1);
+            s.close();  // also closes rs
+        } finally {
+            writeLock.unlock();
+        }
 
         return v;
     }
@@ -3994,24 +4682,30 @@ public class SOCDBHelper
     private void updateSetting(final String settingKey, final int val, final boolean isAdd)
         throws SQLException
     {
-        PreparedStatement ps = connection.prepareStatement
-            (isAdd
-             ? "INSERT INTO settings(s_name, i_value, s_changed) values(?, ?, ?);"
-             : "UPDATE settings SET i_value=?, s_changed=? WHERE s_name=?;");
-        final Timestamp tsNow = new Timestamp(System.currentTimeMillis());
-        if (isAdd)
+        writeLock.lock();
+        try
         {
-            ps.setString(1, settingKey);
-            ps.setInt(2, val);
-            ps.setTimestamp(3, tsNow);
-        } else {
-            ps.setInt(1, val);
-            ps.setTimestamp(2, tsNow);
-            ps.setString(3, settingKey);
-        }
+            PreparedStatement ps = connection.prepareStatement
+                (isAdd
+                 ? "INSERT INTO settings(s_name, i_value, s_changed) values(?, ?, ?);"
+                 : "UPDATE settings SET i_value=?, s_changed=? WHERE s_name=?;");
+            final Timestamp tsNow = new Timestamp(System.currentTimeMillis());
+            if (isAdd)
+            {
+                ps.setString(1, settingKey);
+                ps.setInt(2, val);
+                ps.setTimestamp(3, tsNow);
+            } else {
+                ps.setInt(1, val);
+                ps.setTimestamp(2, tsNow);
+                ps.setString(3, settingKey);
+            }
 
-        ps.executeUpdate();
-        ps.close();
+            ps.executeUpdate();
+            ps.close();
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     //-------------------------------------------------------------------
@@ -4254,6 +4948,25 @@ public class SOCDBHelper
      */
     public final void testDBHelper()
         throws IllegalStateException, SQLException
+    {
+        writeLock.lock();
+        try
+        {
+            testDBHelper_locked();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Body of {@link #testDBHelper()}, called while holding {@link #writeLock}
+     * since its tests use the main {@link #connection}.
+     * @throws IllegalStateException  see {@link #testDBHelper()}
+     * @throws SQLException  see {@link #testDBHelper()}
+     * @since 2.4.50
+     */
+    private void testDBHelper_locked()
+        throws IllegalStateException, SQLException
     {
         if (! initialized)
             throw new IllegalStateException();
@@ -4713,11 +5426,17 @@ public class SOCDBHelper
             {
                 Timestamp sqlNow = new Timestamp(System.currentTimeMillis());
 
-                PreparedStatement ps = connection.prepareStatement
-                    ("UPDATE db_version SET bg_tasks_done = ? WHERE bg_tasks_done IS NULL AND to_vers = ?;");
-                ps.setTimestamp(1, sqlNow);
-                ps.setInt(2, schemaVersion);
-                ps.executeUpdate();
+                writeLock.lock();
+                try
+                {
+                    PreparedStatement ps = connection.prepareStatement
+                        ("UPDATE db_version SET bg_tasks_done = ? WHERE bg_tasks_done IS NULL AND to_vers = ?;");
+                    ps.setTimestamp(1, sqlNow);
+                    ps.setInt(2, schemaVersion);
+                    ps.executeUpdate();
+                } finally {
+                    writeLock.unlock();
+                }
             } catch (SQLException e) {
                 System.err.println
                     ("*** Schema upgrade BG tasks completed, but SQL error setting db_version.bg_tasks_done: " + e);
@@ -4750,10 +5469,16 @@ public class SOCDBHelper
             {
                 users.clear();
 
-                ResultSet rs = selectWithLimit("SELECT nickname_lc FROM users WHERE pw_store IS NULL", UPG_BATCH);
-                for (int i = 0; (i < UPG_BATCH) && rs.next(); ++i)
-                    users.add(rs.getString(1));
-                rs.close();
+                writeLock.lock();
+                try
+                {
+                    ResultSet rs = selectWithLimit("SELECT nickname_lc FROM users WHERE pw_store IS NULL", UPG_BATCH);
+                    for (int i = 0; (i < UPG_BATCH) && rs.next(); ++i)
+                        users.add(rs.getString(1));
+                    rs.close();
+                } finally {
+                    writeLock.unlock();
+                }
 
                 if (! users.isEmpty())
                     if (! upgradeSchema_1200_encodeUserPasswords(users, sr, null, null, null))
@@ -4773,10 +5498,30 @@ public class SOCDBHelper
          * <LI> Normalize {@code games} into {@code games2} and {@code games2_players}, from {@code upg_tmp_games} copy
          * <LI> Update DB {@code users}' win/loss records while doing so
          *</UL>
+         *<P>
+         * Holds {@link SOCDBHelper#writeLock writeLock} while working, but releases it between batches
+         * so logins and game results can be written meanwhile.
          * @since 2.0.00
          */
         private void upgradeBGTasks_1200_2000()
             throws SQLException
+        {
+            writeLock.lock();
+            try
+            {
+                upgradeBGTasks_1200_2000_locked();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        /**
+         * Body of {@link #upgradeBGTasks_1200_2000()}, called while holding {@link SOCDBHelper#writeLock writeLock}.
+         * Releases and re-takes that lock between batches, outside of transaction mode.
+         * @since 2.4.50
+         */
+        private void upgradeBGTasks_1200_2000_locked()
+            throws SQLException
         {
             final int UPG_BATCH = UPG_BATCH_MAX / 3 + 1;
                 // less than max, because loop body includes per-game updates for several tables
@@ -4808,6 +5553,7 @@ public class SOCDBHelper
 
             // begin transaction of first loop iteration
             final boolean wasConnAutocommit = enterTransactionMode();
+            boolean isInTransaction = true;  // false only while releasing writeLock between batches
 
             try
             {
@@ -4992,6 +5738,20 @@ public class SOCDBHelper
                         connection.commit();  // also begins transaction for next iteration
                     }
 
+                    if (hasGames && ! doShutdown)
+                    {
+                        // Between batches, let other threads use the connection in its usual mode
+                        exitTransactionMode(wasConnAutocommit);
+                        isInTransaction = false;
+                        writeLock.unlock();
+                        writeLock.lock();  // fair lock, so any waiting threads go first
+                        if (doShutdown)
+                            break;  // cleanup may have closed the connection
+
+                        enterTransactionMode();
+                        isInTransaction = true;
+                    }
+
                 } while (hasGames && ! doShutdown);
 
                 if (! doShutdown)
@@ -5004,10 +5764,12 @@ public class SOCDBHelper
                 schemaUpgBGTasks_fromVersion = SCHEMA_VERSION_2000;
 
             } catch (SQLException e) {
-                connection.rollback();
+                if (isInTransaction)
+                    connection.rollback();
                 throw e;
             } finally {
-                exitTransactionMode(wasConnAutocommit);
+                if (isInTransaction)
+                    exitTransactionMode(wasConnAutocommit);
             }
         }
 
@@ -0,0 +1,460 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.server.database;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind queue for {@link SOCDBHelper}'s game score and login writes:
+ * Callers {@link #enqueue(Object)} a write and return immediately, and a single writer thread
+ * passes queued writes in batches to a {@link BatchWriter}, oldest first.
+ *<P>
+ * If a batch fails with {@link SQLException}, it's retried after a delay which doubles after each attempt.
+ * If it still fails after the last retry, each of its writes is tried once on its own,
+ * so that one bad write doesn't discard the others; any which fail are counted and dropped.
+ *<P>
+ * The queue has a capacity limit; if full, {@link #enqueue(Object)} returns false and caller should
+ * write synchronously instead. Call {@link #shutdown(long)} to write all queued items before closing
+ * the DB connection.
+ *<P>
+ * Metrics like {@link #getQueueDepth()} and {@link #getAverageLatencyMillis()}
+ * are shown in the server's DB settings from {@link SOCDBHelper#getSettingsFormatted(soc.server.SOCServer)}.
+ *
+ * @param <T>  Type of queued write
+ * @since 2.4.50
+ */
+public class SOCDBWriteBehindQueue<T>
+{
+    /** Default maximum number of queued writes: 10000 */
+    public static final int DEFAULT_CAPACITY = 10000;
+
+    /** Default maximum number of writes in a batch: 50 */
+    public static final int DEFAULT_MAX_BATCH = 50;
+
+    /** Default number of retries of a failed batch: 4 */
+    public static final int DEFAULT_MAX_RETRIES = 4;
+
+    /** Default delay before first retry of a failed batch, in milliseconds: 250 */
+    public static final int DEFAULT_RETRY_DELAY_MS = 250;
+
+    /**
+     * Writes a batch of queued writes, called only from the queue's writer thread.
+     * @param <T>  Type of queued write
+     */
+    public interface BatchWriter<T>
+    {
+        /**
+         * Write a batch, as one transaction if possible.
+         * @param batch  Writes to make, oldest first; not empty
+         * @throws SQLException  if the batch couldn't be written; none of it should have been committed
+         */
+        void writeBatch(List<T> batch) throws SQLException;
+    }
+
+    /** A queued write and when it was queued */
+    private static final class Entry<T>
+    {
+        final T item;
+
+        /** Enqueue time, from {@link System#nanoTime()} */
+        final long enqueuedAt;
+
+        Entry(final T item)
+        {
+            this.item = item;
+            enqueuedAt = System.nanoTime();
+        }
+    }
+
+    private final BatchWriter<T> writer;
+
+    private final LinkedBlockingQueue<Entry<T>> queue;
+
+    private final int maxBatch, maxRetries, retryDelayMillis;
+
+    /** Writer thread, or null if not started or after {@link #shutdown(long)} */
+    private Thread writerThread;
+
+    /**
+     * If true, {@link #shutdown(long)} was called and {@link #enqueue(Object)} won't accept more writes.
+     * Set while synchronized on this queue.
+     */
+    private volatile boolean isShutdown;
+
+    /**
+     * Number of writes queued or being written, for {@link #getQueueDepth()} and {@link #flush(long)}.
+     * Guarded by synchronizing on this queue, which is notified when it reaches 0.
+     */
+    private int pending;
+
+    private final AtomicLong writtenCount = new AtomicLong(),
+        failedCount = new AtomicLong(),
+        batchCount = new AtomicLong(),
+        retryCount = new AtomicLong(),
+        rejectedCount = new AtomicLong(),
+        totalLatencyNanos = new AtomicLong(),
+        maxLatencyNanos = new AtomicLong();
+
+    /**
+     * Create a queue with default capacity, batch size, and retries.
+     * Call {@link #start()} to begin writing.
+     * @param writer  Writer for batches of queued writes
+     */
+    public SOCDBWriteBehindQueue(final BatchWriter<T> writer)
+    {
+        this(writer, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH, DEFAULT_MAX_RETRIES, DEFAULT_RETRY_DELAY_MS);
+    }
+
+    /**
+     * Create a queue. Call {@link #start()} to begin writing.
+     * @param writer  Writer for batches of queued writes
+     * @param capacity  Maximum number of queued writes; at least 1
+     * @param maxBatch  Maximum number of writes in a batch; at least 1
+     * @param maxRetries  Number of times to retry a failed batch before trying its writes one at a time
+     * @param retryDelayMillis  Delay before first retry; doubles after each attempt
+     * @throws IllegalArgumentException if {@code capacity} or {@code maxBatch} &lt; 1,
+     *     or {@code maxRetries} or {@code retryDelayMillis} &lt; 0
+     */
+    public SOCDBWriteBehindQueue
+        (final BatchWriter<T> writer, final int capacity, final int maxBatch,
+         final int maxRetries, final int retryDelayMillis)
+        throws IllegalArgumentException
+    {
+        if ((capacity < 1) || (maxBatch < 1) || (maxRetries < 0) || (retryDelayMillis < 0))
+            throw new IllegalArgumentException();
+
+        this.writer = writer;
+        queue = new LinkedBlockingQueue<Entry<T>>(capacity);
+        this.maxBatch = maxBatch;
+        this.maxRetries = maxRetries;
+        this.retryDelayMillis = retryDelayMillis;
+    }
+
+    /**
+     * Start the writer thread, if not already started.
+     * @throws IllegalStateException if {@link #shutdown(long)} was called
+     */
+    public synchronized void start()
+        throws IllegalStateException
+    {
+        if (isShutdown)
+            throw new IllegalStateException("shutdown");
+        if (writerThread != null)
+            return;
+
+        writerThread = new Thread("dbWriteBehind")
+        {
+            @Override
+            public void run()
+            {
+                runWriter();
+            }
+        };
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queue a write, to be written soon by the writer thread.
+     * @param item  Write to queue; not null
+     * @return  true if queued, false if the queue is full or shut down; caller should write {@code item} itself
+     */
+    public boolean enqueue(final T item)
+    {
+        synchronized (this)
+        {
+            // check and queue while synchronized, so shutdown's flush waits for anything accepted here
+            if (! isShutdown)
+            {
+                ++pending;
+                if (queue.offer(new Entry<T>(item)))
+                    return true;
+
+                donePending(1);
+            }
+        }
+
+        rejectedCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Wait until all writes queued so far have been written or dropped.
+     * @param timeoutMillis  Maximum time to wait, in milliseconds
+     * @return  true if the queue is empty, false if timed out or interrupted
+     */
+    public synchronized boolean flush(final long timeoutMillis)
+    {
+        final long until = System.currentTimeMillis() + timeoutMillis;
+        try
+        {
+            while (pending > 0)
+            {
+                final long wait = until - System.currentTimeMillis();
+                if (wait <= 0)
+                    return false;
+                wait(wait);
+            }
+        } catch (InterruptedException e) {
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Stop accepting writes, wait for queued writes to be written, then stop the writer thread.
+     * @param timeoutMillis  Maximum time to wait for queued writes, in milliseconds
+     * @return  true if all queued writes were written or dropped, false if some are still queued
+     */
+    public boolean shutdown(final long timeoutMillis)
+    {
+        synchronized (this)
+        {
+            isShutdown = true;  // enqueue checks this while synchronized
+        }
+        final boolean flushed = flush(timeoutMillis);
+
+        final Thread t;
+        synchronized (this)
+        {
+            t = writerThread;
+            writerThread = null;
+        }
+        if (t != null)
+            t.interrupt();
+
+        return flushed;
+    }
+
+    /**
+     * Writer thread's loop: Wait for writes, then write them in batches until interrupted.
+     */
+    private void runWriter()
+    {
+        final List<Entry<T>> batch = new ArrayList<Entry<T>>(maxBatch);
+        final Thread thisThread = Thread.currentThread();
+        while (true)
+        {
+            try
+            {
+                final Entry<T> first = (isShutdown)
+                    ? queue.poll(100, TimeUnit.MILLISECONDS)
+                    : queue.take();
+                if (first == null)
+                    continue;
+
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                writeWithRetries(batch);
+            } catch (InterruptedException e) {
+                // shutdown interrupts after flushing or timing out; checked below
+            } finally {
+                batch.clear();
+            }
+
+            synchronized (this)
+            {
+                if (writerThread != thisThread)
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Write a batch, retrying if needed, then update metrics and {@link #pending}.
+     * @param batch  Batch to write; not empty
+     * @throws InterruptedException if interrupted during a retry delay; batch's writes are dropped
+     */
+    private void writeWithRetries(final List<Entry<T>> batch)
+        throws InterruptedException
+    {
+        final int n = batch.size();
+        final List<T> items = new ArrayList<T>(n);
+        for (Entry<T> e : batch)
+            items.add(e.item);
+
+        try
+        {
+            long delay = retryDelayMillis;
+            for (int attempt = 0; ; ++attempt)
+            {
+                try
+                {
+                    writer.writeBatch(items);
+                    batchCount.incrementAndGet();
+                    for (Entry<T> e : batch)
+                        recordWritten(e);
+                    return;
+                } catch (SQLException e) {
+                    if (attempt >= maxRetries)
+                    {
+                        System.err.println
+                            ("DB write-behind: batch of " + n + " failed after " + maxRetries + " retries: " + e);
+                        break;
+                    }
+                }
+
+                retryCount.incrementAndGet();
+                Thread.sleep(delay);
+                delay *= 2;
+            }
+
+            // Still failing: Try each write on its own, so one bad write doesn't drop the rest
+            for (Entry<T> e : batch)
+            {
+                try
+                {
+                    writer.writeBatch(Collections.singletonList(e.item));
+                    batchCount.incrementAndGet();
+                    recordWritten(e);
+                } catch (SQLException ex) {
+                    failedCount.incrementAndGet();
+                    System.err.println("DB write-behind: dropping failed write " + e.item + ": " + ex);
+                }
+            }
+        } catch (InterruptedException e) {
+            failedCount.addAndGet(n);
+            System.err.println("DB write-behind: interrupted, dropping batch of " + n);
+            throw e;
+        } catch (RuntimeException e) {
+            failedCount.addAndGet(n);
+            System.err.println("DB write-behind: dropping batch of " + n + ": " + e);
+            e.printStackTrace();
+        } finally {
+            donePending(n);
+        }
+    }
+
+    /**
+     * Update metrics for a written entry.
+     * @param e  Entry just written
+     */
+    private void recordWritten(final Entry<T> e)
+    {
+        writtenCount.incrementAndGet();
+        final long latency = System.nanoTime() - e.enqueuedAt;
+        totalLatencyNanos.addAndGet(latency);
+        long max = maxLatencyNanos.get();
+        while ((latency > max) && ! maxLatencyNanos.compareAndSet(max, latency))
+            max = maxLatencyNanos.get();
+    }
+
+    /**
+     * Subtract from {@link #pending}, notifying {@link #flush(long)} if it reaches 0.
+     * @param n  Number of writes done
+     */
+    private synchronized void donePending(final int n)
+    {
+        pending -= n;
+        if (pending <= 0)
+            notifyAll();
+    }
+
+    /**
+     * Number of writes queued or being written.
+     * @return  Queue depth
+     */
+    public synchronized int getQueueDepth()
+    {
+        return pending;
+    }
+
+    /**
+     * Has {@link #start()} been called, and not yet {@link #shutdown(long)}?
+     * @return  true if writer thread is running
+     */
+    public synchronized boolean isRunning()
+    {
+        return (writerThread != null);
+    }
+
+    /**
+     * Number of writes written since startup.
+     * @return  Count of writes committed by the {@link BatchWriter}
+     */
+    public long getWrittenCount()
+    {
+        return writtenCount.get();
+    }
+
+    /**
+     * Number of writes dropped after retries failed.
+     * @return  Count of failed writes
+     */
+    public long getFailedCount()
+    {
+        return failedCount.get();
+    }
+
+    /**
+     * Number of batches successfully written, including single writes retried on their own.
+     * @return  Count of batches
+     */
+    public long getBatchCount()
+    {
+        return batchCount.get();
+    }
+
+    /**
+     * Number of batch retries after a failure.
+     * @return  Count of retries
+     */
+    public long getRetryCount()
+    {
+        return retryCount.get();
+    }
+
+    /**
+     * Number of writes not queued because the queue was full or shut down,
+     * which callers wrote synchronously instead.
+     * @return  Count of rejected writes
+     */
+    public long getRejectedCount()
+    {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Average time from {@link #enqueue(Object)} until written, for writes written so far.
+     * @return  Average latency in milliseconds, or 0 if none written yet
+     */
+    public double getAverageLatencyMillis()
+    {
+        final long n = writtenCount.get();
+        return (n > 0) ? (totalLatencyNanos.get() / (n * 1000000.0)) : 0;
+    }
+
+    /**
+     * Longest time from {@link #enqueue(Object)} until written, for writes written so far.
+     * @return  Maximum latency in milliseconds, or 0 if none written yet
+     */
+    public double getMaxLatencyMillis()
+    {
+        return maxLatencyNanos.get() / 1000000.0;
+    }
+
+}
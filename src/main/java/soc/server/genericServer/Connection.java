@@ -52,6 +52,7 @@ import soc.util.SOCStringManager;
  *                       {@link #getLocalized(String)}.
  *  2.1.0 - 2020-01-09 - Connection +put({@link SOCMessage}). Misc server-side changes: See {@link SOCServerSocket}
  *  2.3.0 - 2020-04-27 - Connection +getI18NStringManager
+ *  2.4.50 - 2026-10-15 - Connection +put({@link EncodedFrame}) to share one encoding among broadcast recipients
  *</PRE>
  *<P>
  * Implementation note: {@code Connection} is used as a key in the server's client-management collections.
@@ -188,6 +189,29 @@ public abstract class Connection
         put(msg.toCmd());
     }
 
+    /**
+     * Send a pre-built message frame over the connection.
+     * Broadcasts use this to encode a message only once for all recipients.
+     *<P>
+     * This default implementation calls <tt>{@link #put(String) put}(frame.{@link EncodedFrame#getCommand()
+     * getCommand()})</tt>. Networked subclasses override it to send {@link EncodedFrame#getFrame()}'s bytes.
+     *<P>
+     * <B>Threads:</B> Safe to call from any thread.
+     *
+     * @param frame  Message frame to send; may be shared with other connections
+     * @throws IllegalArgumentException if {@code frame} is {@code null}
+     * @throws IllegalStateException if not yet accepted by server
+     * @since 2.4.50
+     */
+    public void put(EncodedFrame frame)
+        throws IllegalArgumentException, IllegalStateException
+    {
+        if (frame == null)
+            throw new IllegalArgumentException("null");
+
+        put(frame.getCommand());
+    }
+
     /** For server-side thread which reads and treats incoming messages */
     public abstract void run();
 
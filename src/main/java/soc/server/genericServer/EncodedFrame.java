@@ -0,0 +1,214 @@
+/**
+ * JSettlers network message system.
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.server.genericServer;
+
+import java.io.UTFDataFormatException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import soc.message.SOCMessage;
+
+/**
+ * An outbound message which is encoded at most once, then shared by every {@link Connection}
+ * it's sent to. Holds the message's {@link SOCMessage#toCmd()} string and, once a networked
+ * connection asks for it, the complete wire frame from {@link FrameCodec#encode(String)}
+ * including its length prefix.
+ *<P>
+ * Broadcasts to a game or to all clients should build one {@code EncodedFrame} and call
+ * {@link Connection#put(EncodedFrame)} for each recipient, instead of {@link Connection#put(String)}
+ * which would re-encode the same string once per recipient.
+ * {@link StringConnection}s use the message object or string and never trigger encoding.
+ *<P>
+ * Immutable once encoded; safe to share between threads. The frame bytes returned by
+ * {@link #getFrame()} must not be modified.
+ *<P>
+ * Counts encodes done and saved, for server stats: See {@link #getEncodeCount()},
+ * {@link #getEncodesSavedCount()}, {@link #getBytesSavedCount()}.
+ *
+ * @since 2.4.50
+ */
+public final class EncodedFrame
+{
+    /** Total number of frames encoded, for {@link #getEncodeCount()}. */
+    private static final AtomicLong encodeCount = new AtomicLong();
+
+    /** Total number of times an already-encoded frame was reused, for {@link #getEncodesSavedCount()}. */
+    private static final AtomicLong encodesSavedCount = new AtomicLong();
+
+    /** Total frame bytes not re-encoded because of reuse, for {@link #getBytesSavedCount()}. */
+    private static final AtomicLong bytesSavedCount = new AtomicLong();
+
+    /**
+     * Message object given to the constructor, or null if constructed from a string.
+     * @see #getMessage()
+     */
+    private final SOCMessage msg;
+
+    /**
+     * Message contents, from {@link SOCMessage#toCmd()}, or null if not yet requested.
+     * Set once by {@link #getCommand()} if constructed from a message object.
+     */
+    private volatile String cmd;
+
+    /**
+     * Encoded frame from {@link FrameCodec#encode(String)}, or null if not yet requested.
+     * Set once by {@link #getFrame()}.
+     */
+    private volatile byte[] frame;
+
+    /**
+     * Create a frame for this message's {@link SOCMessage#toCmd()}.
+     * Formatting and encoding are deferred until a connection needs the string or bytes,
+     * so a message sent only to local {@link StringConnection}s may never be formatted.
+     * @param msg  Message to send; not null
+     * @throws IllegalArgumentException if {@code msg} is null
+     */
+    public EncodedFrame(final SOCMessage msg)
+        throws IllegalArgumentException
+    {
+        if (msg == null)
+            throw new IllegalArgumentException("null");
+
+        this.msg = msg;
+    }
+
+    /**
+     * Create a frame for this already-formatted message string.
+     * Encoding is deferred until a connection needs the bytes.
+     * @param cmd  Message contents, from {@link SOCMessage#toCmd()}; not null
+     * @throws IllegalArgumentException if {@code cmd} is null
+     */
+    public EncodedFrame(final String cmd)
+        throws IllegalArgumentException
+    {
+        if (cmd == null)
+            throw new IllegalArgumentException("null");
+
+        this.msg = null;
+        this.cmd = cmd;
+    }
+
+    /**
+     * Get the message object, for local connections which can pass it directly to their peer.
+     * @return  The message given to the {@link #EncodedFrame(SOCMessage)} constructor,
+     *     or null if constructed from a string
+     */
+    public SOCMessage getMessage()
+    {
+        return msg;
+    }
+
+    /**
+     * Get the message contents, for connections which don't send bytes over a network.
+     * If constructed from a message object, formats it on first call.
+     * @return  The message string given to the constructor or built by {@link SOCMessage#toCmd()}; not null
+     */
+    public String getCommand()
+    {
+        String c = cmd;
+        if (c == null)
+        {
+            c = msg.toCmd();  // harmless if 2 threads race here: toCmd gives same result each time
+            cmd = c;
+        }
+
+        return c;
+    }
+
+    /**
+     * Get the encoded frame, encoding it on first call.
+     * Callers must not modify the returned array's contents.
+     *<P>
+     * <B>Threads:</B> Safe to call from any thread; the frame is encoded only once.
+     *
+     * @return  Length prefix and modified UTF-8 bytes, as from {@link FrameCodec#encode(String)}
+     * @throws UTFDataFormatException if the encoded message is longer than {@link Connection#MAX_MESSAGE_SIZE_UTF8}
+     */
+    public byte[] getFrame()
+        throws UTFDataFormatException
+    {
+        byte[] fr = frame;
+        if (fr != null)
+        {
+            encodesSavedCount.incrementAndGet();
+            bytesSavedCount.addAndGet(fr.length);
+            return fr;
+        }
+
+        synchronized (this)
+        {
+            fr = frame;
+            if (fr != null)
+            {
+                encodesSavedCount.incrementAndGet();
+                bytesSavedCount.addAndGet(fr.length);
+            } else {
+                fr = FrameCodec.encode(getCommand());
+                frame = fr;
+                encodeCount.incrementAndGet();
+            }
+        }
+
+        return fr;
+    }
+
+    /**
+     * Get the total number of frames encoded since startup.
+     * @return  Number of times any {@code EncodedFrame} encoded its message
+     * @see #getEncodesSavedCount()
+     */
+    public static long getEncodeCount()
+    {
+        return encodeCount.get();
+    }
+
+    /**
+     * Get the total number of encodes avoided since startup, because a frame was shared
+     * among several recipient connections.
+     * @return  Number of times an already-encoded frame was reused
+     * @see #getBytesSavedCount()
+     * @see #getEncodeCount()
+     */
+    public static long getEncodesSavedCount()
+    {
+        return encodesSavedCount.get();
+    }
+
+    /**
+     * Get the total number of bytes not re-encoded since startup, because a frame was shared
+     * among several recipient connections.
+     * @return  Sum of the frame lengths of all reused frames, including their length prefixes
+     * @see #getEncodesSavedCount()
+     */
+    public static long getBytesSavedCount()
+    {
+        return bytesSavedCount.get();
+    }
+
+    /**
+     * For debugging, the message contents.
+     * @return  {@link #getCommand()}
+     */
+    @Override
+    public String toString()
+    {
+        return getCommand();
+    }
+
+}
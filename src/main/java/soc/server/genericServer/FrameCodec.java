@@ -0,0 +1,150 @@
+/**
+ * JSettlers network message system.
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.server.genericServer;
+
+import java.io.DataInputStream;   // strictly for javadocs
+import java.io.DataOutputStream;  // strictly for javadocs
+import java.io.UTFDataFormatException;
+
+/**
+ * Encode and decode the TCP message framing used by {@link NetConnection}:
+ * Each message is a 2-byte big-endian length followed by that many bytes of the
+ * string in Java's "modified UTF-8", exactly as written by {@link DataOutputStream#writeUTF(String)}
+ * and read by {@link DataInputStream#readUTF()}.
+ *<P>
+ * Used by connections which frame data themselves instead of using those streams,
+ * such as {@link NioConnection}.
+ *
+ * @since 2.4.50
+ */
+/*package*/ final class FrameCodec
+{
+    /** Size of the length prefix before each frame's encoded string: 2 bytes. */
+    public static final int PREFIX_LENGTH = 2;
+
+    private FrameCodec() {}
+
+    /**
+     * Encode a string into a complete frame: Length prefix, then modified UTF-8 bytes.
+     * @param str  String to encode; not null
+     * @return  Encoded frame, {@link #PREFIX_LENGTH} + the encoded length bytes long
+     * @throws UTFDataFormatException if the encoded string is longer than {@link Connection#MAX_MESSAGE_SIZE_UTF8}
+     *     bytes, like {@link DataOutputStream#writeUTF(String)} would throw
+     */
+    public static byte[] encode(final String str)
+        throws UTFDataFormatException
+    {
+        final int strlen = str.length();
+        int utflen = 0;
+        for (int i = 0; i < strlen; ++i)
+        {
+            final char c = str.charAt(i);
+            if ((c >= 0x0001) && (c <= 0x007F))
+                ++utflen;
+            else if (c > 0x07FF)
+                utflen += 3;
+            else
+                utflen += 2;
+        }
+
+        if (utflen > Connection.MAX_MESSAGE_SIZE_UTF8)
+            throw new UTFDataFormatException("encoded string too long: " + utflen + " bytes");
+
+        final byte[] b = new byte[PREFIX_LENGTH + utflen];
+        b[0] = (byte) ((utflen >>> 8) & 0xFF);
+        b[1] = (byte) (utflen & 0xFF);
+        int n = PREFIX_LENGTH;
+        for (int i = 0; i < strlen; ++i)
+        {
+            final char c = str.charAt(i);
+            if ((c >= 0x0001) && (c <= 0x007F))
+            {
+                b[n++] = (byte) c;
+            } else if (c > 0x07FF) {
+                b[n++] = (byte) (0xE0 | ((c >> 12) & 0x0F));
+                b[n++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                b[n++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                b[n++] = (byte) (0xC0 | ((c >> 6) & 0x1F));
+                b[n++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+
+        return b;
+    }
+
+    /**
+     * Read a frame's encoded length from its 2-byte prefix.
+     * @param b  Buffer containing the prefix
+     * @param off  Offset of the prefix's first byte within {@code b}
+     * @return  Length of the encoded string which follows the prefix, 0 to {@link Connection#MAX_MESSAGE_SIZE_UTF8}
+     */
+    public static int decodeLength(final byte[] b, final int off)
+    {
+        return ((b[off] & 0xFF) << 8) | (b[off + 1] & 0xFF);
+    }
+
+    /**
+     * Decode a frame's modified UTF-8 bytes (not including the length prefix) into a string.
+     * @param b  Buffer containing the encoded string
+     * @param off  Offset of the first encoded byte within {@code b}
+     * @param len  Encoded length, from {@link #decodeLength(byte[], int)}
+     * @return  The decoded string
+     * @throws UTFDataFormatException if the bytes aren't valid modified UTF-8,
+     *     like {@link DataInputStream#readUTF()} would throw
+     */
+    public static String decode(final byte[] b, final int off, final int len)
+        throws UTFDataFormatException
+    {
+        final char[] ch = new char[len];
+        final int end = off + len;
+        int n = 0, i = off;
+        while (i < end)
+        {
+            final int c = b[i] & 0xFF;
+            if (c < 0x80)
+            {
+                ch[n++] = (char) c;
+                ++i;
+            } else if ((c >> 5) == 0x06) {
+                if (i + 1 >= end)
+                    throw new UTFDataFormatException("malformed input: partial character at end");
+                final int c2 = b[i + 1];
+                if ((c2 & 0xC0) != 0x80)
+                    throw new UTFDataFormatException("malformed input around byte " + (i - off));
+                ch[n++] = (char) (((c & 0x1F) << 6) | (c2 & 0x3F));
+                i += 2;
+            } else if ((c >> 4) == 0x0E) {
+                if (i + 2 >= end)
+                    throw new UTFDataFormatException("malformed input: partial character at end");
+                final int c2 = b[i + 1], c3 = b[i + 2];
+                if (((c2 & 0xC0) != 0x80) || ((c3 & 0xC0) != 0x80))
+                    throw new UTFDataFormatException("malformed input around byte " + (i - off));
+                ch[n++] = (char) (((c & 0x0F) << 12) | ((c2 & 0x3F) << 6) | (c3 & 0x3F));
+                i += 3;
+            } else {
+                throw new UTFDataFormatException("malformed input around byte " + (i - off));
+            }
+        }
+
+        return new String(ch, 0, n);
+    }
+
+}
@@ -21,18 +21,21 @@
  **/
 package soc.server.genericServer;
 
+import java.util.HashMap;
 import java.util.Vector;
 
 import soc.message.SOCMessage;
+import soc.message.SOCMessageForGame;
+import soc.message.SOCMessageTemplateJoinGame;
 
 /**
- * The single Inbound Message Queue for all messages coming from clients.
+ * The Inbound Message Queue for all messages coming from clients.
  * Stores all unparsed inbound {@link SOCMessage}s received from the server from all
  * connected clients' {@link Connection} threads through {@link #push(SOCMessage, Connection)},
  * then dispatched to the {@link Server} for parsing and processing.
  *<P>
- * That dispatch is done through this class's single internal {@link Treater} thread, which de-queues
- * the received messages from the queue and forwards them to the {@link Server} by calling
+ * That dispatch is done through this class's internal {@link Treater} thread(s), which de-queue
+ * the received messages from the queue and forward them to the {@link Server} by calling
  * {@link Server.InboundMessageDispatcher#dispatch(SOCMessage, Connection)}
  * for each inbound message.
  *<P>
@@ -40,14 +43,39 @@ import soc.message.SOCMessage;
  * but then finish handling that message in the Treater to simplify locking of other objects.
  * For this, call {@link #post(Runnable)}: Same concept as {@link java.awt.EventQueue#invokeLater(Runnable)}.
  *
+ *<H3>Lanes:</H3>
+ * By default there is a single Treater, which dispatches every message in the order received.
+ * If constructed with a game lane count &gt; 0, the queue is sharded into "lanes", each with its own
+ * Treater thread and queue:
+ *<UL>
+ * <LI> Lane 0, the server lane: Messages which aren't about a particular game,
+ *      and any {@link #post(Runnable)} from a thread which isn't a Treater
+ * <LI> Lanes 1 to <em>n</em>, the game lanes: Messages about a game, from {@link SOCMessageForGame#getGame()}
+ *      or {@link SOCMessageTemplateJoinGame#getGame()} when not {@link SOCMessage#GAME_NONE}.
+ *      Each game name always hashes to the same lane, so each game's messages are dispatched in order,
+ *      while games in different lanes are dispatched in parallel.
+ *</UL>
+ * A game message's lane depends only on its game name, so all of a game's messages, from every connection,
+ * are dispatched in the order received by that one lane.
+ *<P>
+ * A message which isn't about a game follows its connection instead: While that connection has messages
+ * queued or being dispatched, it goes to the lane of the connection's most recent one, otherwise to the server lane.
+ * For example, a client's game action followed by a game-list or server request is handled in that order.
+ * A connection's messages about different games may be dispatched in parallel by those games' lanes.
+ *<P>
+ * In lane mode, {@link #isCurrentThreadTreater()} is true for any lane's Treater, and {@link #post(Runnable)}
+ * called from a Treater queues to that same lane. Message handlers which change server-wide state
+ * must synchronize or use {@link #post(String, Runnable) post(null, Runnable)} to run on the server lane.
+ * See {@link soc.server.SOCServer#PROP_JSETTLERS_DISPATCH_GAMELANES}.
+ *
  *<H3>Startup:</H3>
  * This queue's constructor only sets up the InboundMessageQueue to receive messages. Afterwards when the
  * {@link Server} is ready to process inbound messages, you must call {@link #startMessageProcessing()}
- * to start this queue's thread to forward messages into the dispatcher.
+ * to start this queue's thread(s) to forward messages into the dispatcher.
  *
  *<H3>Shutdown:</H3>
  * At server shutdown time, {@code InboundMessageQueue} can be stopped by calling {@link #stopMessageProcessing()}
- * which will stop its {@link Treater} thread.
+ * which will stop its {@link Treater} thread(s).
  *
  *<H3>More Information:</H3>
  *<UL>
@@ -65,15 +93,34 @@ public class InboundMessageQueue
 {
 
     /**
-     * Internal queue to used to store all clients' {@link MessageData}
-     * and/or code to be ran in the {@link Treater} thread.
+     * Lane number of the server lane, which dispatches messages not about a particular game: 0.
+     * @see #getCurrentThreadLane()
+     * @since 2.4.50
+     */
+    public static final int LANE_SERVER = 0;
+
+    /**
+     * The lanes' Treaters, each with its own queue of {@link MessageData}.
+     * Element {@link #LANE_SERVER} is the server lane; elements 1 to {@link #gameLaneCount} are the game lanes.
+     * Set in constructor; the threads are started by {@link #startMessageProcessing()}.
+     * @since 2.4.50
+     */
+    private final Treater[] treaters;
+
+    /**
+     * Number of game lanes, or 0 if all messages are dispatched by the single server-lane Treater.
+     * @since 2.4.50
      */
-    private Vector<MessageData> inQueue;
+    private final int gameLaneCount;
 
     /**
-     * Internal thread to process data out of the {@link #inQueue}.
+     * If using game lanes, each connection which has messages queued or being dispatched.
+     * Value is an array of length 2: [0] = lane of connection's most recently pushed message;
+     * [1] = number of its messages in all lanes. Connections are removed when that number becomes 0.
+     * Guarded by synchronizing on this map. Used to choose lanes for messages not about a game; see class javadoc.
+     * @since 2.4.50
      */
-    private Treater treater;
+    private final HashMap<Connection, int[]> connLanes = new HashMap<>();
 
     /**
      * Message dispatcher at the server which will receive all messages from this queue.
@@ -81,42 +128,78 @@ public class InboundMessageQueue
     private final Server.InboundMessageDispatcher dispatcher;
 
     /**
-     * Create a new InboundMessageQueue. Afterwards when the server is ready
+     * Create a new InboundMessageQueue with a single Treater. Afterwards when the server is ready
      * to receive messages, you must call {@link #startMessageProcessing()}.
      *
      * @param imd Message dispatcher at the server which will receive messages from this queue
      */
     public InboundMessageQueue(Server.InboundMessageDispatcher imd)
     {
-        inQueue = new Vector<MessageData>();
+        this(imd, 0);
+    }
+
+    /**
+     * Create a new InboundMessageQueue, optionally with game lanes (see class javadoc).
+     * Afterwards when the server is ready to receive messages, you must call {@link #startMessageProcessing()}.
+     *
+     * @param imd Message dispatcher at the server which will receive messages from this queue
+     * @param gameLaneCount  Number of game lanes to dispatch game messages in parallel,
+     *     or 0 (or negative) for a single Treater which dispatches everything
+     * @since 2.4.50
+     */
+    public InboundMessageQueue(Server.InboundMessageDispatcher imd, int gameLaneCount)
+    {
+        if (gameLaneCount < 0)
+            gameLaneCount = 0;
+        this.gameLaneCount = gameLaneCount;
         dispatcher = imd;
+
+        treaters = new Treater[1 + gameLaneCount];
+        treaters[LANE_SERVER] = new Treater("treater");  // same thread name as single-treater versions
+        for (int i = 1; i <= gameLaneCount; ++i)
+            treaters[i] = new Treater("treater-game-" + i);
+    }
+
+    /**
+     * Get the number of game lanes, if this queue dispatches game messages in parallel.
+     * @return  Number of game lanes, or 0 if all messages are dispatched by a single Treater
+     * @since 2.4.50
+     */
+    public final int getGameLaneCount()
+    {
+        return gameLaneCount;
     }
 
     /**
-     * Start the {@link Treater} internal thread that calls the server when new messages arrive.
+     * Start the {@link Treater} internal thread(s) that call the server when new messages arrive.
      */
     public void startMessageProcessing()
     {
-        treater = new Treater();
-        treater.start();
+        for (Treater tr : treaters)
+            tr.start();
     }
 
     /**
-     * Stop the {@link Treater} internal thread
+     * Stop the {@link Treater} internal thread(s).
      */
     public void stopMessageProcessing()
     {
-        treater.stopTreater();
+        for (Treater tr : treaters)
+            tr.stopTreater();
     }
 
     /**
-     * Append an element to the end of the inbound queue.
+     * Append an element to the end of the inbound queue, or of its game's lane if using lanes.
      *<P>
      *<B>Threads:</B>
      * This method notifies the {@link Treater}, waking that thread if it
      * was {@link Object#wait()}ing because the queue was empty.
      * Although {@code push(..)} isn't declared {@code synchronized},
      * it's thread-safe because it synchronizes on the internal queue object.
+     *<P>
+     * If using game lanes, a game message is appended to its game's lane. Other messages are appended
+     * to the lane of {@code clientConnection}'s most recent message if it still has any in lanes,
+     * to keep its messages in order, otherwise to the server lane; see class javadoc.
      *
      * @param receivedMessage from the connection; will never be {@code null}
      * @param clientConnection that send the message; will never be {@code null}
@@ -125,15 +208,59 @@ public class InboundMessageQueue
     public void push(SOCMessage receivedMessage, Connection clientConnection)
     {
         final MessageData md = new MessageData(receivedMessage, clientConnection);
-        synchronized (inQueue)
+        if (gameLaneCount == 0)
+        {
+            treaters[LANE_SERVER].enqueue(md);
+            return;
+        }
+
+        final String gaName = gameNameForLane(receivedMessage);
+        synchronized (connLanes)
+        {
+            int[] connLane = connLanes.get(clientConnection);
+            final int lane;
+            if ((gaName != null) && ! gaName.equals(SOCMessage.GAME_NONE))
+                lane = laneForGame(gaName);
+            else if (connLane != null)
+                lane = connLane[0];
+            else
+                lane = LANE_SERVER;
+
+            if (connLane == null)
+            {
+                connLane = new int[2];
+                connLanes.put(clientConnection, connLane);
+            }
+            connLane[0] = lane;
+            ++connLane[1];
+
+            treaters[lane].enqueue(md);
+        }
+    }
+
+    /**
+     * A connection's message has been dispatched. If using game lanes and it has no more messages in
+     * any lane, its next message not about a game goes to the server lane.
+     * @param c  Connection which sent the message
+     * @since 2.4.50
+     */
+    private void dispatched(final Connection c)
+    {
+        if (gameLaneCount == 0)
+            return;
+
+        synchronized (connLanes)
         {
-            inQueue.addElement(md);
-            inQueue.notify();
+            final int[] connLane = connLanes.get(c);
+            if ((connLane != null) && (--connLane[1] <= 0))
+                connLanes.remove(c);
         }
     }
 
     /**
-     * Post some Runnable code to be queued and then run on the Treater thread.
+     * Post some Runnable code to be queued and then run on a Treater thread.
+     * If called from a Treater thread, runs on that same Treater's lane afterwards.
+     * Otherwise runs on the server lane ({@link #LANE_SERVER}).
      *<P>
      *<B>Threads:</B>
      * This method notifies the {@link Treater}, waking that thread if it
@@ -142,21 +269,46 @@ public class InboundMessageQueue
      * it's thread-safe because it synchronizes on the internal queue object.
      * @param run  Runnable code
      * @see #push(SOCMessage, Connection)
+     * @see #post(String, Runnable)
+     * @see #postToLane(int, Runnable)
      * @see #isCurrentThreadTreater()
      * @since 1.2.00
      */
     public void post(Runnable run)
     {
-        final MessageData md = new MessageData(run);
-        synchronized (inQueue)
-        {
-            inQueue.addElement(md);
-            inQueue.notify();
-        }
+        postToLane(getCurrentThreadLane(), run);
+    }
+
+    /**
+     * Post some Runnable code to be queued and then run on the Treater for a game's lane,
+     * or the server lane. If not using lanes, same as {@link #post(Runnable)}.
+     * @param gaName  Game name, or {@code null} or {@link SOCMessage#GAME_NONE} for the server lane
+     * @param run  Runnable code
+     * @since 2.4.50
+     */
+    public void post(final String gaName, Runnable run)
+    {
+        postToLane(laneForGame(gaName), run);
     }
 
     /**
-     * Retrieves and removes the head of this queue, or returns null if this queue is empty.
+     * Post some Runnable code to be queued and then run on a given lane's Treater.
+     * Useful for callbacks from other threads to return to the lane which started some work:
+     * Call {@link #getCurrentThreadLane()} before starting it.
+     * @param lane  Lane number from {@link #getCurrentThreadLane()}; if out of range (-1),
+     *     will post to the server lane {@link #LANE_SERVER}
+     * @param run  Runnable code
+     * @since 2.4.50
+     */
+    public void postToLane(int lane, Runnable run)
+    {
+        if ((lane < 0) || (lane > gameLaneCount))
+            lane = LANE_SERVER;
+        treaters[lane].enqueue(new MessageData(run));
+    }
+
+    /**
+     * Retrieves and removes the head of the server lane's queue, or returns null if that queue is empty.
      * Returns as soon as possible; if queue empty, this method doesn't wait until another thread
      * notifies a message has been added.
      *
@@ -164,39 +316,94 @@ public class InboundMessageQueue
      */
     protected final MessageData poll()
     {
-        synchronized (inQueue)
-        {
-            if (inQueue.size() > 0)
-                return inQueue.remove(0);
-        }
-
-        return null;
+        return treaters[LANE_SERVER].poll();
     }
 
     /**
-     * Is our Treater the currently executing thread?
+     * Is one of our Treaters the currently executing thread?
      * If not, you can use {@link #post(Runnable)} to do work on that thread.
-     * @return true if {@link Thread#currentThread()} is this queue's Treater
+     *<P>
+     * When using game lanes, this is true for any lane's Treater: Code which must run
+     * on a particular lane should also check {@link #getCurrentThreadLane()}.
+     * @return true if {@link Thread#currentThread()} is one of this queue's Treaters
      * @since 1.2.00
      */
     public final boolean isCurrentThreadTreater()
     {
-        return (Thread.currentThread() == treater);
+        return (getCurrentThreadLane() != -1);
+    }
+
+    /**
+     * Which lane's Treater is the currently executing thread, if any?
+     * @return  Lane number: {@link #LANE_SERVER} or a game lane number,
+     *     or -1 if {@link Thread#currentThread()} isn't one of this queue's Treaters
+     * @see #isCurrentThreadTreater()
+     * @see #postToLane(int, Runnable)
+     * @since 2.4.50
+     */
+    public final int getCurrentThreadLane()
+    {
+        final Thread th = Thread.currentThread();
+        for (int i = 0; i <= gameLaneCount; ++i)
+            if (th == treaters[i])
+                return i;
+
+        return -1;
+    }
+
+    /**
+     * Get the lane number which dispatches a game's messages.
+     * @param gaName  Game name, or {@code null} or {@link SOCMessage#GAME_NONE}
+     * @return  A game lane number, or {@link #LANE_SERVER} if {@code gaName} is null or
+     *     {@link SOCMessage#GAME_NONE} or there are no game lanes
+     * @since 2.4.50
+     */
+    public final int laneForGame(final String gaName)
+    {
+        if ((gameLaneCount == 0) || (gaName == null) || gaName.equals(SOCMessage.GAME_NONE))
+            return LANE_SERVER;
+
+        return 1 + ((gaName.hashCode() & 0x7FFFFFFF) % gameLaneCount);
+    }
+
+    /**
+     * Get the name of the game a message is about, to choose its lane.
+     * @param mes  Message from client; not null
+     * @return  Game name from {@link SOCMessageForGame#getGame()} or {@link SOCMessageTemplateJoinGame#getGame()},
+     *     or {@code null} if not a per-game message
+     * @since 2.4.50
+     */
+    private static String gameNameForLane(final SOCMessage mes)
+    {
+        if (mes instanceof SOCMessageForGame)
+            return ((SOCMessageForGame) mes).getGame();
+        else if (mes instanceof SOCMessageTemplateJoinGame)
+            return ((SOCMessageTemplateJoinGame) mes).getGame();
+        else
+            return null;
     }
 
     /**
      * {@link InboundMessageQueue}'s internal single-threaded reader to de-queue each message
-     * stored in the {@link #inQueue} and send it to the server dispatcher.
+     * stored in its lane's queue and send it to the server dispatcher.
+     * If not using game lanes, there is only one Treater.
      *<P>
      * This thread can be stopped by calling {@link #stopTreater()}.
      *<P>
      * Before v2.0.00 this class was {@code Server.Treater}.
+     * Before v2.4.50 the queue was a field of {@link InboundMessageQueue} instead of {@code Treater}.
      *
      * @author Alessandro
      */
     final class Treater extends Thread
     {
 
+        /**
+         * Internal queue to used to store this lane's clients' {@link MessageData}
+         * and/or code to be ran in this Treater thread.
+         */
+        private final Vector<MessageData> inQueue = new Vector<MessageData>();
+
         /**
          * Is the Treater started and running? Controls the processing of messages:
          * While true, keep looping. When this flag becomes false, Treater's
@@ -204,9 +411,13 @@ public class InboundMessageQueue
          */
         private volatile boolean processMessage;
 
-        public Treater()  // Server parameter is also passed in, since this is an inner class
+        /**
+         * Create a Treater, which won't run until {@link #start()} is called.
+         * @param threadName  Thread name for debugging
+         */
+        public Treater(final String threadName)
         {
-            setName("treater");  // Thread name for debug
+            setName(threadName);
             processMessage = true;
         }
 
@@ -215,6 +426,38 @@ public class InboundMessageQueue
             processMessage = false;
         }
 
+        /**
+         * Append an element to the end of this Treater's queue, and wake the thread if waiting.
+         * Thread-safe; synchronizes on the internal queue object.
+         * @param md  Message or Runnable to enqueue
+         * @since 2.4.50
+         */
+        void enqueue(final MessageData md)
+        {
+            synchronized (inQueue)
+            {
+                inQueue.addElement(md);
+                inQueue.notify();
+            }
+        }
+
+        /**
+         * Retrieves and removes the head of this Treater's queue, or returns null if that queue is empty.
+         * Returns as soon as possible without waiting.
+         * @return the head of the queue, or null if empty
+         * @since 2.4.50
+         */
+        MessageData poll()
+        {
+            synchronized (inQueue)
+            {
+                if (inQueue.size() > 0)
+                    return inQueue.remove(0);
+            }
+
+            return null;
+        }
+
         public void run()
         {
             while (processMessage)
@@ -228,12 +471,17 @@ public class InboundMessageQueue
                         if (messageData.run != null)
                             messageData.run.run();
                         else
-                            dispatcher.dispatch(messageData.message, messageData.clientSender);
+                            try
+                            {
+                                dispatcher.dispatch(messageData.message, messageData.clientSender);
+                            } finally {
+                                dispatched(messageData.clientSender);
+                            }
                     }
                 }
                 catch (Exception e)  // for anything thrown by bugs in server or game code called from dispatch
                 {
-                    System.out.println("Exception in treater (dispatch) - " + e.getMessage());
+                    System.out.println("Exception in " + getName() + " (dispatch) - " + e.getMessage());
                     e.printStackTrace();
                 }
 
@@ -78,8 +78,11 @@ import java.util.Vector;
      */
     protected boolean inputConnected = false;
 
-    /** Messages from server to client, sent in {@link Putter} thread */
-    private Vector<String> outQueue = new Vector<String>();
+    /**
+     * Messages from server to client, sent in {@link Putter} thread.
+     * Before v2.4.50 this held Strings to be encoded by {@link DataOutputStream#writeUTF(String)}.
+     */
+    private Vector<EncodedFrame> outQueue = new Vector<EncodedFrame>();
 
     /** initialize the connection data */
     NetConnection(Socket so, Server sve)
@@ -242,11 +245,27 @@ import java.util.Vector;
      * @param str Data to send
      */
     public final void put(String str)
+    {
+        put(new EncodedFrame(str));
+    }
+
+    /**
+     * Send this pre-built frame over the connection. Adds it to the {@link #outQueue}
+     * to be encoded if needed and sent by the Putter thread.
+     * Broadcasts share one frame among their recipients, so it's encoded only once.
+     *<P>
+     * <B>Threads:</B> Safe to call from any thread; synchronizes on internal {@code outQueue}.
+     *
+     * @param frame  Message frame to send; may be shared with other connections
+     * @since 2.4.50
+     */
+    @Override
+    public final void put(final EncodedFrame frame)
     {
         synchronized (outQueue)
         {
-            // D.ebugPrintln("Adding " + str + " to outQueue for " + data);
-            outQueue.addElement(str);
+            // D.ebugPrintln("Adding " + frame + " to outQueue for " + data);
+            outQueue.addElement(frame);
             outQueue.notify();
         }
     }
@@ -256,14 +275,14 @@ import java.util.Vector;
      * This method is called when it's dequeued and sent over
      * the connection to the remote end.
      *
-     * @param str Data to send
+     * @param frame Data to send
      *
      * @return True if sent, false if error
      *         (and sets {@link #error})
      */
-    private boolean putForReal(final String str)
+    private boolean putForReal(final EncodedFrame frame)
     {
-        boolean rv = putAux(str);
+        boolean rv = putAux(frame);
 
         if (! rv)
         {
@@ -288,7 +307,7 @@ import java.util.Vector;
      * @return true for success, false and disconnects on failure
      *         (and sets {@link #error})
      */
-    private final boolean putAux(final String str)
+    private final boolean putAux(final EncodedFrame frame)
     {
         if ((error != null) || ! connected)
         {
@@ -297,9 +316,10 @@ import java.util.Vector;
 
         try
         {
-            //D.ebugPrintln("trying to put "+str+" to "+data);
-            out.writeUTF(str);
-                // throws UTFDataFormatException (an IOException) if string length > 65535 in UTF-8
+            //D.ebugPrintln("trying to put "+frame+" to "+data);
+            out.write(frame.getFrame());
+                // same bytes as out.writeUTF(str); getFrame throws UTFDataFormatException
+                // (an IOException) if string length > 65535 in UTF-8
         }
         catch (IOException e)
         {
@@ -436,7 +456,7 @@ import java.util.Vector;
         {
             while (connected)
             {
-                String c = null;
+                EncodedFrame c = null;
 
                 if (D.ebugIsEnabled())
                     D.ebugPrintlnINFO("** " + data + " is at the top of the putter loop");
@@ -0,0 +1,565 @@
+/**
+ * JSettlers network message system.
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.server.genericServer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Date;
+
+import soc.disableDebug.D;
+import soc.message.SOCMessage;
+
+/**
+ * A TCP client's connection at a server, using non-blocking {@link java.nio} I/O
+ * from one of a {@link NioServerSocket}'s shared I/O threads ({@link NioServerSocket.SelectorLoop})
+ * instead of {@link NetConnection}'s reader and {@code Putter} threads per client.
+ * The wire protocol is the same as {@code NetConnection}'s, framed by {@link FrameCodec}.
+ *<P>
+ * {@link #put(EncodedFrame)} encodes if needed and tries to write immediately from the calling thread.
+ * Whatever the socket can't yet accept is queued, and written by the I/O thread when writable.
+ *<P>
+ * <B>Backpressure:</B> A client which isn't reading its data can't be allowed to use unlimited server memory.
+ * When more than {@link #OUT_QUEUE_HIGH_WATER} bytes are queued to a client, the server stops reading that
+ * client's requests until the queue drains below {@link #OUT_QUEUE_LOW_WATER}. If the queue reaches
+ * {@link #OUT_QUEUE_MAX}, the client is disconnected.
+ *<P>
+ * Like {@link NetConnection}, calls {@link Server#addConnection(Connection)} and
+ * {@link Server#processFirstCommand(SOCMessage, Connection)} from a non-Treater thread:
+ * In this case from the server's accept thread and the I/O thread.
+ *
+ * @see NioServerSocket
+ * @since 2.4.50
+ */
+/*package*/ final class NioConnection
+    extends Connection
+{
+    /**
+     * Timeout for reading from client is 1 hour, in milliseconds, same as {@link NetConnection#TIMEOUT_VALUE}.
+     */
+    protected final static int TIMEOUT_VALUE = 60 * 60 * 1000;
+
+    /**
+     * Stop reading from the client while more than this many bytes are queued to it: 256 KB.
+     * @see #OUT_QUEUE_LOW_WATER
+     * @see #OUT_QUEUE_MAX
+     */
+    public static final int OUT_QUEUE_HIGH_WATER = 256 * 1024;
+
+    /**
+     * Resume reading from the client once fewer than this many bytes are queued to it: 64 KB.
+     * @see #OUT_QUEUE_HIGH_WATER
+     */
+    public static final int OUT_QUEUE_LOW_WATER = 64 * 1024;
+
+    /**
+     * Disconnect the client if this many bytes are queued to it: 4 MB.
+     * @see #OUT_QUEUE_HIGH_WATER
+     */
+    public static final int OUT_QUEUE_MAX = 4 * 1024 * 1024;
+
+    /** Initial size of {@link #readBuf}; grows as needed for large frames. */
+    private static final int READ_BUF_INITIAL_SIZE = 8 * 1024;
+
+    final SocketChannel channel;
+
+    /** This connection's I/O thread. */
+    private final NioServerSocket.SelectorLoop loop;
+
+    /** This connection's key in {@link #loop}'s selector, or null if not yet registered. Set by {@link #loop}. */
+    SelectionKey key;
+
+    /** Hostname of the remote end of the connection, for {@link #host()} */
+    private final String hst;
+
+    private final int remotePort;
+
+    private volatile boolean connected = false;
+
+    /** @see #disconnectSoft() */
+    private volatile boolean inputConnected = false;
+
+    /** Inbound data not yet parsed into complete frames. Used only by {@link #loop}. */
+    private ByteBuffer readBuf = ByteBuffer.allocate(READ_BUF_INITIAL_SIZE);
+
+    /** Has the first message been read and given to {@link Server#processFirstCommand(SOCMessage, Connection)}? */
+    private boolean sawFirstMessage;
+
+    /** Time of most recent read, from {@link System#currentTimeMillis()}, for {@link #TIMEOUT_VALUE}. */
+    private volatile long lastReadTime;
+
+    /**
+     * Encoded frames from server to client waiting to be written.
+     * Synchronize on this object to write to {@link #channel} or update {@link #outQueuedBytes}.
+     */
+    private final ArrayDeque<ByteBuffer> outQueue = new ArrayDeque<ByteBuffer>();
+
+    /** Total bytes remaining in {@link #outQueue}. */
+    private int outQueuedBytes;
+
+    /** True while reading is paused because of backpressure; see class javadoc. */
+    private volatile boolean readPausedForOutput;
+
+    /**
+     * If set, an error has happened in a thread other than {@link #loop};
+     * the loop will remove this connection from the server.
+     */
+    private volatile boolean removeRequested;
+
+    /** initialize the connection data */
+    NioConnection(final SocketChannel sc, final Server sve, final NioServerSocket.SelectorLoop loop)
+    {
+        channel = sc;
+        ourServer = sve;
+        this.loop = loop;
+        hst = sc.socket().getInetAddress().getHostName();
+        remotePort = sc.socket().getPort();
+    }
+
+    /**
+     * Get our connection name for debugging.  Also used by {@link #toString()}.
+     * @return "connection-" + <em>remotehostname-portnumber</em>
+     */
+    public String getName()
+    {
+        return "connection-" + hst + "-" + Integer.toString(remotePort);
+    }
+
+    public String host()
+    {
+        return hst;
+    }
+
+    /**
+     * Set up non-blocking I/O; called only by the server.
+     * If successful, also sets connectTime to now.
+     * Reading won't start until {@link #run()} registers with the I/O thread.
+     *<P>
+     * Connection must be unnamed (<tt>{@link #getData()} == null</tt>) at this point.
+     *
+     * @return true if successful, false if an error occurred.
+     */
+    public boolean connect()
+    {
+        if (getData() != null)
+        {
+            D.ebugPrintlnINFO("conn.connect() requires null getData()");
+            return false;
+        }
+
+        try
+        {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            connected = true;
+            inputConnected = true;
+            connectTime = new Date();
+            lastReadTime = System.currentTimeMillis();
+        }
+        catch (IOException e)
+        {
+            D.ebugPrintlnINFO("IOException in NioConnection.connect (" + hst + ") - " + e);
+            error = e;
+            try
+            {
+                channel.close();
+            } catch (IOException e2) {}
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Add this connection to the server, then hand it to its I/O thread to start reading.
+     * Unlike {@link NetConnection#run()}, returns right away instead of looping:
+     * Called from the server's accept thread.
+     */
+    public void run()
+    {
+        ourServer.addConnection(this);
+            // won't throw IllegalArgumentException, because conn is unnamed at this point; getData() is null
+
+        if (connected)
+            loop.register(this);
+    }
+
+    /**
+     * Is input available now, without blocking?
+     * Complete messages are parsed and queued as soon as they're read by the I/O thread,
+     * so this is true only if part of a message has been received and is buffered until the rest arrives.
+     * @return  True if still connected and the read buffer holds part of a message
+     */
+    public boolean isInputAvailable()
+    {
+        return inputConnected && (readBuf.position() > 0);
+    }
+
+    /**
+     * Send this data over the connection. If nothing is already queued, tries to write it now;
+     * otherwise queues it for the I/O thread to send.
+     *<P>
+     * Like {@link NetConnection#put(String)}, {@code str} must be no longer than
+     * {@link Connection#MAX_MESSAGE_SIZE_UTF8} bytes when encoded. If it's longer,
+     * the connection is removed with a {@link UTFDataFormatException}.
+     *<P>
+     * <B>Threads:</B> Safe to call from any thread; synchronizes on internal {@code outQueue}.
+     *
+     * @param str Data to send
+     */
+    public void put(final String str)
+    {
+        put(new EncodedFrame(str));
+    }
+
+    /**
+     * Send this pre-built frame over the connection, encoding it if no other connection has yet.
+     * Otherwise same as {@link #put(String)}.
+     *<P>
+     * <B>Threads:</B> Safe to call from any thread; synchronizes on internal {@code outQueue}.
+     *
+     * @param frame  Message frame to send; may be shared with other connections
+     * @since 2.4.50
+     */
+    @Override
+    public void put(final EncodedFrame frame)
+    {
+        if ((error != null) || ! connected)
+            return;
+
+        final byte[] b;
+        try
+        {
+            b = frame.getFrame();
+        } catch (UTFDataFormatException e) {
+            D.ebugPrintlnINFO("IOException in NioConnection.put (" + hst + ") - " + e);
+            requestRemove(e);
+            return;
+        }
+
+        putFrame(ByteBuffer.wrap(b));  // new buffer, so position and limit aren't shared
+    }
+
+    /**
+     * Write or queue an encoded frame; see {@link #put(EncodedFrame)}.
+     * @param frame  Frame to send; its position and limit will be changed
+     */
+    private void putFrame(final ByteBuffer frame)
+    {
+        boolean needsUpdate = false;
+
+        synchronized (outQueue)
+        {
+            if (outQueue.isEmpty())
+            {
+                try
+                {
+                    channel.write(frame);
+                } catch (IOException e) {
+                    requestRemove(e);
+                    return;
+                }
+                if (! frame.hasRemaining())
+                    return;  // <--- Early return: sent entirely ---
+            }
+
+            outQueue.addLast(frame);
+            final boolean wasEmpty = (outQueuedBytes == 0);
+            outQueuedBytes += frame.remaining();
+
+            if (outQueuedBytes >= OUT_QUEUE_MAX)
+            {
+                outQueue.clear();
+                outQueuedBytes = 0;
+                requestRemove(new IOException("output queue overflow: client not reading"));
+                return;
+            }
+
+            if (wasEmpty)
+                needsUpdate = true;  // needs OP_WRITE
+            if ((outQueuedBytes >= OUT_QUEUE_HIGH_WATER) && ! readPausedForOutput)
+            {
+                readPausedForOutput = true;
+                needsUpdate = true;
+            }
+        }
+
+        if (needsUpdate)
+            loop.requestUpdate(this);
+    }
+
+    /**
+     * Interest ops for this connection's current state: Read unless paused or input disconnected,
+     * write if anything's queued.
+     */
+    int interestOps()
+    {
+        int ops = 0;
+        if (inputConnected && ! readPausedForOutput)
+            ops |= SelectionKey.OP_READ;
+        synchronized (outQueue)
+        {
+            if (outQueuedBytes > 0)
+                ops |= SelectionKey.OP_WRITE;
+        }
+
+        return ops;
+    }
+
+    /**
+     * From any thread, note an error and have the I/O thread remove this connection.
+     * @param e  Error to set in {@link #error}
+     */
+    private void requestRemove(final Exception e)
+    {
+        if (error == null)
+            error = e;
+        removeRequested = true;
+        loop.requestUpdate(this);
+    }
+
+    /**
+     * Called from I/O thread to handle {@link NioServerSocket.SelectorLoop#requestUpdate(NioConnection)}.
+     */
+    void handleUpdate()
+    {
+        if (removeRequested)
+        {
+            if (connected)
+                ourServer.removeConnection(this, false);
+            return;
+        }
+
+        if ((key != null) && key.isValid())
+            key.interestOps(interestOps());
+    }
+
+    /**
+     * Called from I/O thread when channel is readable.
+     * Reads available data, then parses and queues each complete message.
+     */
+    void handleRead()
+    {
+        try
+        {
+            final int n = channel.read(readBuf);
+            if (n == -1)
+                throw new EOFException();
+            lastReadTime = System.currentTimeMillis();
+
+            final InboundMessageQueue inQueue = ourServer.inQueue;
+            final byte[] b = readBuf.array();
+            int pos = 0;
+            final int end = readBuf.position();
+            while (inputConnected && (end - pos >= FrameCodec.PREFIX_LENGTH))
+            {
+                final int len = FrameCodec.decodeLength(b, pos);
+                final int frameLen = FrameCodec.PREFIX_LENGTH + len;
+                if (end - pos < frameLen)
+                    break;  // partial frame; if too large for buffer, will grow below
+
+                final String msgStr = FrameCodec.decode(b, pos + FrameCodec.PREFIX_LENGTH, len);
+                pos += frameLen;
+
+                final SOCMessage msgObj = SOCMessage.toMsg(msgStr);  // parse
+                if (! sawFirstMessage)
+                {
+                    sawFirstMessage = true;
+                    if (ourServer.processFirstCommand(msgObj, this))
+                        continue;
+                }
+                if (msgObj != null)
+                    inQueue.push(msgObj, this);
+            }
+
+            // Keep any partial frame at start of buffer
+            if (pos > 0)
+            {
+                readBuf.limit(end);
+                readBuf.position(pos);
+                readBuf.compact();
+            }
+
+            // Make room for the rest of a large frame
+            if (readBuf.position() >= FrameCodec.PREFIX_LENGTH)
+            {
+                final int frameLen = FrameCodec.PREFIX_LENGTH + FrameCodec.decodeLength(readBuf.array(), 0);
+                if (frameLen > readBuf.capacity())
+                {
+                    final ByteBuffer bigger = ByteBuffer.allocate(frameLen);
+                    readBuf.flip();
+                    bigger.put(readBuf);
+                    readBuf = bigger;
+                }
+            } else if ((readBuf.position() == 0) && (readBuf.capacity() > READ_BUF_INITIAL_SIZE)) {
+                readBuf = ByteBuffer.allocate(READ_BUF_INITIAL_SIZE);  // done with large frame
+            }
+        }
+        catch (Exception e)
+        {
+            handleIOError(e);
+        }
+    }
+
+    /**
+     * Called from I/O thread when channel is writable: Write as much queued output as the socket will take.
+     */
+    void handleWrite()
+    {
+        boolean needsReadResume = false;
+        IOException writeErr = null;
+
+        synchronized (outQueue)
+        {
+            try
+            {
+                while (! outQueue.isEmpty())
+                {
+                    final ByteBuffer frame = outQueue.peekFirst();
+                    final int n = channel.write(frame);
+                    outQueuedBytes -= n;
+                    if (frame.hasRemaining())
+                        break;
+                    outQueue.removeFirst();
+                }
+            } catch (IOException e) {
+                writeErr = e;
+            }
+
+            if (readPausedForOutput && (outQueuedBytes < OUT_QUEUE_LOW_WATER))
+            {
+                readPausedForOutput = false;
+                needsReadResume = true;
+            }
+
+            if ((writeErr == null) && ((outQueuedBytes == 0) || needsReadResume))
+                if ((key != null) && key.isValid())
+                    key.interestOps(interestOps());
+        }
+
+        // Outside of outQueue lock, because removing the connection sends to other connections
+        // and takes their outQueue locks
+        if (writeErr != null)
+            handleIOError(writeErr);
+    }
+
+    /**
+     * Called from I/O thread for a read or write error or EOF: Set {@link #error}, remove from server.
+     * @param e  Exception which occurred
+     */
+    void handleIOError(final Exception e)
+    {
+        D.ebugPrintlnINFO("Exception in NioConnection (" + hst + ") - " + e);
+        if (D.ebugOn)
+            e.printStackTrace(System.out);
+
+        if (! connected)
+            return;  // Don't set error twice
+
+        error = e;
+        ourServer.removeConnection(this, false);
+    }
+
+    /**
+     * Called from I/O thread every so often; if nothing has been read for {@link #TIMEOUT_VALUE} ms,
+     * remove this connection with a {@link SocketTimeoutException} like {@link NetConnection} would.
+     * @param now  Current time, from {@link System#currentTimeMillis()}
+     */
+    void checkReadTimeout(final long now)
+    {
+        if (connected && (now - lastReadTime >= TIMEOUT_VALUE))
+            handleIOError(new SocketTimeoutException("Read timed out"));
+    }
+
+    /** close the socket, stop reading; called after conn is removed from server structures */
+    public void disconnect()
+    {
+        if (! connected)
+            return;  // <--- Early return: Already disconnected ---
+
+        D.ebugPrintlnINFO("DISCONNECTING " + data);
+        connected = false;
+        inputConnected = false;
+
+        try
+        {
+            if (key != null)
+                key.cancel();
+            channel.close();
+        }
+        catch (IOException e)
+        {
+            D.ebugPrintlnINFO("IOException in NioConnection.disconnect (" + hst + ") - " + e);
+            error = e;
+        }
+
+        synchronized (outQueue)
+        {
+            outQueue.clear();
+            outQueuedBytes = 0;
+        }
+    }
+
+    /**
+     * Accept no further input, allow output to drain, don't immediately close the socket.
+     * Once called, {@link #isConnected()} will return false, even if output is still being
+     * sent to the other side.
+     */
+    public void disconnectSoft()
+    {
+        if (! inputConnected)
+            return;
+
+        D.ebugPrintlnINFO("DISCONNECTING(SOFT) " + data);
+        inputConnected = false;
+        loop.requestUpdate(this);  // stop reading
+    }
+
+    /**
+     * Are we currently connected and active?
+     */
+    public boolean isConnected()
+    {
+        return connected && inputConnected;
+    }
+
+    /**
+     * For debugging, toString includes data.toString and {@link #getName()}.
+     */
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder("Connection[");
+        if (data != null)
+            sb.append(data);
+        else
+            sb.append(super.hashCode());
+        sb.append('-');
+        sb.append(getName());  // connection-hostname-portnumber
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,241 @@
+/**
+ * JSettlers network message system.
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.server.genericServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+
+/**
+ * Uses {@link java.nio} channels to implement {@link SOCServerSocket} over a network
+ * with a small fixed number of I/O threads, instead of {@link NetServerSocket}'s
+ * two threads per connected client.
+ *<P>
+ * {@link #accept()} blocks on the {@link ServerSocketChannel} in the server's own thread.
+ * Each accepted {@link NioConnection} is assigned round-robin to one of the {@link SelectorLoop} threads,
+ * which does all of its non-blocking reads and queued writes.
+ *<P>
+ * Selected by server property {@link soc.server.SOCServer#PROP_JSETTLERS_NET_NIO__THREADS}.
+ *
+ * @see NioConnection
+ * @see NetServerSocket
+ * @since 2.4.50
+ */
+/*package*/ class NioServerSocket implements SOCServerSocket
+{
+    private final ServerSocketChannel implServChannel;
+    private final Server server;
+
+    /** I/O threads, started by constructor. */
+    private final SelectorLoop[] loops;
+
+    /** Index into {@link #loops} for next accepted connection. */
+    private int nextLoop;
+
+    /**
+     * Bind to a TCP port and start the I/O threads.
+     * @param port  TCP port to bind to
+     * @param server  Server which will own the accepted connections
+     * @param nThreads  Number of I/O threads; if less than 1, will use 1
+     * @throws IOException if can't bind or open a {@link Selector}
+     */
+    public NioServerSocket(final int port, final Server server, int nThreads)
+        throws IOException
+    {
+        if (nThreads < 1)
+            nThreads = 1;
+        this.server = server;
+
+        implServChannel = ServerSocketChannel.open();
+        implServChannel.socket().setReuseAddress(true);
+        implServChannel.socket().bind(new InetSocketAddress(port));
+        // stays in blocking mode: accept() is called from server's own thread
+
+        loops = new SelectorLoop[nThreads];
+        try
+        {
+            for (int i = 0; i < nThreads; ++i)
+                loops[i] = new SelectorLoop("nio-" + port + "-" + i);
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        for (SelectorLoop lo : loops)
+            lo.start();
+    }
+
+    public Connection accept()
+        throws SocketException, IOException
+    {
+        final SocketChannel sc = implServChannel.accept();
+
+        final SelectorLoop lo = loops[nextLoop];
+        nextLoop = (nextLoop + 1) % loops.length;
+
+        return new NioConnection(sc, server, lo);
+    }
+
+    /**
+     * Close the server channel and stop the I/O threads.
+     * Any connections still open will be closed by their I/O thread as it exits.
+     */
+    public void close()
+        throws IOException
+    {
+        for (SelectorLoop lo : loops)
+            if (lo != null)
+                lo.stopLoop();
+
+        implServChannel.close();
+    }
+
+    /**
+     * One I/O thread: A {@link Selector} loop which reads and writes for its assigned {@link NioConnection}s.
+     *<P>
+     * Other threads never touch the selector's keys directly; they ask the loop to register a connection
+     * or update its interest ops, and the loop does so before its next {@code select}.
+     */
+    /*package*/ static final class SelectorLoop extends Thread
+    {
+        /**
+         * How often to check connections for read timeouts ({@link NioConnection#TIMEOUT_VALUE}): 1 minute.
+         */
+        private static final int TIMEOUT_CHECK_INTERVAL_MS = 60 * 1000;
+
+        private final Selector selector;
+
+        /** New connections waiting to be registered with {@link #selector}. */
+        private final ConcurrentLinkedQueue<NioConnection> pendingRegs = new ConcurrentLinkedQueue<NioConnection>();
+
+        /** Connections whose interest ops or close request have changed since last select. */
+        private final ConcurrentLinkedQueue<NioConnection> pendingUpdates = new ConcurrentLinkedQueue<NioConnection>();
+
+        private volatile boolean running = true;
+
+        SelectorLoop(final String threadName)
+            throws IOException
+        {
+            selector = Selector.open();
+            setName(threadName);
+            setDaemon(true);
+        }
+
+        /**
+         * Ask the loop to register this connection's channel and start reading.
+         * Thread-safe.
+         */
+        void register(final NioConnection c)
+        {
+            pendingRegs.add(c);
+            selector.wakeup();
+        }
+
+        /**
+         * Ask the loop to recalculate this connection's interest ops from
+         * {@link NioConnection#interestOps()}, or close it if requested.
+         * Thread-safe.
+         */
+        void requestUpdate(final NioConnection c)
+        {
+            pendingUpdates.add(c);
+            selector.wakeup();
+        }
+
+        void stopLoop()
+        {
+            running = false;
+            selector.wakeup();
+        }
+
+        /** Is the currently executing thread this loop? */
+        boolean isCurrentThread()
+        {
+            return (Thread.currentThread() == this);
+        }
+
+        public void run()
+        {
+            long nextTimeoutCheck = System.currentTimeMillis() + TIMEOUT_CHECK_INTERVAL_MS;
+
+            while (running)
+            {
+                try
+                {
+                    selector.select(1000);
+
+                    NioConnection c;
+                    while (null != (c = pendingRegs.poll()))
+                    {
+                        try
+                        {
+                            c.key = c.channel.register(selector, c.interestOps(), c);
+                        } catch (ClosedChannelException e) {
+                            c.handleIOError(e);
+                        }
+                    }
+                    while (null != (c = pendingUpdates.poll()))
+                        c.handleUpdate();
+
+                    final Iterator<SelectionKey> iter = selector.selectedKeys().iterator();
+                    while (iter.hasNext())
+                    {
+                        final SelectionKey k = iter.next();
+                        iter.remove();
+                        c = (NioConnection) k.attachment();
+                        if (k.isValid() && k.isReadable())
+                            c.handleRead();
+                        if (k.isValid() && k.isWritable())
+                            c.handleWrite();
+                    }
+
+                    final long now = System.currentTimeMillis();
+                    if (now >= nextTimeoutCheck)
+                    {
+                        nextTimeoutCheck = now + TIMEOUT_CHECK_INTERVAL_MS;
+                        for (SelectionKey k : selector.keys())
+                            if (k.isValid())
+                                ((NioConnection) k.attachment()).checkReadTimeout(now);
+                    }
+                }
+                catch (Exception e)  // for anything thrown by bugs in server code called from a connection
+                {
+                    System.err.println("Exception in " + getName() + " - " + e);
+                    e.printStackTrace();
+                }
+            }
+
+            try
+            {
+                for (SelectionKey k : selector.keys())
+                    k.channel().close();
+                selector.close();
+            } catch (IOException e) {}
+        }
+    }
+
+}
@@ -49,6 +49,9 @@ import soc.server.SOCServer;
  *  reading/writing on the net, data consistency among threads, etc.
  *  The Server listens on either a TCP {@link #port}, or for Practice mode,
  *  to a {@link StringServerSocket}.
+ *  TCP connections use a {@link NetConnection} thread pair per client, or if
+ *  {@link SOCServer#PROP_JSETTLERS_NET_NIO__THREADS} is set, a {@link NioConnection}
+ *  handled by a few shared threads.
  *<P>
  *  Newly connecting clients arrive in {@link #run()},
  *  start a thread for the server side of their {@link NetConnection} or {@link StringConnection},
@@ -187,6 +190,8 @@ public abstract class Server extends Thread implements Serializable, Cloneable
     /**
      * The queue of messages received from all clients to dispatch, and/or Runnable tasks to run, in the
      * {@code Treater} thread which calls {@link Server.InboundMessageDispatcher#dispatch(SOCMessage, Connection)}.
+     * If {@link SOCServer#PROP_JSETTLERS_DISPATCH_GAMELANES} is set, game messages are instead
+     * dispatched by per-game lanes' Treaters; see {@link InboundMessageQueue} class javadoc.
      *<P>
      * Before v2.0.00, this was a {@link Vector}.
      */
@@ -285,11 +290,12 @@ public abstract class Server extends Thread implements Serializable, Cloneable
         this.port = port;
         this.strSocketName = null;
         this.inboundMsgDispatcher = imd;
-        this.inQueue = new InboundMessageQueue(imd);
+        this.inQueue = new InboundMessageQueue
+            (imd, getConfigIntProperty(SOCServer.PROP_JSETTLERS_DISPATCH_GAMELANES, 0));
 
         try
         {
-            ss = new NetServerSocket(port, this);
+            ss = newNetServerSocket();
         }
         catch (IOException e)
         {
@@ -325,7 +331,8 @@ public abstract class Server extends Thread implements Serializable, Cloneable
         this.port = -1;
         this.strSocketName = stringSocketName;
         this.inboundMsgDispatcher = imd;
-        this.inQueue = new InboundMessageQueue(imd);
+        this.inQueue = new InboundMessageQueue
+            (imd, getConfigIntProperty(SOCServer.PROP_JSETTLERS_DISPATCH_GAMELANES, 0));
 
         ss = new StringServerSocket(stringSocketName);
         setName("server-localstring-" + stringSocketName);  // Thread name for debugging
@@ -335,6 +342,24 @@ public abstract class Server extends Thread implements Serializable, Cloneable
         // Most other fields are set by initializers in their declaration.
     }
 
+    /**
+     * Create and bind the TCP server socket for {@link #port}:
+     * A {@link NioServerSocket} if {@link SOCServer#PROP_JSETTLERS_NET_NIO__THREADS} &gt; 0,
+     * otherwise a {@link NetServerSocket} with a reader and writer thread per client.
+     * @return  The new bound server socket
+     * @throws IOException if can't bind to {@link #port}
+     * @since 2.4.50
+     */
+    private SOCServerSocket newNetServerSocket()
+        throws IOException
+    {
+        final int nioThreads = getConfigIntProperty(SOCServer.PROP_JSETTLERS_NET_NIO__THREADS, 0);
+        if (nioThreads > 0)
+            return new NioServerSocket(port, this, nioThreads);
+        else
+            return new NetServerSocket(port, this);
+    }
+
     /**
      * Minor init tasks from both constructors.
      * Set up the recurring schedule of {@link #cliVersionsConnected} here.
@@ -529,7 +554,8 @@ public abstract class Server extends Thread implements Serializable, Cloneable
     /**
      * Run method for Server:
      * First, calls the {@link #serverUp()} callback.
-     * Then starts a single "treater" thread for processing inbound messages,
+     * Then starts a single "treater" thread for processing inbound messages
+     * (or one per lane, if {@link SOCServer#PROP_JSETTLERS_DISPATCH_GAMELANES} is set),
      * then waits for new connections and sets up each one in its own thread.
      */
     @Override
@@ -558,7 +584,11 @@ public abstract class Server extends Thread implements Serializable, Cloneable
                     // Currently it's limited in SOCServer.newConnection1 by checking connectionCount()
                     // which is more modular.
                     Connection connection = ss.accept();
-                    if (port != -1)
+                    if (connection instanceof NioConnection)
+                    {
+                        connection.run();  // adds to server, then NIO thread handles its I/O
+                    }
+                    else if (port != -1)
                     {
                         new Thread((NetConnection) connection).start();
                     }
@@ -590,7 +620,7 @@ public abstract class Server extends Thread implements Serializable, Cloneable
                 {
                     // retry
                     if (strSocketName == null)
-                        ss = new NetServerSocket(port, this);
+                        ss = newNetServerSocket();
                     else
                         ss = new StringServerSocket(strSocketName);
                 }
@@ -1251,13 +1281,14 @@ public abstract class Server extends Thread implements Serializable, Cloneable
         if (m == null)
             throw new IllegalArgumentException("null");
 
+        final EncodedFrame fr = new EncodedFrame(m);  // encoded once, shared by all recipients
         for (Enumeration<Connection> e = getConnections(); e.hasMoreElements();)
         {
-            e.nextElement().put(m);
+            e.nextElement().put(fr);
         }
         for (Enumeration<Connection> e = unnamedConns.elements(); e.hasMoreElements();)
         {
-            e.nextElement().put(m);
+            e.nextElement().put(fr);
         }
     }
 
@@ -1305,19 +1336,20 @@ public abstract class Server extends Thread implements Serializable, Cloneable
         if (vmin > vmax)
             return;
 
+        final EncodedFrame fr = new EncodedFrame(m);  // encoded once, shared by all recipients
         for (Enumeration<Connection> e = getConnections(); e.hasMoreElements();)
         {
             Connection c = e.nextElement();
             int cvers = c.getVersion();
             if ((cvers >= vmin) && (cvers <= vmax))
-                c.put(m);
+                c.put(fr);
         }
         for (Enumeration<Connection> e = unnamedConns.elements(); e.hasMoreElements();)
         {
             Connection c = e.nextElement();
             int cvers = c.getVersion();
             if ((cvers >= vmin) && (cvers <= vmax))
-                c.put(m);
+                c.put(fr);
         }
     }
 
@@ -1365,7 +1397,11 @@ public abstract class Server extends Thread implements Serializable, Cloneable
         /**
          * Remove a queued incoming message from a client, and treat it.
          * Messages of unknown type are ignored.
-         * Called from the single 'treater' thread of {@link InboundMessageQueue}.
+         * Called from the single 'treater' thread of {@link InboundMessageQueue},
+         * or if using game lanes, from the 'treater' thread of the message's lane:
+         * Each game's messages are dispatched in order from a single thread,
+         * but messages about different games may be dispatched at the same time.
+         * See {@link InboundMessageQueue} class javadoc for details.
          *<P>
          * <em>Do not block or sleep</em> because this is single-threaded.
          * Any slow or lengthy work for a message should be done on other threads.
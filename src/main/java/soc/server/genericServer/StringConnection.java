@@ -22,19 +22,28 @@
 package soc.server.genericServer;
 
 import java.io.EOFException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.net.ConnectException;
 import java.util.Date;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
 
 import soc.disableDebug.D;
 import soc.message.SOCMessage;
 
 /**
- * Symmetric buffered connection sending strings between two local peers.
+ * Symmetric buffered connection sending messages between two local peers.
  * Uses vectors and thread synchronization, no actual network traffic.
  * When using this class from the server (not client), after the constructor
  * call {@link #setServer(Server)}.
  *<P>
+ * Since v2.4.50 most {@link SOCMessage}s are passed directly to the peer as objects,
+ * skipping {@link SOCMessage#toCmd()} and {@link SOCMessage#toMsg(String)};
+ * see {@link #put(SOCMessage)} and {@link #readNextMessage()}.
+ * To verify that all messages still round-trip correctly through their text form,
+ * set JVM property {@link #PROP_JSETTLERS_DEBUG_STRINGCONN_TEXT}.
+ *<P>
  * This class has a run method, but you must start the thread yourself.
  * Constructors will not create or start a thread.
  *<P>
@@ -63,6 +72,8 @@ import soc.message.SOCMessage;
  *  2.3.0 - 2020-04-27 - no change in this file
  *  2.4.5 - 2020-07-17 - put: fix cosmetic "IllegalStateException: Not accepted by server yet" seen when
  *                       sending message during disconnect/server shutdown
+ *  2.4.50 - 2026-10-15 - pass immutable SOCMessage objects directly: +put(SOCMessage), +readNextMessage;
+ *                       debug property {@link #PROP_JSETTLERS_DEBUG_STRINGCONN_TEXT}
  *</PRE>
  *
  * @author Jeremy D Monin &lt;jeremy@nand.net&gt;
@@ -71,11 +82,38 @@ import soc.message.SOCMessage;
 public class StringConnection
     extends Connection implements Runnable
 {
+    /**
+     * Boolean property {@code jsettlers.debug.stringconn.text} to send all messages between local peers
+     * as text, formatting with {@link SOCMessage#toCmd()} and parsing with {@link SOCMessage#toMsg(String)}
+     * like v2.4.00 and earlier did, instead of passing {@link SOCMessage} objects directly.
+     * Useful to check that a message's text form round-trips when testing with practice games or local bots.
+     * Read once when this class is loaded.
+     * @since 2.4.50
+     */
+    public static final String PROP_JSETTLERS_DEBUG_STRINGCONN_TEXT = "jsettlers.debug.stringconn.text";
+
+    /**
+     * True if {@link #PROP_JSETTLERS_DEBUG_STRINGCONN_TEXT} is set.
+     * @since 2.4.50
+     */
+    private static final boolean alwaysSendText = (null != System.getProperty(PROP_JSETTLERS_DEBUG_STRINGCONN_TEXT));
+
+    /**
+     * Cache for {@link #isShareable(SOCMessage)}: Whether each message class can be passed as an object.
+     * @since 2.4.50
+     */
+    private static final ConcurrentHashMap<Class<?>, Boolean> shareableClasses
+        = new ConcurrentHashMap<Class<?>, Boolean>();
+
     /** Unique end-of-file marker object.  Always compare against this with == not string.equals. */
     protected static String EOF_MARKER = "__EOF_MARKER__" + '\004';
 
-    /** Message contents between the peers on this connection; never contains {@code null} elements. */
-    protected Vector<String> in, out;
+    /**
+     * Message contents between the peers on this connection; never contains {@code null} elements.
+     * Each element is a {@link String} from {@link SOCMessage#toCmd()}, a {@link SOCMessage}
+     * (since v2.4.50), or {@link #EOF_MARKER}.
+     */
+    protected Vector<Object> in, out;
     protected boolean in_reachedEOF;
     protected boolean out_setEOF;
     /** Active connection, server has called accept, and not disconnected yet */
@@ -95,8 +133,8 @@ public class StringConnection
      */
     public StringConnection()
     {
-        in = new Vector<String>();
-        out = new Vector<String>();
+        in = new Vector<Object>();
+        out = new Vector<Object>();
         init();
     }
 
@@ -145,14 +183,51 @@ public class StringConnection
     /**
      * Read the next string sent from the remote end,
      * blocking if necessary to wait.
+     * If the remote end sent a {@link SOCMessage} object, returns its {@link SOCMessage#toCmd()}.
      *<P>
      * Synchronized on in-buffer.
      *
      * @return Next string in the in-buffer; never {@code null}.
      * @throws EOFException Our input buffer has reached EOF
      * @throws IllegalStateException Server has not yet accepted our connection
+     * @see #readNextMessage()
      */
     public String readNext() throws EOFException, IllegalStateException
+    {
+        final Object obj = readNextObject();
+        return (obj instanceof SOCMessage) ? ((SOCMessage) obj).toCmd() : (String) obj;
+    }
+
+    /**
+     * Read the next message sent from the remote end,
+     * blocking if necessary to wait.
+     * If the remote end sent a string, parses it with {@link SOCMessage#toMsg(String)}.
+     *<P>
+     * Synchronized on in-buffer.
+     *
+     * @return Next message in the in-buffer, or {@code null} if it was a string which couldn't be parsed
+     * @throws EOFException Our input buffer has reached EOF
+     * @throws IllegalStateException Server has not yet accepted our connection
+     * @see #readNext()
+     * @since 2.4.50
+     */
+    public SOCMessage readNextMessage() throws EOFException, IllegalStateException
+    {
+        final Object obj = readNextObject();
+        return (obj instanceof SOCMessage) ? (SOCMessage) obj : SOCMessage.toMsg((String) obj);
+    }
+
+    /**
+     * Read the next element sent from the remote end, blocking if necessary to wait.
+     * Synchronized on in-buffer.
+     * Before v2.4.50 this was part of {@link #readNext()}.
+     *
+     * @return Next element in the in-buffer: A {@link String} or {@link SOCMessage}; never {@code null}.
+     * @throws EOFException Our input buffer has reached EOF
+     * @throws IllegalStateException Server has not yet accepted our connection
+     * @since 2.4.50
+     */
+    private Object readNextObject() throws EOFException, IllegalStateException
     {
         if (! accepted)
         {
@@ -198,7 +273,7 @@ public class StringConnection
                 throw (EOFException) error;
             }
         }
-        return (String) obj;
+        return obj;
     }
 
     /**
@@ -218,6 +293,72 @@ public class StringConnection
         if (dat == null)
             throw new IllegalArgumentException("null");
 
+        enqueue(dat);
+    }
+
+    /**
+     * Send a message over the connection.  Does not block.
+     * Ignored if setEOF() has been called.
+     *<P>
+     * Passes the message object directly to the peer if its fields are all immutable
+     * (primitives, strings, boxed primitives, or enums), otherwise sends its {@link SOCMessage#toCmd()}
+     * so the peer can't share arrays or collections with the sender.
+     * If {@link #PROP_JSETTLERS_DEBUG_STRINGCONN_TEXT} is set, always sends {@code toCmd()}.
+     * The sender must not change the message after calling this method.
+     *<P>
+     * <B>Threads:</B> Safe to call from any thread; synchronizes on internal {@code out} queue.
+     *
+     * @param msg  Message to send
+     * @throws IllegalArgumentException if {@code msg} is {@code null}
+     * @throws IllegalStateException if not yet accepted by server
+     * @since 2.4.50
+     */
+    @Override
+    public void put(SOCMessage msg)
+        throws IllegalArgumentException, IllegalStateException
+    {
+        if (msg == null)
+            throw new IllegalArgumentException("null");
+
+        if (alwaysSendText || ! isShareable(msg))
+            enqueue(msg.toCmd());
+        else
+            enqueue(msg);
+    }
+
+    /**
+     * Send a pre-built message frame over the connection, as {@link #put(SOCMessage)} if the frame
+     * was built from a message object, otherwise as {@link #put(String)}. Never encodes the frame's bytes.
+     *
+     * @param frame  Frame to send
+     * @throws IllegalArgumentException if {@code frame} is {@code null}
+     * @throws IllegalStateException if not yet accepted by server
+     * @since 2.4.50
+     */
+    @Override
+    public void put(EncodedFrame frame)
+        throws IllegalArgumentException, IllegalStateException
+    {
+        if (frame == null)
+            throw new IllegalArgumentException("null");
+
+        final SOCMessage msg = frame.getMessage();
+        if (msg != null)
+            put(msg);
+        else
+            enqueue(frame.getCommand());
+    }
+
+    /**
+     * Add a string or message to the out-buffer, unless setEOF() has been called.
+     * Before v2.4.50 this was part of {@link #put(String)}.
+     * @param obj  String or {@link SOCMessage} to send; not null
+     * @throws IllegalStateException if not yet accepted by server
+     * @since 2.4.50
+     */
+    private void enqueue(final Object obj)
+        throws IllegalStateException
+    {
         if (! (accepted || (data != null)))
         {
             // accepted is false before server accepts connection,
@@ -231,11 +372,54 @@ public class StringConnection
 
         synchronized (out)
         {
-            out.addElement(dat);
+            out.addElement(obj);
             out.notifyAll();  // Another thread may have been waiting for input
         }
     }
 
+    /**
+     * Can this message be passed directly to the peer as an object?
+     * True if every instance field declared by the message's class and its superclasses
+     * is a primitive, {@link String}, boxed primitive, or enum, since message classes have no setters.
+     * Messages with arrays, collections, or other objects are sent as text instead,
+     * in case those are shared with game or board data structures at the sender.
+     * Results are cached per class.
+     * @param msg  Message to check; not null
+     * @return  True if {@code msg}'s class holds only immutable field types
+     * @since 2.4.50
+     */
+    private static boolean isShareable(final SOCMessage msg)
+    {
+        final Class<?> cl = msg.getClass();
+        Boolean isOK = shareableClasses.get(cl);
+        if (isOK == null)
+        {
+            boolean ok = true;
+            for (Class<?> c = cl; ok && (c != null) && (c != Object.class); c = c.getSuperclass())
+            {
+                for (Field f : c.getDeclaredFields())
+                {
+                    if (Modifier.isStatic(f.getModifiers()))
+                        continue;
+
+                    final Class<?> ft = f.getType();
+                    if (! (ft.isPrimitive() || ft.isEnum() || (ft == String.class) || (ft == Integer.class)
+                           || (ft == Boolean.class) || (ft == Long.class) || (ft == Short.class)
+                           || (ft == Byte.class) || (ft == Character.class)))
+                    {
+                        ok = false;
+                        break;
+                    }
+                }
+            }
+
+            isOK = Boolean.valueOf(ok);
+            shareableClasses.put(cl, isOK);
+        }
+
+        return isOK.booleanValue();
+    }
+
     /**
      * close the socket, discard pending buffered data, set EOF.
      * Called after conn is removed from server structures.
@@ -471,8 +655,7 @@ public class StringConnection
 
             if (! in_reachedEOF)
             {
-                String firstMsg = readNext();
-                final SOCMessage msgObj = SOCMessage.toMsg(firstMsg);  // parse
+                final SOCMessage msgObj = readNextMessage();  // parse if needed
                 if (! ourServer.processFirstCommand(msgObj, this))
                 {
                     if (msgObj != null)
@@ -482,8 +665,7 @@ public class StringConnection
 
             while (! in_reachedEOF)
             {
-                final String msgStr = readNext();  // blocks until next message is available
-                final SOCMessage msgObj = SOCMessage.toMsg(msgStr);
+                final SOCMessage msgObj = readNextMessage();  // blocks until next message is available
                 if (msgObj != null)
                     inQueue.push(msgObj, this);
             }
@@ -0,0 +1,327 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.server.savegame;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import soc.game.SOCGame;
+import soc.server.SOCServer;
+
+/**
+ * Periodic autosave of a server's games, so they can be resumed if the server stops or crashes.
+ *<P>
+ * At the end of each turn the server calls {@link #checkpoint(SOCGame)} while holding the game's lock.
+ * If at least the autosave interval has passed since that game's previous autosave, a {@link SavedGameModel}
+ * is constructed there, copying the game's data as a consistent snapshot. The model is then written
+ * on this autosaver's own thread with {@link GameSaverJSON#saveGame(SavedGameModel, File, String, boolean)},
+ * which syncs a temporary file and renames it, so a crash never leaves a partial autosave file.
+ * If a game's next snapshot is taken before its previous one was written, only the newer one is written.
+ *<P>
+ * When a game ends or is destroyed, {@link #gameEnded(String)} deletes its autosave file.
+ * So at server startup, the files from {@link #findAutosaves()} are the games which were interrupted:
+ * See {@link SOCServer#resumeAutosavedGames()}.
+ *<P>
+ * Games which {@link SavedGameModel} can't save, like most scenarios, aren't autosaved.
+ *<P>
+ * <B>Threads:</B> Safe to call from any thread.
+ *
+ * @see SOCServer#PROP_JSETTLERS_SAVEGAME_AUTOSAVE__SEC
+ * @since 2.4.50
+ */
+public class GameAutosaver
+{
+    /**
+     * Prefix for autosave filenames: {@code "autosave_"}.
+     * The rest of the filename is from {@link #filenameFor(String)}.
+     */
+    public static final String FILENAME_PREFIX = "autosave_";
+
+    /** Directory for autosave files */
+    private final File dir;
+
+    /** Minimum time between a game's autosaves, in milliseconds */
+    private final long intervalMillis;
+
+    /** Server, for {@link SavedGameModel} player info lookups */
+    private final SOCServer srv;
+
+    /** Writes and deletes autosave files, one at a time, in the order requested */
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(new ThreadFactory()
+    {
+        public Thread newThread(final Runnable r)
+        {
+            final Thread th = new Thread(r, "gameAutosaver");
+            th.setDaemon(true);
+            return th;
+        }
+    });
+
+    /** Each game's most recent snapshot time, from {@link System#currentTimeMillis()}. Key is game name. */
+    private final ConcurrentHashMap<String, Long> lastSnapshotTimes = new ConcurrentHashMap<>();
+
+    /**
+     * Snapshots waiting to be written, newest only. Key is game name.
+     * A write task is queued whenever a snapshot is added here for a game which had none waiting.
+     */
+    private final ConcurrentHashMap<String, SavedGameModel> pendingWrites = new ConcurrentHashMap<>();
+
+    /** Names of games which can't be saved, so they aren't tried again at each turn */
+    private final ConcurrentHashMap<String, Boolean> unsupportedGames = new ConcurrentHashMap<>();
+
+    /** Counters for {@link #getWriteCount()}, etc */
+    private final AtomicLong writeCount = new AtomicLong(), writeFailCount = new AtomicLong(),
+        writeBytes = new AtomicLong();
+
+    /** Set by {@link #shutdown()}; if true, no more snapshots are taken and no files deleted */
+    private volatile boolean isShutdown;
+
+    /**
+     * Create an autosaver.
+     * @param srv  Server whose games will be saved; not null
+     * @param dir  Existing directory for autosave files, such as {@link SOCServer#PROP_JSETTLERS_SAVEGAME_DIR}
+     * @param intervalSeconds  Minimum time between each game's autosaves; 0 to save at every turn
+     * @throws IllegalArgumentException if {@code dir} isn't an existing directory, or {@code intervalSeconds} &lt; 0
+     */
+    public GameAutosaver(final SOCServer srv, final File dir, final int intervalSeconds)
+        throws IllegalArgumentException
+    {
+        if (! dir.isDirectory())
+            throw new IllegalArgumentException("Not found as directory: " + dir.getPath());
+        if (intervalSeconds < 0)
+            throw new IllegalArgumentException("intervalSeconds: " + intervalSeconds);
+
+        this.srv = srv;
+        this.dir = dir;
+        intervalMillis = 1000L * intervalSeconds;
+    }
+
+    /**
+     * Get the autosave filename for a game. Game names can contain characters which aren't allowed
+     * in filenames, so those are replaced; a hash of the full name keeps similar names' files separate.
+     * The file contents have the game's actual name.
+     * @param gaName  Game name; not null
+     * @return  Filename starting with {@link #FILENAME_PREFIX}
+     *     and ending with {@link GameSaverJSON#FILENAME_EXTENSION}
+     */
+    public static String filenameFor(final String gaName)
+    {
+        final StringBuilder sb = new StringBuilder(FILENAME_PREFIX);
+        for (int i = 0; i < gaName.length(); ++i)
+        {
+            final char ch = gaName.charAt(i);
+            sb.append((Character.isLetterOrDigit(ch) && (ch < 128)) ? ch : '_');
+        }
+        sb.append('_').append(Integer.toHexString(gaName.hashCode()))
+          .append(GameSaverJSON.FILENAME_EXTENSION);
+
+        return sb.toString();
+    }
+
+    /**
+     * At the end of a turn, autosave this game if enough time has passed since its previous autosave.
+     * Takes a snapshot of the game now, then writes it to a file on the autosaver's thread.
+     * If the game is over, deletes its autosave instead, like {@link #gameEnded(String)}.
+     *<P>
+     * <B>Locks:</B> Caller must hold the game's lock ({@link SOCGame#takeMonitor()}),
+     * so the game's data doesn't change while it's being copied.
+     *
+     * @param ga  Game to autosave; not null
+     * @return  True if a snapshot was taken, false if too soon since the last one,
+     *     game can't be saved in its current state, or autosaver is shut down
+     */
+    public boolean checkpoint(final SOCGame ga)
+    {
+        if (isShutdown)
+            return false;
+
+        final String gaName = ga.getName();
+        if (ga.getGameState() >= SOCGame.OVER)
+        {
+            gameEnded(gaName);
+            return false;
+        }
+        if ((ga.getGameState() < SOCGame.ROLL_OR_CARD) || unsupportedGames.containsKey(gaName))
+            return false;
+
+        final long now = System.currentTimeMillis();
+        final Long prev = lastSnapshotTimes.get(gaName);
+        if ((prev != null) && (now - prev < intervalMillis))
+            return false;
+
+        final SavedGameModel sgm;
+        try
+        {
+            sgm = new SavedGameModel(ga, srv);
+        } catch (SavedGameModel.UnsupportedSGMOperationException e) {
+            unsupportedGames.put(gaName, Boolean.TRUE);
+            System.err.println("Autosave: Can't save game " + gaName + ": " + e.getMessage());
+            return false;
+        } catch (RuntimeException e) {
+            System.err.println("Autosave: Can't take snapshot of game " + gaName + ": " + e);
+            return false;
+        }
+
+        lastSnapshotTimes.put(gaName, now);
+        if (null == pendingWrites.put(gaName, sgm))
+        {
+            try
+            {
+                writer.execute(new Runnable()
+                {
+                    public void run()
+                    {
+                        final SavedGameModel toWrite = pendingWrites.remove(gaName);
+                        if (toWrite != null)
+                            write(gaName, toWrite);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                return false;  // is shutting down
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Write a game's snapshot to its autosave file. Called on the autosaver's thread.
+     * @param gaName  Game name
+     * @param sgm  Snapshot to write
+     */
+    private void write(final String gaName, final SavedGameModel sgm)
+    {
+        try
+        {
+            writeBytes.addAndGet(GameSaverJSON.saveGame(sgm, dir, filenameFor(gaName), false));
+            writeCount.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            writeFailCount.incrementAndGet();
+            System.err.println("Autosave: Can't write game " + gaName + ": " + e);
+        }
+    }
+
+    /**
+     * A game has ended or been destroyed: Discard any snapshot waiting to be written
+     * and delete its autosave file, so it won't be resumed at server startup.
+     * Does nothing after {@link #shutdown()}, so games interrupted by the shutdown keep their autosaves.
+     * @param gaName  Game name; not null
+     */
+    public void gameEnded(final String gaName)
+    {
+        if (isShutdown)
+            return;
+
+        lastSnapshotTimes.remove(gaName);
+        unsupportedGames.remove(gaName);
+        pendingWrites.remove(gaName);
+
+        deleteAutosave(new File(dir, filenameFor(gaName)));
+    }
+
+    /**
+     * Find the autosave files in this autosaver's directory.
+     * At server startup, these are games which were interrupted by a server stop or crash.
+     * @return  Autosave files; may be empty, never null
+     */
+    public File[] findAutosaves()
+    {
+        final File[] files = dir.listFiles(new FilenameFilter()
+        {
+            public boolean accept(final File d, final String name)
+            {
+                return name.startsWith(FILENAME_PREFIX) && name.endsWith(GameSaverJSON.FILENAME_EXTENSION);
+            }
+        });
+
+        return (files != null) ? files : new File[0];
+    }
+
+    /**
+     * Delete an autosave file on the autosaver's thread, for example after resuming a game which was already over.
+     * @param f  File from {@link #findAutosaves()}
+     */
+    public void deleteAutosave(final File f)
+    {
+        try
+        {
+            writer.execute(new Runnable()
+            {
+                public void run()
+                {
+                    if (f.exists() && ! f.delete())
+                        System.err.println("Autosave: Can't delete " + f.getName());
+                }
+            });
+        } catch (RejectedExecutionException e) {}  // is shutting down
+    }
+
+    /**
+     * Stop taking snapshots, and wait a few seconds for any waiting snapshots to be written.
+     * Afterwards {@link #gameEnded(String)} won't delete files, so the games being stopped can be resumed later.
+     * Call before server shutdown disconnects clients or destroys games.
+     */
+    public void shutdown()
+    {
+        isShutdown = true;
+        writer.shutdown();
+        try
+        {
+            if (! writer.awaitTermination(5, TimeUnit.SECONDS))
+                System.err.println("Autosave: Timed out waiting to write games");
+        } catch (InterruptedException e) {}
+    }
+
+    /**
+     * Get the number of autosave files written so far.
+     * @return  Number of files written
+     */
+    public long getWriteCount()
+    {
+        return writeCount.get();
+    }
+
+    /**
+     * Get the number of autosave writes which failed so far.
+     * @return  Number of failed writes
+     */
+    public long getWriteFailCount()
+    {
+        return writeFailCount.get();
+    }
+
+    /**
+     * Get the total size of autosave files written so far.
+     * @return  Total bytes written
+     */
+    public long getWriteBytes()
+    {
+        return writeBytes.get();
+    }
+
+}
@@ -23,6 +23,9 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -47,6 +50,12 @@ public class GameSaverJSON
      */
     public static final String FILENAME_EXTENSION = ".game.json";
 
+    /**
+     * Suffix added to a savegame's filename while it's being written: {@code ".tmp"}
+     * @since 2.4.50
+     */
+    public static final String TEMP_FILENAME_EXTENSION = ".tmp";
+
     /**
      * Save this game to a JSON file.
      *<P>
@@ -71,25 +80,75 @@ public class GameSaverJSON
         if (! saveDir.isDirectory())
             throw new IllegalArgumentException("Not found as directory: " + saveDir.getPath());
 
-        final SavedGameModel sgm = new SavedGameModel(ga, srv);
+        saveGame(new SavedGameModel(ga, srv), saveDir, saveFilename, true);
+    }
+
+    /**
+     * Save a game model to a JSON file. To avoid leaving a partly written file if the server crashes
+     * while saving, writes to a temporary file in {@code saveDir}, syncs it to disk,
+     * then renames it to {@code saveFilename}, replacing any existing file.
+     *<P>
+     * The model fields must not change while saving; {@link SavedGameModel#SavedGameModel(SOCGame, SOCServer)}
+     * copies the game's data, so this method can be called on any thread once the model is constructed.
+     *<P>
+     * Assumes caller has checked that gson jar is on classpath
+     * by calling {@code Class.forName("com.google.gson.Gson")} or similar.
+     *
+     * @param sgm  Game model to save; not null
+     * @param saveDir  Existing directory into which to save the file
+     * @param saveFilename  Filename to save as; recommended suffix is {@link #FILENAME_EXTENSION}
+     * @param prettyPrint  If true, indent the JSON for people to read; if false, write it compactly
+     * @return  Size of the saved file, in bytes
+     * @throws IllegalArgumentException  if {@code saveDir} isn't a currently existing directory
+     * @throws IOException  if a problem occurs while saving
+     * @since 2.4.50
+     */
+    public static long saveGame
+        (final SavedGameModel sgm, final File saveDir, final String saveFilename, final boolean prettyPrint)
+        throws IllegalArgumentException, IOException
+    {
+        if (! saveDir.isDirectory())
+            throw new IllegalArgumentException("Not found as directory: " + saveDir.getPath());
 
         final Gson gson;
         try
         {
             final GsonBuilder gb = new GsonBuilder();
             SavedGameModel.initGsonRegisterAdapters(gb);
-            gson = gb.setPrettyPrinting().create();
+            if (prettyPrint)
+                gb.setPrettyPrinting();
+            gson = gb.create();
         }
         catch (Throwable th)
         {
             throw new IOException("failed to load Gson class: " + th, th);
         }
 
-        try(OutputStreamWriter writer = new OutputStreamWriter
-               (new FileOutputStream(new File(saveDir, saveFilename)), "UTF-8"))
+        final File saveTo = new File(saveDir, saveFilename),
+            tmp = new File(saveDir, saveFilename + TEMP_FILENAME_EXTENSION);
+        try
         {
-            gson.toJson(sgm, writer);
+            try(final FileOutputStream fos = new FileOutputStream(tmp);
+                final OutputStreamWriter writer = new OutputStreamWriter(fos, "UTF-8"))
+            {
+                gson.toJson(sgm, writer);
+                writer.flush();
+                fos.getFD().sync();
+            }
+
+            try
+            {
+                Files.move(tmp.toPath(), saveTo.toPath(),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), saveTo.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            if (tmp.exists())
+                tmp.delete();  // if rename failed, don't leave it behind
         }
+
+        return saveTo.length();
     }
 
 }
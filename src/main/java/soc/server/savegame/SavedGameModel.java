@@ -402,6 +402,10 @@ public class SavedGameModel
     /**
      * Create a SavedGameModel to save as a game file.
      * Game state must be {@link SOCGame#ROLL_OR_CARD} or higher.
+     *<P>
+     * Copies the game's data, so once constructed the model can be written to a file
+     * on another thread while the game continues; see {@link GameAutosaver}.
+     * Call while holding the game's lock, so the copy is consistent.
      * @param ga  Game data to save; not null
      * @param srv  Server, for game/player info lookups; not null.
      *     Not retained in object fields, used only during construction.
@@ -464,7 +468,7 @@ public class SavedGameModel
 
         boardInfo = new BoardInfo(ga);
 
-        playerSeatLocks = ga.getSeatLocks();
+        playerSeatLocks = ga.getSeatLocks().clone();  // copy, in case saved on another thread
         playerSeats = new PlayerInfo[ga.maxPlayers];
         for (int pn = 0; pn < ga.maxPlayers; ++pn)
             playerSeats[pn] = new PlayerInfo(ga.getPlayer(pn), ga.isSeatVacant(pn), srv);
@@ -1031,6 +1035,8 @@ public class SavedGameModel
             }
 
             resRollStats = pl.getResourceRollStats();
+            if (resRollStats != null)
+                resRollStats = resRollStats.clone();  // copy, in case saved on another thread
 
             final SOCInventory cardsInv = pl.getInventory();
             for (SOCInventoryItem item : cardsInv.getByState(SOCInventory.NEW))
@@ -1049,6 +1055,8 @@ public class SavedGameModel
             // fortressPiece = pl.getFortress();
 
             specialVPInfo = pl.getSpecialVPInfo();
+            if (specialVPInfo != null)
+                specialVPInfo = new ArrayList<>(specialVPInfo);
         }
 
         /**
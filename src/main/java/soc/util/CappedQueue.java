@@ -21,17 +21,29 @@
  **/
 package soc.util;
 
-import java.util.Vector;
+import java.util.LinkedList;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 
 /**
  * Synchronized queue with a size limit, set in the constructor.
  * Once the limit is reached, further {@link #put(Object)} calls throw {@link CutoffExceededException}.
+ *<P>
+ * Since v2.4.50 uses a {@link ReentrantLock} instead of {@code synchronized} methods with
+ * {@code wait()}, so that a robot brain waiting in {@link #get()} on a virtual thread
+ * doesn't tie up its carrier thread. Items may be null.
  */
 public class CappedQueue<T>
 {
-    /** Internal storage for the queue'd objects */
-    private Vector<T> vec = new Vector<T>();
+    /** Internal storage for the queue'd objects; guarded by {@link #lock} */
+    private final LinkedList<T> items = new LinkedList<T>();
+
+    /** Guards {@link #items}. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signalled when an item is added to {@link #items}. */
+    private final Condition notEmpty = lock.newCondition();
 
     /** The max size for this queue */
     private final int sizeLimit;
@@ -62,65 +74,69 @@ public class CappedQueue<T>
      * @throws CutoffExceededException if queue's new size (including the put object)
      *     exceeds the limit given to its constructor
      */
-    synchronized public void put(T o) throws CutoffExceededException
+    public void put(T o) throws CutoffExceededException
     {
         //D.ebugPrintln(">put-> "+o);
-        // Add the element
-        vec.addElement(o);
+        lock.lock();
+        try
+        {
+            // Add the element
+            items.addLast(o);
 
-        // There might be threads waiting for the new object --
-        // give them a chance to get it
-        notifyAll();
+            // There might be a thread waiting for the new object --
+            // give it a chance to get it
+            notEmpty.signalAll();
 
-        if (vec.size() == sizeLimit)
-        {
-            throw new CutoffExceededException("CappedQueue sizeLimit exceeded");
+            if (items.size() == sizeLimit)
+            {
+                throw new CutoffExceededException("CappedQueue sizeLimit exceeded");
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
     /**
-     * DOCUMENT ME!
+     * Remove and return the item at the head of the queue,
+     * waiting until one is available if the queue is empty.
      *
-     * @return DOCUMENT ME!
+     * @return the item at the head of the queue; may be null if null was {@link #put(Object)}
      */
-    synchronized public T get()
+    public T get()
     {
-        while (true)
+        lock.lock();
+        try
         {
-            if (vec.size() > 0)
+            // If there aren't any objects available, wait and check again
+            while (items.isEmpty())
             {
-                // There's an available object!
-                T o = vec.elementAt(0);
-
-                //D.ebugPrintln("<-get< "+o);
-                // Remove it from our internal list, so someone else
-                // doesn't get it.
-                vec.removeElementAt(0);
-
-                // Return the object
-                return o;
-            }
-            else
-            {
-                // There aren't any objects available.  Do a wait(),
-                // and when we wake up, check again to see if there
-                // are any.
                 try
                 {
-                    wait();
+                    notEmpty.await();
                 }
                 catch (InterruptedException ie) {}
             }
+
+            //D.ebugPrintln("<-get< "+o);
+            return items.removeFirst();
+        } finally {
+            lock.unlock();
         }
     }
 
     /**
-     * DOCUMENT ME!
+     * Is the queue empty?
      *
-     * @return DOCUMENT ME!
+     * @return true if the queue has no items
      */
-    synchronized public boolean empty()
+    public boolean empty()
     {
-        return vec.isEmpty();
+        lock.lock();
+        try
+        {
+            return items.isEmpty();
+        } finally {
+            lock.unlock();
+        }
     }
 }
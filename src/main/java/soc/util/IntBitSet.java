@@ -0,0 +1,318 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.util;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of small non-negative ints, such as board node or edge coordinates, stored as a bitset.
+ * Grows as needed when larger ints are added.
+ *<P>
+ * Also a {@link java.util.Set Set}&lt;{@link Integer}&gt;, so it can be returned where callers expect one.
+ * Use the primitive methods {@link #contains(int)}, {@link #add(int)} and {@link #remove(int)}
+ * to avoid boxing. Copying with {@link #IntBitSet(IntBitSet)} is an array clone.
+ *<P>
+ * Iterates in ascending order. Unlike {@link java.util.HashSet}, iterators aren't fail-fast:
+ * Don't add to the set while iterating, except through {@link Iterator#remove()}.
+ *<P>
+ * Not thread-safe.
+ *
+ * @since 2.4.50
+ */
+public class IntBitSet
+    extends AbstractSet<Integer> implements Serializable
+{
+    private static final long serialVersionUID = 2450L;
+
+    /** Bits of the set: Int {@code i} is a member if bit {@code (i & 63)} of {@code words[i >>> 6]} is set. */
+    private long[] words;
+
+    /** Number of members, kept current by each change. */
+    private int size;
+
+    /**
+     * Create an empty set with room for ints 0 through 255 before growing.
+     */
+    public IntBitSet()
+    {
+        this(0x100);
+    }
+
+    /**
+     * Create an empty set with room for ints 0 through {@code capacity} - 1 before growing.
+     * @param capacity  Expected upper bound of members, such as a board's maximum coordinate + 1
+     * @throws IllegalArgumentException if {@code capacity} &lt; 0
+     */
+    public IntBitSet(final int capacity)
+        throws IllegalArgumentException
+    {
+        if (capacity < 0)
+            throw new IllegalArgumentException("capacity: " + capacity);
+
+        words = new long[(capacity + 63) >>> 6];
+    }
+
+    /**
+     * Copy constructor.
+     * @param other  Set to copy; not null
+     */
+    public IntBitSet(final IntBitSet other)
+    {
+        words = other.words.clone();
+        size = other.size;
+    }
+
+    /**
+     * Does the set contain this int?
+     * @param i  Int to look for; can be negative, which is never a member
+     * @return True if {@code i} is a member
+     */
+    public boolean contains(final int i)
+    {
+        if (i < 0)
+            return false;
+
+        final int w = i >>> 6;
+        return (w < words.length) && ((words[w] & (1L << i)) != 0);
+    }
+
+    /**
+     * Add an int to the set, growing it if needed.
+     * @param i  Int to add
+     * @return True if {@code i} wasn't already a member
+     * @throws IllegalArgumentException if {@code i} &lt; 0
+     */
+    public boolean add(final int i)
+        throws IllegalArgumentException
+    {
+        if (i < 0)
+            throw new IllegalArgumentException("negative: " + i);
+
+        final int w = i >>> 6;
+        if (w >= words.length)
+            words = Arrays.copyOf(words, Math.max(w + 1, 2 * words.length));
+
+        final long bit = 1L << i, prev = words[w];
+        if ((prev & bit) != 0)
+            return false;
+
+        words[w] = prev | bit;
+        ++size;
+        return true;
+    }
+
+    /**
+     * Remove an int from the set.
+     * @param i  Int to remove; can be negative, which is never a member
+     * @return True if {@code i} was a member
+     */
+    public boolean remove(final int i)
+    {
+        if (i < 0)
+            return false;
+
+        final int w = i >>> 6;
+        if (w >= words.length)
+            return false;
+
+        final long bit = 1L << i, prev = words[w];
+        if ((prev & bit) == 0)
+            return false;
+
+        words[w] = prev & ~bit;
+        --size;
+        return true;
+    }
+
+    /**
+     * Get the members as an array, in ascending order.
+     * @return  A new array of the members; empty if none
+     */
+    public int[] toIntArray()
+    {
+        final int[] arr = new int[size];
+        int ai = 0;
+        for (int w = 0; (w < words.length) && (ai < size); ++w)
+        {
+            long bits = words[w];
+            while (bits != 0)
+            {
+                arr[ai++] = (w << 6) | Long.numberOfTrailingZeros(bits);
+                bits &= (bits - 1);
+            }
+        }
+
+        return arr;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Calls {@link #contains(int)} if {@code o} is an {@link Integer}.
+     */
+    @Override
+    public boolean contains(final Object o)
+    {
+        return (o instanceof Integer) && contains(((Integer) o).intValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws NullPointerException if {@code i} is null
+     * @throws IllegalArgumentException if {@code i} &lt; 0
+     */
+    @Override
+    public boolean add(final Integer i)
+        throws NullPointerException, IllegalArgumentException
+    {
+        return add(i.intValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     * Calls {@link #remove(int)} if {@code o} is an {@link Integer}.
+     */
+    @Override
+    public boolean remove(final Object o)
+    {
+        return (o instanceof Integer) && remove(((Integer) o).intValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     * If {@code c} is an {@code IntBitSet}, merges their bits without boxing.
+     */
+    @Override
+    public boolean addAll(final Collection<? extends Integer> c)
+    {
+        if (! (c instanceof IntBitSet))
+            return super.addAll(c);
+
+        final long[] otherWords = ((IntBitSet) c).words;
+        int otherLen = otherWords.length;
+        while ((otherLen > 0) && (otherWords[otherLen - 1] == 0))
+            --otherLen;
+        if (otherLen > words.length)
+            words = Arrays.copyOf(words, otherLen);
+
+        final int prevSize = size;
+        int n = 0;
+        for (int w = 0; w < words.length; ++w)
+        {
+            if (w < otherLen)
+                words[w] |= otherWords[w];
+            n += Long.bitCount(words[w]);
+        }
+        size = n;
+
+        return (n != prevSize);
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return (size == 0);
+    }
+
+    @Override
+    public void clear()
+    {
+        if (size == 0)
+            return;
+
+        Arrays.fill(words, 0L);
+        size = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Iterates in ascending order. The iterator supports {@link Iterator#remove()}.
+     */
+    @Override
+    public Iterator<Integer> iterator()
+    {
+        return new Iterator<Integer>()
+        {
+            /** Next member to return, or -1 if none */
+            private int next = nextMember(0);
+
+            /** Member most recently returned by {@link #next()}, or -1 if none or removed */
+            private int last = -1;
+
+            public boolean hasNext()
+            {
+                return (next != -1);
+            }
+
+            public Integer next()
+            {
+                if (next == -1)
+                    throw new NoSuchElementException();
+
+                last = next;
+                next = nextMember(next + 1);
+                return Integer.valueOf(last);
+            }
+
+            public void remove()
+            {
+                if (last == -1)
+                    throw new IllegalStateException();
+
+                IntBitSet.this.remove(last);
+                last = -1;
+            }
+        };
+    }
+
+    /**
+     * Find the smallest member at or after {@code from}.
+     * @param from  Int to start looking at; not negative
+     * @return  Smallest member &gt;= {@code from}, or -1 if none
+     */
+    private int nextMember(final int from)
+    {
+        int w = from >>> 6;
+        if (w >= words.length)
+            return -1;
+
+        long bits = words[w] & (-1L << from);
+        while (bits == 0)
+        {
+            ++w;
+            if (w >= words.length)
+                return -1;
+            bits = words[w];
+        }
+
+        return (w << 6) | Long.numberOfTrailingZeros(bits);
+    }
+
+}
@@ -27,9 +27,12 @@ import soc.game.SOCGameOption;
 import soc.game.SOCGameOptionSet;
 import soc.message.SOCGames;
 
+import java.util.ArrayList;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 
@@ -38,6 +41,12 @@ import java.util.regex.Pattern;
  * contains each game's name, {@link SOCGameOption game options},
  * and mutex for synchronization.
  *<P>
+ * Each game's monitor, and the list's own monitor, is a fair {@link SOCGameLock}
+ * with wait and hold time histograms. Locking order is the list monitor first, then a game's monitor;
+ * to check that order at runtime, call {@link #setLockOrderDebug(boolean)}.
+ * Code which only reads or broadcasts can take a game's shared monitor with
+ * {@link #takeReadMonitorForGame(String)}; see {@link #setReadWriteSplit(boolean)}.
+ *<P>
  * In 1.1.07, moved from soc.server to soc.util package for client's use.
  * Some methods moved to new subclass {@link soc.server.SOCGameListAtServer}.
  * That subclass also tracks each game's {@link SOCGame} object and
@@ -96,8 +105,46 @@ public class SOCGameList
      */
     protected final SOCGameOptionSet knownOpts;
 
-    /** used with gamelist's monitor */
-    protected boolean inUse;
+    /**
+     * The game list's own monitor, taken by {@link #takeMonitor()}.
+     * Before v2.4.50 this was a {@code boolean inUse} flag polled with {@code wait(1000)}.
+     * @since 2.4.50
+     */
+    private final SOCGameLock listLock = new SOCGameLock();
+
+    /**
+     * Monitors held by each thread, in order taken, so they can be released by game name
+     * and checked for lock order.
+     * @since 2.4.50
+     */
+    private final ThreadLocal<List<HeldLock>> heldLocks = new ThreadLocal<List<HeldLock>>()
+    {
+        @Override
+        protected List<HeldLock> initialValue()
+        {
+            return new ArrayList<HeldLock>();
+        }
+    };
+
+    /**
+     * If true, {@link #takeReadMonitorForGame(String)} takes a shared lock instead of the exclusive one.
+     * @see #setReadWriteSplit(boolean)
+     * @since 2.4.50
+     */
+    private volatile boolean readWriteSplit;
+
+    /**
+     * If true, check for lock-order inversions when taking monitors.
+     * @see #setLockOrderDebug(boolean)
+     * @since 2.4.50
+     */
+    private volatile boolean lockOrderDebug;
+
+    /**
+     * Number of lock-order inversions seen while {@link #lockOrderDebug}.
+     * @since 2.4.50
+     */
+    private final AtomicLong lockOrderInversions = new AtomicLong();
 
     /**
      * constructor
@@ -108,101 +155,124 @@ public class SOCGameList
     {
         gameInfo = new Hashtable<String, GameInfo>();
         this.knownOpts = knownOpts;
-        inUse = false;
     }
 
     /**
-     * take the monitor for this game list; if we must wait, sleep up to 1000 ms between attempts.
+     * Take the monitor for this game list, waiting if another thread holds it.
+     * Waiting threads take it in the order they arrived.
+     * When done with it, you must call {@link #releaseMonitor()} from the same thread.
+     * Reentrant: A thread holding the monitor can take it again, and must release it that many times.
+     *<P>
+     * Before v2.4.50, waiting threads polled for the monitor with {@code wait(1000)}.
      */
-    public synchronized void takeMonitor()
+    public void takeMonitor()
     {
         // D.ebugPrintln("SOCGameList : TAKE MONITOR");
 
-        while (inUse)
-        {
-            try
-            {
-                wait(1000);  // timeout to help avoid deadlock
-            }
-            catch (InterruptedException e)
-            {
-                System.out.println("EXCEPTION IN takeMonitor() -- " + e);
-            }
-        }
+        final List<HeldLock> held = heldLocks.get();
+        if (lockOrderDebug && ! listLock.isHeldByCurrentThread())
+            for (final HeldLock hl : held)
+                if (hl.gaName != null)
+                {
+                    reportLockOrderInversion
+                        ("taking game list monitor while holding monitor for game " + hl.gaName);
+                    break;
+                }
 
-        inUse = true;
+        held.add(new HeldLock(listLock, null, false, false, listLock.lock(false)));
     }
 
     /**
-     * release the monitor for this game list
+     * release the monitor for this game list, recently taken by {@link #takeMonitor()}.
+     * Does nothing if the current thread doesn't hold it.
      */
-    public synchronized void releaseMonitor()
+    public void releaseMonitor()
     {
         // D.ebugPrintln("SOCGameList : RELEASE MONITOR");
-        inUse = false;
-        this.notify();
+
+        releaseHeld(null, false);
     }
 
     /**
      * take the monitor for this game.
-     * When done with it, you must call {@link #releaseMonitorForGame(String)}.
+     * When done with it, you must call {@link #releaseMonitorForGame(String)} from the same thread.
+     * If another thread holds the game's monitor, waits for it; waiting threads take it in the order they arrived.
+     * Reentrant: A thread holding the monitor can take it again, and must release it that many times.
+     *<P>
+     * Locking order: If this thread will also take {@link #takeMonitor()}, take that first.
      *
      * @param game  the name of the game
-     * @return false if the game has no mutex, or game not found in the list,
-     *   or {@link GameInfo#gameDestroyed} is true
+     * @return false if game not found in the list,
+     *   or {@link GameInfo#gameDestroyed} is true or becomes true while waiting
+     * @throws IllegalStateException if this thread holds the game's shared monitor from
+     *   {@link #takeReadMonitorForGame(String)} but not its exclusive monitor; waiting would deadlock
+     * @see #takeReadMonitorForGame(String)
      */
     public boolean takeMonitorForGame(String game)
+        throws IllegalStateException
     {
         // D.ebugPrintln("SOCGameList : TAKE MONITOR FOR " + game);
 
+        return takeGameLock(game, false);
+    }
+
+    /**
+     * Take the shared monitor for this game, to read game state or broadcast to its members
+     * while no other thread is changing the game. Several threads can hold the shared monitor at once.
+     * If {@link #setReadWriteSplit(boolean)} hasn't been set true, takes the exclusive monitor
+     * like {@link #takeMonitorForGame(String)}.
+     * When done with it, you must call {@link #releaseReadMonitorForGame(String)} from the same thread.
+     *<P>
+     * A thread holding the shared monitor must not call {@link #takeMonitorForGame(String)}
+     * for the same game until it releases the shared monitor.
+     *
+     * @param game  the name of the game
+     * @return false if game not found in the list,
+     *   or {@link GameInfo#gameDestroyed} is true or becomes true while waiting
+     * @since 2.4.50
+     */
+    public boolean takeReadMonitorForGame(final String game)
+    {
+        return takeGameLock(game, true);
+    }
+
+    /**
+     * Take a game's lock for {@link #takeMonitorForGame(String)} or {@link #takeReadMonitorForGame(String)}.
+     * @param game  the name of the game
+     * @param isReadRequest  True if called from {@code takeReadMonitorForGame}:
+     *     Takes the shared lock if {@link #readWriteSplit}, otherwise the exclusive lock
+     * @return false if game not found or destroyed
+     * @throws IllegalStateException if trying to upgrade a held shared lock to exclusive
+     * @since 2.4.50
+     */
+    private boolean takeGameLock(final String game, final boolean isReadRequest)
+        throws IllegalStateException
+    {
         GameInfo info = gameInfo.get(game);
         if ((info == null) || info.gameDestroyed)
         {
             return false;
         }
-        MutexFlag mutex = info.mutex;
-
-        if (mutex == null)
-        {
-            return false;
-        }
-
-        boolean done = false;
-
-        while (!done)
-        {
-            if (mutex == null)
-            {
-                return false;
-            }
-            if (info.gameDestroyed)
-            {
-                // Debug print is JM temp add: (TODO)
-                soc.debug.D.ebugPrintStackTrace(null, "Game " + game + " was destroyed while waiting");
-                return false;
-            }
 
-            synchronized (mutex)
-            {
-                if (mutex.getState() == true)
+        final List<HeldLock> held = heldLocks.get();
+        if (lockOrderDebug && ! info.lock.isHeldByCurrentThread())
+            for (final HeldLock hl : held)
+                if ((hl.gaName != null) && ! hl.gaName.equals(game))
                 {
-                    try
-                    {
-                        mutex.wait(1000);  // timeout to help avoid deadlock
-                    }
-                    catch (InterruptedException e)
-                    {
-                        System.out.println("EXCEPTION IN takeMonitor() -- " + e);
-                    }
+                    reportLockOrderInversion
+                        ("taking monitor for game " + game + " while holding monitor for game " + hl.gaName);
+                    break;
                 }
-                else
-                {
-                    done = true;
-                }
-            }
+
+        final boolean shared = isReadRequest && readWriteSplit;
+        final long acquired = info.lock.lock(shared);
+        if (acquired == -1)
+        {
+            soc.debug.D.ebugPrintStackTrace(null, "Game " + game + " was destroyed while waiting");
+            return false;
         }
 
-        mutex.setState(true);
+        held.add(new HeldLock(info.lock, game, isReadRequest, shared, acquired));
 
         return true;
     }
@@ -211,34 +281,155 @@ public class SOCGameList
      * Release the monitor for this game,
      * recently taken by {@link #takeMonitorForGame(String)}.
      *<P>
-     * Release is allowed even if {@link GameInfo#gameDestroyed} is true.
+     * Release is allowed even if {@link GameInfo#gameDestroyed} is true,
+     * or the game has been deleted from the list.
      *
      * @param game  the name of the game
-     * @return false if the game has no mutex
+     * @return false if the current thread doesn't hold the game's monitor
      */
     public boolean releaseMonitorForGame(String game)
     {
         // D.ebugPrintln("SOCGameList : RELEASE MONITOR FOR " + game);
 
-        GameInfo info = gameInfo.get(game);
-        if (info == null)
-            return false;
-        MutexFlag mutex = info.mutex;
+        return releaseHeld(game, false);
+    }
 
-        if (mutex == null)
+    /**
+     * Release the shared monitor for this game,
+     * recently taken by {@link #takeReadMonitorForGame(String)}.
+     * Release is allowed even if the game has been destroyed.
+     *
+     * @param game  the name of the game
+     * @return false if the current thread doesn't hold the game's monitor
+     * @since 2.4.50
+     */
+    public boolean releaseReadMonitorForGame(final String game)
+    {
+        return releaseHeld(game, true);
+    }
+
+    /**
+     * Release the current thread's most recently taken hold on the game list's monitor or a game's monitor.
+     * @param game  Name of the game, or null for the game list's monitor
+     * @param preferShared  If true, release a hold taken by {@link #takeReadMonitorForGame(String)}
+     *     if any, otherwise an exclusive hold
+     * @return false if the current thread doesn't hold that monitor
+     * @since 2.4.50
+     */
+    private boolean releaseHeld(final String game, final boolean preferShared)
+    {
+        final List<HeldLock> held = heldLocks.get();
+        int idx = -1;
+        for (int i = held.size() - 1; i >= 0; --i)
         {
-            return false;
+            final HeldLock hl = held.get(i);
+            if ((game == null) ? (hl.gaName != null) : ! game.equals(hl.gaName))
+                continue;
+            if (hl.isReadRequest == preferShared)
+            {
+                idx = i;
+                break;
+            }
+            if (idx == -1)
+                idx = i;
         }
 
-        synchronized (mutex)
+        if (idx == -1)
         {
-            mutex.setState(false);
-            mutex.notify();
+            soc.debug.D.ebugPrintStackTrace
+                (null, "Monitor for " + ((game != null) ? ("game " + game) : "game list") + " not held by this thread");
+            return false;
         }
 
+        final HeldLock hl = held.remove(idx);
+        hl.lock.unlock(hl.isShared, hl.acquiredNanos);
+
         return true;
     }
 
+    /**
+     * Set whether {@link #takeReadMonitorForGame(String)} takes a shared monitor,
+     * so that several threads can read or broadcast to a game at once while no thread changes it.
+     * Default is false: All game monitors are exclusive.
+     * @param split  True to use shared monitors for {@code takeReadMonitorForGame}
+     * @since 2.4.50
+     */
+    public void setReadWriteSplit(final boolean split)
+    {
+        readWriteSplit = split;
+    }
+
+    /**
+     * Set debug mode for lock order: If true, each time a thread takes the game list's monitor while holding
+     * a game's monitor, or takes a game's monitor while holding a different game's, that inversion
+     * of the locking order is counted and printed with a stack trace to {@link System#err}.
+     * Adds a little overhead to each take. Default is false.
+     * @param debug  True to check lock order
+     * @see #getLockOrderInversionCount()
+     * @since 2.4.50
+     */
+    public void setLockOrderDebug(final boolean debug)
+    {
+        lockOrderDebug = debug;
+    }
+
+    /**
+     * Is lock-order debug mode on?
+     * @return  True if {@link #setLockOrderDebug(boolean)} was set true
+     * @since 2.4.50
+     */
+    public boolean isLockOrderDebug()
+    {
+        return lockOrderDebug;
+    }
+
+    /**
+     * Get the number of lock-order inversions seen in debug mode.
+     * @return  Number of inversions seen; 0 if {@link #setLockOrderDebug(boolean)} was never set
+     * @since 2.4.50
+     */
+    public long getLockOrderInversionCount()
+    {
+        return lockOrderInversions.get();
+    }
+
+    /**
+     * Count and print a lock-order inversion found in debug mode.
+     * @param desc  Description of the inversion
+     * @since 2.4.50
+     */
+    private void reportLockOrderInversion(final String desc)
+    {
+        lockOrderInversions.incrementAndGet();
+        System.err.println("SOCGameList: Lock order inversion in thread " + Thread.currentThread().getName()
+            + ": " + desc);
+        new Throwable("lock order inversion").printStackTrace();
+    }
+
+    /**
+     * Get the game list's own monitor, for its wait and hold time histograms.
+     * @return  The game list's lock
+     * @see #takeMonitor()
+     * @since 2.4.50
+     */
+    public SOCGameLock getListLock()
+    {
+        return listLock;
+    }
+
+    /**
+     * Get a game's monitor, for its wait and hold time histograms.
+     * @param game  the name of the game
+     * @return  The game's lock, or null if game not found
+     * @see #takeMonitorForGame(String)
+     * @since 2.4.50
+     */
+    public SOCGameLock getGameLock(final String game)
+    {
+        final GameInfo info = gameInfo.get(game);
+        return (info != null) ? info.lock : null;
+    }
+
     /**
      * Get the names of every game we know about, even those with no {@link SOCGame} object.
      * @return an set of game names (Strings)
@@ -503,7 +694,7 @@ public class SOCGameList
     /**
      * Remove the game from the list
      * and call {@link SOCGame#destroyGame()}.
-     * Set its mutex's {@link GameInfo#gameDestroyed} flag.
+     * Set its {@link GameInfo#gameDestroyed} flag, and wake any threads waiting for its monitor.
      *
      * @param gaName  the name of the game; should not be marked with any prefix.
      */
@@ -517,11 +708,8 @@ public class SOCGameList
             return;  // game wasn't in this SOCGameList
         }
         info.gameDestroyed = true;
+        info.lock.setDestroyed();
         gameInfo.remove(gaName);
-        synchronized (info.mutex)
-        {
-            info.mutex.notifyAll();
-        }
         info.dispose();
     }
 
@@ -534,12 +722,18 @@ public class SOCGameList
      */
     protected class GameInfo
     {
-        public MutexFlag mutex;
+        /**
+         * The game's monitor.
+         * Before v2.4.50 this was {@code MutexFlag mutex}.
+         * @since 2.4.50
+         */
+        public final SOCGameLock lock = new SOCGameLock();
+
         public SOCGameOptionSet opts;  // or null
         public String optsStr;  // or null
         public boolean canJoin;
 
-        /** Flag for when game has been destroyed, in case anything's waiting on its mutex. @since 1.1.15 */
+        /** Flag for when game has been destroyed, in case anything's waiting on its monitor. @since 1.1.15 */
         public boolean gameDestroyed;
 
         /**
@@ -549,7 +743,6 @@ public class SOCGameList
          */
         public GameInfo(boolean canJoinGame, SOCGameOptionSet gameOpts)
         {
-            mutex = new MutexFlag();
             opts = gameOpts;
             canJoin = canJoinGame;
         }
@@ -562,7 +755,6 @@ public class SOCGameList
          */
         public GameInfo(boolean canJoinGame, String gameOptsStr)
         {
-            mutex = new MutexFlag();
             optsStr = gameOptsStr;
             canJoin = canJoinGame;
         }
@@ -595,4 +787,36 @@ public class SOCGameList
 
     }
 
+    /**
+     * One monitor held by a thread, from {@link SOCGameList#takeMonitor()} or a take-game-monitor method.
+     * @since 2.4.50
+     */
+    private static final class HeldLock
+    {
+        final SOCGameLock lock;
+
+        /** Game name, or null for the game list's monitor */
+        final String gaName;
+
+        /** True if taken by {@link SOCGameList#takeReadMonitorForGame(String)} */
+        final boolean isReadRequest;
+
+        /** True if {@link #lock} is held shared, not exclusive */
+        final boolean isShared;
+
+        /** Time acquired, from {@link SOCGameLock#lock(boolean)} */
+        final long acquiredNanos;
+
+        HeldLock
+            (final SOCGameLock lock, final String gaName, final boolean isReadRequest, final boolean shared,
+             final long acquiredNanos)
+        {
+            this.lock = lock;
+            this.gaName = gaName;
+            this.isReadRequest = isReadRequest;
+            isShared = shared;
+            this.acquiredNanos = acquiredNanos;
+        }
+    }
+
 }
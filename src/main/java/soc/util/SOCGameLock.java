@@ -0,0 +1,211 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.util;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A {@link SOCGameList}'s monitor for one game, or for the list itself: A fair
+ * {@link ReentrantReadWriteLock} with histograms of wait and hold times.
+ * Threads waiting for the lock get it in arrival order as soon as it's released,
+ * instead of polling. The exclusive (write) lock is for changing the game;
+ * the shared (read) lock can be used to read or broadcast while no other thread changes it.
+ *<P>
+ * Take and release game locks through {@link SOCGameList#takeMonitorForGame(String)} and related methods,
+ * not directly. Those track which locks each thread holds, so a lock can be released after its game
+ * is deleted from the list, and can check lock ordering in debug mode.
+ * Like any {@code ReentrantReadWriteLock}, a thread must release the locks it takes,
+ * and can't upgrade a held shared lock to exclusive.
+ *<P>
+ * Before v2.4.50, each game's monitor was a {@link MutexFlag} polled with {@code wait(1000)}.
+ *
+ * @since 2.4.50
+ */
+public class SOCGameLock
+{
+    private final ReentrantReadWriteLock rw = new ReentrantReadWriteLock(true);
+
+    /** Time spent waiting to acquire the lock, not counting reentrant acquires */
+    private final SOCLatencyHistogram waitHist = new SOCLatencyHistogram();
+
+    /** Time the lock was held, not counting reentrant acquires */
+    private final SOCLatencyHistogram holdHist = new SOCLatencyHistogram();
+
+    /** Set when the lock's game is destroyed, so waiting threads stop waiting */
+    private volatile boolean destroyed;
+
+    /**
+     * Threads waiting in {@link #lock(boolean)}, for {@link #setDestroyed()} to interrupt.
+     * Guarded by its own monitor.
+     */
+    private final Set<Thread> waiters = new HashSet<>();
+
+    /**
+     * Acquire this lock, waiting if needed.
+     * Records the wait time unless the current thread already holds this lock.
+     * @param shared  True for the shared read lock, false for the exclusive write lock
+     * @return  Time acquired, from {@link System#nanoTime()}, for {@link #unlock(boolean, long)};
+     *     or -1 if not acquired because {@link #setDestroyed()} was called
+     * @throws IllegalStateException  if {@code shared} is false and the current thread holds the shared lock
+     *     but not the exclusive lock; waiting would deadlock
+     */
+    long lock(final boolean shared)
+        throws IllegalStateException
+    {
+        final boolean isReentrant = isHeldByCurrentThread();
+        if ((! shared) && (rw.getReadHoldCount() > 0) && ! rw.isWriteLockedByCurrentThread())
+            throw new IllegalStateException("Can't upgrade a shared game lock to exclusive");
+
+        final Lock l = shared ? rw.readLock() : rw.writeLock();
+        final long t0 = System.nanoTime();
+        if (isReentrant)
+        {
+            l.lock();
+        } else {
+            // Wait in the fair lock's queue until acquired, or interrupted by setDestroyed.
+            // Register before checking destroyed, so setDestroyed either sees this thread or is seen here.
+            final Thread th = Thread.currentThread();
+            boolean interrupted = false;
+            synchronized (waiters)
+            {
+                waiters.add(th);
+            }
+            try
+            {
+                for (;;)
+                {
+                    if (destroyed)
+                        return -1;
+
+                    try
+                    {
+                        l.lockInterruptibly();
+                        break;
+                    }
+                    catch (InterruptedException e)
+                    {
+                        if (! destroyed)
+                            interrupted = true;  // not from setDestroyed; keep waiting, re-interrupt later
+                    }
+                }
+            } finally {
+                synchronized (waiters)
+                {
+                    waiters.remove(th);
+                }
+                // Clear any interrupt from setDestroyed which arrived after the lock was acquired
+                if (Thread.interrupted() && ! destroyed)
+                    interrupted = true;
+                if (interrupted)
+                    th.interrupt();
+            }
+
+            if (destroyed)
+            {
+                l.unlock();
+                return -1;
+            }
+        }
+
+        final long now = System.nanoTime();
+        if (! isReentrant)
+            waitHist.record(now - t0);
+
+        return now;
+    }
+
+    /**
+     * Release this lock, recording the hold time if the current thread no longer holds it.
+     * @param shared  True for the shared read lock, false for the exclusive write lock;
+     *     must be the same as when acquired
+     * @param acquiredNanos  Time returned by {@link #lock(boolean)} when acquired
+     * @throws IllegalMonitorStateException if the current thread doesn't hold the lock
+     */
+    void unlock(final boolean shared, final long acquiredNanos)
+        throws IllegalMonitorStateException
+    {
+        (shared ? rw.readLock() : rw.writeLock()).unlock();
+        if (! isHeldByCurrentThread())
+            holdHist.record(System.nanoTime() - acquiredNanos);
+    }
+
+    /**
+     * Does the current thread hold this lock, shared or exclusive?
+     * @return  True if held by the current thread
+     */
+    public boolean isHeldByCurrentThread()
+    {
+        return rw.isWriteLockedByCurrentThread() || (rw.getReadHoldCount() > 0);
+    }
+
+    /**
+     * Is the lock's game destroyed? If so, threads stop waiting for this lock.
+     * @return  True if {@link #setDestroyed()} was called
+     */
+    public boolean isDestroyed()
+    {
+        return destroyed;
+    }
+
+    /**
+     * Mark this lock's game as destroyed, and interrupt threads waiting for this lock so they stop waiting.
+     * An interrupt from another source which arrives at about the same time may be lost.
+     */
+    void setDestroyed()
+    {
+        destroyed = true;
+        synchronized (waiters)
+        {
+            for (Thread th : waiters)
+                th.interrupt();
+        }
+    }
+
+    /**
+     * Get the number of threads waiting for this lock. The value is an estimate, for monitoring.
+     * @return  Estimated number of waiting threads
+     */
+    public int getQueueLength()
+    {
+        return rw.getQueueLength();
+    }
+
+    /**
+     * Get the histogram of how long threads waited to acquire this lock.
+     * @return  Wait time histogram
+     */
+    public SOCLatencyHistogram getWaitHistogram()
+    {
+        return waitHist;
+    }
+
+    /**
+     * Get the histogram of how long threads held this lock.
+     * @return  Hold time histogram
+     */
+    public SOCLatencyHistogram getHoldHistogram()
+    {
+        return holdHist;
+    }
+
+}
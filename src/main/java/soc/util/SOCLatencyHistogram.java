@@ -0,0 +1,161 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe histogram of durations, such as lock wait and hold times,
+ * with power-of-2 buckets: Bucket 0 counts durations under 1 microsecond, bucket 1 under 2 microseconds,
+ * bucket 2 under 4, and so on. The last bucket counts everything longer, about 4 seconds or more.
+ * Recording a duration is a few atomic increments, with no locking.
+ *
+ * @since 2.4.50
+ */
+public class SOCLatencyHistogram
+{
+    /** Number of buckets: 24 */
+    public static final int NUM_BUCKETS = 24;
+
+    /** Count of durations in each bucket */
+    private final AtomicLongArray buckets = new AtomicLongArray(NUM_BUCKETS);
+
+    private final AtomicLong count = new AtomicLong(), totalNanos = new AtomicLong(), maxNanos = new AtomicLong();
+
+    /**
+     * Record a duration.
+     * @param nanos  Duration in nanoseconds, from {@link System#nanoTime()} differences; negative is treated as 0
+     */
+    public void record(long nanos)
+    {
+        if (nanos < 0)
+            nanos = 0;
+
+        final long micros = nanos / 1000;
+        final int b = (micros == 0) ? 0 : Math.min(NUM_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(b);
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+
+        long max = maxNanos.get();
+        while ((nanos > max) && ! maxNanos.compareAndSet(max, nanos))
+            max = maxNanos.get();
+    }
+
+    /**
+     * Get the number of durations recorded.
+     * @return  Count of recorded durations
+     */
+    public long getCount()
+    {
+        return count.get();
+    }
+
+    /**
+     * Get the sum of all recorded durations.
+     * @return  Total in nanoseconds
+     */
+    public long getTotalNanos()
+    {
+        return totalNanos.get();
+    }
+
+    /**
+     * Get the longest recorded duration.
+     * @return  Maximum in nanoseconds, or 0 if none recorded
+     */
+    public long getMaxNanos()
+    {
+        return maxNanos.get();
+    }
+
+    /**
+     * Get the number of durations in a bucket.
+     * @param b  Bucket number, 0 to {@link #NUM_BUCKETS} - 1
+     * @return  Count of durations in that bucket
+     * @see #getBucketLimitMicros(int)
+     */
+    public long getBucketCount(final int b)
+    {
+        return buckets.get(b);
+    }
+
+    /**
+     * Get a bucket's upper limit: Its durations are shorter than this.
+     * @param b  Bucket number, 0 to {@link #NUM_BUCKETS} - 1
+     * @return  Limit in microseconds, or {@link Long#MAX_VALUE} for the last bucket
+     */
+    public static long getBucketLimitMicros(final int b)
+    {
+        return (b == NUM_BUCKETS - 1) ? Long.MAX_VALUE : (1L << b);
+    }
+
+    /**
+     * Estimate a percentile: The upper limit of the bucket holding that percentile.
+     * @param pct  Percentile, such as 50 or 99
+     * @return  Upper limit in microseconds of the bucket holding that percentile,
+     *     or 0 if none recorded. For the last bucket, returns {@link #getMaxNanos()} in microseconds.
+     */
+    public long getPercentileMicros(final double pct)
+    {
+        final long n = count.get();
+        if (n == 0)
+            return 0;
+
+        final long rank = (long) Math.ceil(n * pct / 100.0);
+        long seen = 0;
+        for (int b = 0; b < NUM_BUCKETS - 1; ++b)
+        {
+            seen += buckets.get(b);
+            if (seen >= rank)
+                return 1L << b;
+        }
+
+        return maxNanos.get() / 1000;
+    }
+
+    /**
+     * Summarize this histogram for display, such as
+     * {@code "1234 times, avg 0.021 ms, p50 < 0.016 ms, p99 < 0.512 ms, max 3.200 ms"}.
+     * @return  Summary text, or {@code "none"} if nothing has been recorded
+     */
+    @Override
+    public String toString()
+    {
+        final long n = count.get();
+        if (n == 0)
+            return "none";
+
+        return n + " times, avg " + millis(totalNanos.get() / n)
+            + " ms, p50 < " + millis(getPercentileMicros(50) * 1000)
+            + " ms, p99 < " + millis(getPercentileMicros(99) * 1000)
+            + " ms, max " + millis(maxNanos.get()) + " ms";
+    }
+
+    /** Format nanoseconds as milliseconds with 3 decimal places. */
+    private static String millis(final long nanos)
+    {
+        final long micros = nanos / 1000;
+        final String frac = Long.toString(1000 + (micros % 1000)).substring(1);
+        return (micros / 1000) + "." + frac;
+    }
+
+}
@@ -21,6 +21,8 @@
  **/
 package soc.util;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 import soc.game.SOCGameOption;
@@ -40,7 +42,7 @@ import soc.game.SOCGameOptionSet;
  */
 public class SOCRobotParameters implements Serializable
 {
-    /** no structural changes since v1.0 (1000) or earlier */
+    /** no structural changes since v1.0 (1000) or earlier, except compatible addition of {@link #planningThreads} in v2.4.50 */
     private static final long serialVersionUID = 1000L;
 
     protected int maxGameLength;
@@ -53,6 +55,16 @@ public class SOCRobotParameters implements Serializable
     protected int strategyType; // SOCRobotDM.FAST_STRATEGY or SMART_STRATEGY
     protected int tradeFlag;
 
+    /**
+     * Number of threads to score candidate pieces on when planning what to build with {@code SMART_STRATEGY};
+     * 1 to score them serially. Default is 1.
+     * Not sent over the network or stored in the database; see {@link #getPlanningThreads()}.
+     * Objects serialized before v2.4.50 don't have this field; {@link #readObject(ObjectInputStream)}
+     * sets it to 1 when they're loaded.
+     * @since 2.4.50
+     */
+    protected int planningThreads = 1;
+
     /**
      * constructor
      *
@@ -96,6 +108,7 @@ public class SOCRobotParameters implements Serializable
         threatMultiplier = params.getThreatMultiplier();
         strategyType = params.getStrategyType();
         tradeFlag = params.getTradeFlag();
+        planningThreads = params.getPlanningThreads();
     }
 
     /**
@@ -205,6 +218,52 @@ public class SOCRobotParameters implements Serializable
         return tradeFlag;
     }
 
+    /**
+     * Get the number of threads to use when scoring candidate pieces to build
+     * in {@link soc.robot.SOCRobotDM#SMART_STRATEGY SMART_STRATEGY} planning.
+     * When more than 1, the robot scores candidates in parallel on copies of its game and player trackers,
+     * and picks the same pieces no matter how many threads are used.
+     *<P>
+     * This is a local tuning parameter, not part of the robot's strategy:
+     * It isn't sent from the server, stored in the database, or compared in {@link #equals(Object)}.
+     *
+     * @return number of planning threads, default 1
+     * @see #setPlanningThreads(int)
+     * @since 2.4.50
+     */
+    public int getPlanningThreads()
+    {
+        return planningThreads;
+    }
+
+    /**
+     * Set the number of threads to use when scoring candidate pieces; see {@link #getPlanningThreads()}.
+     * @param threads  number of planning threads; 1 to plan serially
+     * @throws IllegalArgumentException if {@code threads} &lt; 1
+     * @since 2.4.50
+     */
+    public void setPlanningThreads(final int threads)
+        throws IllegalArgumentException
+    {
+        if (threads < 1)
+            throw new IllegalArgumentException("threads: " + threads);
+
+        planningThreads = threads;
+    }
+
+    /**
+     * Load from serialized form. If the stream is from a version older than v2.4.50 which didn't have
+     * {@link #planningThreads}, sets it to the default 1 instead of leaving it 0.
+     * @since 2.4.50
+     */
+    private void readObject(ObjectInputStream in)
+        throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        if (planningThreads < 1)
+            planningThreads = 1;
+    }
+
     /**
      * Check for equality to another {@link SOCRobotParameters} or other object.
      *
@@ -241,6 +300,8 @@ public class SOCRobotParameters implements Serializable
                    "|laf=" + leaderAdversarialFactor + "|dcm=" + devCardMultiplier +
                    "|tm=" + threatMultiplier + "|st=" + strategyType +
                    "|tf=" + tradeFlag;
+        if (planningThreads != 1)
+            s += "|pt=" + planningThreads;
 
         return s;
     }
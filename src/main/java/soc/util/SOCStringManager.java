@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
 
 import net.nand.util.i18n.mgr.StringManager;
 
@@ -100,6 +101,27 @@ public class SOCStringManager extends StringManager
      */
     private static SOCStringManager serverManagerForClientLocale_fallback;
 
+    /**
+     * Maximum number of parsed patterns to keep in each manager's {@link #formatCache}.
+     * Bundle strings are far fewer than this; the limit guards against unusual callers
+     * of {@link #formatSpecial(SOCGame, String, Object...)} with many different patterns.
+     * @since 2.4.50
+     */
+    public static final int FORMAT_CACHE_MAX_SIZE = 2000;
+
+    /**
+     * This manager's parsed patterns, so frequent server announcements like dice rolls and trades
+     * aren't parsed again each time they're formatted. Since each manager has a single locale,
+     * this is effectively keyed by locale and pattern. Each pattern is a string from {@link #bundle},
+     * possibly preprocessed by {@link #formatSpecial(SOCGame, String, Object...)}.
+     *<P>
+     * {@link MessageFormat} isn't thread-safe, so {@link #format(String, Object...)} synchronizes on
+     * each cached format while using it.
+     * @since 2.4.50
+     */
+    private final ConcurrentHashMap<String, MessageFormat> formatCache
+        = new ConcurrentHashMap<String, MessageFormat>();
+
     /**
      * Create a string manager for the bundles at {@code bundlePath} with the default locale.
      * Remember that bundle files are encoded not in {@code UTF-8} but in {@code ISO-8859-1}, see class javadoc.
@@ -121,6 +143,47 @@ public class SOCStringManager extends StringManager
         super(bundlePath, loc);
     }
 
+    /**
+     * Format a pattern string with parameters, using a cached parsed {@link MessageFormat} if available.
+     * Gives the same results as {@link MessageFormat#format(String, Object...)}.
+     * @param pattern  Pattern string, from {@link #bundle} or {@link #formatSpecial(SOCGame, String, Object...)}
+     * @param arguments  Objects to use with <tt>{0}</tt>, <tt>{1}</tt>, etc in {@code pattern}
+     * @return the formatted string
+     * @throws IllegalArgumentException if {@code pattern} has a parse error
+     * @since 2.4.50
+     */
+    @Override
+    protected String format(final String pattern, final Object ... arguments)
+        throws IllegalArgumentException
+    {
+        MessageFormat mf = formatCache.get(pattern);
+        if (mf == null)
+        {
+            mf = new MessageFormat(pattern);  // throws IllegalArgumentException if bad pattern
+            if (formatCache.size() < FORMAT_CACHE_MAX_SIZE)
+            {
+                final MessageFormat prev = formatCache.putIfAbsent(pattern, mf);
+                if (prev != null)
+                    mf = prev;
+            }
+        }
+
+        synchronized (mf)
+        {
+            return mf.format(arguments);
+        }
+    }
+
+    /**
+     * Get the number of parsed patterns in this manager's cache, for testing.
+     * @return  Number of cached patterns, at most {@link #FORMAT_CACHE_MAX_SIZE}
+     * @since 2.4.50
+     */
+    public int getFormatCacheSize()
+    {
+        return formatCache.size();
+    }
+
     // If you add get methods, for server convenience also add them in Connection and classes implementing that.
 
     /**
@@ -179,13 +242,13 @@ public class SOCStringManager extends StringManager
             if ((rcount == 1) || (rcount == -1))
                 resText = bundle.getString(rkeyArray[rtype]);
             else
-                resText = MessageFormat.format(bundle.getString(rkeyArray[rtype]), rcountObj);
+                resText = format(bundle.getString(rkeyArray[rtype]), rcountObj);
         } else {
             // out of range, unknown type
             if ((rcount == 1) || (rcount < 0))
-                resText = MessageFormat.format(bundle.getString(rkeyArray[0]), rtype);
+                resText = format(bundle.getString(rkeyArray[0]), rtype);
             else
-                resText = MessageFormat.format(bundle.getString(rkeyArray[0]), rcountObj, rtype);
+                resText = format(bundle.getString(rkeyArray[0]), rcountObj, rtype);
         }
 
         return resText;
@@ -378,7 +441,7 @@ public class SOCStringManager extends StringManager
         if (argsLocal == null)
             argsLocal = arguments;
 
-        return MessageFormat.format(txtfmt, argsLocal);
+        return format(txtfmt, argsLocal);
     }
 
     /**
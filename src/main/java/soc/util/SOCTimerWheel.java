@@ -0,0 +1,391 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hashed timer wheel: Runs tasks at or soon after their deadlines, using one thread
+ * no matter how many timers are pending.
+ *<P>
+ * Time is divided into ticks of {@link #getTickMillis()} each. The wheel has a fixed number of slots;
+ * each timer is kept in the slot for its deadline's tick, modulo the number of slots.
+ * Each tick visits only that tick's slot, so the cost per tick depends on how many timers hash there,
+ * not on the total number pending. Timers more than one revolution away stay in their slot
+ * until the wheel comes around to them again. Scheduling and {@link Timeout#cancel()} are O(1).
+ *<P>
+ * Tasks run on the wheel's thread, one at a time, so they should be quick and shouldn't block;
+ * hand off any slow work to another thread. A task which throws an exception is counted in
+ * {@link #getFailedCount()} and doesn't affect other timers. Tasks can schedule new timers,
+ * including rescheduling themselves.
+ *<P>
+ * Call {@link #start()} to start the wheel's daemon thread. Tests or callers with their own clock
+ * can instead call {@link #advanceTo(long)} directly.
+ *
+ * @since 2.4.50
+ */
+public class SOCTimerWheel
+{
+    /** Default tick length for the constructor: 250 milliseconds. */
+    public static final int DEFAULT_TICK_MILLIS = 250;
+
+    /** Default number of slots for the constructor: 512, about 2 minutes per revolution with the default tick. */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    /** Name for the wheel's thread */
+    private final String threadName;
+
+    /** Length of each tick, in milliseconds */
+    private final int tickMillis;
+
+    /** Head of each slot's linked list of timers, or null if empty. Guarded by {@code this}. */
+    private final Timeout[] slots;
+
+    /** Most recent tick processed by {@link #advanceTo(long)}. Guarded by {@code this}. */
+    private long currentTick;
+
+    /** Wheel's thread, or null if not started */
+    private Thread thread;
+
+    /** Set by {@link #stop()} to end the thread's loop */
+    private volatile boolean stopped;
+
+    // Metrics, all guarded by this:
+
+    private int pendingCount;
+
+    private long scheduledCount, firedCount, cancelledCount, failedCount, tickCount, maxLateMillis;
+
+    /**
+     * Create a timer wheel. Doesn't start its thread; see {@link #start()}.
+     * @param threadName  Name for the wheel's thread
+     * @param tickMillis  Length of each tick in milliseconds, such as {@link #DEFAULT_TICK_MILLIS};
+     *     timers fire up to about this long after their deadline
+     * @param wheelSize  Number of slots, such as {@link #DEFAULT_WHEEL_SIZE}
+     * @throws IllegalArgumentException if {@code tickMillis} or {@code wheelSize} &lt; 1
+     */
+    public SOCTimerWheel(final String threadName, final int tickMillis, final int wheelSize)
+        throws IllegalArgumentException
+    {
+        if ((tickMillis < 1) || (wheelSize < 1))
+            throw new IllegalArgumentException("tickMillis, wheelSize");
+
+        this.threadName = threadName;
+        this.tickMillis = tickMillis;
+        slots = new Timeout[wheelSize];
+        currentTick = System.currentTimeMillis() / tickMillis;
+    }
+
+    /**
+     * Start the wheel's daemon thread, which calls {@link #advanceTo(long)} once per tick.
+     * Does nothing if already started.
+     */
+    public synchronized void start()
+    {
+        if (thread != null)
+            return;
+
+        thread = new Thread(threadName)
+        {
+            public void run()
+            {
+                while (! stopped)
+                {
+                    final long now = System.currentTimeMillis();
+                    advanceTo(now);
+
+                    try
+                    {
+                        sleep(tickMillis - (now % tickMillis));
+                    }
+                    catch (InterruptedException e) {}
+                }
+            }
+        };
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop the wheel's thread. Pending timers won't fire unless {@link #advanceTo(long)} is called.
+     */
+    public void stop()
+    {
+        stopped = true;
+        final Thread th;
+        synchronized (this)
+        {
+            th = thread;
+        }
+        if (th != null)
+            th.interrupt();
+    }
+
+    /**
+     * Schedule a task to run at or soon after a deadline.
+     * If the deadline has already passed, the task runs at the next tick.
+     * @param task  Task to run on the wheel's thread; not null
+     * @param deadline  Time to run the task, from {@link System#currentTimeMillis()}
+     * @return  Timeout, which can be used to cancel the task
+     * @throws IllegalArgumentException if {@code task} is null
+     */
+    public Timeout schedule(final Runnable task, final long deadline)
+        throws IllegalArgumentException
+    {
+        if (task == null)
+            throw new IllegalArgumentException("task");
+
+        final Timeout to = new Timeout(task, deadline);
+        synchronized (this)
+        {
+            to.tick = Math.max(deadline / tickMillis, currentTick + 1);
+            to.slot = (int) (to.tick % slots.length);
+            final Timeout head = slots[to.slot];
+            to.next = head;
+            if (head != null)
+                head.prev = to;
+            slots[to.slot] = to;
+
+            ++pendingCount;
+            ++scheduledCount;
+        }
+
+        return to;
+    }
+
+    /**
+     * Process all ticks up to a given time, running the tasks of timers whose deadlines have passed.
+     * Called once per tick by the wheel's thread, or can be called directly if the thread isn't started.
+     * If more than one revolution has passed since the last call, each slot is visited once.
+     * @param now  Current time, from {@link System#currentTimeMillis()}
+     */
+    public void advanceTo(final long now)
+    {
+        final List<Timeout> expired = new ArrayList<Timeout>();
+
+        synchronized (this)
+        {
+            final long target = now / tickMillis;
+            if (target <= currentTick)
+                return;
+
+            final long from = Math.max(currentTick + 1, target - slots.length + 1);
+            for (long tick = from; tick <= target; ++tick)
+            {
+                final int slot = (int) (tick % slots.length);
+                for (Timeout to = slots[slot]; to != null; )
+                {
+                    final Timeout next = to.next;
+                    if (to.tick <= target)
+                    {
+                        unlink(to);
+                        expired.add(to);
+
+                        final long late = now - Math.max(to.deadline, to.tick * tickMillis);
+                        if (late > maxLateMillis)
+                            maxLateMillis = late;
+                    }
+                    to = next;
+                }
+            }
+
+            tickCount += target - currentTick;
+            currentTick = target;
+            firedCount += expired.size();
+        }
+
+        for (final Timeout to : expired)
+        {
+            try
+            {
+                to.task.run();
+            }
+            catch (Throwable th)
+            {
+                synchronized (this)
+                {
+                    ++failedCount;
+                }
+                System.err.println("SOCTimerWheel " + threadName + ": timer task failed: " + th);
+                th.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Remove a timer from its slot. Caller must synchronize on {@code this}.
+     * @param to  Timer to remove; must be pending
+     */
+    private void unlink(final Timeout to)
+    {
+        if (to.prev != null)
+            to.prev.next = to.next;
+        else
+            slots[to.slot] = to.next;
+        if (to.next != null)
+            to.next.prev = to.prev;
+
+        to.prev = null;
+        to.next = null;
+        to.slot = -1;
+        --pendingCount;
+    }
+
+    /**
+     * Get the length of each tick.
+     * @return  Tick length in milliseconds, from constructor
+     */
+    public int getTickMillis()
+    {
+        return tickMillis;
+    }
+
+    /**
+     * Get the number of timers scheduled which haven't yet fired or been cancelled.
+     * @return  Number of pending timers
+     */
+    public synchronized int getPendingCount()
+    {
+        return pendingCount;
+    }
+
+    /**
+     * Get the number of timers scheduled since the wheel was created.
+     * @return  Number of timers scheduled
+     */
+    public synchronized long getScheduledCount()
+    {
+        return scheduledCount;
+    }
+
+    /**
+     * Get the number of timers which have fired, including any whose task failed.
+     * @return  Number of timers fired
+     * @see #getFailedCount()
+     */
+    public synchronized long getFiredCount()
+    {
+        return firedCount;
+    }
+
+    /**
+     * Get the number of timers cancelled before firing.
+     * @return  Number of timers cancelled
+     */
+    public synchronized long getCancelledCount()
+    {
+        return cancelledCount;
+    }
+
+    /**
+     * Get the number of fired timers whose task threw an exception.
+     * @return  Number of failed tasks
+     */
+    public synchronized long getFailedCount()
+    {
+        return failedCount;
+    }
+
+    /**
+     * Get the number of ticks processed since the wheel was created.
+     * @return  Number of ticks
+     */
+    public synchronized long getTickCount()
+    {
+        return tickCount;
+    }
+
+    /**
+     * Get the longest time between a timer's deadline and the tick which fired it.
+     * For a timer scheduled after its deadline had passed, measured from the first tick it could fire.
+     * @return  Maximum lateness in milliseconds, or 0 if none have fired
+     */
+    public synchronized long getMaxLateMillis()
+    {
+        return maxLateMillis;
+    }
+
+    /**
+     * A scheduled timer, returned by {@link SOCTimerWheel#schedule(Runnable, long)}.
+     */
+    public final class Timeout
+    {
+        /** Task to run when the timer fires */
+        private final Runnable task;
+
+        /** Deadline, from {@link System#currentTimeMillis()} */
+        private final long deadline;
+
+        /** Tick at which to fire: The deadline's tick, or the next tick if scheduled after the deadline */
+        private long tick;
+
+        /** Index in {@link SOCTimerWheel#slots}, or -1 if fired or cancelled. Guarded by the wheel. */
+        private int slot;
+
+        /** Neighbors in the slot's list. Guarded by the wheel. */
+        private Timeout prev, next;
+
+        private Timeout(final Runnable task, final long deadline)
+        {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Get this timer's deadline.
+         * @return  Deadline given to {@link SOCTimerWheel#schedule(Runnable, long)}
+         */
+        public long getDeadline()
+        {
+            return deadline;
+        }
+
+        /**
+         * Is this timer still waiting to fire?
+         * @return  True if it hasn't fired or been cancelled yet
+         */
+        public boolean isPending()
+        {
+            synchronized (SOCTimerWheel.this)
+            {
+                return (slot != -1);
+            }
+        }
+
+        /**
+         * Cancel this timer, if it hasn't fired yet.
+         * @return  True if cancelled, false if it already fired or was cancelled
+         */
+        public boolean cancel()
+        {
+            synchronized (SOCTimerWheel.this)
+            {
+                if (slot == -1)
+                    return false;
+
+                unlink(this);
+                ++cancelledCount;
+                return true;
+            }
+        }
+    }
+
+}
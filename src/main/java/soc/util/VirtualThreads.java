@@ -0,0 +1,97 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soc.util;
+
+import java.lang.reflect.Method;
+
+/**
+ * Creates virtual threads when the JVM supports them (Java 21 or newer), through reflection
+ * so that this code still builds and runs on older JVMs.
+ *<P>
+ * A virtual thread which blocks in {@link Thread#sleep(long)} or on a {@link java.util.concurrent.locks.Lock}
+ * frees its carrier thread for other virtual threads, so thousands of mostly-idle tasks
+ * can each keep their own simple blocking loop without a platform thread apiece.
+ *
+ * @since 2.4.50
+ */
+public final class VirtualThreads
+{
+    /** {@code Thread.ofVirtual()}, or null if not supported */
+    private static final Method ofVirtual;
+
+    /** {@code Thread.Builder.name(String)}, or null if not supported */
+    private static final Method builderName;
+
+    /** {@code Thread.Builder.unstarted(Runnable)}, or null if not supported */
+    private static final Method builderUnstarted;
+
+    static
+    {
+        Method ov = null, bn = null, bu = null;
+        try
+        {
+            ov = Thread.class.getMethod("ofVirtual");
+            final Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            bn = builder.getMethod("name", String.class);
+            bu = builder.getMethod("unstarted", Runnable.class);
+        } catch (Exception e) {
+            ov = null;  // older JVM
+        }
+
+        ofVirtual = ov;
+        builderName = (ov != null) ? bn : null;
+        builderUnstarted = (ov != null) ? bu : null;
+    }
+
+    private VirtualThreads() {}
+
+    /**
+     * Does this JVM support virtual threads?
+     * @return true if {@link #newThread(Runnable, String)} can create virtual threads
+     */
+    public static boolean isSupported()
+    {
+        return (ofVirtual != null);
+    }
+
+    /**
+     * Create an unstarted virtual thread, if supported.
+     * @param task  Task for the thread to run; not null
+     * @param name  Thread name, or null
+     * @return  A new unstarted virtual thread, or null if not supported or couldn't be created
+     */
+    public static Thread newThread(final Runnable task, final String name)
+    {
+        if (ofVirtual == null)
+            return null;
+
+        try
+        {
+            Object builder = ofVirtual.invoke(null);
+            if (name != null)
+                builder = builderName.invoke(builder, name);
+
+            return (Thread) builderUnstarted.invoke(builder, task);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,274 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soctest.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import soc.server.database.SOCDBConnectionPool;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SOCDBConnectionPool}, with fake connections and statements instead of a database.
+ * @since 2.4.50
+ */
+public class TestDBConnectionPool
+{
+    /**
+     * Factory for fake connections which record how many statements they prepared and whether they're closed.
+     */
+    private static final class FakeFactory
+        implements SOCDBConnectionPool.ConnectionFactory
+    {
+        final List<FakeConnection> opened = new ArrayList<FakeConnection>();
+
+        public synchronized Connection openConnection()
+        {
+            final FakeConnection fc = new FakeConnection();
+            opened.add(fc);
+            return fc.conn;
+        }
+    }
+
+    /** One fake connection and its fake statements. */
+    private static final class FakeConnection
+    {
+        final List<boolean[]> statementsClosed = new ArrayList<boolean[]>();
+
+        boolean closed;
+
+        final Connection conn = (Connection) Proxy.newProxyInstance
+            (Connection.class.getClassLoader(), new Class<?>[]{ Connection.class }, new InvocationHandler()
+            {
+                public Object invoke(final Object proxy, final Method m, final Object[] args)
+                {
+                    final String name = m.getName();
+                    if (name.equals("prepareStatement"))
+                        return newStatement();
+                    else if (name.equals("close"))
+                        closed = true;
+                    else if (name.equals("isClosed"))
+                        return closed;
+                    else if (name.equals("hashCode"))
+                        return System.identityHashCode(proxy);
+                    else if (name.equals("equals"))
+                        return proxy == args[0];
+
+                    return null;
+                }
+            });
+
+        private PreparedStatement newStatement()
+        {
+            final boolean[] stClosed = new boolean[1];
+            statementsClosed.add(stClosed);
+
+            return (PreparedStatement) Proxy.newProxyInstance
+                (PreparedStatement.class.getClassLoader(), new Class<?>[]{ PreparedStatement.class },
+                 new InvocationHandler()
+                {
+                    public Object invoke(final Object proxy, final Method m, final Object[] args)
+                    {
+                        if (m.getName().equals("close"))
+                            stClosed[0] = true;
+                        return null;
+                    }
+                });
+        }
+    }
+
+    /**
+     * Released connections should be reused, each preparing a given SQL statement only once.
+     */
+    @Test
+    public void testReuseAndStatementCache()
+        throws SQLException
+    {
+        final FakeFactory fac = new FakeFactory();
+        final SOCDBConnectionPool pool = new SOCDBConnectionPool(fac, 2);
+
+        SOCDBConnectionPool.PooledConnection pc = pool.borrow(1000);
+        final PreparedStatement ps = pc.prepareStatement("SELECT 1");
+        assertSame(ps, pc.prepareStatement("SELECT 1"));
+        assertNotSame(ps, pc.prepareStatement("SELECT 2"));
+        pc.release(false);
+
+        pc = pool.borrow(1000);
+        assertSame("reused connection's statement", ps, pc.prepareStatement("SELECT 1"));
+        pc.release(false);
+
+        assertEquals(1, fac.opened.size());
+        assertEquals(2, fac.opened.get(0).statementsClosed.size());
+        assertEquals(1, pool.getOpenCount());
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(2, pool.getBorrowCount());
+    }
+
+    /**
+     * The pool shouldn't open more than its max size: A borrower waits for a release, or times out.
+     */
+    @Test
+    public void testMaxSizeAndWait()
+        throws Exception
+    {
+        final FakeFactory fac = new FakeFactory();
+        final SOCDBConnectionPool pool = new SOCDBConnectionPool(fac, 1);
+        final SOCDBConnectionPool.PooledConnection pc = pool.borrow(1000);
+
+        try
+        {
+            pool.borrow(50);
+            fail("should time out");
+        } catch (SQLException e) {}
+
+        final SOCDBConnectionPool.PooledConnection[] got = new SOCDBConnectionPool.PooledConnection[1];
+        final Thread t = new Thread()
+        {
+            public void run()
+            {
+                try
+                {
+                    got[0] = pool.borrow(5000);
+                } catch (SQLException e) {}
+            }
+        };
+        t.start();
+        Thread.sleep(50);
+        pc.release(false);
+        t.join(5000);
+
+        assertSame(pc, got[0]);
+        assertEquals(1, fac.opened.size());
+        assertTrue(pool.getWaitCount() >= 2);
+    }
+
+    /**
+     * A discarded connection should be closed with its statements, and replaced on the next borrow.
+     */
+    @Test
+    public void testDiscard()
+        throws SQLException
+    {
+        final FakeFactory fac = new FakeFactory();
+        final SOCDBConnectionPool pool = new SOCDBConnectionPool(fac, 1);
+
+        SOCDBConnectionPool.PooledConnection pc = pool.borrow(1000);
+        pc.prepareStatement("SELECT 1");
+        pc.release(true);
+        final FakeConnection fc = fac.opened.get(0);
+        assertTrue(fc.closed);
+        assertTrue(fc.statementsClosed.get(0)[0]);
+        assertEquals(0, pool.getOpenCount());
+
+        pc = pool.borrow(1000);
+        assertEquals(2, fac.opened.size());
+        assertFalse(fac.opened.get(1).closed);
+        pc.release(false);
+    }
+
+    /**
+     * Closing the pool should close idle connections now and borrowed ones when released,
+     * and later borrows should fail.
+     */
+    @Test
+    public void testClose()
+        throws SQLException
+    {
+        final FakeFactory fac = new FakeFactory();
+        final SOCDBConnectionPool pool = new SOCDBConnectionPool(fac, 2);
+
+        final SOCDBConnectionPool.PooledConnection pc1 = pool.borrow(1000), pc2 = pool.borrow(1000);
+        pc1.release(false);
+        pool.close();
+        assertTrue(fac.opened.get(0).closed);
+        assertFalse(fac.opened.get(1).closed);
+
+        pc2.release(false);
+        assertTrue(fac.opened.get(1).closed);
+        assertEquals(0, pool.getOpenCount());
+
+        try
+        {
+            pool.borrow(1000);
+            fail("should throw after close");
+        } catch (SQLException e) {}
+    }
+
+    /**
+     * Threads borrowing concurrently should never have more than max size connections in use.
+     */
+    @Test
+    public void testConcurrentBorrowers()
+        throws Exception
+    {
+        final FakeFactory fac = new FakeFactory();
+        final SOCDBConnectionPool pool = new SOCDBConnectionPool(fac, 3);
+        final AtomicInteger inUse = new AtomicInteger(), maxInUse = new AtomicInteger(), failures = new AtomicInteger();
+
+        final Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; ++i)
+        {
+            threads[i] = new Thread()
+            {
+                public void run()
+                {
+                    for (int n = 0; n < 200; ++n)
+                    {
+                        try
+                        {
+                            final SOCDBConnectionPool.PooledConnection pc = pool.borrow(5000);
+                            final int u = inUse.incrementAndGet();
+                            synchronized (maxInUse)
+                            {
+                                if (u > maxInUse.get())
+                                    maxInUse.set(u);
+                            }
+                            pc.prepareStatement("SELECT " + (n % 4));
+                            inUse.decrementAndGet();
+                            pc.release(false);
+                        } catch (SQLException e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread t : threads)
+            t.join(30000);
+
+        assertEquals(0, failures.get());
+        assertTrue("max in use: " + maxInUse.get(), maxInUse.get() <= 3);
+        assertTrue(fac.opened.size() <= 3);
+        assertEquals(threads.length * 200, pool.getBorrowCount());
+        for (FakeConnection fc : fac.opened)
+            assertTrue(fc.statementsClosed.size() <= 4);
+    }
+
+}
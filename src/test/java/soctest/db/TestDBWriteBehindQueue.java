@@ -0,0 +1,199 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soctest.db;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import soc.server.database.SOCDBWriteBehindQueue;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SOCDBWriteBehindQueue}, with a writer which records batches instead of using a database.
+ * @since 2.4.50
+ */
+public class TestDBWriteBehindQueue
+{
+    /**
+     * Writer which records each written item, and fails batches containing {@link #poison}
+     * or while {@link #failuresLeft} &gt; 0.
+     */
+    private static final class RecordingWriter
+        implements SOCDBWriteBehindQueue.BatchWriter<String>
+    {
+        final List<String> written = new ArrayList<String>();
+
+        final List<Integer> batchSizes = new ArrayList<Integer>();
+
+        int failuresLeft;
+
+        String poison;
+
+        public synchronized void writeBatch(final List<String> batch)
+            throws SQLException
+        {
+            if (failuresLeft > 0)
+            {
+                --failuresLeft;
+                throw new SQLException("test failure");
+            }
+            if ((poison != null) && batch.contains(poison))
+                throw new SQLException("poison");
+
+            written.addAll(batch);
+            batchSizes.add(batch.size());
+        }
+    }
+
+    /** All queued writes are written in order and counted; flush waits for them. */
+    @Test
+    public void testWritesInOrder()
+    {
+        final RecordingWriter w = new RecordingWriter();
+        final SOCDBWriteBehindQueue<String> q = new SOCDBWriteBehindQueue<String>(w, 100, 10, 2, 1);
+        final List<String> expected = new ArrayList<String>();
+        for (int i = 0; i < 25; ++i)
+        {
+            final String item = "w" + i;
+            expected.add(item);
+            assertTrue(q.enqueue(item));
+        }
+        assertEquals(25, q.getQueueDepth());
+
+        q.start();
+        assertTrue(q.flush(5000));
+        assertEquals(0, q.getQueueDepth());
+        synchronized (w)
+        {
+            assertEquals(expected, w.written);
+            for (int size : w.batchSizes)
+                assertTrue("batch size " + size, (size >= 1) && (size <= 10));
+        }
+        assertEquals(25, q.getWrittenCount());
+        assertEquals(0, q.getFailedCount());
+        assertTrue(q.getMaxLatencyMillis() >= q.getAverageLatencyMillis());
+
+        assertTrue(q.shutdown(1000));
+        assertFalse(q.isRunning());
+        assertFalse("rejects after shutdown", q.enqueue("late"));
+        assertEquals(1, q.getRejectedCount());
+    }
+
+    /** A failed batch is retried; a batch which keeps failing is written one at a time, dropping only bad writes. */
+    @Test
+    public void testRetries()
+    {
+        final RecordingWriter w = new RecordingWriter();
+        final SOCDBWriteBehindQueue<String> q = new SOCDBWriteBehindQueue<String>(w, 100, 10, 3, 1);
+        w.failuresLeft = 2;
+        q.enqueue("a");
+        q.enqueue("b");
+        q.start();
+        assertTrue(q.flush(5000));
+        assertEquals(2, q.getRetryCount());
+        assertEquals(2, q.getWrittenCount());
+
+        synchronized (w)
+        {
+            w.poison = "bad";
+            w.written.clear();
+        }
+        q.shutdown(0);  // stop writer, so the next items are all in one batch
+        final SOCDBWriteBehindQueue<String> q2 = new SOCDBWriteBehindQueue<String>(w, 100, 10, 1, 1);
+        q2.enqueue("c");
+        q2.enqueue("bad");
+        q2.enqueue("d");
+        q2.start();
+        assertTrue(q2.flush(5000));
+        assertEquals(1, q2.getFailedCount());
+        assertEquals(2, q2.getWrittenCount());
+        synchronized (w)
+        {
+            assertEquals("[c, d]", w.written.toString());
+        }
+        q2.shutdown(1000);
+    }
+
+    /** When full, enqueue returns false so caller can write synchronously. */
+    @Test
+    public void testCapacity()
+    {
+        final SOCDBWriteBehindQueue<String> q = new SOCDBWriteBehindQueue<String>(new RecordingWriter(), 2, 10, 0, 0);
+        assertTrue(q.enqueue("a"));
+        assertTrue(q.enqueue("b"));
+        assertFalse(q.enqueue("c"));
+        assertEquals(1, q.getRejectedCount());
+        assertEquals(2, q.getQueueDepth());
+        assertFalse("not started: can't flush", q.flush(50));
+    }
+
+    /**
+     * Writes enqueued by other threads while {@link SOCDBWriteBehindQueue#shutdown(long)} runs
+     * are either rejected or written before it returns, never accepted and then left in the queue.
+     */
+    @Test(timeout=20000)
+    public void testEnqueueDuringShutdown()
+        throws InterruptedException
+    {
+        for (int round = 0; round < 20; ++round)
+        {
+            final RecordingWriter w = new RecordingWriter();
+            final SOCDBWriteBehindQueue<String> q = new SOCDBWriteBehindQueue<String>(w, 10000, 10, 0, 0);
+            q.start();
+
+            final int[] accepted = new int[4];
+            final Thread[] threads = new Thread[accepted.length];
+            for (int t = 0; t < threads.length; ++t)
+            {
+                final int tn = t;
+                threads[t] = new Thread()
+                {
+                    public void run()
+                    {
+                        for (int i = 0; i < 500; ++i)
+                            if (q.enqueue(tn + "-" + i))
+                                ++accepted[tn];
+                    }
+                };
+                threads[t].start();
+            }
+
+            Thread.sleep(1);
+            assertTrue(q.shutdown(5000));
+            for (Thread th : threads)
+                th.join();
+
+            int nAccepted = 0;
+            for (int n : accepted)
+                nAccepted += n;
+            assertEquals(0, q.getQueueDepth());
+            assertEquals(nAccepted, q.getWrittenCount());
+            assertEquals(4 * 500 - nAccepted, q.getRejectedCount());
+            synchronized (w)
+            {
+                assertEquals(nAccepted, w.written.size());
+            }
+        }
+    }
+
+}
@@ -21,9 +21,30 @@
 package soctest.game;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
 
 import soc.game.SOCBoard;
 import soc.game.SOCBoard4p;
+import soc.game.SOCBoard6p;
+import soc.game.SOCBoardTopology;
+import soc.game.SOCBoardLarge;
+import soc.game.SOCCity;
+import soc.game.SOCGame;
+import soc.game.SOCGameOption;
+import soc.game.SOCGameOptionSet;
+import soc.game.SOCGameSnapshot;
+import soc.game.SOCPlayer;
+import soc.game.SOCPlayingPiece;
+import soc.game.SOCRoad;
+import soc.game.SOCRoutePiece;
+import soc.game.SOCSettlement;
+import soc.game.SOCShip;
+import soc.robot.SOCRobotDM;
+import soc.robot.sim.SimGame;
+import soc.util.IntPair;
+import soc.server.SOCBoardAtServer;
+import soc.util.SOCRobotParameters;
 
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -142,4 +163,212 @@ public class TestBoard
         doTestPair_getNodeBetweenAdjacentEdges(b, 0x52, 0x43, 0, true);  // 2 edges away
     }
 
+    /**
+     * Boards of the same geometry should share one {@link SOCBoardTopology}, whose arrays agree with
+     * the single-direction {@code getAdjacent*} methods and whose lists are unmodifiable.
+     * @since 2.4.50
+     */
+    @Test
+    public void testSharedTopology()
+    {
+        final SOCBoard b4 = new SOCBoard4p(null), b6 = new SOCBoard6p(null);
+        final SOCBoardLarge bl = new SOCBoardLarge(null, 4, SOCBoardLarge.getBoardSize(null)),
+            blSmall = new SOCBoardLarge(null, 4, new IntPair(0x14, 0x16));
+
+        final SOCBoardTopology topo4 = b4.getTopology();
+        assertNotNull(topo4);
+        assertSame(topo4, new SOCBoard4p(null).getTopology());
+        assertSame(bl.getTopology(), new SOCBoardLarge(null, 4, SOCBoardLarge.getBoardSize(null)).getTopology());
+        assertNotSame(topo4, b6.getTopology());
+        assertNotSame(topo4, bl.getTopology());
+        assertNotSame(bl.getTopology(), blSmall.getTopology());
+
+        // public array getters return copies, so callers changing them can't affect other boards
+        final int[] edges = b4.getAdjacentEdgesToNode_arr(0x27), edges2 = new SOCBoard4p(null).getAdjacentEdgesToNode_arr(0x27);
+        assertNotSame(edges, edges2);
+        assertArrayEquals(edges, edges2);
+        final int edge0 = edges[0];
+        edges[0] = -1;
+        assertEquals(edge0, b4.getAdjacentEdgesToNode_arr(0x27)[0]);
+
+        for (final SOCBoard b : new SOCBoard[]{ b4, b6, bl, blSmall })
+            checkTopology(b);
+    }
+
+    /**
+     * Check a board's shared adjacency arrays against its single-direction methods,
+     * and that its shared lists can't be changed, at every coordinate in its range.
+     */
+    private static void checkTopology(final SOCBoard board)
+    {
+        final String desc = board.getClass().getSimpleName() + " " + board.getBoardEncodingFormat();
+        final boolean isLarge = (board.getBoardEncodingFormat() == SOCBoard.BOARD_ENCODING_LARGE);
+        final int maxR = (isLarge) ? board.getBoardHeight() : 0x0F,
+            maxC = (isLarge) ? board.getBoardWidth() : 0x0F;
+        int nListsChecked = 0;
+
+        for (int r = 0; r <= maxR; ++r)
+        {
+            for (int c = 0; c <= maxC; ++c)
+            {
+                final int coord = (isLarge) ? ((r << 8) | c) : ((r << 4) | c);
+                final String at = desc + " at 0x" + Integer.toHexString(coord);
+
+                final int[] edges = board.getAdjacentEdgesToNode_arr(coord),
+                    nodes = board.getAdjacentNodesToNode_arr(coord);
+                for (int dir = 0; dir < 3; ++dir)
+                {
+                    assertEquals(at, board.getAdjacentEdgeToNode(coord, dir), edges[dir]);
+                    assertEquals(at, board.getAdjacentNodeToNode(coord, dir), nodes[dir]);
+                }
+                final int[] hexNodes = board.getAdjacentNodesToHex_arr(coord);
+                for (int dir = 0; dir < 6; ++dir)
+                    assertEquals(at, board.getAdjacentNodeToHex(coord, dir), hexNodes[dir]);
+
+                final List<Integer> li = board.getAdjacentNodesToNode(coord);
+                if (li.isEmpty())
+                    continue;
+                try
+                {
+                    li.remove(0);
+                    fail(at + ": shared list should be unmodifiable");
+                } catch (UnsupportedOperationException e) {}
+                ++nListsChecked;
+            }
+        }
+
+        assertTrue(desc + ": should check some lists", nListsChecked > 20);
+    }
+
+    /**
+     * {@link SOCBoard#settlementAtNode(int)} and {@link SOCBoard#roadOrShipAtEdge(int)} use coordinate-indexed
+     * arrays: Results should be the same as searching the board's piece lists, in games late enough
+     * to have many pieces, while pieces are added and removed, and in deserialized copies.
+     * Classic boards get their pieces from simulated games; the 6-player sea board is filled in directly.
+     * @since 2.4.50
+     */
+    @Test
+    public void testPieceIndexes()
+        throws Exception
+    {
+        final SOCRobotParameters[] params =
+            { new SOCRobotParameters(120, 35, 0.13f, 1.0f, 1.0f, 3.0f, 1.0f, SOCRobotDM.FAST_STRATEGY, 1) };
+        for (final String opts : new String[]{ null, "PL=6" })
+        {
+            final SimGame sg = new SimGame(0, opts, params, 2450L);
+            sg.play(60);
+            assertTrue(opts + ": should have cities", sg.getGame().getBoard().getCities().size() > 0);
+            checkPieceIndexes(opts, sg.getGame());
+        }
+
+        if (! (SOCGame.boardFactory instanceof SOCBoardAtServer.BoardFactoryAtServer))
+            SOCGame.boardFactory = new SOCBoardAtServer.BoardFactoryAtServer();
+        final SOCGameOptionSet knownOpts = SOCGameOptionSet.getAllKnownOptions();
+        final SOCGameOptionSet opts = SOCGameOption.parseOptionsToSet("PL=6,SBL=t", knownOpts);
+        assertNull(opts.adjustOptionsToKnown(knownOpts, true, null));
+        final SOCGame ga = new SOCGame("testPieceIndexes", opts, knownOpts);
+        for (int pn = 0; pn < ga.maxPlayers; ++pn)
+            ga.addPlayer("p" + pn, pn);
+        ga.startGame();
+        final SOCBoard board = ga.getBoard();
+        assertTrue(board instanceof SOCBoardLarge);
+
+        final TreeSet<Integer> nodes = new TreeSet<Integer>();
+        for (final int hex : board.getLandHexCoords())
+            for (final int node : board.getAdjacentNodesToHex_arr(hex))
+                nodes.add(node);
+        int i = 0;
+        for (final int node : nodes)
+        {
+            if ((i % 3) == 0)
+            {
+                final SOCPlayer pl = ga.getPlayer((i / 3) % ga.maxPlayers);
+                board.putPiece((i % 2 == 0) ? new SOCSettlement(pl, node, board) : new SOCCity(pl, node, board));
+                final int edge = board.getAdjacentEdgesToNode_arr(node)[0];
+                if ((edge != -9) && (board.roadOrShipAtEdge(edge) == null))
+                    board.putPiece((i % 4 == 0) ? new SOCRoad(pl, edge, board) : new SOCShip(pl, edge, board));
+            }
+            ++i;
+        }
+        assertTrue(board.getRoadsAndShips().size() > 10);
+        checkPieceIndexes("PL=6,SBL=t", ga);
+    }
+
+    /**
+     * Check a game's board piece lookups while adding and removing pieces, and in a deserialized copy.
+     * @param desc  Description for assertions
+     * @param ga  Game whose board has at least 1 settlement, city, and road or ship
+     */
+    private static void checkPieceIndexes(final String desc, final SOCGame ga)
+        throws Exception
+    {
+        final SOCBoard board = ga.getBoard();
+        checkPieceIndexes(desc, board);
+
+        // settlement, then city put before removing that settlement, like an upgrade
+        assertTrue(desc + ": should have settlements", board.getSettlements().size() > 0);
+        final SOCPlayingPiece oldPiece = board.getSettlements().get(0);
+        final int node = oldPiece.getCoordinates();
+        assertSame(oldPiece, board.settlementAtNode(node));
+        final SOCCity city = new SOCCity(oldPiece.getPlayer(), node, board);
+        board.putPiece(city);
+        assertSame(oldPiece, board.settlementAtNode(node));
+        checkPieceIndexes(desc, board);
+        board.removePiece(oldPiece);
+        assertSame(city, board.settlementAtNode(node));
+        checkPieceIndexes(desc, board);
+        board.removePiece(city);
+        assertNull(board.settlementAtNode(node));
+        board.putPiece(oldPiece);
+        assertSame(oldPiece, board.settlementAtNode(node));
+
+        final SOCRoutePiece route = board.getRoadsAndShips().get(0);
+        board.removePiece(route);
+        assertNull(board.roadOrShipAtEdge(route.getCoordinates()));
+        board.putPiece(route);
+        assertSame(route, board.roadOrShipAtEdge(route.getCoordinates()));
+        checkPieceIndexes(desc, board);
+
+        checkPieceIndexes(desc + " copy", new SOCGameSnapshot(ga).newCopy().getBoard());
+    }
+
+    /**
+     * Check a board's piece lookups against searches of its piece lists
+     * at every coordinate in its range, and a few outside it.
+     */
+    private static void checkPieceIndexes(final String desc, final SOCBoard board)
+    {
+        final int maxCoord = (board.getBoardEncodingFormat() == SOCBoard.BOARD_ENCODING_LARGE)
+            ? (((board.getBoardHeight() + 1) << 8) | 0xFF)
+            : 0xFF;
+        for (int coord = -2; coord <= maxCoord + 2; ++coord)
+        {
+            SOCPlayingPiece expectedNode = null;
+            for (SOCSettlement se : board.getSettlements())
+                if (se.getCoordinates() == coord)
+                {
+                    expectedNode = se;
+                    break;
+                }
+            if (expectedNode == null)
+                for (SOCCity ci : board.getCities())
+                    if (ci.getCoordinates() == coord)
+                    {
+                        expectedNode = ci;
+                        break;
+                    }
+
+            SOCRoutePiece expectedEdge = null;
+            for (SOCRoutePiece rs : board.getRoadsAndShips())
+                if (rs.getCoordinates() == coord)
+                {
+                    expectedEdge = rs;
+                    break;
+                }
+
+            assertSame(desc + " node " + Integer.toHexString(coord), expectedNode, board.settlementAtNode(coord));
+            assertSame(desc + " edge " + Integer.toHexString(coord), expectedEdge, board.roadOrShipAtEdge(coord));
+        }
+    }
+
 }
@@ -483,6 +483,53 @@ public class TestBoardLayouts
         assertTrue("Classic and scenario board layouts; see test's System.out and System.err", badLayouts.isEmpty());
     }
 
+    /**
+     * Boards seeded with {@link SOCBoard#setRandomSeed(long)} should have the same layout each time,
+     * even if other layouts were made in between: {@code makeNewBoard} shouldn't shuffle the
+     * static layout data it shares with other boards.
+     * Tests classic games and all {@link SOCScenario}s for 4 and 6 players.
+     * @since 2.4.50
+     */
+    @Test
+    public void testSeededLayoutsRepeat()
+    {
+        for (final int pl : new int[]{4, 6})
+        {
+            testSeededLayoutRepeats(null, pl);
+            for (final SOCScenario sc : allScens.values())
+                testSeededLayoutRepeats(sc, pl);
+        }
+    }
+
+    /**
+     * For {@link #testSeededLayoutsRepeat()}, make 3 layouts: The first and last have the same seed,
+     * the middle one a different seed. Asserts the first and last are the same.
+     * @param sc  Scenario, or {@code null} for classic
+     * @param pl  Number of players
+     * @since 2.4.50
+     */
+    private static void testSeededLayoutRepeats(final SOCScenario sc, final int pl)
+    {
+        final long[] seeds = {2450L, 77L, 2450L};
+        final String[] layouts = new String[seeds.length];
+        for (int i = 0; i < seeds.length; ++i)
+        {
+            final SOCGame ga = GameTestUtils.createGame
+                (pl, ((sc != null) ? sc.key : null), null, "testSeededLayout", gl, sgh);
+            final SOCBoard board = ga.getBoard();
+            board.setRandomSeed(seeds[i]);
+            board.makeNewBoard(ga.getGameOptions());
+            layouts[i] = (board instanceof SOCBoardLarge)
+                ? Arrays.toString(((SOCBoardLarge) board).getLandHexLayout())
+                    + Arrays.toString(board.getPortsLayout())
+                : Arrays.toString(board.getHexLayout()) + Arrays.toString(board.getNumberLayout())
+                    + Arrays.toString(board.getPortsLayout());
+            gl.deleteGame(ga.getName());
+        }
+
+        assertEquals("same layout for same seed: " + layoutNameKey(sc, pl), layouts[0], layouts[2]);
+    }
+
     /** Callback for {@link SOCBoardAtServer.NewBoardProgressListener} during {@link #testLayouts()} */
     public void hexesProgress
         (final SOCBoardAtServer board, final SOCGameOptionSet opts, final int step, final int[] landPath)
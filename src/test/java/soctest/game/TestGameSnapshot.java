@@ -0,0 +1,130 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soctest.game;
+
+import soc.game.SOCBoard;
+import soc.game.SOCGame;
+import soc.game.SOCGameSnapshot;
+import soc.game.SOCPlayer;
+import soc.game.SOCPlayingPiece;
+import soc.game.SOCSettlement;
+import soc.robot.SOCRobotDM;
+import soc.robot.sim.SimGame;
+import soc.util.SOCRobotParameters;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SOCGameSnapshot}: Copies should match the original game, be linked to their own
+ * players and board, and be independent of the original and each other.
+ * @since 2.4.50
+ */
+public class TestGameSnapshot
+{
+    private static final SOCRobotParameters[] PARAMS =
+        { new SOCRobotParameters(120, 35, 0.13f, 1.0f, 1.0f, 3.0f, 1.0f, SOCRobotDM.SMART_STRATEGY, 1) };
+
+    /** Classic 4-player game partway through. */
+    @Test
+    public void testClassic4()
+        throws Exception
+    {
+        checkCopies(null, 2450L);
+    }
+
+    /** Classic 6-player game partway through. */
+    @Test
+    public void testClassic6()
+        throws Exception
+    {
+        checkCopies("PL=6", 11L);
+    }
+
+    private static void checkCopies(final String opts, final long seed)
+        throws Exception
+    {
+        final SimGame sg = new SimGame(0, opts, PARAMS, seed);
+        sg.play(30);
+        final SOCGame ga = sg.getGame();
+        final String origDesc = describe(ga);
+
+        final SOCGameSnapshot snap = new SOCGameSnapshot(ga);
+        assertTrue(snap.size() > 0);
+        final SOCGame copy = snap.newCopy(), copy2 = snap.newCopy();
+        assertNotSame(ga, copy);
+        assertNotSame(copy, copy2);
+        assertSame("options shared", ga.getGameOptions(), copy.getGameOptions());
+        assertEquals(origDesc, describe(copy));
+
+        final SOCBoard board = copy.getBoard();
+        for (final SOCPlayer pl : copy.getPlayers())
+        {
+            assertSame(copy, pl.getGame());
+            for (final SOCPlayingPiece pp : pl.getPieces())
+            {
+                assertSame(pp.toString(), pl, pp.getPlayer());
+                if (pp.getType() != SOCPlayingPiece.ROAD)
+                    assertEquals(board.getAdjacentEdgesToNode(pp.getCoordinates()), pp.getAdjacentEdges());
+            }
+        }
+
+        // place a piece in one copy: shouldn't change the original or the other copy
+        SOCPlayer pl = null;
+        int node = 0;
+        for (int pn = 0; (pn < copy.maxPlayers) && (node == 0); ++pn)
+        {
+            pl = copy.getPlayer(pn);
+            for (final int n : pl.getPotentialSettlements())
+            {
+                node = n;
+                break;
+            }
+        }
+        assertTrue("should have a potential settlement", node != 0);
+        final SOCSettlement tmpSet = new SOCSettlement(pl, node, board);
+        copy.putTempPiece(tmpSet);
+        assertSame(tmpSet, board.settlementAtNode(node));
+        assertNull(ga.getBoard().settlementAtNode(node));
+        assertEquals(origDesc, describe(ga));
+        assertEquals(origDesc, describe(copy2));
+        copy.undoPutTempPiece(tmpSet);
+        assertNull(board.settlementAtNode(node));
+    }
+
+    /**
+     * Describe the game's pieces on the board and each player's VP, resources, and longest road.
+     */
+    private static String describe(final SOCGame ga)
+    {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(ga.getGameState()).append(' ').append(ga.getCurrentPlayerNumber()).append('\n');
+        sb.append(ga.getBoard().getSettlements()).append(ga.getBoard().getCities())
+          .append(ga.getBoard().getRoadsAndShips()).append('\n');
+        for (final SOCPlayer pl : ga.getPlayers())
+            sb.append(pl.getPlayerNumber()).append(": vp=").append(pl.getTotalVP())
+              .append(" res=").append(pl.getResources())
+              .append(" lr=").append(pl.getLongestRoadLength()).append(pl.getLRPaths())
+              .append(" pieces=").append(pl.getPieces()).append('\n');
+
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,274 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+
+package soctest.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Stack;
+
+import soc.game.SOCBoard;
+import soc.game.SOCCity;
+import soc.game.SOCGame;
+import soc.game.SOCGameOptionSet;
+import soc.game.SOCLRPathData;
+import soc.game.SOCPlayer;
+import soc.game.SOCPlayingPiece;
+import soc.game.SOCRoad;
+import soc.game.SOCRoutePiece;
+import soc.game.SOCSettlement;
+import soc.game.SOCShip;
+import soc.server.SOCGameHandler;
+import soc.server.SOCGameListAtServer;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Property-based tests for the incremental {@link SOCPlayer#calcLongestRoad2()}:
+ * On random boards, place and remove random roads, ships, settlements and cities,
+ * and check after each change that every player's longest road matches
+ * the full search {@link SOCPlayer#calcLongestRoadFullSearch()}.
+ * @since 2.4.50
+ */
+public class TestLongestRoad
+{
+    /** Number of random piece changes per game */
+    private static final int STEPS_PER_GAME = 250;
+
+    private static SOCGameListAtServer gl;
+
+    private static SOCGameHandler sgh;
+
+    @BeforeClass
+    public static void setup()
+    {
+        sgh = new SOCGameHandler(null);
+        gl = new SOCGameListAtServer(new Random(), SOCGameOptionSet.getAllKnownOptions());
+    }
+
+    /** Classic 4-player board. */
+    @Test
+    public void testClassic4()
+    {
+        for (long seed = 1; seed <= 6; ++seed)
+            testRandomGame(4, null, null, seed);
+    }
+
+    /** Classic 6-player board. */
+    @Test
+    public void testClassic6()
+    {
+        for (long seed = 1; seed <= 4; ++seed)
+            testRandomGame(6, null, null, seed);
+    }
+
+    /** Sea boards, which have ships and road/ship transitions at settlements. */
+    @Test
+    public void testSeaBoard()
+    {
+        for (long seed = 1; seed <= 4; ++seed)
+        {
+            testRandomGame(4, null, "SBL=t", seed);
+            testRandomGame(4, "SC_4ISL", null, seed);
+        }
+    }
+
+    /**
+     * Create and start a game, then make {@link #STEPS_PER_GAME} random changes with
+     * {@link SOCGame#putTempPiece(SOCPlayingPiece)} and {@link SOCGame#undoPutTempPiece(SOCPlayingPiece)},
+     * checking all players' longest roads after each one. Also checks robot-style "dummy" player copies
+     * with pieces not on the board.
+     * @param pl  Number of players
+     * @param scName  Scenario, or null
+     * @param otherOpts  Other game options, or null
+     * @param seed  Seed for the board layout and the random changes
+     */
+    private static void testRandomGame(final int pl, final String scName, final String otherOpts, final long seed)
+    {
+        final SOCGame ga = GameTestUtils.createGame(pl, scName, otherOpts, "testLongestRoad", gl, sgh);
+        try
+        {
+            ga.setRandomSeed(seed);
+            ga.getBoard().setRandomSeed(seed);
+            for (int pn = 0; pn < pl; ++pn)
+                ga.addPlayer("p" + pn, pn);
+            ga.startGame();
+
+            final String desc = ((scName != null) ? scName : "classic") + ":" + pl
+                + ((otherOpts != null) ? ("," + otherOpts) : "") + " seed " + seed;
+            final Random rand = new Random(seed);
+            final Stack<SOCPlayingPiece> placed = new Stack<SOCPlayingPiece>();
+
+            for (int step = 0; step < STEPS_PER_GAME; ++step)
+            {
+                final SOCPlayer player = ga.getPlayer(rand.nextInt(pl));
+                final int op = rand.nextInt(20);
+                SOCPlayingPiece pp = null;
+
+                if ((op < 4) && ! placed.isEmpty())
+                {
+                    ga.undoPutTempPiece(placed.pop());
+                }
+                else if (op < 7)
+                {
+                    pp = randomSettlement(ga, player, rand);
+                }
+                else if ((op < 8) && ! player.getSettlements().isEmpty())
+                {
+                    final List<SOCSettlement> se = player.getSettlements();
+                    pp = new SOCCity(player, se.get(rand.nextInt(se.size())).getCoordinates(), ga.getBoard());
+                }
+                else
+                {
+                    pp = randomRouteOrSettlement(ga, player, rand);
+                }
+
+                if (pp != null)
+                {
+                    ga.putTempPiece(pp);
+                    placed.push(pp);
+                }
+
+                for (int pn = 0; pn < pl; ++pn)
+                    assertSameLongest(desc + " step " + step, ga.getPlayer(pn));
+
+                if ((step % 10) == 9)
+                    checkDummyCopy(desc + " step " + step, ga, ga.getPlayer(rand.nextInt(pl)), rand);
+            }
+        } finally {
+            gl.deleteGame(ga.getName());
+        }
+    }
+
+    /**
+     * Like robot {@code SOCPlayerTracker}, copy a player, put up to 3 routes onto the copy
+     * but not the board, and remove them in random order, checking longest road each time.
+     */
+    private static void checkDummyCopy
+        (final String desc, final SOCGame ga, final SOCPlayer player, final Random rand)
+    {
+        final SOCPlayer dummy = new SOCPlayer(player, "dummy");
+        assertEquals(desc + " copy", player.calcLongestRoad2(), dummy.calcLongestRoad2());
+
+        final List<SOCRoutePiece> added = new ArrayList<SOCRoutePiece>();
+        for (int i = 0; i < 3; ++i)
+        {
+            final int edge = randomPotentialEdge(ga, dummy, rand);
+            if (edge == 0)
+                break;
+
+            final SOCRoutePiece rs = dummy.isPotentialRoad(edge)
+                ? new SOCRoad(dummy, edge, null)
+                : new SOCShip(dummy, edge, null);
+            dummy.putPiece(rs, true);
+            added.add(rs);
+            assertSameLongest(desc + " dummy put", dummy);
+        }
+
+        while (! added.isEmpty())
+        {
+            dummy.removePiece(added.remove(rand.nextInt(added.size())), null);
+            assertSameLongest(desc + " dummy remove", dummy);
+        }
+
+        assertEquals(desc + " dummy restored", player.calcLongestRoad2(), dummy.calcLongestRoad2());
+    }
+
+    /**
+     * Assert the incremental and full-search longest road are the same length,
+     * and the incremental one's paths are consistent with that length.
+     */
+    private static void assertSameLongest(final String desc, final SOCPlayer pl)
+    {
+        final int incr = pl.calcLongestRoad2();
+        int maxPath = 0;
+        for (final SOCLRPathData pd : pl.getLRPaths())
+        {
+            assertEquals(desc + " path pairs", pd.getLength(), pd.getNodePairs().size());
+            maxPath = Math.max(maxPath, pd.getLength());
+        }
+        assertEquals(desc + " longest of paths", incr, maxPath);
+
+        final int full = pl.calcLongestRoadFullSearch();
+        assertEquals(desc + " player " + pl.getPlayerNumber(), full, incr);
+    }
+
+    /**
+     * Pick a new road, ship, or settlement for this player: Usually a route at a potential edge;
+     * if none, a settlement.
+     * @return  New piece, or null if nothing can be placed
+     */
+    private static SOCPlayingPiece randomRouteOrSettlement(final SOCGame ga, final SOCPlayer pl, final Random rand)
+    {
+        final int edge = randomPotentialEdge(ga, pl, rand);
+        if (edge == 0)
+            return randomSettlement(ga, pl, rand);
+
+        if (pl.isPotentialRoad(edge) && (pl.getNumPieces(SOCPlayingPiece.ROAD) > 0)
+            && ! (pl.isPotentialShip(edge) && rand.nextBoolean()))
+            return new SOCRoad(pl, edge, ga.getBoard());
+        else if (pl.isPotentialShip(edge) && (pl.getNumPieces(SOCPlayingPiece.SHIP) > 0))
+            return new SOCShip(pl, edge, ga.getBoard());
+
+        return null;
+    }
+
+    /**
+     * Pick a random potential road or ship edge next to this player's pieces.
+     * @return  Edge coordinate, or 0 if none
+     */
+    private static int randomPotentialEdge(final SOCGame ga, final SOCPlayer pl, final Random rand)
+    {
+        final SOCBoard board = ga.getBoard();
+        final List<Integer> edges = new ArrayList<Integer>();
+        for (final SOCPlayingPiece pp : pl.getPieces())
+        {
+            final List<Integer> adj = (pp instanceof SOCRoutePiece)
+                ? board.getAdjacentEdgesToEdge(pp.getCoordinates())
+                : board.getAdjacentEdgesToNode(pp.getCoordinates());
+            for (final Integer e : adj)
+                if ((pl.isPotentialRoad(e) || pl.isPotentialShip(e)) && ! edges.contains(e))
+                    edges.add(e);
+        }
+
+        return edges.isEmpty() ? 0 : edges.get(rand.nextInt(edges.size()));
+    }
+
+    /**
+     * Pick a settlement at a random legal node, like debug free placement: Not necessarily
+     * next to the player's routes, so it may cut other players' roads.
+     * @return  New settlement, or null if none left or no legal nodes
+     */
+    private static SOCSettlement randomSettlement(final SOCGame ga, final SOCPlayer pl, final Random rand)
+    {
+        if (pl.getNumPieces(SOCPlayingPiece.SETTLEMENT) == 0)
+            return null;
+
+        final List<Integer> nodes = new ArrayList<Integer>(pl.getLegalSettlements());
+        if (nodes.isEmpty())
+            return null;
+
+        return new SOCSettlement(pl, nodes.get(rand.nextInt(nodes.size())), ga.getBoard());
+    }
+
+}
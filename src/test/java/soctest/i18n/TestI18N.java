@@ -19,9 +19,13 @@
  **/
 package soctest.i18n;
 
+import java.text.MessageFormat;
+import java.util.Locale;
+
 import org.junit.Test;
 import static org.junit.Assert.*;
 
+import soc.game.SOCResourceSet;
 import soc.util.I18n;
 import soc.util.SOCStringManager;
 
@@ -146,6 +150,33 @@ public class TestI18N
         testDurationToDaysHoursMinutesSeconds_testOne(-1, "unused", "unused");  // any negative should throw exception
     }
 
+    /**
+     * {@link SOCStringManager}'s cached formats should give the same text as {@link MessageFormat},
+     * including for {@link SOCStringManager#getSpecial(soc.game.SOCGame, String, Object...)}.
+     * @since 2.4.50
+     */
+    @Test
+    public void testFormatCache()
+    {
+        final SOCStringManager mgr = new SOCStringManager
+            (SOCStringManager.PROPS_PATH_SERVER_FOR_CLIENT, Locale.US);
+        assertEquals(0, mgr.getFormatCacheSize());
+
+        final String key = "action.card.discov.received";  // "{0} received {1,rsrcs} from the bank."
+        final SOCResourceSet rs = new SOCResourceSet(1, 0, 0, 0, 2, 0);
+        final String expected = "p1 received 1 clay and 2 wood from the bank.";
+        assertEquals(expected, mgr.getSpecial(null, key, "p1", rs));
+        final int n = mgr.getFormatCacheSize();
+        assertTrue(n > 0);
+        assertEquals(expected, mgr.getSpecial(null, key, "p1", rs));
+        assertEquals("reused, not added again", n, mgr.getFormatCacheSize());
+
+        final String plainKey = "spec.rsrcs.nunknown";  // "{0,number} resources of unknown type {1}"
+        final Object[] args = { Integer.valueOf(12), "x" };
+        assertEquals(MessageFormat.format(mgr.get(plainKey), args), mgr.get(plainKey, args));
+        assertEquals("12 resources of unknown type x", mgr.get(plainKey, args));
+    }
+
     public static void main(String[] args)
     {
         org.junit.runner.JUnitCore.main("soctest.i18n.TestI18N");
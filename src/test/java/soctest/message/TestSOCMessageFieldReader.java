@@ -0,0 +1,112 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soctest.message;
+
+import java.util.NoSuchElementException;
+
+import soc.game.SOCResourceSet;
+import soc.message.SOCMessage;
+import soc.message.SOCMessageFieldReader;
+import soc.message.SOCPlayerElement;
+import soc.message.SOCPlayerElements;
+import soc.message.SOCPutPiece;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SOCMessageFieldReader} and its use by {@link SOCMessage#toMsg(String)}.
+ * @since 2.4.50
+ */
+public class TestSOCMessageFieldReader
+{
+    /** Delimiters are skipped like {@link java.util.StringTokenizer} does, and ints parse like {@link Integer#parseInt(String)}. */
+    @Test
+    public void testFields()
+    {
+        final SOCMessageFieldReader fr = new SOCMessageFieldReader(",ga,,-12,+7,2147483647,-2147483648,Y,", ',');
+        assertEquals(6, fr.countRemaining());
+        assertEquals("ga", fr.nextString());
+        assertEquals(-12, fr.nextInt());
+        assertEquals(7, fr.nextInt());
+        assertEquals(Integer.MAX_VALUE, fr.nextInt());
+        assertEquals(Integer.MIN_VALUE, fr.nextInt());
+        assertTrue(fr.hasNext());
+        assertTrue(fr.nextEquals("Y"));
+        assertFalse(fr.hasNext());
+        assertEquals(0, fr.countRemaining());
+
+        try
+        {
+            fr.nextInt();
+            fail("should throw NoSuchElementException");
+        } catch (NoSuchElementException e) {}
+    }
+
+    /** Malformed or out-of-range int fields throw {@link NumberFormatException}. */
+    @Test
+    public void testBadInts()
+    {
+        for (final String bad : new String[]{"2147483648", "-2147483649", "-", "+", "1x", "x1", " 1", "99999999999"})
+        {
+            try
+            {
+                new SOCMessageFieldReader(bad, ',').nextInt();
+                fail("should throw NumberFormatException: " + bad);
+            } catch (NumberFormatException e) {}
+        }
+    }
+
+    /** Repeated string fields return the same String object, and sub-field readers share that cache. */
+    @Test
+    public void testStringReuseAndSubfields()
+    {
+        final SOCMessageFieldReader fr = new SOCMessageFieldReader("gamename|gamename,3|gamex", '|');
+        final String s1 = fr.nextString();
+        final SOCMessageFieldReader sub = fr.nextSubfields(',');
+        assertSame(s1, sub.nextString());
+        assertEquals(3, sub.nextInt());
+        assertFalse(sub.hasNext());
+        assertEquals("gamex", fr.nextString());
+        assertFalse(fr.hasNext());
+        assertFalse(fr.nextSubfields(',').hasNext());
+    }
+
+    /** {@link SOCMessage#toMsg(String)} gives the same results for migrated message types. */
+    @Test
+    public void testToMsg()
+    {
+        final SOCPutPiece pp = new SOCPutPiece("ga", 2, 1, 0x405);
+        final SOCMessage pp2 = SOCMessage.toMsg(pp.toCmd());
+        assertTrue(pp2 instanceof SOCPutPiece);
+        assertEquals(pp.toCmd(), pp2.toCmd());
+
+        final SOCPlayerElement pe = new SOCPlayerElement("ga", 3, SOCPlayerElement.LOSE, 4, 2, true);
+        assertEquals(pe.toCmd(), SOCMessage.toMsg(pe.toCmd()).toCmd());
+
+        final SOCPlayerElements pes = new SOCPlayerElements
+            ("ga", 1, SOCPlayerElement.GAIN, new SOCResourceSet(2, 0, 0, 0, 3, 0));
+        assertEquals(pes.toCmd(), SOCMessage.toMsg(pes.toCmd()).toCmd());
+
+        assertNull(SOCMessage.toMsg(SOCMessage.PUTPIECE + "|ga,2,x,3"));
+        assertNull(SOCMessage.toMsg(SOCMessage.PLAYERELEMENTS + "|ga|1|101|5"));  // odd number of element fields
+    }
+
+}
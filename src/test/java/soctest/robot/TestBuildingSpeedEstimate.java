@@ -0,0 +1,285 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+
+package soctest.robot;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import soc.game.SOCBoard;
+import soc.game.SOCCity;
+import soc.game.SOCDevCard;
+import soc.game.SOCPlayerNumbers;
+import soc.game.SOCResourceConstants;
+import soc.game.SOCResourceSet;
+import soc.game.SOCRoad;
+import soc.game.SOCSettlement;
+import soc.game.SOCShip;
+import soc.robot.SOCBuildingSpeedEstimate;
+import soc.robot.SOCBuildingSpeedEstimateCache;
+import soc.robot.SOCBuildingSpeedEstimateFactory;
+import soc.robot.SOCResSetBuildTimePair;
+import soc.util.CutoffExceededException;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SOCBuildingSpeedEstimate}'s accurate roll calculation:
+ * The packed-hand engine used by {@code calculateRollsAccurate} since v2.4.50
+ * must give the same results as the earlier hashtable version {@code calculateRollsAccurateTables}.
+ * Also tests {@link SOCBuildingSpeedEstimateCache}.
+ * @since 2.4.50
+ */
+public class TestBuildingSpeedEstimate
+{
+    /** Piece costs, plus a few larger targets */
+    private static final SOCResourceSet[] TARGETS =
+        {
+            SOCRoad.COST, SOCSettlement.COST, SOCCity.COST, SOCDevCard.COST, SOCShip.COST,
+            new SOCResourceSet(2, 3, 1, 3, 2, 0),
+            new SOCResourceSet(0, 0, 4, 0, 0, 0),
+        };
+
+    /**
+     * Gives access to the protected calculation methods.
+     */
+    private static final class TestEstimate extends SOCBuildingSpeedEstimate
+    {
+        TestEstimate(SOCPlayerNumbers numbers)
+        {
+            super(numbers);
+        }
+
+        /** @return rolls from the new engine, or -1 if cutoff exceeded */
+        int packedRolls(SOCResourceSet start, SOCResourceSet target, int cutoff, boolean[] ports)
+        {
+            try
+            {
+                final SOCResSetBuildTimePair pair = calculateRollsAccurate(start, target, cutoff, ports);
+                if (pair.getRolls() > 0)
+                    assertTrue("reached target", pair.getResources().contains(target));
+                return pair.getRolls();
+            } catch (CutoffExceededException e) {
+                return -1;
+            }
+        }
+
+        /** @return rolls from the hashtable version, or -1 if cutoff exceeded */
+        int tableRolls(SOCResourceSet start, SOCResourceSet target, int cutoff, boolean[] ports)
+        {
+            try
+            {
+                return calculateRollsAccurateTables(start, target, cutoff, ports).getRolls();
+            } catch (CutoffExceededException e) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Random dice numbers, starting hands, targets and ports: Both versions give the same rolls,
+     * or both exceed the cutoff.
+     */
+    @Test
+    public void testSameAsTables()
+    {
+        final Random rand = new Random(2450);
+        final SOCBoard board = SOCBoard.DefaultBoardFactory.staticCreateBoard(null, false, 4);
+        int nReached = 0;
+
+        for (int iter = 0; iter < 300; ++iter)
+        {
+            final SOCPlayerNumbers numbers = new SOCPlayerNumbers(board);
+            final int nHexes = 1 + rand.nextInt(8);  // some repeats, like a city or 2 settlements on a hex
+            for (int i = 0; i < nHexes; ++i)
+            {
+                int dice = 2 + rand.nextInt(11);
+                if (dice == 7)
+                    dice = 8;
+                numbers.addNumberForResource(dice, 1 + rand.nextInt(5), 0x100 + i);
+            }
+            final TestEstimate est = new TestEstimate(numbers);
+
+            final boolean[] ports = new boolean[SOCBoard.WOOD_PORT + 1];
+            for (int p = SOCBoard.MISC_PORT; p <= SOCBoard.WOOD_PORT; ++p)
+                ports[p] = (rand.nextInt(4) == 0);
+
+            final SOCResourceSet start = new SOCResourceSet();
+            if (rand.nextBoolean())
+                for (int rtype = SOCResourceConstants.CLAY; rtype <= SOCResourceConstants.WOOD; ++rtype)
+                    start.add(rand.nextInt(7), rtype);
+
+            final SOCResourceSet target = TARGETS[rand.nextInt(TARGETS.length)];
+            final int cutoff = (rand.nextInt(4) == 0) ? 5 : SOCBuildingSpeedEstimate.DEFAULT_ROLL_LIMIT;
+
+            final int expected = est.tableRolls(start, target, cutoff, ports);
+            assertEquals("iter " + iter + ": " + numbers + " start " + start + " target " + target,
+                expected, est.packedRolls(start, target, cutoff, ports));
+            if (expected > 0)
+                ++nReached;
+
+            // the estimates arrays also use calculateRollsAccurate
+            assertNotNull(est.getEstimatesFromNowAccurate(start, ports));
+        }
+
+        assertTrue("enough cases reach their target: " + nReached, nReached > 100);
+    }
+
+    /**
+     * {@link SOCBuildingSpeedEstimateCache}: Estimates from a factory with a cache give the same results as uncached,
+     * count hits and misses, cache cutoff-exceeded results, and evict when full.
+     */
+    @Test
+    public void testCache()
+    {
+        final SOCBoard board = SOCBoard.DefaultBoardFactory.staticCreateBoard(null, false, 4);
+        final SOCPlayerNumbers numbers = new SOCPlayerNumbers(board);
+        numbers.addNumberForResource(6, SOCResourceConstants.CLAY, 0x100);
+        numbers.addNumberForResource(8, SOCResourceConstants.WOOD, 0x101);
+        numbers.addNumberForResource(5, SOCResourceConstants.WHEAT, 0x102);
+        final boolean[] ports = new boolean[SOCBoard.WOOD_PORT + 1];
+
+        final SOCBuildingSpeedEstimateCache cache = new SOCBuildingSpeedEstimateCache(40);
+        assertEquals(48, cache.getCapacity());  // rounded up to multiple of segments
+        final SOCBuildingSpeedEstimateFactory bsef = new SOCBuildingSpeedEstimateFactory(null, cache);
+        assertSame(cache, bsef.getCache());
+        assertNull(new SOCBuildingSpeedEstimateFactory(null, null).getEstimator(numbers).getCache());
+
+        final SOCBuildingSpeedEstimate cached1 = bsef.getEstimator(numbers), cached2 = bsef.getEstimator(numbers);
+        assertSame(cache, cached1.getCache());
+        final SOCBuildingSpeedEstimate uncached = new SOCBuildingSpeedEstimate(numbers);
+        assertNull(uncached.getCache());
+
+        final int[] expected = uncached.getEstimatesFromNowAccurate(SOCResourceSet.EMPTY_SET, ports).clone();
+        assertArrayEquals(expected, cached1.getEstimatesFromNowAccurate(SOCResourceSet.EMPTY_SET, ports));
+        assertEquals(0, cache.getHitCount());
+        final long misses = cache.getMissCount();
+        assertTrue(misses > 0);  // some may not be reached: calculation stops at cutoff exception
+
+        // another estimate with the same numbers hits all of them
+        assertArrayEquals(expected, cached2.getEstimatesFromNowAccurate(SOCResourceSet.EMPTY_SET, ports));
+        assertEquals(misses, cache.getHitCount());
+        assertEquals(misses, cache.getMissCount());
+        assertEquals(misses, cache.size());
+
+        // different ports: separate entries
+        ports[SOCBoard.MISC_PORT] = true;
+        final SOCResourceSet hand = new SOCResourceSet(4, 0, 0, 0, 0, 0);
+        assertArrayEquals(uncached.getEstimatesFromNowAccurate(hand, ports).clone(),
+            cached1.getEstimatesFromNowAccurate(hand, ports));
+        assertTrue(cache.getMissCount() > misses);
+
+        // unknown resources: not cached
+        final long lookups = cache.getHitCount() + cache.getMissCount();
+        cached1.getEstimatesFromNowAccurate(new SOCResourceSet(1, 1, 1, 1, 1, 2), ports);
+        assertEquals(lookups, cache.getHitCount() + cache.getMissCount());
+
+        // fill past capacity: evicts
+        for (int n = 0; n < 60; ++n)
+            cached1.getEstimatesFromNowAccurate(new SOCResourceSet(n % 4, n / 4, 0, 0, 0, 0), ports);
+        assertTrue(cache.getEvictionCount() > 0);
+        assertTrue(cache.size() <= cache.getCapacity());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHitCount() + cache.getMissCount() + cache.getEvictionCount());
+    }
+
+    /**
+     * Several threads sharing a small cache all get the same results as uncached estimates.
+     */
+    @Test
+    public void testCacheThreads()
+        throws InterruptedException
+    {
+        final SOCBoard board = SOCBoard.DefaultBoardFactory.staticCreateBoard(null, false, 4);
+        final SOCBuildingSpeedEstimateCache cache = new SOCBuildingSpeedEstimateCache(64);
+        final SOCBuildingSpeedEstimateFactory bsef = new SOCBuildingSpeedEstimateFactory(null, cache);
+        final boolean[] ports = new boolean[SOCBoard.WOOD_PORT + 1];
+        final String[] failure = new String[1];
+
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; ++t)
+        {
+            threads[t] = new Thread()
+            {
+                public void run()
+                {
+                    final Random rand = new Random(2450);  // same sequence in each thread, to share entries
+                    for (int iter = 0; iter < 150; ++iter)
+                    {
+                        final SOCPlayerNumbers numbers = new SOCPlayerNumbers(board);
+                        for (int i = 0; i < 3; ++i)
+                            numbers.addNumberForResource(5 + rand.nextInt(5), 1 + rand.nextInt(5), 0x100 + i);
+                        final SOCResourceSet hand = new SOCResourceSet(rand.nextInt(3), 0, rand.nextInt(3), 0, 0, 0);
+
+                        final int[] expected = new SOCBuildingSpeedEstimate(numbers)
+                            .getEstimatesFromNowAccurate(hand, ports).clone();
+                        final int[] actual = bsef.getEstimator(numbers).getEstimatesFromNowAccurate(hand, ports);
+                        if (! Arrays.equals(expected, actual))
+                            synchronized (failure)
+                            {
+                                failure[0] = "iter " + iter + ": expected " + Arrays.toString(expected)
+                                    + ", got " + Arrays.toString(actual);
+                            }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (final Thread th : threads)
+            th.join();
+
+        assertNull(failure[0]);
+        assertTrue(cache.getHitCount() > 0);
+        assertTrue(cache.size() <= cache.getCapacity());
+    }
+
+    /** Starting hand already containing the target, and unknown resources which can't be gained by rolling. */
+    @Test
+    public void testEdgeCases()
+    {
+        final SOCBoard board = SOCBoard.DefaultBoardFactory.staticCreateBoard(null, false, 4);
+        final SOCPlayerNumbers numbers = new SOCPlayerNumbers(board);
+        numbers.addNumberForResource(6, SOCResourceConstants.CLAY, 0x100);
+        numbers.addNumberForResource(8, SOCResourceConstants.WOOD, 0x101);
+        final TestEstimate est = new TestEstimate(numbers);
+        final boolean[] ports = new boolean[SOCBoard.WOOD_PORT + 1];
+
+        final SOCResourceSet start = new SOCResourceSet(1, 0, 0, 0, 1, 0);
+        assertEquals(0, est.packedRolls(start, SOCRoad.COST, 40, ports));
+        assertEquals(0, est.tableRolls(start, SOCRoad.COST, 40, ports));
+
+        final SOCResourceSet needsUnknown = new SOCResourceSet(1, 0, 0, 0, 1, 1);
+        assertEquals(-1, est.packedRolls(SOCResourceSet.EMPTY_SET, needsUnknown, 10, ports));
+        assertEquals(-1, est.tableRolls(SOCResourceSet.EMPTY_SET, needsUnknown, 10, ports));
+
+        final SOCResourceSet hasUnknown = new SOCResourceSet(0, 0, 0, 0, 0, 3);
+        assertEquals(est.tableRolls(hasUnknown, SOCRoad.COST, 40, ports),
+            est.packedRolls(hasUnknown, SOCRoad.COST, 40, ports));
+
+        // too many to pack: falls back to the hashtable version
+        final SOCResourceSet huge = new SOCResourceSet(5000, 0, 0, 0, 0, 0);
+        assertEquals(est.tableRolls(huge, SOCRoad.COST, 40, ports),
+            est.packedRolls(huge, SOCRoad.COST, 40, ports));
+    }
+
+}
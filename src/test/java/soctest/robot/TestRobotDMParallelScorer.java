@@ -0,0 +1,223 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soctest.robot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import soc.game.SOCGame;
+import soc.game.SOCPlayer;
+import soc.game.SOCPlayingPiece;
+import soc.game.SOCRoutePiece;
+import soc.game.SOCSettlement;
+import soc.robot.SOCBuildPlanStack;
+import soc.robot.SOCPlayerTracker;
+import soc.robot.SOCPossibleCity;
+import soc.robot.SOCPossiblePiece;
+import soc.robot.SOCPossibleRoad;
+import soc.robot.SOCPossibleSettlement;
+import soc.robot.SOCRobotDM;
+import soc.robot.sim.SimGame;
+import soc.robot.sim.SimRobotBrain;
+import soc.util.SOCRobotParameters;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for parallel candidate scoring in {@link SOCRobotDM} when
+ * {@link SOCRobotParameters#getPlanningThreads()} &gt; 1: Should pick the same pieces
+ * with the same scores as serial planning, and not change the game being planned for.
+ * @since 2.4.50
+ */
+public class TestRobotDMParallelScorer
+{
+    private static final SOCRobotParameters PARAMS =
+        new SOCRobotParameters(120, 35, 0.13f, 1.0f, 1.0f, 3.0f, 1.0f, SOCRobotDM.SMART_STRATEGY, 1);
+
+    /**
+     * Plan with 1, 2, and 4 threads in a few positions from seeded simulations, and compare.
+     */
+    @Test
+    public void testSameAsSerial()
+    {
+        checkPosition(null, 2450L, 20);
+        checkPosition(null, 7L, 40);
+        checkPosition("PL=6", 11L, 30);
+    }
+
+    /**
+     * Serial planning should call the DM's own "what-if" methods for each candidate. Parallel planning
+     * should call them only for batches with 1 candidate, since workers call them on their own DMs.
+     */
+    @Test
+    public void testParallelUsesWorkers()
+    {
+        final SimGame sg = new SimGame(0, null, new SOCRobotParameters[]{ PARAMS }, 2450L);
+        sg.play(20);
+        final SOCGame ga = sg.getGame();
+        final SOCPlayerTracker[] trackers = makeTrackers(ga);
+
+        final CountingDM serial = new CountingDM(params(1), trackers, ga.getPlayer(0));
+        serial.planStuff(SOCRobotDM.SMART_STRATEGY);
+        assertTrue("serial should score settlements or cities", serial.numWhatIfs > 1);
+
+        final CountingDM parallel = new CountingDM(params(3), trackers, ga.getPlayer(0));
+        parallel.planStuff(SOCRobotDM.SMART_STRATEGY);
+        assertTrue("parallel should call fewer", parallel.numWhatIfs < serial.numWhatIfs);
+    }
+
+    /**
+     * Plan in a seeded game's position with various numbers of threads, and check that results match.
+     */
+    private static void checkPosition(final String opts, final long seed, final int turns)
+    {
+        final SimGame sg = new SimGame(0, opts, new SOCRobotParameters[]{ PARAMS }, seed);
+        sg.play(turns);
+        final SOCGame ga = sg.getGame();
+        final SOCPlayerTracker[] trackers = makeTrackers(ga);
+
+        final String serial = plan(1, trackers, ga);
+        assertFalse("should pick something in " + seed, serial.startsWith("favSettlement\nfavCity\nfavRoad\n"));
+        final String gameBefore = describeGame(ga);
+        assertEquals("seed " + seed + ", 2 threads", serial, plan(2, trackers, ga));
+        assertEquals("seed " + seed + ", 4 threads", serial, plan(4, trackers, ga));
+        assertEquals("seed " + seed + ", 4 threads again", serial, plan(4, trackers, ga));
+        assertEquals("game unchanged", gameBefore, describeGame(ga));
+    }
+
+    /**
+     * Make a new brain for player 0 and give its trackers all of the game's pieces.
+     */
+    private static SOCPlayerTracker[] makeTrackers(final SOCGame ga)
+    {
+        final SimRobotBrain brain = new SimRobotBrain(SimGame.PLAYER_NAME_PREFIX + 0, PARAMS, ga, 1L);
+        final SOCPlayerTracker[] trackers = brain.getPlayerTrackers();
+        for (int pn = 0; pn < ga.maxPlayers; ++pn)
+            for (SOCPlayingPiece pp : ga.getPlayer(pn).getPieces())
+                if (pp instanceof SOCSettlement)
+                    for (SOCPlayerTracker pt : trackers)
+                        pt.addNewSettlement((SOCSettlement) pp, trackers);
+        for (int pn = 0; pn < ga.maxPlayers; ++pn)
+            for (SOCPlayingPiece pp : ga.getPlayer(pn).getPieces())
+                if (pp instanceof SOCRoutePiece)
+                    for (SOCPlayerTracker pt : trackers)
+                        pt.addNewRoadOrShip((SOCRoutePiece) pp, trackers);
+        for (SOCPlayerTracker pt : trackers)
+            pt.updateThreats(trackers);
+
+        return trackers;
+    }
+
+    private static SOCRobotParameters params(final int threads)
+    {
+        final SOCRobotParameters params = new SOCRobotParameters(PARAMS);
+        params.setPlanningThreads(threads);
+        return params;
+    }
+
+    /**
+     * Plan for player 0 with {@code threads} and describe the favorites, building plan, and candidate scores.
+     */
+    private static String plan(final int threads, final SOCPlayerTracker[] trackers, final SOCGame ga)
+    {
+        final SOCBuildPlanStack plan = new SOCBuildPlanStack();
+        final SOCRobotDM dm = new SOCRobotDM
+            (params(threads), null, null, trackers, trackers[0], ga.getPlayer(0), plan);
+        dm.planStuff(SOCRobotDM.SMART_STRATEGY);
+
+        final StringBuilder sb = new StringBuilder();
+        describe("favSettlement", dm.getFavoriteSettlement(), sb);
+        describe("favCity", dm.getFavoriteCity(), sb);
+        describe("favRoad", dm.getFavoriteRoad(), sb);
+        sb.append("plan=").append(plan).append('\n');
+        final List<SOCPossiblePiece> pieces = new ArrayList<SOCPossiblePiece>();
+        pieces.addAll(trackers[0].getPossibleSettlements().values());
+        pieces.addAll(trackers[0].getPossibleCities().values());
+        pieces.addAll(trackers[0].getPossibleRoads().values());
+        for (SOCPossiblePiece pp : pieces)
+            describe("  ", pp, sb);
+
+        return sb.toString();
+    }
+
+    private static void describe(final String label, final SOCPossiblePiece pp, final StringBuilder sb)
+    {
+        sb.append(label);
+        if (pp != null)
+            sb.append(' ').append(pp.getType()).append(" at ").append(Integer.toHexString(pp.getCoordinates()))
+              .append(" score=").append(pp.getScore());
+        sb.append('\n');
+    }
+
+    /**
+     * Describe the game's pieces, players' resources, and longest-road lengths.
+     * Lists pieces in sorted order, since serial planning's temporary pieces can change their order.
+     */
+    private static String describeGame(final SOCGame ga)
+    {
+        final List<String> pieces = new ArrayList<String>();
+        for (SOCPlayingPiece pp : ga.getBoard().getSettlements())
+            pieces.add(pp.toString());
+        for (SOCPlayingPiece pp : ga.getBoard().getCities())
+            pieces.add(pp.toString());
+        for (SOCPlayingPiece pp : ga.getBoard().getRoadsAndShips())
+            pieces.add(pp.toString());
+        for (int pn = 0; pn < ga.maxPlayers; ++pn)
+        {
+            final SOCPlayer pl = ga.getPlayer(pn);
+            for (SOCPlayingPiece pp : pl.getPieces())
+                pieces.add("pn " + pn + ": " + pp);
+            pieces.add("pn " + pn + ": lr=" + pl.getLongestRoadLength() + " res=" + pl.getResources());
+        }
+        Collections.sort(pieces);
+
+        return pieces.toString();
+    }
+
+    /**
+     * DM which counts calls to its settlement and city "what-if" methods.
+     */
+    private static final class CountingDM extends SOCRobotDM
+    {
+        int numWhatIfs;
+
+        CountingDM(final SOCRobotParameters params, final SOCPlayerTracker[] trackers, final SOCPlayer pl)
+        {
+            super(params, null, null, trackers, trackers[pl.getPlayerNumber()], pl, new SOCBuildPlanStack());
+        }
+
+        @Override
+        protected float calcSettlementWGETABonus(final int coord)
+        {
+            ++numWhatIfs;
+            return super.calcSettlementWGETABonus(coord);
+        }
+
+        @Override
+        protected float calcCityWGETABonus(final SOCPossibleCity posCity, final SOCPlayerTracker[] trackersCopy)
+        {
+            ++numWhatIfs;
+            return super.calcCityWGETABonus(posCity, trackersCopy);
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soctest.robot;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import soc.game.SOCGame;
+import soc.robot.SOCRobotDM;
+import soc.robot.sim.SimGame;
+import soc.robot.sim.SimRobotBrain;
+import soc.util.SOCRobotParameters;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the robot brain's {@code SOCRobotPinger}, which is started by the brain thread
+ * and stopped when the brain is killed.
+ * @since 2.4.50
+ */
+public class TestRobotPinger
+{
+    private static final SOCRobotParameters[] PARAMS =
+        { new SOCRobotParameters(120, 35, 0.13f, 1.0f, 1.0f, 3.0f, 1.0f, SOCRobotDM.SMART_STRATEGY, 1) };
+
+    /**
+     * If a brain is killed before its thread reaches {@code run()}, starting the thread
+     * should end it normally instead of throwing from the cancelled pinger.
+     */
+    @Test(timeout=10000)
+    public void testKillBeforeRun()
+        throws InterruptedException
+    {
+        final SimGame sg = new SimGame(0, null, PARAMS, 2450L);
+        final SOCGame ga = sg.getGame();
+        final SimRobotBrain brain = new SimRobotBrain(SimGame.PLAYER_NAME_PREFIX + 0, PARAMS[0], ga, 1L);
+        brain.kill();
+
+        final AtomicReference<Throwable> thrown = new AtomicReference<>();
+        brain.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler()
+        {
+            public void uncaughtException(Thread t, Throwable e)
+            {
+                thrown.set(e);
+            }
+        });
+        brain.start();
+        brain.join();
+
+        assertNull("brain thread threw " + thrown.get(), thrown.get());
+    }
+
+}
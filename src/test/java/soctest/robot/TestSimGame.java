@@ -0,0 +1,113 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+
+package soctest.robot;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import soc.game.SOCGame;
+import soc.robot.SOCRobotDM;
+import soc.robot.sim.SimGame;
+import soc.robot.sim.SimGameOutcome;
+import soc.robot.sim.SimRunner;
+import soc.util.SOCRobotParameters;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the headless bot-vs-bot simulator {@link SimGame} and {@link SimRunner}.
+ * @since 2.4.50
+ */
+public class TestSimGame
+{
+    /** Same values as the server's default robot parameters */
+    private static final SOCRobotParameters[] PARAMS =
+        { new SOCRobotParameters(120, 35, 0.13f, 1.0f, 1.0f, 3.0f, 1.0f, SOCRobotDM.FAST_STRATEGY, 1) };
+
+    /**
+     * Play a classic game to the end, then play it again with the same seed and check that the outcome is the same.
+     */
+    @Test
+    public void testSameSeedSameOutcome()
+    {
+        final SimGame sg = new SimGame(0, null, PARAMS, 2450L);
+        final SimGameOutcome oc = sg.play(SimGame.DEFAULT_MAX_TURNS);
+        final SOCGame ga = sg.getGame();
+
+        assertEquals(SOCGame.OVER, ga.getGameState());
+        assertTrue("should have a winner", oc.hasWinner());
+        assertEquals(ga.getPlayerWithWin().getPlayerNumber(), oc.winner);
+        assertTrue(oc.vp[oc.winner] >= ga.vp_winner);
+        assertTrue(oc.turns > 0);
+        assertEquals(0, oc.forcedEndTurns);
+
+        final SimGameOutcome oc2 = new SimGame(0, null, PARAMS, 2450L).play(SimGame.DEFAULT_MAX_TURNS);
+        assertSameOutcome(oc, oc2);
+    }
+
+    /**
+     * A batch's outcomes shouldn't depend on how many threads play it.
+     */
+    @Test
+    public void testRunGamesSameOnAnyPoolSize()
+    {
+        final ForkJoinPool pool1 = new ForkJoinPool(1), pool3 = new ForkJoinPool(3);
+        try
+        {
+            final SimGameOutcome[] ocs1 = SimRunner.runGames("PL=4", PARAMS, 77L, 4, SimGame.DEFAULT_MAX_TURNS, pool1),
+                ocs3 = SimRunner.runGames("PL=4", PARAMS, 77L, 4, SimGame.DEFAULT_MAX_TURNS, pool3);
+            assertEquals(4, ocs1.length);
+            for (int gn = 0; gn < ocs1.length; ++gn)
+            {
+                assertNotNull("game " + gn, ocs1[gn]);
+                assertEquals(gn, ocs1[gn].gameNumber);
+                assertSameOutcome(ocs1[gn], ocs3[gn]);
+            }
+        } finally {
+            pool1.shutdown();
+            pool3.shutdown();
+        }
+    }
+
+    /**
+     * Sea board games aren't supported.
+     */
+    @Test(expected=IllegalArgumentException.class)
+    public void testSeaBoardRejected()
+    {
+        new SimGame(0, "SC=SC_4ISL", PARAMS, 1L);
+    }
+
+    /**
+     * Assert that two outcomes are the same except for duration.
+     */
+    private static void assertSameOutcome(final SimGameOutcome oc, final SimGameOutcome oc2)
+    {
+        assertEquals(oc.seed, oc2.seed);
+        assertEquals(oc.winner, oc2.winner);
+        assertTrue(Arrays.equals(oc.vp, oc2.vp));
+        assertEquals(oc.turns, oc2.turns);
+        assertEquals(oc.rounds, oc2.rounds);
+        assertEquals(oc.forcedEndTurns, oc2.forcedEndTurns);
+    }
+
+}
@@ -0,0 +1,313 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soctest.server;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+import soc.message.SOCDiceResult;
+import soc.message.SOCGameServerText;
+import soc.message.SOCJoinGameAuth;
+import soc.message.SOCMessage;
+import soc.message.SOCSitDown;
+import soc.server.GameEventJournal;
+import soc.server.GameEventJournalReplay;
+import soc.server.SOCServer;
+
+/**
+ * Tests for {@link GameEventJournal} and {@link GameEventJournalReplay}, using a junit temporary folder.
+ * @since 2.4.50
+ */
+public class TestGameEventJournal
+{
+    private static final String GA_NAME = "jtest";
+
+    /** This folder and all contents are created at start of each test method, deleted at end of it */
+    @Rule
+    public TemporaryFolder testTmpFolder = new TemporaryFolder();
+
+    /** Find the journal files in a directory, in segment order. */
+    private static File[] findJournals(final File dir)
+    {
+        final File[] files = dir.listFiles(new FilenameFilter()
+        {
+            public boolean accept(final File d, final String name)
+            {
+                return name.endsWith(GameEventJournal.FILENAME_EXTENSION);
+            }
+        });
+        Arrays.sort(files);
+
+        return files;
+    }
+
+    /** Read all records from journal files, in order. */
+    private static List<GameEventJournal.Record> readAll(final File[] files, final boolean expectTruncated)
+        throws Exception
+    {
+        final List<GameEventJournal.Record> recs = new ArrayList<>();
+        for (int i = 0; i < files.length; ++i)
+        {
+            final GameEventJournal.Reader in = new GameEventJournal.Reader(files[i]);
+            try
+            {
+                assertEquals(GA_NAME, in.getGameName());
+                assertEquals(i, in.getSegment());
+                for (GameEventJournal.Record rec = in.next(); rec != null; rec = in.next())
+                    recs.add(rec);
+                assertEquals(expectTruncated && (i == files.length - 1), in.isTruncated());
+            } finally {
+                in.close();
+            }
+        }
+
+        return recs;
+    }
+
+    /** Filenames are safe, distinct for similar game names, and sort in segment order. */
+    @Test
+    public void testFilenameFor()
+    {
+        final String fn1 = GameEventJournal.filenameFor("my game/1*?", 0L, 2),
+            fn2 = GameEventJournal.filenameFor("my game_1*?", 0L, 2);
+        assertTrue(fn1, fn1.matches("my_game_1___[0-9a-f]+_[0-9]{8}-[0-9]{6}\\.002\\.jsevents"));
+        assertNotEquals(fn1, fn2);
+        assertTrue(fn1.compareTo(GameEventJournal.filenameFor("my game/1*?", 0L, 10)) < 0);
+
+        assertEquals(fn1, GameEventJournal.filenameFor("my game/1*?", 0L, 0, 2));
+        final String fnc1 = GameEventJournal.filenameFor("my game/1*?", 7L, 1, 2),
+            fnc2 = GameEventJournal.filenameFor("my game/1*?", 7L, 2, 2);
+        assertTrue(fnc1, fnc1.matches("my_game_1___[0-9a-f]+_[0-9]{8}-[0-9]{6}-007\\.002\\.jsevents"));
+        assertTrue(fnc2, fnc2.matches("my_game_1___[0-9a-f]+_[0-9]{8}-[0-9]{6}-007-2\\.002\\.jsevents"));
+        assertTrue(fnc1.compareTo(GameEventJournal.filenameFor("my game/1*?", 7L, 1, 10)) < 0);
+    }
+
+    /**
+     * Journals for a game name started again in the same second don't overwrite the earlier ones' files.
+     */
+    @Test
+    public void testFilenameCollision()
+        throws Exception
+    {
+        final File dir = testTmpFolder.getRoot();
+        final GameEventJournal journal = new GameEventJournal(dir, 64 * 1024, 10);
+        final int n = 5;
+        for (int i = 0; i < n; ++i)
+        {
+            journal.gameStarted(GA_NAME);  // closes previous journal, if any
+            assertTrue(journal.append(GA_NAME, -1, null, new SOCDiceResult(GA_NAME, 2 + i)));
+        }
+        journal.shutdown();
+        assertEquals(0, journal.getFailCount());
+
+        final File[] files = findJournals(dir);
+        assertEquals(n, files.length);
+        final List<Integer> dice = new ArrayList<>();
+        for (File f : files)
+        {
+            final List<GameEventJournal.Record> recs = readAll(new File[]{f}, false);
+            assertEquals(1, recs.size());
+            dice.add(((SOCDiceResult) recs.get(0).toMessage()).getResult());
+        }
+        Collections.sort(dice);
+        assertEquals("[2, 3, 4, 5, 6]", dice.toString());
+    }
+
+    /**
+     * Records are read back in order with their audiences, in several rotated segments;
+     * events for games without a started journal are ignored.
+     */
+    @Test
+    public void testAppendRotateRead()
+        throws Exception
+    {
+        final File dir = testTmpFolder.getRoot();
+        final GameEventJournal journal = new GameEventJournal(dir, 1024, 10);
+        assertFalse(journal.append(GA_NAME, -1, null, new SOCDiceResult(GA_NAME, 5)));
+
+        journal.gameStarted(GA_NAME);
+        final List<SOCMessage> sent = new ArrayList<>();
+        for (int i = 0; i < 100; ++i)
+        {
+            final SOCMessage msg = ((i % 2) == 0)
+                ? new SOCDiceResult(GA_NAME, 2 + (i % 11))
+                : new SOCGameServerText(GA_NAME, "event " + i + " é");
+            sent.add(msg);
+            switch (i % 4)
+            {
+            case 0:  assertTrue(journal.append(GA_NAME, -1, null, msg));  break;
+            case 1:  assertTrue(journal.append(GA_NAME, 2, null, msg));  break;
+            case 2:  assertTrue(journal.append(GA_NAME, -1, new int[]{1, 3}, msg));  break;
+            default: assertTrue(journal.append(GA_NAME, SOCServer.PN_OBSERVER, null, msg));
+            }
+        }
+        assertFalse(journal.append("other", -1, null, sent.get(0)));
+        journal.gameEnded(GA_NAME);
+        assertFalse(journal.append(GA_NAME, -1, null, sent.get(0)));
+        journal.shutdown();
+
+        assertEquals(100, journal.getRecordCount());
+        assertEquals(0, journal.getFailCount());
+        final File[] files = findJournals(dir);
+        assertTrue("should rotate", files.length > 2);
+        assertEquals(files.length, journal.getSegmentCount());
+        long totalLen = 0;
+        for (File f : files)
+            totalLen += f.length();
+        assertEquals(journal.getByteCount(), totalLen);
+
+        final List<GameEventJournal.Record> recs = readAll(files, false);
+        assertEquals(100, recs.size());
+        for (int i = 0; i < 100; ++i)
+        {
+            final GameEventJournal.Record rec = recs.get(i);
+            assertEquals(sent.get(i).toCmd(), rec.cmd);
+            assertEquals(sent.get(i).toString(), rec.toMessage().toString());
+            switch (i % 4)
+            {
+            case 0:
+                assertTrue(rec.isToAll());
+                break;
+            case 1:
+                assertEquals(2, rec.toPN);
+                assertTrue(rec.isSentTo(2));
+                assertFalse(rec.isSentTo(1));
+                break;
+            case 2:
+                assertArrayEquals(new int[]{1, 3}, rec.excludedPN);
+                assertTrue(rec.isSentTo(SOCServer.PN_OBSERVER));
+                assertFalse(rec.isSentTo(3));
+                break;
+            default:
+                assertEquals(SOCServer.PN_OBSERVER, rec.toPN);
+            }
+        }
+    }
+
+    /** An incomplete last record, as after a crash, is ignored by the reader. */
+    @Test
+    public void testTruncatedRecord()
+        throws Exception
+    {
+        final File dir = testTmpFolder.getRoot();
+        final GameEventJournal journal = new GameEventJournal(dir, 64 * 1024, 10);
+        journal.gameStarted(GA_NAME);
+        for (int i = 0; i < 5; ++i)
+            journal.append(GA_NAME, -1, null, new SOCDiceResult(GA_NAME, 6));
+        journal.shutdown();
+
+        final File[] files = findJournals(dir);
+        assertEquals(1, files.length);
+        final FileChannel ch = new FileOutputStream(files[0], true).getChannel();
+        try
+        {
+            ch.truncate(files[0].length() - 3);
+        } finally {
+            ch.close();
+        }
+
+        assertEquals(4, readAll(files, true).size());
+    }
+
+    /** The reader rejects a record length above {@link GameEventJournal#MAX_RECORD_LENGTH} without allocating it. */
+    @Test
+    public void testRecordLengthBound()
+        throws Exception
+    {
+        final File dir = testTmpFolder.getRoot();
+        final GameEventJournal journal = new GameEventJournal(dir, 64 * 1024, 10);
+        journal.gameStarted(GA_NAME);
+        journal.append(GA_NAME, -1, null, new SOCDiceResult(GA_NAME, 6));
+        journal.shutdown();
+
+        final File[] files = findJournals(dir);
+        assertEquals(1, files.length);
+        final DataOutputStream out = new DataOutputStream(new FileOutputStream(files[0], true));
+        try
+        {
+            out.writeInt(GameEventJournal.MAX_RECORD_LENGTH + 1);
+            out.writeInt(0);
+        } finally {
+            out.close();
+        }
+
+        final GameEventJournal.Reader in = new GameEventJournal.Reader(files[0]);
+        try
+        {
+            assertNotNull(in.next());
+            try
+            {
+                in.next();
+                fail("should reject record length");
+            } catch (IOException e) {
+                assertTrue(e.getMessage(), e.getMessage().startsWith("Malformed record length"));
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Replay creates the game from the first join, skips later joins' state and other players' events,
+     * and treats the rest.
+     */
+    @Test
+    public void testReplay()
+    {
+        final GameEventJournalReplay cli = new GameEventJournalReplay(SOCServer.PN_OBSERVER);
+        final long t = System.currentTimeMillis();
+        cli.replay(new GameEventJournal.Record
+            (t, SOCServer.PN_OBSERVER, null, new SOCJoinGameAuth(GA_NAME).toCmd()));
+        assertNotNull(cli.getGame(GA_NAME));
+        cli.replay(new GameEventJournal.Record(t, -1, null, new SOCSitDown(GA_NAME, "p2", 2, false).toCmd()));
+        assertEquals("p2", cli.getGame(GA_NAME).getPlayer(2).getName());
+
+        // later join: its game state shouldn't be replayed
+        cli.replay(new GameEventJournal.Record
+            (t, SOCServer.PN_OBSERVER, null, new SOCJoinGameAuth(GA_NAME).toCmd()));
+        cli.replay(new GameEventJournal.Record
+            (t, SOCServer.PN_OBSERVER, null, new SOCSitDown(GA_NAME, "old", 2, false).toCmd()));
+        assertEquals("p2", cli.getGame(GA_NAME).getPlayer(2).getName());
+
+        cli.replay(new GameEventJournal.Record(t, 1, null, new SOCSitDown(GA_NAME, "p1", 1, false).toCmd()));
+        assertTrue(cli.getGame(GA_NAME).isSeatVacant(1));
+        cli.replay(new GameEventJournal.Record(t, -1, new int[]{3}, "garbled"));
+
+        assertEquals(6, cli.getReadCount());
+        assertEquals(2, cli.getReplayedCount());
+        assertEquals(3, cli.getSkippedCount());
+        assertEquals(1, cli.getUnparsedCount());
+    }
+
+}
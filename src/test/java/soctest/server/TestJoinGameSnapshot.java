@@ -0,0 +1,149 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soctest.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import soc.game.SOCBoard;
+import soc.game.SOCGame;
+import soc.game.SOCPlayingPiece;
+import soc.message.SOCDiceResult;
+import soc.message.SOCGameServerText;
+import soc.message.SOCGameState;
+import soc.message.SOCJoinGame;
+import soc.message.SOCMessage;
+import soc.message.SOCMoveRobber;
+import soc.message.SOCPlayerElement;
+import soc.message.SOCPlayerElement.PEType;
+import soc.message.SOCPutPiece;
+import soc.message.SOCRevealFogHex;
+import soc.message.SOCSetTurn;
+import soc.message.SOCSimpleAction;
+import soc.message.SOCSitDown;
+import soc.server.SOCClientData;
+import soc.server.SOCJoinGameSnapshot;
+import soc.server.genericServer.EncodedFrame;
+import soc.server.genericServer.StringConnection;
+import soc.util.SOCFeatureSet;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SOCJoinGameSnapshot}: Cached sequences are reused only while current
+ * and only for the same client version and features.
+ * @since 2.4.50
+ */
+public class TestJoinGameSnapshot
+{
+    private static List<SOCMessage> msgs(final int cpn)
+    {
+        final List<SOCMessage> msgs = new ArrayList<SOCMessage>();
+        msgs.add(new SOCSetTurn("g", cpn));
+        return msgs;
+    }
+
+    /** Get, put, and invalidate; hit and miss counts. */
+    @Test
+    public void testVersions()
+    {
+        final SOCJoinGameSnapshot snap = new SOCJoinGameSnapshot();
+        final long hits = SOCJoinGameSnapshot.getHitCount(), misses = SOCJoinGameSnapshot.getMissCount();
+
+        int ver = snap.getVersion();
+        assertNull(snap.get("k", ver));
+        final List<EncodedFrame> frames = snap.put("k", ver, msgs(2));
+        assertEquals(1, frames.size());
+        assertEquals(new SOCSetTurn("g", 2).toCmd(), frames.get(0).getCommand());
+        assertSame(frames, snap.get("k", ver));
+        assertSame(frames, snap.get("k", snap.getVersion()));
+        assertNull("other key", snap.get("k2", ver));
+
+        snap.invalidate();
+        ver = snap.getVersion();
+        assertNull("out of date after invalidate", snap.get("k", ver));
+        final List<EncodedFrame> frames2 = snap.put("k", ver, msgs(3));
+        assertSame(frames2, snap.get("k", ver));
+
+        assertEquals(hits + 3, SOCJoinGameSnapshot.getHitCount());
+        assertEquals(misses + 3, SOCJoinGameSnapshot.getMissCount());
+    }
+
+    /** A sequence gathered while the game changed shouldn't be cached, but can still be sent. */
+    @Test
+    public void testChangedWhileGathering()
+    {
+        final SOCJoinGameSnapshot snap = new SOCJoinGameSnapshot();
+        final int ver = snap.getVersion();
+        snap.invalidate();
+        final List<EncodedFrame> frames = snap.put("k", ver, msgs(1));
+        assertEquals(1, frames.size());
+        assertNull(snap.get("k", ver));
+        assertNull(snap.get("k", snap.getVersion()));
+    }
+
+    /** Keys differ by client version and features. */
+    @Test
+    public void testKey()
+    {
+        final StringConnection c = new StringConnection();
+        c.setVersion(2450);
+        final SOCClientData scd = new SOCClientData();
+        final String k0 = SOCJoinGameSnapshot.key(c, null);
+        assertEquals(k0, SOCJoinGameSnapshot.key(c, scd));
+
+        scd.feats = new SOCFeatureSet(";6pl;sb;");
+        final String k1 = SOCJoinGameSnapshot.key(c, scd);
+        assertNotEquals(k0, k1);
+
+        c.setVersion(2000);
+        assertNotEquals(k1, SOCJoinGameSnapshot.key(c, scd));
+    }
+
+    /**
+     * Membership, text, and per-player broadcasts don't change cached board state;
+     * board, piece, turn, and game state changes do.
+     */
+    @Test
+    public void testIsBoardUnchangedBy()
+    {
+        assertTrue(SOCJoinGameSnapshot.isBoardUnchangedBy(new SOCJoinGame("obs", "", "-", "ga")));
+        assertTrue(SOCJoinGameSnapshot.isBoardUnchangedBy(new SOCGameServerText("ga", "hello")));
+        assertFalse(SOCJoinGameSnapshot.isBoardUnchangedBy(new SOCSetTurn("ga", 2)));
+        assertTrue(SOCJoinGameSnapshot.isBoardUnchangedBy(new SOCSitDown("ga", "p", 2, false)));
+        assertTrue(SOCJoinGameSnapshot.isBoardUnchangedBy(new SOCDiceResult("ga", 8)));
+        assertTrue(SOCJoinGameSnapshot.isBoardUnchangedBy
+            (new SOCSimpleAction("ga", 2, SOCSimpleAction.DEVCARD_BOUGHT, 20, 1)));
+        assertTrue(SOCJoinGameSnapshot.isBoardUnchangedBy
+            (new SOCPlayerElement("ga", 2, SOCPlayerElement.GAIN, PEType.CLAY, 1)));
+
+        assertFalse(SOCJoinGameSnapshot.isBoardUnchangedBy(new SOCSetTurn("ga", 2)));
+        assertFalse(SOCJoinGameSnapshot.isBoardUnchangedBy(new SOCMoveRobber("ga", 1, 0x55)));
+        assertFalse(SOCJoinGameSnapshot.isBoardUnchangedBy(new SOCPutPiece("ga", 1, SOCPlayingPiece.ROAD, 0x56)));
+        assertFalse(SOCJoinGameSnapshot.isBoardUnchangedBy(new SOCGameState("ga", SOCGame.PLAY1)));
+        assertFalse(SOCJoinGameSnapshot.isBoardUnchangedBy(new SOCRevealFogHex("ga", 0x307, SOCBoard.WOOD_HEX, 6)));
+        assertFalse(SOCJoinGameSnapshot.isBoardUnchangedBy
+            (new SOCSimpleAction("ga", -1, SOCSimpleAction.BOARD_EDGE_SET_SPECIAL, 0x705, 0)));
+        assertFalse(SOCJoinGameSnapshot.isBoardUnchangedBy
+            (new SOCPlayerElement("ga", -1, SOCPlayerElement.SET, PEType.SCENARIO_CLOTH_COUNT, 10)));
+    }
+
+}
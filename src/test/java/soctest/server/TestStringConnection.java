@@ -0,0 +1,103 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soctest.server;
+
+import java.io.EOFException;
+
+import soc.game.SOCPlayingPiece;
+import soc.game.SOCResourceSet;
+import soc.message.SOCMessage;
+import soc.message.SOCPlayerElement;
+import soc.message.SOCPlayerElements;
+import soc.message.SOCPutPiece;
+import soc.server.genericServer.EncodedFrame;
+import soc.server.genericServer.StringConnection;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link StringConnection} passing message objects or strings between local peers.
+ * @since 2.4.50
+ */
+public class TestStringConnection
+{
+    /** Make a pair of accepted peers; sender is element 0, receiver is 1. */
+    private static StringConnection[] makePeers()
+        throws EOFException
+    {
+        final StringConnection a = new StringConnection(), b = new StringConnection(a);
+        a.setAccepted();
+        b.setAccepted();
+        return new StringConnection[]{a, b};
+    }
+
+    /**
+     * A message with only immutable fields is passed as the same object,
+     * unless {@link StringConnection#PROP_JSETTLERS_DEBUG_STRINGCONN_TEXT} is set.
+     */
+    @Test
+    public void testPutImmutableMessage()
+        throws EOFException
+    {
+        final StringConnection[] peers = makePeers();
+        final SOCPutPiece msg = new SOCPutPiece("ga", 2, SOCPlayingPiece.SETTLEMENT, 0x405);
+
+        peers[0].put(msg);
+        final SOCMessage recv = peers[1].readNextMessage();
+        if (null == System.getProperty(StringConnection.PROP_JSETTLERS_DEBUG_STRINGCONN_TEXT))
+            assertSame(msg, recv);
+        assertEquals(msg.toCmd(), recv.toCmd());
+
+        peers[0].put(new EncodedFrame(msg));
+        assertEquals("readNext formats objects", msg.toCmd(), peers[1].readNext());
+    }
+
+    /** A message with an array field is sent as text, so sender and receiver don't share the array. */
+    @Test
+    public void testPutMessageWithArray()
+        throws EOFException
+    {
+        final StringConnection[] peers = makePeers();
+        final SOCPlayerElements msg = new SOCPlayerElements
+            ("ga", 1, SOCPlayerElement.GAIN, new SOCResourceSet(1, 0, 2, 0, 0, 0));
+
+        peers[0].put(msg);
+        final SOCMessage recv = peers[1].readNextMessage();
+        assertNotSame(msg, recv);
+        assertTrue(recv instanceof SOCPlayerElements);
+        assertEquals(msg.toCmd(), recv.toCmd());
+    }
+
+    /** Strings are still parsed by {@link StringConnection#readNextMessage()}. */
+    @Test
+    public void testPutString()
+        throws EOFException
+    {
+        final StringConnection[] peers = makePeers();
+        final String cmd = new SOCPutPiece("ga", 3, SOCPlayingPiece.ROAD, 0x406).toCmd();
+
+        peers[0].put(cmd);
+        final SOCMessage recv = peers[1].readNextMessage();
+        assertTrue(recv instanceof SOCPutPiece);
+        assertEquals(cmd, recv.toCmd());
+    }
+
+}
@@ -0,0 +1,151 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soctest.server.genericServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.UTFDataFormatException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+import soc.game.SOCPlayingPiece;
+import soc.message.SOCGameTextMsg;
+import soc.message.SOCMessage;
+import soc.message.SOCPutPiece;
+import soc.server.genericServer.Connection;
+import soc.server.genericServer.EncodedFrame;
+import soc.server.genericServer.StringConnection;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link EncodedFrame}: Lazy formatting, encoding once, sharing among recipients.
+ * @since 2.4.50
+ */
+public class TestEncodedFrame
+{
+    /** Frame's command is formatted when needed, same as {@code toCmd()}, and parses back to the same message. */
+    @Test
+    public void testGetCommandAndMessage()
+    {
+        final SOCPutPiece msg = new SOCPutPiece("ga", 2, SOCPlayingPiece.SETTLEMENT, 0x405);
+        final EncodedFrame fr = new EncodedFrame(msg);
+        assertSame(msg, fr.getMessage());
+        assertEquals(msg.toCmd(), fr.getCommand());
+        assertSame("formatted only once", fr.getCommand(), fr.getCommand());
+        assertEquals(msg.toCmd(), fr.toString());
+
+        final SOCMessage parsed = SOCMessage.toMsg(fr.getCommand());
+        assertTrue(parsed instanceof SOCPutPiece);
+        assertEquals(msg.toString(), parsed.toString());
+
+        final EncodedFrame strFr = new EncodedFrame(msg.toCmd());
+        assertNull(strFr.getMessage());
+        assertEquals(msg.toCmd(), strFr.getCommand());
+
+        try
+        {
+            new EncodedFrame((SOCMessage) null);
+            fail("should throw IllegalArgumentException");
+        } catch (IllegalArgumentException e) {}
+        try
+        {
+            new EncodedFrame((String) null);
+            fail("should throw IllegalArgumentException");
+        } catch (IllegalArgumentException e) {}
+    }
+
+    /**
+     * Frame is encoded once no matter how many threads ask for it, and its bytes are the same
+     * as {@link java.io.DataOutputStream#writeUTF(String)} would write.
+     */
+    @Test
+    public void testEncodeOnceShared()
+        throws Exception
+    {
+        final String text = "shared € é";
+        final EncodedFrame fr = new EncodedFrame(new SOCGameTextMsg("ga", "p", text));
+        final long encodes = EncodedFrame.getEncodeCount(), saved = EncodedFrame.getEncodesSavedCount();
+
+        final int nThreads = 8;
+        final byte[][] frames = new byte[nThreads][];
+        final CountDownLatch start = new CountDownLatch(1);
+        final Thread[] threads = new Thread[nThreads];
+        for (int i = 0; i < nThreads; ++i)
+        {
+            final int ti = i;
+            threads[i] = new Thread()
+            {
+                public void run()
+                {
+                    try
+                    {
+                        start.await();
+                        frames[ti] = fr.getFrame();
+                    } catch (Exception e) {}
+                }
+            };
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread th : threads)
+            th.join(5000);
+
+        for (byte[] b : frames)
+            assertSame(frames[0], b);
+        assertTrue(EncodedFrame.getEncodeCount() - encodes >= 1);
+        assertTrue(EncodedFrame.getEncodesSavedCount() - saved >= nThreads - 1);
+
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(frames[0]));
+        assertEquals(fr.getCommand(), in.readUTF());
+        assertEquals(-1, in.read());
+        final SOCMessage parsed = SOCMessage.toMsg(fr.getCommand());
+        assertEquals(text, ((SOCGameTextMsg) parsed).getText());
+    }
+
+    /** One frame sent to several local connections gives each the same message, without encoding. */
+    @Test
+    public void testSendToSeveralConnections()
+        throws Exception
+    {
+        final SOCPutPiece msg = new SOCPutPiece("ga", 1, SOCPlayingPiece.ROAD, 0x406);
+        final EncodedFrame fr = new EncodedFrame(msg);
+        for (int i = 0; i < 3; ++i)
+        {
+            final StringConnection a = new StringConnection(), b = new StringConnection(a);
+            a.setAccepted();
+            b.setAccepted();
+            a.put(fr);
+            assertEquals(msg.toCmd(), b.readNextMessage().toCmd());
+        }
+    }
+
+    /** A message too long to encode throws, like {@link java.io.DataOutputStream#writeUTF(String)}. */
+    @Test(expected=UTFDataFormatException.class)
+    public void testTooLong()
+        throws Exception
+    {
+        final char[] ch = new char[Connection.MAX_MESSAGE_SIZE_UTF8 / 2 + 1];
+        Arrays.fill(ch, 'é');
+        new EncodedFrame(new String(ch)).getFrame();
+    }
+
+}
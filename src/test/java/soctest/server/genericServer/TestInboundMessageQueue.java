@@ -0,0 +1,289 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soctest.server.genericServer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import soc.message.SOCGameTextMsg;
+import soc.message.SOCJoinGame;
+import soc.message.SOCMessage;
+import soc.message.SOCServerPing;
+import soc.server.genericServer.Connection;
+import soc.server.genericServer.InboundMessageQueue;
+import soc.server.genericServer.Server;
+import soc.server.genericServer.StringConnection;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link InboundMessageQueue}: Lane assignment, message order, and shutdown.
+ * @since 2.4.50
+ */
+public class TestInboundMessageQueue
+{
+    /** Dispatcher which records each message and the name of the thread which dispatched it. */
+    private static class RecordingDispatcher implements Server.InboundMessageDispatcher
+    {
+        /** Each dispatched message's connection, message, and thread name; guarded by synchronizing on this list */
+        final List<Object[]> dispatched = new ArrayList<>();
+
+        /** If not null, dispatching a message with this text waits for {@link #release} */
+        volatile String blockOnText;
+        final CountDownLatch release = new CountDownLatch(1);
+
+        public void dispatch(final SOCMessage mes, final Connection con)
+        {
+            if ((blockOnText != null) && (mes instanceof SOCGameTextMsg)
+                && blockOnText.equals(((SOCGameTextMsg) mes).getText()))
+            {
+                try
+                {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {}
+            }
+
+            synchronized (dispatched)
+            {
+                dispatched.add(new Object[]{con, mes, Thread.currentThread().getName()});
+            }
+        }
+
+        /** Wait up to 5 seconds until at least {@code n} messages are dispatched. */
+        List<Object[]> waitFor(final int n)
+            throws InterruptedException
+        {
+            for (int i = 0; i < 100; ++i)
+            {
+                synchronized (dispatched)
+                {
+                    if (dispatched.size() >= n)
+                        return new ArrayList<>(dispatched);
+                }
+                Thread.sleep(50);
+            }
+
+            fail("timed out waiting for " + n + " messages");
+            return null;
+        }
+    }
+
+    /** Thread name of a lane's Treater. */
+    private static String laneThreadName(final int lane)
+    {
+        return (lane == InboundMessageQueue.LANE_SERVER) ? "treater" : "treater-game-" + lane;
+    }
+
+    /** Game messages go to their game's lane, the same lane each time; others go to the server lane. */
+    @Test
+    public void testLaneForGame()
+    {
+        final InboundMessageQueue single = new InboundMessageQueue(new RecordingDispatcher());
+        assertEquals(0, single.getGameLaneCount());
+        assertEquals(InboundMessageQueue.LANE_SERVER, single.laneForGame("ga"));
+
+        final InboundMessageQueue q = new InboundMessageQueue(new RecordingDispatcher(), 4);
+        assertEquals(4, q.getGameLaneCount());
+        assertEquals(InboundMessageQueue.LANE_SERVER, q.laneForGame(null));
+        assertEquals(InboundMessageQueue.LANE_SERVER, q.laneForGame(SOCMessage.GAME_NONE));
+        boolean[] used = new boolean[5];
+        for (int i = 0; i < 100; ++i)
+        {
+            final String gaName = "game" + i;
+            final int lane = q.laneForGame(gaName);
+            assertTrue(lane >= 1 && lane <= 4);
+            assertEquals(lane, q.laneForGame(gaName));
+            used[lane] = true;
+        }
+        assertTrue(used[1] && used[2] && used[3] && used[4]);
+        assertEquals(-1, q.getCurrentThreadLane());
+        assertFalse(q.isCurrentThreadTreater());
+    }
+
+    /**
+     * Each game's messages from several connections are dispatched in order by their game's lane;
+     * join messages use their game's lane, other messages use the server lane.
+     */
+    @Test
+    public void testPerGameOrder()
+        throws Exception
+    {
+        final RecordingDispatcher disp = new RecordingDispatcher();
+        final InboundMessageQueue q = new InboundMessageQueue(disp, 3);
+        final String[] games = {"ga0", "ga1", "ga2", "ga3"};
+        final StringConnection[] conns = new StringConnection[games.length];
+        for (int i = 0; i < conns.length; ++i)
+            conns[i] = new StringConnection();
+
+        for (int i = 0; i < games.length; ++i)
+            q.push(new SOCJoinGame("p", "", "-", games[i]), conns[i]);
+        for (int n = 0; n < 50; ++n)
+            for (int i = 0; i < games.length; ++i)
+                q.push(new SOCGameTextMsg(games[i], "p", Integer.toString(n)), conns[i]);
+        q.startMessageProcessing();
+        final List<Object[]> recs = disp.waitFor(games.length * 51);
+
+        // wait for all connections to have no messages in lanes, then send a non-game message
+        Thread.sleep(100);
+        q.push(new SOCServerPing(0), conns[0]);
+        final Object[] last = disp.waitFor(games.length * 51 + 1).get(games.length * 51);
+        assertEquals(laneThreadName(InboundMessageQueue.LANE_SERVER), last[2]);
+        q.stopMessageProcessing();
+
+        final int[] next = new int[games.length];
+        for (Object[] rec : recs)
+        {
+            int i = 0;
+            while (rec[0] != conns[i])
+                ++i;
+            assertEquals(laneThreadName(q.laneForGame(games[i])), rec[2]);
+            if (rec[1] instanceof SOCJoinGame)
+            {
+                assertEquals(0, next[i]);
+            } else {
+                assertEquals(Integer.toString(next[i]), ((SOCGameTextMsg) rec[1]).getText());
+                ++next[i];
+            }
+        }
+        for (int i = 0; i < games.length; ++i)
+            assertEquals(50, next[i]);
+    }
+
+    /**
+     * Game messages always use their game's lane, even from a connection which has messages
+     * in another lane, so each game's messages from all connections stay in order.
+     * While a connection has messages in a lane, its messages not about a game follow them in that lane.
+     */
+    @Test
+    public void testConnectionOrderAcrossLanes()
+        throws Exception
+    {
+        final RecordingDispatcher disp = new RecordingDispatcher();
+        final InboundMessageQueue q = new InboundMessageQueue(disp, 3);
+        String ga2 = "gb";
+        for (int i = 0; q.laneForGame(ga2) == q.laneForGame("ga"); ++i)
+            ga2 = "gb" + i;
+        final int gaLane = q.laneForGame("ga"), ga2Lane = q.laneForGame(ga2);
+        final StringConnection c = new StringConnection(), c2 = new StringConnection(),
+            other = new StringConnection();
+
+        disp.blockOnText = "slow";
+        q.startMessageProcessing();
+        q.push(new SOCGameTextMsg("ga", "p", "slow"), c);
+        q.push(new SOCServerPing(0), c);
+        q.push(new SOCGameTextMsg(ga2, "p", "other game"), c);
+        q.push(new SOCGameTextMsg("ga", "p", "same game"), c2);
+        q.push(new SOCServerPing(1), other);
+
+        // other game's lane and other connection aren't held up
+        disp.waitFor(2);
+        Thread.sleep(200);
+        List<Object[]> recs = disp.waitFor(2);
+        assertEquals(2, recs.size());
+        for (Object[] rec : recs)
+        {
+            if (rec[0] == other)
+            {
+                assertEquals(laneThreadName(InboundMessageQueue.LANE_SERVER), rec[2]);
+            } else {
+                assertSame(c, rec[0]);
+                assertEquals("other game", ((SOCGameTextMsg) rec[1]).getText());
+                assertEquals(laneThreadName(ga2Lane), rec[2]);
+            }
+        }
+
+        disp.release.countDown();
+        recs = disp.waitFor(5);
+        assertEquals("slow", ((SOCGameTextMsg) recs.get(2)[1]).getText());
+        assertTrue(recs.get(3)[1] instanceof SOCServerPing);
+        assertSame(c, recs.get(3)[0]);
+        assertEquals("same game", ((SOCGameTextMsg) recs.get(4)[1]).getText());
+        for (int i = 2; i < 5; ++i)
+            assertEquals(laneThreadName(gaLane), recs.get(i)[2]);
+
+        // afterwards, connection's non-game messages go to the server lane again
+        Thread.sleep(100);
+        q.push(new SOCServerPing(2), c);
+        recs = disp.waitFor(6);
+        assertEquals(laneThreadName(InboundMessageQueue.LANE_SERVER), recs.get(5)[2]);
+
+        q.stopMessageProcessing();
+    }
+
+    /** Posted code runs on the caller's lane or the server lane; after stop, all Treater threads end. */
+    @Test
+    public void testPostAndShutdown()
+        throws Exception
+    {
+        final InboundMessageQueue q = new InboundMessageQueue(new RecordingDispatcher(), 2);
+        q.startMessageProcessing();
+
+        final Thread[] laneThreads = new Thread[3];
+        final int[] postedLanes = new int[3];
+        final CountDownLatch ran = new CountDownLatch(3);
+        for (int lane = 0; lane < 3; ++lane)
+        {
+            final int l = lane;
+            q.postToLane(lane, new Runnable()
+            {
+                public void run()
+                {
+                    laneThreads[l] = Thread.currentThread();
+                    q.post(new Runnable()
+                    {
+                        public void run()
+                        {
+                            postedLanes[l] = q.getCurrentThreadLane();
+                            ran.countDown();
+                        }
+                    });
+                }
+            });
+        }
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        for (int lane = 0; lane < 3; ++lane)
+        {
+            assertEquals(lane, postedLanes[lane]);
+            assertEquals(laneThreadName(lane), laneThreads[lane].getName());
+        }
+
+        q.stopMessageProcessing();
+        for (Thread th : laneThreads)
+        {
+            th.join(3000);
+            assertFalse(th.getName(), th.isAlive());
+        }
+
+        final boolean[] ranAfterStop = {false};
+        q.post(new Runnable()
+        {
+            public void run()
+            {
+                ranAfterStop[0] = true;
+            }
+        });
+        Thread.sleep(200);
+        assertFalse(ranAfterStop[0]);
+    }
+
+}
@@ -0,0 +1,245 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soctest.server.genericServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import soc.message.SOCGameTextMsg;
+import soc.message.SOCMessage;
+import soc.server.SOCServer;
+import soc.server.genericServer.Connection;
+import soc.server.genericServer.Server;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the NIO server socket and connections ({@link SOCServer#PROP_JSETTLERS_NET_NIO__THREADS}):
+ * Frame decoding with partial reads, several frames per read, and frames larger than the read buffer;
+ * frame encoding compared to {@link DataInputStream#readUTF()}; connect, send, and close.
+ * Uses a minimal {@link Server} on a local TCP port, and a plain client {@link Socket}.
+ * @since 2.4.50
+ */
+public class TestNioConnection
+{
+    /** Minimal server which records new and removed connections. */
+    private static class NioTestServer extends Server
+    {
+        final BlockingQueue<Connection> added = new LinkedBlockingQueue<>(), left = new LinkedBlockingQueue<>();
+
+        NioTestServer(final int port, final Server.InboundMessageDispatcher imd, final Properties props)
+        {
+            super(port, imd, props);
+        }
+
+        @Override
+        protected void newConnection2(final Connection c)
+        {
+            added.add(c);
+        }
+
+        @Override
+        protected void leaveConnection(final Connection c)
+        {
+            left.add(c);
+        }
+    }
+
+    /** Messages dispatched by the server, in order */
+    private final BlockingQueue<SOCMessage> received = new LinkedBlockingQueue<>();
+
+    private NioTestServer srv;
+    private int port;
+
+    @Before
+    public void startServer()
+        throws Exception
+    {
+        final ServerSocket ss = new ServerSocket(0);
+        port = ss.getLocalPort();
+        ss.close();
+
+        final Properties props = new Properties();
+        props.setProperty(SOCServer.PROP_JSETTLERS_NET_NIO__THREADS, "1");
+        srv = new NioTestServer(port, new Server.InboundMessageDispatcher()
+        {
+            public void dispatch(final SOCMessage mes, final Connection con)
+            {
+                received.add(mes);
+            }
+        }, props);
+        srv.start();
+        for (int i = 0; (i < 100) && ! srv.isUp(); ++i)
+            Thread.sleep(20);
+        assertTrue(srv.isUp());
+    }
+
+    @After
+    public void stopServer()
+    {
+        if (srv != null)
+            srv.stopServer();
+    }
+
+    /** Encode a string like {@link DataOutputStream#writeUTF(String)}. */
+    private static byte[] frame(final String str)
+        throws IOException
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new DataOutputStream(bytes).writeUTF(str);
+
+        return bytes.toByteArray();
+    }
+
+    /** Concatenate byte arrays. */
+    private static byte[] concat(final byte[]... parts)
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (byte[] b : parts)
+            bytes.write(b, 0, b.length);
+
+        return bytes.toByteArray();
+    }
+
+    /** Take the next dispatched game text message, waiting up to 5 seconds. */
+    private String nextText()
+        throws InterruptedException
+    {
+        final SOCMessage mes = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull("timed out waiting for message", mes);
+        assertTrue(mes.toString(), mes instanceof SOCGameTextMsg);
+
+        return ((SOCGameTextMsg) mes).getText();
+    }
+
+    /** Frames split across reads, several per read, or larger than the read buffer are all decoded in order. */
+    @Test
+    public void testReadFraming()
+        throws Exception
+    {
+        final char[] big = new char[30000];
+        Arrays.fill(big, 'é');  // 2 bytes each when encoded
+        final String bigText = new String(big);
+        final String[] texts = {"first", "two", "three €", bigText, "after big"};
+        final byte[][] frames = new byte[texts.length][];
+        for (int i = 0; i < texts.length; ++i)
+            frames[i] = frame(new SOCGameTextMsg("ga", "p", texts[i]).toCmd());
+
+        final Socket s = new Socket("localhost", port);
+        try
+        {
+            final OutputStream out = s.getOutputStream();
+
+            // one byte at a time
+            for (byte b : frames[0])
+            {
+                out.write(b);
+                out.flush();
+                Thread.sleep(2);
+            }
+            assertEquals(texts[0], nextText());
+
+            // two frames and part of a third, then the rest of it
+            final byte[] several = concat(frames[1], frames[2], frames[3]);
+            final int splitAt = frames[1].length + frames[2].length + 3;
+            out.write(several, 0, splitAt);
+            out.flush();
+            assertEquals(texts[1], nextText());
+            assertEquals(texts[2], nextText());
+            Thread.sleep(50);
+            out.write(several, splitAt, several.length - splitAt);
+            out.write(frames[4]);
+            out.flush();
+            assertEquals(bigText, nextText());
+            assertEquals(texts[4], nextText());
+        } finally {
+            s.close();
+        }
+
+        assertNotNull("should remove closed connection", srv.left.poll(5, TimeUnit.SECONDS));
+    }
+
+    /** Malformed modified UTF-8 removes the connection. */
+    @Test
+    public void testReadMalformed()
+        throws Exception
+    {
+        final Socket s = new Socket("localhost", port);
+        try
+        {
+            s.getOutputStream().write(new byte[]{0, 3, 'a', (byte) 0xC3, 'b'});
+            s.getOutputStream().flush();
+            assertNotNull("should remove connection", srv.left.poll(5, TimeUnit.SECONDS));
+            assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+        } finally {
+            s.close();
+        }
+    }
+
+    /**
+     * Server's sends, including a burst larger than the socket buffers, are read back in order
+     * with {@link DataInputStream#readUTF()}; a string too long to send removes the connection.
+     */
+    @Test
+    public void testSendAndClose()
+        throws Exception
+    {
+        final Socket s = new Socket("localhost", port);
+        try
+        {
+            final Connection c = srv.added.poll(5, TimeUnit.SECONDS);
+            assertNotNull(c);
+            final DataInputStream in = new DataInputStream(s.getInputStream());
+
+            c.put("hello € é \u0000");
+            assertEquals("hello € é \u0000", in.readUTF());
+
+            final char[] chunk = new char[20000];
+            Arrays.fill(chunk, 'x');
+            final String chunkStr = new String(chunk);
+            for (int i = 0; i < 200; ++i)
+                c.put(i + chunkStr);
+            for (int i = 0; i < 200; ++i)
+                assertEquals(i + chunkStr, in.readUTF());
+
+            final char[] tooLong = new char[Connection.MAX_MESSAGE_SIZE_UTF8 + 1];
+            Arrays.fill(tooLong, 'y');
+            c.put(new String(tooLong));
+            assertSame(c, srv.left.poll(5, TimeUnit.SECONDS));
+            assertEquals("connection should be closed", -1, in.read());
+        } finally {
+            s.close();
+        }
+    }
+
+}
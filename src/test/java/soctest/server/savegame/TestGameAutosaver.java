@@ -0,0 +1,173 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soctest.server.savegame;
+
+import java.io.File;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+import soc.game.SOCGame;
+import soc.server.SOCServer;
+import soc.server.savegame.GameAutosaver;
+import soc.server.savegame.GameLoaderJSON;
+import soc.server.savegame.GameSaverJSON;
+import soc.server.savegame.SavedGameModel;
+
+/**
+ * Tests for {@link GameAutosaver}, using a game loaded from test artifacts
+ * and a junit temporary folder.
+ *
+ * @see TestSavegame
+ * @since 2.4.50
+ */
+public class TestGameAutosaver
+{
+    private static SOCServer srv;
+
+    /** dummy server setup, to avoid IllegalStateException etc from {@link GameLoaderJSON} or {@link GameSaverJSON} */
+    @BeforeClass
+    public static void setup()
+        throws Exception
+    {
+        srv = new SOCServer("dummy", 0, null, null);
+    }
+
+    /** This folder and all contents are created at start of each test method, deleted at end of it */
+    @Rule
+    public TemporaryFolder testTmpFolder = new TemporaryFolder();
+
+    /** Load a resumed game to autosave. */
+    private static SOCGame loadResumed()
+        throws Exception
+    {
+        final SavedGameModel sgm = TestLoadgame.load("classic-botturn.game.json", srv);
+        if (sgm.findSeatsNeedingBots() != null)  // if not already filled during an earlier test
+            TestLoadgame.fillSeatsForResume(sgm);
+        return sgm.resumePlay(true);
+    }
+
+    /** Wait up to 5 seconds for a condition which the autosaver's thread should make true. */
+    private static boolean waitFor(final File f, final boolean exists)
+        throws InterruptedException
+    {
+        for (int i = 0; (i < 100) && (f.exists() != exists); ++i)
+            Thread.sleep(50);
+
+        return (f.exists() == exists);
+    }
+
+    /** Filenames are safe and distinct for similar game names. */
+    @Test
+    public void testFilenameFor()
+    {
+        final String fn1 = GameAutosaver.filenameFor("my game/1*?"), fn2 = GameAutosaver.filenameFor("my game_1*?");
+        assertTrue(fn1, fn1.matches("autosave_[A-Za-z0-9_]+\\.game\\.json"));
+        assertTrue(fn1.startsWith("autosave_my_game_1___"));
+        assertNotEquals(fn1, fn2);
+        assertEquals(fn1, GameAutosaver.filenameFor("my game/1*?"));
+    }
+
+    /**
+     * Checkpoint writes the game to a file which can be loaded, at most once per interval;
+     * ending the game deletes the file.
+     */
+    @Test
+    public void testCheckpointAndGameEnded()
+        throws Exception
+    {
+        final SOCGame ga = loadResumed();
+        final File dir = testTmpFolder.getRoot();
+        final GameAutosaver autosaver = new GameAutosaver(srv, dir, 3600);
+        final File f = new File(dir, GameAutosaver.filenameFor(ga.getName()));
+
+        assertTrue(autosaver.checkpoint(ga));
+        assertTrue("should write file", waitFor(f, true));
+        assertFalse("too soon for another", autosaver.checkpoint(ga));
+        assertEquals(1, autosaver.findAutosaves().length);
+        assertFalse(new File(dir, f.getName() + GameSaverJSON.TEMP_FILENAME_EXTENSION).exists());
+
+        for (int i = 0; (i < 100) && (autosaver.getWriteCount() == 0); ++i)
+            Thread.sleep(50);
+        assertEquals(1, autosaver.getWriteCount());
+        assertEquals(0, autosaver.getWriteFailCount());
+        assertEquals(f.length(), autosaver.getWriteBytes());
+
+        final SavedGameModel sgm = GameLoaderJSON.loadGame(f, srv);
+        TestLoadgame.checkReloaded_ClassicBotturn(sgm);
+
+        autosaver.gameEnded(ga.getName());
+        assertTrue("should delete file", waitFor(f, false));
+        autosaver.shutdown();
+    }
+
+    /** After shutdown, games being destroyed keep their autosaves, and no more are taken. */
+    @Test
+    public void testShutdownKeepsAutosaves()
+        throws Exception
+    {
+        final SOCGame ga = loadResumed();
+        final File dir = testTmpFolder.getRoot();
+        final GameAutosaver autosaver = new GameAutosaver(srv, dir, 0);
+        final File f = new File(dir, GameAutosaver.filenameFor(ga.getName()));
+
+        assertTrue(autosaver.checkpoint(ga));
+        autosaver.shutdown();
+        assertTrue("shutdown should finish writing", f.exists());
+
+        autosaver.gameEnded(ga.getName());
+        assertFalse(autosaver.checkpoint(ga));
+        Thread.sleep(100);
+        assertTrue(f.exists());
+    }
+
+    /**
+     * A game which is won, then has the server shut down before it's destroyed,
+     * shouldn't leave an autosave to be resumed at next startup.
+     */
+    @Test
+    public void testWonGameThenShutdown()
+        throws Exception
+    {
+        final SOCGame ga = loadResumed();
+        final File dir = testTmpFolder.getRoot();
+        final GameAutosaver autosaver = new GameAutosaver(srv, dir, 0);
+        final File f = new File(dir, GameAutosaver.filenameFor(ga.getName()));
+
+        assertTrue(autosaver.checkpoint(ga));
+        assertTrue("should write file", waitFor(f, true));
+
+        // game is won; server's game-over tasks call gameEnded
+        ga.setGameState(SOCGame.OVER);
+        autosaver.gameEnded(ga.getName());
+        assertFalse(autosaver.checkpoint(ga));
+
+        // server shuts down while game is still in the game list
+        autosaver.shutdown();
+        autosaver.gameEnded(ga.getName());
+        assertFalse("shutdown should finish deleting", f.exists());
+        assertEquals(0, autosaver.findAutosaves().length);
+    }
+
+}
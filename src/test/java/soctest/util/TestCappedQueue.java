@@ -0,0 +1,99 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soctest.util;
+
+import soc.util.CappedQueue;
+import soc.util.CutoffExceededException;
+import soc.util.VirtualThreads;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CappedQueue}, and creating threads with {@link VirtualThreads}.
+ * @since 2.4.50
+ */
+public class TestCappedQueue
+{
+    /** Items come out in the order put, including null; the size limit is enforced. */
+    @Test
+    public void testOrderAndLimit()
+        throws CutoffExceededException
+    {
+        final CappedQueue<String> q = new CappedQueue<String>(3);
+        assertTrue(q.empty());
+        q.put("a");
+        q.put(null);
+        assertFalse(q.empty());
+        assertEquals("a", q.get());
+        assertNull(q.get());
+        assertTrue(q.empty());
+
+        q.put("b");
+        q.put("c");
+        try
+        {
+            q.put("d");
+            fail("should throw at size limit");
+        } catch (CutoffExceededException e) {}
+        assertEquals("b", q.get());
+        assertEquals("c", q.get());
+        assertEquals("d", q.get());
+        assertTrue(q.empty());
+    }
+
+    /**
+     * {@link CappedQueue#get()} waits for another thread's put, on a virtual thread if supported.
+     */
+    @Test(timeout=10000)
+    public void testGetWaits()
+        throws Exception
+    {
+        final CappedQueue<Integer> q = new CappedQueue<Integer>();
+        final int[] sum = new int[1];
+        final Runnable consumer = new Runnable()
+        {
+            public void run()
+            {
+                for (Integer i = q.get(); i != null; i = q.get())
+                    sum[0] += i;
+            }
+        };
+
+        Thread th = VirtualThreads.newThread(consumer, "testGetWaits");
+        assertEquals(VirtualThreads.isSupported(), (th != null));
+        if (th == null)
+            th = new Thread(consumer);
+        th.start();
+
+        for (int i = 1; i <= 100; ++i)
+        {
+            q.put(i);
+            if (i % 10 == 0)
+                Thread.sleep(5);
+        }
+        q.put(null);
+        th.join();
+
+        assertEquals(5050, sum[0]);
+        assertTrue(q.empty());
+    }
+
+}
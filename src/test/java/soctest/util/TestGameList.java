@@ -20,7 +20,15 @@
 
 package soctest.util;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import soc.util.SOCGameList;
+import soc.util.SOCGameLock;
 
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -53,4 +61,213 @@ public class TestGameList
         assertTrue(SOCGameList.REGEX_ALL_DIGITS_OR_PUNCT.matcher("。").matches());  // jp
     }
 
+    /**
+     * Game monitors: Waiting threads should take a game's monitor in the order they arrived,
+     * and wait and hold times should be recorded.
+     * @since 2.4.50
+     */
+    @Test(timeout=10000)
+    public void testGameMonitorFairHandoff()
+        throws InterruptedException
+    {
+        final SOCGameList gl = new SOCGameList(null);
+        gl.addGame("g", null, false);
+        final SOCGameLock lock = gl.getGameLock("g");
+        assertNotNull(lock);
+        assertNull(gl.getGameLock("xyz"));
+
+        assertTrue(gl.takeMonitorForGame("g"));
+        assertTrue(lock.isHeldByCurrentThread());
+
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+        final Thread[] waiters = new Thread[4];
+        for (int i = 0; i < waiters.length; ++i)
+        {
+            final int n = i;
+            waiters[i] = new Thread()
+            {
+                public void run()
+                {
+                    if (gl.takeMonitorForGame("g"))
+                    {
+                        order.add(n);
+                        gl.releaseMonitorForGame("g");
+                    }
+                }
+            };
+            waiters[i].start();
+            while (lock.getQueueLength() < i + 1)
+                Thread.sleep(1);
+        }
+
+        assertTrue(gl.releaseMonitorForGame("g"));
+        assertFalse(lock.isHeldByCurrentThread());
+        for (Thread t : waiters)
+            t.join();
+
+        assertEquals("[0, 1, 2, 3]", order.toString());
+        assertEquals(5, lock.getHoldHistogram().getCount());
+        assertEquals(5, lock.getWaitHistogram().getCount());
+        assertTrue(lock.getWaitHistogram().getMaxNanos() > 0);
+    }
+
+    /**
+     * Game monitors: Reentrant take, release after game is deleted,
+     * and a waiting thread giving up when the game is deleted.
+     * @since 2.4.50
+     */
+    @Test(timeout=10000)
+    public void testGameMonitorDeleted()
+        throws InterruptedException
+    {
+        final SOCGameList gl = new SOCGameList(null);
+        gl.addGame("g", null, false);
+        assertFalse(gl.takeMonitorForGame("xyz"));
+        assertFalse(gl.releaseMonitorForGame("g"));  // not held yet
+
+        assertTrue(gl.takeMonitorForGame("g"));
+        assertTrue(gl.takeMonitorForGame("g"));
+        final SOCGameLock lock = gl.getGameLock("g");
+
+        final AtomicBoolean waiterTook = new AtomicBoolean(true);
+        final Thread waiter = new Thread()
+        {
+            public void run()
+            {
+                waiterTook.set(gl.takeMonitorForGame("g"));
+            }
+        };
+        waiter.start();
+        while (lock.getQueueLength() == 0)
+            Thread.sleep(1);
+
+        gl.deleteGame("g");
+        waiter.join();
+        assertFalse("waiter should give up when game deleted", waiterTook.get());
+        assertTrue(lock.isDestroyed());
+
+        assertTrue(gl.releaseMonitorForGame("g"));
+        assertTrue(lock.isHeldByCurrentThread());
+        assertTrue(gl.releaseMonitorForGame("g"));
+        assertFalse(lock.isHeldByCurrentThread());
+        assertFalse(gl.releaseMonitorForGame("g"));
+        assertEquals(1, lock.getHoldHistogram().getCount());
+    }
+
+    /**
+     * Game monitors: Read monitor is shared only if {@link SOCGameList#setReadWriteSplit(boolean)}.
+     * @since 2.4.50
+     */
+    @Test(timeout=10000)
+    public void testReadMonitorSharing()
+        throws InterruptedException
+    {
+        final SOCGameList gl = new SOCGameList(null);
+        gl.addGame("g", null, false);
+
+        assertFalse(tryReadMonitorFromOtherThread(gl, "g"));  // not yet split: exclusive
+
+        gl.setReadWriteSplit(true);
+        assertTrue(tryReadMonitorFromOtherThread(gl, "g"));
+
+        // exclusive monitor should wait for readers
+        assertTrue(gl.takeReadMonitorForGame("g"));
+        try
+        {
+            gl.takeMonitorForGame("g");
+            fail("should not upgrade shared to exclusive");
+        } catch (IllegalStateException e) {}
+        final CountDownLatch took = new CountDownLatch(1);
+        final Thread writer = new Thread()
+        {
+            public void run()
+            {
+                if (gl.takeMonitorForGame("g"))
+                {
+                    took.countDown();
+                    gl.releaseMonitorForGame("g");
+                }
+            }
+        };
+        writer.start();
+        assertFalse(took.await(100, TimeUnit.MILLISECONDS));
+        assertTrue(gl.releaseReadMonitorForGame("g"));
+        assertTrue(took.await(5, TimeUnit.SECONDS));
+        writer.join();
+    }
+
+    /**
+     * While holding the read monitor for a game, try to take it from another thread without waiting long.
+     * @return true if the other thread took it
+     */
+    private static boolean tryReadMonitorFromOtherThread(final SOCGameList gl, final String gaName)
+        throws InterruptedException
+    {
+        assertTrue(gl.takeReadMonitorForGame(gaName));
+        final CountDownLatch took = new CountDownLatch(1);
+        final Thread reader = new Thread()
+        {
+            public void run()
+            {
+                if (gl.takeReadMonitorForGame(gaName))
+                {
+                    took.countDown();
+                    gl.releaseReadMonitorForGame(gaName);
+                }
+            }
+        };
+        reader.start();
+        final boolean tookShared = took.await(200, TimeUnit.MILLISECONDS);
+        assertTrue(gl.releaseReadMonitorForGame(gaName));
+        reader.join();
+
+        return tookShared;
+    }
+
+    /**
+     * Lock-order debug mode should count inversions: Taking the game list monitor
+     * while holding a game's monitor, or a game's monitor while holding another's.
+     * @since 2.4.50
+     */
+    @Test
+    public void testLockOrderDebug()
+    {
+        final SOCGameList gl = new SOCGameList(null);
+        gl.addGame("g1", null, false);
+        gl.addGame("g2", null, false);
+
+        // not in debug mode: not counted
+        gl.takeMonitorForGame("g1");
+        gl.takeMonitor();
+        gl.releaseMonitor();
+        gl.releaseMonitorForGame("g1");
+        assertEquals(0, gl.getLockOrderInversionCount());
+
+        gl.setLockOrderDebug(true);
+        assertTrue(gl.isLockOrderDebug());
+
+        // correct order, and reentrant takes
+        gl.takeMonitor();
+        gl.takeMonitorForGame("g1");
+        gl.takeMonitorForGame("g1");
+        gl.takeMonitor();
+        gl.releaseMonitor();
+        gl.releaseMonitorForGame("g1");
+        gl.releaseMonitorForGame("g1");
+        gl.releaseMonitor();
+        assertEquals(0, gl.getLockOrderInversionCount());
+
+        gl.takeMonitorForGame("g1");
+        gl.takeMonitor();
+        gl.releaseMonitor();
+        assertEquals(1, gl.getLockOrderInversionCount());
+        gl.takeMonitorForGame("g2");
+        assertEquals(2, gl.getLockOrderInversionCount());
+        gl.releaseMonitorForGame("g2");
+        gl.releaseMonitorForGame("g1");
+
+        assertFalse(gl.getGameLock("g1").isHeldByCurrentThread());
+        assertFalse(gl.getListLock().isHeldByCurrentThread());
+    }
+
 }
@@ -0,0 +1,145 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+
+package soctest.util;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import soc.util.IntBitSet;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IntBitSet}.
+ * @since 2.4.50
+ */
+public class TestIntBitSet
+{
+    /** Basic add, contains, remove, size, including growth past initial capacity. */
+    @Test
+    public void testBasics()
+    {
+        final IntBitSet s = new IntBitSet(0x40);
+        assertTrue(s.isEmpty());
+        assertFalse(s.contains(5));
+        assertFalse(s.contains(-1));
+        assertFalse(s.contains(0x1234));
+        assertFalse(s.contains("5"));
+
+        assertTrue(s.add(5));
+        assertFalse(s.add(5));
+        assertTrue(s.add(0xC07));  // grows
+        assertTrue(s.add(Integer.valueOf(0x40)));
+        assertEquals(3, s.size());
+        assertTrue(s.contains(5));
+        assertTrue(s.contains(Integer.valueOf(0xC07)));
+        assertTrue(s.contains(0x40));
+        assertFalse(s.contains(0x41));
+
+        assertTrue(s.remove(5));
+        assertFalse(s.remove(5));
+        assertFalse(s.remove(-3));
+        assertFalse(s.remove(0x7FFF));
+        assertTrue(s.remove(Integer.valueOf(0x40)));
+        assertEquals(1, s.size());
+        assertTrue(Arrays.equals(new int[]{ 0xC07 }, s.toIntArray()));
+
+        s.clear();
+        assertTrue(s.isEmpty());
+        assertEquals(0, s.toIntArray().length);
+
+        try
+        {
+            s.add(-1);
+            fail("should throw for negative");
+        } catch (IllegalArgumentException e) {}
+    }
+
+    /** Copies are independent; addAll from another IntBitSet and from a HashSet; equals a HashSet. */
+    @Test
+    public void testCopyAndAddAll()
+    {
+        final IntBitSet a = new IntBitSet();
+        a.add(0x23);
+        a.add(0x45);
+
+        final IntBitSet b = new IntBitSet(a);
+        b.add(0x67);
+        assertEquals(2, a.size());
+        assertEquals(3, b.size());
+        assertFalse(a.contains(0x67));
+
+        final IntBitSet big = new IntBitSet(0);
+        big.add(0x0A0B);
+        assertTrue(a.addAll(big));
+        assertFalse(a.addAll(big));
+        assertTrue(a.addAll(b));
+        assertEquals(4, a.size());
+        assertTrue(Arrays.equals(new int[]{ 0x23, 0x45, 0x67, 0x0A0B }, a.toIntArray()));
+
+        final HashSet<Integer> hs = new HashSet<Integer>(Arrays.asList(0x23, 0x45, 0x67, 0x0A0B));
+        assertEquals(hs, a);
+        assertEquals(a, hs);
+        assertEquals(hs.hashCode(), a.hashCode());
+
+        final IntBitSet c = new IntBitSet();
+        assertTrue(c.addAll(hs));
+        assertEquals(a, c);
+    }
+
+    /** Random adds and removes give the same contents and ascending iteration as a TreeSet. */
+    @Test
+    public void testSameAsTreeSet()
+    {
+        final Random rand = new Random(2450);
+        final IntBitSet s = new IntBitSet();
+        final Set<Integer> ts = new TreeSet<Integer>();
+        for (int i = 0; i < 5000; ++i)
+        {
+            final int n = rand.nextInt(0x1200);
+            if (rand.nextInt(3) == 0)
+                assertEquals(ts.remove(n), s.remove(n));
+            else
+                assertEquals(ts.add(n), s.add(n));
+        }
+
+        assertEquals(ts.size(), s.size());
+        final Iterator<Integer> ti = ts.iterator(), si = s.iterator();
+        while (ti.hasNext())
+            assertEquals(ti.next(), si.next());
+        assertFalse(si.hasNext());
+
+        // remove the odd members through the iterator
+        for (Iterator<Integer> it = s.iterator(); it.hasNext(); )
+            if ((it.next() & 1) != 0)
+                it.remove();
+        for (Iterator<Integer> it = ts.iterator(); it.hasNext(); )
+            if ((it.next() & 1) != 0)
+                it.remove();
+        assertEquals(ts, s);
+    }
+
+}
@@ -0,0 +1,177 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soctest.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamField;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import soc.message.SOCMessage;
+import soc.message.SOCUpdateRobotParams;
+import soc.util.SOCRobotParameters;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SOCRobotParameters}.
+ * @since 2.4.50
+ */
+public class TestRobotParameters
+{
+    private static SOCRobotParameters makeParams()
+    {
+        return new SOCRobotParameters(120, 35, 0.13f, 1.0f, 3.0f, 1.0f, 1.0f, 1, 1);
+    }
+
+    /** Round trip through java serialization keeps all fields, including {@code planningThreads}. */
+    @Test
+    public void testSerializeRoundTrip()
+        throws IOException, ClassNotFoundException
+    {
+        final SOCRobotParameters p = makeParams();
+        assertEquals(1, p.getPlanningThreads());
+
+        SOCRobotParameters p2 = writeAndRead(p);
+        assertEquals(p, p2);
+        assertEquals(1, p2.getPlanningThreads());
+        assertEquals(p.toString(), p2.toString());
+
+        p.setPlanningThreads(3);
+        p2 = writeAndRead(p);
+        assertEquals(p, p2);
+        assertEquals(3, p2.getPlanningThreads());
+        assertEquals(p.toString(), p2.toString());
+    }
+
+    /**
+     * Loading the serialized form from a version before {@code planningThreads} was added
+     * should give it the default 1, not 0. Makes that older form by removing the field
+     * from a current serialized object.
+     */
+    @Test
+    public void testSerializedWithoutPlanningThreads()
+        throws IOException, ClassNotFoundException
+    {
+        final SOCRobotParameters p = makeParams();
+        p.setPlanningThreads(3);
+        final byte[] data = write(p);
+
+        // Remove field's class descriptor entry: type code 'I', then name in modified UTF-8
+        final byte[] fname = "planningThreads".getBytes(StandardCharsets.UTF_8);
+        final byte[] entry = new byte[3 + fname.length];
+        entry[0] = 'I';
+        entry[2] = (byte) fname.length;
+        System.arraycopy(fname, 0, entry, 3, fname.length);
+        final int entryIdx = indexOf(data, entry);
+        assertTrue(entryIdx > 2);
+
+        // Remove its value: All fields are primitive, so their values end the stream
+        final ObjectStreamClass desc = ObjectStreamClass.lookup(SOCRobotParameters.class);
+        final ObjectStreamField field = desc.getField("planningThreads");
+        int primSize = 0;
+        for (ObjectStreamField f : desc.getFields())
+        {
+            assertTrue(f.isPrimitive());
+            primSize += (f.getTypeCode() == 'J' || f.getTypeCode() == 'D') ? 8 : 4;
+        }
+        final int valueIdx = data.length - primSize + field.getOffset();
+
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        bout.write(data, 0, entryIdx);
+        bout.write(data, entryIdx + entry.length, valueIdx - (entryIdx + entry.length));
+        bout.write(data, valueIdx + 4, data.length - (valueIdx + 4));
+        final byte[] oldData = bout.toByteArray();
+
+        // Decrement field count, which follows class name, serialVersionUID, and flags byte
+        final byte[] cname = SOCRobotParameters.class.getName().getBytes(StandardCharsets.UTF_8);
+        final int countIdx = indexOf(oldData, cname) + cname.length + 8 + 1;
+        assertEquals(desc.getFields().length, oldData[countIdx + 1]);
+        --oldData[countIdx + 1];  // low byte
+
+        final SOCRobotParameters p2 = read(oldData);
+        assertEquals(p, p2);
+        assertEquals(1, p2.getPlanningThreads());
+    }
+
+    /**
+     * Round trip through {@link SOCUpdateRobotParams}, which doesn't send {@code planningThreads}:
+     * Receiving side should have the default 1, not 0.
+     */
+    @Test
+    public void testMessageRoundTrip()
+    {
+        final SOCRobotParameters p = makeParams();
+        p.setPlanningThreads(4);
+
+        final SOCMessage msg = SOCMessage.toMsg(new SOCUpdateRobotParams(p).toCmd());
+        assertTrue(msg instanceof SOCUpdateRobotParams);
+        final SOCRobotParameters p2 = ((SOCUpdateRobotParams) msg).getRobotParameters();
+        assertEquals(p, p2);
+        assertEquals(1, p2.getPlanningThreads());
+        assertEquals(1, new SOCRobotParameters(p2).getPlanningThreads());
+    }
+
+    private static SOCRobotParameters writeAndRead(final SOCRobotParameters p)
+        throws IOException, ClassNotFoundException
+    {
+        return read(write(p));
+    }
+
+    private static byte[] write(final SOCRobotParameters p)
+        throws IOException
+    {
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try
+            (ObjectOutputStream oos = new ObjectOutputStream(bout))
+        {
+            oos.writeObject(p);
+        }
+
+        return bout.toByteArray();
+    }
+
+    private static SOCRobotParameters read(final byte[] data)
+        throws IOException, ClassNotFoundException
+    {
+        try
+            (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data)))
+        {
+            return (SOCRobotParameters) ois.readObject();
+        }
+    }
+
+    /** Find the first index of {@code part} within {@code data}, or -1 if not found. */
+    private static int indexOf(final byte[] data, final byte[] part)
+    {
+        for (int i = 0; i + part.length <= data.length; ++i)
+            if (Arrays.equals(Arrays.copyOfRange(data, i, i + part.length), part))
+                return i;
+
+        return -1;
+    }
+
+}
@@ -0,0 +1,205 @@
+/**
+ * Java Settlers - An online multiplayer version of the game Settlers of Catan
+ * This file Copyright (C) 2026 JSettlers contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * The maintainer of this program can be reached at jsettlers@nand.net
+ **/
+package soctest.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import soc.util.SOCTimerWheel;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SOCTimerWheel}, advancing its clock directly instead of starting its thread.
+ * @since 2.4.50
+ */
+public class TestTimerWheel
+{
+    /** Tick length for tests */
+    private static final int TICK = 100;
+
+    /** Task which records its name into a list when run. */
+    private static Runnable recorder(final List<String> fired, final String name)
+    {
+        return new Runnable()
+        {
+            public void run()
+            {
+                fired.add(name);
+            }
+        };
+    }
+
+    /**
+     * Timers should fire at their deadline's tick, not before, including those more than one revolution away.
+     */
+    @Test
+    public void testFiresAtDeadline()
+    {
+        final SOCTimerWheel wheel = new SOCTimerWheel("test", TICK, 8);
+        final long t0 = System.currentTimeMillis();
+        final List<String> fired = new ArrayList<String>();
+
+        wheel.schedule(recorder(fired, "a"), t0 + 5 * TICK);
+        wheel.schedule(recorder(fired, "far"), t0 + 21 * TICK);  // wraps more than twice around the 8 slots
+        wheel.schedule(recorder(fired, "b"), t0 + 13 * TICK);  // same slot as "a", next revolution
+        assertEquals(3, wheel.getPendingCount());
+
+        wheel.advanceTo(t0 + 4 * TICK - 1 - (t0 % TICK));
+        assertTrue(fired.isEmpty());
+        wheel.advanceTo(t0 + 5 * TICK);
+        assertEquals("[a]", fired.toString());
+        wheel.advanceTo(t0 + 12 * TICK - (t0 % TICK) - 1);
+        assertEquals("[a]", fired.toString());
+        wheel.advanceTo(t0 + 13 * TICK);
+        assertEquals("[a, b]", fired.toString());
+        wheel.advanceTo(t0 + 21 * TICK);
+        assertEquals("[a, b, far]", fired.toString());
+
+        assertEquals(0, wheel.getPendingCount());
+        assertEquals(3, wheel.getScheduledCount());
+        assertEquals(3, wheel.getFiredCount());
+        assertTrue(wheel.getMaxLateMillis() < TICK);
+    }
+
+    /**
+     * A timer scheduled after its deadline should fire at the next tick;
+     * a cancelled timer shouldn't fire.
+     */
+    @Test
+    public void testPastDeadlineAndCancel()
+    {
+        final SOCTimerWheel wheel = new SOCTimerWheel("test", TICK, 8);
+        final long t0 = System.currentTimeMillis();
+        final List<String> fired = new ArrayList<String>();
+
+        wheel.schedule(recorder(fired, "past"), 0L);
+        final SOCTimerWheel.Timeout to = wheel.schedule(recorder(fired, "cancelled"), t0 + 2 * TICK);
+        assertTrue(to.isPending());
+        assertTrue(to.cancel());
+        assertFalse(to.isPending());
+        assertFalse(to.cancel());
+
+        wheel.advanceTo(t0 + 3 * TICK);
+        assertEquals("[past]", fired.toString());
+        assertEquals(1, wheel.getCancelledCount());
+        assertEquals(0, wheel.getPendingCount());
+        assertTrue("lateness measured from when it could fire", wheel.getMaxLateMillis() < 4 * TICK);
+    }
+
+    /**
+     * If the clock jumps forward several revolutions, all overdue timers should fire once,
+     * and later ones should stay pending.
+     */
+    @Test
+    public void testClockJump()
+    {
+        final SOCTimerWheel wheel = new SOCTimerWheel("test", TICK, 4);
+        final long t0 = System.currentTimeMillis();
+        final List<String> fired = new ArrayList<String>();
+
+        for (int i = 1; i <= 10; ++i)
+            wheel.schedule(recorder(fired, Integer.toString(i)), t0 + i * TICK);
+        wheel.schedule(recorder(fired, "later"), t0 + 100 * TICK);
+
+        wheel.advanceTo(t0 + 50 * TICK);
+        assertEquals(10, fired.size());
+        assertEquals(1, wheel.getPendingCount());
+
+        wheel.advanceTo(t0 + 100 * TICK);
+        assertEquals(11, fired.size());
+        assertEquals("later", fired.get(10));
+    }
+
+    /**
+     * A task which throws shouldn't stop other tasks; a task can reschedule itself.
+     */
+    @Test
+    public void testFailureAndReschedule()
+    {
+        final SOCTimerWheel wheel = new SOCTimerWheel("test", TICK, 8);
+        final long t0 = System.currentTimeMillis();
+        final List<String> fired = new ArrayList<String>();
+
+        wheel.schedule(new Runnable()
+        {
+            public void run()
+            {
+                throw new IllegalStateException("test failure; ignore this stack trace");
+            }
+        }, t0 + TICK);
+        wheel.schedule(new Runnable()
+        {
+            int n;
+
+            public void run()
+            {
+                fired.add("r" + n);
+                if (++n < 3)
+                    wheel.schedule(this, System.currentTimeMillis() + TICK);
+            }
+        }, t0 + TICK);
+
+        wheel.advanceTo(t0 + 2 * TICK);
+        assertEquals("[r0]", fired.toString());
+        assertEquals(1, wheel.getFailedCount());
+
+        final long now = System.currentTimeMillis();
+        wheel.advanceTo(now + 5 * TICK);
+        wheel.advanceTo(now + 10 * TICK);
+        assertEquals("[r0, r1, r2]", fired.toString());
+        assertEquals(4, wheel.getFiredCount());
+    }
+
+    /**
+     * The wheel's own thread should fire a timer soon after its deadline.
+     */
+    @Test(timeout=5000)
+    public void testThread()
+        throws InterruptedException
+    {
+        final SOCTimerWheel wheel = new SOCTimerWheel("test", 20, 16);
+        final Object lock = new Object();
+        final boolean[] fired = new boolean[1];
+
+        wheel.schedule(new Runnable()
+        {
+            public void run()
+            {
+                synchronized (lock)
+                {
+                    fired[0] = true;
+                    lock.notifyAll();
+                }
+            }
+        }, System.currentTimeMillis() + 100);
+        wheel.start();
+
+        synchronized (lock)
+        {
+            while (! fired[0])
+                lock.wait(1000);
+        }
+        wheel.stop();
+        assertEquals(1, wheel.getFiredCount());
+    }
+
+}